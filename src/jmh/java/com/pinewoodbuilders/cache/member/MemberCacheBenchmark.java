@@ -0,0 +1,433 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.cache.member;
+
+import net.dv8tion.jda.api.Permission;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.GuildVoiceState;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Role;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the heap used by the {@link MemberCacheStrategy#ALL all} member cache
+ * strategy against the {@link MemberCacheStrategy#BOUNDED bounded} strategy, by
+ * replaying recorded gateway events through a member store for each of them,
+ * the stores keep the raw member objects from the events, and lets the real
+ * {@link ResidentMemberCachePolicy} decide which members the bounded store keeps.
+ * <p>
+ * The fixture is a file with one gateway dispatch per line, in the same format
+ * Discord sends them in, a small sample fixture is used by default, recorded
+ * fixtures can be replayed by running the benchmarks with
+ * <code>-p fixture=/path/to/recording.jsonl</code>, the retained heap for
+ * each strategy is printed during the setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MemberCacheBenchmark {
+
+    private static final String SAMPLE_FIXTURE = "/fixtures/gateway-members.jsonl";
+
+    /**
+     * The amount of times the fixture is replayed when measuring the retained heap, the
+     * sample fixture is too small to be measured accurately when replayed only once.
+     */
+    private static final int HEAP_SAMPLES = 50;
+
+    @Param({"sample"})
+    public String fixture;
+
+    @Param({"250"})
+    public int maxMembers;
+
+    private List<String> events;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        events = readFixture(fixture);
+
+        MemberStore[] all = new MemberStore[HEAP_SAMPLES];
+        MemberStore[] bounded = new MemberStore[HEAP_SAMPLES];
+
+        long before = usedHeap();
+        for (int i = 0; i < HEAP_SAMPLES; i++) {
+            all[i] = replay(new MemberStore(null));
+        }
+        long allHeap = (usedHeap() - before) / HEAP_SAMPLES;
+
+        before = usedHeap();
+        for (int i = 0; i < HEAP_SAMPLES; i++) {
+            bounded[i] = replay(new MemberStore(maxMembers));
+        }
+        long boundedHeap = (usedHeap() - before) / HEAP_SAMPLES;
+
+        System.out.printf("%nReplayed %d events: all cached %d members using %d KB, bounded cached %d members using %d KB%n",
+            events.size(), all[0].size(), allHeap / 1024, bounded[0].size(), boundedHeap / 1024
+        );
+    }
+
+    @Benchmark
+    public int replayAll() {
+        return replay(new MemberStore(null)).size();
+    }
+
+    @Benchmark
+    public int replayBounded() {
+        return replay(new MemberStore(maxMembers)).size();
+    }
+
+    private MemberStore replay(MemberStore store) {
+        // Every event is parsed while it's being replayed, so the stores only
+        // retain the member objects they keep, like the member cache would.
+        for (String line : events) {
+            JSONObject event = new JSONObject(line);
+            store.handle(event.getString("t"), event.getJSONObject("d"));
+        }
+        return store;
+    }
+
+    private static List<String> readFixture(String fixture) throws IOException {
+        InputStream stream = fixture.equals("sample")
+            ? MemberCacheBenchmark.class.getResourceAsStream(SAMPLE_FIXTURE)
+            : Files.newInputStream(Paths.get(fixture));
+
+        if (stream == null) {
+            throw new IOException("Failed to find the sample gateway fixture: " + SAMPLE_FIXTURE);
+        }
+
+        List<String> events = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    events.add(line);
+                }
+            }
+        }
+        return events;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * A member store that keeps the raw member objects from gateway events, when no
+     * limit is given every member is stored, like the all strategy, otherwise the
+     * members are stored through a {@link ResidentMemberCachePolicy}, which is
+     * asked and touched at the same points as JDA and the bot does.
+     * <p>
+     * JDA only asks the policy about members that aren't cached yet, members that
+     * are already cached are only marked as active again by the bot's event
+     * handler, when they send a message, react to one, or use an interaction.
+     */
+    private static class MemberStore {
+
+        private final Map<Long, GuildState> guilds = new HashMap<>();
+        private final MemberResidency residency;
+        private final ResidentMemberCachePolicy policy;
+
+        MemberStore(Integer maxMembers) {
+            if (maxMembers == null) {
+                this.residency = null;
+                this.policy = null;
+                return;
+            }
+
+            // The replay is single threaded, so the evicted members can be unloaded right away.
+            this.residency = new MemberResidency(maxMembers, this::unload, Runnable::run);
+            this.policy = new ResidentMemberCachePolicy(residency, Collections.emptySet());
+        }
+
+        void handle(String type, JSONObject data) {
+            switch (type) {
+                case "GUILD_CREATE":
+                    GuildState guild = new GuildState(data);
+                    guilds.put(guild.id, guild);
+                    createMembers(guild, data.optJSONArray("members"));
+                    break;
+
+                case "GUILD_MEMBERS_CHUNK":
+                    guild = guilds.get(data.getLong("guild_id"));
+                    if (residency != null) {
+                        residency.beginBulkLoad(guild.id);
+                    }
+                    createMembers(guild, data.getJSONArray("members"));
+                    if (residency != null) {
+                        residency.endBulkLoad(guild.id);
+                    }
+                    break;
+
+                case "GUILD_MEMBER_ADD":
+                case "GUILD_MEMBER_UPDATE":
+                    createMember(guilds.get(data.getLong("guild_id")), data);
+                    break;
+
+                case "GUILD_MEMBER_REMOVE":
+                    guild = guilds.get(data.getLong("guild_id"));
+                    long userId = data.getJSONObject("user").getLong("id");
+                    guild.members.remove(userId);
+                    guild.voice.remove(userId);
+                    if (residency != null) {
+                        residency.forget(guild.id, userId);
+                    }
+                    break;
+
+                case "VOICE_STATE_UPDATE":
+                    guild = guilds.get(data.getLong("guild_id"));
+                    userId = data.getLong("user_id");
+                    if (data.isNull("channel_id")) {
+                        guild.voice.remove(userId);
+
+                        // JDA asks the policy again once a member leaves voice, since
+                        // the member might only have been cached for being in voice.
+                        JSONObject member = guild.members.get(userId);
+                        if (member != null && policy != null && !policy.cacheMember(guild.asMember(member))) {
+                            guild.members.remove(userId);
+                        }
+                    } else {
+                        guild.voice.add(userId);
+                    }
+                    if (data.has("member")) {
+                        createMember(guild, data.getJSONObject("member"));
+                    }
+                    break;
+
+                case "MESSAGE_CREATE":
+                    if (data.has("guild_id") && data.has("member")) {
+                        JSONObject member = data.getJSONObject("member");
+                        member.put("user", data.getJSONObject("author"));
+                        onActivity(guilds.get(data.getLong("guild_id")), member);
+                    }
+                    break;
+
+                case "MESSAGE_REACTION_ADD":
+                case "INTERACTION_CREATE":
+                    if (data.has("guild_id") && data.has("member")) {
+                        onActivity(guilds.get(data.getLong("guild_id")), data.getJSONObject("member"));
+                    }
+                    break;
+            }
+        }
+
+        int size() {
+            int size = 0;
+            for (GuildState guild : guilds.values()) {
+                size += guild.members.size();
+            }
+            return size;
+        }
+
+        private void onActivity(GuildState guild, JSONObject member) {
+            createMember(guild, member);
+
+            if (residency != null) {
+                residency.refresh(guild.id, member.getJSONObject("user").getLong("id"));
+            }
+        }
+
+        private void createMembers(GuildState guild, JSONArray members) {
+            if (members == null) {
+                return;
+            }
+            for (int i = 0; i < members.length(); i++) {
+                createMember(guild, members.getJSONObject(i));
+            }
+        }
+
+        private void createMember(GuildState guild, JSONObject member) {
+            long userId = member.getJSONObject("user").getLong("id");
+            if (guild.members.containsKey(userId)) {
+                guild.members.put(userId, member);
+                return;
+            }
+
+            if (policy == null || policy.cacheMember(guild.asMember(member))) {
+                guild.members.put(userId, member);
+            }
+        }
+
+        private void unload(long guildId, long userId) {
+            GuildState guild = guilds.get(guildId);
+            if (guild == null) {
+                return;
+            }
+
+            JSONObject member = guild.members.get(userId);
+            if (member != null && !policy.isPinned(guild.asMember(member))) {
+                guild.members.remove(userId);
+            }
+        }
+    }
+
+    private static class GuildState {
+
+        private final long id;
+        private final long ownerId;
+        private final Map<Long, Long> rolePermissions = new HashMap<>();
+        private final Map<Long, JSONObject> members = new HashMap<>();
+        private final Set<Long> voice = new HashSet<>();
+        private final Guild guild;
+
+        GuildState(JSONObject data) {
+            id = data.getLong("id");
+            ownerId = data.getLong("owner_id");
+            guild = proxy(Guild.class, Map.of("getIdLong", id));
+
+            JSONArray roles = data.optJSONArray("roles");
+            for (int i = 0; roles != null && i < roles.length(); i++) {
+                JSONObject role = roles.getJSONObject(i);
+                rolePermissions.put(role.getLong("id"), role.getLong("permissions"));
+            }
+
+            JSONArray voiceStates = data.optJSONArray("voice_states");
+            for (int i = 0; voiceStates != null && i < voiceStates.length(); i++) {
+                JSONObject voiceState = voiceStates.getJSONObject(i);
+                if (!voiceState.isNull("channel_id")) {
+                    voice.add(voiceState.getLong("user_id"));
+                }
+            }
+        }
+
+        /**
+         * Wraps the given raw member object in a member that answers
+         * everything the member cache policy asks the members about.
+         */
+        Member asMember(JSONObject member) {
+            long userId = member.getJSONObject("user").getLong("id");
+            JSONArray roleIds = member.optJSONArray("roles");
+
+            List<Role> roles = new ArrayList<>();
+            long permissions = rolePermissions.getOrDefault(id, 0L);
+            for (int i = 0; roleIds != null && i < roleIds.length(); i++) {
+                roles.add(proxy(Role.class, Map.of("getIdLong", roleIds.getLong(i))));
+                permissions |= rolePermissions.getOrDefault(roleIds.getLong(i), 0L);
+            }
+
+            boolean inVoice = voice.contains(userId);
+            long finalPermissions = permissions;
+            return proxy(Member.class, Map.of(
+                "getIdLong", userId,
+                "getGuild", guild,
+                "isOwner", userId == ownerId,
+                "getRoles", roles,
+                "getVoiceState", proxy(GuildVoiceState.class, Map.of(
+                    "inAudioChannel", inVoice,
+                    "getChannel", (Answer) (method, args) -> inVoice ? proxy(method.getReturnType(), Map.of()) : null
+                )),
+                "hasPermission", (Answer) (method, args) -> hasPermissions(finalPermissions, args)
+            ));
+        }
+
+        private static boolean hasPermissions(long permissions, Object[] args) {
+            if ((permissions & Permission.ADMINISTRATOR.getRawValue()) != 0) {
+                return true;
+            }
+
+            for (Object arg : args) {
+                if (arg instanceof Permission[] required) {
+                    for (Permission permission : required) {
+                        if ((permissions & permission.getRawValue()) == 0) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Answer {
+
+        Object answer(Method method, Object[] args);
+    }
+
+    /**
+     * Creates a proxy of the given JDA interface, the methods with the given names returns
+     * the given values, or the result of the given answers, while every other method
+     * returns the default value for its return type.
+     */
+    private static <T> T proxy(Class<T> type, Map<String, Object> values) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            Object value = values.get(method.getName());
+            if (value instanceof Answer answer) {
+                return answer.answer(method, args == null ? new Object[0] : args);
+            }
+            if (value != null) {
+                return value;
+            }
+
+            switch (method.getName()) {
+                case "equals":
+                    return self == args[0];
+                case "hashCode":
+                    return System.identityHashCode(self);
+                case "toString":
+                    return type.getSimpleName() + values;
+            }
+
+            Class<?> returnType = method.getReturnType();
+            if (returnType == boolean.class) {
+                return false;
+            }
+            if (returnType.isPrimitive() && returnType != void.class) {
+                return returnType == long.class ? 0L : 0;
+            }
+            return null;
+        }));
+    }
+}
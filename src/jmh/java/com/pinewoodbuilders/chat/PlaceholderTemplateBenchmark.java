@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.chat;
+
+import com.pinewoodbuilders.utilities.StringReplacementUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rendering a {@link PlaceholderTemplate} against replacing every
+ * placeholder in the message one by one, which is how placeholder
+ * messages were formatted before the templates were introduced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlaceholderTemplateBenchmark {
+
+    private static final String MESSAGE = "GG :user, you just reached **Level :level** in :guildname, "
+        + ":username (:userid) needs :xp more XP to reach level :next, check :channel for rewards!";
+
+    private final Map<String, String> placeholders = new LinkedHashMap<>();
+    private final PlaceholderResolver resolver = new PlaceholderResolver();
+
+    public PlaceholderTemplateBenchmark() {
+        placeholders.put("username", "Senither");
+        placeholders.put("guildname", "Pinewood Builders");
+        placeholders.put("channel", "<#284100122646446081>");
+        placeholders.put("userid", "88739639380172800");
+        placeholders.put("level", "42");
+        placeholders.put("next", "43");
+        placeholders.put("user", "<@88739639380172800>");
+        placeholders.put("xp", "1337");
+
+        placeholders.forEach(resolver::add);
+    }
+
+    @Benchmark
+    public String legacyReplaceAll() {
+        String message = MESSAGE;
+        for (Map.Entry<String, String> entry : placeholders.entrySet()) {
+            message = StringReplacementUtil.replaceAll(message, ":" + entry.getKey(), entry.getValue());
+        }
+        return message;
+    }
+
+    @Benchmark
+    public String renderTemplate() {
+        return PlaceholderTemplate.compile(MESSAGE, PlaceholderTemplate.Syntax.COLON).render(resolver);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.language;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.text.MessageFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares looking up and formatting language strings through the flattened
+ * language strings and compiled templates, against walking the language
+ * configuration and parsing the message format on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class I18nBenchmark {
+
+    private static final String KEY = "administration.ModlogHistoryCommand.entry";
+    private static final Object[] ARGUMENTS = new Object[]{"12", "Ban", "Moderator#0001", "2019-01-13 19:37:59", "Spamming"};
+
+    private LanguageContainer locale;
+    private String message;
+
+    @Setup
+    public void setup() {
+        I18n.start(null);
+
+        locale = I18n.getLocale(Language.EN_US);
+        message = locale.getString(KEY);
+    }
+
+    @Benchmark
+    public String legacyGetString() {
+        return locale.getConfig().getString(KEY);
+    }
+
+    @Benchmark
+    public String getString() {
+        return locale.getString(KEY);
+    }
+
+    @Benchmark
+    public String legacyFormat() {
+        return MessageFormat.format(message.replace("'", "''"), ARGUMENTS);
+    }
+
+    @Benchmark
+    public String format() {
+        return I18n.format(message, ARGUMENTS);
+    }
+
+    @Benchmark
+    public String legacyGetLocale() {
+        for (LanguageContainer container : I18n.languages) {
+            if (container.getLanguage().getCode().equalsIgnoreCase("ja_JP")) {
+                return container.getLanguage().getCode();
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public String getLocale() {
+        return I18n.getLocale(Language.JA_JP).getLanguage().getCode();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.level;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link ExperienceCooldown} against the Guava cache that was used
+ * before, where every rewarded message was checked by loading a string key made
+ * from the guild and user ID through the cache, the legacy check mirrors what
+ * the level manager did for every guild message.
+ * <p>
+ * Both cooldowns are filled with the given amount of active members spread out
+ * across a thousand guilds before the benchmarks are run, and the retained heap
+ * for each of them is printed during the setup, run the benchmarks with
+ * <code>-prof gc</code> to see the allocations for each message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class ExperienceCooldownBenchmark {
+
+    private static final int GUILDS = 1000;
+    private static final long FIRST_GUILD_ID = 150000000000000000L;
+    private static final long FIRST_USER_ID = 250000000000000000L;
+
+    @Param({"1000", "1000000"})
+    public int members;
+
+    private Cache<Object, Object> cache;
+    private ExperienceCooldown cooldowns;
+
+    @Setup(Level.Trial)
+    public void setup() throws ExecutionException {
+        long before = usedHeap();
+        cache = CacheBuilder.newBuilder()
+            .recordStats()
+            .expireAfterWrite(60, TimeUnit.SECONDS)
+            .build();
+        for (int i = 0; i < members; i++) {
+            cache.get(legacyKey(guildId(i), userId(i)), () -> 0);
+        }
+        long legacyHeap = usedHeap() - before;
+
+        before = usedHeap();
+        cooldowns = new ExperienceCooldown(60, TimeUnit.SECONDS, System::currentTimeMillis);
+        for (int i = 0; i < members; i++) {
+            cooldowns.tryAcquire(guildId(i), userId(i));
+        }
+        long heap = usedHeap() - before;
+
+        System.out.printf("%nRetained heap for %d members: legacy %d KB, cooldown %d KB%n",
+            members, legacyHeap / 1024, heap / 1024
+        );
+    }
+
+    @Benchmark
+    public Object legacyRewardActiveMember() throws ExecutionException {
+        int member = ThreadLocalRandom.current().nextInt(members);
+        return cache.get(legacyKey(guildId(member), userId(member)), () -> 0);
+    }
+
+    @Benchmark
+    public boolean rewardActiveMember() {
+        int member = ThreadLocalRandom.current().nextInt(members);
+        return cooldowns.tryAcquire(guildId(member), userId(member));
+    }
+
+    private static long guildId(int member) {
+        return FIRST_GUILD_ID + member % GUILDS;
+    }
+
+    private static long userId(int member) {
+        return FIRST_USER_ID + member;
+    }
+
+    private static Object legacyKey(long guildId, long userId) {
+        return guildId + ":" + userId;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
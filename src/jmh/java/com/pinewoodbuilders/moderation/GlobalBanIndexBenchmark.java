@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation;
+
+import com.pinewoodbuilders.moderation.global.punishments.globalban.GlobalBanContainer;
+import com.pinewoodbuilders.moderation.global.punishments.globalban.GlobalBanIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashSet;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares checking if a joining user is globally banned through the
+ * {@link GlobalBanIndex} against scanning every ban in the main group,
+ * which is what the global punishment manager did before the index.
+ * <p>
+ * Misses are the common case, since almost every user that joins a
+ * guild is not globally banned, hits are measured for completeness.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GlobalBanIndexBenchmark {
+
+    private static final long MAIN_GROUP_ID = 159511L;
+    private static final long FIRST_DISCORD_ID = 150000000000000000L;
+
+    @Param({"1000", "1000000"})
+    public int bans;
+
+    private final HashSet<GlobalBanContainer> legacyBans = new HashSet<>();
+    private final GlobalBanIndex index = new GlobalBanIndex();
+
+    private long[] bannedIds;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        random = new SplittableRandom(42);
+        bannedIds = new long[bans];
+        for (int i = 0; i < bans; i++) {
+            // Every other banned Discord ID is skipped, so the skipped IDs can be
+            // used for misses that are spread out across the same range of IDs.
+            bannedIds[i] = FIRST_DISCORD_ID + i * 2L;
+
+            GlobalBanContainer container = new GlobalBanContainer(
+                "Benchmark", i % 2 == 0 ? 1000L + i : 0L, null,
+                MAIN_GROUP_ID, String.valueOf(bannedIds[i]), "0"
+            );
+            legacyBans.add(container);
+            index.add(container);
+        }
+    }
+
+    @Benchmark
+    public boolean legacyLookupMiss() {
+        return legacyIsBanned(String.valueOf(randomBannedId() + 1));
+    }
+
+    @Benchmark
+    public boolean indexLookupMiss() {
+        return index.containsDiscordId(MAIN_GROUP_ID, String.valueOf(randomBannedId() + 1));
+    }
+
+    @Benchmark
+    public boolean legacyLookupHit() {
+        return legacyIsBanned(String.valueOf(randomBannedId()));
+    }
+
+    @Benchmark
+    public boolean indexLookupHit() {
+        return index.containsDiscordId(MAIN_GROUP_ID, String.valueOf(randomBannedId()));
+    }
+
+    private long randomBannedId() {
+        return bannedIds[random.nextInt(bannedIds.length)];
+    }
+
+    private boolean legacyIsBanned(String discordId) {
+        for (GlobalBanContainer container : legacyBans) {
+            if (container.isSame(MAIN_GROUP_ID, discordId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.ratelimit;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link SlidingWindowRateLimiter} against the rate limiting that
+ * was used before, where every ID got a {@link LoadingCache} entry holding a
+ * synchronized ring of boxed timestamps, the legacy rate mirrors what the
+ * blacklist and automute rate limits did for every hit.
+ * <p>
+ * The benchmarks are run from eight threads at once, hitting either random
+ * IDs from a pool of active users, or a single ID to measure contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class SlidingWindowRateLimiterBenchmark {
+
+    private static final int HIT_LIMIT = 10;
+    private static final long HIT_TIME = 30 * 1000;
+    private static final int ACTIVE_USERS = 100_000;
+
+    private final SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(
+        "benchmark", HIT_LIMIT, HIT_TIME, TimeUnit.MILLISECONDS, System::currentTimeMillis
+    );
+
+    private final LoadingCache<Long, LegacyRate> cache = CacheBuilder.newBuilder()
+        .recordStats()
+        .expireAfterWrite(HIT_TIME, TimeUnit.MILLISECONDS)
+        .build(CacheLoader.from(LegacyRate::new));
+
+    @Benchmark
+    public boolean legacyHitRandomUsers() {
+        return legacyHit(ThreadLocalRandom.current().nextInt(ACTIVE_USERS));
+    }
+
+    @Benchmark
+    public boolean hitRandomUsers() {
+        return limiter.hit(ThreadLocalRandom.current().nextInt(ACTIVE_USERS));
+    }
+
+    @Benchmark
+    public boolean legacyHitSingleUser() {
+        return legacyHit(1);
+    }
+
+    @Benchmark
+    public boolean hitSingleUser() {
+        return limiter.hit(1);
+    }
+
+    private boolean legacyHit(long id) {
+        LegacyRate rate = cache.getUnchecked(id);
+
+        //noinspection SynchronizationOnLocalVariableOrMethodParameter
+        synchronized (rate) {
+            rate.hit();
+
+            return rate.getHits() >= HIT_LIMIT;
+        }
+    }
+
+    private static class LegacyRate {
+
+        private final Long[] timestamps = new Long[HIT_LIMIT];
+        private int index = 0;
+
+        void hit() {
+            timestamps[index++] = System.currentTimeMillis();
+            if (index >= HIT_LIMIT) {
+                index = 0;
+            }
+        }
+
+        int getHits() {
+            int hits = 0;
+            for (Long timestamp : timestamps) {
+                if (timestamp != null && timestamp + HIT_TIME > System.currentTimeMillis()) {
+                    hits++;
+                }
+            }
+            return hits;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.servlet;
+
+import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.servlet.cache.CachedRoute;
+import com.pinewoodbuilders.servlet.cache.ResponseCache;
+import com.pinewoodbuilders.servlet.routes.v1.get.GetStats;
+import com.pinewoodbuilders.shard.ShardEntityCounter;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.sharding.ShardManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import spark.Request;
+import spark.Response;
+import spark.Route;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A local load test for the cached web servlet routes, hammering the real
+ * {@link GetStats} route with eight concurrent clients, both called directly
+ * like the route was served before it was cached, and wrapped in the
+ * {@link CachedRoute} with the same TTL the route is registered with.
+ * <p>
+ * The route reads the shards from a fake shard manager and the counts from
+ * a real {@link ShardEntityCounter}, while the requests and responses are
+ * fake Spark requests and responses that writes the bodies to nowhere.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class ResponseCacheBenchmark {
+
+    @Param({"16", "64"})
+    public int shards;
+
+    private Route route;
+    private Route cachedRoute;
+
+    private final FakeResponse response = new FakeResponse(discardingResponse(new ConcurrentHashMap<>()));
+
+    private final FakeRequest request = new FakeRequest(Map.of());
+    private FakeRequest gzipRequest;
+    private FakeRequest conditionalRequest;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        installFakeXeus(shards);
+
+        route = new GetStats();
+        cachedRoute = new CachedRoute(new GetStats(),
+            new ResponseCache("/stats", 15, TimeUnit.SECONDS, System::currentTimeMillis)
+        );
+
+        Map<String, String> headers = new ConcurrentHashMap<>();
+        cachedRoute.handle(request, new FakeResponse(discardingResponse(headers)));
+
+        gzipRequest = new FakeRequest(Map.of("Accept-Encoding", "gzip, deflate"));
+        conditionalRequest = new FakeRequest(Map.of("If-None-Match", headers.get("ETag")));
+    }
+
+    @Benchmark
+    public byte[] uncachedStats() throws Exception {
+        // Spark serializes the returned JSON object by calling toString on it.
+        return String.valueOf(route.handle(request, response)).getBytes();
+    }
+
+    @Benchmark
+    public Object cachedStats() throws Exception {
+        return cachedRoute.handle(request, response);
+    }
+
+    @Benchmark
+    public Object cachedGzipStats() throws Exception {
+        return cachedRoute.handle(gzipRequest, response);
+    }
+
+    @Benchmark
+    public Object cachedConditionalStats() throws Exception {
+        return cachedRoute.handle(conditionalRequest, response);
+    }
+
+    /**
+     * Installs a Xeus instance that was never constructed as the global
+     * instance, with only the shard manager and entity counter set,
+     * which is everything the stats route reads from it.
+     */
+    private static void installFakeXeus(int shards) throws Exception {
+        Field unsafeField = Class.forName("sun.misc.Unsafe").getDeclaredField("theUnsafe");
+        unsafeField.setAccessible(true);
+        Object unsafe = unsafeField.get(null);
+
+        Xeus avaire = (Xeus) unsafe.getClass()
+            .getMethod("allocateInstance", Class.class)
+            .invoke(unsafe, Xeus.class);
+
+        ShardEntityCounter counter = new ShardEntityCounter(avaire);
+        List<JDA> shardList = new ArrayList<>();
+        for (int i = 0; i < shards; i++) {
+            JDA.ShardInfo shardInfo = new JDA.ShardInfo(i, shards);
+
+            shardList.add(proxy(JDA.class, Map.of(
+                "getShardInfo", shardInfo,
+                "getStatus", JDA.Status.CONNECTED,
+                "getGatewayPing", 42L
+            )));
+            counter.reconcile(i, 1000, 15000, 5000, 25000, 500);
+        }
+
+        setField(avaire, "shardEntityCounter", counter);
+        setField(avaire, "shardManager", proxy(ShardManager.class, Map.of("getShards", shardList)));
+        setField(null, "avaire", avaire);
+    }
+
+    private static void setField(Object target, String name, Object value) throws Exception {
+        Field field = Xeus.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    /**
+     * Creates a servlet response that discards everything written to it,
+     * while storing the headers that are set on it in the given map.
+     */
+    private static HttpServletResponse discardingResponse(Map<String, String> headers) {
+        ServletOutputStream outputStream = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                // The output stream is never written to asynchronously.
+            }
+
+            @Override
+            public void write(int b) {
+                // The response body is discarded.
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                // The response body is discarded.
+            }
+        };
+
+        return proxy(HttpServletResponse.class, Map.of(
+            "getOutputStream", outputStream,
+            "setHeader", (Answer) args -> headers.put((String) args[0], (String) args[1])
+        ));
+    }
+
+    @FunctionalInterface
+    private interface Answer {
+
+        Object answer(Object[] args);
+    }
+
+    /**
+     * Creates a proxy of the given interface, the methods with the given names returns
+     * the given values, or the result of the given answers, while every other method
+     * returns the default value for its return type.
+     */
+    private static <T> T proxy(Class<T> type, Map<String, Object> values) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            Object value = values.get(method.getName());
+            if (value instanceof Answer answer) {
+                return answer.answer(args == null ? new Object[0] : args);
+            }
+            if (value != null) {
+                return value;
+            }
+
+            switch (method.getName()) {
+                case "equals":
+                    return self == args[0];
+                case "hashCode":
+                    return System.identityHashCode(self);
+                case "toString":
+                    return type.getSimpleName() + values;
+            }
+
+            Class<?> returnType = method.getReturnType();
+            if (returnType == boolean.class) {
+                return false;
+            }
+            if (returnType.isPrimitive() && returnType != void.class) {
+                return returnType == long.class ? 0L : 0;
+            }
+            return null;
+        }));
+    }
+
+    private static final class FakeRequest extends Request {
+
+        private final Map<String, String> headers;
+
+        FakeRequest(Map<String, String> headers) {
+            this.headers = headers;
+        }
+
+        @Override
+        public String pathInfo() {
+            return "/stats";
+        }
+
+        @Override
+        public String queryString() {
+            return null;
+        }
+
+        @Override
+        public String headers(String header) {
+            return headers.get(header);
+        }
+    }
+
+    private static final class FakeResponse extends Response {
+
+        private final HttpServletResponse raw;
+
+        FakeResponse(HttpServletResponse raw) {
+            this.raw = raw;
+        }
+
+        @Override
+        public HttpServletResponse raw() {
+            return raw;
+        }
+
+        @Override
+        public int status() {
+            return 200;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.time;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link Carbon} parsing and formatting against the
+ * {@link SimpleDateFormat} and {@link Calendar} based implementation
+ * that was used before, the legacy methods mirror what Carbon did
+ * when it was created from a string, or formatted a date time string.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CarbonBenchmark {
+
+    private static final String DATE_TIME = "2019-01-13 19:37:59";
+    private static final String FORMATTED_DATE = "Jan 13, 2019";
+
+    private final Carbon carbon = new Carbon(DATE_TIME);
+    private final Calendar calendar = carbon.getTime();
+
+    @Benchmark
+    public Calendar legacyParseDateTime() {
+        return legacyParse(DATE_TIME);
+    }
+
+    @Benchmark
+    public Carbon parseDateTime() {
+        return new Carbon(DATE_TIME);
+    }
+
+    @Benchmark
+    public Calendar legacyParseFormattedDate() {
+        return legacyParse(FORMATTED_DATE);
+    }
+
+    @Benchmark
+    public Carbon parseFormattedDate() {
+        return new Carbon(FORMATTED_DATE);
+    }
+
+    @Benchmark
+    public String legacyFormatDateTime() {
+        return new SimpleDateFormat(Formats.DATE_TIME.getFormat(), Locale.ENGLISH).format(calendar.getTime());
+    }
+
+    @Benchmark
+    public String formatDateTime() {
+        return carbon.toDateTimeString();
+    }
+
+    @Benchmark
+    public String legacyFormatDayDateTime() {
+        return new SimpleDateFormat(Formats.DAY_DATE_TIME.getFormat(), Locale.ENGLISH).format(calendar.getTime());
+    }
+
+    @Benchmark
+    public String formatDayDateTime() {
+        return carbon.toDayDateTimeString();
+    }
+
+    private static Calendar legacyParse(String time) {
+        Calendar calendar = Calendar.getInstance(Locale.ENGLISH);
+        for (Formats format : Formats.values()) {
+            try {
+                Date date = format.make().parse(time);
+                calendar.setTime(date);
+
+                return calendar;
+            } catch (ParseException ignored) {
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.utilities;
+
+import com.pinewoodbuilders.Constants;
+import com.pinewoodbuilders.contracts.reflection.Reflectional;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares finding the autoloaded classes through the generated autoloader
+ * index against scanning the classpath for them, which is what the
+ * autoloader did during startup before the index was generated.
+ * <p>
+ * The single shot mode measures a cold lookup, which is what
+ * happens once for every package when the bot is starting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.SingleShotTime, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AutoloaderBenchmark {
+
+    @Param({
+        Constants.PACKAGE_COMMAND_PATH,
+        Constants.PACKAGE_JOB_PATH,
+        Constants.PACKAGE_MIGRATION_PATH,
+        Constants.PACKAGE_SEEDER_PATH
+    })
+    public String path;
+
+    @Benchmark
+    public Set<Class<? extends Reflectional>> scanClasspath() {
+        return AutoloaderUtil.scan(path);
+    }
+
+    @Benchmark
+    public Set<Class<? extends Reflectional>> generatedIndex() {
+        return AutoloaderUtil.getTypes(path);
+    }
+}
@@ -84,6 +84,11 @@ public class Constants {
     public static final String FEATURE_BLACKLIST_TABLE_NAME = "feature_blacklist";
     public static final String APPEAL_TICKETS_TABLE_NAME = "appeal_tickets";
     public static final String APPEAL_TYPES_TABLE_NAME = "appeal_types";
+    public static final String RATELIMIT_PUNISHMENTS_TABLE_NAME = "ratelimit_punishments";
+    public static final String MODERATION_FANOUT_JOBS_TABLE_NAME = "moderation_fanout_jobs";
+    public static final String MODERATION_FANOUT_TARGETS_TABLE_NAME = "moderation_fanout_targets";
+    public static final String WORKFLOW_STATES_TABLE_NAME = "workflow_states";
+    public static final String MASS_UPDATE_JOBS_TABLE_NAME = "mass_update_jobs";
 
 
 
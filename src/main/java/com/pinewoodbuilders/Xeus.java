@@ -27,15 +27,21 @@ import ch.qos.logback.classic.filter.ThresholdFilter;
 import com.avairebot.shared.DiscordConstants;
 import com.avairebot.shared.ExitCodes;
 import com.avairebot.shared.SentryConstants;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.internal.LinkedTreeMap;
 import com.pinewoodbuilders.admin.BotAdmin;
 import com.pinewoodbuilders.blacklist.bot.Blacklist;
+import com.pinewoodbuilders.blacklist.bot.Ratelimit;
 import com.pinewoodbuilders.blacklist.features.FeatureBlacklist;
 import com.pinewoodbuilders.blacklist.kronos.BlacklistManager;
 import com.pinewoodbuilders.cache.CacheManager;
 import com.pinewoodbuilders.cache.CacheType;
+import com.pinewoodbuilders.cache.member.MemberCacheStrategy;
+import com.pinewoodbuilders.cache.member.MemberLoader;
+import com.pinewoodbuilders.cache.member.MemberResidency;
+import com.pinewoodbuilders.cache.member.ResidentMemberCachePolicy;
 import com.pinewoodbuilders.chat.ConsoleColor;
 import com.pinewoodbuilders.commands.Category;
 import com.pinewoodbuilders.commands.CategoryDataContext;
@@ -62,6 +68,8 @@ import com.pinewoodbuilders.level.LevelManager;
 import com.pinewoodbuilders.metrics.Metrics;
 import com.pinewoodbuilders.middleware.*;
 import com.pinewoodbuilders.middleware.global.IsCategoryEnabled;
+import com.pinewoodbuilders.moderation.global.automute.MuteRatelimit;
+import com.pinewoodbuilders.moderation.global.fanout.ModerationFanoutManager;
 import com.pinewoodbuilders.moderation.global.filter.LinkFilterManager;
 import com.pinewoodbuilders.moderation.global.globalmute.GlobalMuteManager;
 import com.pinewoodbuilders.moderation.global.globalwatch.GlobalWatchManager;
@@ -74,23 +82,33 @@ import com.pinewoodbuilders.pinewood.VoiceWhitelistManager;
 import com.pinewoodbuilders.plugin.PluginLoader;
 import com.pinewoodbuilders.plugin.PluginManager;
 import com.pinewoodbuilders.roblox.RobloxAPIManager;
+import com.pinewoodbuilders.roblox.verification.mass.MassUpdateManager;
 import com.pinewoodbuilders.scheduler.ScheduleHandler;
 import com.pinewoodbuilders.servlet.WebServlet;
+import com.pinewoodbuilders.servlet.limits.RouteLimits;
 import com.pinewoodbuilders.servlet.routes.v1.delete.DeleteAccountVerificationLink;
 import com.pinewoodbuilders.servlet.routes.v1.get.*;
 import com.pinewoodbuilders.servlet.routes.v1.post.PostAccountVerificationLink;
+import com.pinewoodbuilders.servlet.routes.v1.post.PostDiscordIdsByRobloxIds;
 import com.pinewoodbuilders.servlet.routes.v1.post.PostEvalAnswers;
 import com.pinewoodbuilders.servlet.routes.v1.post.PostGuildCleanup;
+import com.pinewoodbuilders.servlet.routes.v1.post.PostRobloxUsersByDiscordIds;
 import com.pinewoodbuilders.shard.ShardEntityCounter;
+import com.pinewoodbuilders.statistics.GuildStatisticsManager;
+import com.pinewoodbuilders.startup.GatedEventManager;
+import com.pinewoodbuilders.startup.StartupOrchestrator;
 import com.pinewoodbuilders.time.Carbon;
 import com.pinewoodbuilders.utilities.AutoloaderUtil;
 import com.pinewoodbuilders.utilities.EventWaiter;
 import com.pinewoodbuilders.vote.VoteManager;
+import com.pinewoodbuilders.workflow.WorkflowManager;
 import io.sentry.Sentry;
 import io.sentry.logback.SentryAppender;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.JDAInfo;
 import net.dv8tion.jda.api.entities.Activity;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.SelfUser;
 import net.dv8tion.jda.api.requests.GatewayIntent;
 import net.dv8tion.jda.api.requests.RestAction;
@@ -112,7 +130,10 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 public class Xeus {
 
@@ -147,6 +168,9 @@ public class Xeus {
     private final WatchManager onWatchManger;
     private final WarnsManager warnsManager;
     private final ShardEntityCounter shardEntityCounter;
+    private final GuildStatisticsManager guildStatisticsManager;
+    private final MemberLoader memberLoader;
+    private ResidentMemberCachePolicy memberCachePolicy;
     private final EventEmitter eventEmitter;
     private final BotAdmin botAdmins;
     private final WebServlet servlet;
@@ -157,6 +181,10 @@ public class Xeus {
     private final GlobalPunishmentManager globalPunishmentManager;
     private final GlobalWatchManager globalWatchManager;
     private final LinkFilterManager linkFilterManager;
+    private final ModerationFanoutManager moderationFanoutManager;
+    private final MassUpdateManager massUpdateManager;
+    private final WorkflowManager workflowManager;
+    private final CompletableFuture<Void> ready = new CompletableFuture<>();
 
     private Carbon shutdownTime = null;
     private int shutdownCode = ExitCodes.EXIT_CODE_RESTART;
@@ -362,39 +390,36 @@ public class Xeus {
             System.exit(ExitCodes.EXIT_CODE_NORMAL);
         }
 
-        log.info("Connecting to database & Running migrations & Seeders");
-        database.getMigrations().up();
-        database.getSeeder().run();
-
-        if (settings.usePluginsIndex()) {
-            log.info("Loads plugins from the plugin index");
-            pluginManager.loadPluginsFromIndex(avaire);
-        }
-
-        log.info("Preparing blacklist and syncing the list with the database");
-        blacklist = new Blacklist(this);
-        blacklist.syncBlacklistWithDatabase();
-
-        log.info("Preparing verification and checking cache.");
-        robloxApiManager = new RobloxAPIManager(this);
-
-        log.info("Preparing report blacklist and syncing the list with the database");
-        featureBlacklist = new FeatureBlacklist(this);
-        featureBlacklist.syncBlacklistWithDatabase();
+        log.info("Preparing and setting up web servlet");
+        servlet = new WebServlet(
+            config.getInt("web-servlet.port", config.getInt("metrics.port", WebServlet.defaultPort)),
+            config.getInt("web-servlet.limits.server-threads", WebServlet.defaultServerThreads),
+            config.getInt("web-servlet.limits.worker-threads", WebServlet.defaultWorkerThreads),
+            RouteLimits.of(
+                config.getInt("web-servlet.limits.route-concurrency", 8),
+                config.getInt("web-servlet.limits.route-timeout", 10), TimeUnit.SECONDS
+            )
+        );
 
-        log.info("Preparing user blacklist and syncing the list with the manager");
-        blacklistManager = new BlacklistManager(this);
+        // Routes that calls the Roblox API are limited further, so a slow Roblox
+        // API can't take up all the workers for the rest of the routes.
+        RouteLimits robloxLimits = RouteLimits.of(
+            config.getInt("web-servlet.limits.roblox-route-concurrency", 4),
+            config.getInt("web-servlet.limits.route-timeout", 10), TimeUnit.SECONDS
+        );
 
-        log.info("Prepairing global-banlist and syncing the list with the manager");
-        globalPunishmentManager = new GlobalPunishmentManager(this);
+        // The batch verification routes can query the database in chunks, look up the usernames,
+        // and then fall back to looking up a user at a time for up to 10 seconds, so they
+        // get a longer timeout that leaves room for all of it to finish.
+        RouteLimits batchLimits = RouteLimits.of(
+            config.getInt("web-servlet.limits.roblox-route-concurrency", 4),
+            config.getInt("web-servlet.limits.batch-route-timeout", 30), TimeUnit.SECONDS
+        );
 
-        log.info("Preparing and setting up web servlet");
-        servlet = new WebServlet(config.getInt("web-servlet.port",
-            config.getInt("metrics.port", WebServlet.defaultPort)
-        ));
+        servlet.registerGet("/health", new GetHealth(), RouteLimits.UNLIMITED);
 
         if (getConfig().getBoolean("web-servlet.api-routes.leaderboard", true)) {
-            servlet.registerGet("/leaderboard/:id", new GetLeaderboardPlayers());
+            servlet.registerCachedGet("/leaderboard/:id", new GetLeaderboardPlayers(), 60, TimeUnit.SECONDS);
         }
 
         if (getConfig().getBoolean("web-servlet.api-routes.players", true)) {
@@ -405,17 +430,19 @@ public class Xeus {
             servlet.registerPost("/guilds/cleanup", new PostGuildCleanup());
             servlet.registerGet("/guilds/cleanup", new GetGuildCleanup());
             servlet.registerGet("/guilds/:ids/exists", new GetGuildsExists());
-            servlet.registerGet("/guilds/:ids", new GetGuilds());
+            servlet.registerCachedGet("/guilds/:ids", new GetGuilds(), 30, TimeUnit.SECONDS);
         }
 
         if (getConfig().getBoolean("web-servlet.api-routes.stats", true)) {
-            servlet.registerGet("/stats", new GetStats());
+            servlet.registerCachedGet("/stats", new GetStats(), 15, TimeUnit.SECONDS);
         }
 
         if (getConfig().getBoolean("web-servlet.api-routes.roblox-verification", true)) {
-            servlet.registerGet("/verification/discord/:discordId", new GetRobloxUserByDiscordId());
-            servlet.registerGet("/verification/roblox/:robloxId", new GetDiscordIdsByRobloxId());
-            servlet.registerPost("/verification/verify/:robloxId", new PostAccountVerificationLink());
+            servlet.registerGet("/verification/discord/:discordId", new GetRobloxUserByDiscordId(), robloxLimits);
+            servlet.registerGet("/verification/roblox/:robloxId", new GetDiscordIdsByRobloxId(), robloxLimits);
+            servlet.registerPost("/verification/discord", new PostRobloxUsersByDiscordIds(), batchLimits);
+            servlet.registerPost("/verification/roblox", new PostDiscordIdsByRobloxIds(), batchLimits);
+            servlet.registerPost("/verification/verify/:robloxId", new PostAccountVerificationLink(), robloxLimits);
             servlet.registerGet("/verification/verify/:robloxId", new GetAccountVerificationLink());
             servlet.registerDelete("/verification/verify/:robloxId", new DeleteAccountVerificationLink());
         }
@@ -454,42 +481,163 @@ public class Xeus {
             getSentryLogbackAppender().stop();
         }
 
-        log.info("Preparing vote manager");
-        voteManager = new VoteManager(this);
-
-        log.info("Preparing mute manager");
-        muteManger = new MuteManager(this);
-
-        log.info("Preparing link filter manager");
-        linkFilterManager = new LinkFilterManager(this);
+        log.info("Preparing voice whitelist manager.");
+        voiceWhitelistManager = new VoiceWhitelistManager(this);
 
-        log.info("Preparing global mute manager");
-        globalMuteManager = new GlobalMuteManager(this);
+        shardEntityCounter = new ShardEntityCounter(this);
+        memberLoader = createMemberLoader();
+        guildStatisticsManager = new GuildStatisticsManager(this);
 
-        log.info("Preparing ban manager");
-        banManager = new BanManager(this);
+        log.info("Preparing user blacklist and syncing the list with the manager");
+        blacklistManager = new BlacklistManager(this);
 
-        log.info("Preparing on watch manager");
-        onWatchManger = new WatchManager(this);
+        // The startup components are loaded concurrently, each sync query borrows its own connection
+        // from the database connection pool, so one thread is kept free for the main connection.
+        StartupOrchestrator startup = new StartupOrchestrator(Math.max(2, config.getInt("database.poolSize", 10) - 1));
 
-        log.info("Preparing global mute manager");
-        globalWatchManager = new GlobalWatchManager(this);
+        startup.register("migrations", () -> {
+            log.info("Connecting to database & Running migrations & Seeders");
+            database.getMigrations().up();
+            database.getSeeder().run();
 
-        log.info("Preparing warnings manager");
-        warnsManager = new WarnsManager(this);
+            if (settings.usePluginsIndex()) {
+                log.info("Loads plugins from the plugin index");
+                pluginManager.loadPluginsFromIndex(avaire);
+            }
+            return database;
+        });
 
-        log.info("Preparing voice whitelist manager.");
-        voiceWhitelistManager = new VoiceWhitelistManager(this);
+        startup.register("blacklist", () -> {
+            log.info("Preparing blacklist and syncing the list with the database");
+            Blacklist blacklist = new Blacklist(this);
+            blacklist.syncBlacklistWithDatabase();
+            return blacklist;
+        }, "migrations");
+
+        startup.register("ratelimit-punishments", () -> {
+            log.info("Restoring ratelimit punishment levels from the database");
+            Ratelimit.punishments.syncWithDatabase(this);
+            MuteRatelimit.punishments.syncWithDatabase(this);
+            return null;
+        }, "migrations");
+
+        startup.register("feature-blacklist", () -> {
+            log.info("Preparing report blacklist and syncing the list with the database");
+            FeatureBlacklist featureBlacklist = new FeatureBlacklist(this);
+            featureBlacklist.syncBlacklistWithDatabase();
+            return featureBlacklist;
+        }, "migrations");
+
+        startup.register("roblox", () -> {
+            log.info("Preparing verification and checking cache.");
+            RobloxAPIManager robloxAPIManager = new RobloxAPIManager(this);
+            robloxAPIManager.getVerification().getGuildIndex().load(this);
+            return robloxAPIManager;
+        }, "migrations");
+
+        startup.register("global-punishments", () -> {
+            log.info("Prepairing global-banlist and syncing the list with the manager");
+            return new GlobalPunishmentManager(this);
+        }, "migrations");
+
+        startup.register("votes", () -> {
+            log.info("Preparing vote manager");
+            return new VoteManager(this);
+        }, "migrations");
+
+        startup.register("mutes", () -> {
+            log.info("Preparing mute manager");
+            return new MuteManager(this);
+        }, "migrations");
+
+        startup.register("link-filter", () -> {
+            log.info("Preparing link filter manager");
+            return new LinkFilterManager(this);
+        }, "migrations");
+
+        startup.register("global-mutes", () -> {
+            log.info("Preparing global mute manager");
+            return new GlobalMuteManager(this);
+        }, "migrations");
+
+        startup.register("bans", () -> {
+            log.info("Preparing ban manager");
+            return new BanManager(this);
+        }, "migrations");
+
+        startup.register("watches", () -> {
+            log.info("Preparing on watch manager");
+            return new WatchManager(this);
+        }, "migrations");
+
+        startup.register("global-watches", () -> {
+            log.info("Preparing global watch manager");
+            return new GlobalWatchManager(this);
+        }, "migrations");
+
+        startup.register("moderation-fanout", () -> {
+            log.info("Preparing moderation fan-out manager");
+            return new ModerationFanoutManager(this);
+        }, "migrations");
+
+        startup.register("mass-updates", () -> {
+            log.info("Preparing mass verification update manager");
+            return new MassUpdateManager(this);
+        }, "migrations");
+
+        startup.register("workflows", () -> {
+            log.info("Preparing workflow manager and restoring pending prompts");
+            WorkflowManager workflowManager = new WorkflowManager(this);
+            workflowManager.loadPendingPrompts();
+            return workflowManager;
+        }, "migrations");
+
+        startup.register("warnings", () -> {
+            log.info("Preparing warnings manager");
+            return new WarnsManager(this);
+        }, "migrations");
 
         log.info("Creating bot instance and connecting to Discord network");
 
-        shardEntityCounter = new ShardEntityCounter(this);
-
         try {
             shardManager = buildShardManager();
         } catch (LoginException e) {
             Xeus.getLogger().error("ERROR: ", e);
         }
+
+        try {
+            startup.awaitAll();
+        } catch (IllegalStateException e) {
+            // The events held back by the shards would be dispatched to handlers that depend on the
+            // components that failed to load, so the shards are shut down before anything is sent.
+            log.error("Failed to load the startup components, shutting down: {}", e.getMessage(), e);
+            ready.completeExceptionally(e);
+
+            if (shardManager != null) {
+                shardManager.shutdown();
+            }
+
+            System.exit(ExitCodes.EXIT_CODE_ERROR);
+        }
+
+        blacklist = startup.await("blacklist");
+        featureBlacklist = startup.await("feature-blacklist");
+        robloxApiManager = startup.await("roblox");
+        globalPunishmentManager = startup.await("global-punishments");
+        voteManager = startup.await("votes");
+        muteManger = startup.await("mutes");
+        linkFilterManager = startup.await("link-filter");
+        moderationFanoutManager = startup.await("moderation-fanout");
+        massUpdateManager = startup.await("mass-updates");
+        workflowManager = startup.await("workflows");
+        globalMuteManager = startup.await("global-mutes");
+        banManager = startup.await("bans");
+        onWatchManger = startup.await("watches");
+        globalWatchManager = startup.await("global-watches");
+        warnsManager = startup.await("warnings");
+
+        log.info("All startup components has been loaded, dispatching events to the event handlers");
+        ready.complete(null);
     }
 
     public static Logger getLogger() {
@@ -527,13 +675,23 @@ public class Xeus {
         );
     }
 
+    /**
+     * Checks if the startup has finished, which is once every manager has been
+     * loaded and the shards has been allowed to start dispatching events.
+     *
+     * @return <code>True</code> if the startup has finished, <code>False</code> otherwise.
+     */
+    public boolean hasFinishedStartup() {
+        return ready.isDone() && !ready.isCompletedExceptionally();
+    }
+
     /**
      * Checks if we're ready yet by checking if all the shards are connected and ready to serve events.
      *
      * @return <code>True</code> if all shards has connected and are ready, <code>False</code> otherwise.
      */
     public boolean areWeReadyYet() {
-        if (getShardManager() == null) {
+        if (getShardManager() == null || !ready.isDone()) {
             return false;
         }
 
@@ -553,6 +711,14 @@ public class Xeus {
         return shardEntityCounter;
     }
 
+    public GuildStatisticsManager getGuildStatisticsManager() {
+        return guildStatisticsManager;
+    }
+
+    public MemberLoader getMemberLoader() {
+        return memberLoader;
+    }
+
     @Nullable
     public SelfUser getSelfUser() {
         for (JDA shard : getShardManager().getShards()) {
@@ -687,6 +853,14 @@ public class Xeus {
             job.cancel(true);
         }
 
+        if (voteManager != null) {
+            try {
+                voteManager.flushPendingVotes();
+            } catch (SQLException e) {
+                getLogger().error("Failed to write the pending votes during shutdown: ", e);
+            }
+        }
+
         try {
             getDatabase().getConnection().close();
         } catch (SQLException ex) {
@@ -709,6 +883,49 @@ public class Xeus {
         return shutdownCode;
     }
 
+    private MemberLoader createMemberLoader() {
+        MemberCacheStrategy strategy = MemberCacheStrategy.fromName(
+            getConfig().getString("member-cache.strategy", MemberCacheStrategy.BOUNDED.getName())
+        );
+
+        if (strategy == null) {
+            log.warn("Invalid member cache strategy given in the config, falling back to the bounded strategy.");
+            strategy = MemberCacheStrategy.BOUNDED;
+        }
+
+        if (strategy == MemberCacheStrategy.ALL) {
+            log.info("Preparing member loader, every guild member will be cached.");
+            return new MemberLoader(strategy, null);
+        }
+
+        int maxMembers = Math.max(1000, getConfig().getInt("member-cache.max-members", 100000));
+        log.info("Preparing member loader, up to {} active guild members will be cached.", maxMembers);
+
+        MemberResidency residency = new MemberResidency(maxMembers, (guildId, userId) -> {
+            if (shardManager == null) {
+                return;
+            }
+
+            Guild guild = shardManager.getGuildById(guildId);
+            if (guild == null) {
+                return;
+            }
+
+            Member member = guild.getMemberById(userId);
+            if (member != null && !memberCachePolicy.isPinned(member)) {
+                guild.unloadMember(userId);
+            }
+        }, Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("avaire-member-unloader-%d").setDaemon(true).build()
+        ));
+
+        memberCachePolicy = new ResidentMemberCachePolicy(residency, Collections.singleton(
+            getConstants().getBotAdminExceptionRoleId()
+        ));
+
+        return new MemberLoader(strategy, residency);
+    }
+
     private ShardManager buildShardManager() throws LoginException {
         DefaultShardManagerBuilder builder = DefaultShardManagerBuilder.create(EnumSet.of(
             GatewayIntent.GUILD_MEMBERS,
@@ -726,13 +943,17 @@ public class Xeus {
             .setSessionController(new SessionControllerAdapter())
             .setActivity(Activity.watching("pinewood dominate the world!"))
             .setBulkDeleteSplittingEnabled(false)
-            .setMemberCachePolicy(MemberCachePolicy.ALL)
+            .setMemberCachePolicy(memberCachePolicy == null
+                ? MemberCachePolicy.ALL
+                : memberCachePolicy
+            )
             .setChunkingFilter(ChunkingFilter.NONE)
             .disableCache(CacheFlag.ACTIVITY, CacheFlag.ONLINE_STATUS, CacheFlag.CLIENT_STATUS)
             .setEnableShutdownHook(true)
             .setAutoReconnect(true)
             .setContextEnabled(true)
-            .setShardsTotal(settings.getShardCount());
+            .setShardsTotal(settings.getShardCount())
+            .setEventManagerProvider(shard -> new GatedEventManager(ready));
 
 
         if (settings.getShards() != null) {
@@ -780,4 +1001,16 @@ public class Xeus {
     public LinkFilterManager getLinkFilterManager() {
         return linkFilterManager;
     }
+
+    public ModerationFanoutManager getModerationFanoutManager() {
+        return moderationFanoutManager;
+    }
+
+    public MassUpdateManager getMassUpdateManager() {
+        return massUpdateManager;
+    }
+
+    public WorkflowManager getWorkflowManager() {
+        return workflowManager;
+    }
 }
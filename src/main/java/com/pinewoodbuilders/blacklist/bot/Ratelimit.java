@@ -24,12 +24,10 @@ package com.pinewoodbuilders.blacklist.bot;
 import com.pinewoodbuilders.contracts.blacklist.PunishmentLevel;
 import com.pinewoodbuilders.factories.MessageFactory;
 import com.pinewoodbuilders.middleware.ThrottleMiddleware;
+import com.pinewoodbuilders.ratelimit.PunishmentLadder;
+import com.pinewoodbuilders.ratelimit.SlidingWindowRateLimiter;
 import com.pinewoodbuilders.time.Carbon;
-import com.pinewoodbuilders.utilities.CacheUtil;
 import com.pinewoodbuilders.utilities.RestActionUtil;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import net.dv8tion.jda.api.entities.MessageChannel;
 import net.dv8tion.jda.api.entities.User;
 import org.slf4j.Logger;
@@ -38,9 +36,6 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nullable;
 import java.awt.*;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 public class Ratelimit {
@@ -54,20 +49,17 @@ public class Ratelimit {
 
     /**
      * This represents the amount of time in milliseconds that each
-     * hit should be valid for, if all hit slots for a given user
-     * is taken up, but one of the times exceeds the hit time
-     * limit, the rate limit won't count it as exceeding
-     * the rate limit.
+     * hit should be valid for, hits slides out of the ratelimit
+     * window as they get older than the hit time limit.
      */
     static final long hitTime = 30 * 1000;
 
     /**
-     * The cache loader for holding all the ratelimiter rates.
+     * The rate limiter used to count the hits for each user and guild.
      */
-    public static final LoadingCache<Long, Rate> cache = CacheBuilder.newBuilder()
-        .recordStats()
-        .expireAfterWrite(hitTime, TimeUnit.MILLISECONDS)
-        .build(CacheLoader.from(Rate::new));
+    public static final SlidingWindowRateLimiter limiter = SlidingWindowRateLimiter.of(
+        "blacklist", hitLimit, hitTime, TimeUnit.MILLISECONDS
+    );
 
     /**
      * The slf4j logger instance.
@@ -75,17 +67,11 @@ public class Ratelimit {
     private static final Logger log = LoggerFactory.getLogger(Ratelimit.class);
 
     /**
-     * The punishment level holder, this map holds all the users and their current
-     * punishment level, with each offence, the punishment level(value) will go
-     * up, increasing the time the user get auto-blacklisted for.
-     */
-    private static final Map<Long, Integer> punishments = new HashMap<>();
-
-    /**
-     * The punishment levels, each index of the levels list should be an
-     * increasingly harsher punishment for repeating offenders.
+     * The punishment ladder, with each offence the punishment level for the user or
+     * guild will go up, increasing the time they get auto-blacklisted for, each
+     * level should be an increasingly harsher punishment for repeating offenders.
      */
-    private static final List<PunishmentLevel> levels = Arrays.asList(
+    public static final PunishmentLadder punishments = new PunishmentLadder("blacklist", Arrays.<PunishmentLevel>asList(
         () -> Carbon.now().addMinute(),
         () -> Carbon.now().addMinutes(15),
         () -> Carbon.now().addMinutes(30),
@@ -95,7 +81,7 @@ public class Ratelimit {
         () -> Carbon.now().addDay(),
         () -> Carbon.now().addDays(3),
         () -> Carbon.now().addDays(7)
-    );
+    ));
 
     /**
      * The blacklist instance that the ratelimit was created for.
@@ -187,7 +173,7 @@ public class Ratelimit {
      * blacklisted for a certain amount of time, the time the
      * entity is blacklisted for depends on how many earlier
      * offense they have, all the punishment levels can be
-     * seen in the {@link #levels punishments array}.
+     * seen in the {@link #punishments punishment ladder}.
      *
      * @param type The type of throttle request that hit the blacklist.
      * @param id   The ID of the user or guild that should hit the ratelimit.
@@ -196,35 +182,15 @@ public class Ratelimit {
      */
     @Nullable
     public Carbon hit(ThrottleMiddleware.ThrottleType type, long id) {
-        Rate rate = CacheUtil.getUncheckedUnwrapped(cache, id);
-        if (rate == null) {
-            // This should never happen, if it does we'll just return
-            // null to not block any commands by a valid user.
+        if (!limiter.hit(id)) {
             return null;
         }
 
-        //noinspection SynchronizationOnLocalVariableOrMethodParameter
-        synchronized (rate) {
-            rate.hit();
-
-            if (rate.getHits() < hitLimit) {
-                return null;
-            }
-        }
-
-        Long last = rate.getLast();
-
-        // Checks if the user was blacklisted within the last two and half seconds,
-        // the command handling process uses its own thread pool, because of that
-        // it's possible to have two commands come in from the same user in a
-        // very quick succession, instead of punishing the user twice, we
-        // just cancel the blacklist hit here instead.
-        if (last != null && last < System.currentTimeMillis() - 2500) {
+        Carbon punishment = punishments.escalate(id);
+        if (punishment == null) {
             return null;
         }
 
-        Carbon punishment = getPunishment(id);
-
         log.info("{}:{} has been added to the blacklist for excessive command usage, the blacklist expires {}.",
             type.getName(), id, punishment.toDayDateTimeString()
         );
@@ -237,33 +203,4 @@ public class Ratelimit {
 
         return punishment;
     }
-
-    /**
-     * Gets the punishment for the given user ID, as well as
-     * increasing their punishment level in the process.
-     *
-     * @param userId The ID of the user that the punishment should be fetched for.
-     * @return The Carbon instance with the punishment expire time.
-     */
-    private Carbon getPunishment(long userId) {
-        int level = punishments.getOrDefault(userId, -1) + 1;
-
-        punishments.put(userId, level);
-
-        return getPunishment(level);
-    }
-
-    /**
-     * Gets the {@link Carbon} punishment object, representing
-     * the time that the punishment should expire.
-     *
-     * @param level The level to get the punishment for.
-     * @return The Carbon instance with the punishment expire time.
-     */
-    private Carbon getPunishment(int level) {
-        if (level < 0) {
-            return levels.get(0).generateTime();
-        }
-        return levels.get(level >= levels.size() ? levels.size() - 1 : level).generateTime();
-    }
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.cache.member;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The strategies that can be used for caching guild members, the strategy is
+ * set through the <code>member-cache.strategy</code> config option.
+ */
+public enum MemberCacheStrategy {
+
+    /**
+     * Caches every member of every guild, guilds are loaded fully the first
+     * time an event touches them, and their members are never unloaded.
+     */
+    ALL("all"),
+
+    /**
+     * Only caches members that are in voice, owns their guild, or can moderate their
+     * guild, as well as members that were recently active, up to a configurable
+     * limit, members that aren't cached are loaded on-demand when needed.
+     */
+    BOUNDED("bounded");
+
+    private final String name;
+
+    MemberCacheStrategy(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the member cache strategy with the given name.
+     *
+     * @param name The name of the strategy.
+     * @return The strategy with the given name, or <code>NULL</code> if no strategy has the given name.
+     */
+    @Nullable
+    public static MemberCacheStrategy fromName(@Nonnull String name) {
+        for (MemberCacheStrategy strategy : values()) {
+            if (strategy.name.equalsIgnoreCase(name.trim())) {
+                return strategy;
+            }
+        }
+        return null;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
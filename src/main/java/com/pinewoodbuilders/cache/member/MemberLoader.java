@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.cache.member;
+
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Loads guild members on-demand for code paths that needs members that might
+ * not be cached, like offline members, or every member with a given role.
+ * <p>
+ * Concurrent loads for the same guild, or the same member, are de-duplicated,
+ * so only a single request is ever in-flight to Discord for any given guild
+ * or member, members that are already cached are returned right away.
+ */
+public class MemberLoader {
+
+    /**
+     * The max amount of members that can be requested from Discord at once.
+     */
+    private static final int MAX_MEMBERS_PER_REQUEST = 100;
+
+    /**
+     * The max amount of members that are looked up by their IDs when checking
+     * which users are still in a guild, for anything above this it is cheaper
+     * to just stream every member in the guild instead.
+     */
+    private static final int MAX_MEMBERS_PER_LOOKUP = 1000;
+
+    private final MemberCacheStrategy strategy;
+    private final MemberResidency residency;
+
+    private final Map<Long, CompletableFuture<List<Member>>> pendingGuilds = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Member>> pendingMembers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new member loader.
+     *
+     * @param strategy  The member cache strategy used by the bot.
+     * @param residency The member residency used by the bounded strategy, or
+     *                  <code>NULL</code> if every member is cached.
+     */
+    public MemberLoader(@Nonnull MemberCacheStrategy strategy, @Nullable MemberResidency residency) {
+        this.strategy = strategy;
+        this.residency = residency;
+    }
+
+    /**
+     * Gets the member cache strategy used by the bot.
+     *
+     * @return The member cache strategy.
+     */
+    public MemberCacheStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Gets the member residency used by the bounded strategy.
+     *
+     * @return The member residency, or <code>NULL</code> if every member is cached.
+     */
+    @Nullable
+    public MemberResidency getResidency() {
+        return residency;
+    }
+
+    /**
+     * Loads every member in the given guild, if the guild is already fully
+     * loaded, the cached members will be returned instead.
+     * <p>
+     * Members that are loaded through this method are not added to the
+     * member residency, so loading a large guild doesn't unload all
+     * the recently active members from the member cache.
+     *
+     * @param guild The guild the members should be loaded for.
+     * @return A future that completes with every member in the guild.
+     */
+    public CompletableFuture<List<Member>> loadMembers(@Nonnull Guild guild) {
+        if (isFullyCached(guild)) {
+            return CompletableFuture.completedFuture(guild.getMembers());
+        }
+
+        CompletableFuture<List<Member>> future = new CompletableFuture<>();
+        CompletableFuture<List<Member>> inFlight = pendingGuilds.putIfAbsent(guild.getIdLong(), future);
+        if (inFlight != null) {
+            return inFlight;
+        }
+
+        beginBulkLoad(guild);
+        guild.loadMembers().onSuccess(members -> {
+            endBulkLoad(guild);
+            pendingGuilds.remove(guild.getIdLong(), future);
+            future.complete(members);
+        }).onError(throwable -> {
+            endBulkLoad(guild);
+            pendingGuilds.remove(guild.getIdLong(), future);
+            future.completeExceptionally(throwable);
+        });
+
+        return future;
+    }
+
+    /**
+     * Loads every member in the given guild, passing each member to the given
+     * callback as they're loaded, without keeping a list of all the members.
+     *
+     * @param guild    The guild the members should be loaded for.
+     * @param callback The callback that should be invoked for every member.
+     * @return A future that completes once every member has been loaded.
+     */
+    public CompletableFuture<Void> loadMembers(@Nonnull Guild guild, @Nonnull Consumer<Member> callback) {
+        if (isFullyCached(guild)) {
+            guild.getMemberCache().forEach(callback);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+
+        beginBulkLoad(guild);
+        guild.loadMembers(callback).onSuccess(ignored -> {
+            endBulkLoad(guild);
+            future.complete(null);
+        }).onError(throwable -> {
+            endBulkLoad(guild);
+            future.completeExceptionally(throwable);
+        });
+
+        return future;
+    }
+
+    /**
+     * Loads every member in the given guild that has the given role.
+     *
+     * @param guild  The guild the members should be loaded for.
+     * @param roleId The ID of the role the members should have.
+     * @return A future that completes with every member in the guild that has the role.
+     */
+    public CompletableFuture<List<Member>> loadMembersWithRole(@Nonnull Guild guild, long roleId) {
+        return loadMembers(guild).thenApply(members -> {
+            List<Member> result = new ArrayList<>();
+            for (Member member : members) {
+                if (member.getRoles().stream().anyMatch(role -> role.getIdLong() == roleId)) {
+                    result.add(member);
+                }
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Retrieves the member with the given ID, if the member is already cached
+     * the cached member is returned right away, otherwise the member is
+     * requested from Discord.
+     * <p>
+     * The member cache is bounded, so this should be used instead of
+     * {@link Guild#getMemberById(long)} whenever a missing member is
+     * treated as the user no longer being in the guild.
+     *
+     * @param guild  The guild the member should be retrieved from.
+     * @param userId The ID of the member that should be retrieved.
+     * @return A future that completes with the member, or with <code>NULL</code>
+     * if the user is no longer in the guild.
+     */
+    public CompletableFuture<Member> retrieveMember(@Nonnull Guild guild, long userId) {
+        return retrieveMembers(guild, Collections.singletonList(userId))
+            .thenApply(members -> members.isEmpty() ? null : members.get(0));
+    }
+
+    /**
+     * Retrieves the members with the given IDs, members that are already
+     * cached are returned right away, while every other member is
+     * requested from Discord in batches.
+     *
+     * @param guild   The guild the members should be retrieved from.
+     * @param userIds The IDs of the members that should be retrieved.
+     * @return A future that completes with the members that were found, members
+     * that are no longer in the guild are left out of the result.
+     */
+    public CompletableFuture<List<Member>> retrieveMembers(@Nonnull Guild guild, @Nonnull Collection<Long> userIds) {
+        List<CompletableFuture<Member>> futures = new ArrayList<>(userIds.size());
+        Map<Long, CompletableFuture<Member>> requests = new ConcurrentHashMap<>();
+
+        for (long userId : userIds) {
+            Member member = guild.getMemberById(userId);
+            if (member != null || isFullyCached(guild)) {
+                futures.add(CompletableFuture.completedFuture(member));
+                continue;
+            }
+
+            CompletableFuture<Member> future = new CompletableFuture<>();
+            CompletableFuture<Member> inFlight = pendingMembers.putIfAbsent(createKey(guild, userId), future);
+            if (inFlight != null) {
+                futures.add(inFlight);
+                continue;
+            }
+
+            futures.add(future);
+            requests.put(userId, future);
+        }
+
+        List<Long> ids = new ArrayList<>(requests.keySet());
+        for (int i = 0; i < ids.size(); i += MAX_MEMBERS_PER_REQUEST) {
+            List<Long> batch = ids.subList(i, Math.min(i + MAX_MEMBERS_PER_REQUEST, ids.size()));
+
+            guild.retrieveMembersByIds(batch).onSuccess(members -> {
+                for (Member member : members) {
+                    complete(guild, member.getIdLong(), requests.get(member.getIdLong()), member);
+                }
+                // Members that weren't returned are no longer in the guild.
+                for (long userId : batch) {
+                    complete(guild, userId, requests.get(userId), null);
+                }
+            }).onError(throwable -> {
+                for (long userId : batch) {
+                    pendingMembers.remove(createKey(guild, userId));
+                    requests.get(userId).completeExceptionally(throwable);
+                }
+            });
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            List<Member> members = new ArrayList<>(futures.size());
+            for (CompletableFuture<Member> future : futures) {
+                Member member = future.join();
+                if (member != null) {
+                    members.add(member);
+                }
+            }
+            return members;
+        });
+    }
+
+    /**
+     * Checks which of the given user IDs are still members of the given guild,
+     * small lookups are done through {@link #retrieveMembers(Guild, Collection)},
+     * while larger lookups streams every member in the guild instead.
+     *
+     * @param guild   The guild the members should be checked against.
+     * @param userIds The IDs of the users that should be checked.
+     * @return A future that completes with the IDs of the users that are still in the guild.
+     */
+    public CompletableFuture<Set<Long>> retrieveMemberIds(@Nonnull Guild guild, @Nonnull Collection<Long> userIds) {
+        if (userIds.size() <= MAX_MEMBERS_PER_LOOKUP) {
+            return retrieveMembers(guild, userIds).thenApply(members -> {
+                Set<Long> result = new HashSet<>(members.size());
+                for (Member member : members) {
+                    result.add(member.getIdLong());
+                }
+                return result;
+            });
+        }
+
+        Set<Long> lookup = new HashSet<>(userIds);
+        Set<Long> result = ConcurrentHashMap.newKeySet();
+
+        return loadMembers(guild, member -> {
+            if (lookup.contains(member.getIdLong())) {
+                result.add(member.getIdLong());
+            }
+        }).thenApply(ignored -> result);
+    }
+
+    private void complete(Guild guild, long userId, CompletableFuture<Member> future, @Nullable Member member) {
+        if (future == null) {
+            return;
+        }
+        pendingMembers.remove(createKey(guild, userId), future);
+        future.complete(member);
+    }
+
+    private boolean isFullyCached(Guild guild) {
+        return strategy == MemberCacheStrategy.ALL && guild.isLoaded();
+    }
+
+    private void beginBulkLoad(Guild guild) {
+        if (residency != null) {
+            residency.beginBulkLoad(guild.getIdLong());
+        }
+    }
+
+    private void endBulkLoad(Guild guild) {
+        if (residency != null) {
+            residency.endBulkLoad(guild.getIdLong());
+        }
+    }
+
+    private String createKey(Guild guild, long userId) {
+        return guild.getId() + ":" + userId;
+    }
+}
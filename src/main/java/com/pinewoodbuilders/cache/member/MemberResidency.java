@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.cache.member;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps track of the members that are allowed to stay in the member cache, members
+ * are kept in least recently used order, and once there are more members than the
+ * limit allows, the members that were used the least recently are unloaded.
+ * <p>
+ * Guilds that are having all their members loaded can be marked as
+ * {@link #beginBulkLoad(long) bulk loading}, members loaded for those
+ * guilds are only returned to whoever requested them, so loading a
+ * large guild doesn't push every active member out of the cache.
+ * <p>
+ * Members are evicted by whatever thread made a member resident, which is usually
+ * a JDA thread that is inside the member cache policy while holding locks for the
+ * member's guild, so evicted members are unloaded through the unload executor
+ * instead, since unloading a member locks the member's guild as well.
+ */
+public class MemberResidency {
+
+    private final Cache<ResidentMember, Boolean> residents;
+    private final MemberUnloader unloader;
+    private final Executor unloadExecutor;
+    private final ConcurrentHashMap<Long, AtomicInteger> bulkLoads = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new member residency with the given limit.
+     *
+     * @param maxMembers     The max amount of members that can be resident at the same time.
+     * @param unloader       The unloader used to unload members that are evicted.
+     * @param unloadExecutor The executor the evicted members should be unloaded on.
+     */
+    public MemberResidency(long maxMembers, MemberUnloader unloader, Executor unloadExecutor) {
+        this.unloader = unloader;
+        this.unloadExecutor = unloadExecutor;
+        this.residents = CacheBuilder.newBuilder()
+            .recordStats()
+            .maximumSize(maxMembers)
+            .removalListener(this::onRemoval)
+            .build();
+    }
+
+    /**
+     * Marks the given member as used, making the member the last to be unloaded.
+     *
+     * @param guildId The ID of the guild the member belongs to.
+     * @param userId  The ID of the member.
+     */
+    public void touch(long guildId, long userId) {
+        residents.put(new ResidentMember(guildId, userId), Boolean.TRUE);
+    }
+
+    /**
+     * Marks the given member as used if the member is already resident, this
+     * should be called whenever a cached member is active, since JDA only
+     * asks the member cache policy about members that aren't cached yet.
+     *
+     * @param guildId The ID of the guild the member belongs to.
+     * @param userId  The ID of the member.
+     */
+    public void refresh(long guildId, long userId) {
+        residents.getIfPresent(new ResidentMember(guildId, userId));
+    }
+
+    /**
+     * Checks if the given member is resident.
+     *
+     * @param guildId The ID of the guild the member belongs to.
+     * @param userId  The ID of the member.
+     * @return <code>True</code> if the member is resident, <code>False</code> otherwise.
+     */
+    public boolean isResident(long guildId, long userId) {
+        return residents.asMap().containsKey(new ResidentMember(guildId, userId));
+    }
+
+    /**
+     * Forgets the given member without unloading it, this should be
+     * called when the member has already left the guild.
+     *
+     * @param guildId The ID of the guild the member belonged to.
+     * @param userId  The ID of the member.
+     */
+    public void forget(long guildId, long userId) {
+        residents.invalidate(new ResidentMember(guildId, userId));
+    }
+
+    /**
+     * Forgets every member of the given guild without unloading them,
+     * this should be called when the bot has left the guild.
+     *
+     * @param guildId The ID of the guild the members should be forgotten for.
+     */
+    public void forgetGuild(long guildId) {
+        residents.asMap().keySet().removeIf(member -> member.guildId == guildId);
+    }
+
+    /**
+     * Marks the given guild as bulk loading, until {@link #endBulkLoad(long)} is called.
+     *
+     * @param guildId The ID of the guild that is bulk loading its members.
+     */
+    public void beginBulkLoad(long guildId) {
+        bulkLoads.computeIfAbsent(guildId, id -> new AtomicInteger()).incrementAndGet();
+    }
+
+    /**
+     * Marks a bulk load for the given guild as done.
+     *
+     * @param guildId The ID of the guild that was bulk loading its members.
+     */
+    public void endBulkLoad(long guildId) {
+        bulkLoads.computeIfPresent(guildId, (id, loads) -> loads.decrementAndGet() > 0 ? loads : null);
+    }
+
+    /**
+     * Checks if the given guild is bulk loading its members.
+     *
+     * @param guildId The ID of the guild that should be checked.
+     * @return <code>True</code> if the guild is bulk loading, <code>False</code> otherwise.
+     */
+    public boolean isBulkLoading(long guildId) {
+        return bulkLoads.containsKey(guildId);
+    }
+
+    /**
+     * Gets the amount of members that are currently resident.
+     *
+     * @return The amount of resident members.
+     */
+    public long size() {
+        return residents.size();
+    }
+
+    /**
+     * Gets the amount of members that has been unloaded because
+     * they were used the least recently.
+     *
+     * @return The amount of evicted members.
+     */
+    public long getEvictions() {
+        return residents.stats().evictionCount();
+    }
+
+    private void onRemoval(RemovalNotification<ResidentMember, Boolean> notification) {
+        ResidentMember member = notification.getKey();
+        if (notification.wasEvicted() && member != null) {
+            unloadExecutor.execute(() -> {
+                // The member may have become active again before the unload got to run.
+                if (!isResident(member.guildId, member.userId)) {
+                    unloader.unload(member.guildId, member.userId);
+                }
+            });
+        }
+    }
+
+    @FunctionalInterface
+    public interface MemberUnloader {
+
+        /**
+         * Unloads the given member from the member cache.
+         *
+         * @param guildId The ID of the guild the member belongs to.
+         * @param userId  The ID of the member.
+         */
+        void unload(long guildId, long userId);
+    }
+
+    private static final class ResidentMember {
+
+        private final long guildId;
+        private final long userId;
+
+        ResidentMember(long guildId, long userId) {
+            this.guildId = guildId;
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ResidentMember that = (ResidentMember) o;
+            return guildId == that.guildId && userId == that.userId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(guildId, userId);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.cache.member;
+
+import net.dv8tion.jda.api.Permission;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.utils.MemberCachePolicy;
+
+import javax.annotation.Nonnull;
+import java.util.Set;
+
+/**
+ * The member cache policy used by the {@link MemberCacheStrategy#BOUNDED bounded}
+ * member cache strategy, members that are in voice, owns their guild, can
+ * moderate their guild, or has one of the pinned roles are pinned and are
+ * always cached, every other member is cached as long as they're
+ * resident in the {@link MemberResidency}.
+ */
+public class ResidentMemberCachePolicy implements MemberCachePolicy {
+
+    private static final MemberCachePolicy pinned = MemberCachePolicy.VOICE.or(MemberCachePolicy.OWNER);
+    private static final Permission[] moderationPermissions = new Permission[]{
+        Permission.ADMINISTRATOR, Permission.MANAGE_SERVER, Permission.BAN_MEMBERS, Permission.KICK_MEMBERS
+    };
+
+    private final MemberResidency residency;
+    private final Set<Long> pinnedRoles;
+
+    /**
+     * Creates a new resident member cache policy.
+     *
+     * @param residency   The residency that keeps track of the recently active members.
+     * @param pinnedRoles The IDs of the roles that should always be cached, like the
+     *                    bot admin role which is checked for every command.
+     */
+    public ResidentMemberCachePolicy(MemberResidency residency, Set<Long> pinnedRoles) {
+        this.residency = residency;
+        this.pinnedRoles = pinnedRoles;
+    }
+
+    /**
+     * Checks if the given member is pinned, pinned members are always
+     * cached, and don't count towards the residency limit.
+     *
+     * @param member The member that should be checked.
+     * @return <code>True</code> if the member is pinned, <code>False</code> otherwise.
+     */
+    public boolean isPinned(@Nonnull Member member) {
+        if (pinned.cacheMember(member)) {
+            return true;
+        }
+
+        for (Role role : member.getRoles()) {
+            if (pinnedRoles.contains(role.getIdLong())) {
+                return true;
+            }
+        }
+
+        for (Permission permission : moderationPermissions) {
+            if (member.hasPermission(permission)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean cacheMember(@Nonnull Member member) {
+        if (isPinned(member)) {
+            return true;
+        }
+
+        long guildId = member.getGuild().getIdLong();
+        if (residency.isBulkLoading(guildId)) {
+            return residency.isResident(guildId, member.getIdLong());
+        }
+
+        residency.touch(guildId, member.getIdLong());
+        return true;
+    }
+}
@@ -21,95 +21,105 @@
 
 package com.pinewoodbuilders.chat;
 
-import com.pinewoodbuilders.utilities.StringReplacementUtil;
 import net.dv8tion.jda.api.entities.*;
 
 class DefaultPlaceholders {
 
     static String parse(PlaceholderType type, Object object, String message) {
+        if (message == null) {
+            return null;
+        }
+
+        PlaceholderResolver resolver = new PlaceholderResolver();
+        resolve(type, object, resolver);
+
+        return PlaceholderTemplate.compile(message, PlaceholderTemplate.Syntax.COLON).render(resolver);
+    }
+
+    static void resolve(PlaceholderType type, Object object, PlaceholderResolver resolver) {
         switch (type) {
             case ALL:
-                if (object instanceof Message jdaMessage && ((Message) object).getChannelType().isGuild()) {
-                    return parseGuild(jdaMessage.getGuild(), parseChannel(jdaMessage.getChannel(), parseUser(jdaMessage.getAuthor(), message)));
+                if (object instanceof Message jdaMessage && jdaMessage.getChannelType().isGuild()) {
+                    resolveUser(jdaMessage.getAuthor(), resolver);
+                    resolveChannel(jdaMessage.getChannel(), resolver);
+                    resolveGuild(jdaMessage.getGuild(), resolver);
+                    return;
                 }
 
             case GUILD:
                 if (object instanceof Guild guild) {
-                    return parseGuild(guild, message);
+                    resolveGuild(guild, resolver);
+                    return;
                 }
 
                 if (object instanceof Message && ((Message) object).getChannelType().isGuild()) {
-                    return parseGuild(((Message) object).getGuild(), message);
+                    resolveGuild(((Message) object).getGuild(), resolver);
                 }
                 break;
 
             case CHANNEL:
                 if (object instanceof TextChannel textChannel) {
-                    return parseChannel(textChannel, message);
+                    resolveChannel(textChannel, resolver);
+                    return;
                 }
 
                 if (object instanceof ThreadChannel threadChannel) {
-                    return parseChannel(threadChannel, message);
+                    resolveChannel(threadChannel, resolver);
+                    return;
                 }
 
                 if (object instanceof Message && ((Message) object).getChannelType().equals(ChannelType.TEXT)) {
-                    return parseChannel(((Message) object).getChannel().asTextChannel(), message);
+                    resolveChannel(((Message) object).getChannel().asTextChannel(), resolver);
                 }
-
                 break;
 
             case USER:
                 if (object instanceof User usr) {
-                    return parseUser(usr, message);
+                    resolveUser(usr, resolver);
+                    return;
                 }
 
                 if (object instanceof Message msg) {
-                    return parseUser(msg.getAuthor(), message);
+                    resolveUser(msg.getAuthor(), resolver);
                 }
                 break;
-
-            default:
-                for (PlaceholderType placeholderType : PlaceholderType.values()) {
-                    message = parse(placeholderType, object, message);
-                }
-                return message;
         }
-
-        return message;
     }
 
     static String toGuild(Message message, String string) {
         if (!message.getChannelType().isGuild() || string == null) return string;
-        return parseGuild(message.getGuild(), string);
+        return render(string, resolveGuild(message.getGuild(), new PlaceholderResolver()));
     }
 
-    private static String parseGuild(Guild guild, String message) {
-        return StringReplacementUtil.replaceAll(message, ":guildid", guild.getId());
+    private static PlaceholderResolver resolveGuild(Guild guild, PlaceholderResolver resolver) {
+        return resolver.add("guildid", guild.getId());
     }
 
     static String toChannel(Message message, String string) {
         if (string == null) return null;
-        return parseChannel(message.getChannel(), string);
+        return render(string, resolveChannel(message.getChannel(), new PlaceholderResolver()));
     }
 
-    private static String parseChannel(MessageChannel channel, String message) {
-        message = StringReplacementUtil.replaceAll(message, ":channelname", channel.getName());
-        message = StringReplacementUtil.replaceAll(message, ":channelid", channel.getId());
-        message = StringReplacementUtil.replaceAll(message, ":channel", channel.getAsMention());
-
-        return message;
+    private static PlaceholderResolver resolveChannel(MessageChannel channel, PlaceholderResolver resolver) {
+        return resolver
+            .add("channelname", channel.getName())
+            .add("channelid", channel.getId())
+            .add("channel", channel.getAsMention());
     }
 
     static String toUser(Message message, String string) {
         if (string == null) return null;
-        return parseUser(message.getAuthor(), string);
+        return render(string, resolveUser(message.getAuthor(), new PlaceholderResolver()));
     }
 
-    private static String parseUser(User author, String message) {
-        message = StringReplacementUtil.replaceAll(message, ":username", author.getName());
-        message = StringReplacementUtil.replaceAll(message, ":userid", author.getId());
-        message = StringReplacementUtil.replaceAll(message, ":user", author.getAsMention());
+    private static PlaceholderResolver resolveUser(User author, PlaceholderResolver resolver) {
+        return resolver
+            .add("username", author.getName())
+            .add("userid", author.getId())
+            .add("user", author.getAsMention());
+    }
 
-        return message;
+    private static String render(String message, PlaceholderResolver resolver) {
+        return PlaceholderTemplate.compile(message, PlaceholderTemplate.Syntax.COLON).render(resolver);
     }
 }
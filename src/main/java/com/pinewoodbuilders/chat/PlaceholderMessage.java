@@ -23,7 +23,6 @@ package com.pinewoodbuilders.chat;
 
 import com.pinewoodbuilders.commands.CommandMessage;
 import com.pinewoodbuilders.contracts.chat.Restable;
-import com.pinewoodbuilders.utilities.StringReplacementUtil;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.MessageChannel;
@@ -196,34 +195,28 @@ public class PlaceholderMessage extends Restable {
     }
 
     private String formatMessage() {
-        if (placeholders.isEmpty()) {
-            return trimString(
-                formatGlobalMessage(message),
-                MessageEmbed.TEXT_MAX_LENGTH
-            );
+        if (message == null) {
+            return null;
         }
 
+        PlaceholderResolver resolver = new PlaceholderResolver();
+
         List<String> keys = new ArrayList<>(placeholders.keySet());
         keys.sort((o1, o2) -> o2.length() - o1.length());
-        keys.forEach(key -> {
-            message = StringReplacementUtil.replaceAll(
-                message, ":" + key, placeholders.get(key)
-            );
-        });
+        for (String key : keys) {
+            resolver.add(key, placeholders.get(key));
+        }
+
+        if (globalPlaceholder != null) {
+            DefaultPlaceholders.resolve(globalPlaceholder, globalObject, resolver);
+        }
 
         return trimString(
-            formatGlobalMessage(message),
+            PlaceholderTemplate.compile(message, PlaceholderTemplate.Syntax.COLON).render(resolver),
             MessageEmbed.TEXT_MAX_LENGTH
         );
     }
 
-    private String formatGlobalMessage(String message) {
-        if (globalPlaceholder == null) {
-            return message;
-        }
-        return globalPlaceholder.parse(globalObject, message);
-    }
-
     private String trimString(String string, int length) {
         if (string == null) {
             return null;
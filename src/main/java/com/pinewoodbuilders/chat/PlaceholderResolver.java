@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.chat;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * An ordered set of placeholder keys and the values they should be replaced
+ * with, when multiple placeholders match at the same position in a template,
+ * the placeholder that was added first will be used.
+ */
+public class PlaceholderResolver {
+
+    private String[] keys = new String[8];
+    private String[] values = new String[8];
+    private int size = 0;
+
+    /**
+     * Adds the given placeholder to the resolver, placeholders
+     * with a <code>NULL</code> value are ignored.
+     *
+     * @param key   The placeholder key, without the placeholder delimiters.
+     * @param value The value the placeholder should be replaced with.
+     * @return The placeholder resolver instance.
+     */
+    public PlaceholderResolver add(@Nonnull String key, @Nullable String value) {
+        if (value == null) {
+            return this;
+        }
+
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+
+        keys[size] = key;
+        values[size++] = value;
+
+        return this;
+    }
+
+    /**
+     * Checks if the resolver doesn't have any placeholders.
+     *
+     * @return <code>True</code> if the resolver is empty, <code>False</code> otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Finds the first placeholder that the source starts with at the given offset.
+     *
+     * @param source The template source.
+     * @param offset The offset the placeholder key should start at.
+     * @return The index of the matching placeholder, or <code>-1</code> if no placeholder matches.
+     */
+    int matchPrefix(String source, int offset) {
+        for (int i = 0; i < size; i++) {
+            if (source.startsWith(keys[i], offset)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the first placeholder that matches the source exactly between the given offsets.
+     *
+     * @param source The template source.
+     * @param offset The offset the placeholder key should start at.
+     * @param end    The offset the placeholder key should end at, exclusive.
+     * @return The index of the matching placeholder, or <code>-1</code> if no placeholder matches.
+     */
+    int matchExact(String source, int offset, int end) {
+        for (int i = 0; i < size; i++) {
+            if (keys[i].length() == end - offset && source.startsWith(keys[i], offset)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    int getKeyLength(int index) {
+        return keys[index].length();
+    }
+
+    String getValue(int index) {
+        return values[index];
+    }
+}
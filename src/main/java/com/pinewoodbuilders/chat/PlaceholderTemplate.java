@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.chat;
+
+import com.pinewoodbuilders.utilities.CacheUtil;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A compiled message template, the positions of every placeholder delimiter
+ * in the template source is found once when the template is compiled, so
+ * rendering the template only has to look at the delimiter positions,
+ * and builds the message in a single pass.
+ * <p>
+ * Placeholder values are never parsed for placeholders themselves, so
+ * values that contains placeholder keys are kept as-is.
+ */
+public final class PlaceholderTemplate {
+
+    private final String source;
+    private final Syntax syntax;
+    private final int[] delimiters;
+
+    private PlaceholderTemplate(String source, Syntax syntax, int[] delimiters) {
+        this.source = source;
+        this.syntax = syntax;
+        this.delimiters = delimiters;
+    }
+
+    /**
+     * Gets the compiled template for the given source, templates are
+     * cached by their source, so every template is only compiled
+     * once while it is being used.
+     *
+     * @param source The template source.
+     * @param syntax The placeholder syntax used by the template.
+     * @return The compiled template.
+     */
+    @Nonnull
+    public static PlaceholderTemplate compile(@Nonnull String source, @Nonnull Syntax syntax) {
+        return (PlaceholderTemplate) CacheUtil.getUncheckedUnwrapped(syntax.cache, source, () -> {
+            int count = 0;
+            for (int i = 0; i < source.length(); i++) {
+                if (source.charAt(i) == syntax.delimiter) {
+                    count++;
+                }
+            }
+
+            int[] delimiters = new int[count];
+            for (int i = 0, index = 0; i < source.length(); i++) {
+                if (source.charAt(i) == syntax.delimiter) {
+                    delimiters[index++] = i;
+                }
+            }
+
+            return new PlaceholderTemplate(source, syntax, delimiters);
+        });
+    }
+
+    /**
+     * Gets the source the template was compiled from.
+     *
+     * @return The template source.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Renders the template using the given placeholder resolver.
+     *
+     * @param resolver The placeholder resolver that should be used to replace the placeholders.
+     * @return The rendered message.
+     */
+    public String render(@Nonnull PlaceholderResolver resolver) {
+        if (delimiters.length == 0 || resolver.isEmpty()) {
+            return source;
+        }
+
+        StringBuilder builder = new StringBuilder(source.length() + 32);
+
+        int position = 0;
+        for (int i = 0; i < delimiters.length; i++) {
+            int delimiter = delimiters[i];
+            if (delimiter < position) {
+                continue;
+            }
+
+            int match;
+            int end;
+            if (syntax == Syntax.COLON) {
+                match = resolver.matchPrefix(source, delimiter + 1);
+                end = match < 0 ? -1 : delimiter + 1 + resolver.getKeyLength(match);
+            } else {
+                if (i + 1 >= delimiters.length) {
+                    break;
+                }
+                match = resolver.matchExact(source, delimiter + 1, delimiters[i + 1]);
+                end = delimiters[i + 1] + 1;
+            }
+
+            if (match < 0) {
+                continue;
+            }
+
+            builder.append(source, position, delimiter).append(resolver.getValue(match));
+            position = end;
+        }
+
+        if (position == 0) {
+            return source;
+        }
+        return builder.append(source, position, source.length()).toString();
+    }
+
+    /**
+     * The placeholder syntaxes supported by the templates.
+     */
+    public enum Syntax {
+
+        /**
+         * Placeholders are prefixed with a colon, like <code>:user</code>, the
+         * placeholder key is matched against the text following the colon.
+         */
+        COLON(':'),
+
+        /**
+         * Placeholders are wrapped in percentage signs, like <code>%user%</code>.
+         */
+        PERCENT('%');
+
+        private final char delimiter;
+        private final Cache<String, PlaceholderTemplate> cache = CacheBuilder.newBuilder()
+            .maximumSize(5000)
+            .expireAfterAccess(30, TimeUnit.MINUTES)
+            .build();
+
+        Syntax(char delimiter) {
+            this.delimiter = delimiter;
+        }
+    }
+}
@@ -32,6 +32,7 @@ import com.pinewoodbuilders.database.transformers.VerificationTransformer;
 import com.pinewoodbuilders.factories.MessageFactory;
 import com.pinewoodbuilders.handlers.DatabaseEventHolder;
 import com.pinewoodbuilders.language.I18n;
+import com.pinewoodbuilders.language.LanguageContainer;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.entities.*;
@@ -64,7 +65,7 @@ public class CommandMessage implements CommandContext {
 
     private final CommandContainer container;
 
-    private YamlConfiguration i18n;
+    private LanguageContainer locale;
     private String i18nCommandPrefix;
 
 
@@ -304,14 +305,19 @@ public class CommandMessage implements CommandContext {
     @Override
     @Nonnull
     public YamlConfiguration getI18n() {
-        if (this.i18n == null) {
-            this.i18n = I18n.get(getGuild());
+        return getLocale().getConfig();
+    }
+
+    @Nonnull
+    public LanguageContainer getLocale() {
+        if (this.locale == null) {
+            this.locale = I18n.getLocale(getGuild());
         }
-        return this.i18n;
+        return this.locale;
     }
 
-    public CommandMessage setI18n(YamlConfiguration i18n) {
-        this.i18n = i18n;
+    public CommandMessage setLocale(LanguageContainer locale) {
+        this.locale = locale;
         return this;
     }
 
@@ -335,16 +341,19 @@ public class CommandMessage implements CommandContext {
     @Override
     @CheckReturnValue
     public String i18nRaw(@Nonnull String key) {
-        if (getI18n().contains(key)) {
-            return getI18n().getString(key)
-                .replace("\\n", "\n")
-                .replace("\\t", "\t");
-        } else {
-            log.warn("Missing language entry for key {} in language {}", key, I18n.getLocale(getGuild()).getLanguage().getCode());
-            return I18n.getDefaultLanguage().getConfig().getString(key)
-                .replace("\\n", "\n")
-                .replace("\\t", "\t");
+        String message = getLocale().getString(key);
+        if (message == null) {
+            log.warn("Missing language entry for key {} in language {}", key, getLocale().getLanguage().getCode());
+
+            message = I18n.getDefaultLanguage().getString(key);
+            if (message == null) {
+                return null;
+            }
         }
+
+        return message
+            .replace("\\n", "\n")
+            .replace("\\t", "\t");
     }
 
     @Override
@@ -173,7 +173,7 @@ public class AddLevelRoleCommand extends Command {
         }
 
         try {
-            transformer.getLevelRoles().put(level, role.getId());
+            transformer.putLevelRole(level, role.getId());
             avaire.getDatabase().newQueryBuilder(Constants.GUILD_TABLE_NAME)
                 .where("id", context.getGuild().getId())
                 .update(statement -> {
@@ -29,6 +29,7 @@ import com.pinewoodbuilders.contracts.commands.Command;
 import com.pinewoodbuilders.contracts.commands.CommandGroup;
 import com.pinewoodbuilders.contracts.commands.CommandGroups;
 import com.pinewoodbuilders.database.transformers.GuildTransformer;
+import com.pinewoodbuilders.language.I18n;
 import com.pinewoodbuilders.language.Language;
 import com.pinewoodbuilders.utilities.NumberUtil;
 
@@ -118,6 +119,7 @@ public class LanguageCommand extends Command {
                 .where("id", context.getGuild().getId())
                 .update(statement -> statement.set("local", language.getCode()));
             transformer.setLocale(language.getCode());
+            I18n.forgetLocale(context.getGuild().getIdLong());
 
             context.makeSuccess(context.i18n("changed"))
                 .set("name", language.getNativeName())
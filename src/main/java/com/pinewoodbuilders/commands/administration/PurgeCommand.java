@@ -39,11 +39,39 @@ import net.dv8tion.jda.api.utils.TimeUtil;
 
 import javax.annotation.Nonnull;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 public class PurgeCommand extends Command {
 
+    /**
+     * The max amount of messages that can be scanned in a single purge.
+     */
+    private static final int MAX_MESSAGES = 1000;
+
+    /**
+     * The max amount of messages Discord allows us to load from the channel history at once.
+     */
+    private static final int PAGE_SIZE = 100;
+
+    /**
+     * The max length of the regex patterns that can be used to filter messages.
+     */
+    private static final int MAX_REGEX_LENGTH = 100;
+
+    /**
+     * The max amount of time in milliseconds a regex pattern can spend matching a single message.
+     */
+    private static final long REGEX_TIMEOUT = 25;
+
+    private static final Pattern linkPattern = Pattern.compile("https?://\\S+", Pattern.CASE_INSENSITIVE);
+
+    private static final Set<Long> runningPurges = ConcurrentHashMap.newKeySet();
+
     public PurgeCommand(Xeus avaire) {
         super(avaire, false);
     }
@@ -55,7 +83,7 @@ public class PurgeCommand extends Command {
 
     @Override
     public String getDescription() {
-        return "Deletes up to 100 chat messages in any channel, you can mention a user if you only want to delete messages by the mentioned user.";
+        return "Deletes up to " + MAX_MESSAGES + " chat messages in any channel, you can mention users, or filter by bots, links, attachments, or a regex if you only want to delete some of the messages.";
     }
 
     @Override
@@ -63,7 +91,8 @@ public class PurgeCommand extends Command {
         return Arrays.asList(
             "`:command` - Deletes the last 5 messages.",
             "`:command [number]` - Deletes the given number of messages.",
-            "`:command [number] [user]` - Deletes the given number of messages for the mentioned users."
+            "`:command [number] [user]` - Deletes the given number of messages for the mentioned users.",
+            "`:command [number] [bots|links|attachments|regex:pattern]` - Deletes the messages within the given number of messages that matches the filters."
         );
     }
 
@@ -71,7 +100,9 @@ public class PurgeCommand extends Command {
     public List<String> getExampleUsage() {
         return Arrays.asList(
             "`:command 56`",
-            "`:command 30 @Senither`"
+            "`:command 30 @Senither`",
+            "`:command 500 bots`",
+            "`:command 250 @Senither links attachments`"
         );
     }
 
@@ -99,145 +130,320 @@ public class PurgeCommand extends Command {
     public boolean onCommand(CommandMessage context, String[] args) {
         int toDelete = 5;
         if (args.length > 0) {
-            toDelete = NumberUtil.getBetween(NumberUtil.parseInt(args[0]), 1, 100);
+            toDelete = NumberUtil.getBetween(NumberUtil.parseInt(args[0]), 1, MAX_MESSAGES);
         }
 
-        int finalToDelete = toDelete;
-        context.getMessage().delete().queue(ignored -> {
-            if (args.length < 1) {
-                handleCommand(context, new String[0], finalToDelete);
-                return;
-            }
+        PurgeFilter filter;
+        try {
+            filter = buildFilter(context, args.length < 1 ? new String[0] : Arrays.copyOfRange(args, 1, args.length));
+        } catch (PatternSyntaxException e) {
+            return sendErrorMessage(context, "Invalid regex pattern given, " + e.getDescription());
+        } catch (IllegalArgumentException e) {
+            return sendErrorMessage(context, e.getMessage());
+        }
+
+        if (!runningPurges.add(context.getChannel().getIdLong())) {
+            return sendErrorMessage(context, "A purge is already running in this channel, please wait for it to finish.");
+        }
 
-            handleCommand(
-                context, Arrays.copyOfRange(args, 1, args.length), finalToDelete
+        int finalToDelete = toDelete;
+        try {
+            context.getMessage().delete().queue(
+                ignored -> startPurge(context, filter, finalToDelete),
+                error -> startPurge(context, filter, finalToDelete)
             );
-        }, RestActionUtil.ignore);
+        } catch (RuntimeException e) {
+            runningPurges.remove(context.getChannel().getIdLong());
+            throw e;
+        }
 
         return true;
     }
 
-    private void handleCommand(CommandMessage context, String[] args, final int toDelete) {
-        Set<Long> userIds = new HashSet<>();
+    private PurgeFilter buildFilter(CommandMessage context, String[] args) {
+        PurgeFilter filter = new PurgeFilter();
         for (int i = 0; i < args.length; i++) {
+            String arg = args[i].toLowerCase();
+            switch (arg) {
+                case "bot":
+                case "bots":
+                    filter.bots = true;
+                    continue;
+
+                case "link":
+                case "links":
+                    filter.contentFilters.add(message -> linkPattern.matcher(message.getContentRaw()).find());
+                    continue;
+
+                case "file":
+                case "files":
+                case "attachment":
+                case "attachments":
+                    filter.contentFilters.add(message -> !message.getAttachments().isEmpty());
+                    continue;
+            }
+
+            if (arg.startsWith("regex:") && args[i].length() > 6) {
+                String regex = args[i].substring(6);
+                if (regex.length() > MAX_REGEX_LENGTH) {
+                    throw new IllegalArgumentException("The regex pattern can't be longer than " + MAX_REGEX_LENGTH + " characters.");
+                }
+
+                Pattern pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
+                filter.contentFilters.add(message -> filter.find(pattern, message.getContentRaw()));
+                continue;
+            }
+
             User user = MentionableUtil.getUser(context, args, i);
             if (user != null) {
-                userIds.add(user.getIdLong());
+                filter.userIds.add(user.getIdLong());
             }
         }
+        return filter;
+    }
 
-        if (userIds.isEmpty()) {
-            context.getChannel().getHistoryBefore(context.getMessage(), 2).queue(history -> {
-                loadMessages(context.getChannel().getHistory(), toDelete, null, messages -> {
-                    if (messages.isEmpty()) {
-                        sendNoMessagesMessage(context, null, toDelete);
-                        return;
-                    }
-
-                    deleteMessages(context, messages).queue(aVoid -> {
-                        Modlog.log(avaire, context, new ModlogAction(
-                                ModlogType.PURGE,
-                                context.getAuthor(), null,
-                                context.i18n("messagesDeletedIn", messages.size(), context.getChannel().getAsMention())
-                            )
-                        );
-
-                        context.makeSuccess(context.i18n("success"))
-                            .set("number", messages.size())
-                            .queue(successMessage -> successMessage.delete().queueAfter(8, TimeUnit.SECONDS, null, RestActionUtil.ignore));
-                    }, RestActionUtil.ignore);
+    private void startPurge(CommandMessage context, PurgeFilter filter, int toDelete) {
+        try {
+            context.makeInfo(context.i18n("progress"))
+                .set("scanned", 0)
+                .set("number", toDelete)
+                .set("deleted", 0)
+                .queue(status -> new PurgeJob(context, status, filter, toDelete).nextPage(), error -> {
+                    runningPurges.remove(context.getChannel().getIdLong());
                 });
-            });
-            return;
+        } catch (RuntimeException e) {
+            runningPurges.remove(context.getChannel().getIdLong());
+            throw e;
         }
+    }
 
-        loadMessages(context.getChannel().getHistory(), toDelete, userIds, messages -> {
-            if (messages.isEmpty()) {
-                sendNoMessagesMessage(context, userIds, toDelete);
-                return;
+    private static class PurgeFilter {
+
+        private final Set<Long> userIds = new HashSet<>();
+        private final List<Predicate<Message>> contentFilters = new ArrayList<>();
+        private boolean bots = false;
+        private volatile boolean timedOut = false;
+
+        /**
+         * Checks if the given pattern can be found in the given content, giving up
+         * if the pattern takes too long to match, once a pattern has timed out the
+         * filter stops matching anything, and the purge is stopped.
+         */
+        boolean find(Pattern pattern, String content) {
+            if (timedOut) {
+                return false;
             }
 
-            deleteMessages(context, messages).queue(aVoid -> {
-                List<String> users = new ArrayList<>();
-                for (Long userId : userIds) {
-                    users.add(String.format("<@%s>", userId));
-                }
+            try {
+                return pattern.matcher(new DeadlineCharSequence(content, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(REGEX_TIMEOUT))).find();
+            } catch (RegexTimeoutException e) {
+                timedOut = true;
+                return false;
+            }
+        }
 
-                Modlog.log(avaire, context, new ModlogAction(
-                        ModlogType.PURGE,
-                        context.getAuthor(), null,
-                        context.i18n("messagesDeletedBy",
-                            messages.size(),
-                            String.join(", ", users),
-                            context.getChannel().getAsMention()
-                        )
-                    )
-                );
+        boolean hasAuthorFilter() {
+            return bots || !userIds.isEmpty();
+        }
 
-                context.makeSuccess(context.i18n("successBy"))
-                    .set("number", messages.size())
-                    .set("users", String.join(", ", users))
-                    .queue(successMessage -> successMessage.delete().queueAfter(8, TimeUnit.SECONDS, null, RestActionUtil.ignore));
-            }, RestActionUtil.ignore);
-        });
+        boolean matches(Message message) {
+            if (hasAuthorFilter() && !(bots && message.getAuthor().isBot())
+                && !userIds.contains(message.getAuthor().getIdLong())) {
+                return false;
+            }
+
+            if (contentFilters.isEmpty()) {
+                return true;
+            }
+
+            for (Predicate<Message> contentFilter : contentFilters) {
+                if (contentFilter.test(message)) {
+                    return true;
+                }
+            }
+            return false;
+        }
     }
 
-    private void loadMessages(MessageHistory history, int toDelete, Set<Long> userIds, Consumer<List<Message>> consumer) {
-        long maxMessageAge = (System.currentTimeMillis() - TimeUnit.DAYS.toMillis(14) - TimeUtil.DISCORD_EPOCH) << TimeUtil.TIMESTAMP_OFFSET;
-        List<Message> messages = new ArrayList<>();
+    /**
+     * Pages through the channel history one page at a time, deleting the messages
+     * that matches the filter before the next page is loaded, the purge progress
+     * is reported by editing a single status message after every page.
+     */
+    private class PurgeJob {
+
+        private final CommandMessage context;
+        private final Message status;
+        private final PurgeFilter filter;
+        private final MessageHistory history;
+        private final int toDelete;
+
+        private int scanned = 0;
+        private int deleted = 0;
+        private boolean firstPageLoaded = false;
+        private boolean finished = false;
+
+        PurgeJob(CommandMessage context, Message status, PurgeFilter filter, int toDelete) {
+            this.context = context;
+            this.status = status;
+            this.filter = filter;
+            this.history = context.getChannel().getHistory();
+            this.toDelete = toDelete;
+        }
+
+        void nextPage() {
+            if (toDelete - scanned <= 0 || filter.timedOut) {
+                finish();
+                return;
+            }
+
+            // The status message is the newest message in the channel when the purge starts, and
+            // since it doesn't count towards the scan the first page loads one extra message.
+            int limit = Math.min(PAGE_SIZE, toDelete - scanned + (firstPageLoaded ? 0 : 1));
+            firstPageLoaded = true;
+
+            history.retrievePast(limit).queue(messages -> {
+                try {
+                    processPage(messages);
+                } catch (RuntimeException e) {
+                    finish();
+                    throw e;
+                }
+            }, error -> finish());
+        }
 
-        history.retrievePast(toDelete).queue(historyMessages -> {
-            if (historyMessages.isEmpty()) {
-                consumer.accept(messages);
+        private void processPage(List<Message> messages) {
+            if (messages.isEmpty()) {
+                finish();
                 return;
             }
 
-            for (Message historyMessage : historyMessages) {
-                if (historyMessage.isPinned() || historyMessage.getIdLong() < maxMessageAge) {
+            long maxMessageAge = (System.currentTimeMillis() - TimeUnit.DAYS.toMillis(14) - TimeUtil.DISCORD_EPOCH) << TimeUtil.TIMESTAMP_OFFSET;
+
+            List<Message> bulkDeletes = new ArrayList<>();
+            List<Message> singleDeletes = new ArrayList<>();
+            for (Message message : messages) {
+                if (message.getIdLong() == status.getIdLong()) {
                     continue;
                 }
+                if (scanned >= toDelete) {
+                    break;
+                }
 
-                if (userIds != null && !userIds.contains(historyMessage.getAuthor().getIdLong())) {
+                scanned++;
+                if (message.isPinned() || !filter.matches(message)) {
                     continue;
                 }
 
-                if (messages.size() >= toDelete) {
-                    consumer.accept(messages);
-                    return;
+                // Discord only allows bulk deleting messages that are younger than 14 days,
+                // so any older messages has to be deleted one at a time instead.
+                if (message.getIdLong() < maxMessageAge) {
+                    singleDeletes.add(message);
+                } else {
+                    bulkDeletes.add(message);
                 }
+            }
 
-                messages.add(historyMessage);
+            List<CompletableFuture<Integer>> requests = new ArrayList<>();
+            RestAction<Void> bulkDelete = bulkDeletes.size() < 2 ? null : deleteMessages(context, bulkDeletes);
+            if (bulkDelete != null) {
+                requests.add(bulkDelete.submit().thenApply(ignored -> bulkDeletes.size()));
+            } else {
+                singleDeletes.addAll(bulkDeletes);
+            }
+            for (Message message : singleDeletes) {
+                requests.add(message.delete().submit().thenApply(ignored -> 1));
             }
 
-            consumer.accept(messages);
-        });
-    }
+            // The requests are queued through the rate-limiter for their route by JDA, so the
+            // next page is only loaded once every request for the current page is done.
+            CompletableFuture.allOf(requests.toArray(new CompletableFuture[0])).whenComplete((ignored, error) -> {
+                try {
+                    for (CompletableFuture<Integer> request : requests) {
+                        if (!request.isCompletedExceptionally()) {
+                            deleted += request.join();
+                        }
+                    }
+                    updateStatus();
+                    nextPage();
+                } catch (RuntimeException e) {
+                    finish();
+                    throw e;
+                }
+            });
+        }
 
-    private void sendNoMessagesMessage(CommandMessage context, Set<Long> userIds, int toDelete) {
-        PlaceholderMessage message;
+        private void updateStatus() {
+            status.editMessageEmbeds(
+                context.makeInfo(context.i18n("progress"))
+                    .set("scanned", scanned)
+                    .set("number", toDelete)
+                    .set("deleted", deleted)
+                    .buildEmbed()
+            ).queue(null, RestActionUtil.ignore);
+        }
 
-        if (userIds == null) {
-            message = context.makeSuccess(context.i18n("nothingToDelete")
-            );
-        } else {
+        private void finish() {
+            if (finished) {
+                return;
+            }
+            finished = true;
+
+            try {
+                report();
+            } finally {
+                runningPurges.remove(context.getChannel().getIdLong());
+            }
+        }
+
+        private void report() {
             List<String> users = new ArrayList<>();
-            for (Long userId : userIds) {
+            for (Long userId : filter.userIds) {
                 users.add(String.format("<@%s>", userId));
             }
 
-            message = context.makeSuccess(context.i18n("nothingToDeleteBy"))
-                .set("users", String.join(", ", users))
-                .set("number", toDelete);
-        }
+            PlaceholderMessage message;
+            if (deleted == 0) {
+                message = users.isEmpty()
+                    ? context.makeSuccess(context.i18n("nothingToDelete"))
+                    : context.makeSuccess(context.i18n("nothingToDeleteBy")).set("users", String.join(", ", users));
+            } else if (users.isEmpty()) {
+                Modlog.log(avaire, context, new ModlogAction(
+                        ModlogType.PURGE,
+                        context.getAuthor(), null,
+                        context.i18n("messagesDeletedIn", deleted, context.getChannel().getAsMention())
+                    )
+                );
 
-        message.queue(successMessage -> successMessage.delete().queueAfter(8, TimeUnit.SECONDS, null, RestActionUtil.ignore));
-    }
+                message = context.makeSuccess(context.i18n("success"));
+            } else {
+                Modlog.log(avaire, context, new ModlogAction(
+                        ModlogType.PURGE,
+                        context.getAuthor(), null,
+                        context.i18n("messagesDeletedBy",
+                            deleted,
+                            String.join(", ", users),
+                            context.getChannel().getAsMention()
+                        )
+                    )
+                );
 
-    private RestAction<Void> deleteMessages(CommandMessage context, List<Message> messages) {
-        if (messages.size() == 1) {
-            return messages.get(0).delete();
+                message = context.makeSuccess(context.i18n("successBy")).set("users", String.join(", ", users));
+            }
+
+            if (filter.timedOut) {
+                message = context.makeError("The regex pattern took too long to match the messages, the purge was stopped after :number messages were deleted.");
+            }
+
+            status.editMessageEmbeds(message.set("number", deleted == 0 && !filter.timedOut ? scanned : deleted).buildEmbed())
+                .queue(
+                    edited -> edited.delete().queueAfter(8, TimeUnit.SECONDS, null, RestActionUtil.ignore),
+                    RestActionUtil.ignore
+                );
         }
+    }
 
+    private RestAction<Void> deleteMessages(CommandMessage context, List<Message> messages) {
         if (context.getGuildChannel() instanceof TextChannel) {
             TextChannel guildChannel = (TextChannel) context.getGuildChannel();
             return guildChannel.deleteMessages(messages);
@@ -250,4 +456,52 @@ public class PurgeCommand extends Command {
         return null;
     }
 
+    /**
+     * A char sequence that throws a {@link RegexTimeoutException} once its deadline has
+     * passed, regex patterns reads the content through {@link #charAt(int)} while
+     * matching, so catastrophic backtracking is stopped once the deadline passes.
+     */
+    private static class DeadlineCharSequence implements CharSequence {
+
+        private final CharSequence content;
+        private final long deadline;
+        private int reads = 0;
+
+        DeadlineCharSequence(CharSequence content, long deadline) {
+            this.content = content;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public int length() {
+            return content.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            // Checking the clock is only done every so often, since charAt is called a lot.
+            if (++reads % 1000 == 0 && System.nanoTime() > deadline) {
+                throw new RegexTimeoutException();
+            }
+            return content.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new DeadlineCharSequence(content.subSequence(start, end), deadline);
+        }
+
+        @Nonnull
+        @Override
+        public String toString() {
+            return content.toString();
+        }
+    }
+
+    private static class RegexTimeoutException extends RuntimeException {
+
+        RegexTimeoutException() {
+            super(null, null, false, false);
+        }
+    }
 }
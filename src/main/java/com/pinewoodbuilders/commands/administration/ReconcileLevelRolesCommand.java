@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.commands.administration;
+
+import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.commands.CommandHandler;
+import com.pinewoodbuilders.commands.CommandMessage;
+import com.pinewoodbuilders.contracts.commands.Command;
+import com.pinewoodbuilders.contracts.commands.CommandGroup;
+import com.pinewoodbuilders.contracts.commands.CommandGroups;
+import com.pinewoodbuilders.database.transformers.GuildTransformer;
+import com.pinewoodbuilders.level.LevelRoleReconciler;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class ReconcileLevelRolesCommand extends Command {
+
+    public ReconcileLevelRolesCommand(Xeus avaire) {
+        super(avaire, false);
+    }
+
+    @Override
+    public String getName() {
+        return "Reconcile Level Roles Command";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Goes through every player in the server and gives them the level roles they should have for their level, if the level hierarchy is enabled, any level roles for other levels will be removed as well, only players whose roles are out of sync will be updated.";
+    }
+
+    @Override
+    public List<String> getUsageInstructions() {
+        return Collections.singletonList(
+            "`:command` - Reconciles the level roles for every player in the server."
+        );
+    }
+
+    @Override
+    public List<Class<? extends Command>> getRelations() {
+        return Arrays.asList(
+            AddLevelRoleCommand.class,
+            RemoveLevelRoleCommand.class,
+            ListLevelRolesCommand.class,
+            LevelHierarchyCommand.class
+        );
+    }
+
+    @Override
+    public List<String> getTriggers() {
+        return Arrays.asList("reconcilelevelroles", "synclevelroles");
+    }
+
+    @Override
+    public List<String> getMiddleware() {
+        return Arrays.asList(
+            "require:user,general.administrator",
+            "require:bot,general.manage_roles",
+            "throttle:guild,1,60"
+        );
+    }
+
+    @Nonnull
+    @Override
+    public List<CommandGroup> getGroups() {
+        return Arrays.asList(
+            CommandGroups.LEVEL_AND_EXPERIENCE,
+            CommandGroups.ROLE_ASSIGNMENTS
+        );
+    }
+
+    @Override
+    public boolean onCommand(CommandMessage context, String[] args) {
+        GuildTransformer transformer = context.getGuildTransformer();
+        if (transformer == null || !transformer.isLevels()) {
+            return sendErrorMessage(
+                context,
+                "errors.requireLevelFeatureToBeEnabled",
+                CommandHandler.getCommand(LevelCommand.class)
+                    .getCommand().generateCommandTrigger(context.getMessage())
+            );
+        }
+
+        if (transformer.getLevelRoleLadder().isEmpty()) {
+            return sendErrorMessage(context, "There are no level roles setup for the server, so there is nothing to reconcile.");
+        }
+
+        if (LevelRoleReconciler.isRunning(context.getGuild().getIdLong())) {
+            return sendErrorMessage(context, "The level roles for the server are already being reconciled, please wait for it to finish first.");
+        }
+
+        context.makeInfo("Starting to reconcile the level roles for the server...").queue(message -> {
+            if (!LevelRoleReconciler.start(avaire, context.getGuild(), transformer, message)) {
+                message.delete().queue();
+            }
+        });
+
+        return true;
+    }
+}
@@ -150,7 +150,7 @@ public class RemoveLevelRoleCommand extends Command {
         }
 
         try {
-            transformer.getLevelRoles().remove(level);
+            transformer.removeLevelRole(level);
             avaire.getDatabase().newQueryBuilder(Constants.GUILD_TABLE_NAME)
                 .where("id", context.getGuild().getId())
                 .update(statement -> {
@@ -27,9 +27,9 @@ import com.pinewoodbuilders.commands.CommandMessage;
 import com.pinewoodbuilders.contracts.commands.Command;
 import com.pinewoodbuilders.contracts.commands.CommandGroup;
 import com.pinewoodbuilders.contracts.commands.CommandGroups;
+import com.pinewoodbuilders.statistics.GuildStatistics;
 import com.pinewoodbuilders.utilities.MentionableUtil;
 import net.dv8tion.jda.api.entities.Guild;
-import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.Role;
 import org.jetbrains.annotations.NotNull;
 
@@ -145,13 +145,12 @@ public class RoleInfoCommand extends Command {
     }
 
     private String getMembersWithRole(Role role, Guild guild) {
-        int membersWithRole = 0;
-        for (Member m : guild.getMembers()) {
-            if (m.getRoles().contains(role)) {
-                membersWithRole++;
-            }
+        GuildStatistics statistics = avaire.getGuildStatisticsManager().getStatistics(guild);
+        if (statistics == null) {
+            return "Still being counted, try again later";
         }
 
+        int membersWithRole = statistics.getMembersWithRole(role.getIdLong());
         if (membersWithRole > 0) {
             return String.valueOf(membersWithRole);
         }
@@ -169,18 +169,18 @@ public class RoleLevelCommand extends Command {
 
         switch (value) {
             case TRUE:
-                guildTransformer.getLevelExemptRoles().remove(role.getIdLong());
+                guildTransformer.removeLevelExemptRole(role.getIdLong());
                 break;
 
             case FALSE:
-                guildTransformer.getLevelExemptRoles().add(role.getIdLong());
+                guildTransformer.addLevelExemptRole(role.getIdLong());
                 break;
 
             case UNKNOWN:
                 if (guildTransformer.getLevelExemptRoles().contains(role.getIdLong())) {
-                    guildTransformer.getLevelExemptRoles().remove(role.getIdLong());
+                    guildTransformer.removeLevelExemptRole(role.getIdLong());
                 } else {
-                    guildTransformer.getLevelExemptRoles().add(role.getIdLong());
+                    guildTransformer.addLevelExemptRole(role.getIdLong());
                 }
                 break;
         }
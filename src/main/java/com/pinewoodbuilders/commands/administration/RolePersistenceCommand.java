@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 public class RolePersistenceCommand extends Command {
@@ -145,7 +146,7 @@ public class RolePersistenceCommand extends Command {
 
     private boolean runToggleUserToPersistantRolesArgument(CommandMessage context, String[] args) throws SQLException {
         User u = MentionableUtil.getUser(context, args, 1);
-        Member m = u != null ? context.guild.getMember(u) : context.guild.getMemberById(args[1]);
+        Member m = u != null ? retrieveMember(context, u.getIdLong()) : null;
         Role r = !NumberUtil.isNumeric(args[0]) ? MentionableUtil.getRole(context.getMessage(), new String[]{args[0]}) : context.guild.getRoleById(args[0]);
 
         if (r != null && m != null) {
@@ -205,10 +206,10 @@ public class RolePersistenceCommand extends Command {
         List<String> finalMessage = new ArrayList <>();
 
         if (!c.isEmpty()) {
+            Set<Long> members = retrieveMemberIds(context, c);
             c.forEach(p -> {
                 StringBuilder sb = new StringBuilder();
                 Role r = context.guild.getRoleById(p.getLong("role_id"));
-                Member m = context.guild.getMemberById(p.getLong("user_id"));
 
                 sb.append(p.getInt("id")).append(" - ``").append(context.guild.getName()).append("`` - ");
                 if (r != null) {
@@ -217,8 +218,8 @@ public class RolePersistenceCommand extends Command {
                     sb.append("*ROLE NOT FOUND*");
                 }
 
-                if (m != null) {
-                    sb.append(m.getAsMention()).append("\n");
+                if (members == null || members.contains(p.getLong("user_id"))) {
+                    sb.append("<@").append(p.getLong("user_id")).append(">\n");
                 } else {
                     sb.append("*MEMBER NOT FOUND IN GUILD*\n");
                 }
@@ -237,4 +238,37 @@ public class RolePersistenceCommand extends Command {
 
         return true;
     }
+
+    @Nullable
+    private Member retrieveMember(CommandMessage context, long userId) {
+        try {
+            return avaire.getMemberLoader()
+                .retrieveMember(context.getGuild(), userId)
+                .get(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private Set<Long> retrieveMemberIds(CommandMessage context, Collection collection) {
+        List<Long> userIds = new ArrayList<>();
+        collection.forEach(row -> userIds.add(row.getLong("user_id")));
+
+        // The member cache only holds recently active members, so the members are looked up from
+        // Discord, if the lookup fails every member is just listed without checking their status.
+        try {
+            return avaire.getMemberLoader()
+                .retrieveMemberIds(context.getGuild(), userIds)
+                .get(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
 }
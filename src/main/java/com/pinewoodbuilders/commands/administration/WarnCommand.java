@@ -36,6 +36,10 @@ import com.pinewoodbuilders.database.controllers.GuildSettingsController;
 import com.pinewoodbuilders.database.transformers.GlobalSettingsTransformer;
 import com.pinewoodbuilders.database.transformers.GuildSettingsTransformer;
 import com.pinewoodbuilders.database.transformers.GuildTransformer;
+import com.pinewoodbuilders.moderation.global.fanout.FanoutAction;
+import com.pinewoodbuilders.moderation.global.fanout.FanoutJob;
+import com.pinewoodbuilders.moderation.global.fanout.FanoutTarget;
+import com.pinewoodbuilders.moderation.global.fanout.ModerationFanoutManager;
 import com.pinewoodbuilders.moderation.local.warn.WarnContainer;
 import com.pinewoodbuilders.modlog.global.moderation.GlobalModlog;
 import com.pinewoodbuilders.modlog.global.shared.GlobalModlogAction;
@@ -214,13 +218,13 @@ public class WarnCommand extends Command {
         }
 
 
-        HashSet <WarnContainer> warns = avaire.getWarningsManager().getWarns(context.getGuild().getIdLong(), user.getIdLong());
+        List <WarnContainer> warns = avaire.getWarningsManager().getWarns(context.getGuild().getIdLong(), user.getIdLong());
         if (warns.size() >= 1) startWarningsCheck(context, user, warns);
 
         return true;
     }
 
-    private void startWarningsCheck(CommandMessage context, User user, HashSet <WarnContainer> warns) {
+    private void startWarningsCheck(CommandMessage context, User user, List <WarnContainer> warns) {
         int size = warns.size();
         WarningGrade grade = WarningGrade.getLabelFromWarns(size);
 
@@ -254,7 +258,7 @@ public class WarnCommand extends Command {
 
     }
 
-    private MessageEmbed outputWarnsWithReason(HashSet <WarnContainer> warns) {
+    private MessageEmbed outputWarnsWithReason(List <WarnContainer> warns) {
         try {
             StringBuilder sb = new StringBuilder();
             int warnNumber = 1;
@@ -343,43 +347,51 @@ public class WarnCommand extends Command {
 
         long g = context.getGuildSettingsTransformer().getGlobalSettings().getAppealsDiscordId();
 
-        StringBuilder sb = new StringBuilder();
         String reason = "User has been global-banned due to reaching 15 warnings in " + context.getGuild().getName();
 
         List <Guild> guilds = avaire.getRobloxAPIManager().getVerification().getGuildsByMainGroupId(settingsTransformer.getMainGroupId());
 
-        int bannedGuilds = 0;
+        List <FanoutTarget> targets = new ArrayList <>();
         for (Guild guild : guilds) {
-            if (g != 0) {
-                if (g == guild.getIdLong()) {
-                    sb.append("``").append(guild.getName()).append("`` - :x:\n");
-                    continue;
-                }
-            }
             if (guild == null)
                 continue;
+            if (g != 0 && g == guild.getIdLong()) {
+                targets.add(FanoutTarget.skipped(guild.getIdLong(), guild.getName()));
+                continue;
+            }
             if (!guild.getSelfMember().hasPermission(Permission.BAN_MEMBERS))
                 continue;
 
             GuildSettingsTransformer settings = GuildSettingsController.fetchGuildSettingsFromGuild(avaire, guild);
             if (settings.getGlobalBan()) continue;
             if (settings.isOfficialSubGroup()) {
-                guild.ban(UserSnowflake.fromId(user.getId()), 0, "Banned by: " + context.member.getEffectiveName() + "\n" + "For: "
-                        + reason
-                        + "\n*This is a global-ban ran due to reaching 15 warnings in a guild.*")
-                    .reason("Global Ban, executed by " + context.member.getEffectiveName() + ". For: \n"
-                        + reason)
-                    .queue();
-                sb.append("``").append(guild.getName()).append("`` - :white_check_mark:\n");
+                targets.add(new FanoutTarget(guild.getIdLong(), guild.getName(),
+                    "Global Ban, executed by " + context.member.getEffectiveName() + ". For: \n" + reason, true
+                ));
             } else {
-                guild.ban(UserSnowflake.fromId(user.getId()), 0,
-                        "This is a global-ban that has been executed from the global ban list of the guild you're subscribed to... ")
-                    .queue();
-                sb.append("``").append(guild.getName()).append("`` - :ballot_box_with_check:\n");
+                targets.add(new FanoutTarget(guild.getIdLong(), guild.getName(),
+                    "This is a global-ban that has been executed from the global ban list of the guild you're subscribed to... ", false
+                ));
             }
-            bannedGuilds++;
         }
 
+        ModerationFanoutManager manager = avaire.getModerationFanoutManager();
+
+        FanoutJob job;
+        try {
+            job = manager.create(FanoutAction.BAN, settingsTransformer.getMainGroupId(),
+                user.getIdLong(), context.getAuthor().getIdLong(), 0, targets
+            );
+        } catch (SQLException e) {
+            Xeus.getLogger().error("Failed to create the global ban job: {}", e.getMessage(), e);
+            messageExecute.editMessageEmbeds(context.makeError(
+                "Failed to store the global ban in the database, nothing has been applied.").buildEmbed()).queue();
+            return;
+        }
+
+        messageExecute.editMessage("<@&788316320747094046>").setEmbeds(manager.buildProgressEmbed(job))
+            .queue(message -> manager.start(job, message), error -> manager.start(job, null));
+
         if (user != null) {
             user.openPrivateChannel().submit().thenAccept(p -> p.sendMessageEmbeds(context.makeInfo(
                     "*You have been **global-banned** from all discord that are connected to [this group](:groupLink) by an MGM Moderator. "
@@ -410,10 +422,6 @@ public class WarnCommand extends Command {
             }
         }
 
-        messageExecute.editMessage("<@&788316320747094046>").setEmbeds(context.makeSuccess(
-                "<@" + user.getId() + "> (" + user.getId() + ") has been banned from `:guilds` guilds : \n\n" + sb)
-            .set("guilds", bannedGuilds).buildEmbed()).queue();
-
         VerificationEntity ve = avaire.getRobloxAPIManager().getVerification()
             .fetchInstantVerificationWithBackup(user.getId());
         try {
@@ -728,34 +736,6 @@ public class WarnCommand extends Command {
         return time;
     }
 
-    public List <Guild> getGuildsByMainGroupId(Long mainGroupId) {
-        return getGuildsByMainGroupId(mainGroupId, false);
-    }
-
-    public List <Guild> getGuildsByMainGroupId(Long mainGroupId, boolean isOfficial) {
-        List <Guild> guildList = new LinkedList <>();
-        try {
-            Collection guildQuery = avaire.getDatabase().newQueryBuilder(Constants.GUILD_SETTINGS_TABLE)
-                .where("main_group_id", mainGroupId)
-                .where(builder -> {
-                    if (isOfficial) {
-                        builder.where("official_sub_group", 1);
-                    }
-                })
-                .get();
-
-            for (DataRow dataRow : guildQuery) {
-                Guild guild = avaire.getShardManager().getGuildById(dataRow.getString("id"));
-                if (guild != null) {
-                    guildList.add(guild);
-                }
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return guildList;
-    }
-
     private String generateReason(String[] args) {
         return args.length == 0 ?
             "No reason was given." :
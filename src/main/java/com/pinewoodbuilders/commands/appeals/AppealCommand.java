@@ -349,7 +349,7 @@ public class AppealCommand extends Command {
             return sendErrorMessage(context, "Unable to obtain the type. Please request help of the developer.");
 
         String userId = information[1];
-        Member appealer = context.getGuild().getMemberById(userId);
+        Member appealer = retrieveAppealer(context, userId);
         if (appealer == null)
             return sendErrorMessage(context, "Appealer seems to have left the appeal server. Please `$appeal delete` this appeal.");
 
@@ -378,7 +378,7 @@ public class AppealCommand extends Command {
             return sendErrorMessage(context, "Unable to obtain the type. Please request help of the developer.");
 
         String userId = information[1];
-        Member appealer = context.getGuild().getMemberById(userId);
+        Member appealer = retrieveAppealer(context, userId);
         if (appealer == null)
             return sendErrorMessage(context, "Appealer seems to have left the appeal server. Please `$appeal delete` this appeal.");
 
@@ -406,4 +406,17 @@ public class AppealCommand extends Command {
         return true;
     }
 
+    private Member retrieveAppealer(CommandMessage context, String userId) {
+        // The member cache only holds recently active members, so the appealer is looked up from Discord.
+        try {
+            return avaire.getMemberLoader()
+                .retrieveMember(context.getGuild(), Long.parseLong(userId))
+                .get(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
 }
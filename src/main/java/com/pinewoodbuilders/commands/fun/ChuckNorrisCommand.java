@@ -25,17 +25,21 @@ import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.commands.CommandMessage;
 import com.pinewoodbuilders.contracts.commands.Command;
 import com.pinewoodbuilders.factories.RequestFactory;
+import com.pinewoodbuilders.requests.Request;
 import com.pinewoodbuilders.requests.Response;
+import com.pinewoodbuilders.requests.fetch.FetchProvider;
 import com.pinewoodbuilders.requests.service.ChuckNorrisService;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.function.Consumer;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 
 public class ChuckNorrisCommand extends Command {
 
+    private static final FetchProvider<Response> jokes = FetchProvider.of("chuck-norris", 2, 60, 0, 0, TimeUnit.SECONDS);
+
     public ChuckNorrisCommand(Xeus avaire) {
         super(avaire);
     }
@@ -72,13 +76,19 @@ public class ChuckNorrisCommand extends Command {
 
     @Override
     public boolean onCommand(CommandMessage context, String[] args) {
-        RequestFactory.makeGET("http://api.icndb.com/jokes/random")
-            .addParameter("escape", "javascript")
-            .send((Consumer<Response>) response -> {
-                ChuckNorrisService service = (ChuckNorrisService) response.toService(ChuckNorrisService.class);
+        Request request = RequestFactory.makeGET("http://api.icndb.com/jokes/random")
+            .addParameter("escape", "javascript");
+
+        jokes.fetch(request::execute).whenComplete((response, error) -> {
+            if (error != null) {
+                sendErrorMessage(context, "errors.errorOccurredWhileLoading", "joke");
+                return;
+            }
+
+            ChuckNorrisService service = (ChuckNorrisService) response.toService(ChuckNorrisService.class);
 
-                context.makeSuccess(prepareJoke(context, args, service.getValue().getJoke())).queue();
-            });
+            context.makeSuccess(prepareJoke(context, args, service.getValue().getJoke())).queue();
+        });
         return true;
     }
 
@@ -27,17 +27,20 @@ import com.pinewoodbuilders.contracts.commands.Command;
 import com.pinewoodbuilders.factories.RequestFactory;
 import com.pinewoodbuilders.requests.Request;
 import com.pinewoodbuilders.requests.Response;
+import com.pinewoodbuilders.requests.fetch.FetchProvider;
 import com.pinewoodbuilders.requests.service.RandomCatService;
 import com.pinewoodbuilders.utilities.RestActionUtil;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
 
 public class RandomCatCommand extends Command {
 
+    private static final FetchProvider<Response> cats = FetchProvider.of("random-cat", 2, 30, 0, 0, TimeUnit.SECONDS);
+
     public RandomCatCommand(Xeus avaire) {
         super(avaire);
     }
@@ -81,7 +84,20 @@ public class RandomCatCommand extends Command {
             request.addParameter("token", token);
         }
 
-        request.send((Consumer<Response>) response -> {
+        cats.fetch(request::execute).whenComplete((response, error) -> {
+            if (error instanceof RejectedExecutionException) {
+                context.makeWarning(context.i18n("tooManyAttempts"))
+                    .queue(message -> message.delete().queueAfter(45, TimeUnit.SECONDS, null, RestActionUtil.ignore));
+
+                return;
+            }
+
+            if (error != null) {
+                context.makeError(context.i18n("somethingWentWrong")).queue();
+
+                return;
+            }
+
             int statusCode = response.getResponse().code();
 
             if (statusCode == 429) {
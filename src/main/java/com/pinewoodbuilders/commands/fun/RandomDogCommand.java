@@ -25,16 +25,20 @@ import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.commands.CommandMessage;
 import com.pinewoodbuilders.contracts.commands.Command;
 import com.pinewoodbuilders.factories.RequestFactory;
+import com.pinewoodbuilders.requests.Request;
 import com.pinewoodbuilders.requests.Response;
+import com.pinewoodbuilders.requests.fetch.FetchProvider;
 import com.pinewoodbuilders.requests.service.RandomDogService;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.function.Consumer;
+import java.util.concurrent.TimeUnit;
 
 public class RandomDogCommand extends Command {
 
+    private static final FetchProvider<Response> dogs = FetchProvider.of("random-dog", 2, 60, 0, 0, TimeUnit.SECONDS);
+
     public RandomDogCommand(Xeus avaire) {
         super(avaire);
     }
@@ -71,12 +75,18 @@ public class RandomDogCommand extends Command {
 
     @Override
     public boolean onCommand(CommandMessage context, String[] args) {
-        RequestFactory.makeGET("https://dog.ceo/api/breeds/image/random")
-            .send((Consumer<Response>) response -> {
-                RandomDogService service = (RandomDogService) response.toService(RandomDogService.class);
+        Request request = RequestFactory.makeGET("https://dog.ceo/api/breeds/image/random");
+
+        dogs.fetch(request::execute).whenComplete((response, error) -> {
+            if (error != null) {
+                sendErrorMessage(context, "errors.errorOccurredWhileLoading", "dog picture");
+                return;
+            }
+
+            RandomDogService service = (RandomDogService) response.toService(RandomDogService.class);
 
-                context.makeEmbeddedMessage().setImage(service.getMessage()).queue();
-            });
+            context.makeEmbeddedMessage().setImage(service.getMessage()).queue();
+        });
         return true;
     }
 }
@@ -20,6 +20,10 @@ import com.pinewoodbuilders.database.controllers.GuildSettingsController;
 import com.pinewoodbuilders.database.transformers.GlobalSettingsTransformer;
 import com.pinewoodbuilders.database.transformers.GuildSettingsTransformer;
 import com.pinewoodbuilders.database.transformers.GuildTransformer;
+import com.pinewoodbuilders.moderation.global.fanout.FanoutAction;
+import com.pinewoodbuilders.moderation.global.fanout.FanoutJob;
+import com.pinewoodbuilders.moderation.global.fanout.FanoutTarget;
+import com.pinewoodbuilders.moderation.global.fanout.ModerationFanoutManager;
 import com.pinewoodbuilders.modlog.global.moderation.GlobalModlog;
 import com.pinewoodbuilders.modlog.global.shared.GlobalModlogAction;
 import com.pinewoodbuilders.modlog.global.shared.GlobalModlogType;
@@ -555,6 +559,11 @@ public class GlobalModCommand extends Command {
     }
 
     private boolean globalKickCommand(CommandMessage context, String[] args) {
+        if (args.length < 1 || !NumberUtil.isNumeric(args[0])) {
+            context.makeError("Sorry, but you didn't give any member id to globally kick!").queue();
+            return false;
+        }
+
         String reason = String.join(" ", Arrays.copyOfRange(args, 2, args.length));
         boolean appealsKick = reason.contains("--appeals-kick");
 
@@ -589,21 +598,16 @@ public class GlobalModCommand extends Command {
             }
         }
 
-        StringBuilder sb = new StringBuilder();
+        List <FanoutTarget> targets = new ArrayList <>();
         for (Guild g : guild) {
             if (appealsKick && g.getIdLong() == context.getGuildSettingsTransformer().getGlobalSettings().getAppealsDiscordId())
                 continue;
-            Member m = g.getMemberById(args[0]);
-            if (m != null) {
-                g.kick(m,
-                        "Kicked by: " + context.member.getEffectiveName() + "\n" + "For: " + reason
-                            + "\n*THIS IS A MGM GLOBAL KICK*")
-                    .reason("Global Kick, executed by " + context.member.getEffectiveName() + ". For: \n" + reason)
-                    .queue();
-            }
-            sb.append("``").append(g.getName()).append("`` - :white_check_mark:\n");
+
+            targets.add(new FanoutTarget(g.getIdLong(), g.getName(),
+                "Global Kick, executed by " + context.member.getEffectiveName() + ". For: \n" + reason, true
+            ));
         }
-        context.makeSuccess("<@" + args[0] + "> has been kicked from: \n\n" + sb).queue();
+        startFanoutJob(context, FanoutAction.KICK, Long.parseLong(args[0]), 0, targets);
 
         return false;
     }
@@ -881,7 +885,11 @@ public class GlobalModCommand extends Command {
     }
 
     private boolean executeGlobalBan(CommandMessage context, String[] args, ComparatorUtil.ComparatorType shouldDeleteMessages, GuildSettingsTransformer settingsTransformer, Guild appealsGuild) {
-        StringBuilder sb = new StringBuilder();
+        if (!NumberUtil.isNumeric(args[0])) {
+            context.makeError("You didn't specify a valid **Discord ID** you want to ban.").queue();
+            return false;
+        }
+
         int time = shouldDeleteMessages.getValue() ? 7 : 0;
         String reason = String.join(" ", Arrays.copyOfRange(args, 2, args.length));
         boolean appealsBan = reason.contains("--appeals-ban") || reason.contains("-ab");
@@ -909,38 +917,32 @@ public class GlobalModCommand extends Command {
             reason = reason.replace("--global", "").replace("-g", "");
         }
 
-        int bannedGuilds = 0;
+        List <FanoutTarget> targets = new ArrayList <>();
         for (Guild guild : guilds) {
-            if (appealsGuild != null) {
-                if (appealsGuild.getId().equals(guild.getId())) {
-                    if (!appealsBan) {
-                        sb.append("``").append(guild.getName()).append("`` - :x:\n");
-                        continue;
-                    }
-                }
-            }
             if (guild == null)
                 continue;
+            if (appealsGuild != null && appealsGuild.getIdLong() == guild.getIdLong() && !appealsBan) {
+                targets.add(FanoutTarget.skipped(guild.getIdLong(), guild.getName()));
+                continue;
+            }
             if (!guild.getSelfMember().hasPermission(Permission.BAN_MEMBERS))
                 continue;
 
             GuildSettingsTransformer settings = GuildSettingsController.fetchGuildSettingsFromGuild(avaire, guild);
             if (settings.getGlobalBan()) continue;
             if (settings.isOfficialSubGroup()) {
-                guild.ban(UserSnowflake.fromId(args[0]), time, "Banned by: " + context.member.getEffectiveName() + "\n" + "For: "
-                        + reason
-                        + "\n*THIS IS A MGM GLOBAL BAN, DO NOT REVOKE THIS BAN WITHOUT CONSULTING THE MGM MODERATOR WHO INITIATED THE GLOBAL BAN, REVOKING THIS BAN WITHOUT MGM APPROVAL WILL RESULT IN DISCIPlINARY ACTION!*")
-                    .reason("Global Ban, executed by " + context.member.getEffectiveName() + ". For: \n"
-                        + reason)
-                    .queue();
-                sb.append("``").append(guild.getName()).append("`` - :white_check_mark:\n");
+                targets.add(new FanoutTarget(guild.getIdLong(), guild.getName(),
+                    "Global Ban, executed by " + context.member.getEffectiveName() + ". For: \n" + reason, true
+                ));
             } else {
-                guild.ban(UserSnowflake.fromId(args[0]), time,
-                        "This is a global-ban that has been executed from the global ban list of the guild you're subscribed to... ")
-                    .queue();
-                sb.append("``").append(guild.getName()).append("`` - :ballot_box_with_check:\n");
+                targets.add(new FanoutTarget(guild.getIdLong(), guild.getName(),
+                    "This is a global-ban that has been executed from the global ban list of the guild you're subscribed to... ", false
+                ));
             }
-            bannedGuilds++;
+        }
+
+        if (!startFanoutJob(context, FanoutAction.BAN, Long.parseLong(args[0]), time, targets)) {
+            return false;
         }
 
         User u = avaire.getShardManager().getUserById(args[0]);
@@ -978,10 +980,6 @@ public class GlobalModCommand extends Command {
             }
         }
 
-        context.makeSuccess(
-                "<@" + args[0] + "> (" + args[0] + ") has been banned from `:guilds` guilds : \n\n" + sb)
-            .set("guilds", bannedGuilds).queue();
-
         VerificationEntity ve = avaire.getRobloxAPIManager().getVerification()
             .fetchInstantVerificationWithBackup(args[0]);
         try {
@@ -993,6 +991,26 @@ public class GlobalModCommand extends Command {
         return false;
     }
 
+    private boolean startFanoutJob(CommandMessage context, FanoutAction action, long userId, int deleteDays, List <FanoutTarget> targets) {
+        ModerationFanoutManager manager = avaire.getModerationFanoutManager();
+
+        FanoutJob job;
+        try {
+            job = manager.create(action, context.getGuildSettingsTransformer().getMainGroupId(),
+                userId, context.getAuthor().getIdLong(), deleteDays, targets
+            );
+        } catch (SQLException e) {
+            Xeus.getLogger().error("Failed to create the global {} job: {}", action.name().toLowerCase(), e.getMessage(), e);
+            context.makeError("Failed to store the global " + action.name().toLowerCase() + " in the database, nothing has been applied.").queue();
+            return false;
+        }
+
+        context.getMessageChannel().sendMessageEmbeds(manager.buildProgressEmbed(job))
+            .queue(message -> manager.start(job, message), error -> manager.start(job, null));
+
+        return true;
+    }
+
     private String getFirstInvite(Guild g) {
         List <Invite> invites = g.retrieveInvites().submit().getNow(null);
         if (invites == null || invites.size() < 1)
@@ -1254,29 +1272,4 @@ public class GlobalModCommand extends Command {
         return result;
     }
 
-    public List <Guild> getGuildsByMainGroupId(Long mainGroupId) throws SQLException {
-        return getGuildsByMainGroupId(mainGroupId, false);
-    }
-
-    public List <Guild> getGuildsByMainGroupId(Long mainGroupId, boolean isOfficial) throws SQLException {
-        Collection guildQuery = avaire.getDatabase().newQueryBuilder(Constants.GUILD_SETTINGS_TABLE)
-            .where("main_group_id", mainGroupId)
-            .where(builder -> {
-                if (isOfficial) {
-                    builder.where("official_sub_group", 1);
-                }
-            })
-            .get();
-
-        List <Guild> guildList = new LinkedList <>();
-        for (DataRow dataRow : guildQuery) {
-            Guild guild = avaire.getShardManager().getGuildById(dataRow.getString("id"));
-            if (guild != null) {
-                guildList.add(guild);
-            }
-        }
-
-        return guildList;
-    }
-
 }
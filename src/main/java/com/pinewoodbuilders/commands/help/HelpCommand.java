@@ -246,7 +246,7 @@ public class HelpCommand extends Command {
         context.getMessageChannel().sendMessageEmbeds(embed.setDescription(
             command.getCommand().generateDescription(
                 new CommandMessage(command, context.getDatabaseEventHolder(), context.getMessage())
-                    .setI18n(context.getI18n())
+                    .setLocale(context.getLocale())
             )
         ).build()).queue();
         return true;
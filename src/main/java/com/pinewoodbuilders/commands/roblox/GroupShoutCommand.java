@@ -105,7 +105,7 @@ public class GroupShoutCommand extends Command {
 
 
         context.makeInfo("What would you like to shout? (This sends instantly after you type it). Say ``cancel`` to cancel sending the message.").queue(v -> {
-            avaire.getWaiter().waitForEvent(MessageReceivedEvent.class, l ->
+            avaire.getWaiter().waitForEvent(MessageReceivedEvent.class, context.getChannel().getIdLong(), context.getAuthor().getIdLong(), l ->
                 l.getChannel().equals(context.getChannel()) && l.getMember().equals(context.getMember()),
                 k -> {
                 if (k.getMessage().getContentRaw().equalsIgnoreCase("cancel")) {
@@ -114,7 +114,7 @@ public class GroupShoutCommand extends Command {
                 }
 
                 sendMessage(context, k);
-            });
+            }, -1, null, null);
         });
         return false;
     }
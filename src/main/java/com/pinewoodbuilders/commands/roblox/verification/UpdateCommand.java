@@ -5,39 +5,22 @@ import com.pinewoodbuilders.commands.CommandMessage;
 import com.pinewoodbuilders.contracts.commands.Command;
 import com.pinewoodbuilders.contracts.permission.GuildPermissionCheckType;
 import com.pinewoodbuilders.contracts.verification.VerificationEntity;
-import com.pinewoodbuilders.contracts.verification.VerificationResult;
-import com.pinewoodbuilders.database.transformers.GuildSettingsTransformer;
+import com.pinewoodbuilders.roblox.verification.mass.MassUpdateJob;
+import com.pinewoodbuilders.roblox.verification.mass.MassUpdateManager;
+import com.pinewoodbuilders.roblox.verification.mass.MassUpdateMode;
 import com.pinewoodbuilders.utilities.MentionableUtil;
 import com.pinewoodbuilders.utilities.NumberUtil;
 import com.pinewoodbuilders.utilities.XeusPermissionUtil;
-import com.pinewoodbuilders.utilities.menu.Paginator;
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.ConsumptionProbe;
-import io.github.bucket4j.Refill;
 import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.Role;
 import net.dv8tion.jda.api.entities.User;
-import net.dv8tion.jda.api.exceptions.PermissionException;
-import net.dv8tion.jda.internal.utils.PermissionUtil;
 
-import java.time.Duration;
+import java.sql.SQLException;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 
 public class UpdateCommand extends Command {
-    private final Paginator.Builder builder;
-
     public UpdateCommand(Xeus avaire) {
         super(avaire);
-        builder = new Paginator.Builder().setColumns(1).setFinalAction(m -> {
-            try {
-                m.delete().queue();
-            } catch (PermissionException ignore) {
-            }
-        }).setItemsPerPage(25).waitOnSinglePage(false).useNumberedItems(false).showPageNumbers(false).wrapPageEnds(true)
-            .setEventWaiter(avaire.getWaiter()).setTimeout(5, TimeUnit.MINUTES);
     }
 
     @Override
@@ -86,144 +69,20 @@ public class UpdateCommand extends Command {
     }
 
     private boolean updateMembersWithoutRole(CommandMessage context) {
-        int level = XeusPermissionUtil.getPermissionLevel(context).getLevel();
-        if (level < GuildPermissionCheckType.LOCAL_GROUP_LEADERSHIP.getLevel()) {
-            context.makeError("You got to be LGL or above to run this command.").queue();
-            return false;
-        }
-
-        if (verificationRunning) {
-            context.makeError("Somewhere, verification is already running. Please try again later...").queue();
-            return false;
-        }
-
-        List<Member> members = context.getGuild().getMembers().stream().filter(m -> m.getRoles().isEmpty()).toList();
-        context.makeWarning(
-                "Running verification...\nDepending on the role total members (:members) this might take a while. You will be mentioned once the time is over.")
-            .set("members", members.size()).queue();
-        AtomicInteger count = new AtomicInteger();
-
-        GuildSettingsTransformer settings = context.getGuildSettingsTransformer();
-        if (settings == null) {
-            context.makeError("Guild settings not found.").queue();
-            return false;
-        }
-
-        verificationRunning = true;
-        HashMap <Member, String> ignoredMembers = new HashMap <>();
-
-        Bucket bucket = Bucket.builder()
-            .addLimit(Bandwidth.classic(45, Refill.intervally(45, Duration.ofMinutes(1))))
-            .build();
-
-        for (Member member : members) {
-
-            ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
-            if (!probe.isConsumed()) {
-                try {
-                    long timeUntilRefill = probe.getNanosToWaitForReset();
-                    long refillTime = timeUntilRefill != 0L ? timeUntilRefill : 0;
-                    long durationInMs = TimeUnit.MILLISECONDS.convert(refillTime, TimeUnit.NANOSECONDS);
-                    long durationInSeconds = TimeUnit.SECONDS.convert(refillTime, TimeUnit.NANOSECONDS);
-
-                    TimeUnit.NANOSECONDS.sleep(refillTime);
-                } catch (InterruptedException ignored) {
-                    context.makeError("Rate-limit interrupted, update cancelled.").queue();
-                    return false;
-                }
-            }
-
-            updateMember(context, count, settings, ignoredMembers, member);
-
-        }
-        context.getChannel().sendMessage(context.getMember().getAsMention())
-            .setEmbeds(context.makeSuccess("All members have been updated").buildEmbed()).queue();
-
-        List <String> failedMembers = new ArrayList <>();
-        ignoredMembers.forEach((m, r) -> {
-            failedMembers.add("`" + m.getEffectiveName() + "` - **" + r + "**");
-        });
-
-        verificationRunning = false;
-        builder.setText("All members that failed to update:").setItems(failedMembers);
-        builder.build().paginate(context.getChannel(), 0);
-        return !verificationRunning;
+        return startMassUpdate(context, MassUpdateMode.UNROLED, 0);
     }
 
     private boolean updateMembersWithRole(CommandMessage context, String[] args) {
-        int level = XeusPermissionUtil.getPermissionLevel(context).getLevel();
-        if (level < GuildPermissionCheckType.LOCAL_GROUP_LEADERSHIP.getLevel()) {
-            context.makeError("You got to be LGL or above to run this command.").queue();
-            return false;
-        }
         if (args.length < 2) {
             return sendErrorMessage(context, "What role would you like to update?");
         }
 
-        if (verificationRunning) {
-            context.makeError("Somewhere, verification is already running. Please try again later...").queue();
-            return false;
-        }
-
         String roleName = String.join(" ", Arrays.copyOfRange(args, 1, args.length));
         Role role = context.getGuild().getRolesByName(roleName, true).stream().findFirst()
             .orElse(NumberUtil.isNumeric(roleName) ? context.getGuild().getRoleById(roleName) : null);
         if (role == null) {return sendErrorMessage(context, "That role does not exist.");}
 
-
-        List<Member> members = context.getGuild().getMembersWithRoles(role);
-
-
-        context.makeWarning(
-                "Running verification...\nDepending on the role total members (:members) this might take a while. You will be mentioned once the time is over.")
-            .set("members", members.size()).queue();
-        AtomicInteger count = new AtomicInteger();
-
-        GuildSettingsTransformer settings = context.getGuildSettingsTransformer();
-        if (settings == null) {
-            context.makeError("Guild settings not found.").queue();
-            return false;
-        }
-
-        verificationRunning = true;
-        HashMap <Member, String> ignoredMembers = new HashMap <>();
-
-        Bucket bucket = Bucket.builder()
-            .addLimit(Bandwidth.classic(45, Refill.intervally(45, Duration.ofMinutes(1))))
-            .build();
-
-        for (Member member : members) {
-
-            ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
-            if (!probe.isConsumed()) {
-                try {
-                    long timeUntilRefill = probe.getNanosToWaitForReset();
-                    long refillTime = timeUntilRefill != 0L ? timeUntilRefill : 0;
-                    long durationInMs = TimeUnit.MILLISECONDS.convert(refillTime, TimeUnit.NANOSECONDS);
-                    long durationInSeconds = TimeUnit.SECONDS.convert(refillTime, TimeUnit.NANOSECONDS);
-
-                    TimeUnit.NANOSECONDS.sleep(refillTime);
-                } catch (InterruptedException ignored) {
-                    context.makeError("Rate-limit interrupted, update cancelled.").queue();
-                    return false;
-                }
-            }
-
-            updateMember(context, count, settings, ignoredMembers, member);
-
-        }
-        context.getChannel().sendMessage(context.getMember().getAsMention())
-            .setEmbeds(context.makeSuccess("All members have been updated").buildEmbed()).queue();
-
-        List <String> failedMembers = new ArrayList <>();
-        ignoredMembers.forEach((m, r) -> {
-            failedMembers.add("`" + m.getEffectiveName() + "` - **" + r + "**");
-        });
-
-        verificationRunning = false;
-        builder.setText("All members that failed to update:").setItems(failedMembers);
-        builder.build().paginate(context.getChannel(), 0);
-        return !verificationRunning;
+        return startMassUpdate(context, MassUpdateMode.ROLE, role.getIdLong());
     }
 
     private boolean updateMember(CommandMessage context, String[] args) {
@@ -249,106 +108,45 @@ public class UpdateCommand extends Command {
         return false;
     }
 
-    boolean verificationRunning;
-
-
     private boolean updateEveryone(CommandMessage context) {
+        return startMassUpdate(context, MassUpdateMode.EVERYONE, 0);
+    }
+
+    private boolean startMassUpdate(CommandMessage context, MassUpdateMode mode, long roleId) {
         int level = XeusPermissionUtil.getPermissionLevel(context).getLevel();
         if (level < GuildPermissionCheckType.LOCAL_GROUP_LEADERSHIP.getLevel()) {
             context.makeError("You got to be LGL or above to run this command.").queue();
             return false;
         }
 
-        if (verificationRunning) {
-            context.makeError("Somewhere, verification is already running. Please try again later...").queue();
-            return false;
-        }
-
-
-        context.makeWarning(
-                "Running verification...\nDepending on the member total (:members) this might take a while. You will be mentioned once the time is over.")
-            .set("members", context.getGuild().getMembers().size()).queue();
-        AtomicInteger count = new AtomicInteger();
-
-        GuildSettingsTransformer settings = context.getGuildSettingsTransformer();
-        if (settings == null) {
+        if (context.getGuildSettingsTransformer() == null) {
             context.makeError("Guild settings not found.").queue();
             return false;
         }
 
-        verificationRunning = true;
-        HashMap <Member, String> ignoredMembers = new HashMap <>();
-
-        Bucket bucket = Bucket.builder()
-            .addLimit(Bandwidth.classic(45, Refill.intervally(45, Duration.ofMinutes(1))))
-            .build();
-
-        for (Member member : context.getGuild().getMembers()) {
-
-            ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
-            if (!probe.isConsumed()) {
-                try {
-                    long timeUntilRefill = probe.getNanosToWaitForReset();
-                    long refillTime = timeUntilRefill != 0L ? timeUntilRefill : 0;
-                    long durationInMs = TimeUnit.MILLISECONDS.convert(refillTime, TimeUnit.NANOSECONDS);
-                    long durationInSeconds = TimeUnit.SECONDS.convert(refillTime, TimeUnit.NANOSECONDS);
-
-                    TimeUnit.NANOSECONDS.sleep(refillTime);
-                } catch (InterruptedException ignored) {
-                    context.makeError("Rate-limit interrupted, update cancelled.").queue();
-                    return false;
-                }
-            }
-
-            updateMember(context, count, settings, ignoredMembers, member);
-
-        }
-        context.getChannel().sendMessage(context.getMember().getAsMention())
-            .setEmbeds(context.makeSuccess("All members have been updated").buildEmbed()).queue();
-
-        List <String> failedMembers = new ArrayList <>();
-        ignoredMembers.forEach((m, r) -> {
-            failedMembers.add("`" + m.getEffectiveName() + "` - **" + r + "**");
-        });
-
-        verificationRunning = false;
-        builder.setText("All members that failed to update:").setItems(failedMembers);
-        builder.build().paginate(context.getChannel(), 0);
-        return !verificationRunning;
-    }
-
-    private void updateMember(CommandMessage context, AtomicInteger count, GuildSettingsTransformer settings, HashMap <Member, String> ignoredMembers, Member member) {
-        if (member == null) {
-            return;
-        }
-
-        if (member.getUser().isBot()) {
-            ignoredMembers.put(member, "Account is a bot, ignored.");
-            return;
-        }
-
-        if (!PermissionUtil.canInteract(context.guild.getSelfMember(), member)) {
-            // ignoredMembers.put(member, "Cannot interact with user");
-            return;
+        MassUpdateManager manager = avaire.getMassUpdateManager();
+        if (manager.isRunning(context.getGuild().getIdLong())) {
+            context.makeError("Verification is already running on this server. Please try again later...").queue();
+            return false;
         }
 
-        if (member.getRoles().stream().anyMatch(
-            r -> r.getName().equalsIgnoreCase("Xeus Bypass") || r.getName().equalsIgnoreCase("RoVer Bypass"))) {
-            ignoredMembers.put(member, " has the Xeus/RoVer bypass role, this user cannot be verified/updated.");
-            return;
+        String error = manager.validate(context.getGuild());
+        if (error != null) {
+            context.makeError(error).queue();
+            return false;
         }
 
-
-        VerificationResult result = avaire.getRobloxAPIManager().getVerification().verify(settings, member, context.guild, true);
-        if (!result.isSuccess()) {
-            ignoredMembers.put(member, result.getMessage());
+        MassUpdateJob job;
+        try {
+            job = manager.create(context.getGuild(), context.getAuthor().getIdLong(), mode, roleId);
+        } catch (SQLException e) {
+            Xeus.getLogger().error("Failed to create the mass update job: {}", e.getMessage(), e);
+            context.makeError("Failed to start the verification, please try again later.").queue();
+            return false;
         }
-        count.incrementAndGet();
 
-        if (count.get() % 100 == 0) {
-            context.makeInfo("`" + count.get() + "`/`" + context.getGuild().getMembers().size() + "`").queue();
-        }
+        context.getChannel().sendMessageEmbeds(manager.buildProgressEmbed(job))
+            .queue(message -> manager.start(job, message), throwable -> manager.start(job, null));
+        return true;
     }
-
-
 }
@@ -31,6 +31,7 @@ import java.awt.*;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -157,7 +158,14 @@ public class VerificationCommand extends VerificationCommandContract {
 
         List <Member> members = new ArrayList <>();
         int count = 0;
-        for (Member m : context.guild.getMembers()) {
+        List <Member> guildMembers;
+        try {
+            guildMembers = avaire.getMemberLoader().loadMembers(context.getGuild()).get();
+        } catch (InterruptedException | ExecutionException e) {
+            context.makeError("Failed to load the members of the server, please try again later.").queue();
+            return false;
+        }
+        for (Member m : guildMembers) {
             if (!PermissionUtil.canInteract(context.getGuild().getSelfMember(), m)) {
                 continue;
             }
@@ -231,7 +239,14 @@ public class VerificationCommand extends VerificationCommandContract {
         List <Role> rolesToRemove = bindingRoleMap.values()
             .stream().filter(role -> RoleUtil.canBotInteractWithRole(context.getMessage(), role)).collect(Collectors.toList());
 
-        for (Member m : context.getGuild().getMembers()) {
+        List <Member> guildMembers;
+        try {
+            guildMembers = avaire.getMemberLoader().loadMembers(context.getGuild()).get();
+        } catch (InterruptedException | ExecutionException e) {
+            context.makeError("Failed to load the members of the server, please try again later.").queue();
+            return false;
+        }
+        for (Member m : guildMembers) {
             if (!PermissionUtil.canInteract(context.getGuild().getSelfMember(), m)) continue;
             VerificationEntity ve = manager.getVerification().callUserFromDatabaseAPI(m.getId());
             if (ve != null) continue;
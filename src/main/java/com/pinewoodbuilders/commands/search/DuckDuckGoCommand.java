@@ -27,6 +27,7 @@ import com.pinewoodbuilders.chat.PlaceholderMessage;
 import com.pinewoodbuilders.commands.CommandMessage;
 import com.pinewoodbuilders.contracts.commands.Command;
 import com.pinewoodbuilders.factories.MessageFactory;
+import com.pinewoodbuilders.requests.fetch.FetchProvider;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -39,11 +40,19 @@ import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.util.List;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 public class DuckDuckGoCommand extends Command {
 
     private static final Map<String, String> HTTP_HEADERS = new HashMap<>();
 
+    /**
+     * Search results are cached by the query and NSFW state for half an hour, the
+     * results are cached without the localized messages, so the same results
+     * can be shared between guilds using different languages.
+     */
+    private static final FetchProvider<List<String>> searches = FetchProvider.of("duckduckgo", 2, 30, 30, 30, TimeUnit.MINUTES);
+
     static {
         HTTP_HEADERS.put("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/89.0.4389.128 Safari/537.36");
         HTTP_HEADERS.put("Accept-Language", "en-US,en;q=0.9,en-GB;q=0.8,da;q=0.7");
@@ -92,57 +101,60 @@ public class DuckDuckGoCommand extends Command {
             return sendErrorMessage(context, "errors.missingArgument", "query");
         }
 
-        try {
-            context.getMessageChannel().sendTyping().queue();
-
-            boolean nsfwEnabled = isNSFWEnabled(context);
-            Document document = Jsoup.connect(generateUri(args, nsfwEnabled))
-                .headers(new HashMap<>(HTTP_HEADERS))
-                .timeout(10000)
-                .get();
-
-            int results = 0;
-            List<String> result = new ArrayList<>();
-            Elements elements = document.select("div#links div.result");
-            for (Element element : elements) {
-                Elements link = element.select("h2.result__title a");
-                if (isAdvertisement(link)) {
-                    continue;
-                }
-
-                if (results == 0) {
-                    result.add(prepareLinkElement(link) + "\n" + context.i18n("seeAlso"));
-                    results++;
-                    continue;
-                }
-
-                result.add(prepareLinkElement(link));
-                results++;
-
-                if (results > 5) {
-                    break;
-                }
+        String query = String.join(" ", args);
+        boolean nsfwEnabled = isNSFWEnabled(context);
+
+        context.getMessageChannel().sendTyping().queue();
+        searches.fetch(FetchProvider.normalize(query) + ":" + nsfwEnabled, () -> search(query, nsfwEnabled)).whenComplete((links, error) -> {
+            if (error != null) {
+                Xeus.getLogger().error("Failed to complete search query: ", error);
+                sendErrorMessage(context, "errors.errorOccurredWhileLoading", "search results");
+                return;
+            }
+
+            List<String> result = new ArrayList<>(links);
+            if (!result.isEmpty()) {
+                result.set(0, result.get(0) + "\n" + context.i18n("seeAlso"));
             }
 
             PlaceholderMessage resultMessage = MessageFactory.makeEmbeddedMessage(context.getMessageChannel(), Color.decode("#DE5833"))
                 .setDescription(String.join("\n", result))
-                .setTitle(context.i18n("searchResults", String.join(" ", args)));
+                .setTitle(context.i18n("searchResults", query));
 
             if (result.isEmpty() || (result.size() == 1 && result.get(0).startsWith("-1&uddg"))) {
                 resultMessage
                     .setColor(MessageType.WARNING.getColor())
                     .setDescription(context.i18n("noResults"))
-                    .set("query", String.join(" ", args));
+                    .set("query", query);
             }
 
             resultMessage.queue();
+        });
+
+        return true;
+    }
+
+    private List<String> search(String query, boolean nsfwEnabled) throws IOException {
+        Document document = Jsoup.connect(generateUri(query, nsfwEnabled))
+            .headers(new HashMap<>(HTTP_HEADERS))
+            .timeout(10000)
+            .get();
+
+        List<String> result = new ArrayList<>();
+        Elements elements = document.select("div#links div.result");
+        for (Element element : elements) {
+            Elements link = element.select("h2.result__title a");
+            if (isAdvertisement(link)) {
+                continue;
+            }
 
-            return true;
-        } catch (IOException e) {
-            Xeus.getLogger().error("ERROR: ", e);
-            Xeus.getLogger().error("Failed to complete search query: ", e);
+            result.add(prepareLinkElement(link));
+
+            if (result.size() >= 6) {
+                break;
+            }
         }
-        return false;
+        return result;
     }
 
     private boolean isAdvertisement(Elements link) {
@@ -157,9 +169,9 @@ public class DuckDuckGoCommand extends Command {
         return URLDecoder.decode(parts[parts.length - 1], "UTF-8");
     }
 
-    private String generateUri(String[] args, boolean isNSFWEnabled) throws UnsupportedEncodingException {
+    private String generateUri(String query, boolean isNSFWEnabled) throws UnsupportedEncodingException {
         return "https://html.duckduckgo.com/html/?q=" + URLEncoder.encode(
-            removeBangs(String.join(" ", args)), "UTF-8"
+            removeBangs(query), "UTF-8"
         ) + "&kp=" + (isNSFWEnabled ? "-2" : "1");
     }
 
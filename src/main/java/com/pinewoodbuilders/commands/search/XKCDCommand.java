@@ -27,6 +27,7 @@ import com.pinewoodbuilders.commands.CommandMessage;
 import com.pinewoodbuilders.contracts.commands.Command;
 import com.pinewoodbuilders.factories.RequestFactory;
 import com.pinewoodbuilders.requests.Response;
+import com.pinewoodbuilders.requests.fetch.FetchProvider;
 import com.pinewoodbuilders.time.Carbon;
 import com.pinewoodbuilders.utilities.NumberUtil;
 import com.pinewoodbuilders.utilities.RandomUtil;
@@ -39,10 +40,16 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.function.Consumer;
+import java.util.concurrent.TimeUnit;
 
 public class XKCDCommand extends Command {
 
+    /**
+     * Comics never change once they're published, so they can be cached for a long
+     * time, comics that don't exist, like the infamous comic #404, are cached too.
+     */
+    private static final FetchProvider<JSONObject> comics = FetchProvider.of("xkcd", 2, 60, 12, 12, TimeUnit.HOURS);
+
     public XKCDCommand(Xeus avaire) {
         super(avaire);
     }
@@ -87,25 +94,28 @@ public class XKCDCommand extends Command {
     @Override
     public boolean onCommand(CommandMessage context, String[] args) {
         if (args.length == 0) {
-            return requestComic(context, "https://xkcd.com/info.0.json", getLatestComicNumber());
+            return requestComic(context, getLatestComicNumber());
         }
 
         if (NumberUtil.isNumeric(args[0])) {
             int comic = NumberUtil.getBetween(NumberUtil.parseInt(args[0]), 1, getLatestComicNumber());
-            return requestComic(context, "https://xkcd.com/" + comic + "/info.0.json", comic);
+            return requestComic(context, comic);
         }
 
         if (args[0].equalsIgnoreCase("rand") || args[0].equalsIgnoreCase("random")) {
             int comic = RandomUtil.getInteger(getLatestComicNumber()) + 1;
-            return requestComic(context, "https://xkcd.com/" + comic + "/info.0.json", comic);
+            return requestComic(context, comic);
         }
 
         return sendErrorMessage(context, context.i18n("invalidArgument", getLatestComicNumber()));
     }
 
-    private boolean requestComic(CommandMessage context, String url, int comic) {
-        RequestFactory.makeGET(url).send((Consumer<Response>) response -> {
-            JSONObject json = new JSONObject(response.toString());
+    private boolean requestComic(CommandMessage context, int comic) {
+        comics.fetch(String.valueOf(comic), () -> loadComic(comic)).whenComplete((json, error) -> {
+            if (error != null || json == null) {
+                sendErrorMessage(context, "errors.errorOccurredWhileLoading", "comic");
+                return;
+            }
 
             Carbon date = Carbon.today()
                 .setYear(json.getInt("year"))
@@ -117,6 +127,16 @@ public class XKCDCommand extends Command {
         return true;
     }
 
+    private JSONObject loadComic(int comic) throws IOException {
+        Response response = RequestFactory.makeGET("https://xkcd.com/" + comic + "/info.0.json").execute();
+
+        if (response.getResponse().code() != 200) {
+            response.getResponse().close();
+            return null;
+        }
+        return new JSONObject(response.toString());
+    }
+
     private void sendComic(CommandMessage context, JSONObject json, Carbon date, int comic) {
         context.makeEmbeddedMessage(
             Color.decode("#96A8C8"), String.format("**%s**\n%s", json.getString("safe_title"), json.getString("alt"))
@@ -167,6 +167,8 @@ public class GlobalSettingsSubCommand extends SettingsSubCommand {
             avaire.getDatabase().newQueryBuilder(Constants.GLOBAL_SETTINGS_TABLE)
                 .where("main_group_id", guildTransformer.getMainGroupId())
                 .update(statement -> statement.set("moderation_server_id", settings.getModerationServerId()));
+            avaire.getRobloxAPIManager().getVerification().getGuildIndex()
+                .setModerationServer(guildTransformer.getMainGroupId(), settings.getModerationServerId());
             context.makeSuccess("Set the moderator server to " + g.getName() + " (" + g.getId() + ")").queue();
         } catch (SQLException e) {
             e.printStackTrace();
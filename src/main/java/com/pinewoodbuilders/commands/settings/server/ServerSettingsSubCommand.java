@@ -733,6 +733,9 @@ public class ServerSettingsSubCommand extends SettingsSubCommand {
             qb.update(q -> {
                 q.set("main_group_id", transformer.getMainGroupId());
             });
+            avaire.getRobloxAPIManager().getVerification().getGuildIndex().update(
+                context.guild.getIdLong(), transformer.getMainGroupId(), transformer.isOfficialSubGroup()
+            );
 
             context.makeSuccess("Set the ID for ``:guild`` to ``:id``").set("guild", context.getGuild().getName())
                 .set("id", transformer.getMainGroupId()).queue();
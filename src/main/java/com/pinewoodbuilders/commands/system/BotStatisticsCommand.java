@@ -34,7 +34,6 @@ import com.pinewoodbuilders.metrics.Metrics;
 import com.pinewoodbuilders.utilities.NumberUtil;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.MessageEmbed;
-import net.dv8tion.jda.api.entities.User;
 
 import java.lang.management.ManagementFactory;
 import java.util.Arrays;
@@ -88,16 +87,16 @@ public class BotStatisticsCommand extends SystemCommand {
                 NumberUtil.formatNicely(avaire.getShardManager().getAverageGatewayPing())
             ), true),
             new MessageEmbed.Field("Member Stats", I18n.format("**{0}** Unique Users\n**{1}** Unique Bots",
-                NumberUtil.formatNicely(avaire.getShardManager().getUsers().stream().filter(user -> !user.isBot()).count()),
-                NumberUtil.formatNicely(avaire.getShardManager().getUsers().stream().filter(User::isBot).count())
+                NumberUtil.formatNicely(avaire.getShardEntityCounter().getHumans()),
+                NumberUtil.formatNicely(avaire.getShardEntityCounter().getBots())
             ), true),
             new MessageEmbed.Field("Channel Stats", I18n.format("**{0}** Text Channels\n**{1}** Voice Channels",
                 NumberUtil.formatNicely(avaire.getShardEntityCounter().getTextChannels()),
                 NumberUtil.formatNicely(avaire.getShardEntityCounter().getVoiceChannels())
             ), true),
             new MessageEmbed.Field("Guild Stats", I18n.format("**{0}** Guilds in Shard\n**{1}** Total Guilds",
-                NumberUtil.formatNicely(context.getJDA().getGuilds().size()),
-                NumberUtil.formatNicely(avaire.getShardManager().getGuilds().size())
+                NumberUtil.formatNicely(avaire.getShardEntityCounter().getGuilds(context.getJDA())),
+                NumberUtil.formatNicely(avaire.getShardEntityCounter().getGuilds())
             ), true)
         )
             .setAuthor("Xeus v" + AppInfo.getAppInfo().version, "https://xeus.pinewood-builders.com/support", avaire.getSelfUser().getEffectiveAvatarUrl())
@@ -116,6 +116,7 @@ public class PineCoinsCommand extends SystemCommand {
 
             if (entity == null) {
                 createRecord(user.getIdLong(), type.equals(Type.GIVE) ? amount : 0);
+                avaire.getVoteManager().forgetVoteEntity(user.getIdLong());
             } else {
                 updateRecord(type, entity, amount);
             }
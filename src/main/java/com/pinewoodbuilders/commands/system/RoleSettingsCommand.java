@@ -50,6 +50,7 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nonnull;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
 
 @Deprecated
 @DeprecatedSince("3.0.0")
@@ -153,7 +154,14 @@ public class RoleSettingsCommand extends SystemCommand {
         }
         List <Member> members = new ArrayList <>();
         int count = 0;
-        for (Member m : context.guild.getMembers()) {
+        List <Member> guildMembers;
+        try {
+            guildMembers = avaire.getMemberLoader().loadMembers(context.getGuild()).get();
+        } catch (InterruptedException | ExecutionException e) {
+            context.makeError("Failed to load the members of the server, please try again later.").queue();
+            return false;
+        }
+        for (Member m : guildMembers) {
             if (!PermissionUtil.canInteract(context.getGuild().getSelfMember(), m)) {
                 continue;
             }
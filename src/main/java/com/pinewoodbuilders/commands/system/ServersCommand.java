@@ -28,6 +28,7 @@ import com.pinewoodbuilders.commands.CommandMessage;
 import com.pinewoodbuilders.commands.CommandPriority;
 import com.pinewoodbuilders.contracts.commands.SystemCommand;
 import com.pinewoodbuilders.contracts.commands.sort.ServerComparable;
+import com.pinewoodbuilders.statistics.GuildStatistics;
 import com.pinewoodbuilders.time.Carbon;
 import com.pinewoodbuilders.utilities.NumberUtil;
 import net.dv8tion.jda.api.entities.Guild;
@@ -121,7 +122,7 @@ public class ServersCommand extends SystemCommand {
 
             Carbon time = Carbon.createFromOffsetDateTime(guild.getTimeCreated());
 
-            long bots = guild.getMembers().stream().filter(member -> member.getUser().isBot()).count();
+            GuildStatistics statistics = avaire.getGuildStatisticsManager().getStatistics(guild);
 
             context.makeInfo(guild.getId())
                 .setTitle(guild.getName())
@@ -130,10 +131,10 @@ public class ServersCommand extends SystemCommand {
                 .addField("Owner ID", guild.retrieveOwner().submit().getNow(null).getUser().getId(), true)
                 .addField("Text Channels", NumberUtil.formatNicely(guild.getTextChannels().size()), true)
                 .addField("Voice Channels", NumberUtil.formatNicely(guild.getVoiceChannels().size()), true)
-                .addField("Members", NumberUtil.formatNicely(guild.getMembers().size()), true)
+                .addField("Members", NumberUtil.formatNicely(guild.getMemberCount()), true)
                 .addField("Roles", NumberUtil.formatNicely(guild.getRoles().size()), true)
-                .addField("Users", NumberUtil.formatNicely(guild.getMembers().size() - bots), true)
-                .addField("Bots", NumberUtil.formatNicely(bots), true)
+                .addField("Users", statistics == null ? "..." : NumberUtil.formatNicely(statistics.getHumans()), true)
+                .addField("Bots", statistics == null ? "..." : NumberUtil.formatNicely(statistics.getBots()), true)
                 //.addField("Region", guild.getRegion().getName(), true)
                 .addField("Created At", time.toDayDateTimeString() + "\n*About " + time.diffForHumans() + "*", true)
                 .queue();
@@ -173,8 +174,8 @@ public class ServersCommand extends SystemCommand {
                 server.getName(),
                 server.getId(),
                 NumberUtil.formatNicely(server.getMembers()),
-                NumberUtil.formatNicely(server.getUsers()),
-                NumberUtil.formatNicely(server.getBots())
+                server.hasStatistics() ? NumberUtil.formatNicely(server.getUsers()) : "...",
+                server.hasStatistics() ? NumberUtil.formatNicely(server.getBots()) : "..."
             ));
         });
         messages.add("```");
@@ -258,16 +259,19 @@ public class ServersCommand extends SystemCommand {
         private final int members;
         private final int users;
         private final int bots;
+        private final boolean statistics;
 
         public Server(Guild guild) {
             this.name = guild.getName();
 
             this.id = guild.getIdLong();
-            this.members = guild.getMembers().size();
-            this.users = Math.toIntExact(guild.getMembers().stream()
-                .filter(member -> !member.getUser().isBot())
-                .count());
-            this.bots = members - users;
+            GuildStatistics statistics = avaire.getGuildStatisticsManager().getStatistics(guild);
+            // Guilds that are still having their statistics built are sorted
+            // as having no users or bots, until their statistics are built.
+            this.members = guild.getMemberCount();
+            this.statistics = statistics != null;
+            this.users = statistics == null ? 0 : statistics.getHumans();
+            this.bots = statistics == null ? 0 : statistics.getBots();
         }
 
         public String getName() {
@@ -282,6 +286,10 @@ public class ServersCommand extends SystemCommand {
             return members;
         }
 
+        public boolean hasStatistics() {
+            return statistics;
+        }
+
         public int getUsers() {
             return users;
         }
@@ -115,9 +115,10 @@ public class EmbedGeneratorCommand extends Command {
 
     private String waitForResponse(CommandMessage context) {
         StringBuilder sb = new StringBuilder();
-        avaire.getWaiter().waitForEvent(MessageReceivedEvent.class, event -> event.getAuthor().equals(context.getAuthor()) && event.getChannel().equals(context.getChannel()), p -> {
+        avaire.getWaiter().waitForEvent(MessageReceivedEvent.class, context.getChannel().getIdLong(), context.getAuthor().getIdLong(),
+            event -> event.getAuthor().equals(context.getAuthor()) && event.getChannel().equals(context.getChannel()), p -> {
             sb.append(p.getMessage().getContentRaw());
-        });
+        }, -1, null, null);
     return sb.toString();
     }
 
@@ -40,6 +40,7 @@ import com.pinewoodbuilders.imagegen.RankBackground;
 import com.pinewoodbuilders.imagegen.RankBackgroundHandler;
 import com.pinewoodbuilders.imagegen.renders.RankBackgroundRender;
 import com.pinewoodbuilders.language.I18n;
+import com.pinewoodbuilders.statistics.GuildStatistics;
 import com.pinewoodbuilders.utilities.CacheUtil;
 import com.pinewoodbuilders.utilities.MentionableUtil;
 import com.pinewoodbuilders.utilities.NumberUtil;
@@ -160,7 +161,7 @@ public class RankCommand extends Command {
         loadProperties(context, author).thenAccept(properties -> {
             String score = properties.getScore().equals("Unranked")
                 ? "Unranked"
-                : properties.getScore() + " / " + getUsersInGuild(context.getGuild());
+                : properties.getScore() + getUsersInGuild(context.getGuild());
 
             long zeroExperience = avaire.getLevelManager().getExperienceFromLevel(guildTransformer, 0) - 100;
             long experience = properties.getPlayer().getExperience() + zeroExperience;
@@ -351,8 +352,9 @@ public class RankCommand extends Command {
         return context.i18n("unranked");
     }
 
-    private long getUsersInGuild(Guild guild) {
-        return guild.getMembers().stream().filter(member -> !member.getUser().isBot()).count();
+    private String getUsersInGuild(Guild guild) {
+        GuildStatistics statistics = avaire.getGuildStatisticsManager().getStatistics(guild);
+        return statistics == null ? "" : " / " + statistics.getHumans();
     }
 
     private class DatabaseProperties {
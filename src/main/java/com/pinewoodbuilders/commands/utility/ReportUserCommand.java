@@ -437,7 +437,8 @@ public class ReportUserCommand extends Command {
 
     private boolean runSetReportMessage(CommandMessage context) {
         context.makeInfo("Please tell me, what would you like as the guild report message?").queue(message -> {
-            avaire.getWaiter().waitForEvent(MessageReceivedEvent.class, m -> m.getMember().equals(context.member) && message.getChannel().equals(m.getChannel()), reportMessage -> {
+            avaire.getWaiter().waitForEvent(MessageReceivedEvent.class, message.getChannel().getIdLong(), context.getAuthor().getIdLong(),
+                m -> m.getMember().equals(context.member) && message.getChannel().equals(m.getChannel()), reportMessage -> {
                     QueryBuilder qb = avaire.getDatabase().newQueryBuilder(Constants.GUILD_SETTINGS_TABLE).where("id", context.guild.getId());
                     try {
                         qb.update(q -> {
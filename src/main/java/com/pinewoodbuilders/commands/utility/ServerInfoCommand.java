@@ -27,6 +27,7 @@ import com.pinewoodbuilders.commands.CommandMessage;
 import com.pinewoodbuilders.contracts.commands.Command;
 import com.pinewoodbuilders.contracts.commands.CommandGroup;
 import com.pinewoodbuilders.contracts.commands.CommandGroups;
+import com.pinewoodbuilders.statistics.GuildStatistics;
 import com.pinewoodbuilders.time.Carbon;
 import com.pinewoodbuilders.utilities.NumberUtil;
 import net.dv8tion.jda.api.entities.Guild;
@@ -81,17 +82,17 @@ public class ServerInfoCommand extends Command {
         Guild guild = context.getGuild();
         Carbon time = Carbon.createFromOffsetDateTime(guild.getTimeCreated());
 
-        long bots = guild.getMembers().stream().filter(member -> member.getUser().isBot()).count();
+        GuildStatistics statistics = avaire.getGuildStatisticsManager().getStatistics(guild);
 
         PlaceholderMessage placeholderMessage = context.makeEmbeddedMessage(getRoleColor(guild.getSelfMember().getRoles()),
             new MessageEmbed.Field(context.i18n("fields.id"), guild.getId(), true),
             new MessageEmbed.Field(context.i18n("fields.owner"), guild.retrieveOwner().submit().getNow(null).getUser().getName() + "#" + guild.retrieveOwner().submit().getNow(null).getUser().getDiscriminator(), true),
             new MessageEmbed.Field(context.i18n("fields.textChannels"), NumberUtil.formatNicely(guild.getTextChannels().size()), true),
             new MessageEmbed.Field(context.i18n("fields.voiceChannels"), NumberUtil.formatNicely(guild.getVoiceChannels().size()), true),
-            new MessageEmbed.Field(context.i18n("fields.members"), NumberUtil.formatNicely(guild.getMembers().size()), true),
+            new MessageEmbed.Field(context.i18n("fields.members"), NumberUtil.formatNicely(guild.getMemberCount()), true),
             new MessageEmbed.Field(context.i18n("fields.roles"), NumberUtil.formatNicely(guild.getRoles().size()), true),
-            new MessageEmbed.Field(context.i18n("fields.users"), NumberUtil.formatNicely(guild.getMembers().size() - bots), true),
-            new MessageEmbed.Field(context.i18n("fields.bots"), NumberUtil.formatNicely(bots), true),
+            new MessageEmbed.Field(context.i18n("fields.users"), statistics == null ? "..." : NumberUtil.formatNicely(statistics.getHumans()), true),
+            new MessageEmbed.Field(context.i18n("fields.bots"), statistics == null ? "..." : NumberUtil.formatNicely(statistics.getBots()), true),
             //new MessageEmbed.Field(context.i18n("fields.region"), guild.getRegion().getName(), true),
             new MessageEmbed.Field(context.i18n("fields.emotes"), NumberUtil.formatNicely(guild.getEmojis().size()), true),
             new MessageEmbed.Field(context.i18n("fields.createdAt"), time.format(context.i18n("timeFormat")) + "\n*About " + shortenDiffForHumans(time) + "*", true)
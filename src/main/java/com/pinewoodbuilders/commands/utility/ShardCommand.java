@@ -136,8 +136,8 @@ public class ShardCommand extends Command {
                 getShardConnectionIcon(shard.getStatus()),
                 currentShardId == shard.getShardInfo().getShardId() ? "\uD83D\uDCCC" : ""
             ), String.format("%s users\n%s guilds\n%s ms ping",
-                NumberUtil.formatNicely(shard.getUsers().size()),
-                NumberUtil.formatNicely(shard.getGuilds().size()),
+                NumberUtil.formatNicely(avaire.getShardEntityCounter().getUsers(shard)),
+                NumberUtil.formatNicely(avaire.getShardEntityCounter().getGuilds(shard)),
                 NumberUtil.formatNicely(shard.getGatewayPing())
             ), true));
         }
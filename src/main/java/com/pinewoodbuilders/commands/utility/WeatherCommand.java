@@ -27,18 +27,35 @@ import com.pinewoodbuilders.commands.CommandPriority;
 import com.pinewoodbuilders.contracts.commands.Command;
 import com.pinewoodbuilders.contracts.commands.CommandGroup;
 import com.pinewoodbuilders.contracts.commands.CommandGroups;
-import com.pinewoodbuilders.scheduler.tasks.DrainWeatherQueueTask;
+import com.pinewoodbuilders.chat.PlaceholderMessage;
+import com.pinewoodbuilders.factories.RequestFactory;
+import com.pinewoodbuilders.language.I18n;
+import com.pinewoodbuilders.requests.Response;
+import com.pinewoodbuilders.requests.fetch.FetchProvider;
+import com.pinewoodbuilders.requests.service.WeatherService;
+import com.pinewoodbuilders.utilities.NumberUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public class WeatherCommand extends Command {
 
     private static final Logger log = LoggerFactory.getLogger(WeatherCommand.class);
+    private static final String[] directions = {"North", "North East", "East", "South East", "South", "South West", "West", "North West", "North"};
+
+    /**
+     * The open weather API allows sixty requests every minute, weather data is
+     * cached for ten minutes, and unknown cities are cached for an hour.
+     */
+    private static final FetchProvider<WeatherService> weather = FetchProvider.of(
+        "weather", 2, 60, 10, 60, TimeUnit.MINUTES
+    );
 
     public WeatherCommand(Xeus avaire) {
         super(avaire);
@@ -102,17 +119,89 @@ public class WeatherCommand extends Command {
             return sendErrorMessage(context, "errors.missingArgument", "city");
         }
 
-        DrainWeatherQueueTask.queueWeather(new DrainWeatherQueueTask.WeatherEntity(
-            context.getAuthor().getIdLong(),
-            context.getMessageChannel().getIdLong(),
-            String.join(" ", args)
-        ));
+        String query = String.join(" ", args);
 
         context.getMessageChannel().sendTyping().queue();
+        weather.fetch(FetchProvider.normalize(query), () -> loadWeather(query)).whenComplete((service, error) -> {
+            if (error != null) {
+                log.error("Failed to load the weather data for the query: {}", query, error);
+                sendErrorMessage(context, "errors.errorOccurredWhileLoading", "weather data");
+                return;
+            }
+
+            if (service == null) {
+                context.makeWarning(context.i18n("noCityFound"))
+                    .set("name", query)
+                    .queue();
+                return;
+            }
+
+            sendWeather(context, service);
+        });
 
         return true;
     }
 
+    private WeatherService loadWeather(String query) throws IOException {
+        log.debug("Loading weather data with the query: {}", query);
+
+        Response response = RequestFactory.makeGET("http://api.openweathermap.org/data/2.5/weather")
+            .addParameter("appid", avaire.getConfig().getString("apiKeys.openWeatherMap"))
+            .addParameter("units", "metric")
+            .addParameter("q", query)
+            .execute();
+
+        int statusCode = response.getResponse().code();
+        if (statusCode == 200) {
+            return (WeatherService) response.toService(WeatherService.class);
+        }
+        response.getResponse().close();
+
+        if (statusCode == 404) {
+            return null;
+        }
+        throw new IOException("The open weather API responded with status code " + statusCode);
+    }
+
+    private void sendWeather(CommandMessage context, WeatherService service) {
+        PlaceholderMessage message = context.makeEmbeddedMessage()
+            .requestedBy(context)
+            .setTitle(context.i18n("fields.weatherFor",
+                service.getName(), service.getLocation().getCountry()
+            ))
+            .addField(
+                context.i18n("fields.country"),
+                I18n.format(":flag_{0}:",
+                    service.getLocation().getCountry().toLowerCase()
+                ), true
+            )
+            .addField(
+                context.i18n("fields.temperature"),
+                I18n.format("{0}°C | {1}°F",
+                    NumberUtil.formatNicelyWithDecimals(service.getTemperature().getTemp()),
+                    NumberUtil.formatNicelyWithDecimals((service.getTemperature().getTemp() * (9D / 5D)) + 32)
+                ), true
+            )
+            .addField(
+                context.i18n("fields.windDirection"),
+                directions[(int) Math.round(((service.getWind().getDeg() % 360) / 45))],
+                true
+            )
+            .addField(
+                context.i18n("fields.windSpeed"),
+                I18n.format("{0} kph | {1} mph",
+                    NumberUtil.formatNicelyWithDecimals(service.getWind().getSpeed()),
+                    NumberUtil.formatNicelyWithDecimals(service.getWind().getSpeed() / 1.609D)
+                ), true
+            );
+
+        if (!service.getWeather().isEmpty()) {
+            message.setThumbnail(service.getWeather().get(0).getIconUrl());
+        }
+
+        message.queue();
+    }
+
     private boolean hasApiKey() {
         return avaire.getConfig().getString("apiKeys.openWeatherMap", "").length() == 32;
     }
@@ -25,12 +25,14 @@ import com.pinewoodbuilders.contracts.database.grammar.AlterGrammar;
 import com.pinewoodbuilders.contracts.database.grammar.Grammarable;
 import com.pinewoodbuilders.contracts.database.grammar.TableGrammar;
 import com.pinewoodbuilders.database.DatabaseManager;
+import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.query.QueryBuilder;
 import com.pinewoodbuilders.database.schema.Blueprint;
 import com.pinewoodbuilders.metrics.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.WillClose;
 import javax.annotation.WillCloseWhenClosed;
@@ -171,6 +173,19 @@ public abstract class Database implements DatabaseConnection, Grammarable {
         return connection;
     }
 
+    /**
+     * Borrows a connection from the connection pool, the connection must be
+     * closed once it is no longer used, which will return it to the pool.
+     *
+     * @return either (1) a connection from the connection pool, or (2) <code>NULL</code>
+     * if the database doesn't support connection pooling
+     * @throws SQLException if a database access error occurs while borrowing the connection
+     */
+    @Nullable
+    protected Connection getPooledConnection() throws SQLException {
+        return null;
+    }
+
     /**
      * Checks to see if the database connection is still valid.
      *
@@ -241,6 +256,37 @@ public abstract class Database implements DatabaseConnection, Grammarable {
         });
     }
 
+    /**
+     * Queries the database with the given query using a connection borrowed
+     * from the connection pool, allowing multiple queries to run at the same
+     * time, the result is read into memory before the connection is returned
+     * to the pool, the query should be a <code>SELECT</code> query.
+     * <p>
+     * Databases that doesn't support connection pooling will
+     * run the query on the main connection instead.
+     *
+     * @param query The query to run.
+     * @return a <code>Collection</code> object that contains the data produced by the given query
+     * @throws SQLException if a database access error occurs or this method is called on a
+     *                      closed <code>Statement</code>
+     */
+    @Nonnull
+    public final Collection queryPooled(String query) throws SQLException {
+        Connection pooled = getPooledConnection();
+        if (pooled == null) {
+            try (ResultSet resultSet = query(query)) {
+                return new Collection(resultSet);
+            }
+        }
+
+        queryValidation(getStatement(query));
+        Metrics.databaseQueries.labels(query.split(" ")[0].toUpperCase()).inc();
+
+        try (pooled; Statement statement = pooled.createStatement(); ResultSet resultSet = statement.executeQuery(query)) {
+            return new Collection(resultSet);
+        }
+    }
+
     /**
      * Queries the database with the given query, the
      * query should be a <code>SELECT</code> query.
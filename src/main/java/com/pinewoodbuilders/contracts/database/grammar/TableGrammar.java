@@ -29,6 +29,8 @@ import com.pinewoodbuilders.database.query.OperatorType;
 import com.pinewoodbuilders.database.query.QueryBuilder;
 
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.StringJoiner;
 
 public abstract class TableGrammar extends Grammar {
 
@@ -113,9 +115,18 @@ public abstract class TableGrammar extends Grammar {
             );
         }
 
-        String field = clause.getTwo().toString();
-        if (!isNumeric(field)) {
-            field = String.format("'%s'", field);
+        String field;
+        if (clause.getTwo() instanceof Collection) {
+            StringJoiner values = new StringJoiner(", ", "(", ")");
+            for (Object value : (Collection<?>) clause.getTwo()) {
+                values.add(value.toString());
+            }
+            field = values.toString();
+        } else {
+            field = clause.getTwo().toString();
+            if (!isNumeric(field)) {
+                field = String.format("'%s'", field);
+            }
         }
 
         String stringClause = String.format("%s %s %s", formatField(clause.getOne()), clause.getIdentifier(), field);
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.contracts.moderation;
+
+import com.pinewoodbuilders.time.Carbon;
+
+import javax.annotation.Nullable;
+
+/**
+ * Represents a local moderation action, like a mute or a ban, that has been
+ * registered for a user in a guild, and that can be stored in a
+ * {@link com.pinewoodbuilders.moderation.local.ModerationRegistry}.
+ */
+public interface ModerationContainer {
+
+    /**
+     * Gets the ID of the guild the moderation action is registered for.
+     *
+     * @return The guild ID the moderation action is registered for.
+     */
+    long getGuildId();
+
+    /**
+     * Gets the ID of the user the moderation action is registered for.
+     *
+     * @return The user ID the moderation action is registered for.
+     */
+    long getUserId();
+
+    /**
+     * Gets the date and time the moderation action should automatically
+     * expire, or {@code NULL} if the moderation action is permanent.
+     *
+     * @return The carbon instance for when the moderation action should end, or {@code NULL}.
+     */
+    @Nullable
+    Carbon getExpiresAt();
+
+    /**
+     * Checks if the moderation action is permanent or temporary.
+     *
+     * @return {@code True} if the moderation action is permanent, {@code False} otherwise.
+     */
+    default boolean isPermanent() {
+        return getExpiresAt() == null;
+    }
+}
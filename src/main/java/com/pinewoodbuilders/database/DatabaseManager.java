@@ -43,6 +43,7 @@ import java.sql.*;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class DatabaseManager {
@@ -66,7 +67,7 @@ public class DatabaseManager {
         this.seeder = new SeederManager();
 
         this.batchIncrementer = new AtomicInteger(0);
-        this.runningBatchRequests = new HashSet<>();
+        this.runningBatchRequests = ConcurrentHashMap.newKeySet();
     }
 
     public Xeus getAvaire() {
@@ -85,7 +86,7 @@ public class DatabaseManager {
         return seeder;
     }
 
-    public Database getConnection() throws SQLException, DatabaseException {
+    public synchronized Database getConnection() throws SQLException, DatabaseException {
         if (connection == null) {
             switch (avaire.getConfig().getString("database.type", "invalid").toLowerCase()) {
                 case "mysql":
@@ -313,7 +314,20 @@ public class DatabaseManager {
      *                             the currently running {@code Statement}
      */
     public void queryBatch(String query, BatchQueryFunction<PreparedStatement> queryFunction) throws SQLException {
-        runQueryBatch(query, queryFunction, batchIncrementer.getAndIncrement(), queryRetries);
+        runQueryBatch(query, queryFunction, batchIncrementer.getAndIncrement(), queryRetries, false);
+    }
+
+    /**
+     * Creates a batch request query the same way as {@link #queryBatch(String, BatchQueryFunction)},
+     * except the SQL exception is re-thrown after the batch request has been rolled back,
+     * so the caller knows that none of the statements in the batch was written.
+     *
+     * @param query         The query that should be used for the batch request.
+     * @param queryFunction The function that should be called for setting up the batch request.
+     * @throws SQLException If the batch request fails and was rolled back.
+     */
+    public void queryBatchOrThrow(String query, BatchQueryFunction<PreparedStatement> queryFunction) throws SQLException {
+        runQueryBatch(query, queryFunction, batchIncrementer.getAndIncrement(), queryRetries, true);
     }
 
     /**
@@ -327,8 +341,17 @@ public class DatabaseManager {
 
     @WillClose
     private Collection runQuery(String query, int retriesLeft) throws SQLException {
-        try (ResultSet resultSet = getConnection().query(query)) {
-            return new Collection(resultSet);
+        try {
+            // Batch queries disables auto-commit on the main connection, so any reads
+            // made while one is running stays on the main connection so they can
+            // see the rows the batch query has created so far.
+            if (!hasRunningBatchQueries()) {
+                return getConnection().queryPooled(query);
+            }
+
+            try (ResultSet resultSet = getConnection().query(query)) {
+                return new Collection(resultSet);
+            }
         } catch (MySQLTransactionRollbackException e) {
             if (--retriesLeft > 0) {
                 return runQuery(query, --retriesLeft);
@@ -425,7 +448,7 @@ public class DatabaseManager {
         }
     }
 
-    private void runQueryBatch(String query, BatchQueryFunction<PreparedStatement> queryFunction, int batchId, int retriesLeft) throws SQLException {
+    private void runQueryBatch(String query, BatchQueryFunction<PreparedStatement> queryFunction, int batchId, int retriesLeft, boolean rethrow) throws SQLException {
         log.debug("Running batch query with the following values:\n - Query: {}\n - Batch ID: {}\n - Retries Left: {}",
             query, batchId, retriesLeft
         );
@@ -450,6 +473,10 @@ public class DatabaseManager {
             } catch (SQLException e1) {
                 log.error("An SQL exception was thrown while attempting to rollback a batch query: {}", query, e);
             }
+
+            if (rethrow) {
+                throw e;
+            }
         } finally {
             try {
                 connection.commit();
@@ -460,7 +487,7 @@ public class DatabaseManager {
                 }
             } catch (MySQLTransactionRollbackException e) {
                 if (--retriesLeft > 0) {
-                    runQueryBatch(query, queryFunction, batchId, retriesLeft);
+                    runQueryBatch(query, queryFunction, batchId, retriesLeft, rethrow);
                 }
             }
         }
@@ -34,15 +34,28 @@ import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 
 import javax.annotation.Nonnull;
+import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 
 public class MySQL extends HostnameDatabase {
 
+    /**
+     * The connection pool used for read queries that can run concurrently
+     * with other queries, the main connection is borrowed from this pool.
+     */
+    private volatile HikariDataSource dataSource;
+
+    /**
+     * The executor used to abort connections that hits the network timeout.
+     */
+    private final Executor networkTimeoutExecutor = Executors.newCachedThreadPool();
+
     /**
      * Creates a MySQL database connection instance with the parsed information,
      * the port used will default to <code>3306</code>.
@@ -96,20 +109,19 @@ public class MySQL extends HostnameDatabase {
             );
 
             if (initialize()) {
-                HikariConfig config = new HikariConfig();
-                config.setJdbcUrl(url);
-                config.setUsername(getUsername());
-                config.setPassword(getPassword());
-                config.setDriverClassName("com.mysql.jdbc.Driver");
-                HikariDataSource ds = new HikariDataSource(config);
-
-                connection = ds.getConnection();
+                HikariDataSource pool = getDataSource(url);
 
+                // Re-opening only replaces the broken main connection, the pool itself is
+                // shared with the queries that are still running, so it's kept open.
+                if (connection != null) {
+                    pool.evictConnection(connection);
+                }
+                connection = pool.getConnection();
 
                 // Sets a timeout of 20 seconds(This is an extremely long time, however the default
                 // is around 10 minutes so this should give some improvements with the threads
                 // not being blocked for ages due to hanging database queries.
-                connection.setNetworkTimeout(Executors.newCachedThreadPool(), 1000 * 20);
+                connection.setNetworkTimeout(networkTimeoutExecutor, 1000 * 20);
 
                 return true;
             }
@@ -123,6 +135,30 @@ public class MySQL extends HostnameDatabase {
         return false;
     }
 
+    private synchronized HikariDataSource getDataSource(String url) {
+        if (dataSource != null && !dataSource.isClosed()) {
+            return dataSource;
+        }
+
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername(getUsername());
+        config.setPassword(getPassword());
+        config.setDriverClassName("com.mysql.jdbc.Driver");
+        config.setMaximumPoolSize(Math.max(2, dbm.getAvaire().getConfig().getInt("database.poolSize", 10)));
+
+        dataSource = new HikariDataSource(config);
+        return dataSource;
+    }
+
+    @Override
+    protected Connection getPooledConnection() throws SQLException {
+        if (dataSource == null || dataSource.isClosed()) {
+            getConnection();
+        }
+        return dataSource.getConnection();
+    }
+
     @Override
     protected void queryValidation(StatementInterface statement) throws SQLException {
         SQLException exception;
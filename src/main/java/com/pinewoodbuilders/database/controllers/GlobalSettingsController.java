@@ -92,7 +92,12 @@ public class GlobalSettingsController {
 
             if (query.size() == 0) {
                 return null;
-            } 
+            }
+
+            if (avaire.getRobloxAPIManager() != null) {
+                avaire.getRobloxAPIManager().getVerification().getGuildIndex()
+                    .setModerationServer(groupId, transformer.getModerationServerId());
+            }
 
             return transformer;
         } catch (Exception ex) {
@@ -24,6 +24,7 @@ package com.pinewoodbuilders.database.controllers;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.database.transformers.GuildTransformer;
+import com.pinewoodbuilders.language.I18n;
 import com.pinewoodbuilders.utilities.CacheUtil;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
@@ -124,6 +125,7 @@ public class GuildController {
 
     public static void forgetCache(long guildId) {
         cache.invalidate(guildId);
+        I18n.forgetLocale(guildId);
     }
 
     private static GuildTransformer loadGuildFromDatabase(Xeus avaire, Guild guild) {
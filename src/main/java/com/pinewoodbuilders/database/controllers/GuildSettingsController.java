@@ -117,11 +117,13 @@ public class GuildSettingsController {
                 });
 
 
-                return new GuildSettingsTransformer(avaire.getDatabase().newQueryBuilder(Constants.GUILD_SETTINGS_TABLE)
+                transformer = new GuildSettingsTransformer(avaire.getDatabase().newQueryBuilder(Constants.GUILD_SETTINGS_TABLE)
                     .select(requiredSettingsColumns).where("guild_settings.id", guild.getId()).get()
                     .first());
             }
 
+            updateMainGroupIndex(avaire, guild, transformer);
+
             return transformer;
         } catch (Exception ex) {
             log.error("Failed to fetch guild transformer from the database, error: {}", ex.getMessage(), ex);
@@ -129,4 +131,17 @@ public class GuildSettingsController {
             return null;
         }
     }
+
+    private static void updateMainGroupIndex(Xeus avaire, Guild guild, GuildSettingsTransformer transformer) {
+        // The Roblox API manager is loaded alongside the other startup components, the
+        // main group index is built from the database once it's ready, so any settings
+        // loaded before then will already be part of the index.
+        if (avaire.getRobloxAPIManager() == null) {
+            return;
+        }
+
+        avaire.getRobloxAPIManager().getVerification().getGuildIndex().update(
+            guild.getIdLong(), transformer.getMainGroupId(), transformer.isOfficialSubGroup()
+        );
+    }
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.database.migrate.migrations;
+
+import com.pinewoodbuilders.Constants;
+import com.pinewoodbuilders.contracts.database.migrations.Migration;
+import com.pinewoodbuilders.database.connections.MySQL;
+import com.pinewoodbuilders.database.schema.Schema;
+
+import java.sql.SQLException;
+
+public class AddLookupIndexesToVerificationDatabaseTableMigration implements Migration {
+
+    private static final String DISCORD_ID_INDEX = "verification_database_id_index";
+    private static final String ROBLOX_ID_INDEX = "verification_database_roblox_id_index";
+
+    @Override
+    public String created_at() {
+        return "Mon, Oct 19, 2026 9:10 PM";
+    }
+
+    @Override
+    public boolean up(Schema schema) throws SQLException {
+        // The verification lookups, and the batch lookups especially,
+        // filters on both of the ID columns, which would otherwise
+        // have to scan through the entire table every time.
+        createIndex(schema, DISCORD_ID_INDEX, "id");
+        createIndex(schema, ROBLOX_ID_INDEX, "robloxId");
+
+        return true;
+    }
+
+    @Override
+    public boolean down(Schema schema) throws SQLException {
+        dropIndex(schema, DISCORD_ID_INDEX);
+        dropIndex(schema, ROBLOX_ID_INDEX);
+
+        return true;
+    }
+
+    private void createIndex(Schema schema, String index, String column) throws SQLException {
+        if (schema.getDbm().getConnection() instanceof MySQL) {
+            if (hasMySQLIndex(schema, index)) {
+                return;
+            }
+
+            schema.getDbm().queryUpdate(String.format(
+                "CREATE INDEX `%s` ON `%s` (`%s`);",
+                index, Constants.VERIFICATION_DATABASE_TABLE_NAME, column
+            ));
+            return;
+        }
+
+        schema.getDbm().queryUpdate(String.format(
+            "CREATE INDEX IF NOT EXISTS `%s` ON `%s` (`%s`);",
+            index, Constants.VERIFICATION_DATABASE_TABLE_NAME, column
+        ));
+    }
+
+    private void dropIndex(Schema schema, String index) throws SQLException {
+        if (schema.getDbm().getConnection() instanceof MySQL) {
+            if (!hasMySQLIndex(schema, index)) {
+                return;
+            }
+
+            schema.getDbm().queryUpdate(String.format(
+                "DROP INDEX `%s` ON `%s`;", index, Constants.VERIFICATION_DATABASE_TABLE_NAME
+            ));
+            return;
+        }
+
+        schema.getDbm().queryUpdate(String.format("DROP INDEX IF EXISTS `%s`;", index));
+    }
+
+    private boolean hasMySQLIndex(Schema schema, String index) throws SQLException {
+        return !schema.getDbm().query(String.format(
+            "SHOW INDEX FROM `%s` WHERE `Key_name` = '%s';",
+            Constants.VERIFICATION_DATABASE_TABLE_NAME, index
+        )).isEmpty();
+    }
+}
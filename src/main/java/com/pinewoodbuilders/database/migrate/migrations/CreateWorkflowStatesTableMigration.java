@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.database.migrate.migrations;
+
+import com.pinewoodbuilders.Constants;
+import com.pinewoodbuilders.contracts.database.migrations.Migration;
+import com.pinewoodbuilders.database.schema.Schema;
+
+import java.sql.SQLException;
+
+public class CreateWorkflowStatesTableMigration implements Migration {
+
+    @Override
+    public String created_at() {
+        return "Mon, Oct 19, 2026 6:40 PM";
+    }
+
+    @Override
+    public boolean up(Schema schema) throws SQLException {
+        return schema.createIfNotExists(Constants.WORKFLOW_STATES_TABLE_NAME, table -> {
+            table.Increments("id");
+            table.String("type", 32);
+            table.Long("guild_id").unsigned();
+            table.Long("channel_id").unsigned();
+            table.Long("message_id").unsigned();
+            table.String("state", 32);
+            table.String("prompt_action", 32).nullable();
+            table.Long("prompt_user_id").unsigned().defaultValue(0);
+            table.Long("prompt_channel_id").unsigned().defaultValue(0);
+            table.Long("prompt_message_id").unsigned().defaultValue(0);
+            table.Long("prompt_expires_at").unsigned().defaultValue(0);
+            table.Integer("revision").defaultValue(0);
+            table.Timestamps();
+        });
+    }
+
+    @Override
+    public boolean down(Schema schema) throws SQLException {
+        return schema.dropIfExists(Constants.WORKFLOW_STATES_TABLE_NAME);
+    }
+}
@@ -403,6 +403,25 @@ public final class QueryBuilder {
         return this;
     }
 
+    /**
+     * Creates a SQL WHERE IN clause, matching the column against any of the given
+     * values, only numeric values are supported, so the values can be added to
+     * the query as-is without any quoting or escaping.
+     *
+     * @param column The column to use in the clause
+     * @param values The values the column should match one of
+     * @return the query builder instance.
+     */
+    public QueryBuilder whereIn(String column, java.util.Collection<? extends Number> values) {
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("The WHERE IN clause must have at least one value");
+        }
+
+        wheres.add(new Clause(column, "IN", new ArrayList<>(values)));
+
+        return this;
+    }
+
     /**
      * Gets the list where clauses that should be generated.
      *
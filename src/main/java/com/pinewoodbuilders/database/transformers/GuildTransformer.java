@@ -26,6 +26,7 @@ import com.google.gson.reflect.TypeToken;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.contracts.database.transformers.Transformer;
 import com.pinewoodbuilders.database.collection.DataRow;
+import com.pinewoodbuilders.level.LevelRoleLadder;
 import com.pinewoodbuilders.utilities.NumberUtil;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.GuildChannel;
@@ -34,6 +35,8 @@ import net.dv8tion.jda.api.entities.VoiceChannel;
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class GuildTransformer extends Transformer {
 
@@ -59,6 +62,9 @@ public class GuildTransformer extends Transformer {
     private final GuildTypeTransformer guildType;
     private boolean partner;
 
+    private final AtomicReference<CompiledLevelRoleLadder> levelRoleLadder = new AtomicReference<>();
+    private final AtomicInteger levelRoleLadderVersion = new AtomicInteger();
+
     private String id;
     private String name;
     private String nameRaw;
@@ -343,6 +349,7 @@ public class GuildTransformer extends Transformer {
 
     public void setLevelHierarchy(boolean levelHierarchy) {
         this.levelHierarchy = levelHierarchy;
+        invalidateLevelRoleLadder();
     }
 
     public String getLevelChannel() {
@@ -354,7 +361,46 @@ public class GuildTransformer extends Transformer {
     }
 
     public Map <Integer, String> getLevelRoles() {
-        return levelRoles;
+        return Collections.unmodifiableMap(levelRoles);
+    }
+
+    public void putLevelRole(int level, String roleId) {
+        levelRoles.put(level, roleId);
+        invalidateLevelRoleLadder();
+    }
+
+    public void removeLevelRole(int level) {
+        levelRoles.remove(level);
+        invalidateLevelRoleLadder();
+    }
+
+    /**
+     * Gets the compiled level role ladder for the guild, the ladder is compiled
+     * from the level roles, level exempt roles, and level hierarchy the first
+     * time it's requested, and compiled again after any of them changes.
+     * <p>
+     * Every change bumps the ladder version, and a cached ladder is only used
+     * if it was compiled for the current version, so a ladder that was being
+     * compiled while the level settings changed is never used afterwards.
+     *
+     * @return The compiled level role ladder.
+     */
+    public LevelRoleLadder getLevelRoleLadder() {
+        int version = levelRoleLadderVersion.get();
+        CompiledLevelRoleLadder cached = levelRoleLadder.get();
+        if (cached != null && cached.version == version) {
+            return cached.ladder;
+        }
+
+        LevelRoleLadder ladder = LevelRoleLadder.compile(levelRoles, levelExemptRoles, levelHierarchy);
+        if (levelRoleLadderVersion.get() == version) {
+            levelRoleLadder.compareAndSet(cached, new CompiledLevelRoleLadder(version, ladder));
+        }
+        return ladder;
+    }
+
+    private void invalidateLevelRoleLadder() {
+        levelRoleLadderVersion.incrementAndGet();
     }
 
     public double getLevelModifier() {
@@ -370,7 +416,17 @@ public class GuildTransformer extends Transformer {
     }
 
     public Set <Long> getLevelExemptRoles() {
-        return levelExemptRoles;
+        return Collections.unmodifiableSet(levelExemptRoles);
+    }
+
+    public void addLevelExemptRole(long roleId) {
+        levelExemptRoles.add(roleId);
+        invalidateLevelRoleLadder();
+    }
+
+    public void removeLevelExemptRole(long roleId) {
+        levelExemptRoles.remove(roleId);
+        invalidateLevelRoleLadder();
     }
 
     public Set <Long> getLockableChannels() {
@@ -516,4 +572,15 @@ public class GuildTransformer extends Transformer {
     public Set<Long> getIgnoredAuditLogChannels() {
         return this.ignoredAuditLogChannels;
     }
+
+    private static final class CompiledLevelRoleLadder {
+
+        private final int version;
+        private final LevelRoleLadder ladder;
+
+        CompiledLevelRoleLadder(int version, LevelRoleLadder ladder) {
+            this.version = version;
+            this.ladder = ladder;
+        }
+    }
 }
@@ -25,12 +25,16 @@ import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.pinewoodbuilders.Environment;
 import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.cache.member.MemberCacheStrategy;
+import com.pinewoodbuilders.cache.member.MemberResidency;
 import com.pinewoodbuilders.contracts.handlers.EventHandler;
 import com.pinewoodbuilders.database.controllers.PlayerController;
 import com.pinewoodbuilders.handlers.adapter.*;
 import com.pinewoodbuilders.metrics.Metrics;
 import com.pinewoodbuilders.pinewood.adapter.WhitelistEventAdapter;
 import com.pinewoodbuilders.utilities.CacheUtil;
+import com.pinewoodbuilders.workflow.Workflow;
+import com.pinewoodbuilders.workflow.WorkflowType;
 import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.entities.*;
 import net.dv8tion.jda.api.entities.emoji.Emoji;
@@ -49,9 +53,13 @@ import net.dv8tion.jda.api.events.guild.invite.GuildInviteCreateEvent;
 import net.dv8tion.jda.api.events.guild.invite.GuildInviteDeleteEvent;
 import net.dv8tion.jda.api.events.guild.member.GuildMemberJoinEvent;
 import net.dv8tion.jda.api.events.guild.member.GuildMemberRemoveEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberRoleAddEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberRoleRemoveEvent;
+import net.dv8tion.jda.api.events.guild.member.update.GuildMemberUpdateEvent;
 import net.dv8tion.jda.api.events.guild.update.GuildUpdateNameEvent;
 import net.dv8tion.jda.api.events.guild.voice.GuildVoiceJoinEvent;
 import net.dv8tion.jda.api.events.guild.voice.GuildVoiceMoveEvent;
+import net.dv8tion.jda.api.events.interaction.GenericInteractionCreateEvent;
 import net.dv8tion.jda.api.events.interaction.ModalInteractionEvent;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.events.interaction.command.UserContextInteractionEvent;
@@ -131,6 +139,7 @@ public class MainEventHandler extends EventHandler {
     @Override
     public void onGenericEvent(GenericEvent event) {
         prepareGuildMembers(event);
+        refreshResidentMember(event);
         Metrics.jdaEvents.labels(event.getClass().getSimpleName()).inc();
 
         guildEventAdapter.onGenericEvent(event);
@@ -138,6 +147,7 @@ public class MainEventHandler extends EventHandler {
 
     @Override
     public void onReady(ReadyEvent event) {
+        avaire.getShardEntityCounter().reconcile(event.getJDA());
         jdaStateEventAdapter.onConnectToShard(event.getJDA());
 
         Guild guild = event.getJDA().getGuildById("438134543837560832");
@@ -155,6 +165,7 @@ public class MainEventHandler extends EventHandler {
 
     @Override
     public void onReconnected(ReconnectedEvent event) {
+        avaire.getShardEntityCounter().reconcile(event.getJDA());
         jdaStateEventAdapter.onConnectToShard(event.getJDA());
     }
 
@@ -170,16 +181,24 @@ public class MainEventHandler extends EventHandler {
 
     @Override
     public void onGuildJoin(GuildJoinEvent event) {
+        avaire.getShardEntityCounter().onGuildJoin(event.getGuild());
+        avaire.getGuildStatisticsManager().requestRebuild(event.getGuild());
         guildStateEvent.onGuildJoin(event);
     }
 
     @Override
     public void onGuildLeave(GuildLeaveEvent event) {
+        avaire.getShardEntityCounter().onGuildLeave(event.getGuild());
+        avaire.getGuildStatisticsManager().forget(event.getGuild().getIdLong());
+        if (avaire.getMemberLoader().getResidency() != null) {
+            avaire.getMemberLoader().getResidency().forgetGuild(event.getGuild().getIdLong());
+        }
         guildStateEvent.onGuildLeave(event);
     }
 
     @Override
     public void onChannelDelete(ChannelDeleteEvent event) {
+        avaire.getShardEntityCounter().onChannelDelete(event.getChannel());
 
         if (event.getChannel() instanceof TextChannel channel) {
             channelEvent.updateChannelData(channel.getGuild(), channel);
@@ -189,6 +208,8 @@ public class MainEventHandler extends EventHandler {
 
     @Override
     public void onChannelCreate(ChannelCreateEvent event) {
+        avaire.getShardEntityCounter().onChannelCreate(event.getChannel());
+
         if (event.getChannel() instanceof TextChannel channel) {
             channelEvent.updateChannelData(channel.getGuild(), channel);
         }
@@ -228,6 +249,8 @@ public class MainEventHandler extends EventHandler {
 
     @Override
     public void onGuildMemberJoin(@NotNull GuildMemberJoinEvent event) {
+        avaire.getShardEntityCounter().refreshUsers(event.getJDA(), event.getUser());
+        avaire.getGuildStatisticsManager().onMemberJoin(event.getMember());
         memberEvent.onGuildMemberJoin(event);
         if (event.getGuild().getId().equals("438134543837560832")) {
             checkInviteAndRole(event);
@@ -285,6 +308,21 @@ public class MainEventHandler extends EventHandler {
     {
         final Guild guild = event.getGuild();
         attemptInviteCaching(guild);                                                                  // attempt to store guild's invites
+        loadPinnedRoleMembers(guild);
+        avaire.getGuildStatisticsManager().requestRebuild(guild);
+    }
+
+    private void loadPinnedRoleMembers(Guild guild) {
+        if (avaire.getMemberLoader().getStrategy() == MemberCacheStrategy.ALL) {
+            return;
+        }
+
+        // The bot admin role is checked for every command, so the members with the role are
+        // loaded once the guild is ready, the member cache policy keeps them cached after.
+        Role role = guild.getRoleById(avaire.getConstants().getBotAdminExceptionRoleId());
+        if (role != null) {
+            avaire.getMemberLoader().loadMembersWithRole(guild, role.getIdLong());
+        }
     }
 
     private void attemptInviteCaching(final Guild guild)                                              // helper method to prevent duplicate code for GuildReadyEvent and GuildJoinEvent
@@ -308,10 +346,30 @@ public class MainEventHandler extends EventHandler {
 
     @Override
     public void onGuildMemberRemove(@Nonnull GuildMemberRemoveEvent event) {
+        avaire.getShardEntityCounter().refreshUsers(event.getJDA(), event.getUser());
+        avaire.getGuildStatisticsManager().onMemberRemove(event.getGuild(), event.getUser());
+        if (avaire.getMemberLoader().getResidency() != null) {
+            avaire.getMemberLoader().getResidency().forget(event.getGuild().getIdLong(), event.getUser().getIdLong());
+        }
         memberEvent.onGuildMemberRemove(event);
 
     }
 
+    @Override
+    public void onGuildMemberUpdate(@Nonnull GuildMemberUpdateEvent event) {
+        avaire.getGuildStatisticsManager().onMemberUpdate(event.getMember());
+    }
+
+    @Override
+    public void onGuildMemberRoleAdd(@Nonnull GuildMemberRoleAddEvent event) {
+        avaire.getGuildStatisticsManager().onMemberUpdate(event.getMember());
+    }
+
+    @Override
+    public void onGuildMemberRoleRemove(@Nonnull GuildMemberRoleRemoveEvent event) {
+        avaire.getGuildStatisticsManager().onMemberUpdate(event.getMember());
+    }
+
 
     @Override
     public void onSlashCommandInteraction(@NotNull SlashCommandInteractionEvent event) {
@@ -326,6 +384,17 @@ public class MainEventHandler extends EventHandler {
             }
             return;
         }
+        if (event.isFromGuild()) {
+            Workflow workflow = avaire.getWorkflowManager().getPrompt(event);
+            if (workflow != null) {
+                if (workflow.getType() == WorkflowType.REWARD_REQUEST) {
+                    reactionEmoteEventAdapter.onWorkflowPromptInput(workflow, event);
+                } else {
+                    buttonClickEventAdapter.onWorkflowPromptInput(workflow, event);
+                }
+            }
+        }
+
         if (changelogEventAdapter.isChangelogMessage(event.getChannel())) changelogEventAdapter.onMessageReceived(event);
         messageEvent.onMessageReceived(event);
         if (Xeus.getEnvironment().getName().equals(Environment.DEVELOPMENT.getName())) {
@@ -397,6 +466,7 @@ public class MainEventHandler extends EventHandler {
 
     @Override
     public void onRoleDelete(RoleDeleteEvent event) {
+        avaire.getGuildStatisticsManager().onRoleDelete(event.getRole());
         roleEvent.updateRoleData(event.getGuild());
         roleEvent.onRoleDelete(event);
     }
@@ -485,6 +555,12 @@ public class MainEventHandler extends EventHandler {
 
 
     private void prepareGuildMembers(GenericEvent event) {
+        // The bounded member cache only keeps active members around, guild members
+        // are instead loaded on-demand by the member loader when they're needed.
+        if (avaire.getMemberLoader().getStrategy() != MemberCacheStrategy.ALL) {
+            return;
+        }
+
         if (event instanceof GenericMessageEvent genericMessageEvent) {
             if (genericMessageEvent.isFromGuild()) {
                 loadGuildMembers(genericMessageEvent.getGuild());
@@ -497,6 +573,28 @@ public class MainEventHandler extends EventHandler {
     }
 
 
+    private void refreshResidentMember(GenericEvent event) {
+        MemberResidency residency = avaire.getMemberLoader().getResidency();
+        if (residency == null) {
+            return;
+        }
+
+        // JDA only asks the member cache policy about members that aren't cached yet, so
+        // members that are already cached are kept resident by their activity instead.
+        Member member = null;
+        if (event instanceof MessageReceivedEvent messageEvent && messageEvent.isFromGuild()) {
+            member = messageEvent.getMember();
+        } else if (event instanceof GenericInteractionCreateEvent interactionEvent) {
+            member = interactionEvent.getMember();
+        } else if (event instanceof MessageReactionAddEvent reactionEvent && reactionEvent.isFromGuild()) {
+            member = reactionEvent.getMember();
+        }
+
+        if (member != null) {
+            residency.refresh(member.getGuild().getIdLong(), member.getIdLong());
+        }
+    }
+
     public final ArrayList<String> guilds = new ArrayList<String>() {{
         add("495673170565791754"); // Aerospace
         add("438134543837560832"); // PBST
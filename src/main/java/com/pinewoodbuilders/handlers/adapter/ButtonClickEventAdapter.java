@@ -42,6 +42,11 @@ import com.pinewoodbuilders.roblox.RobloxAPIManager;
 import com.pinewoodbuilders.utilities.NumberUtil;
 import com.pinewoodbuilders.utilities.RestActionUtil;
 import com.pinewoodbuilders.utilities.XeusPermissionUtil;
+import com.pinewoodbuilders.workflow.Workflow;
+import com.pinewoodbuilders.workflow.WorkflowAction;
+import com.pinewoodbuilders.workflow.WorkflowManager;
+import com.pinewoodbuilders.workflow.WorkflowState;
+import com.pinewoodbuilders.workflow.WorkflowType;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.entities.Guild;
@@ -61,6 +66,7 @@ import org.jetbrains.annotations.NotNull;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import javax.annotation.Nullable;
 import java.awt.*;
 import java.io.IOException;
 import java.sql.SQLException;
@@ -86,409 +92,332 @@ public class ButtonClickEventAdapter extends EventAdapter {
 
     public void onReportsButtonInteractionEvent(ButtonInteractionEvent e) {
         loadDatabasePropertiesIntoMemory(e).thenAccept(databaseEventHolder -> {
-            if (databaseEventHolder.getGuildSettings().getHandbookReportChannel() != 0) {
-                TextChannel tc = avaire.getShardManager().getTextChannelById(databaseEventHolder.getGuildSettings().getHandbookReportChannel());
-                if (tc != null) {
-                    int permissionLevel = XeusPermissionUtil.getPermissionLevel(databaseEventHolder.getGuildSettings(), e.getGuild(), e.getMember()).getLevel();
-                    if (e.getChannel().equals(tc)) {
-                        QueryBuilder qb = avaire.getDatabase().newQueryBuilder(Constants.REPORTS_DATABASE_TABLE_NAME).where("pb_server_id", e.getGuild().getId()).andWhere("report_message_id", e.getMessageId());
-                        try {
-                            DataRow c = qb.get().get(0);
-
-                            if (qb.get().size() < 1) {
-                                return;
-                            }
-                            String username = c.getString("reported_roblox_name");
-                            String description = c.getString("report_reason");
-                            String evidence = c.getString("report_evidence");
-                            String warningEvidence = c.getString("report_evidence_warning");
-                            long reporter = c.getLong("reporter_discord_id");
-                            String rank = c.getString("reported_roblox_rank");
-                            long reportedRobloxId = c.getLong("reported_roblox_id");
-                            User memberAsReporter = avaire.getShardManager().getUserById(reporter);
-
-                            e.deferEdit().queue(deferReply -> {
-                                switch (e.getButton().getEmoji().getName()) {
-                                    case "✅":
-                                        if (permissionLevel >=
-                                            GuildPermissionCheckType.LOCAL_GROUP_LEADERSHIP.getLevel()) {
-                                            if (e.getGuild().getId().equals("438134543837560832")) {
-
-                                                Long userId = reportedRobloxId;
-                                                Long points = avaire.getRobloxAPIManager().getKronosManager().getPoints(reportedRobloxId);
-
-                                                tc.retrieveMessageById(c.getLong("report_message_id")).queue(v -> {
-                                                    if (v.getEmbeds().get(0).getColor().equals(new Color(0, 255, 0)))
-                                                        return;
-
-                                                    e.getChannel().sendMessage(e.getMember().getAsMention()).setEmbeds(MessageFactory.makeEmbeddedMessage(e.getChannel(), new Color(100, 200, 200),
-                                                            "You've chosen to approve this report, may I know the amount of points I have to remove? (This user currently has `:points` points)")
-                                                        .requestedBy(e.getMember()).set("points", points).buildEmbed()).queue(z -> {
-                                                        avaire.getWaiter().waitForEvent(MessageReceivedEvent.class,
-                                                            p -> p.getMember().equals(e.getMember()) && e.getChannel().equals(p.getChannel()) && NumberUtil.isNumeric(p.getMessage().getContentStripped()), run -> {
-                                                                v.editMessageEmbeds(MessageFactory.makeEmbeddedMessage(tc, new Color(0, 255, 0))
-                                                                        .setAuthor("Report created for: " + username, null, getImageByName(tc.getGuild(), username))
-                                                                        .setDescription(
-                                                                            "**Violator**: " + username + "\n" +
-                                                                                (rank != null ? "**Rank**: ``:rRank``\n" : "") +
-                                                                                "**Information**: \n" + description + "\n\n" +
-                                                                                "**Evidence**: \n" + evidence + "\n\n" +
-                                                                                (warningEvidence != null ? "**Evidence of warning**:\n" + warningEvidence + "\n\n" : "") +
-                                                                                "**Punishment**: \n``" + run.getMessage().getContentRaw() + "`` points pending removal.")
-                                                                        .requestedBy(memberAsReporter != null ? memberAsReporter : e.getMember().getUser())
-                                                                        .setTimestamp(Instant.now()).set("rRank", rank)
-                                                                        .buildEmbed()).setActionRows(Collections.emptyList())
-                                                                    .queue();
-                                                                try {
-                                                                    qb.useAsync(true).update(statement -> {
-                                                                        statement.set("report_punishment", run.getMessage().getContentRaw(), true);
-                                                                    });
-                                                                } catch (SQLException throwables) {
-                                                                    e.getChannel().sendMessage(e.getMember().getAsMention()).setEmbeds(MessageFactory.makeEmbeddedMessage(e.getChannel(), new Color(255, 0, 0))
-                                                                        .requestedBy(e.getMember())
-                                                                        .setDescription("Something went wrong in the database, please contact the developer.")
-                                                                        .setFooter("This message will self-destruct in 30s").buildEmbed()).queue(n -> {
-                                                                        n.delete().queueAfter(30, TimeUnit.SECONDS);
-                                                                    });
-                                                                }
-                                                                z.delete().queue();
-                                                                v.clearReactions().queue();
-                                                                run.getMessage().delete().queue();
-
-                                                                Request.Builder request = new Request.Builder()
-                                                                    .addHeader("User-Agent", "Xeus v" + AppInfo.getAppInfo().version)
-                                                                    .addHeader("Access-Key", avaire.getConfig().getString("apiKeys.kronosDatabaseApiKey"))
-                                                                    .url("https://www.pb-kronos.dev/api/v2/smartlog/pbst/single")
-                                                                    .post(RequestBody.create(json, buildPayload(username, userId, -Long.parseLong(run.getMessage().getContentRaw()))));
-
-                                                                try (okhttp3.Response exportResponse = client.newCall(request.build()).execute()) {
-                                                                    e.getChannel().sendMessageEmbeds(MessageFactory.makeEmbeddedMessage(e.getChannel())
-                                                                        .requestedBy(e.getMember()).setDescription("Sent point export to the database, please use ``;smartlogs`` in a bot commands channel to update the smartlog that was just sent to Kronos. Debugging info: \n```json\n" +
-                                                                            ":info```").set("info", exportResponse.body() != null ? exportResponse.body().string() : "Empty Body").setFooter("This message self-destructs after 25 seconds").buildEmbed()).queue(b -> {
-                                                                        b.delete().queueAfter(25, TimeUnit.SECONDS);
-                                                                    });
-                                                                } catch (IOException error) {
-                                                                    Xeus.getLogger().error("Failed sending sync with beacon request: " + error.getMessage());
-                                                                }
-                                                            });
-                                                    });
-                                                });
+            if (databaseEventHolder.getGuildSettings().getHandbookReportChannel() == 0) {
+                return;
+            }
 
+            TextChannel tc = avaire.getShardManager().getTextChannelById(databaseEventHolder.getGuildSettings().getHandbookReportChannel());
+            if (tc == null || !e.getChannel().equals(tc)) {
+                return;
+            }
 
-                                            } else {
-                                                tc.retrieveMessageById(c.getLong("report_message_id")).queue(v -> {
-                                                    if (v.getEmbeds().get(0).getColor().equals(new Color(0, 255, 0)))
-                                                        return;
-
-                                                    e.getChannel().sendMessage(e.getMember().getAsMention()).setEmbeds(
-                                                        MessageFactory.makeEmbeddedMessage(e.getChannel(), new Color(100, 200, 200),
-                                                                "You've chosen to approve a report, may I know the punishment you're giving to the user?")
-                                                            .requestedBy(e.getMember()).buildEmbed()).queue(z -> {
-                                                        avaire.getWaiter().waitForEvent(MessageReceivedEvent.class, p -> {
-                                                            return p.getMember() != null && p.getMember().equals(e.getMember()) && e.getChannel().equals(p.getChannel());
-                                                        }, run -> {
-                                                            v.editMessageEmbeds(MessageFactory.makeEmbeddedMessage(tc, new Color(0, 255, 0))
-                                                                    .setAuthor("Report created for: " + username, null, getImageByName(tc.getGuild(), username))
-                                                                    .setDescription(
-                                                                        "**Violator**: " + username + "\n" +
-                                                                            (rank != null ? "**Rank**: ``:rRank``\n" : "") +
-                                                                            "**Information**: \n" + description + "\n\n" +
-                                                                            "**Evidence**: \n" + evidence + "\n\n" +
-                                                                            (warningEvidence != null ? "**Evidence of warning**:\n" + warningEvidence + "\n\n" : "") +
-                                                                            "**Punishment**: \n" + run.getMessage().getContentRaw())
-                                                                    .requestedBy(memberAsReporter != null ? memberAsReporter : e.getMember().getUser())
-                                                                    .setTimestamp(Instant.now()).set("rRank", rank)
-                                                                    .buildEmbed()).setActionRows(Collections.emptyList())
-                                                                .queue();
-                                                            try {
-                                                                qb.useAsync(true).update(statement -> {
-                                                                    statement.set("report_punishment", run.getMessage().getContentRaw(), true);
-                                                                });
-                                                            } catch (SQLException throwables) {
-                                                                e.getChannel().sendMessage(e.getMember().getAsMention()).setEmbeds(MessageFactory.makeEmbeddedMessage(e.getChannel(), new Color(255, 0, 0)).requestedBy(e.getMember()).setDescription("Something went wrong in the database, please contact the developer.").setFooter("This message will self-destruct in 30s").buildEmbed()).queue(n -> {
-                                                                    n.delete().queueAfter(30, TimeUnit.SECONDS);
-                                                                });
-                                                            }
-                                                            z.delete().queue();
-                                                            v.clearReactions().queue();
-                                                            run.getMessage().delete().queue();
-                                                        });
-                                                    });
-                                                });
-                                            }
-                                        } else {
-                                            deferReply.setEphemeral(true).sendMessage("Sorry, but you're not allowed to approve this report. You have to be at least a **Manager** to do this.").queue();
-                                        }
-                                        break;
-                                    case "❌":
-                                        if (permissionLevel >=
-                                            GuildPermissionCheckType.LOCAL_GROUP_LEADERSHIP.getLevel()) {
+            Workflow workflow;
+            try {
+                workflow = avaire.getWorkflowManager().load(WorkflowType.REPORT, e.getGuild().getIdLong(), tc.getIdLong(), e.getMessageIdLong());
+            } catch (SQLException throwables) {
+                Xeus.getLogger().error("ERROR: ", throwables);
+                return;
+            }
 
-                                            tc.retrieveMessageById(c.getLong("report_message_id")).queue(v -> {
-                                                if (v.getEmbeds().get(0).getColor().equals(new Color(255, 0, 0)))
-                                                    return;
+            if (workflow == null) {
+                return;
+            }
 
-                                                e.getChannel().sendMessage(e.getMember().getAsMention()).setEmbeds(MessageFactory.makeEmbeddedMessage(e.getChannel(), new Color(100, 200, 200), "You've chosen to reject a report, may I know the reason you're giving for this?").requestedBy(e.getMember()).buildEmbed()).queue(z -> {
-                                                    avaire.getWaiter().waitForEvent(MessageReceivedEvent.class, p -> {
-                                                        return p.getMember().equals(e.getMember()) && e.getChannel().equals(p.getChannel());
-                                                    }, run -> {
-                                                        v.editMessageEmbeds(MessageFactory.makeEmbeddedMessage(tc, new Color(255, 0, 0))
-                                                                .setAuthor("Report created for: " + username, null, getImageByName(tc.getGuild(), username))
-                                                                .setDescription(
-                                                                    "**Violator**: " + username + "\n" +
-                                                                        (rank != null ? "**Rank**: ``:rRank``\n" : "") +
-                                                                        "**Information**: \n" + description + "\n\n" +
-                                                                        "**Evidence**: \n" + evidence + "\n\n" +
-                                                                        (warningEvidence != null ? "**Evidence of warning**:\n" + warningEvidence + "\n\n" : "") +
-                                                                        "**Denial Reason**: \n" + run.getMessage().getContentRaw())
-                                                                .requestedBy(memberAsReporter != null ? memberAsReporter : e.getMember().getUser())
-                                                                .setTimestamp(Instant.now()).set("rRank", rank)
-                                                                .buildEmbed()).setActionRows(Collections.emptyList())
-                                                            .queue();
-                                                        v.clearReactions().queue();
-                                                        try {
-                                                            qb.useAsync(true).delete();
-                                                        } catch (SQLException throwables) {
-                                                            e.getChannel().sendMessage(e.getMember().getAsMention()).setEmbeds(MessageFactory.makeEmbeddedMessage(e.getChannel(), new Color(255, 0, 0)).setDescription("Something went wrong in the database, please contact the developer.").setFooter("This message will self-destruct in 30s").buildEmbed()).queue(n -> {
-                                                                n.delete().queueAfter(30, TimeUnit.SECONDS);
-                                                            });
-                                                        }
-                                                        z.delete().queue();
-                                                        v.clearReactions().queue();
-                                                        run.getMessage().delete().queue();
-                                                    });
-                                                });
-                                            });
-                                        } else {
-                                            deferReply.setEphemeral(true).sendMessage("Sorry, but you're not allowed to reject this report. You have to be at least a **Manager** to do this.").queue();
-                                        }
-                                        break;
-                                    case "🚫":
-                                        if (permissionLevel >=
-                                            GuildPermissionCheckType.LOCAL_GROUP_LEADERSHIP.getLevel()) {
+            int permissionLevel = XeusPermissionUtil.getPermissionLevel(databaseEventHolder.getGuildSettings(), e.getGuild(), e.getMember()).getLevel();
+            e.deferEdit().queue(deferReply -> {
+                switch (e.getButton().getEmoji().getName()) {
+                    case "✅":
+                        if (permissionLevel < GuildPermissionCheckType.LOCAL_GROUP_LEADERSHIP.getLevel()) {
+                            deferReply.setEphemeral(true).sendMessage("Sorry, but you're not allowed to approve this report. You have to be at least a **Manager** to do this.").queue();
+                            return;
+                        }
 
+                        if (!workflow.isOpen()) {
+                            return;
+                        }
 
-                                            tc.retrieveMessageById(c.getLong("report_message_id")).queue(v -> {
-                                                v.delete().queue();
-                                            });
-                                            try {
-                                                qb.useAsync(true).delete();
-                                            } catch (SQLException throwables) {
-                                                Xeus.getLogger().error("ERROR: ", throwables);
-                                            }
+                        if (isPointsGuild(e.getGuild())) {
+                            long reportedRobloxId = workflow.getData().getLong("reported_roblox_id");
+                            avaire.getWorkflowManager().supplyAsync(() -> avaire.getRobloxAPIManager().getKronosManager().getPoints(reportedRobloxId))
+                                .thenAccept(points -> sendPrompt(workflow, WorkflowAction.APPROVE, e, MessageFactory.makeEmbeddedMessage(e.getChannel(), new Color(100, 200, 200),
+                                        "You've chosen to approve this report, may I know the amount of points I have to remove? (This user currently has `:points` points)")
+                                    .requestedBy(e.getMember()).set("points", points)))
+                                .exceptionally(error -> {
+                                    Xeus.getLogger().error("Failed to fetch the points for {}: {}", reportedRobloxId, error.getMessage(), error);
+                                    return null;
+                                });
+                        } else {
+                            sendPrompt(workflow, WorkflowAction.APPROVE, e, MessageFactory.makeEmbeddedMessage(e.getChannel(), new Color(100, 200, 200),
+                                    "You've chosen to approve a report, may I know the punishment you're giving to the user?")
+                                .requestedBy(e.getMember()));
+                        }
+                        break;
+                    case "❌":
+                        if (permissionLevel < GuildPermissionCheckType.LOCAL_GROUP_LEADERSHIP.getLevel()) {
+                            deferReply.setEphemeral(true).sendMessage("Sorry, but you're not allowed to reject this report. You have to be at least a **Manager** to do this.").queue();
+                            return;
+                        }
 
+                        if (!workflow.isOpen()) {
+                            return;
+                        }
 
-                                        } else {
-                                            deferReply.setEphemeral(true).sendMessage("Sorry, but you're not allowed to delete this report. You have to be at least a **Manager** to do this.").queue();
-                                        }
-                                }
-                            });
-                        } catch (SQLException throwables) {
-                            Xeus.getLogger().error("ERROR: ", throwables);
+                        sendPrompt(workflow, WorkflowAction.REJECT, e, MessageFactory.makeEmbeddedMessage(e.getChannel(), new Color(100, 200, 200),
+                                "You've chosen to reject a report, may I know the reason you're giving for this?")
+                            .requestedBy(e.getMember()));
+                        break;
+                    case "🚫":
+                        if (permissionLevel < GuildPermissionCheckType.LOCAL_GROUP_LEADERSHIP.getLevel()) {
+                            deferReply.setEphemeral(true).sendMessage("Sorry, but you're not allowed to delete this report. You have to be at least a **Manager** to do this.").queue();
+                            return;
                         }
 
-                    }
+                        deleteWorkflow(workflow, tc);
                 }
-            }
+            });
         });
     }
 
     public void onPatrolRemittanceButtonInteractionEvent(ButtonInteractionEvent e) {
         loadDatabasePropertiesIntoMemory(e).thenAccept(databaseEventHolder -> {
-            if (databaseEventHolder.getGuildSettings().getPatrolRemittanceChannel() != 0) {
-
-                TextChannel tc = avaire.getShardManager().getTextChannelById(databaseEventHolder.getGuildSettings().getPatrolRemittanceChannel());
-                if (tc != null) {
-
-                    int permissionLevel = XeusPermissionUtil.getPermissionLevel(databaseEventHolder.getGuildSettings(), e.getGuild(), e.getMember()).getLevel();
-                    if (e.getChannel().equals(tc)) {
-
-                        QueryBuilder qb = avaire.getDatabase().newQueryBuilder(Constants.REMITTANCE_DATABASE_TABLE_NAME)
-                            .where("pb_server_id", e.getGuild().getId()).andWhere("request_message_id", e.getMessageId());
-                        try {
-                            DataRow c = qb.get().get(0);
-                            if (qb.get().size() < 1) {
-                                return;
-                            }
-
-                            String username = c.getString("requester_discord_name");
-                            String evidence = c.getString("requester_evidence");
-                            long requester = c.getLong("requester_discord_id");
-                            String rank = c.getString("requester_roblox_rank");
-                            User memberAsReporter = avaire.getShardManager().getUserById(requester);
-
-                            e.deferEdit().queue(deferEdit -> {
-                                switch (e.getButton().getEmoji().getName()) {
-                                    case "✅":
-                                        if (permissionLevel >=
-                                            GuildPermissionCheckType.LOCAL_GROUP_LEADERSHIP.getLevel()) {
-
-                                            if (e.getGuild().getId().equals("438134543837560832")) {
-                                                tc.retrieveMessageById(c.getLong("request_message_id")).queue(v -> {
-                                                    if (v.getEmbeds().get(0).getColor().equals(new Color(0, 255, 0)))
-                                                        return;
-
-                                                    e.getChannel().sendMessage(e.getMember().getAsMention()).setEmbeds(MessageFactory.makeEmbeddedMessage(e.getChannel(), new Color(100, 200, 200), "You've chosen to approve a remittance, how many points you want to give to the user?").buildEmbed()).queue(z -> {
-                                                        avaire.getWaiter().waitForEvent(MessageReceivedEvent.class, p -> {
-                                                            return p.getMember().equals(e.getMember()) && e.getChannel().equals(p.getChannel()) && NumberUtil.isNumeric(p.getMessage().getContentRaw());
-                                                        }, run -> {
-                                                            v.editMessageEmbeds(MessageFactory.makeEmbeddedMessage(tc, new Color(0, 255, 0))
-                                                                    .setAuthor("Remittance created for: " + username, null, getImageByName(tc.getGuild(), username))
-                                                                    .setDescription(
-                                                                        "**Username**: " + username + "\n" +
-                                                                            (rank != null ? "**Rank**: ``:rRank``\n" : "") +
-                                                                            "**Evidence**: \n" + evidence +
-                                                                            "\n**Points awarded**: \n" + run.getMessage().getContentRaw())
-                                                                    .requestedBy(memberAsReporter != null ? memberAsReporter : e.getMember().getUser())
-                                                                    .setTimestamp(Instant.now()).set("rRank", rank)
-                                                                    .buildEmbed()).setActionRows(Collections.emptyList())
-                                                                .queue();
-
-                                                            Request.Builder request = new Request.Builder()
-                                                                .addHeader("User-Agent", "Xeus v" + AppInfo.getAppInfo().version)
-                                                                .addHeader("Access-Key", avaire.getConfig().getString("apiKeys.kronosDatabaseApiKey"))
-                                                                .url("https://www.pb-kronos.dev/api/v2/smartlog/pbst/single")
-                                                                .post(RequestBody.create(json, buildPayload(username, avaire.getRobloxAPIManager().getUserAPI().getIdFromUsername(username), Long.valueOf(run.getMessage().getContentRaw()))));
-
-                                                            try (okhttp3.Response exportResponse = client.newCall(request.build()).execute()) {
-                                                                e.getChannel().sendMessageEmbeds(MessageFactory.makeEmbeddedMessage(e.getChannel())
-                                                                    .setDescription("Sent point export to the database, please use ``;smartlogs`` in a bot commands channel to update the smartlog that was just sent to Kronos. Debugging info: \n```json\n" +
-                                                                        ":info```").set("info", exportResponse.body() != null ? exportResponse.body().string() : "Empty Body").setFooter("This message self-destructs after 25 seconds").buildEmbed()).queue(b -> {
-                                                                    b.delete().queueAfter(25, TimeUnit.SECONDS);
-                                                                });
-                                                            } catch (IOException error) {
-                                                                Xeus.getLogger().error("Failed sending sync with beacon request: " + error.getMessage());
-                                                            }
-
-                                                            try {
-                                                                qb.useAsync(true).update(statement -> {
-                                                                    statement.set("action", run.getMessage().getContentRaw(), true);
-                                                                });
-                                                            } catch (SQLException throwables) {
-                                                                e.getChannel().sendMessage(e.getMember().getAsMention()).setEmbeds(MessageFactory.makeEmbeddedMessage(e.getChannel(), new Color(255, 0, 0)).setDescription("Something went wrong in the database, please contact the developer.").setFooter("This message will self-destruct in 30s").buildEmbed()).queue(n -> {
-                                                                    n.delete().queueAfter(30, TimeUnit.SECONDS);
-                                                                });
-                                                            }
-                                                            z.delete().queue();
-                                                            v.clearReactions().queue();
-                                                            run.getMessage().delete().queue();
-                                                        });
-                                                    });
-                                                });
-                                            } else {
-                                                tc.retrieveMessageById(c.getLong("request_message_id")).queue(v -> {
-                                                    if (v.getEmbeds().get(0).getColor().equals(new Color(0, 255, 0)))
-                                                        return;
-
-                                                    e.getChannel().sendMessage(e.getMember().getAsMention()).setEmbeds(MessageFactory.makeEmbeddedMessage(e.getChannel(), new Color(100, 200, 200), "You've chosen to approve a remittance request, may I know the reward you're giving to the user?").buildEmbed()).queue(z -> {
-                                                        avaire.getWaiter().waitForEvent(MessageReceivedEvent.class, p -> {
-                                                            return p.getMember().equals(e.getMember()) && e.getChannel().equals(p.getChannel());
-                                                        }, run -> {
-                                                            v.editMessageEmbeds(MessageFactory.makeEmbeddedMessage(tc, new Color(0, 255, 0))
-                                                                    .setAuthor("Remittance created for: " + username, null, getImageByName(tc.getGuild(), username))
-                                                                    .setDescription(
-                                                                        "**Username**: " + username + "\n" +
-                                                                            (rank != null ? "**Rank**: ``:rRank``\n" : "") +
-                                                                            "**Evidence**: \n" + evidence +
-                                                                            "\n**Reward/Acceptal Reason**: \n" + run.getMessage().getContentRaw())
-                                                                    .requestedBy(memberAsReporter != null ? memberAsReporter : e.getMember().getUser())
-                                                                    .setTimestamp(Instant.now()).set("rRank", rank)
-                                                                    .buildEmbed()).setActionRows(Collections.emptyList())
-                                                                .queue();
-                                                            try {
-                                                                qb.useAsync(true).update(statement -> {
-                                                                    statement.set("action", run.getMessage().getContentRaw(), true);
-                                                                });
-                                                            } catch (SQLException throwables) {
-                                                                e.getChannel().sendMessage(e.getMember().getAsMention()).setEmbeds(MessageFactory.makeEmbeddedMessage(e.getChannel(), new Color(255, 0, 0)).setDescription("Something went wrong in the database, please contact the developer.").setFooter("This message will self-destruct in 30s").buildEmbed()).queue(n -> {
-                                                                    n.delete().queueAfter(30, TimeUnit.SECONDS);
-                                                                });
-                                                            }
-                                                            z.delete().queue();
-                                                            v.clearReactions().queue();
-                                                            run.getMessage().delete().queue();
-                                                        });
-                                                    });
-                                                });
-                                            }
-                                        } else {
-                                            deferEdit.setEphemeral(true).sendMessage("Sorry, but you do not have the required permissions to approve this remittance.").queue();
-                                        }
-                                        break;
-                                    case "❌":
-                                        if (permissionLevel >=
-                                            GuildPermissionCheckType.LOCAL_GROUP_LEADERSHIP.getLevel()) {
-                                            //e.getReaction().removeReaction(e.getUser()).queue();
+            if (databaseEventHolder.getGuildSettings().getPatrolRemittanceChannel() == 0) {
+                return;
+            }
 
+            TextChannel tc = avaire.getShardManager().getTextChannelById(databaseEventHolder.getGuildSettings().getPatrolRemittanceChannel());
+            if (tc == null || !e.getChannel().equals(tc)) {
+                return;
+            }
 
-                                            tc.retrieveMessageById(c.getLong("request_message_id")).queue(v -> {
-                                                if (v.getEmbeds().get(0).getColor().equals(new Color(255, 0, 0)))
-                                                    return;
+            Workflow workflow;
+            try {
+                workflow = avaire.getWorkflowManager().load(WorkflowType.REMITTANCE, e.getGuild().getIdLong(), tc.getIdLong(), e.getMessageIdLong());
+            } catch (SQLException throwables) {
+                Xeus.getLogger().error("ERROR: ", throwables);
+                return;
+            }
 
-                                                e.getChannel().sendMessage(e.getMember().getAsMention()).setEmbeds(MessageFactory.makeEmbeddedMessage(e.getChannel(), new Color(100, 200, 200), "You've chosen to reject a report, may I know the reason you're giving for this?").buildEmbed()).queue(z -> {
-                                                    avaire.getWaiter().waitForEvent(MessageReceivedEvent.class, p -> {
-                                                        return p.getMember() != null && p.getMember().equals(e.getMember()) && e.getChannel().equals(p.getChannel());
-                                                    }, run -> {
-                                                        v.editMessageEmbeds(MessageFactory.makeEmbeddedMessage(tc, new Color(255, 0, 0))
-                                                                .setAuthor("Report created for: " + username, null, getImageByName(tc.getGuild(), username))
-                                                                .setDescription(
-                                                                    "**Username**: " + username + "\n" +
-                                                                        (rank != null ? "**Rank**: ``:rRank``\n" : "") +
-                                                                        "**Evidence**: \n" + evidence +
-                                                                        "\n**Denial Reason**: \n" + run.getMessage().getContentRaw())
-                                                                .requestedBy(memberAsReporter != null ? memberAsReporter : e.getMember().getUser())
-                                                                .setTimestamp(Instant.now()).set("rRank", rank)
-                                                                .buildEmbed())
-                                                            .setActionRows(Collections.emptyList())
-                                                            .queue();
-                                                        try {
-                                                            qb.useAsync(true).delete();
-                                                        } catch (SQLException throwables) {
-                                                            e.getChannel().sendMessage(e.getMember().getAsMention()).setEmbeds(MessageFactory.makeEmbeddedMessage(e.getChannel(), new Color(255, 0, 0)).setDescription("Something went wrong in the database, please contact the developer.").setFooter("This message will self-destruct in 30s").buildEmbed()).queue(n -> {
-                                                                n.delete().queueAfter(30, TimeUnit.SECONDS);
-                                                            });
-                                                        }
-                                                        z.delete().queue();
-                                                        run.getMessage().delete().queue();
-                                                    });
-                                                });
-                                            });
-                                        } else {
-                                            deferEdit.setEphemeral(true).sendMessage("Sorry, but you do not have the required permissions to reject this remittance.").queue();
-                                        }
-                                        break;
-                                    case "🚫":
-                                        if (permissionLevel >=
-                                            GuildPermissionCheckType.LOCAL_GROUP_LEADERSHIP.getLevel()) {
+            if (workflow == null) {
+                return;
+            }
 
+            int permissionLevel = XeusPermissionUtil.getPermissionLevel(databaseEventHolder.getGuildSettings(), e.getGuild(), e.getMember()).getLevel();
+            e.deferEdit().queue(deferEdit -> {
+                switch (e.getButton().getEmoji().getName()) {
+                    case "✅":
+                        if (permissionLevel < GuildPermissionCheckType.LOCAL_GROUP_LEADERSHIP.getLevel()) {
+                            deferEdit.setEphemeral(true).sendMessage("Sorry, but you do not have the required permissions to approve this remittance.").queue();
+                            return;
+                        }
 
-                                            tc.retrieveMessageById(c.getLong("request_message_id")).queue(v -> {
-                                                v.delete().queue();
-                                            });
-                                            try {
-                                                qb.useAsync(true).delete();
-                                            } catch (SQLException throwables) {
-                                                Xeus.getLogger().error("ERROR: ", throwables);
-                                            }
+                        if (!workflow.isOpen()) {
+                            return;
+                        }
 
+                        sendPrompt(workflow, WorkflowAction.APPROVE, e, MessageFactory.makeEmbeddedMessage(e.getChannel(), new Color(100, 200, 200), isPointsGuild(e.getGuild())
+                            ? "You've chosen to approve a remittance, how many points you want to give to the user?"
+                            : "You've chosen to approve a remittance request, may I know the reward you're giving to the user?"
+                        ));
+                        break;
+                    case "❌":
+                        if (permissionLevel < GuildPermissionCheckType.LOCAL_GROUP_LEADERSHIP.getLevel()) {
+                            deferEdit.setEphemeral(true).sendMessage("Sorry, but you do not have the required permissions to reject this remittance.").queue();
+                            return;
+                        }
 
-                                        } else {
-                                            deferEdit.setEphemeral(true).sendMessage("Sorry, but you do not have the required permissions to remove this remittance.").queue();
-                                        }
-                                }
-                            });
-                        } catch (SQLException throwables) {
-                            Xeus.getLogger().error("ERROR: ", throwables);
+                        if (!workflow.isOpen()) {
+                            return;
                         }
 
+                        sendPrompt(workflow, WorkflowAction.REJECT, e, MessageFactory.makeEmbeddedMessage(e.getChannel(), new Color(100, 200, 200),
+                            "You've chosen to reject a report, may I know the reason you're giving for this?"
+                        ));
+                        break;
+                    case "🚫":
+                        if (permissionLevel < GuildPermissionCheckType.LOCAL_GROUP_LEADERSHIP.getLevel()) {
+                            deferEdit.setEphemeral(true).sendMessage("Sorry, but you do not have the required permissions to remove this remittance.").queue();
+                            return;
+                        }
 
-                    }
+                        deleteWorkflow(workflow, tc);
                 }
+            });
+        });
+    }
+
+    /**
+     * Handles the input for a report, remittance or suggestion workflow that
+     * is waiting for input from the author of the given message.
+     *
+     * @param workflow The workflow that is waiting for the input.
+     * @param run      The message received event holding the input.
+     */
+    public void onWorkflowPromptInput(Workflow workflow, MessageReceivedEvent run) {
+        switch (workflow.getType()) {
+            case REPORT -> onReportPromptInput(workflow, run);
+            case REMITTANCE -> onRemittancePromptInput(workflow, run);
+            case SUGGESTION -> onSuggestionPromptInput(workflow, run);
+        }
+    }
 
+    private void onReportPromptInput(Workflow workflow, MessageReceivedEvent run) {
+        boolean isApproved = workflow.getPromptAction() == WorkflowAction.APPROVE;
+        boolean isPointsReport = isApproved && isPointsGuild(run.getGuild());
+        if (isPointsReport && !NumberUtil.isNumeric(run.getMessage().getContentStripped())) {
+            return;
+        }
+
+        if (!avaire.getWorkflowManager().transition(workflow, isApproved ? WorkflowState.APPROVED : WorkflowState.REJECTED)) {
+            return;
+        }
+
+        DataRow c = workflow.getData();
+        String username = c.getString("reported_roblox_name");
+        String rank = c.getString("reported_roblox_rank");
+        String warningEvidence = c.getString("report_evidence_warning");
+        User memberAsReporter = avaire.getShardManager().getUserById(c.getLong("reporter_discord_id"));
+        String input = run.getMessage().getContentRaw();
+
+        TextChannel tc = avaire.getShardManager().getTextChannelById(workflow.getChannelId());
+        if (tc != null) {
+            tc.editMessageEmbedsById(workflow.getMessageId(), MessageFactory.makeEmbeddedMessage(tc, isApproved ? new Color(0, 255, 0) : new Color(255, 0, 0))
+                    .setAuthor("Report created for: " + username, null, getImageByName(tc.getGuild(), username))
+                    .setDescription(
+                        "**Violator**: " + username + "\n" +
+                            (rank != null ? "**Rank**: ``:rRank``\n" : "") +
+                            "**Information**: \n" + c.getString("report_reason") + "\n\n" +
+                            "**Evidence**: \n" + c.getString("report_evidence") + "\n\n" +
+                            (warningEvidence != null ? "**Evidence of warning**:\n" + warningEvidence + "\n\n" : "") +
+                            (isApproved ? "**Punishment**: \n" : "**Denial Reason**: \n") +
+                            (isPointsReport ? "``" + input + "`` points pending removal." : input))
+                    .requestedBy(memberAsReporter != null ? memberAsReporter : run.getMember().getUser())
+                    .setTimestamp(Instant.now()).set("rRank", rank)
+                    .buildEmbed()).setActionRows(Collections.emptyList())
+                .queue();
+            tc.clearReactionsById(workflow.getMessageId()).queue(null, RestActionUtil.ignore);
+        }
+
+        try {
+            QueryBuilder qb = avaire.getDatabase().newQueryBuilder(Constants.REPORTS_DATABASE_TABLE_NAME)
+                .useAsync(true).where("report_message_id", workflow.getMessageId());
+            if (isApproved) {
+                qb.update(statement -> statement.set("report_punishment", input, true));
+            } else {
+                qb.delete();
             }
+        } catch (SQLException throwables) {
+            sendDatabaseError(run);
+        }
+        run.getMessage().delete().queue();
+
+        if (isPointsReport) {
+            exportPoints(run, username, c.getLong("reported_roblox_id"), -Long.parseLong(input));
+        }
+    }
+
+    private void onRemittancePromptInput(Workflow workflow, MessageReceivedEvent run) {
+        boolean isApproved = workflow.getPromptAction() == WorkflowAction.APPROVE;
+        boolean isPointsRemittance = isApproved && isPointsGuild(run.getGuild());
+        if (isPointsRemittance && !NumberUtil.isNumeric(run.getMessage().getContentRaw())) {
+            return;
+        }
+
+        if (!avaire.getWorkflowManager().transition(workflow, isApproved ? WorkflowState.APPROVED : WorkflowState.REJECTED)) {
+            return;
+        }
+
+        DataRow c = workflow.getData();
+        String username = c.getString("requester_discord_name");
+        String rank = c.getString("requester_roblox_rank");
+        User memberAsReporter = avaire.getShardManager().getUserById(c.getLong("requester_discord_id"));
+        String input = run.getMessage().getContentRaw();
+
+        TextChannel tc = avaire.getShardManager().getTextChannelById(workflow.getChannelId());
+        if (tc != null) {
+            tc.editMessageEmbedsById(workflow.getMessageId(), MessageFactory.makeEmbeddedMessage(tc, isApproved ? new Color(0, 255, 0) : new Color(255, 0, 0))
+                    .setAuthor((isApproved ? "Remittance created for: " : "Report created for: ") + username, null, getImageByName(tc.getGuild(), username))
+                    .setDescription(
+                        "**Username**: " + username + "\n" +
+                            (rank != null ? "**Rank**: ``:rRank``\n" : "") +
+                            "**Evidence**: \n" + c.getString("requester_evidence") +
+                            (isApproved ? (isPointsRemittance ? "\n**Points awarded**: \n" : "\n**Reward/Acceptal Reason**: \n") : "\n**Denial Reason**: \n") + input)
+                    .requestedBy(memberAsReporter != null ? memberAsReporter : run.getMember().getUser())
+                    .setTimestamp(Instant.now()).set("rRank", rank)
+                    .buildEmbed()).setActionRows(Collections.emptyList())
+                .queue();
+            tc.clearReactionsById(workflow.getMessageId()).queue(null, RestActionUtil.ignore);
+        }
+
+        try {
+            QueryBuilder qb = avaire.getDatabase().newQueryBuilder(Constants.REMITTANCE_DATABASE_TABLE_NAME)
+                .useAsync(true).where("request_message_id", workflow.getMessageId());
+            if (isApproved) {
+                qb.update(statement -> statement.set("action", input, true));
+            } else {
+                qb.delete();
+            }
+        } catch (SQLException throwables) {
+            sendDatabaseError(run);
+        }
+        run.getMessage().delete().queue();
+
+        if (isPointsRemittance) {
+            exportPoints(run, username, null, Long.valueOf(input));
+        }
+    }
+
+    private void sendPrompt(Workflow workflow, WorkflowAction action, ButtonInteractionEvent e, PlaceholderMessage message) {
+        e.getChannel().sendMessage(e.getMember().getAsMention()).setEmbeds(message.buildEmbed()).queue(prompt ->
+            avaire.getWorkflowManager().prompt(workflow, action, e.getMember().getIdLong(), prompt, WorkflowManager.defaultPromptTimeout)
+        );
+    }
+
+    private void deleteWorkflow(Workflow workflow, TextChannel tc) {
+        avaire.getWorkflowManager().transition(workflow, WorkflowState.DELETED);
+        tc.deleteMessageById(workflow.getMessageId()).queue(null, RestActionUtil.ignore);
+
+        try {
+            avaire.getDatabase().newQueryBuilder(workflow.getType().getTable())
+                .useAsync(true)
+                .where(workflow.getType().getMessageColumn(), workflow.getMessageId())
+                .delete();
+        } catch (SQLException throwables) {
+            Xeus.getLogger().error("ERROR: ", throwables);
+        }
+    }
+
+    /**
+     * Sends the given points to the Kronos smartlog export, the request is sent on
+     * the workflow executor, so the JDA threads are never blocked waiting on Kronos.
+     *
+     * @param run      The message received event the points were given in.
+     * @param username The Roblox username of the user the points are given to.
+     * @param userId   The Roblox ID of the user, or <code>NULL</code> if it should be looked up by the username.
+     * @param points   The amount of points that should be given to the user.
+     */
+    private void exportPoints(MessageReceivedEvent run, String username, @Nullable Long userId, Long points) {
+        avaire.getWorkflowManager().runAsync(() -> {
+            Request.Builder request = new Request.Builder()
+                .addHeader("User-Agent", "Xeus v" + AppInfo.getAppInfo().version)
+                .addHeader("Access-Key", avaire.getConfig().getString("apiKeys.kronosDatabaseApiKey"))
+                .url("https://www.pb-kronos.dev/api/v2/smartlog/pbst/single")
+                .post(RequestBody.create(json, buildPayload(username, userId != null ? userId : avaire.getRobloxAPIManager().getUserAPI().getIdFromUsername(username), points)));
+
+            try (okhttp3.Response exportResponse = client.newCall(request.build()).execute()) {
+                run.getChannel().sendMessageEmbeds(MessageFactory.makeEmbeddedMessage(run.getChannel())
+                    .requestedBy(run.getMember()).setDescription("Sent point export to the database, please use ``;smartlogs`` in a bot commands channel to update the smartlog that was just sent to Kronos. Debugging info: \n```json\n" +
+                        ":info```").set("info", exportResponse.body() != null ? exportResponse.body().string() : "Empty Body").setFooter("This message self-destructs after 25 seconds").buildEmbed()).queue(b -> {
+                    b.delete().queueAfter(25, TimeUnit.SECONDS);
+                });
+            } catch (IOException error) {
+                Xeus.getLogger().error("Failed sending sync with beacon request: " + error.getMessage());
+            }
+        });
+    }
+
+    private void sendDatabaseError(MessageReceivedEvent run) {
+        run.getChannel().sendMessage(run.getMember().getAsMention()).setEmbeds(MessageFactory.makeEmbeddedMessage(run.getChannel(), new Color(255, 0, 0))
+            .requestedBy(run.getMember())
+            .setDescription("Something went wrong in the database, please contact the developer.")
+            .setFooter("This message will self-destruct in 30s").buildEmbed()).queue(n -> {
+            n.delete().queueAfter(30, TimeUnit.SECONDS);
         });
     }
 
+    private boolean isPointsGuild(Guild guild) {
+        return guild.getId().equals("438134543837560832");
+    }
+
     public void onFeedbackButtonInteractionEvent(ButtonInteractionEvent e) {
         if (e.getMember().getUser().isBot()) {
             return;
@@ -506,9 +435,12 @@ public class ButtonClickEventAdapter extends EventAdapter {
                         }
                     }
 
+                    Workflow workflow = avaire.getWorkflowManager().load(WorkflowType.SUGGESTION, e.getGuild().getIdLong(), e.getChannel().getIdLong(), e.getMessageIdLong());
+                    DataRow suggestion = workflow != null ? workflow.getData() : null;
+
                     String id = null;
-                    if (qb.get().size() > 0) {
-                        id = qb.get().get(0).getString("suggester_discord_id");
+                    if (suggestion != null) {
+                        id = suggestion.getString("suggester_discord_id");
                     }
 
                     Member memberCheck = null;
@@ -542,6 +474,7 @@ public class ButtonClickEventAdapter extends EventAdapter {
                                                     .buildEmbed()).setActionRows(Collections.emptyList()).queue();
                                                 msg.clearReactions().queue();
                                                 qb.delete();
+                                                transitionSuggestion(workflow, WorkflowState.REJECTED);
                                                 if (msg.getStartedThread() != null && !msg.getStartedThread().isArchived() && !msg.getStartedThread().isLocked()) {
                                                     msg.getStartedThread().getManager().setArchived(true).queue();
                                                 }
@@ -583,6 +516,7 @@ public class ButtonClickEventAdapter extends EventAdapter {
                                                 }
                                                 try {
                                                     qb.delete();
+                                                    transitionSuggestion(workflow, WorkflowState.APPROVED);
                                                     if (msg.getStartedThread() != null && !msg.getStartedThread().isArchived() && !msg.getStartedThread().isLocked()) {
                                                         msg.getStartedThread().getManager().setArchived(true).queue();
                                                     }
@@ -611,6 +545,7 @@ public class ButtonClickEventAdapter extends EventAdapter {
                                             msg.getStartedThread().delete().queue();
                                         }
                                         msg.delete().queue();
+                                        transitionSuggestion(workflow, WorkflowState.DELETED);
                                     } //🚫
                                     if (e.getButton().getEmoji().getName().equals("\uD83D\uDCAC")) {
                                         if (!(e.getMember().hasPermission(Permission.MESSAGE_MANAGE) || isValidReportManager(e, 1))) {
@@ -619,32 +554,12 @@ public class ButtonClickEventAdapter extends EventAdapter {
                                         }
 
                                         if (isValidReportManager(e, 1)) {
-                                            msg.getChannel().sendMessage(e.getMember().getAsMention() + "\nWhat is your comment?").queue(
-                                                v -> avaire.getWaiter().waitForEvent(MessageReceivedEvent.class, c -> c.getChannel().equals(e.getChannel()) && c.getMember().equals(e.getMember()), c -> {
-                                                    v.delete().queue();
-                                                    msg.editMessageEmbeds(new EmbedBuilder()
-                                                            .setColor(msg.getEmbeds().get(0).getColor())
-                                                            .setAuthor("Suggestion for: " + e.getGuild().getName(), null, e.getGuild().getIconUrl())
-                                                            .setDescription(msg.getEmbeds().get(0).getDescription() + "\n\n" + getRole(c) + " - :speech_balloon: **``" + e.getMember().getEffectiveName() + "``:**\n" + c.getMessage().getContentRaw())
-                                                            .setTimestamp(msg.getEmbeds().get(0).getTimestamp())
-                                                            .setFooter(msg.getEmbeds().get(0).getFooter().getText(), msg.getEmbeds().get(0).getFooter().getIconUrl()).build())
-                                                        .queue();
-                                                    c.getMessage().delete().queue();
-                                                    if (e.getGuild().getMembersByEffectiveName(msg.getEmbeds().get(0).getFooter().getText(), true).size() > 0) {
-                                                        for (Member u : e.getGuild().getMembersByEffectiveName(msg.getEmbeds().get(0).getFooter().getText(), true)) {
-                                                            u.getUser().openPrivateChannel().complete()
-                                                                .sendMessageEmbeds(new EmbedBuilder()
-                                                                    .setDescription("Hello there ``" + u.getEffectiveName() + "``.\n" +
-                                                                        "It seems like you have gotten a comment on one of your suggestions!\n" +
-                                                                        "If you want to check the feedback, [click here](" + msg.getJumpUrl() + ")\n" +
-                                                                        "You received a comment from **" + e.getMember().getEffectiveName() + "** in ``" + e.getGuild().getName() + "``!\n\n" +
-                                                                        "**Comment**:\n" + c.getMessage().getContentRaw()).build()).queue();
-                                                        }
-                                                    }
-                                                }, 90, TimeUnit.SECONDS, () -> {
-                                                    v.delete().queue();
-                                                    msg.getMember().getUser().openPrivateChannel().queue(l -> l.sendMessage("You took to long to send a comment, please re-react to the message!").queue());
-                                                })
+                                            if (workflow == null || !workflow.isOpen()) {
+                                                return;
+                                            }
+
+                                            msg.getChannel().sendMessage(e.getMember().getAsMention() + "\nWhat is your comment?").queue(prompt ->
+                                                avaire.getWorkflowManager().prompt(workflow, WorkflowAction.COMMENT, e.getMember().getIdLong(), prompt, TimeUnit.SECONDS.toMillis(90))
                                             );
                                         }
                                     } //💬
@@ -661,7 +576,7 @@ public class ButtonClickEventAdapter extends EventAdapter {
                                                 .setTimestamp(Instant.now());
 
 
-                                            if (qb.get().size() < 1) {
+                                            if (suggestion == null) {
                                                 mb.setFooter(msg.getEmbeds().get(0).getFooter().getText(), msg.getEmbeds().get(0).getFooter().getIconUrl());
                                             } else {
                                                 mb.requestedBy(m);
@@ -684,6 +599,7 @@ public class ButtonClickEventAdapter extends EventAdapter {
                                             });
 
                                             msg.delete().queue();
+                                            transitionSuggestion(workflow, WorkflowState.DELETED);
                                         }
 
                                     } //👑
@@ -701,6 +617,44 @@ public class ButtonClickEventAdapter extends EventAdapter {
         });
     }
 
+    private void onSuggestionPromptInput(Workflow workflow, MessageReceivedEvent c) {
+        if (!avaire.getWorkflowManager().transition(workflow, WorkflowState.OPEN)) {
+            return;
+        }
+
+        TextChannel channel = avaire.getShardManager().getTextChannelById(workflow.getChannelId());
+        if (channel == null) {
+            return;
+        }
+
+        channel.retrieveMessageById(workflow.getMessageId()).queue(msg -> {
+            msg.editMessageEmbeds(new EmbedBuilder()
+                    .setColor(msg.getEmbeds().get(0).getColor())
+                    .setAuthor("Suggestion for: " + c.getGuild().getName(), null, c.getGuild().getIconUrl())
+                    .setDescription(msg.getEmbeds().get(0).getDescription() + "\n\n" + getRole(c) + " - :speech_balloon: **``" + c.getMember().getEffectiveName() + "``:**\n" + c.getMessage().getContentRaw())
+                    .setTimestamp(msg.getEmbeds().get(0).getTimestamp())
+                    .setFooter(msg.getEmbeds().get(0).getFooter().getText(), msg.getEmbeds().get(0).getFooter().getIconUrl()).build())
+                .queue();
+            c.getMessage().delete().queue();
+
+            for (Member u : c.getGuild().getMembersByEffectiveName(msg.getEmbeds().get(0).getFooter().getText(), true)) {
+                u.getUser().openPrivateChannel().queue(privateChannel -> privateChannel
+                    .sendMessageEmbeds(new EmbedBuilder()
+                        .setDescription("Hello there ``" + u.getEffectiveName() + "``.\n" +
+                            "It seems like you have gotten a comment on one of your suggestions!\n" +
+                            "If you want to check the feedback, [click here](" + msg.getJumpUrl() + ")\n" +
+                            "You received a comment from **" + c.getMember().getEffectiveName() + "** in ``" + c.getGuild().getName() + "``!\n\n" +
+                            "**Comment**:\n" + c.getMessage().getContentRaw()).build()).queue(), RestActionUtil.ignore);
+            }
+        }, RestActionUtil.ignore);
+    }
+
+    private void transitionSuggestion(@Nullable Workflow workflow, WorkflowState state) {
+        if (workflow != null) {
+            avaire.getWorkflowManager().transition(workflow, state);
+        }
+    }
+
     public void onQuizButtonInteractionEvent(ButtonInteractionEvent event) {
         loadDatabasePropertiesIntoMemory(event).thenAccept(databaseEventHolder -> {
             if (databaseEventHolder.getGuildSettings().getEvaluationEvalChannel() == 0) {
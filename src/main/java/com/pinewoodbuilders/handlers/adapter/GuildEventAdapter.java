@@ -78,13 +78,7 @@ public class GuildEventAdapter extends EventAdapter {
 
         boolean isBanned = avaire.getGlobalPunishmentManager().isGlobalBanned(transformer.getMainGroupId(), e.getUser().getId());
         if (isBanned) {
-            List <GlobalBanContainer> unbanCollection = avaire.getGlobalPunishmentManager().getGlobalBans().get(transformer.getMainGroupId()).stream().filter(l -> {
-                if (l.getUserId() != null) {
-                    return l.getUserId().equals(e.getUser().getId());
-                } else {
-                    return false;
-                }
-            }).toList();
+            List <GlobalBanContainer> unbanCollection = avaire.getGlobalPunishmentManager().getGlobalBans(transformer.getMainGroupId(), e.getUser().getId());
 
             e.getGuild().retrieveAuditLogs().queue(items -> {
                 List <AuditLogEntry> logs = items.stream()
@@ -25,7 +25,9 @@ import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.chat.ConsoleColor;
 import com.pinewoodbuilders.contracts.handlers.EventAdapter;
+import com.pinewoodbuilders.database.controllers.GuildSettingsController;
 import com.pinewoodbuilders.metrics.Metrics;
+import com.pinewoodbuilders.statistics.GuildStatistics;
 import com.pinewoodbuilders.utilities.NumberUtil;
 import com.pinewoodbuilders.utilities.RestActionUtil;
 import net.dv8tion.jda.api.EmbedBuilder;
@@ -78,6 +80,8 @@ public class GuildStateEventAdapter extends EventAdapter {
         }
 
         Metrics.guilds.inc();
+        // Loading the guild settings adds the guild back into the main group index.
+        GuildSettingsController.fetchGuildSettingsFromGuild(avaire, event.getGuild());
         //Metrics.geoTracker.labels(event.getGuild().getRegion().getName()).inc();
 
         TextChannel channel = avaire.getShardManager().getTextChannelById(
@@ -95,19 +99,27 @@ public class GuildStateEventAdapter extends EventAdapter {
     }
 
     private void sendGuildJoinMessage(GuildJoinEvent event, TextChannel channel, Member owner) {
-        double guildMembers = event.getGuild().getMembers().stream().filter(member -> !member.getUser().isBot()).count();
-        double guildBots = event.getGuild().getMembers().stream().filter(member -> member.getUser().isBot()).count();
-        double percentage = (guildBots / (guildBots + guildMembers)) * 100;
+        // The statistics for a guild the bot just joined are usually still being built,
+        // in which case only the total amount of members is known for the guild.
+        GuildStatistics statistics = avaire.getGuildStatisticsManager().getStatistics(event.getGuild());
+        String footer = NumberUtil.formatNicely(event.getGuild().getMemberCount()) + " Members";
+        if (statistics != null) {
+            double guildMembers = statistics.getHumans();
+            double guildBots = statistics.getBots();
+            double percentage = (guildBots / (guildBots + guildMembers)) * 100;
+
+            footer = String.format("%s Users, and %s Bots, %s Bots",
+                NumberUtil.formatNicely(guildMembers),
+                NumberUtil.formatNicely(guildBots),
+                NumberUtil.formatNicelyWithDecimals(percentage) + "%"
+            );
+        }
 
         channel.sendMessageEmbeds(
             new EmbedBuilder()
                 .setColor(Color.decode("#66BB6A"))
                 .setTimestamp(Instant.now())
-                .setFooter(String.format("%s Users, and %s Bots, %s Bots",
-                    NumberUtil.formatNicely(guildMembers),
-                    NumberUtil.formatNicely(guildBots),
-                    NumberUtil.formatNicelyWithDecimals(percentage) + "%"
-                ), null)
+                .setFooter(footer, null)
                 .addField("Added", String.format("%s (ID: %s)",
                     event.getGuild().getName(), event.getGuild().getId()
                 ), false)
@@ -119,6 +131,9 @@ public class GuildStateEventAdapter extends EventAdapter {
     }
 
     public void onGuildLeave(GuildLeaveEvent event) {
+        // Forgets the cached settings so they're loaded back into the main group index if the guild is re-joined.
+        GuildSettingsController.forgetCache(event.getGuild().getIdLong());
+        avaire.getRobloxAPIManager().getVerification().getGuildIndex().remove(event.getGuild().getIdLong());
         handleSendGuildLeaveWebhook(event.getGuild());
     }
 
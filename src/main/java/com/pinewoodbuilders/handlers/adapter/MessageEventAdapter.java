@@ -49,6 +49,7 @@ import com.pinewoodbuilders.language.I18n;
 import com.pinewoodbuilders.middleware.MiddlewareStack;
 import com.pinewoodbuilders.middleware.ThrottleMiddleware;
 import com.pinewoodbuilders.moderation.global.automute.MuteRatelimit;
+import com.pinewoodbuilders.moderation.global.filter.InviteResolver;
 import com.pinewoodbuilders.moderation.global.filter.filter.LinkContainer;
 import com.pinewoodbuilders.modlog.local.moderation.Modlog;
 import com.pinewoodbuilders.modlog.local.shared.ModlogAction;
@@ -543,27 +544,35 @@ public class MessageEventAdapter extends EventAdapter {
 
     private void checkPIAInviteFilter(Message message, GlobalSettingsTransformer settings, DatabaseEventHolder databaseEventHolder) {
         for (String i : message.getInvites()) {
-            Invite.resolve(message.getJDA(), i).queue(v -> {
-                List <Guild> g = avaire.getRobloxAPIManager().getVerification().getGuildsByMainGroupId(settings.getMainGroupId());
-
-                if (g.stream().noneMatch(guild -> guild.getId().equals(v.getGuild().getId()))) {
+            InviteResolver.resolve(message.getJDA(), i).thenAccept(v -> {
+                if (v == null) {
                     message.delete().queue();
                     warnUserColor(message, databaseEventHolder.getGuildSettings(), "**AUTOMOD**: Filter was activated!\n**Type**: " + "``INVITE``\n" +
-                        "**Guild**: " + v.getGuild().getName() + "\n" +
-                        "**Invite**: [Click here!](" + v.getUrl() + ")\n" +
-                        "**Inviter**:" + v.getInviter(), new Color(0, 0, 0), message.getChannel());
+                        "**Guild**: " + "INVALID (Xeus is banned from the guild, or cannot check this invite)" + "\n" +
+                        "**Violator**:" + message.getMember().getEffectiveName(), new Color(0, 0, 0), message.getChannel());
                     MuteRatelimit.hit(ThrottleMiddleware.ThrottleType.USER, message.getAuthor().getIdLong(), message);
+                    return;
+                }
+
+                if (v.getGuildId() == 0 || isOfficialGuild(settings.getMainGroupId(), v.getGuildId())) {
+                    return;
                 }
-            }, f -> {
+
                 message.delete().queue();
                 warnUserColor(message, databaseEventHolder.getGuildSettings(), "**AUTOMOD**: Filter was activated!\n**Type**: " + "``INVITE``\n" +
-                    "**Guild**: " + "INVALID (Xeus is banned from the guild, or cannot check this invite)" + "\n" +
-                    "**Violator**:" + message.getMember().getEffectiveName(), new Color(0, 0, 0), message.getChannel());
+                    "**Guild**: " + v.getGuildName() + "\n" +
+                    "**Invite**: [Click here!](" + v.getUrl() + ")\n" +
+                    "**Inviter**:" + v.getInviter(), new Color(0, 0, 0), message.getChannel());
                 MuteRatelimit.hit(ThrottleMiddleware.ThrottleType.USER, message.getAuthor().getIdLong(), message);
             });
         }
     }
 
+    private boolean isOfficialGuild(long mainGroupId, long guildId) {
+        return avaire.getRobloxAPIManager().getVerification().getGuildIndex().contains(mainGroupId, guildId, true)
+            && avaire.getShardManager().getGuildById(guildId) != null;
+    }
+
     private boolean isValidMessage(User author) {
         return !author.isBot() || author.getIdLong() == DiscordConstants.SENITHER_BOT_ID;
     }
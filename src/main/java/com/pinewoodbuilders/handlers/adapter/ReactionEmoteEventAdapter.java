@@ -38,8 +38,13 @@ import com.pinewoodbuilders.database.transformers.ReactionTransformer;
 import com.pinewoodbuilders.factories.MessageFactory;
 import com.pinewoodbuilders.handlers.DatabaseEventHolder;
 import com.pinewoodbuilders.scheduler.tasks.DrainReactionRoleQueueTask;
+import com.pinewoodbuilders.utilities.RestActionUtil;
 import com.pinewoodbuilders.utilities.RoleUtil;
 import com.pinewoodbuilders.utilities.XeusPermissionUtil;
+import com.pinewoodbuilders.workflow.Workflow;
+import com.pinewoodbuilders.workflow.WorkflowAction;
+import com.pinewoodbuilders.workflow.WorkflowState;
+import com.pinewoodbuilders.workflow.WorkflowType;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.entities.*;
@@ -289,13 +294,13 @@ public class ReactionEmoteEventAdapter extends EventAdapter {
                 TextChannel tc = avaire.getShardManager().getTextChannelById(databaseEventHolder.getGuildSettings().getHandbookReportChannel());
                 if (tc != null) {
                     if (e.getChannel().equals(tc)) {
-                        QueryBuilder qb = avaire.getDatabase().newQueryBuilder(Constants.REPORTS_DATABASE_TABLE_NAME).where("pb_server_id", e.getGuild().getId()).andWhere("report_message_id", e.getMessageId());
                         try {
-                            DataRow c = qb.get().get(0);
-
-                            if (qb.get().size() < 1) {
+                            Workflow workflow = avaire.getWorkflowManager().load(WorkflowType.REPORT, e.getGuild().getIdLong(), tc.getIdLong(), e.getMessageIdLong());
+                            if (workflow == null) {
                                 return;
                             }
+
+                            DataRow c = workflow.getData();
                             String username = c.getString("reported_roblox_name");
                             String description = c.getString("report_reason");
                             String evidence = c.getString("report_evidence");
@@ -355,9 +360,12 @@ public class ReactionEmoteEventAdapter extends EventAdapter {
                         }
                     }
 
+                    Workflow workflow = avaire.getWorkflowManager().load(WorkflowType.SUGGESTION, e.getGuild().getIdLong(), e.getChannel().getIdLong(), e.getMessageIdLong());
+                    DataRow suggestion = workflow != null ? workflow.getData() : null;
+
                     String id = null;
-                    if (qb.get().size() > 0) {
-                        id = qb.get().get(0).getString("suggester_discord_id");
+                    if (suggestion != null) {
+                        id = suggestion.getString("suggester_discord_id");
                     }
 
                     Member memberCheck = null;
@@ -404,7 +412,7 @@ public class ReactionEmoteEventAdapter extends EventAdapter {
                                                 .setTimestamp(Instant.now());
 
 
-                                            if (qb.get().size() < 1) {
+                                            if (suggestion == null) {
                                                 mb.setFooter(msg.getEmbeds().get(0).getFooter().getText(), msg.getEmbeds().get(0).getFooter().getIconUrl());
                                             } else {
                                                 mb.requestedBy(m);
@@ -425,6 +433,7 @@ public class ReactionEmoteEventAdapter extends EventAdapter {
                                                 }
                                             });
                                             msg.delete().queue();
+                                            transitionSuggestion(workflow, WorkflowState.DELETED);
                                             return;
                                         }
 
@@ -433,7 +442,7 @@ public class ReactionEmoteEventAdapter extends EventAdapter {
                                             .setDescription(msg.getEmbeds().get(0).getDescription())
                                             .setTimestamp(Instant.now());
 
-                                        if (qb.get().size() < 1) {
+                                        if (suggestion == null) {
                                             mb.setFooter(msg.getEmbeds().get(0).getFooter().getText(), msg.getEmbeds().get(0).getFooter().getIconUrl());
                                         } else {
                                             mb.requestedBy(m);
@@ -450,7 +459,7 @@ public class ReactionEmoteEventAdapter extends EventAdapter {
                                             .setDescription(msg.getEmbeds().get(0).getDescription())
                                             .setTimestamp(Instant.now());
 
-                                        if (qb.get().size() < 1) {
+                                        if (suggestion == null) {
                                             mb.setFooter(msg.getEmbeds().get(0).getFooter().getText(), msg.getEmbeds().get(0).getFooter().getIconUrl());
                                         } else {
                                             mb.requestedBy(m);
@@ -459,6 +468,7 @@ public class ReactionEmoteEventAdapter extends EventAdapter {
                                         msg.editMessageEmbeds(mb.buildEmbed()).setActionRows(Collections.emptyList()).queue();
                                         msg.clearReactions().queue();
                                         qb.delete();
+                                        transitionSuggestion(workflow, WorkflowState.REJECTED);
 
                                     }
                                 }
@@ -480,6 +490,7 @@ public class ReactionEmoteEventAdapter extends EventAdapter {
                                                 .buildEmbed()).setActionRows(Collections.emptyList()).queue();
                                             msg.clearReactions().queue();
                                             qb.delete();
+                                            transitionSuggestion(workflow, WorkflowState.REJECTED);
                                             break;
                                         case "✅":
                                             if (!(isValidReportManager(e, 2))) {
@@ -522,6 +533,7 @@ public class ReactionEmoteEventAdapter extends EventAdapter {
                                             }
 
                                             qb.delete();
+                                            transitionSuggestion(workflow, WorkflowState.APPROVED);
                                             break;
                                         case "\uD83D\uDD04":
                                             if (!(isValidReportManager(e, 2))) {
@@ -561,31 +573,12 @@ public class ReactionEmoteEventAdapter extends EventAdapter {
                                     e.getReaction().removeReaction(e.getUser()).queue();
 
                                     if (isValidReportManager(e, 1)) {
-                                        msg.getChannel().sendMessage(e.getMember().getAsMention() + "\nWhat is your comment?").queue(
-                                            v -> avaire.getWaiter().waitForEvent(MessageReceivedEvent.class, c -> c.getChannel().equals(e.getChannel()) && c.getMember().equals(e.getMember()), c -> {
-                                                v.delete().queue();
-                                                msg.editMessageEmbeds(new EmbedBuilder()
-                                                    .setColor(msg.getEmbeds().get(0).getColor())
-                                                    .setAuthor("Suggestion for: " + e.getGuild().getName(), null, e.getGuild().getIconUrl())
-                                                    .setDescription(msg.getEmbeds().get(0).getDescription() + "\n\n" + getRole(c.getMember()) + " - :speech_balloon: **``" + e.getMember().getEffectiveName() + "``:**\n" + c.getMessage().getContentRaw())
-                                                    .setTimestamp(msg.getEmbeds().get(0).getTimestamp())
-                                                    .setFooter(msg.getEmbeds().get(0).getFooter().getText(), msg.getEmbeds().get(0).getFooter().getIconUrl()).build()).queue();
-                                                c.getMessage().delete().queue();
-                                                if (e.getGuild().getMembersByEffectiveName(msg.getEmbeds().get(0).getFooter().getText(), true).size() > 0) {
-                                                    for (Member u : e.getGuild().getMembersByEffectiveName(msg.getEmbeds().get(0).getFooter().getText(), true)) {
-                                                        u.getUser().openPrivateChannel().complete()
-                                                            .sendMessageEmbeds(new EmbedBuilder()
-                                                                .setDescription("Hello there ``" + u.getEffectiveName() + "``.\n" +
-                                                                    "It seems like you have gotten a comment on one of your suggestions!\n" +
-                                                                    "If you want to check the feedback, [click here](" + msg.getJumpUrl() + ")\n" +
-                                                                    "You received a comment from **" + e.getMember().getEffectiveName() + "** in ``" + e.getGuild().getName() + "``!\n\n" +
-                                                                    "**Comment**:\n" + c.getMessage().getContentRaw()).build()).queue();
-                                                    }
-                                                }
-                                            }, 90, TimeUnit.SECONDS, () -> {
-                                                v.delete().queue();
-                                                msg.getMember().getUser().openPrivateChannel().queue(l -> l.sendMessage("You took to long to send a comment, please re-react to the message!").queue());
-                                            })
+                                        if (workflow == null || !workflow.isOpen()) {
+                                            return;
+                                        }
+
+                                        msg.getChannel().sendMessage(e.getMember().getAsMention() + "\nWhat is your comment?").queue(prompt ->
+                                            avaire.getWorkflowManager().prompt(workflow, WorkflowAction.COMMENT, e.getMember().getIdLong(), prompt, TimeUnit.SECONDS.toMillis(90))
                                         );
                                     }
                                 } //💬
@@ -605,7 +598,7 @@ public class ReactionEmoteEventAdapter extends EventAdapter {
                                             .setTimestamp(Instant.now());
 
 
-                                        if (qb.get().size() < 1) {
+                                        if (suggestion == null) {
                                             mb.setFooter(msg.getEmbeds().get(0).getFooter().getText(), msg.getEmbeds().get(0).getFooter().getIconUrl());
                                         } else {
                                             mb.requestedBy(m);
@@ -626,6 +619,7 @@ public class ReactionEmoteEventAdapter extends EventAdapter {
                                             }
                                         });
                                         msg.delete().queue();
+                                        transitionSuggestion(workflow, WorkflowState.DELETED);
                                     } else {
                                         /*e.getChannel().sendMessage(e.getMember().getAsMention()).embed(MessageFactory.makeEmbeddedMessage(e.getChannel(), new Color(255, 0, 0)).setDescription("This guild does not have a community suggestion channel set.").setFooter("This message will self-destruct in 30s").buildEmbed()).queue(v -> {
                                             v.delete().queueAfter(30, TimeUnit.SECONDS);
@@ -683,109 +677,133 @@ public class ReactionEmoteEventAdapter extends EventAdapter {
         if (transformer.getRewardRequestChannelId() == 0) return;
         if (event.getChannel().getIdLong() != transformer.getRewardRequestChannelId()) return;
 
-        QueryBuilder queryBuilder = avaire.getDatabase().newQueryBuilder(REWARD_REQUESTS_TABLE_NAME).where("message_id", event.getMessageIdLong());
         try {
+            Workflow workflow = avaire.getWorkflowManager().load(WorkflowType.REWARD_REQUEST, event.getGuild().getIdLong(), event.getChannel().getIdLong(), event.getMessageIdLong());
+            if (workflow == null) return;
 
-            Collection rewards = queryBuilder.get();
-            if (rewards.size() < 1) return;
-            DataRow c = rewards.get(0);
-
-            long requester = c.getLong("discord_id");
+            long requester = workflow.getData().getLong("discord_id");
 
             EmojiUnion emote = event.getEmoji();
-            event.getChannel().retrieveMessageById(event.getMessageId()).
-                queue(m -> {
-                    if (m.getEmbeds().size() < 1) return;
-                    if (requester == event.getMember().getUser().getIdLong()) {
+            if (requester == event.getMember().getUser().getIdLong()) {
+                event.getChannel().sendMessageEmbeds(new EmbedBuilder()
+                    .setDescription("You can't vote for your own reward!")
+                    .setColor(new Color(255, 0, 0))
+                    .build()).queue(p -> p.delete().queueAfter(10, TimeUnit.SECONDS));
+                return;
+            }
+
+            switch (emote.getName()) {
+                case "✅":
+                    if (!isValidReportManager(event.getMember(), event.getGuild(), 2)) {
                         event.getChannel().sendMessageEmbeds(new EmbedBuilder()
-                            .setDescription("You can't vote for your own reward!")
-                            .setColor(new Color(255, 0, 0))
+                            .setDescription("You do not have permission to use this action.")
+                            .setColor(Color.RED)
                             .build()).queue(p -> p.delete().queueAfter(10, TimeUnit.SECONDS));
                         return;
                     }
-                    MessageEmbed embed = m.getEmbeds().get(0);
-                    EmbedBuilder builder = new EmbedBuilder();
-                    builder.copyFrom(embed);
-
-                    switch (emote.getName()) {
-                        case "✅":
-                            if (!isValidReportManager(event.getMember(), event.getGuild(), 2)) {
-                                event.getChannel().sendMessageEmbeds(new EmbedBuilder()
-                                    .setDescription("You do not have permission to use this action.")
-                                    .setColor(Color.RED)
-                                    .build()).queue(p -> p.delete().queueAfter(10, TimeUnit.SECONDS));
-                                return;
-                            }
-                            changeStatus(m, event.getChannel(), event.getMember(), builder, embed, event.getMember().getAsMention() + "\nYou want to approve this reward request. What reward are you giving to this user?", true);
-                            return;
-                        case "❎", "❌":
-                            if (!isValidReportManager(event.getMember(), event.getGuild(), 2)) {
-                                event.getChannel().sendMessageEmbeds(new EmbedBuilder()
-                                    .setDescription("You do not have permission to use this action.")
-                                    .setColor(Color.RED)
-                                    .build()).queue(p -> p.delete().queueAfter(10, TimeUnit.SECONDS));
-                                return;
-                            }
-                            changeStatus(m, event.getChannel(), event.getMember(), builder, embed, event.getMember().getAsMention() + "\nYou want to deny this reward request. What is the reason to reject it?", false);
-                            return;
-                        case "trash":
-                            if (!(isValidReportManager(event, 1))) {
-                                event.getMember().getUser().openPrivateChannel().queue(v -> v.sendMessageEmbeds(new EmbedBuilder().setDescription("Sorry, but you need to be the manager of points in your division to remove a report.").build()).queue());
-                                event.getReaction().removeReaction(event.getUser()).queueAfter(1, TimeUnit.SECONDS);
-                                return;
-                            }
-                            m.delete().queue();
-
-                            try {
-                                queryBuilder.delete();
-                            } catch (SQLException e) {
-                                e.printStackTrace();
-                            }
-                        case "\uD83D\uDD04":
-                            if (!(isValidReportManager(event, 1))) {
-                                event.getMember().getUser().openPrivateChannel().queue(v -> v.sendMessageEmbeds(new EmbedBuilder().setDescription("Sorry, but you need to be the manager of points in your division to refresh the emoji's.").build()).queue());
-                                event.getReaction().removeReaction(event.getUser()).queueAfter(1, TimeUnit.SECONDS);
-                                return;
-                            }
-                            m.clearReactions().queue();
-                            m.addReaction(Emoji.fromFormatted("\uD83D\uDC4D")).queue();
-                            m.addReaction(Emoji.fromFormatted("\uD83D\uDC4E")).queue();
-                            m.addReaction(Emoji.fromFormatted("✅")).queue();
-                            m.addReaction(Emoji.fromFormatted("❌")).queue();
-                            m.addReaction(Emoji.fromFormatted("🚫")).queue();
-                            m.addReaction(Emoji.fromFormatted("\uD83D\uDD04")).queue();
+                    changeStatus(workflow, event.getChannel(), event.getMember(), event.getMember().getAsMention() + "\nYou want to approve this reward request. What reward are you giving to this user?", WorkflowAction.APPROVE);
+                    return;
+                case "❎", "❌":
+                    if (!isValidReportManager(event.getMember(), event.getGuild(), 2)) {
+                        event.getChannel().sendMessageEmbeds(new EmbedBuilder()
+                            .setDescription("You do not have permission to use this action.")
+                            .setColor(Color.RED)
+                            .build()).queue(p -> p.delete().queueAfter(10, TimeUnit.SECONDS));
+                        return;
+                    }
+                    changeStatus(workflow, event.getChannel(), event.getMember(), event.getMember().getAsMention() + "\nYou want to deny this reward request. What is the reason to reject it?", WorkflowAction.REJECT);
+                    return;
+                case "trash":
+                    if (!(isValidReportManager(event, 1))) {
+                        event.getMember().getUser().openPrivateChannel().queue(v -> v.sendMessageEmbeds(new EmbedBuilder().setDescription("Sorry, but you need to be the manager of points in your division to remove a report.").build()).queue());
+                        event.getReaction().removeReaction(event.getUser()).queueAfter(1, TimeUnit.SECONDS);
+                        return;
+                    }
+                    avaire.getWorkflowManager().transition(workflow, WorkflowState.DELETED);
+                    event.getChannel().deleteMessageById(event.getMessageIdLong()).queue();
+
+                    try {
+                        avaire.getDatabase().newQueryBuilder(REWARD_REQUESTS_TABLE_NAME).where("message_id", event.getMessageIdLong())
+                            .delete();
+                    } catch (SQLException e) {
+                        e.printStackTrace();
+                    }
+                    return;
+                case "\uD83D\uDD04":
+                    if (!(isValidReportManager(event, 1))) {
+                        event.getMember().getUser().openPrivateChannel().queue(v -> v.sendMessageEmbeds(new EmbedBuilder().setDescription("Sorry, but you need to be the manager of points in your division to refresh the emoji's.").build()).queue());
+                        event.getReaction().removeReaction(event.getUser()).queueAfter(1, TimeUnit.SECONDS);
+                        return;
                     }
-                });
+                    event.getChannel().retrieveMessageById(event.getMessageId()).queue(m -> {
+                        m.clearReactions().queue();
+                        m.addReaction(Emoji.fromFormatted("\uD83D\uDC4D")).queue();
+                        m.addReaction(Emoji.fromFormatted("\uD83D\uDC4E")).queue();
+                        m.addReaction(Emoji.fromFormatted("✅")).queue();
+                        m.addReaction(Emoji.fromFormatted("❌")).queue();
+                        m.addReaction(Emoji.fromFormatted("🚫")).queue();
+                        m.addReaction(Emoji.fromFormatted("\uD83D\uDD04")).queue();
+                    });
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
 
-    private void changeStatus(Message message, MessageChannel channel, Member member, EmbedBuilder builder, MessageEmbed embed, String response, boolean isApproved) {
-        channel.sendMessage(response).queue(v ->
-            avaire.getWaiter().waitForEvent(MessageReceivedEvent.class, c -> c.getChannel().equals(channel) && c.getMember().equals(member), c -> {
-                message.editMessageEmbeds(builder
+    private void changeStatus(Workflow workflow, MessageChannel channel, Member member, String response, WorkflowAction action) {
+        if (!workflow.isOpen()) {
+            return;
+        }
+
+        channel.sendMessage(response).queue(prompt ->
+            avaire.getWorkflowManager().prompt(workflow, action, member.getIdLong(), prompt, TimeUnit.SECONDS.toMillis(90))
+        );
+    }
+
+    /**
+     * Handles the approval or denial reason for a reward request that
+     * is waiting for input from the author of the given message.
+     *
+     * @param workflow The reward request workflow that is waiting for the input.
+     * @param c        The message received event holding the input.
+     */
+    public void onWorkflowPromptInput(Workflow workflow, MessageReceivedEvent c) {
+        boolean isApproved = workflow.getPromptAction() == WorkflowAction.APPROVE;
+        if (!avaire.getWorkflowManager().transition(workflow, isApproved ? WorkflowState.APPROVED : WorkflowState.REJECTED)) {
+            return;
+        }
+
+        c.getMessage().delete().queue();
+
+        TextChannel channel = avaire.getShardManager().getTextChannelById(workflow.getChannelId());
+        if (channel != null) {
+            channel.retrieveMessageById(workflow.getMessageId()).queue(message -> {
+                if (message.getEmbeds().size() < 1) return;
+
+                MessageEmbed embed = message.getEmbeds().get(0);
+                message.editMessageEmbeds(new EmbedBuilder(embed)
                     .setDescription(embed.getDescription() + "\n" + (isApproved ? "**Approved for**:" : "**Reason for denial**:") + "\n" + c.getMessage().getContentRaw())
                     .setTitle(embed.getTitle() + " | " + (isApproved ? "Approved" : "Denied") + " by " + c.getMember().getEffectiveName())
                     .setTimestamp(Instant.now())
                     .setColor(isApproved ? new Color(0, 255, 0) : new Color(255, 0, 0))
                     .build()).queue();
-
-                v.delete().queue();
-                c.getMessage().delete().queue();
                 message.clearReactions().queue();
+            }, RestActionUtil.ignore);
+        }
 
-                try {
-                    avaire.getDatabase().newQueryBuilder(REWARD_REQUESTS_TABLE_NAME).where("message_id", message.getIdLong())
-                        .delete();
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
+        try {
+            avaire.getDatabase().newQueryBuilder(REWARD_REQUESTS_TABLE_NAME).where("message_id", workflow.getMessageId())
+                .useAsync(true)
+                .delete();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
 
-            }, 90, TimeUnit.SECONDS, () -> {
-                v.delete().queue();
-                message.getMember().getUser().openPrivateChannel().submit().thenAccept(privateChannel -> privateChannel.sendMessage("You took to long to send a reaction, please re-react to the message!").queue());
-            }));
+    private void transitionSuggestion(@Nullable Workflow workflow, WorkflowState state) {
+        if (workflow != null) {
+            avaire.getWorkflowManager().transition(workflow, state);
+        }
     }
 
     private boolean isValidReportManager(MessageReactionAddEvent e, Integer i) {
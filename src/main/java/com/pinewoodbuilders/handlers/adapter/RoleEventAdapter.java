@@ -125,7 +125,7 @@ public class RoleEventAdapter extends EventAdapter {
         }
 
         try {
-            transformer.getLevelRoles().remove(key);
+            transformer.removeLevelRole(key);
             avaire.getDatabase().newQueryBuilder(Constants.GUILD_TABLE_NAME)
                 .useAsync(true)
                 .where("id", event.getGuild().getId())
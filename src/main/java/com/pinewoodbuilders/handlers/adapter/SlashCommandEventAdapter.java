@@ -8,6 +8,7 @@ import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.collection.DataRow;
 import com.pinewoodbuilders.factories.MessageFactory;
 import com.pinewoodbuilders.requests.service.user.rank.RobloxUserGroupRankService;
+import com.pinewoodbuilders.statistics.GuildStatistics;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
@@ -99,13 +100,12 @@ public class SlashCommandEventAdapter extends EventAdapter {
         return false;
     }
     private String getMembersWithRole(Role role, Guild guild) {
-        int membersWithRole = 0;
-        for (Member m : guild.getMembers()) {
-            if (m.getRoles().contains(role)) {
-                membersWithRole++;
-            }
+        GuildStatistics statistics = avaire.getGuildStatisticsManager().getStatistics(guild);
+        if (statistics == null) {
+            return "Still being counted, try again later";
         }
 
+        int membersWithRole = statistics.getMembersWithRole(role.getIdLong());
         if (membersWithRole > 0) {
             return String.valueOf(membersWithRole);
         }
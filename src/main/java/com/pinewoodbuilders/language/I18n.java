@@ -25,15 +25,22 @@ import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.config.YamlConfiguration;
 import com.pinewoodbuilders.database.controllers.GuildController;
 import com.pinewoodbuilders.database.transformers.GuildTransformer;
+import com.pinewoodbuilders.utilities.CacheUtil;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import net.dv8tion.jda.api.entities.Guild;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.text.MessageFormat;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 public class I18n {
 
@@ -41,6 +48,18 @@ public class I18n {
     private static final LanguageContainer defaultLanguage = new LanguageContainer(Language.EN_US);
     private static final Logger log = LoggerFactory.getLogger(I18n.class);
 
+    private static final Map<String, LanguageContainer> languagesByCode = new HashMap<>();
+    private static final Map<Language, LanguageContainer> languagesByType = new EnumMap<>(Language.class);
+    private static final Map<String, MessageTemplate> languageTemplates = new HashMap<>();
+
+    private static final Cache<Long, LanguageContainer> guildLanguages = CacheBuilder.newBuilder()
+        .expireAfterWrite(5, TimeUnit.MINUTES)
+        .build();
+
+    private static final Cache<String, MessageTemplate> templates = CacheBuilder.newBuilder()
+        .maximumSize(5000)
+        .build();
+
     private static Xeus avaire;
 
     /**
@@ -62,6 +81,16 @@ public class I18n {
             languages.add(new LanguageContainer(language));
         }
 
+        languagesByCode.clear();
+        languagesByType.clear();
+        languageTemplates.clear();
+        for (LanguageContainer locale : languages) {
+            languagesByCode.put(locale.getLanguage().getCode().toLowerCase(Locale.ROOT), locale);
+            languagesByType.put(locale.getLanguage(), locale);
+            languageTemplates.putAll(locale.getTemplates());
+        }
+        guildLanguages.invalidateAll();
+
         log.info("Loaded " + languages.size() + " languages: " + languages);
     }
 
@@ -116,7 +145,12 @@ public class I18n {
         if (string == null) {
             return null;
         }
-        return get(guild).getString(string, defaultLanguage.getConfig().getString(string, null));
+
+        String message = getLocale(guild).getString(string);
+        if (message != null) {
+            return message;
+        }
+        return defaultLanguage.getString(string);
     }
 
     /**
@@ -152,19 +186,35 @@ public class I18n {
             return defaultLanguage;
         }
 
+        LanguageContainer locale = guildLanguages.getIfPresent(guild.getIdLong());
+        if (locale != null) {
+            return locale;
+        }
+
         try {
             GuildTransformer transformer = GuildController.fetchGuild(avaire, guild);
 
-            if (transformer != null) {
-                return getLocale(transformer);
-            }
-            return defaultLanguage;
+            locale = transformer == null ? defaultLanguage : getLocale(transformer);
+            guildLanguages.put(guild.getIdLong(), locale);
+
+            return locale;
         } catch (Exception e) {
             log.error("Error when reading entity", e);
         }
         return defaultLanguage;
     }
 
+    /**
+     * Forgets the cached language container for the guild with the given ID, this
+     * should be called whenever the language for a guild is changed, so the
+     * next lookup for the guild will load the newly selected language.
+     *
+     * @param guildId The ID of the guild that the language should be forgotten for.
+     */
+    public static void forgetLocale(long guildId) {
+        guildLanguages.invalidate(guildId);
+    }
+
     /**
      * Gets the {@link LanguageContainer language container} for the given guild
      * transformer, the {@link LanguageContainer language container} can be
@@ -179,16 +229,11 @@ public class I18n {
      */
     @Nonnull
     public static LanguageContainer getLocale(@Nonnull GuildTransformer transformer) {
-        try {
-            for (LanguageContainer locale : languages) {
-                if (locale.getLanguage().getCode().equalsIgnoreCase(transformer.getLocale())) {
-                    return locale;
-                }
-            }
-        } catch (Exception e) {
-            log.error("Error when reading entity", e);
+        String code = transformer.getLocale();
+        if (code == null) {
+            return defaultLanguage;
         }
-        return defaultLanguage;
+        return languagesByCode.getOrDefault(code.toLowerCase(Locale.ROOT), defaultLanguage);
     }
 
     /**
@@ -201,12 +246,10 @@ public class I18n {
      */
     @Nonnull
     public static LanguageContainer getLocale(Language language) {
-        for (LanguageContainer locale : languages) {
-            if (locale.getLanguage().equals(language)) {
-                return locale;
-            }
+        if (language == null) {
+            return defaultLanguage;
         }
-        return defaultLanguage;
+        return languagesByType.getOrDefault(language, defaultLanguage);
     }
 
     /**
@@ -218,6 +261,9 @@ public class I18n {
      * Every argument given can be replaced multiple times per string, the placement of the
      * placeholders(<code>{0}</code>, <code>{1}</code>, etc) doesn't matter either, giving
      * developers free rein to format and structure their messages however they want to.
+     * <p>
+     * Messages are compiled into {@link MessageTemplate message templates} the first time
+     * they're formatted, language strings are compiled when the languages are loaded.
      *
      * @param message The message that should be formatted with the given arguments.
      * @param args    The arguments that should be replaced in the given message.
@@ -234,10 +280,16 @@ public class I18n {
             arguments[num++] = arg.toString();
         }
 
-        try {
-            return MessageFormat.format(
-                message.replace("'", "''"), arguments
+        MessageTemplate template = getTemplate(message);
+        if (!template.isValid()) {
+            log.error("An exception was thrown while formatting \"{}\", error: {}",
+                message, template.getError()
             );
+            return message;
+        }
+
+        try {
+            return template.format(arguments);
         } catch (IllegalArgumentException ex) {
             log.error(
                 "An exception was thrown while formatting \"{}\", error: {}",
@@ -246,4 +298,21 @@ public class I18n {
             return message;
         }
     }
+
+    /**
+     * Gets the compiled message template for the given message, language strings are
+     * compiled when the languages are loaded, any other messages are compiled and
+     * cached the first time they're used.
+     *
+     * @param message The message that the template should be returned for.
+     * @return The compiled message template for the given message.
+     */
+    @Nonnull
+    public static MessageTemplate getTemplate(@Nonnull String message) {
+        MessageTemplate template = languageTemplates.get(message);
+        if (template != null) {
+            return template;
+        }
+        return (MessageTemplate) CacheUtil.getUncheckedUnwrapped(templates, message, () -> MessageTemplate.compile(message));
+    }
 }
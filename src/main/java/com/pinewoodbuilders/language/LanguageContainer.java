@@ -22,14 +22,21 @@
 package com.pinewoodbuilders.language;
 
 import com.pinewoodbuilders.config.YamlConfiguration;
+import com.pinewoodbuilders.contracts.config.ConfigurationSection;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.InputStreamReader;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 public class LanguageContainer {
 
     private final Language language;
     private final YamlConfiguration config;
+    private final Map<String, String> strings;
+    private final Map<String, MessageTemplate> templates;
 
     LanguageContainer(@Nonnull Language language) {
         this.language = language;
@@ -37,6 +44,22 @@ public class LanguageContainer {
         config = YamlConfiguration.loadConfiguration(new InputStreamReader(
             getClass().getClassLoader().getResourceAsStream(("langs/" + language.getCode() + ".yml"))
         ));
+
+        Map<String, String> strings = new HashMap<>();
+        Map<String, MessageTemplate> templates = new HashMap<>();
+        for (String key : config.getKeys(true)) {
+            Object value = config.get(key);
+            if (value == null || value instanceof ConfigurationSection) {
+                continue;
+            }
+
+            String string = value.toString();
+            strings.put(key, string);
+            templates.put(string, MessageTemplate.compile(string));
+        }
+
+        this.strings = Collections.unmodifiableMap(strings);
+        this.templates = Collections.unmodifiableMap(templates);
     }
 
     /**
@@ -60,6 +83,59 @@ public class LanguageContainer {
         return config;
     }
 
+    /**
+     * Gets the language string with the given key, the full key
+     * path is used, so nested strings are separated by a dot.
+     *
+     * @param key The full key path for the language string.
+     * @return The language string, or <code>NULL</code> if no string exists with the given key.
+     */
+    @Nullable
+    public String getString(@Nonnull String key) {
+        return strings.get(key);
+    }
+
+    /**
+     * Gets the language string with the given key, or the given default
+     * value if no string exists in the language with the given key.
+     *
+     * @param key The full key path for the language string.
+     * @param def The default value that should be returned if the string doesn't exist.
+     * @return The language string, or the default value if no string exists with the given key.
+     */
+    public String getString(@Nonnull String key, String def) {
+        return strings.getOrDefault(key, def);
+    }
+
+    /**
+     * Checks if the language has a string with the given key.
+     *
+     * @param key The full key path for the language string.
+     * @return <code>True</code> if the language has a string with the given key, <code>False</code> otherwise.
+     */
+    public boolean has(@Nonnull String key) {
+        return strings.containsKey(key);
+    }
+
+    /**
+     * Gets all the language strings, mapped by their full key paths.
+     *
+     * @return An unmodifiable map of all the language strings.
+     */
+    public Map<String, String> getStrings() {
+        return strings;
+    }
+
+    /**
+     * Gets the pre-compiled message templates for the language strings,
+     * mapped by the language string they were compiled from.
+     *
+     * @return An unmodifiable map of the compiled language strings.
+     */
+    Map<String, MessageTemplate> getTemplates() {
+        return templates;
+    }
+
     @Override
     public String toString() {
         return language.getNativeName();
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.language;
+
+import javax.annotation.Nonnull;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A pre-compiled language message, the message is split into its literal text
+ * and <code>{index}</code> placeholders once, so formatting the message only
+ * has to join the parts together with the arguments.
+ * <p>
+ * Templates produce the same output as {@link MessageFormat} would for
+ * the message with all single quotes escaped, templates are immutable
+ * and can safely be shared between threads.
+ */
+public final class MessageTemplate {
+
+    /**
+     * The max argument index supported by {@link MessageFormat}.
+     */
+    private static final int MAX_ARGUMENT_INDEX = 10000;
+
+    private final String message;
+    private final String[] literals;
+    private final int[] arguments;
+    private final Type type;
+    private final String error;
+
+    private MessageTemplate(String message, String[] literals, int[] arguments, Type type, String error) {
+        this.message = message;
+        this.literals = literals;
+        this.arguments = arguments;
+        this.type = type;
+        this.error = error;
+    }
+
+    /**
+     * Compiles the given message into a message template.
+     *
+     * @param message The message that should be compiled.
+     * @return The compiled message template.
+     */
+    @Nonnull
+    public static MessageTemplate compile(@Nonnull String message) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> arguments = new ArrayList<>();
+
+        StringBuilder literal = new StringBuilder();
+        int length = message.length();
+        for (int i = 0; i < length; i++) {
+            char character = message.charAt(i);
+            if (character != '{') {
+                literal.append(character);
+                continue;
+            }
+
+            int end = i + 1;
+            while (end < length && message.charAt(end) != '}' && message.charAt(end) != ',') {
+                end++;
+            }
+
+            if (end >= length) {
+                return new MessageTemplate(message, null, null, Type.INVALID, "Unmatched braces in the pattern.");
+            }
+
+            if (message.charAt(end) == ',') {
+                // Typed arguments like {0,number} are rare enough that they're
+                // just passed on to the message format every time.
+                return new MessageTemplate(message, null, null, Type.MESSAGE_FORMAT, null);
+            }
+
+            int argument = parseArgumentIndex(message, i + 1, end);
+            if (argument < 0) {
+                return new MessageTemplate(message, null, null, Type.INVALID,
+                    "can't parse argument number: " + message.substring(i + 1, end)
+                );
+            }
+
+            literals.add(literal.toString());
+            arguments.add(argument);
+            literal.setLength(0);
+            i = end;
+        }
+        literals.add(literal.toString());
+
+        if (arguments.isEmpty()) {
+            return new MessageTemplate(message, null, null, Type.LITERAL, null);
+        }
+
+        int[] argumentIndexes = new int[arguments.size()];
+        for (int i = 0; i < argumentIndexes.length; i++) {
+            argumentIndexes[i] = arguments.get(i);
+        }
+
+        return new MessageTemplate(message, literals.toArray(new String[0]), argumentIndexes, Type.COMPILED, null);
+    }
+
+    private static int parseArgumentIndex(String message, int start, int end) {
+        if (start == end) {
+            return -1;
+        }
+
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char character = message.charAt(i);
+            if (character < '0' || character > '9') {
+                return -1;
+            }
+            value = Math.min(value * 10 + (character - '0'), MAX_ARGUMENT_INDEX);
+        }
+        return value < MAX_ARGUMENT_INDEX ? value : -1;
+    }
+
+    /**
+     * Gets the original message the template was compiled from.
+     *
+     * @return The original message.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Checks if the template was compiled successfully, templates that are
+     * invalid will always return the original message when formatted.
+     *
+     * @return <code>True</code> if the template is valid, <code>False</code> otherwise.
+     */
+    public boolean isValid() {
+        return type != Type.INVALID;
+    }
+
+    /**
+     * Gets the reason the template failed to compile.
+     *
+     * @return The reason the template is invalid, or <code>NULL</code> if the template is valid.
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Formats the template with the given arguments, placeholders with an
+     * index that is out of bounds for the arguments are left as-is.
+     *
+     * @param arguments The arguments that should be replaced in the message.
+     * @return The formatted message.
+     * @throws IllegalArgumentException If the message uses a typed argument, and one of the
+     *                                  given arguments doesn't match the argument type.
+     */
+    public String format(Object[] arguments) {
+        switch (type) {
+            case LITERAL:
+            case INVALID:
+                return message;
+
+            case MESSAGE_FORMAT:
+                return MessageFormat.format(message.replace("'", "''"), arguments);
+
+            default:
+                StringBuilder builder = new StringBuilder(message.length() + 16 * this.arguments.length);
+                for (int i = 0; i < this.arguments.length; i++) {
+                    builder.append(literals[i]);
+
+                    int index = this.arguments[i];
+                    if (index >= arguments.length) {
+                        builder.append('{').append(index).append('}');
+                    } else {
+                        builder.append(arguments[index]);
+                    }
+                }
+                return builder.append(literals[literals.length - 1]).toString();
+        }
+    }
+
+    private enum Type {
+        LITERAL, COMPILED, MESSAGE_FORMAT, INVALID
+    }
+}
@@ -0,0 +1,408 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.level;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks when each member was last rewarded experience in each guild, so members
+ * can only be rewarded once per cooldown, the cooldowns are stored in a table of
+ * primitive user IDs and timestamps for each guild, so checking a message is a
+ * couple of array probes and a CAS, without any allocations or locks.
+ * <p>
+ * The tables are insert-only, cooldowns that has expired are left in the
+ * table until the table either fills up, or is {@link #compact() compacted},
+ * at which point the table is replaced by a table with only the members
+ * that are still on cooldown.
+ * <p>
+ * Members that are rewarded while their guild table is being replaced can
+ * have their cooldown lost, which at worst lets them be rewarded once more
+ * within the same cooldown.
+ */
+public class ExperienceCooldown {
+
+    private final long cooldown;
+    private final LongSupplier clock;
+
+    private volatile GuildIndex guilds = new GuildIndex(GuildIndex.MIN_CAPACITY);
+
+    /**
+     * Creates a new experience cooldown, using the given clock to get the current time.
+     *
+     * @param cooldown The length of the cooldown.
+     * @param unit     The time unit of the cooldown.
+     * @param clock    The clock the current time in milliseconds should be read from.
+     */
+    public ExperienceCooldown(long cooldown, TimeUnit unit, LongSupplier clock) {
+        this.cooldown = Math.max(1, unit.toMillis(cooldown));
+        this.clock = clock;
+    }
+
+    /**
+     * Attempts to start the cooldown for the given member, the cooldown is only
+     * started if the member is not already on cooldown in the given guild.
+     *
+     * @param guildId The ID of the guild the member should be rewarded in.
+     * @param userId  The ID of the user that should be rewarded.
+     * @return <code>True</code> if the cooldown was started and the member should be
+     * rewarded, <code>False</code> if the member is already on cooldown.
+     */
+    public boolean tryAcquire(long guildId, long userId) {
+        long now = clock.getAsLong();
+
+        GuildSlot slot = getSlot(guildId);
+        CooldownTable table = slot.table;
+        while (true) {
+            int result = table.tryAcquire(userId, now, cooldown);
+            if (result != CooldownTable.FULL) {
+                return result == CooldownTable.ACQUIRED;
+            }
+            table = rebuild(slot, table, now);
+        }
+    }
+
+    /**
+     * Checks if the given member is on cooldown in the given guild.
+     *
+     * @param guildId The ID of the guild the member should be checked in.
+     * @param userId  The ID of the user that should be checked.
+     * @return <code>True</code> if the member is on cooldown, <code>False</code> otherwise.
+     */
+    public boolean isOnCooldown(long guildId, long userId) {
+        GuildSlot slot = guilds.get(guildId);
+        return slot != null && slot.table.isOnCooldown(userId, clock.getAsLong(), cooldown);
+    }
+
+    /**
+     * Replaces every guild table with a table only holding the members that are still
+     * on cooldown, guilds without any members on cooldown are removed entirely.
+     */
+    public void compact() {
+        long now = clock.getAsLong();
+
+        boolean hasEmptyGuilds = false;
+        GuildIndex guilds = this.guilds;
+        for (GuildSlot slot : guilds.slots) {
+            if (slot != null && rebuild(slot, slot.table, now).size() == 0) {
+                hasEmptyGuilds = true;
+            }
+        }
+
+        if (hasEmptyGuilds) {
+            synchronized (this) {
+                this.guilds = this.guilds.withoutEmptyGuilds();
+            }
+        }
+    }
+
+    /**
+     * Gets the amount of members that are tracked across all the guilds, this
+     * includes members whose cooldown has expired since the last compaction.
+     *
+     * @return The amount of tracked members.
+     */
+    public int size() {
+        int size = 0;
+        for (GuildSlot slot : guilds.slots) {
+            if (slot != null) {
+                size += slot.table.size();
+            }
+        }
+        return size;
+    }
+
+    private GuildSlot getSlot(long guildId) {
+        GuildSlot slot = guilds.get(guildId);
+        if (slot != null) {
+            return slot;
+        }
+
+        synchronized (this) {
+            slot = guilds.get(guildId);
+            if (slot == null) {
+                slot = new GuildSlot(guildId);
+                guilds = guilds.with(slot);
+            }
+            return slot;
+        }
+    }
+
+    private CooldownTable rebuild(GuildSlot slot, CooldownTable table, long now) {
+        synchronized (slot) {
+            if (slot.table != table) {
+                return slot.table;
+            }
+
+            int active = 0;
+            for (int i = 0; i <= table.mask; i++) {
+                if (table.keys.get(i) != 0 && isActive(table.values.get(i), now)) {
+                    active++;
+                }
+            }
+
+            CooldownTable rebuilt = new CooldownTable(CooldownTable.capacityFor(active));
+            for (int i = 0; i <= table.mask; i++) {
+                long key = table.keys.get(i);
+                long lastRewarded = table.values.get(i);
+                if (key != 0 && isActive(lastRewarded, now)) {
+                    rebuilt.put(key, lastRewarded);
+                }
+            }
+
+            slot.table = rebuilt;
+            return rebuilt;
+        }
+    }
+
+    private boolean isActive(long lastRewarded, long now) {
+        return lastRewarded != 0 && now - lastRewarded < cooldown;
+    }
+
+    static int mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    private static final class GuildSlot {
+
+        private final long guildId;
+        private volatile CooldownTable table = new CooldownTable(CooldownTable.MIN_CAPACITY);
+
+        GuildSlot(long guildId) {
+            this.guildId = guildId;
+        }
+    }
+
+    /**
+     * An immutable open addressing index of the guild slots, new guilds are added
+     * by copying the index, since guilds are added far less often than messages
+     * are checked, so lookups never have to lock or deal with a resize.
+     */
+    private static final class GuildIndex {
+
+        static final int MIN_CAPACITY = 16;
+
+        private final long[] keys;
+        private final GuildSlot[] slots;
+        private final int mask;
+        private final int size;
+
+        GuildIndex(int capacity) {
+            this.keys = new long[capacity];
+            this.slots = new GuildSlot[capacity];
+            this.mask = capacity - 1;
+            this.size = 0;
+        }
+
+        private GuildIndex(int capacity, GuildSlot[] source) {
+            this.keys = new long[capacity];
+            this.slots = new GuildSlot[capacity];
+            this.mask = capacity - 1;
+
+            int size = 0;
+            for (GuildSlot slot : source) {
+                if (slot != null) {
+                    int index = mix(slot.guildId) & mask;
+                    while (slots[index] != null) {
+                        index = (index + 1) & mask;
+                    }
+                    keys[index] = slot.guildId;
+                    slots[index] = slot;
+                    size++;
+                }
+            }
+            this.size = size;
+        }
+
+        GuildSlot get(long guildId) {
+            int index = mix(guildId) & mask;
+            for (int probes = 0; probes <= mask; probes++, index = (index + 1) & mask) {
+                GuildSlot slot = slots[index];
+                if (slot == null) {
+                    return null;
+                }
+
+                if (keys[index] == guildId) {
+                    return slot;
+                }
+            }
+            return null;
+        }
+
+        GuildIndex with(GuildSlot slot) {
+            GuildSlot[] merged = Arrays.copyOf(slots, slots.length + 1);
+            merged[slots.length] = slot;
+
+            return new GuildIndex(capacityFor(size + 1), merged);
+        }
+
+        GuildIndex withoutEmptyGuilds() {
+            GuildSlot[] source = slots.clone();
+            int size = 0;
+            for (int i = 0; i < source.length; i++) {
+                if (source[i] != null && source[i].table.size() == 0) {
+                    source[i] = null;
+                }
+                if (source[i] != null) {
+                    size++;
+                }
+            }
+            return new GuildIndex(capacityFor(size), source);
+        }
+
+        private static int capacityFor(int guilds) {
+            int capacity = MIN_CAPACITY;
+            while (capacity / 2 < guilds) {
+                capacity <<= 1;
+            }
+            return capacity;
+        }
+    }
+
+    /**
+     * An insert-only linear probing table of user IDs and the time they were last
+     * rewarded, slots are claimed by CAS'ing the user ID into an empty slot, once
+     * the table is full it has to be rebuilt before any new members can be added.
+     */
+    private static final class CooldownTable {
+
+        static final int ACQUIRED = 0;
+        static final int ON_COOLDOWN = 1;
+        static final int FULL = 2;
+
+        static final int MIN_CAPACITY = 1 << 4;
+        static final int MAX_CAPACITY = 1 << 30;
+
+        /**
+         * Zero marks an empty slot, so the zero key is stored as this key instead.
+         */
+        private static final long ZERO_KEY = Long.MIN_VALUE;
+
+        private final AtomicLongArray keys;
+        private final AtomicLongArray values;
+        private final int mask;
+        private final int threshold;
+        private final AtomicInteger size = new AtomicInteger();
+
+        CooldownTable(int capacity) {
+            this.keys = new AtomicLongArray(capacity);
+            this.values = new AtomicLongArray(capacity);
+            this.mask = capacity - 1;
+            this.threshold = capacity / 4 * 3;
+        }
+
+        static int capacityFor(int keys) {
+            int capacity = MIN_CAPACITY;
+            while (capacity < MAX_CAPACITY && capacity / 4 * 3 < keys * 2) {
+                capacity <<= 1;
+            }
+            return capacity;
+        }
+
+        int tryAcquire(long key, long now, long cooldown) {
+            key = key == 0 ? ZERO_KEY : key;
+
+            int index = mix(key) & mask;
+            for (int probes = 0; probes <= mask; ) {
+                long slot = keys.get(index);
+                if (slot == 0) {
+                    if (size.get() >= threshold) {
+                        return FULL;
+                    }
+
+                    if (!keys.compareAndSet(index, 0, key)) {
+                        // Another member claimed the slot first, so the
+                        // slot is checked again without moving on.
+                        continue;
+                    }
+                    size.incrementAndGet();
+                    slot = key;
+                }
+
+                if (slot == key) {
+                    return acquire(index, now, cooldown);
+                }
+
+                probes++;
+                index = (index + 1) & mask;
+            }
+            return FULL;
+        }
+
+        boolean isOnCooldown(long key, long now, long cooldown) {
+            key = key == 0 ? ZERO_KEY : key;
+
+            int index = mix(key) & mask;
+            for (int probes = 0; probes <= mask; probes++, index = (index + 1) & mask) {
+                long slot = keys.get(index);
+                if (slot == key) {
+                    long lastRewarded = values.get(index);
+                    return lastRewarded != 0 && now - lastRewarded < cooldown;
+                }
+
+                if (slot == 0) {
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        int size() {
+            return size.get();
+        }
+
+        private int acquire(int index, long now, long cooldown) {
+            while (true) {
+                // A slot that was just claimed has no timestamp yet, so racing messages from the
+                // same member all try to CAS the timestamp in, and only one of them wins.
+                long lastRewarded = values.get(index);
+                if (lastRewarded != 0 && now - lastRewarded < cooldown) {
+                    return ON_COOLDOWN;
+                }
+
+                if (values.compareAndSet(index, lastRewarded, now)) {
+                    return ACQUIRED;
+                }
+            }
+        }
+
+        /**
+         * Copies the given key into the table, only used while rebuilding
+         * a table, before the table is visible to other threads.
+         */
+        private void put(long key, long lastRewarded) {
+            int index = mix(key) & mask;
+            while (keys.get(index) != 0) {
+                index = (index + 1) & mask;
+            }
+            keys.set(index, key);
+            values.set(index, lastRewarded);
+            size.incrementAndGet();
+        }
+    }
+}
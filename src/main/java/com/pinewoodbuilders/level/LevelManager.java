@@ -30,12 +30,9 @@ import com.pinewoodbuilders.database.transformers.GuildTransformer;
 import com.pinewoodbuilders.database.transformers.PlayerTransformer;
 import com.pinewoodbuilders.factories.MessageFactory;
 import com.pinewoodbuilders.language.I18n;
-import com.pinewoodbuilders.utilities.CacheUtil;
 import com.pinewoodbuilders.utilities.NumberUtil;
 import com.pinewoodbuilders.utilities.RandomUtil;
 import com.pinewoodbuilders.utilities.RoleUtil;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.entities.*;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
@@ -43,9 +40,7 @@ import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -54,17 +49,14 @@ import java.util.stream.Collectors;
 public class LevelManager {
 
     /**
-     * When a user sends a message, they are checked against the cache to see if they
-     * can be rewarded experience again, if they do have an entry in the cache,
-     * their message is ignored for the level manager and no experience will
-     * be rewarded to them for that message.
+     * When a user sends a message, they are checked against the cooldowns to see if
+     * they can be rewarded experience again, if they are still on cooldown, their
+     * message is ignored for the level manager and no experience will be
+     * rewarded to them for that message.
      * <p>
-     * The cache will automatically delete keys after they have existed for 60 seconds.
+     * The cooldown for each user in each guild lasts for 60 seconds.
      */
-    public static final Cache<Object, Object> cache = CacheBuilder.newBuilder()
-        .recordStats()
-        .expireAfterWrite(60, TimeUnit.SECONDS)
-        .build();
+    private static final ExperienceCooldown cooldowns = new ExperienceCooldown(60, TimeUnit.SECONDS, System::currentTimeMillis);
 
     /**
      * The experience queue, users who have been rewarded experience will
@@ -224,18 +216,13 @@ public class LevelManager {
             return;
         }
 
-        if (!guild.getLevelExemptRoles().isEmpty()) {
-            for (Role role : event.getMember().getRoles()) {
-                if (guild.getLevelExemptRoles().contains(role.getIdLong())) {
-                    return;
-                }
-            }
+        if (guild.getLevelRoleLadder().isExempt(event.getMember().getRoles())) {
+            return;
         }
 
-        CacheUtil.getUncheckedUnwrapped(cache, asKey(event), () -> {
+        if (cooldowns.tryAcquire(event.getGuild().getIdLong(), event.getAuthor().getIdLong())) {
             giveExperience(event.getMessage(), event.getMessage().getAuthor(), guild, player);
-            return 0;
-        });
+        }
     }
 
     /**
@@ -311,9 +298,11 @@ public class LevelManager {
 
         if (getLevelFromExperience(guild, player.getExperience() + zxp) > lvl) {
             long newLevel = getLevelFromExperience(guild, player.getExperience() + zxp);
+            LevelRoleLadder ladder = guild.getLevelRoleLadder();
 
             if (guild.isLevelAlerts()) {
-                boolean hasLevelupRole = !guild.getLevelRoles().isEmpty() && guild.getLevelRoles().containsKey((int) newLevel);
+                long levelRoleId = ladder.getRoleAtLevel(newLevel);
+                boolean hasLevelupRole = levelRoleId != 0;
 
                 PlaceholderMessage alertMessage = MessageFactory.makeEmbeddedMessage(getLevelUpChannel(message, guild))
                     .setColor(MessageType.SUCCESS.getColor())
@@ -322,7 +311,7 @@ public class LevelManager {
                     .set("level", NumberUtil.formatNicely(newLevel));
 
                 if (hasLevelupRole) {
-                    Role levelRole = message.getGuild().getRoleById(guild.getLevelRoles().get((int) newLevel));
+                    Role levelRole = message.getGuild().getRoleById(levelRoleId);
 
                     if (levelRole == null) {
                         alertMessage.setDescription(loadRandomLevelupMessage(guild, false));
@@ -334,58 +323,74 @@ public class LevelManager {
                 alertMessage.queue();
             }
 
-            if (!guild.getLevelRoles().isEmpty()) {
-                if (!message.getGuild().getSelfMember().hasPermission(Permission.MANAGE_ROLES)) {
-                    return;
-                }
-
-                List<Role> rolesToAdd = getRoleRewards(message, guild, newLevel);
-                if (rolesToAdd.isEmpty()) {
-                    return;
+            if (!ladder.isEmpty() && message.getMember() != null) {
+                RoleChanges changes = getRoleChanges(message.getGuild(), message.getMember(), ladder, newLevel);
+                if (changes != null) {
+                    message.getGuild().modifyMemberRoles(message.getMember(), changes.getRolesToAdd(), changes.getRolesToRemove()).queue();
                 }
+            }
+        }
+    }
 
-                Role highestRole = RoleUtil.getHighestFrom(message.getGuild().getSelfMember());
-                if (highestRole == null || !RoleUtil.isRoleHierarchyHigher(rolesToAdd, highestRole)) {
-                    return;
-                }
+    /**
+     * Gets the role changes needed to give the given member the level roles they
+     * should have at the given level, if the level roles uses a hierarchy, any
+     * level roles for other levels are removed from the member as well.
+     *
+     * @param guild  The guild the member belongs to.
+     * @param member The member the role changes should be calculated for.
+     * @param ladder The compiled level roles for the guild.
+     * @param level  The level of the member.
+     * @return The role changes for the member, or <code>NULL</code> if the member already has the
+     * right roles, or the bot is not allowed to modify the roles that should be changed.
+     */
+    @Nullable
+    public RoleChanges getRoleChanges(@Nonnull Guild guild, @Nonnull Member member, @Nonnull LevelRoleLadder ladder, long level) {
+        if (ladder.isEmpty() || !guild.getSelfMember().hasPermission(Permission.MANAGE_ROLES)) {
+            return null;
+        }
 
-                List<Role> rolesToRemove = null;
-                if (guild.isLevelHierarchy()) {
-                    List<Integer> levelKeys = new ArrayList<>(guild.getLevelRoles().keySet());
-                    Collections.sort(levelKeys);
-                    Collections.reverse(levelKeys);
-
-                    rolesToRemove = new ArrayList<>(getRoleRewards(message, guild, Long.MAX_VALUE));
-                    highestRole = null;
-
-                    levelKeys:
-                    for (int roleLevel : levelKeys) {
-                        String roleId = guild.getLevelRoles().get(roleLevel);
-                        if (roleId == null) {
-                            // This should never be hit... Ever, better to be safe than sorry tho.
-                            continue;
-                        }
-
-                        for (Role role : rolesToAdd) {
-                            if (role.getId().equals(roleId)) {
-                                highestRole = role;
-                                break levelKeys;
-                            }
-                        }
-                    }
+        long[] rewards = ladder.getRewards(level, roleId -> guild.getRoleById(roleId) != null);
 
-                    if (highestRole == null) {
-                        return;
-                    }
+        List<Role> rolesToAdd = new ArrayList<>(rewards.length);
+        for (long roleId : rewards) {
+            Role role = guild.getRoleById(roleId);
+            if (role != null && !member.getRoles().contains(role)) {
+                rolesToAdd.add(role);
+            }
+        }
 
-                    rolesToAdd.clear();
-                    rolesToAdd.add(highestRole);
-                    rolesToRemove.remove(highestRole);
+        List<Role> rolesToRemove = new ArrayList<>();
+        if (ladder.isHierarchy()) {
+            for (Role role : member.getRoles()) {
+                if (ladder.isLevelRole(role.getIdLong()) && (rewards.length == 0 || rewards[0] != role.getIdLong())) {
+                    rolesToRemove.add(role);
                 }
-
-                message.getGuild().modifyMemberRoles(message.getMember(), rolesToAdd, rolesToRemove).queue();
             }
         }
+
+        if (rolesToAdd.isEmpty() && rolesToRemove.isEmpty()) {
+            return null;
+        }
+
+        Role highestRole = RoleUtil.getHighestFrom(guild.getSelfMember());
+        if (highestRole == null
+            || !RoleUtil.isRoleHierarchyHigher(rolesToAdd, highestRole)
+            || !RoleUtil.isRoleHierarchyHigher(rolesToRemove, highestRole)) {
+            return null;
+        }
+
+        return new RoleChanges(rolesToAdd, rolesToRemove);
+    }
+
+    /**
+     * Gets the experience cooldowns, any user who has been rewarded experience
+     * within the last minute is on cooldown for the guild they were rewarded in.
+     *
+     * @return The experience cooldowns.
+     */
+    public ExperienceCooldown getExperienceCooldown() {
+        return cooldowns;
     }
 
     /**
@@ -430,26 +435,9 @@ public class LevelManager {
         return channel == null ? message.getChannel().asGuildMessageChannel() : channel;
     }
 
-    private List<Role> getRoleRewards(Message message, GuildTransformer guild, long level) {
-        List<Role> roles = new ArrayList<>();
-        for (Map.Entry<Integer, String> entry : guild.getLevelRoles().entrySet()) {
-            if (entry.getKey() <= level) {
-                Role role = message.getGuild().getRoleById(entry.getValue());
-                if (role != null) {
-                    roles.add(role);
-                }
-            }
-        }
-        return roles;
-    }
-
     private String loadRandomLevelupMessage(GuildTransformer guild, boolean hasLevelupRole) {
         return (String) RandomUtil.pickRandom(
             I18n.getLocale(guild).getConfig().getStringList(hasLevelupRole ? "levelupRoleMessages" : "levelupMessages")
         );
     }
-
-    private Object asKey(MessageReceivedEvent event) {
-        return event.getGuild().getId() + ":" + event.getAuthor().getId();
-    }
 }
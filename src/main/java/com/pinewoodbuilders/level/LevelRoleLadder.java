@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.level;
+
+import net.dv8tion.jda.api.entities.Role;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.LongPredicate;
+
+/**
+ * A compiled version of the level roles and level exempt roles for a guild, the
+ * level roles are stored in a navigable map of levels to role IDs, so finding
+ * the role rewards for a level is a single floor lookup, instead of sorting
+ * and comparing the role rewards every time a member levels up.
+ * <p>
+ * The exempt roles are stored as a sorted array of role IDs, together with a 64-bit
+ * mask of the roles hashed into a bit each, so members without any exempt roles
+ * can almost always be ruled out without searching the array at all.
+ * <p>
+ * Ladders are immutable and compiled by the {@link com.pinewoodbuilders.database.transformers.GuildTransformer
+ * guild transformer}, which compiles a new ladder whenever the level roles are changed.
+ */
+public final class LevelRoleLadder {
+
+    /**
+     * A ladder without any level roles or exempt roles.
+     */
+    public static final LevelRoleLadder EMPTY = new LevelRoleLadder(
+        Collections.emptyNavigableMap(), new long[0], new long[0], 0L, false
+    );
+
+    private final NavigableMap<Integer, Long> roles;
+    private final long[] roleIds;
+    private final long[] exemptRoleIds;
+    private final long exemptMask;
+    private final boolean hierarchy;
+
+    private LevelRoleLadder(NavigableMap<Integer, Long> roles, long[] roleIds, long[] exemptRoleIds, long exemptMask, boolean hierarchy) {
+        this.roles = roles;
+        this.roleIds = roleIds;
+        this.exemptRoleIds = exemptRoleIds;
+        this.exemptMask = exemptMask;
+        this.hierarchy = hierarchy;
+    }
+
+    /**
+     * Compiles the given level roles and exempt roles into a ladder, level roles
+     * with a role ID that isn't a valid snowflake are left out of the ladder.
+     *
+     * @param levelRoles  The level roles, mapped by the level they're rewarded at.
+     * @param exemptRoles The IDs of the roles that are exempt from receiving experience.
+     * @param hierarchy   Whether members should only keep the role for their highest level.
+     * @return The compiled ladder.
+     */
+    @Nonnull
+    public static LevelRoleLadder compile(@Nonnull Map<Integer, String> levelRoles, @Nonnull Set<Long> exemptRoles, boolean hierarchy) {
+        if (levelRoles.isEmpty() && exemptRoles.isEmpty() && !hierarchy) {
+            return EMPTY;
+        }
+
+        TreeMap<Integer, Long> roles = new TreeMap<>();
+        for (Map.Entry<Integer, String> entry : levelRoles.entrySet()) {
+            try {
+                roles.put(entry.getKey(), Long.parseUnsignedLong(entry.getValue()));
+            } catch (NumberFormatException ignored) {
+                //
+            }
+        }
+
+        long[] roleIds = roles.values().stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+
+        long[] exemptRoleIds = new long[exemptRoles.size()];
+        long exemptMask = 0L;
+
+        int index = 0;
+        for (long roleId : exemptRoles) {
+            exemptRoleIds[index++] = roleId;
+            exemptMask |= bit(roleId);
+        }
+        Arrays.sort(exemptRoleIds);
+
+        return new LevelRoleLadder(Collections.unmodifiableNavigableMap(roles), roleIds, exemptRoleIds, exemptMask, hierarchy);
+    }
+
+    /**
+     * Checks if the ladder has any level roles.
+     *
+     * @return <code>True</code> if there are no level roles, <code>False</code> otherwise.
+     */
+    public boolean isEmpty() {
+        return roles.isEmpty();
+    }
+
+    /**
+     * Checks if members should only keep the role for their highest level.
+     *
+     * @return <code>True</code> if the level roles uses a hierarchy, <code>False</code> otherwise.
+     */
+    public boolean isHierarchy() {
+        return hierarchy;
+    }
+
+    /**
+     * Gets the level roles, mapped by the level they're rewarded at.
+     *
+     * @return The level roles, mapped by their level.
+     */
+    public NavigableMap<Integer, Long> getRoles() {
+        return roles;
+    }
+
+    /**
+     * Gets the ID of the role that is rewarded at exactly the given level.
+     *
+     * @param level The level the role should be returned for.
+     * @return The ID of the role for the level, or <code>0</code> if no role is rewarded at the level.
+     */
+    public long getRoleAtLevel(long level) {
+        if (level > Integer.MAX_VALUE || level < Integer.MIN_VALUE) {
+            return 0L;
+        }
+
+        Long roleId = roles.get((int) level);
+        return roleId == null ? 0L : roleId;
+    }
+
+    /**
+     * Checks if the given role is rewarded at any level in the ladder.
+     *
+     * @param roleId The ID of the role that should be checked.
+     * @return <code>True</code> if the role is a level role, <code>False</code> otherwise.
+     */
+    public boolean isLevelRole(long roleId) {
+        return Arrays.binarySearch(roleIds, roleId) >= 0;
+    }
+
+    /**
+     * Gets the IDs of the roles a member at the given level should have, if the ladder uses
+     * a hierarchy this is only the role for the highest level at or below the given level,
+     * otherwise it's every role at or below the given level.
+     *
+     * @param level  The level of the member.
+     * @param exists The predicate used to check if a role still exists, roles that no
+     *               longer exists are skipped and never returned as a reward.
+     * @return The IDs of the roles the member should have.
+     */
+    public long[] getRewards(long level, @Nonnull LongPredicate exists) {
+        if (roles.isEmpty() || level < roles.firstKey()) {
+            return new long[0];
+        }
+
+        NavigableMap<Integer, Long> earned = roles.headMap((int) Math.min(level, Integer.MAX_VALUE), true);
+        if (hierarchy) {
+            for (Long roleId : earned.descendingMap().values()) {
+                if (exists.test(roleId)) {
+                    return new long[]{roleId};
+                }
+            }
+            return new long[0];
+        }
+
+        return earned.values().stream()
+            .mapToLong(Long::longValue)
+            .filter(exists)
+            .distinct()
+            .toArray();
+    }
+
+    /**
+     * Checks if any of the given roles are exempt from receiving experience.
+     *
+     * @param memberRoles The roles that should be checked.
+     * @return <code>True</code> if any of the roles are exempt, <code>False</code> otherwise.
+     */
+    public boolean isExempt(@Nonnull List<Role> memberRoles) {
+        if (exemptMask == 0L) {
+            return false;
+        }
+
+        for (Role role : memberRoles) {
+            long roleId = role.getIdLong();
+            if ((exemptMask & bit(roleId)) != 0 && Arrays.binarySearch(exemptRoleIds, roleId) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long bit(long roleId) {
+        // Snowflakes share most of their high bits, so the bit is picked
+        // from the low bits that changes between every snowflake.
+        return 1L << ((roleId ^ (roleId >>> 22)) & 63);
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.level;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.pinewoodbuilders.Constants;
+import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.chat.MessageType;
+import com.pinewoodbuilders.database.collection.Collection;
+import com.pinewoodbuilders.database.collection.DataRow;
+import com.pinewoodbuilders.database.transformers.GuildTransformer;
+import com.pinewoodbuilders.factories.MessageFactory;
+import com.pinewoodbuilders.ratelimit.SlidingWindowRateLimiter;
+import com.pinewoodbuilders.utilities.NumberUtil;
+import com.pinewoodbuilders.utilities.RestActionUtil;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.utils.concurrent.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Reconciles the level roles for every player in a guild, the players are
+ * streamed from the database a page at a time, and each member only has their
+ * roles modified if they're missing a level role, or has a level role they
+ * should no longer have, so members that are already in sync cost nothing.
+ * <p>
+ * Role changes are applied one at a time at a bounded rate for each guild, and
+ * the progress is reported by editing the given message as the players are
+ * checked, only a single reconciliation can run for any guild at a time.
+ */
+public class LevelRoleReconciler implements Runnable {
+
+    /**
+     * The amount of players loaded from the database for each page.
+     */
+    static final int pageSize = 100;
+
+    /**
+     * The minimum amount of time in milliseconds between progress message edits.
+     */
+    static final long reportInterval = 5000;
+
+    /**
+     * The maximum amount of time in seconds to wait for the uncached members of a page to be loaded.
+     */
+    static final long memberRequestTimeout = 30;
+
+    private static final Logger log = LoggerFactory.getLogger(LevelRoleReconciler.class);
+
+    /**
+     * Discord only allows a few member updates per guild every few seconds, so the
+     * limiter keeps the reconciliation from hogging the rate limit for the guild.
+     */
+    private static final SlidingWindowRateLimiter limiter = SlidingWindowRateLimiter.of(
+        "level-role-reconcile", 5, 5, TimeUnit.SECONDS
+    );
+
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(
+        new ThreadFactoryBuilder().setNameFormat("avaire-level-reconcile-%d").build()
+    );
+
+    private static final Set<Long> running = ConcurrentHashMap.newKeySet();
+
+    private final Xeus avaire;
+    private final Guild guild;
+    private final GuildTransformer transformer;
+    private final Message message;
+
+    private int checked = 0;
+    private int changed = 0;
+    private int missing = 0;
+    private int failed = 0;
+    private long reportedAt = 0;
+
+    private LevelRoleReconciler(Xeus avaire, Guild guild, GuildTransformer transformer, Message message) {
+        this.avaire = avaire;
+        this.guild = guild;
+        this.transformer = transformer;
+        this.message = message;
+    }
+
+    /**
+     * Starts reconciling the level roles for the given guild in the background.
+     *
+     * @param avaire      The Xeus application class instance.
+     * @param guild       The guild the level roles should be reconciled for.
+     * @param transformer The guild transformer for the guild.
+     * @param message     The message the progress should be reported in.
+     * @return <code>True</code> if the reconciliation was started, <code>False</code>
+     * if the guild is already being reconciled.
+     */
+    public static boolean start(Xeus avaire, Guild guild, GuildTransformer transformer, Message message) {
+        if (!running.add(guild.getIdLong())) {
+            return false;
+        }
+
+        executor.submit(new LevelRoleReconciler(avaire, guild, transformer, message));
+        return true;
+    }
+
+    /**
+     * Checks if the level roles for the given guild are currently being reconciled.
+     *
+     * @param guildId The ID of the guild that should be checked.
+     * @return <code>True</code> if the guild is being reconciled, <code>False</code> otherwise.
+     */
+    public static boolean isRunning(long guildId) {
+        return running.contains(guildId);
+    }
+
+    @Override
+    public void run() {
+        try {
+            reconcile();
+            report(true, null);
+        } catch (Exception e) {
+            log.error("Failed to reconcile the level roles for guild {}: {}", guild.getId(), e.getMessage(), e);
+            report(true, e.getMessage());
+        } finally {
+            running.remove(guild.getIdLong());
+        }
+    }
+
+    private void reconcile() throws Exception {
+        LevelManager levelManager = avaire.getLevelManager();
+        LevelRoleLadder ladder = transformer.getLevelRoleLadder();
+        long zeroExperience = levelManager.getExperienceFromLevel(transformer, 0) - 100;
+
+        long lastUserId = 0;
+        while (true) {
+            // Players are paged by their user ID instead of an offset, so each page
+            // is a range scan, no matter how far into the players the page is.
+            Collection players = avaire.getDatabase().newQueryBuilder(Constants.PLAYER_EXPERIENCE_TABLE_NAME)
+                .select("user_id", "experience")
+                .where("guild_id", guild.getId())
+                .andWhere("active", 1)
+                .andWhere("user_id", ">", lastUserId)
+                .orderBy("user_id")
+                .take(pageSize)
+                .get();
+
+            if (players.isEmpty()) {
+                return;
+            }
+
+            Map<Long, Long> levels = new HashMap<>();
+            for (DataRow player : players) {
+                lastUserId = player.getLong("user_id");
+                levels.put(lastUserId, levelManager.getLevelFromExperience(
+                    transformer, player.getLong("experience") + zeroExperience
+                ));
+            }
+
+            List<Member> members = loadMembers(levels);
+
+            for (Member member : members) {
+                RoleChanges changes = levelManager.getRoleChanges(guild, member, ladder, levels.get(member.getIdLong()));
+                checked++;
+                if (changes == null) {
+                    continue;
+                }
+
+                while (limiter.isLimited(guild.getIdLong())) {
+                    Thread.sleep(Math.max(50, limiter.getMillisUntilNextWindow()));
+                }
+                limiter.hit(guild.getIdLong());
+
+                try {
+                    guild.modifyMemberRoles(member, changes.getRolesToAdd(), changes.getRolesToRemove()).complete();
+                    changed++;
+                } catch (Exception e) {
+                    log.debug("Failed to reconcile the level roles for {} in {}: {}",
+                        member.getId(), guild.getId(), e.getMessage()
+                    );
+                    failed++;
+                }
+            }
+
+            report(false, null);
+
+            if (players.size() < pageSize) {
+                return;
+            }
+        }
+    }
+
+    private List<Member> loadMembers(Map<Long, Long> levels) throws Exception {
+        List<Member> members = new ArrayList<>(levels.size());
+        List<Long> uncached = new ArrayList<>();
+
+        for (long userId : levels.keySet()) {
+            Member member = guild.getMemberById(userId);
+            if (member != null) {
+                members.add(member);
+            } else {
+                uncached.add(userId);
+            }
+        }
+
+        if (uncached.isEmpty()) {
+            return members;
+        }
+
+        // Members that are not cached are requested through the gateway in bulk,
+        // players that have left the guild are simply not returned.
+        CompletableFuture<List<Member>> future = new CompletableFuture<>();
+        Task<List<Member>> request = guild.retrieveMembersByIds(uncached.stream().mapToLong(Long::longValue).toArray())
+            .onSuccess(future::complete)
+            .onError(future::completeExceptionally);
+
+        try {
+            List<Member> retrieved = future.get(memberRequestTimeout, TimeUnit.SECONDS);
+            missing += uncached.size() - retrieved.size();
+            members.addAll(retrieved);
+        } catch (TimeoutException e) {
+            // The uncached members are skipped so one stuck member request
+            // doesn't stall the reconciliation for every other guild.
+            request.cancel();
+            failed += uncached.size();
+
+            log.debug("Timed out loading {} members for reconciling the level roles in {}, skipping them",
+                uncached.size(), guild.getId()
+            );
+        }
+        return members;
+    }
+
+    private void report(boolean finished, String error) {
+        long now = System.currentTimeMillis();
+        if (!finished && now - reportedAt < reportInterval) {
+            return;
+        }
+        reportedAt = now;
+
+        StringBuilder description = new StringBuilder(finished
+            ? "Finished reconciling the level roles for the server."
+            : "Reconciling the level roles for the server, this may take a while..."
+        ).append("\n\n")
+            .append("**Checked:** ").append(NumberUtil.formatNicely(checked)).append("\n")
+            .append("**Updated:** ").append(NumberUtil.formatNicely(changed)).append("\n")
+            .append("**Failed:** ").append(NumberUtil.formatNicely(failed)).append("\n")
+            .append("**No longer in the server:** ").append(NumberUtil.formatNicely(missing));
+
+        if (error != null) {
+            description.append("\n\nThe reconciliation was stopped early: ").append(error);
+        }
+
+        message.editMessageEmbeds(MessageFactory.createEmbeddedBuilder()
+            .setColor((!finished ? MessageType.INFO : error == null ? MessageType.SUCCESS : MessageType.ERROR).getColor())
+            .setDescription(description.toString())
+            .build()
+        ).queue(null, RestActionUtil.ignore);
+    }
+}
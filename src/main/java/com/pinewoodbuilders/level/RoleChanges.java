@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.level;
+
+import net.dv8tion.jda.api.entities.Role;
+
+import java.util.List;
+
+public class RoleChanges {
+
+    private final List<Role> rolesToAdd;
+    private final List<Role> rolesToRemove;
+
+    RoleChanges(List<Role> rolesToAdd, List<Role> rolesToRemove) {
+        this.rolesToAdd = rolesToAdd;
+        this.rolesToRemove = rolesToRemove;
+    }
+
+    /**
+     * The level roles the member is missing.
+     *
+     * @return The roles that should be added to the member.
+     */
+    public List<Role> getRolesToAdd() {
+        return rolesToAdd;
+    }
+
+    /**
+     * The level roles the member should no longer have.
+     *
+     * @return The roles that should be removed from the member.
+     */
+    public List<Role> getRolesToRemove() {
+        return rolesToRemove;
+    }
+}
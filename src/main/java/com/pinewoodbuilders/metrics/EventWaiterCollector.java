@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.metrics;
+
+import com.pinewoodbuilders.utilities.EventWaiter;
+import io.prometheus.client.Collector;
+import io.prometheus.client.CounterMetricFamily;
+import io.prometheus.client.GaugeMetricFamily;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exposes the active waiting events for each event type, and the amount of
+ * conditions tested against the events dispatched to the {@link EventWaiter},
+ * the evaluated conditions divided by the dispatched events gives the average
+ * amount of conditions that has to be tested for every event.
+ */
+public class EventWaiterCollector extends Collector {
+
+    private final EventWaiter waiter;
+
+    EventWaiterCollector(EventWaiter waiter) {
+        this.waiter = waiter;
+    }
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        GaugeMetricFamily active = new GaugeMetricFamily("avaire_event_waiters_active",
+            "Amount of active waiting events for each event type", Collections.singletonList("type")
+        );
+
+        for (Map.Entry<Class<?>, Integer> entry : waiter.getActiveWaitersByType().entrySet()) {
+            active.addMetric(Collections.singletonList(entry.getKey().getSimpleName()), entry.getValue());
+        }
+
+        return Arrays.asList(active,
+            new CounterMetricFamily("avaire_event_waiter_dispatched_events",
+                "Amount of events that has been tested against waiting events", waiter.getDispatchedEvents()
+            ),
+            new CounterMetricFamily("avaire_event_waiter_evaluated_conditions",
+                "Amount of waiting event conditions tested against dispatched events", waiter.getEvaluatedConditions()
+            )
+        );
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.metrics;
+
+import com.pinewoodbuilders.requests.fetch.FetchProvider;
+import io.prometheus.client.Collector;
+import io.prometheus.client.CounterMetricFamily;
+import io.prometheus.client.GaugeMetricFamily;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Exposes the cache hits, coalesced fetches, misses, rejected fetches, and cached
+ * keys for every registered {@link FetchProvider fetch provider}, labeled by
+ * the provider name.
+ */
+public class FetchProviderCollector extends Collector {
+
+    private static final List<String> labelNames = Collections.singletonList("provider");
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        CounterMetricFamily hits = new CounterMetricFamily("avaire_fetch_cache_hits",
+            "Amount of fetches served from the cache of each fetch provider", labelNames
+        );
+        CounterMetricFamily coalesced = new CounterMetricFamily("avaire_fetch_coalesced",
+            "Amount of fetches that joined a fetch for the same key that was already in-flight", labelNames
+        );
+        CounterMetricFamily misses = new CounterMetricFamily("avaire_fetch_misses",
+            "Amount of fetches that had to be sent to the external API", labelNames
+        );
+        CounterMetricFamily rejected = new CounterMetricFamily("avaire_fetch_rejected",
+            "Amount of fetches that were rejected because the provider was too busy", labelNames
+        );
+        GaugeMetricFamily keys = new GaugeMetricFamily("avaire_fetch_cached_keys",
+            "Amount of keys cached by each fetch provider", labelNames
+        );
+
+        for (FetchProvider<?> provider : FetchProvider.getProviders()) {
+            List<String> labels = Collections.singletonList(provider.getName());
+
+            hits.addMetric(labels, provider.getHits());
+            coalesced.addMetric(labels, provider.getCoalesced());
+            misses.addMetric(labels, provider.getMisses());
+            rejected.addMetric(labels, provider.getRejected());
+            keys.addMetric(labels, provider.size());
+        }
+
+        return Arrays.asList(hits, coalesced, misses, rejected, keys);
+    }
+}
@@ -23,7 +23,6 @@ package com.pinewoodbuilders.metrics;
 
 import ch.qos.logback.classic.LoggerContext;
 import com.pinewoodbuilders.Xeus;
-import com.pinewoodbuilders.blacklist.bot.Ratelimit;
 import com.pinewoodbuilders.commands.Category;
 import com.pinewoodbuilders.commands.administration.MuteRoleCommand;
 import com.pinewoodbuilders.commands.utility.GlobalLeaderboardCommand;
@@ -32,9 +31,9 @@ import com.pinewoodbuilders.commands.utility.RankCommand;
 import com.pinewoodbuilders.contracts.middleware.Middleware;
 import com.pinewoodbuilders.database.controllers.*;
 import com.pinewoodbuilders.handlers.adapter.JDAStateEventAdapter;
-import com.pinewoodbuilders.level.LevelManager;
 import com.pinewoodbuilders.metrics.routes.GetMetrics;
-import com.pinewoodbuilders.middleware.ThrottleMiddleware;
+import com.pinewoodbuilders.moderation.global.filter.InviteResolver;
+import com.pinewoodbuilders.servlet.limits.RouteLimits;
 import io.prometheus.client.Counter;
 import io.prometheus.client.Gauge;
 import io.prometheus.client.Histogram;
@@ -109,6 +108,12 @@ public class Metrics {
         .labelNames("shard")
         .register();
 
+    public static final Gauge startupDuration = Gauge.build()
+        .name("avaire_startup_component_duration_seconds")
+        .help("The amount of seconds it took to load each startup component")
+        .labelNames("component")
+        .register();
+
     // Commands
 
     public static final Counter commandsRatelimited = Counter.build()
@@ -174,6 +179,27 @@ public class Metrics {
         .labelNames("type")
         .register();
 
+    // Web servlet requests
+
+    public static final Counter servletRequests = Counter.build()
+        .name("avaire_servlet_requests_total")
+        .help("Total requests handled by the web servlet, by route and response status")
+        .labelNames("method", "route", "status")
+        .register();
+
+    public static final Histogram servletRequestLatency = Histogram.build()
+        .name("avaire_servlet_request_duration_seconds")
+        .help("Web servlet request handling time, by route")
+        .labelNames("method", "route")
+        .buckets(.001, .0025, .005, .01, .025, .05, .1, .25, .5, 1, 2.5)
+        .register();
+
+    public static final Counter servletRequestsShed = Counter.build()
+        .name("avaire_servlet_requests_shed_total")
+        .help("Total requests shed by the web servlet route limits, by route and reason")
+        .labelNames("route", "reason")
+        .register();
+
     // Vote statistics
 
     public static final Counter dblVotes = Counter.build()
@@ -195,6 +221,18 @@ public class Metrics {
         .labelNames("type")
         .register();
 
+    // Levels
+
+    public static final Gauge levelCooldowns = Gauge.build()
+        .name("avaire_level_cooldowns_current")
+        .help("The amount of users tracked by the experience cooldowns, updated once every minute")
+        .register();
+
+    public static final Gauge residentMembers = Gauge.build()
+        .name("avaire_resident_members_current")
+        .help("The amount of active members kept in the bounded member cache, updated once every minute")
+        .register();
+
     // ################################################################################
     // ##                           Method Stuff
     // ################################################################################
@@ -222,20 +260,24 @@ public class Metrics {
         Metrics.initializeEventMetrics();
 
         CacheMetricsCollector cacheMetrics = new CacheMetricsCollector().register();
-        cacheMetrics.addCache("levels", LevelManager.cache);
         cacheMetrics.addCache("guilds", GuildController.cache);
         cacheMetrics.addCache("players", PlayerController.cache);
         cacheMetrics.addCache("purchases", PurchaseController.cache);
         cacheMetrics.addCache("categoryPrefixes", Category.cache);
         cacheMetrics.addCache("reaction-roles", ReactionController.cache);
-        cacheMetrics.addCache("throttleCommands", ThrottleMiddleware.cache);
         cacheMetrics.addCache("middlewareThrottleMessages", Middleware.messageCache);
+        cacheMetrics.addCache("invites", InviteResolver.cache);
+        cacheMetrics.addCache("unresolvedInvites", InviteResolver.unresolvedCache);
         cacheMetrics.addCache("autorole", JDAStateEventAdapter.cache);
         cacheMetrics.addCache("muterole", MuteRoleCommand.cache);
         cacheMetrics.addCache("rankScores", RankCommand.cache);
         cacheMetrics.addCache("leaderboard", LeaderboardCommand.cache);
         cacheMetrics.addCache("global-leaderboard", GlobalLeaderboardCommand.cache);
-        cacheMetrics.addCache("blacklist-ratelimit", Ratelimit.cache);
+
+        new RateLimiterCollector().register();
+        new EventWaiterCollector(avaire.getWaiter()).register();
+        new ResponseCacheCollector().register();
+        new FetchProviderCollector().register();
 
         if (!avaire.getConfig().getBoolean("web-servlet.metrics",
             avaire.getConfig().getBoolean("metrics.enabled", true)
@@ -245,7 +287,7 @@ public class Metrics {
             return;
         }
 
-        avaire.getServlet().registerGet("/metrics", new GetMetrics());
+        avaire.getServlet().registerGet("/metrics", new GetMetrics(), RouteLimits.UNLIMITED);
 
         isSetup = true;
     }
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.metrics;
+
+import com.pinewoodbuilders.ratelimit.SlidingWindowRateLimiter;
+import io.prometheus.client.Collector;
+import io.prometheus.client.CounterMetricFamily;
+import io.prometheus.client.GaugeMetricFamily;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Exposes the hits, limited hits, and tracked keys for every registered
+ * {@link SlidingWindowRateLimiter rate limiter}, labeled by the limiter name.
+ */
+public class RateLimiterCollector extends Collector {
+
+    private static final List<String> labelNames = Collections.singletonList("limiter");
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        CounterMetricFamily hits = new CounterMetricFamily("avaire_ratelimiter_hits",
+            "Amount of hits received by each rate limiter", labelNames
+        );
+        CounterMetricFamily limited = new CounterMetricFamily("avaire_ratelimiter_limited",
+            "Amount of hits and checks that were at the limit for each rate limiter", labelNames
+        );
+        GaugeMetricFamily keys = new GaugeMetricFamily("avaire_ratelimiter_tracked_keys",
+            "Amount of keys tracked in the current window of each rate limiter", labelNames
+        );
+
+        for (SlidingWindowRateLimiter limiter : SlidingWindowRateLimiter.getLimiters()) {
+            List<String> labels = Collections.singletonList(limiter.getName());
+
+            hits.addMetric(labels, limiter.getTotalHits());
+            limited.addMetric(labels, limiter.getTotalLimited());
+            keys.addMetric(labels, limiter.getTrackedKeys());
+        }
+
+        return Arrays.asList(hits, limited, keys);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.metrics;
+
+import com.pinewoodbuilders.servlet.cache.ResponseCache;
+import io.prometheus.client.Collector;
+import io.prometheus.client.CounterMetricFamily;
+import io.prometheus.client.GaugeMetricFamily;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Exposes the fresh hits, stale hits, coalesced requests, misses, and tracked
+ * keys for every registered {@link ResponseCache response cache}, labeled
+ * by the cache name.
+ */
+public class ResponseCacheCollector extends Collector {
+
+    private static final List<String> labelNames = Collections.singletonList("cache");
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        CounterMetricFamily hits = new CounterMetricFamily("avaire_servlet_cache_hits",
+            "Amount of requests served a fresh response from each response cache", labelNames
+        );
+        CounterMetricFamily stale = new CounterMetricFamily("avaire_servlet_cache_stale_hits",
+            "Amount of requests served a stale response while it was being regenerated", labelNames
+        );
+        CounterMetricFamily coalesced = new CounterMetricFamily("avaire_servlet_cache_coalesced",
+            "Amount of requests that waited for another request to generate their response", labelNames
+        );
+        CounterMetricFamily misses = new CounterMetricFamily("avaire_servlet_cache_misses",
+            "Amount of requests that had to generate their response", labelNames
+        );
+        GaugeMetricFamily keys = new GaugeMetricFamily("avaire_servlet_cache_tracked_keys",
+            "Amount of keys tracked by each response cache", labelNames
+        );
+
+        for (ResponseCache cache : ResponseCache.getCaches()) {
+            List<String> labels = Collections.singletonList(cache.getName());
+
+            hits.addMetric(labels, cache.getHits());
+            stale.addMetric(labels, cache.getStaleHits());
+            coalesced.addMetric(labels, cache.getCoalesced());
+            misses.addMetric(labels, cache.getMisses());
+            keys.addMetric(labels, cache.size());
+        }
+
+        return Arrays.asList(hits, stale, coalesced, misses, keys);
+    }
+}
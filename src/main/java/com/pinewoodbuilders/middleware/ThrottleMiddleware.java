@@ -21,8 +21,6 @@
 
 package com.pinewoodbuilders.middleware;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.commands.CommandMessage;
 import com.pinewoodbuilders.contracts.commands.CacheFingerprint;
@@ -31,22 +29,27 @@ import com.pinewoodbuilders.contracts.middleware.ThrottleMessage;
 import com.pinewoodbuilders.contracts.permission.GuildPermissionCheckType;
 import com.pinewoodbuilders.factories.MessageFactory;
 import com.pinewoodbuilders.metrics.Metrics;
+import com.pinewoodbuilders.ratelimit.SlidingWindowRateLimiter;
 import com.pinewoodbuilders.time.Carbon;
-import com.pinewoodbuilders.utilities.CacheUtil;
 import com.pinewoodbuilders.utilities.NumberUtil;
 import com.pinewoodbuilders.utilities.RestActionUtil;
 import com.pinewoodbuilders.utilities.XeusPermissionUtil;
 import net.dv8tion.jda.api.entities.Message;
 
 import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 public class ThrottleMiddleware extends Middleware {
 
-    public static final Cache<String, ThrottleEntity> cache = CacheBuilder.newBuilder()
-        .recordStats()
-        .expireAfterWrite(60, TimeUnit.SECONDS)
-        .build();
+    /**
+     * The rate limiters used for throttling commands, mapped by the
+     * max attempts in the upper bits, and the decay in seconds in
+     * the lower bits, commands with the same throttle settings
+     * shares the same rate limiter.
+     */
+    private static final Map<Long, SlidingWindowRateLimiter> limiters = new ConcurrentHashMap<>();
 
     public ThrottleMiddleware(Xeus avaire) {
         super(avaire);
@@ -81,10 +84,10 @@ public class ThrottleMiddleware extends Middleware {
             int maxAttempts = NumberUtil.parseInt(args[1], 2);
             int decaySeconds = NumberUtil.parseInt(args[2], 5);
 
-            String fingerprint = type.generateCacheString(message, stack);
+            long fingerprint = type.generateCacheKey(message, stack);
 
-            ThrottleEntity entity = getEntityFromCache(fingerprint, maxAttempts, decaySeconds);
-            if (entity.getHits() >= maxAttempts) {
+            SlidingWindowRateLimiter limiter = getLimiter(maxAttempts, decaySeconds);
+            if (limiter.isLimited(fingerprint)) {
                 Carbon expires = type.equals(ThrottleType.USER)
                     ? avaire.getBlacklist().getRatelimit().hit(type, message.getAuthor().getIdLong())
                     : avaire.getBlacklist().getRatelimit().hit(type, message.getGuild().getIdLong());
@@ -95,13 +98,13 @@ public class ThrottleMiddleware extends Middleware {
                     );
                     return false;
                 }
-                return cancelCommandThrottleRequest(message, stack, entity);
+                return cancelCommandThrottleRequest(message, stack, limiter);
             }
 
             boolean response = stack.next();
 
             if (response) {
-                entity.incrementHit();
+                limiter.hit(fingerprint);
             }
 
             return response;
@@ -113,7 +116,7 @@ public class ThrottleMiddleware extends Middleware {
         return false;
     }
 
-    private boolean cancelCommandThrottleRequest(Message message, MiddlewareStack stack, ThrottleEntity entity) {
+    private boolean cancelCommandThrottleRequest(Message message, MiddlewareStack stack, SlidingWindowRateLimiter limiter) {
         Metrics.commandsRatelimited.labels(stack.getCommand().getClass().getSimpleName()).inc();
 
         return runMessageCheck(message, () -> {
@@ -130,7 +133,7 @@ public class ThrottleMiddleware extends Middleware {
 
             MessageFactory.makeWarning(message, throttleMessage)
                 .set("command", stack.getCommand().getName())
-                .set("time", ((entity.getTime() - System.currentTimeMillis()) / 1000) + 1)
+                .set("time", (limiter.getMillisUntilNextWindow() / 1000) + 1)
                 .set("prefix", stack.getCommand().generateCommandPrefix(message))
                 .queue(newMessage -> newMessage.delete().queueAfter(45, TimeUnit.SECONDS, null, RestActionUtil.ignore));
 
@@ -138,31 +141,25 @@ public class ThrottleMiddleware extends Middleware {
         });
     }
 
-    private ThrottleEntity getEntityFromCache(String fingerprint, int maxAttempts, int decaySeconds) {
-        ThrottleEntity entity = (ThrottleEntity) CacheUtil.getUncheckedUnwrapped(cache, fingerprint,
-            () -> new ThrottleEntity(maxAttempts, decaySeconds)
+    private SlidingWindowRateLimiter getLimiter(int maxAttempts, int decaySeconds) {
+        return limiters.computeIfAbsent(((long) maxAttempts << 32) | decaySeconds, key ->
+            SlidingWindowRateLimiter.of(
+                String.format("throttle-%s-%ss", maxAttempts, decaySeconds),
+                maxAttempts, decaySeconds, TimeUnit.SECONDS
+            )
         );
-
-        if (entity.hasExpired()) {
-            cache.invalidate(fingerprint);
-            return getEntityFromCache(fingerprint, maxAttempts, decaySeconds);
-        }
-
-        return entity;
     }
 
     public enum ThrottleType {
 
-        USER("user", "throttle.user.%s.%s.%s"),
-        CHANNEL("channel", "throttle.channel.%s.%s.%s"),
-        GUILD("guild", "throttle.guild.%s.%s");
+        USER("user"),
+        CHANNEL("channel"),
+        GUILD("guild");
 
         private final String name;
-        private final String cache;
 
-        ThrottleType(String name, String cache) {
+        ThrottleType(String name) {
             this.name = name;
-            this.cache = cache;
         }
 
         public static ThrottleType fromName(String name) {
@@ -178,33 +175,29 @@ public class ThrottleMiddleware extends Middleware {
             return name;
         }
 
-        public String generateCacheString(Message message, MiddlewareStack stack) {
+        public long generateCacheKey(Message message, MiddlewareStack stack) {
             if (!this.equals(ThrottleType.USER) && !message.isFromGuild()) {
-                return USER.generateCacheString(message, stack);
+                return USER.generateCacheKey(message, stack);
             }
 
-            String cacheFingerprint = generateCacheFingerprint(stack);
+            long cacheFingerprint = SlidingWindowRateLimiter.key(ordinal(), generateCacheFingerprint(stack).hashCode());
 
             switch (this) {
                 case USER:
-                    return String.format(cache,
-                        message.isFromGuild() ? message.getGuild().getId() : "private",
-                        message.getAuthor().getId(),
-                        cacheFingerprint);
+                    return SlidingWindowRateLimiter.key(SlidingWindowRateLimiter.key(cacheFingerprint,
+                        message.isFromGuild() ? message.getGuild().getIdLong() : 0L),
+                        message.getAuthor().getIdLong());
 
                 case CHANNEL:
-                    return String.format(cache,
-                        message.getGuild().getId(),
-                        message.getChannel().getId(),
-                        cacheFingerprint);
+                    return SlidingWindowRateLimiter.key(SlidingWindowRateLimiter.key(cacheFingerprint,
+                        message.getGuild().getIdLong()),
+                        message.getChannel().getIdLong());
 
                 case GUILD:
-                    return String.format(cache,
-                        message.getGuild().getId(),
-                        cacheFingerprint);
+                    return SlidingWindowRateLimiter.key(cacheFingerprint, message.getGuild().getIdLong());
 
                 default:
-                    return ThrottleType.USER.generateCacheString(message, stack);
+                    return ThrottleType.USER.generateCacheKey(message, stack);
             }
         }
 
@@ -218,37 +211,4 @@ public class ThrottleMiddleware extends Middleware {
             return annotation.name();
         }
     }
-
-    private static class ThrottleEntity {
-
-        private final int maxAttempts;
-        private final long time;
-        private int hit;
-
-        ThrottleEntity(int maxAttempts, int decaySeconds) {
-            this.time = System.currentTimeMillis() + (decaySeconds * 1000L);
-            this.maxAttempts = maxAttempts;
-            this.hit = 0;
-        }
-
-        public int getHits() {
-            return hit;
-        }
-
-        public void incrementHit() {
-            hit++;
-        }
-
-        public int getMaxAttempts() {
-            return maxAttempts;
-        }
-
-        public long getTime() {
-            return time;
-        }
-
-        public boolean hasExpired() {
-            return System.currentTimeMillis() > time;
-        }
-    }
 }
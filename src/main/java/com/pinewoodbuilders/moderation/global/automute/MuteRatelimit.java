@@ -21,9 +21,6 @@
 
 package com.pinewoodbuilders.moderation.global.automute;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.contracts.blacklist.PunishmentLevel;
 import com.pinewoodbuilders.database.controllers.GuildController;
@@ -35,8 +32,9 @@ import com.pinewoodbuilders.middleware.ThrottleMiddleware;
 import com.pinewoodbuilders.modlog.local.moderation.Modlog;
 import com.pinewoodbuilders.modlog.local.shared.ModlogAction;
 import com.pinewoodbuilders.modlog.local.shared.ModlogType;
+import com.pinewoodbuilders.ratelimit.PunishmentLadder;
+import com.pinewoodbuilders.ratelimit.SlidingWindowRateLimiter;
 import com.pinewoodbuilders.time.Carbon;
-import com.pinewoodbuilders.utilities.CacheUtil;
 import com.pinewoodbuilders.utilities.RestActionUtil;
 import net.dv8tion.jda.api.entities.*;
 import org.slf4j.Logger;
@@ -45,8 +43,8 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nullable;
 import java.awt.*;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.List;
-import java.util.*;
 import java.util.concurrent.TimeUnit;
 
 public class MuteRatelimit {
@@ -60,20 +58,17 @@ public class MuteRatelimit {
 
     /**
      * This represents the amount of time in milliseconds that each
-     * hit should be valid for, if all hit slots for a given user
-     * is taken up, but one of the times exceeds the hit time
-     * limit, the rate limit won't count it as exceeding
-     * the rate limit.
+     * hit should be valid for, hits slides out of the ratelimit
+     * window as they get older than the hit time limit.
      */
     static final long hitTime = 480 * 1000;
 
     /**
-     * The cache loader for holding all the ratelimiter rates.
+     * The rate limiter used to count the filter hits for each user.
      */
-    public static final LoadingCache<Long, Rate> cache = CacheBuilder.newBuilder()
-        .recordStats()
-        .expireAfterWrite(hitTime, TimeUnit.MILLISECONDS)
-        .build(CacheLoader.from(userId -> userId != null ? new Rate(userId) : null));
+    public static final SlidingWindowRateLimiter limiter = SlidingWindowRateLimiter.of(
+        "automute", hitLimit, hitTime, TimeUnit.MILLISECONDS
+    );
 
     /**
      * The slf4j logger instance.
@@ -81,18 +76,11 @@ public class MuteRatelimit {
     private static final Logger log = LoggerFactory.getLogger(MuteRatelimit.class);
 
     /**
-     * The punishment level holder, this m
-     * 9ap holds all the users and their current
-     * punishment level, with each offence, the punishment level(value) will go
-     * up, increasing the time the user get auto-blacklisted for.
-     */
-    private static final Map<Long, Integer> punishments = new HashMap<>();
-
-    /**
-     * The punishment levels, each index of the levels list should be an
-     * increasingly harsher punishment for repeating offenders.
+     * The punishment ladder, with each offence the punishment level for the user
+     * will go up, increasing the time the user get auto-muted for, each level
+     * should be an increasingly harsher punishment for repeating offenders.
      */
-    private static final List<PunishmentLevel> levels = Arrays.asList(
+    public static final PunishmentLadder punishments = new PunishmentLadder("automute", Arrays.<PunishmentLevel>asList(
         () -> Carbon.now().addMinutes(15),
         () -> Carbon.now().addMinutes(30),
         () -> Carbon.now().addHour(),
@@ -107,8 +95,7 @@ public class MuteRatelimit {
         () -> Carbon.now().addMonth(),
         () -> Carbon.now().addMonths(6),
         () -> Carbon.now().addYear()
-    );
-
+    ));
 
     /**
      * Sends the blacklist message to the given use in a direct
@@ -169,7 +156,7 @@ public class MuteRatelimit {
      * blacklisted for a certain amount of time, the time the
      * entity is blacklisted for depends on how many earlier
      * offense they have, all the punishment levels can be
-     * seen in the {@link #levels punishments array}.
+     * seen in the {@link #punishments punishment ladder}.
      *
      * @param type The type of throttle request that hit the mutelist.
      * @param id   The ID of the user or guild that should hit the ratelimit.
@@ -179,35 +166,15 @@ public class MuteRatelimit {
      */
     @Nullable
     public static Carbon hit(ThrottleMiddleware.ThrottleType type, long id, Message e) {
-        Rate rate = CacheUtil.getUncheckedUnwrapped(cache, id);
-        if (rate == null) {
-            // This should never happen, if it does we'll just return
-            // null to not block any commands by a valid user.
+        if (!limiter.hit(id)) {
             return null;
         }
 
-        //noinspection SynchronizationOnLocalVariableOrMethodParameter
-        synchronized (rate) {
-            rate.hit();
-
-            if (rate.getHits() < hitLimit) {
-                return null;
-            }
-        }
-
-        Long last = rate.getLast();
-
-        // Checks if the user was blacklisted within the last two and half seconds,
-        // the command handling process uses its own thread pool, because of that
-        // it's possible to have two commands come in from the same user in a
-        // very quick succession, instead of punishing the user twice, we
-        // just cancel the blacklist hit here instead.
-        if (last != null && last < System.currentTimeMillis() - 2500) {
+        Carbon punishment = punishments.escalate(id);
+        if (punishment == null) {
             return null;
         }
 
-        Carbon punishment = getPunishment(id);
-
         log.info("{}:{} has been detected to be added to the mute list for excessive filter triggers, it shall expire on {}.",
             type.getName(), id, punishment.toDayDateTimeString()
         );
@@ -261,33 +228,4 @@ public class MuteRatelimit {
         }
         MuteRatelimit.sendMuteMessage(context.getAuthor(), punishment);
     }
-
-    /**
-     * Gets the punishment for the given user ID, as well as
-     * increasing their punishment level in the process.
-     *
-     * @param userId The ID of the user that the punishment should be fetched for.
-     * @return The Carbon instance with the punishment expire time.
-     */
-    private static Carbon getPunishment(long userId) {
-        int level = punishments.getOrDefault(userId, -1) + 1;
-
-        punishments.put(userId, level);
-
-        return getPunishment(level);
-    }
-
-    /**
-     * Gets the {@link Carbon} punishment object, representing
-     * the time that the punishment should expire.
-     *
-     * @param level The level to get the punishment for.
-     * @return The Carbon instance with the punishment expire time.
-     */
-    private static Carbon getPunishment(int level) {
-        if (level < 0) {
-            return levels.get(0).generateTime();
-        }
-        return levels.get(level >= levels.size() ? levels.size() - 1 : level).generateTime();
-    }
 }
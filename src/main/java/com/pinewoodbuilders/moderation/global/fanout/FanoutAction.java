@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.global.fanout;
+
+import net.dv8tion.jda.api.Permission;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.UserSnowflake;
+import net.dv8tion.jda.api.requests.RestAction;
+
+import javax.annotation.Nullable;
+
+public enum FanoutAction {
+
+    BAN("banned") {
+        @Nullable
+        @Override
+        public RestAction<Void> create(Guild guild, FanoutJob job, FanoutTarget target) {
+            if (!guild.getSelfMember().hasPermission(Permission.BAN_MEMBERS)) {
+                return null;
+            }
+            return guild.ban(UserSnowflake.fromId(job.getUserId()), job.getDeleteDays(), target.getReason());
+        }
+    },
+
+    KICK("kicked") {
+        @Nullable
+        @Override
+        public RestAction<Void> create(Guild guild, FanoutJob job, FanoutTarget target) {
+            if (!guild.getSelfMember().hasPermission(Permission.KICK_MEMBERS)) {
+                return null;
+            }
+
+            // The member cache is bounded, so the kick is always sent, guilds the
+            // user isn't in responds with an unknown member error instead.
+            return guild.kick(UserSnowflake.fromId(job.getUserId()), target.getReason());
+        }
+    };
+
+    private final String pastTense;
+
+    FanoutAction(String pastTense) {
+        this.pastTense = pastTense;
+    }
+
+    /**
+     * Gets the action with the given name.
+     *
+     * @param name The name of the action.
+     * @return Possibly-null, the action matching the given name, or <code>NULL</code>.
+     */
+    @Nullable
+    public static FanoutAction fromName(String name) {
+        for (FanoutAction action : values()) {
+            if (action.name().equalsIgnoreCase(name)) {
+                return action;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Creates the rest action that applies the action to the given guild.
+     *
+     * @param guild  The guild the action should be applied to.
+     * @param job    The job the action is being applied for.
+     * @param target The target for the guild within the job.
+     * @return Possibly-null, the rest action that applies the action, or <code>NULL</code>
+     * if there is nothing to apply in the guild, or the bot is missing permissions.
+     */
+    @Nullable
+    public abstract RestAction<Void> create(Guild guild, FanoutJob job, FanoutTarget target);
+
+    public String getPastTense() {
+        return pastTense;
+    }
+}
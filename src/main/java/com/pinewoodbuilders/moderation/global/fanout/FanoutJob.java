@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.global.fanout;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A moderation action that is applied to a user across every guild in a main
+ * group, the job and every one of its targets are stored in the database before
+ * the action is applied to any guild, and the status for each target is updated
+ * as the action is applied, so the job can be resumed if the bot restarts.
+ * <p>
+ * The state of the job and its targets are guarded by the job instance itself.
+ */
+public class FanoutJob {
+
+    /**
+     * The max length of the progress report, leaving some room
+     * below the embed description limit for the header.
+     */
+    private static final int MAX_REPORT_LENGTH = 3800;
+
+    private final FanoutAction action;
+    private final long mainGroupId;
+    private final long userId;
+    private final long executorId;
+    private final int deleteDays;
+    private final List<FanoutTarget> targets;
+
+    private long id;
+    private long channelId;
+    private long messageId;
+    private int inFlight = 0;
+    private boolean pumpScheduled = false;
+    private boolean reportScheduled = false;
+    private long reportedAt = 0;
+
+    FanoutJob(long id, FanoutAction action, long mainGroupId, long userId, long executorId, int deleteDays, long channelId, long messageId, List<FanoutTarget> targets) {
+        this.id = id;
+        this.action = action;
+        this.mainGroupId = mainGroupId;
+        this.userId = userId;
+        this.executorId = executorId;
+        this.deleteDays = deleteDays;
+        this.channelId = channelId;
+        this.messageId = messageId;
+        this.targets = targets;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    void setId(long id) {
+        this.id = id;
+    }
+
+    public FanoutAction getAction() {
+        return action;
+    }
+
+    public long getMainGroupId() {
+        return mainGroupId;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public long getExecutorId() {
+        return executorId;
+    }
+
+    public int getDeleteDays() {
+        return deleteDays;
+    }
+
+    public long getChannelId() {
+        return channelId;
+    }
+
+    public long getMessageId() {
+        return messageId;
+    }
+
+    void setProgressMessage(long channelId, long messageId) {
+        this.channelId = channelId;
+        this.messageId = messageId;
+    }
+
+    public List<FanoutTarget> getTargets() {
+        return Collections.unmodifiableList(targets);
+    }
+
+    /**
+     * Gets the amount of targets the action has been applied to.
+     *
+     * @return The amount of targets the action has been applied to.
+     */
+    public synchronized int getAppliedCount() {
+        return count(FanoutStatus.APPLIED);
+    }
+
+    /**
+     * Checks if the action has finished running for every target.
+     *
+     * @return <code>True</code> if the job is finished, <code>False</code> otherwise.
+     */
+    public synchronized boolean isFinished() {
+        if (inFlight > 0) {
+            return false;
+        }
+
+        for (FanoutTarget target : targets) {
+            if (!target.getStatus().isFinished()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Builds the progress report for the job, listing the status of every guild.
+     *
+     * @return The progress report for the job.
+     */
+    public synchronized String buildReport() {
+        StringBuilder report = new StringBuilder();
+        if (isFinished()) {
+            report.append("<@").append(userId).append("> (").append(userId).append(") has been ")
+                .append(action.getPastTense()).append(" from `").append(count(FanoutStatus.APPLIED)).append("` guilds");
+
+            int failed = count(FanoutStatus.FAILED);
+            if (failed > 0) {
+                report.append(", and failed in `").append(failed).append("` guilds");
+            }
+        } else {
+            report.append("<@").append(userId).append("> (").append(userId).append(") is being ")
+                .append(action.getPastTense()).append(", `").append(targets.size() - count(FanoutStatus.PENDING))
+                .append("` of `").append(targets.size()).append("` guilds processed");
+        }
+        report.append(" : \n\n");
+
+        int lengthBeforeTargets = report.length();
+        for (int i = 0; i < targets.size(); i++) {
+            FanoutTarget target = targets.get(i);
+            if (report.length() - lengthBeforeTargets > MAX_REPORT_LENGTH) {
+                report.append("*And ").append(targets.size() - i).append(" more guilds...*");
+                break;
+            }
+
+            report.append("``").append(target.getGuildName()).append("`` - ").append(target.getEmote());
+            if (target.getError() != null) {
+                report.append(" ").append(target.getError());
+            }
+            report.append("\n");
+        }
+
+        return report.toString();
+    }
+
+    @Nullable
+    synchronized FanoutTarget nextReadyTarget(long now) {
+        for (FanoutTarget target : targets) {
+            if (target.isReady(now)) {
+                return target;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the time the earliest pending target that is waiting to be retried can be retried at.
+     *
+     * @return The time in milliseconds the next retry is due, or <code>0</code> if no targets are waiting.
+     */
+    synchronized long getNextRetryAt() {
+        long retryAt = 0;
+        for (FanoutTarget target : targets) {
+            if (target.getStatus() == FanoutStatus.PENDING && !target.isInFlight()
+                && (retryAt == 0 || target.getRetryAt() < retryAt)) {
+                retryAt = target.getRetryAt();
+            }
+        }
+        return retryAt;
+    }
+
+    int getInFlight() {
+        return inFlight;
+    }
+
+    void setInFlight(int inFlight) {
+        this.inFlight = inFlight;
+    }
+
+    boolean isPumpScheduled() {
+        return pumpScheduled;
+    }
+
+    void setPumpScheduled(boolean pumpScheduled) {
+        this.pumpScheduled = pumpScheduled;
+    }
+
+    boolean isReportScheduled() {
+        return reportScheduled;
+    }
+
+    void setReportScheduled(boolean reportScheduled) {
+        this.reportScheduled = reportScheduled;
+    }
+
+    long getReportedAt() {
+        return reportedAt;
+    }
+
+    void setReportedAt(long reportedAt) {
+        this.reportedAt = reportedAt;
+    }
+
+    private int count(FanoutStatus status) {
+        int count = 0;
+        for (FanoutTarget target : targets) {
+            if (target.getStatus() == status) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
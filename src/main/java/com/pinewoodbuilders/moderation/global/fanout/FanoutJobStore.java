@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.global.fanout;
+
+import com.pinewoodbuilders.Constants;
+import com.pinewoodbuilders.database.DatabaseManager;
+import com.pinewoodbuilders.database.collection.Collection;
+import com.pinewoodbuilders.database.collection.DataRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores the moderation fan-out jobs and their targets in the database.
+ * <p>
+ * Jobs are stored as pending while their targets are being written, and are
+ * only marked as running once every target has been stored, if any of the
+ * targets fails to be stored the job is deleted again, so only jobs that
+ * have all of their targets stored are ever resumed.
+ */
+public class FanoutJobStore {
+
+    static final String PENDING = "pending";
+    static final String RUNNING = "running";
+    static final String FINISHED = "finished";
+
+    private static final Logger log = LoggerFactory.getLogger(FanoutJobStore.class);
+
+    private final DatabaseManager database;
+
+    /**
+     * Creates a new fan-out job store for the given database manager.
+     *
+     * @param database The database manager the jobs should be stored in.
+     */
+    public FanoutJobStore(DatabaseManager database) {
+        this.database = database;
+    }
+
+    /**
+     * Creates a new job, storing the job and all of its targets in the database.
+     *
+     * @param action      The action that should be applied to the user.
+     * @param mainGroupId The ID of the main group the action is applied within.
+     * @param userId      The ID of the user the action should be applied to.
+     * @param executorId  The ID of the user who executed the action.
+     * @param deleteDays  The amount of days of messages that should be deleted, only used for bans.
+     * @param targets     The guilds the action should be applied to.
+     * @return The created job.
+     * @throws SQLException If the job, or any of its targets, fails to be stored in the database.
+     */
+    public FanoutJob create(FanoutAction action, long mainGroupId, long userId, long executorId, int deleteDays, List<FanoutTarget> targets) throws SQLException {
+        Collection collection = database.newQueryBuilder(Constants.MODERATION_FANOUT_JOBS_TABLE_NAME)
+            .insert(statement -> {
+                statement.set("action", action.name());
+                statement.set("main_group_id", mainGroupId);
+                statement.set("user_id", userId);
+                statement.set("executor_id", executorId);
+                statement.set("delete_days", deleteDays);
+                statement.set("status", PENDING);
+            });
+
+        if (collection.isEmpty()) {
+            throw new SQLException("The moderation fan-out job was stored, but no job ID was returned");
+        }
+
+        long id = collection.first().getLong("id");
+        try {
+            for (FanoutTarget target : targets) {
+                Collection targetCollection = database.newQueryBuilder(Constants.MODERATION_FANOUT_TARGETS_TABLE_NAME)
+                    .insert(statement -> {
+                        statement.set("job_id", id);
+                        statement.set("guild_id", target.getGuildId());
+                        statement.set("guild_name", target.getGuildName(), true);
+                        statement.set("reason", target.getReason(), true);
+                        statement.set("official", target.isOfficial());
+                        statement.set("status", target.getStatus().name());
+                    });
+
+                if (targetCollection.isEmpty()) {
+                    throw new SQLException("The moderation fan-out target was stored, but no target ID was returned");
+                }
+                target.setId(targetCollection.first().getLong("id"));
+            }
+
+            database.newQueryBuilder(Constants.MODERATION_FANOUT_JOBS_TABLE_NAME)
+                .where("id", id)
+                .update(statement -> statement.set("status", RUNNING));
+        } catch (SQLException e) {
+            delete(id, e);
+            throw e;
+        }
+
+        return new FanoutJob(id, action, mainGroupId, userId, executorId, deleteDays, 0, 0, new ArrayList<>(targets));
+    }
+
+    /**
+     * Loads all the jobs that were still running when the bot was last shut down,
+     * jobs with an unknown action are marked as finished instead of being loaded.
+     *
+     * @return The unfinished jobs.
+     * @throws SQLException If the jobs fails to be loaded from the database.
+     */
+    public List<FanoutJob> loadUnfinishedJobs() throws SQLException {
+        List<FanoutJob> jobs = new ArrayList<>();
+        for (DataRow row : database.newQueryBuilder(Constants.MODERATION_FANOUT_JOBS_TABLE_NAME)
+            .where("status", RUNNING)
+            .orderBy("id")
+            .get()) {
+            long id = row.getLong("id");
+
+            FanoutAction action = FanoutAction.fromName(row.getString("action"));
+            if (action == null) {
+                log.warn("Fan-out job #{} has an unknown action \"{}\", marking it as finished", id, row.getString("action"));
+                markAsFinished(id);
+                continue;
+            }
+
+            List<FanoutTarget> targets = new ArrayList<>();
+            for (DataRow targetRow : database.newQueryBuilder(Constants.MODERATION_FANOUT_TARGETS_TABLE_NAME)
+                .where("job_id", id)
+                .orderBy("id")
+                .get()) {
+                targets.add(new FanoutTarget(
+                    targetRow.getLong("id"),
+                    targetRow.getLong("guild_id"),
+                    targetRow.getString("guild_name"),
+                    targetRow.getString("reason"),
+                    targetRow.getBoolean("official"),
+                    FanoutStatus.fromName(targetRow.getString("status")),
+                    targetRow.getInt("attempts"),
+                    targetRow.getString("error")
+                ));
+            }
+
+            jobs.add(new FanoutJob(id, action,
+                row.getLong("main_group_id"), row.getLong("user_id"), row.getLong("executor_id"),
+                row.getInt("delete_days"), row.getLong("channel_id"), row.getLong("message_id"), targets
+            ));
+        }
+        return jobs;
+    }
+
+    /**
+     * Stores the progress message for the given job.
+     *
+     * @param job The job the progress message should be stored for.
+     * @throws SQLException If the progress message fails to be stored.
+     */
+    public void storeProgressMessage(FanoutJob job) throws SQLException {
+        database.newQueryBuilder(Constants.MODERATION_FANOUT_JOBS_TABLE_NAME)
+            .where("id", job.getId())
+            .update(statement -> {
+                statement.set("channel_id", job.getChannelId());
+                statement.set("message_id", job.getMessageId());
+            });
+    }
+
+    /**
+     * Stores the status, attempts, and error for the given target.
+     *
+     * @param target The target that should be stored.
+     * @throws SQLException If the target fails to be stored.
+     */
+    public void storeTarget(FanoutTarget target) throws SQLException {
+        if (target.getId() == 0) {
+            return;
+        }
+
+        database.newQueryBuilder(Constants.MODERATION_FANOUT_TARGETS_TABLE_NAME)
+            .where("id", target.getId())
+            .update(statement -> {
+                statement.set("status", target.getStatus().name());
+                statement.set("attempts", target.getAttempts());
+                statement.set("error", target.getError());
+            });
+    }
+
+    /**
+     * Marks the job with the given ID as finished, so it's never resumed again.
+     *
+     * @param id The ID of the job that should be marked as finished.
+     * @throws SQLException If the job fails to be marked as finished.
+     */
+    public void markAsFinished(long id) throws SQLException {
+        database.newQueryBuilder(Constants.MODERATION_FANOUT_JOBS_TABLE_NAME)
+            .where("id", id)
+            .update(statement -> statement.set("status", FINISHED));
+    }
+
+    private void delete(long id, SQLException cause) {
+        try {
+            database.newQueryBuilder(Constants.MODERATION_FANOUT_TARGETS_TABLE_NAME)
+                .where("job_id", id)
+                .delete();
+
+            database.newQueryBuilder(Constants.MODERATION_FANOUT_JOBS_TABLE_NAME)
+                .where("id", id)
+                .delete();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+}
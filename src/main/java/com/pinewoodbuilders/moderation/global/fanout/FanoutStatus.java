@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.global.fanout;
+
+public enum FanoutStatus {
+
+    /**
+     * The action hasn't been applied to the guild yet, or is waiting to be retried.
+     */
+    PENDING(":hourglass:"),
+
+    /**
+     * The action has been applied to the guild.
+     */
+    APPLIED(":white_check_mark:"),
+
+    /**
+     * The action was skipped for the guild, either because the guild is
+     * excluded from the action, or because there were nothing to do.
+     */
+    SKIPPED(":x:"),
+
+    /**
+     * The action failed to be applied to the guild, and will not be retried.
+     */
+    FAILED(":warning:");
+
+    private final String emote;
+
+    FanoutStatus(String emote) {
+        this.emote = emote;
+    }
+
+    /**
+     * Gets the status with the given name, defaulting
+     * to {@link #PENDING} for unknown names.
+     *
+     * @param name The name of the status.
+     * @return The status matching the given name.
+     */
+    public static FanoutStatus fromName(String name) {
+        for (FanoutStatus status : values()) {
+            if (status.name().equalsIgnoreCase(name)) {
+                return status;
+            }
+        }
+        return PENDING;
+    }
+
+    public String getEmote() {
+        return emote;
+    }
+
+    /**
+     * Checks if the status is final, meaning the target will never be run again.
+     *
+     * @return <code>True</code> if the status is final, <code>False</code> otherwise.
+     */
+    public boolean isFinished() {
+        return this != PENDING;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.global.fanout;
+
+import javax.annotation.Nullable;
+
+public class FanoutTarget {
+
+    private final long guildId;
+    private final String guildName;
+    private final String reason;
+    private final boolean official;
+
+    private long id;
+    private FanoutStatus status;
+    private int attempts;
+    private String error;
+
+    private boolean inFlight = false;
+    private long retryAt = 0;
+
+    /**
+     * Creates a new pending target for the given guild.
+     *
+     * @param guildId   The ID of the guild the action should be applied to.
+     * @param guildName The name of the guild, used for the progress report.
+     * @param reason    The audit log reason the action should be applied with.
+     * @param official  Whether the guild is an official sub group of the main group.
+     */
+    public FanoutTarget(long guildId, String guildName, String reason, boolean official) {
+        this(0, guildId, guildName, reason, official, FanoutStatus.PENDING, 0, null);
+    }
+
+    /**
+     * Creates a new target that is excluded from the action, the target
+     * will show up in the progress report, but will never be run.
+     *
+     * @param guildId   The ID of the guild that is excluded from the action.
+     * @param guildName The name of the guild, used for the progress report.
+     * @return The skipped target.
+     */
+    public static FanoutTarget skipped(long guildId, String guildName) {
+        return new FanoutTarget(0, guildId, guildName, null, false, FanoutStatus.SKIPPED, 0, null);
+    }
+
+    FanoutTarget(long id, long guildId, String guildName, String reason, boolean official, FanoutStatus status, int attempts, String error) {
+        this.id = id;
+        this.guildId = guildId;
+        this.guildName = guildName;
+        this.reason = reason;
+        this.official = official;
+        this.status = status;
+        this.attempts = attempts;
+        this.error = error;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    void setId(long id) {
+        this.id = id;
+    }
+
+    public long getGuildId() {
+        return guildId;
+    }
+
+    public String getGuildName() {
+        return guildName;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public boolean isOfficial() {
+        return official;
+    }
+
+    public FanoutStatus getStatus() {
+        return status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    @Nullable
+    public String getError() {
+        return error;
+    }
+
+    void finish(FanoutStatus status, @Nullable String error) {
+        this.status = status;
+        this.error = error;
+        this.inFlight = false;
+    }
+
+    void retryAt(long retryAt) {
+        this.retryAt = retryAt;
+        this.inFlight = false;
+    }
+
+    boolean isInFlight() {
+        return inFlight;
+    }
+
+    void dispatch() {
+        this.inFlight = true;
+        this.attempts++;
+    }
+
+    boolean isReady(long now) {
+        return status == FanoutStatus.PENDING && !inFlight && retryAt <= now;
+    }
+
+    long getRetryAt() {
+        return retryAt;
+    }
+
+    String getEmote() {
+        if (status == FanoutStatus.APPLIED && !official) {
+            // Guilds that are only subscribed to the global actions are
+            // marked differently from the official sub groups.
+            return ":ballot_box_with_check:";
+        }
+        return status.getEmote();
+    }
+}
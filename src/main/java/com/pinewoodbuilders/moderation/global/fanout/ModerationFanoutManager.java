@@ -0,0 +1,396 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.global.fanout;
+
+import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.chat.MessageType;
+import com.pinewoodbuilders.factories.MessageFactory;
+import com.pinewoodbuilders.ratelimit.SlidingWindowRateLimiter;
+import com.pinewoodbuilders.scheduler.ScheduleHandler;
+import com.pinewoodbuilders.utilities.RestActionUtil;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.entities.TextChannel;
+import net.dv8tion.jda.api.exceptions.ErrorResponseException;
+import net.dv8tion.jda.api.requests.ErrorResponse;
+import net.dv8tion.jda.api.requests.RestAction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Applies moderation actions to a user across every guild in a main group,
+ * every job is stored in the database before any guild is touched, and
+ * the status of every guild is stored as the action is applied, so
+ * jobs that were interrupted by a restart can be resumed.
+ * <p>
+ * Each job only has a few requests in-flight at a time, and all the jobs
+ * shares a rate limiter so they never flood the global Discord rate limit,
+ * requests that fails with a transient error are retried with a backoff,
+ * and the progress for the job is reported in a single message that is
+ * edited as the job progresses.
+ */
+public class ModerationFanoutManager {
+
+    /**
+     * The max amount of requests each job can have in-flight at the same time.
+     */
+    static final int maxInFlight = 4;
+
+    /**
+     * The amount of times a request is attempted before the guild is marked as failed.
+     */
+    static final int maxAttempts = 3;
+
+    /**
+     * The minimum amount of time in milliseconds between progress message edits.
+     */
+    static final long reportInterval = 2500;
+
+    private static final Logger log = LoggerFactory.getLogger(ModerationFanoutManager.class);
+
+    /**
+     * The rate limiter shared by all the jobs, every request sent by a job hits the same key.
+     */
+    private static final SlidingWindowRateLimiter limiter = SlidingWindowRateLimiter.of(
+        "moderation-fanout", 10, 1, TimeUnit.SECONDS
+    );
+
+    private final Xeus avaire;
+    private final FanoutJobStore store;
+    private final Map<Long, FanoutJob> jobs = new ConcurrentHashMap<>();
+    private final Set<Long> createdJobs = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean resumed = new AtomicBoolean(false);
+
+    /**
+     * Creates a new moderation fan-out manager.
+     *
+     * @param avaire The Xeus application class instance.
+     */
+    public ModerationFanoutManager(Xeus avaire) {
+        this.avaire = avaire;
+        this.store = new FanoutJobStore(avaire.getDatabase());
+    }
+
+    /**
+     * Creates a new job, storing the job and all of its targets in the
+     * database through the {@link FanoutJobStore}, the job is not started
+     * until it's passed to {@link #start(FanoutJob, Message)}.
+     *
+     * @param action      The action that should be applied to the user.
+     * @param mainGroupId The ID of the main group the action is applied within.
+     * @param userId      The ID of the user the action should be applied to.
+     * @param executorId  The ID of the user who executed the action.
+     * @param deleteDays  The amount of days of messages that should be deleted, only used for bans.
+     * @param targets     The guilds the action should be applied to.
+     * @return The created job.
+     * @throws SQLException If the job fails to be stored in the database.
+     */
+    public FanoutJob create(FanoutAction action, long mainGroupId, long userId, long executorId, int deleteDays, List<FanoutTarget> targets) throws SQLException {
+        FanoutJob job = store.create(action, mainGroupId, userId, executorId, deleteDays, targets);
+        createdJobs.add(job.getId());
+
+        return job;
+    }
+
+    /**
+     * Starts applying the action for the given job, the progress for the
+     * job will be reported by editing the given message, if any.
+     *
+     * @param job     The job that should be started.
+     * @param message The message the progress should be reported in, or <code>NULL</code>.
+     */
+    public void start(FanoutJob job, @Nullable Message message) {
+        if (message != null) {
+            job.setProgressMessage(message.getChannel().getIdLong(), message.getIdLong());
+
+            ScheduleHandler.getScheduler().submit(() -> {
+                try {
+                    store.storeProgressMessage(job);
+                } catch (SQLException e) {
+                    log.error("Failed to store the progress message for fan-out job #{}: {}", job.getId(), e.getMessage(), e);
+                }
+            });
+        }
+
+        jobs.put(job.getId(), job);
+        pump(job);
+    }
+
+    /**
+     * Resumes all the jobs that didn't finish before the bot was last
+     * shut down, jobs are only resumed the first time this is called.
+     */
+    public void resumeUnfinishedJobs() {
+        if (!resumed.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            for (FanoutJob job : store.loadUnfinishedJobs()) {
+                if (createdJobs.contains(job.getId())) {
+                    continue;
+                }
+
+                log.info("Resuming fan-out job #{} to {} user {} in {} guilds",
+                    job.getId(), job.getAction().name().toLowerCase(), job.getUserId(), job.getTargets().size()
+                );
+
+                jobs.put(job.getId(), job);
+                pump(job);
+            }
+        } catch (SQLException e) {
+            log.error("Failed to resume the unfinished fan-out jobs: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Builds the progress embed for the given job.
+     *
+     * @param job The job the progress embed should be built for.
+     * @return The progress embed for the job.
+     */
+    public MessageEmbed buildProgressEmbed(FanoutJob job) {
+        return MessageFactory.createEmbeddedBuilder()
+            .setColor((job.isFinished() ? MessageType.SUCCESS : MessageType.INFO).getColor())
+            .setDescription(job.buildReport())
+            .build();
+    }
+
+    private void pump(FanoutJob job) {
+        List<FanoutTarget> ready = new ArrayList<>();
+        synchronized (job) {
+            long now = System.currentTimeMillis();
+            long delay = 0;
+
+            while (job.getInFlight() < maxInFlight) {
+                FanoutTarget target = job.nextReadyTarget(now);
+                if (target == null) {
+                    break;
+                }
+
+                if (limiter.isLimited(0)) {
+                    delay = limiter.getMillisUntilNextWindow();
+                    break;
+                }
+                limiter.hit(0);
+
+                target.dispatch();
+                job.setInFlight(job.getInFlight() + 1);
+                ready.add(target);
+            }
+
+            // Jobs with requests in-flight are pumped again when the requests finishes,
+            // jobs without anything in-flight that are just waiting for retries has
+            // to be pumped again once the next retry is due.
+            if (delay == 0 && job.getInFlight() == 0) {
+                long retryAt = job.getNextRetryAt();
+                if (retryAt > now) {
+                    delay = retryAt - now;
+                }
+            }
+
+            if (delay > 0 && !job.isPumpScheduled()) {
+                job.setPumpScheduled(true);
+                ScheduleHandler.getScheduler().schedule(() -> {
+                    synchronized (job) {
+                        job.setPumpScheduled(false);
+                    }
+                    pump(job);
+                }, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        for (FanoutTarget target : ready) {
+            execute(job, target);
+        }
+
+        if (job.isFinished()) {
+            complete(job);
+        }
+    }
+
+    private void execute(FanoutJob job, FanoutTarget target) {
+        Guild guild = avaire.getShardManager().getGuildById(target.getGuildId());
+        if (guild == null) {
+            finish(job, target, FanoutStatus.FAILED, "The guild is no longer available");
+            return;
+        }
+
+        RestAction<Void> action;
+        try {
+            action = job.getAction().create(guild, job, target);
+        } catch (Exception e) {
+            // JDA throws permission and hierarchy exceptions before
+            // sending the request, those will never go away on retry.
+            finish(job, target, FanoutStatus.FAILED, e.getMessage());
+            return;
+        }
+
+        if (action == null) {
+            finish(job, target, FanoutStatus.SKIPPED, null);
+            return;
+        }
+
+        action.queue(
+            success -> finish(job, target, FanoutStatus.APPLIED, null),
+            error -> handleError(job, target, error)
+        );
+    }
+
+    /**
+     * Gets the status a target should get when its request fails with the given error,
+     * users that are not in the guild are skipped, transient errors are retried until
+     * the target has been attempted {@link #maxAttempts} times, and every other
+     * error fails the target right away.
+     *
+     * @param error    The error the request failed with.
+     * @param attempts The amount of times the request has been attempted.
+     * @return The status the target should get, {@link FanoutStatus#PENDING} if the request should be retried.
+     */
+    public static FanoutStatus getErrorStatus(Throwable error, int attempts) {
+        if (error instanceof ErrorResponseException
+            && ((ErrorResponseException) error).getErrorResponse() == ErrorResponse.UNKNOWN_MEMBER) {
+            return FanoutStatus.SKIPPED;
+        }
+
+        boolean isTransient = !(error instanceof ErrorResponseException)
+            || ((ErrorResponseException) error).isServerError();
+
+        return isTransient && attempts < maxAttempts ? FanoutStatus.PENDING : FanoutStatus.FAILED;
+    }
+
+    private void handleError(FanoutJob job, FanoutTarget target, Throwable error) {
+        FanoutStatus status = getErrorStatus(error, target.getAttempts());
+        if (status == FanoutStatus.SKIPPED) {
+            // The user isn't in the guild, so there is nothing to apply the action to.
+            finish(job, target, FanoutStatus.SKIPPED, null);
+            return;
+        }
+
+        if (status == FanoutStatus.FAILED) {
+            finish(job, target, FanoutStatus.FAILED, error instanceof ErrorResponseException
+                ? ((ErrorResponseException) error).getMeaning()
+                : error.getMessage()
+            );
+            return;
+        }
+
+        log.debug("Fan-out job #{} failed in guild {} on attempt {}, retrying: {}",
+            job.getId(), target.getGuildId(), target.getAttempts(), error.getMessage()
+        );
+
+        synchronized (job) {
+            target.retryAt(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(1L << target.getAttempts()));
+            job.setInFlight(job.getInFlight() - 1);
+        }
+
+        storeTarget(target);
+        pump(job);
+    }
+
+    private void finish(FanoutJob job, FanoutTarget target, FanoutStatus status, @Nullable String error) {
+        synchronized (job) {
+            target.finish(status, error);
+            job.setInFlight(job.getInFlight() - 1);
+        }
+
+        storeTarget(target);
+        report(job, false);
+        pump(job);
+    }
+
+    private void complete(FanoutJob job) {
+        if (!jobs.remove(job.getId(), job)) {
+            return;
+        }
+
+        markAsFinished(job.getId());
+        report(job, true);
+    }
+
+    private void report(FanoutJob job, boolean force) {
+        if (job.getMessageId() == 0) {
+            return;
+        }
+
+        synchronized (job) {
+            long now = System.currentTimeMillis();
+            if (!force) {
+                if (job.isReportScheduled()) {
+                    return;
+                }
+
+                long wait = job.getReportedAt() + reportInterval - now;
+                if (wait > 0) {
+                    job.setReportScheduled(true);
+                    ScheduleHandler.getScheduler().schedule(() -> {
+                        synchronized (job) {
+                            job.setReportScheduled(false);
+                        }
+                        report(job, true);
+                    }, wait, TimeUnit.MILLISECONDS);
+                    return;
+                }
+            }
+            job.setReportedAt(now);
+        }
+
+        TextChannel channel = avaire.getShardManager().getTextChannelById(job.getChannelId());
+        if (channel == null) {
+            return;
+        }
+
+        channel.editMessageEmbedsById(job.getMessageId(), buildProgressEmbed(job))
+            .queue(null, RestActionUtil.ignore);
+    }
+
+    private void storeTarget(FanoutTarget target) {
+        ScheduleHandler.getScheduler().submit(() -> {
+            try {
+                store.storeTarget(target);
+            } catch (SQLException e) {
+                log.error("Failed to store the fan-out status for guild {}: {}", target.getGuildId(), e.getMessage(), e);
+            }
+        });
+    }
+
+    private void markAsFinished(long id) {
+        ScheduleHandler.getScheduler().submit(() -> {
+            try {
+                store.markAsFinished(id);
+            } catch (SQLException e) {
+                log.error("Failed to mark fan-out job #{} as finished: {}", id, e.getMessage(), e);
+            }
+        });
+    }
+}
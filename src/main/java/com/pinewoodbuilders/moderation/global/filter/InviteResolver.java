@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.global.filter;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Invite;
+import net.dv8tion.jda.api.exceptions.ErrorResponseException;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves Discord invite codes to the guild they point to, resolved invites
+ * are cached so the same invite code being sent over and over again only has
+ * to be resolved through Discord once, invites that Discord rejects are cached
+ * for a shorter period of time, in case the invite was only temporarily invalid.
+ * <p>
+ * Concurrent lookups for the same invite code are de-duplicated, so only a
+ * single request is ever in-flight to Discord for any given invite code.
+ */
+public class InviteResolver {
+
+    /**
+     * The invites that has been resolved successfully, mapped by their invite code.
+     */
+    public static final Cache<String, ResolvedInvite> cache = CacheBuilder.newBuilder()
+        .recordStats()
+        .maximumSize(10000)
+        .expireAfterWrite(30, TimeUnit.MINUTES)
+        .build();
+
+    /**
+     * The invite codes that Discord failed to resolve, either because the
+     * invite doesn't exist, or because the bot can't view the invite.
+     */
+    public static final Cache<String, Boolean> unresolvedCache = CacheBuilder.newBuilder()
+        .recordStats()
+        .maximumSize(10000)
+        .expireAfterWrite(5, TimeUnit.MINUTES)
+        .build();
+
+    private static final Map<String, CompletableFuture<ResolvedInvite>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Resolves the given invite code, using the cached result for the
+     * invite code if the invite has been resolved recently.
+     *
+     * @param jda  The JDA instance that should be used to resolve the invite.
+     * @param code The invite code that should be resolved.
+     * @return A future that completes with either (1) the resolved invite, or (2)
+     * <code>NULL</code> if the invite could not be resolved.
+     */
+    public static CompletableFuture<ResolvedInvite> resolve(JDA jda, String code) {
+        ResolvedInvite invite = cache.getIfPresent(code);
+        if (invite != null) {
+            return CompletableFuture.completedFuture(invite);
+        }
+
+        if (unresolvedCache.getIfPresent(code) != null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<ResolvedInvite> future = new CompletableFuture<>();
+        CompletableFuture<ResolvedInvite> inFlight = pending.putIfAbsent(code, future);
+        if (inFlight != null) {
+            return inFlight;
+        }
+
+        Invite.resolve(jda, code).queue(resolved -> {
+            ResolvedInvite result = new ResolvedInvite(resolved);
+            cache.put(code, result);
+            complete(code, future, result);
+        }, error -> {
+            // Only errors returned by Discord are cached, errors caused by
+            // network issues or timeouts will be retried next time.
+            if (error instanceof ErrorResponseException) {
+                unresolvedCache.put(code, true);
+            }
+            complete(code, future, null);
+        });
+
+        return future;
+    }
+
+    private static void complete(String code, CompletableFuture<ResolvedInvite> future, @Nullable ResolvedInvite invite) {
+        pending.remove(code, future);
+        future.complete(invite);
+    }
+
+    public static class ResolvedInvite {
+
+        private final long guildId;
+        private final String guildName;
+        private final String url;
+        private final String inviter;
+
+        ResolvedInvite(Invite invite) {
+            this.guildId = invite.getGuild() == null ? 0L : invite.getGuild().getIdLong();
+            this.guildName = invite.getGuild() == null ? null : invite.getGuild().getName();
+            this.url = invite.getUrl();
+            this.inviter = String.valueOf(invite.getInviter());
+        }
+
+        /**
+         * Gets the ID of the guild the invite points to.
+         *
+         * @return The ID of the guild the invite points to, or <code>0</code>
+         * if the invite doesn't point to a guild.
+         */
+        public long getGuildId() {
+            return guildId;
+        }
+
+        @Nullable
+        public String getGuildName() {
+            return guildName;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public String getInviter() {
+            return inviter;
+        }
+    }
+}
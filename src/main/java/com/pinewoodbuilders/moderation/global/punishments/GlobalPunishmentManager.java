@@ -6,17 +6,17 @@ import com.pinewoodbuilders.contracts.verification.VerificationEntity;
 import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.collection.DataRow;
 import com.pinewoodbuilders.moderation.global.punishments.globalban.GlobalBanContainer;
+import com.pinewoodbuilders.moderation.global.punishments.globalban.GlobalBanIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 
 public class GlobalPunishmentManager {
 
     private final Logger log = LoggerFactory.getLogger(GlobalPunishmentManager.class);
-    private final HashMap <Long, HashSet <GlobalBanContainer>> globalBans = new HashMap<>();
+    private final GlobalBanIndex globalBans = new GlobalBanIndex();
     private final Xeus avaire;
 
     public GlobalPunishmentManager(Xeus xeus) {
@@ -24,15 +24,18 @@ public class GlobalPunishmentManager {
         syncWithDatabase();
     }
 
-    public HashMap <Long, HashSet <GlobalBanContainer>> getGlobalBans() {
-        return globalBans;
+    /**
+     * Gets the global bans in the given main group for the given Discord user ID.
+     *
+     * @param mgi    The ID of the main group the bans belongs to.
+     * @param userId The Discord ID of the banned user.
+     * @return The global bans for the given Discord user ID.
+     */
+    public List <GlobalBanContainer> getGlobalBans(long mgi, String userId) {
+        return globalBans.getByDiscordId(mgi, userId);
     }
 
     public void registerGlobalBan(String punisherId, long mgi, String userId, long robloxId, String robloxUsername, String reason) throws SQLException {
-        if (!globalBans.containsKey(mgi)) {
-            globalBans.put(mgi, new HashSet <>());
-        }
-
         if (userId != null && isGlobalBanned(mgi, userId)) {
             unregisterDiscordGlobalBan(mgi, userId);
         }
@@ -50,7 +53,7 @@ public class GlobalPunishmentManager {
             statement.set("reason", reason, true);
         });
 
-        globalBans.get(mgi).add(new GlobalBanContainer(reason, robloxId, robloxUsername, mgi, userId, punisherId));
+        globalBans.add(new GlobalBanContainer(reason, robloxId, robloxUsername, mgi, userId, punisherId));
     }
 
     private void syncWithDatabase() {
@@ -60,14 +63,7 @@ public class GlobalPunishmentManager {
             Collection rows = avaire.getDatabase().newQueryBuilder(Constants.ANTI_UNBAN_TABLE_NAME).get();
             long size = rows.size();
             for (DataRow row : rows) {
-                long mgi = row.getLong("main_group_id");
-
-
-                if (!globalBans.containsKey(mgi)) {
-                    globalBans.put(mgi, new HashSet<>());
-                }
-
-                globalBans.get(mgi).add(new GlobalBanContainer(row));
+                globalBans.add(new GlobalBanContainer(row));
             }
 
             log.info("Syncing complete! {} global bans have been loaded into memory.", size);
@@ -83,23 +79,7 @@ public class GlobalPunishmentManager {
      *                      database.
      */
     public void unregisterRobloxGlobalBan(long mgi, long robloxId) throws SQLException {
-        if (!globalBans.containsKey(mgi)) {
-            return;
-        }
-
-        final boolean[] removedEntities = {false};
-        synchronized (globalBans) {
-            globalBans.get(mgi).removeIf(next -> {
-                if (!isRobloxGlobalBanned(mgi, robloxId)) {
-                    return false;
-                }
-
-                removedEntities[0] = true;
-                return true;
-            });
-        }
-
-        if (removedEntities[0]) {
+        if (!globalBans.removeByRobloxId(mgi, robloxId).isEmpty()) {
             cleanupRobloxGlobalBan(mgi, robloxId);
         }
     }
@@ -123,23 +103,7 @@ public class GlobalPunishmentManager {
     }
 
     public void unregisterDiscordGlobalBan(long mgi, String userId) throws SQLException {
-        if (!globalBans.containsKey(mgi)) {
-            return;
-        }
-
-        final boolean[] removedEntities = {false};
-        synchronized (globalBans) {
-            globalBans.get(mgi).removeIf(next -> {
-                if (!isGlobalBanned(mgi, userId)) {
-                    return false;
-                }
-
-                removedEntities[0] = true;
-                return true;
-            });
-        }
-
-        if (removedEntities[0]) {
+        if (!globalBans.removeByDiscordId(mgi, userId).isEmpty()) {
             cleanupDiscordGlobalBan(mgi, userId);
         }
     }
@@ -171,14 +135,14 @@ public class GlobalPunishmentManager {
      * the given guild ID, {@code False} otherwise.
      */
     public boolean isGlobalBanned(long mgi, String discordId) {
-        if (!globalBans.containsKey(mgi)) {
-            return false;
+        if (globalBans.containsDiscordId(mgi, discordId)) {
+            return true;
         }
 
-        for (GlobalBanContainer container : globalBans.get(mgi)) {
-            if (container.isSame(mgi, discordId)) {
-                return true;
-            }
+        // Skips looking up the Roblox account for the user if there
+        // are no Roblox bans in the main group it could match.
+        if (!globalBans.hasRobloxBans(mgi)) {
+            return false;
         }
 
         VerificationEntity ve = avaire.getRobloxAPIManager().getVerification().fetchVerificationWithBackup(discordId, true);
@@ -189,16 +153,7 @@ public class GlobalPunishmentManager {
     }
 
     public boolean isRobloxGlobalBanned(long mgi, long robloxId) {
-        if (!globalBans.containsKey(mgi)) {
-            return false;
-        }
-
-        for (GlobalBanContainer container : globalBans.get(mgi)) {
-            if (container.isRobloxSame(mgi, robloxId)) {
-                return true;
-            }
-        }
-        return false;
+        return globalBans.containsRobloxId(mgi, robloxId);
     }
 
 }
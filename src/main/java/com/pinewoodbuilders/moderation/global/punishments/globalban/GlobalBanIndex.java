@@ -0,0 +1,463 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.global.punishments.globalban;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * An in-memory index of the global bans for each main group, the bans are
+ * indexed by both the Discord and the Roblox ID of the banned user, using
+ * primitive open addressing hash tables, so looking up a ban never has
+ * to scan through the other bans in the main group.
+ * <p>
+ * Each table is fronted by a blocked Bloom filter, where all the bits for
+ * an ID lives in the same cache line, since the vast majority of lookups
+ * are for users that are not banned, most lookups are answered by the
+ * Bloom filter without ever touching the hash table.
+ * <p>
+ * Lookups are lock-free in the common case, they only fall back to
+ * acquiring a read lock if a ban was changed during the lookup.
+ */
+public class GlobalBanIndex {
+
+    private static final GlobalBanContainer[] EMPTY = new GlobalBanContainer[0];
+
+    private final Map<Long, Group> groups = new ConcurrentHashMap<>();
+
+    /**
+     * Adds the given global ban to the index.
+     *
+     * @param container The global ban that should be added.
+     */
+    public void add(@Nonnull GlobalBanContainer container) {
+        groups.computeIfAbsent(container.getMainGroupId(), mgi -> new Group()).add(container);
+    }
+
+    /**
+     * Removes all the global bans in the given main group for the given Discord user ID,
+     * the bans are removed from both the Discord and the Roblox ID indexes.
+     *
+     * @param mgi    The ID of the main group the bans belongs to.
+     * @param userId The Discord ID of the banned user.
+     * @return The global bans that were removed.
+     */
+    @Nonnull
+    public List<GlobalBanContainer> removeByDiscordId(long mgi, @Nullable String userId) {
+        Group group = groups.get(mgi);
+        long id = parseId(userId);
+        if (group == null || id == 0) {
+            return Collections.emptyList();
+        }
+        return group.remove(group.discord, id);
+    }
+
+    /**
+     * Removes all the global bans in the given main group for the given Roblox user ID,
+     * the bans are removed from both the Discord and the Roblox ID indexes.
+     *
+     * @param mgi      The ID of the main group the bans belongs to.
+     * @param robloxId The Roblox ID of the banned user.
+     * @return The global bans that were removed.
+     */
+    @Nonnull
+    public List<GlobalBanContainer> removeByRobloxId(long mgi, long robloxId) {
+        Group group = groups.get(mgi);
+        if (group == null || robloxId == 0) {
+            return Collections.emptyList();
+        }
+        return group.remove(group.roblox, robloxId);
+    }
+
+    /**
+     * Gets the global bans in the given main group for the given Discord user ID.
+     *
+     * @param mgi    The ID of the main group the bans belongs to.
+     * @param userId The Discord ID of the banned user.
+     * @return The global bans for the Discord user ID.
+     */
+    @Nonnull
+    public List<GlobalBanContainer> getByDiscordId(long mgi, @Nullable String userId) {
+        return Arrays.asList(find(mgi, parseId(userId), true));
+    }
+
+    /**
+     * Gets the global bans in the given main group for the given Roblox user ID.
+     *
+     * @param mgi      The ID of the main group the bans belongs to.
+     * @param robloxId The Roblox ID of the banned user.
+     * @return The global bans for the Roblox user ID.
+     */
+    @Nonnull
+    public List<GlobalBanContainer> getByRobloxId(long mgi, long robloxId) {
+        return Arrays.asList(find(mgi, robloxId, false));
+    }
+
+    /**
+     * Checks if the given Discord user ID is globally banned in the given main group.
+     *
+     * @param mgi    The ID of the main group that should be checked.
+     * @param userId The Discord ID of the user that should be checked.
+     * @return {@code True} if the user is globally banned, {@code False} otherwise.
+     */
+    public boolean containsDiscordId(long mgi, @Nullable String userId) {
+        return find(mgi, parseId(userId), true).length > 0;
+    }
+
+    /**
+     * Checks if the given Roblox user ID is globally banned in the given main group.
+     *
+     * @param mgi      The ID of the main group that should be checked.
+     * @param robloxId The Roblox ID of the user that should be checked.
+     * @return {@code True} if the user is globally banned, {@code False} otherwise.
+     */
+    public boolean containsRobloxId(long mgi, long robloxId) {
+        return find(mgi, robloxId, false).length > 0;
+    }
+
+    /**
+     * Checks if there are any global bans with a Roblox user ID in the given main group.
+     *
+     * @param mgi The ID of the main group that should be checked.
+     * @return {@code True} if there are global bans with a Roblox user ID, {@code False} otherwise.
+     */
+    public boolean hasRobloxBans(long mgi) {
+        Group group = groups.get(mgi);
+        return group != null && group.roblox.size > 0;
+    }
+
+    /**
+     * Gets the total amount of global bans stored in the index.
+     *
+     * @return The total amount of global bans.
+     */
+    public int size() {
+        int size = 0;
+        for (Group group : groups.values()) {
+            size += group.size;
+        }
+        return size;
+    }
+
+    private GlobalBanContainer[] find(long mgi, long id, boolean discord) {
+        Group group = groups.get(mgi);
+        if (group == null || id == 0) {
+            return EMPTY;
+        }
+
+        StampedLock lock = group.lock;
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            GlobalBanContainer[] result = (discord ? group.discord : group.roblox).get(id);
+            if (lock.validate(stamp)) {
+                return result;
+            }
+        }
+
+        stamp = lock.readLock();
+        try {
+            return (discord ? group.discord : group.roblox).get(id);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    static long parseId(@Nullable String id) {
+        if (id == null) {
+            return 0;
+        }
+
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+
+    private static final class Group {
+
+        private final StampedLock lock = new StampedLock();
+        private final Table discord = new Table();
+        private final Table roblox = new Table();
+        private volatile int size = 0;
+
+        void add(GlobalBanContainer container) {
+            long discordId = parseId(container.getUserId());
+            long stamp = lock.writeLock();
+            try {
+                if (discordId != 0) {
+                    discord.add(discordId, container);
+                }
+                if (container.getRobloxId() != 0) {
+                    roblox.add(container.getRobloxId(), container);
+                }
+                size++;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        List<GlobalBanContainer> remove(Table table, long id) {
+            long stamp = lock.writeLock();
+            try {
+                GlobalBanContainer[] removed = table.remove(id);
+                for (GlobalBanContainer container : removed) {
+                    if (table == discord) {
+                        roblox.remove(container.getRobloxId(), container);
+                    } else {
+                        discord.remove(parseId(container.getUserId()), container);
+                    }
+                }
+                size -= removed.length;
+
+                return new ArrayList<>(Arrays.asList(removed));
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * A primitive long to global bans hash table using linear probing, fronted
+     * by a blocked Bloom filter, the table is not thread-safe on its own.
+     */
+    private static final class Table {
+
+        private static final int MIN_CAPACITY = 16;
+        private static final int BLOOM_BITS_PER_KEY = 16;
+
+        private Slots slots = new Slots(MIN_CAPACITY);
+        private volatile int size = 0;
+
+        private long[] bloom = new long[8];
+        private int bloomCapacity = 32;
+
+        GlobalBanContainer[] get(long key) {
+            long hash = mix(key);
+            if (!mightContain(bloom, hash)) {
+                return EMPTY;
+            }
+
+            // Both arrays are read through the same slots instance, so they always
+            // have the same length, even if the table is resized during the lookup.
+            Slots slots = this.slots;
+            long[] keys = slots.keys;
+            GlobalBanContainer[][] values = slots.values;
+            int mask = keys.length - 1;
+            for (int index = (int) hash & mask; ; index = (index + 1) & mask) {
+                long current = keys[index];
+                if (current == key) {
+                    GlobalBanContainer[] result = values[index];
+                    return result == null ? EMPTY : result;
+                }
+                if (current == 0) {
+                    return EMPTY;
+                }
+            }
+        }
+
+        void add(long key, GlobalBanContainer container) {
+            if ((size + 1) * 2 > slots.keys.length) {
+                resize(slots.keys.length * 2);
+            }
+
+            long[] keys = slots.keys;
+            GlobalBanContainer[][] values = slots.values;
+            long hash = mix(key);
+            int mask = keys.length - 1;
+            int index = (int) hash & mask;
+            while (keys[index] != 0 && keys[index] != key) {
+                index = (index + 1) & mask;
+            }
+
+            if (keys[index] == key) {
+                GlobalBanContainer[] current = values[index];
+                GlobalBanContainer[] updated = Arrays.copyOf(current, current.length + 1);
+                updated[current.length] = container;
+                values[index] = updated;
+                return;
+            }
+
+            if (size + 1 > bloomCapacity) {
+                rebuildBloom(bloomCapacity * 2);
+            }
+            setBloom(bloom, hash);
+
+            values[index] = new GlobalBanContainer[]{container};
+            keys[index] = key;
+            size++;
+        }
+
+        GlobalBanContainer[] remove(long key) {
+            int index = indexOf(key);
+            if (index < 0) {
+                return EMPTY;
+            }
+
+            GlobalBanContainer[] removed = slots.values[index];
+            delete(index);
+            return removed;
+        }
+
+        void remove(long key, GlobalBanContainer container) {
+            if (key == 0) {
+                return;
+            }
+
+            int index = indexOf(key);
+            if (index < 0) {
+                return;
+            }
+
+            GlobalBanContainer[] current = slots.values[index];
+            int count = 0;
+            GlobalBanContainer[] updated = new GlobalBanContainer[current.length];
+            for (GlobalBanContainer entry : current) {
+                if (entry != container) {
+                    updated[count++] = entry;
+                }
+            }
+
+            if (count == 0) {
+                delete(index);
+            } else if (count != current.length) {
+                slots.values[index] = Arrays.copyOf(updated, count);
+            }
+        }
+
+        private int indexOf(long key) {
+            long[] keys = slots.keys;
+            int mask = keys.length - 1;
+            for (int index = (int) mix(key) & mask; ; index = (index + 1) & mask) {
+                if (keys[index] == key) {
+                    return index;
+                }
+                if (keys[index] == 0) {
+                    return -1;
+                }
+            }
+        }
+
+        private void delete(int index) {
+            // Shifts the following entries in the probe sequence back, so
+            // lookups never have to skip over tombstones for removed keys.
+            long[] keys = slots.keys;
+            GlobalBanContainer[][] values = slots.values;
+            int mask = keys.length - 1;
+            int next = (index + 1) & mask;
+            while (keys[next] != 0) {
+                int ideal = (int) mix(keys[next]) & mask;
+                if (((next - ideal) & mask) >= ((next - index) & mask)) {
+                    keys[index] = keys[next];
+                    values[index] = values[next];
+                    index = next;
+                }
+                next = (next + 1) & mask;
+            }
+
+            keys[index] = 0;
+            values[index] = null;
+            size--;
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = slots.keys;
+            GlobalBanContainer[][] oldValues = slots.values;
+
+            Slots slots = new Slots(capacity);
+            long[] keys = slots.keys;
+            GlobalBanContainer[][] values = slots.values;
+            int mask = capacity - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] == 0) {
+                    continue;
+                }
+
+                int index = (int) mix(oldKeys[i]) & mask;
+                while (keys[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+
+            this.slots = slots;
+        }
+
+        private void rebuildBloom(int capacity) {
+            long[] bloom = new long[Math.max(8, Integer.highestOneBit(capacity * BLOOM_BITS_PER_KEY / 64 - 1) << 1)];
+            for (long key : slots.keys) {
+                if (key != 0) {
+                    setBloom(bloom, mix(key));
+                }
+            }
+
+            this.bloomCapacity = capacity;
+            this.bloom = bloom;
+        }
+
+        private static boolean mightContain(long[] bloom, long hash) {
+            int block = blockOf(bloom, hash);
+            return (bloom[block + (int) ((hash >>> 6) & 7)] & (1L << hash)) != 0
+                && (bloom[block + (int) ((hash >>> 15) & 7)] & (1L << (hash >>> 9))) != 0
+                && (bloom[block + (int) ((hash >>> 24) & 7)] & (1L << (hash >>> 18))) != 0;
+        }
+
+        private static void setBloom(long[] bloom, long hash) {
+            int block = blockOf(bloom, hash);
+            bloom[block + (int) ((hash >>> 6) & 7)] |= 1L << hash;
+            bloom[block + (int) ((hash >>> 15) & 7)] |= 1L << (hash >>> 9);
+            bloom[block + (int) ((hash >>> 24) & 7)] |= 1L << (hash >>> 18);
+        }
+
+        private static int blockOf(long[] bloom, long hash) {
+            // Every block is 8 longs, or a single 64 byte cache line.
+            return (int) (hash >>> 40) & (bloom.length - 8);
+        }
+    }
+
+    private static final class Slots {
+
+        private final long[] keys;
+        private final GlobalBanContainer[][] values;
+
+        Slots(int capacity) {
+            keys = new long[capacity];
+            values = new GlobalBanContainer[capacity][];
+        }
+    }
+}
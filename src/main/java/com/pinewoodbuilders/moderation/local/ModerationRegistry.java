@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.local;
+
+import com.pinewoodbuilders.contracts.moderation.ModerationContainer;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * A thread-safe registry of local moderation containers, the containers are
+ * indexed by their guild and user IDs, so checking if a user has any
+ * containers registered in a guild doesn't have to scan anything.
+ * <p>
+ * The containers registered for each guild and user pair are stored as an
+ * immutable snapshot that is replaced on every change, so the lists returned
+ * by the registry can safely be iterated while the registry is being changed.
+ * The registry also keeps track of how many containers are registered in each
+ * guild, and keeps all the temporary containers ordered by when they expire.
+ *
+ * @param <C> The type of moderation containers stored in the registry.
+ */
+public class ModerationRegistry<C extends ModerationContainer> {
+
+    private static final Comparator<Entry<?>> EXPIRY_ORDER = Comparator
+        .<Entry<?>>comparingLong(entry -> entry.expiresAt)
+        .thenComparingLong(entry -> entry.sequence);
+
+    private final Map<Key, List<Entry<C>>> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> guildSizes = new ConcurrentHashMap<>();
+    private final NavigableSet<Entry<C>> expiring = new ConcurrentSkipListSet<>(EXPIRY_ORDER);
+
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Adds the given container to the registry, any containers that are already
+     * registered for the same guild and user IDs are kept in the registry.
+     *
+     * @param container The container that should be added.
+     */
+    public void add(@Nonnull C container) {
+        Entry<C> entry = new Entry<>(container, sequence.incrementAndGet());
+
+        entries.compute(new Key(container), (key, current) -> {
+            List<Entry<C>> updated = new ArrayList<>(current == null ? 1 : current.size() + 1);
+            if (current != null) {
+                updated.addAll(current);
+            }
+            updated.add(entry);
+
+            link(key, entry);
+            return Collections.unmodifiableList(updated);
+        });
+    }
+
+    /**
+     * Adds the given container to the registry, replacing any containers that
+     * are already registered for the same guild and user IDs.
+     *
+     * @param container The container that should be added.
+     * @return The containers that were replaced by the given container.
+     */
+    @Nonnull
+    public List<C> put(@Nonnull C container) {
+        Entry<C> entry = new Entry<>(container, sequence.incrementAndGet());
+        List<C> replaced = new ArrayList<>();
+
+        entries.compute(new Key(container), (key, current) -> {
+            if (current != null) {
+                unlink(key, current, replaced);
+            }
+
+            link(key, entry);
+            return Collections.singletonList(entry);
+        });
+
+        return replaced;
+    }
+
+    /**
+     * Removes all the containers registered for the given guild and user IDs.
+     *
+     * @param guildId The ID of the guild the containers are registered to.
+     * @param userId  The ID of the user the containers are registered for.
+     * @return The containers that were removed.
+     */
+    @Nonnull
+    public List<C> remove(long guildId, long userId) {
+        return remove(guildId, userId, container -> true);
+    }
+
+    /**
+     * Removes the containers registered for the given guild and
+     * user IDs that matches the given filter.
+     *
+     * @param guildId The ID of the guild the containers are registered to.
+     * @param userId  The ID of the user the containers are registered for.
+     * @param filter  The filter the containers must match to be removed.
+     * @return The containers that were removed.
+     */
+    @Nonnull
+    public List<C> remove(long guildId, long userId, @Nonnull Predicate<? super C> filter) {
+        List<C> removed = new ArrayList<>();
+
+        entries.computeIfPresent(new Key(guildId, userId), (key, current) -> {
+            List<Entry<C>> matches = new ArrayList<>();
+            List<Entry<C>> remaining = new ArrayList<>();
+            for (Entry<C> entry : current) {
+                (filter.test(entry.container) ? matches : remaining).add(entry);
+            }
+
+            if (matches.isEmpty()) {
+                return current;
+            }
+
+            unlink(key, matches, removed);
+            return remaining.isEmpty() ? null : Collections.unmodifiableList(remaining);
+        });
+
+        return removed;
+    }
+
+    /**
+     * Checks if there are any containers registered for the given guild and user IDs.
+     *
+     * @param guildId The ID of the guild that should be checked.
+     * @param userId  The ID of the user that should be checked.
+     * @return {@code True} if there are containers registered for
+     *         the guild and user IDs, {@code False} otherwise.
+     */
+    public boolean contains(long guildId, long userId) {
+        return entries.containsKey(new Key(guildId, userId));
+    }
+
+    /**
+     * Gets the containers registered for the given guild and user IDs, in
+     * the order they were added, the returned list is a snapshot and
+     * will not reflect changes made to the registry afterwards.
+     *
+     * @param guildId The ID of the guild the containers are registered to.
+     * @param userId  The ID of the user the containers are registered for.
+     * @return The containers registered for the guild and user IDs.
+     */
+    @Nonnull
+    public List<C> get(long guildId, long userId) {
+        List<Entry<C>> current = entries.get(new Key(guildId, userId));
+        if (current == null) {
+            return Collections.emptyList();
+        }
+
+        List<C> containers = new ArrayList<>(current.size());
+        for (Entry<C> entry : current) {
+            containers.add(entry.container);
+        }
+        return containers;
+    }
+
+    /**
+     * Gets the temporary containers that expires before the given time, ordered
+     * by when they expire, with the containers that expires first at the start.
+     *
+     * @param timestamp The unix timestamp, in seconds, the containers should expire before.
+     * @return The temporary containers that expires before the given time.
+     */
+    @Nonnull
+    public List<C> getExpiringBefore(long timestamp) {
+        List<C> containers = new ArrayList<>();
+        for (Entry<C> entry : expiring) {
+            if (entry.expiresAt >= timestamp) {
+                break;
+            }
+            containers.add(entry.container);
+        }
+        return containers;
+    }
+
+    /**
+     * Gets the total amount of containers registered in the registry.
+     *
+     * @return The total amount of containers registered.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Gets the amount of containers registered in the given guild.
+     *
+     * @param guildId The ID of the guild the containers are registered to.
+     * @return The amount of containers registered in the guild.
+     */
+    public int size(long guildId) {
+        return guildSizes.getOrDefault(guildId, 0);
+    }
+
+    /**
+     * Checks if the registry is empty.
+     *
+     * @return {@code True} if there are no containers registered, {@code False} otherwise.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    private void link(Key key, Entry<C> entry) {
+        if (entry.expiresAt != Long.MAX_VALUE) {
+            expiring.add(entry);
+        }
+
+        guildSizes.merge(key.guildId, 1, Integer::sum);
+        size.incrementAndGet();
+    }
+
+    private void unlink(Key key, List<Entry<C>> entries, List<C> removed) {
+        for (Entry<C> entry : entries) {
+            expiring.remove(entry);
+            removed.add(entry.container);
+        }
+
+        guildSizes.merge(key.guildId, -entries.size(), (current, delta) -> {
+            int updated = current + delta;
+            return updated == 0 ? null : updated;
+        });
+        size.addAndGet(-entries.size());
+    }
+
+    private static final class Key {
+
+        private final long guildId;
+        private final long userId;
+
+        Key(ModerationContainer container) {
+            this(container.getGuildId(), container.getUserId());
+        }
+
+        Key(long guildId, long userId) {
+            this.guildId = guildId;
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+
+            Key key = (Key) obj;
+            return guildId == key.guildId && userId == key.userId;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(guildId) + Long.hashCode(userId);
+        }
+    }
+
+    private static final class Entry<C extends ModerationContainer> {
+
+        private final C container;
+        private final long expiresAt;
+        private final long sequence;
+
+        Entry(C container, long sequence) {
+            this.container = container;
+            this.expiresAt = container.isPermanent()
+                ? Long.MAX_VALUE
+                // noinspection ConstantConditions
+                : container.getExpiresAt().getTimestamp();
+            this.sequence = sequence;
+        }
+    }
+}
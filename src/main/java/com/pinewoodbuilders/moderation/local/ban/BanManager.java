@@ -26,6 +26,7 @@ import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.collection.DataRow;
 import com.pinewoodbuilders.language.I18n;
+import com.pinewoodbuilders.moderation.local.ModerationRegistry;
 import com.pinewoodbuilders.modlog.local.shared.ModlogType;
 import com.pinewoodbuilders.time.Carbon;
 import org.slf4j.Logger;
@@ -33,14 +34,12 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
+import java.util.List;
 
 public class BanManager {
 
     private final Logger log = LoggerFactory.getLogger(BanManager.class);
-    private final HashMap<Long, HashSet<BanContainer>> bans = new HashMap<>();
+    private final ModerationRegistry<BanContainer> bans = new ModerationRegistry<>();
 
     private final Xeus avaire;
 
@@ -77,10 +76,6 @@ public class BanManager {
      *                      to be removed before the new ban is registered.
      */
     public void registerBan(String caseId, long guildId, long userId, @Nullable Carbon expiresAt) throws SQLException {
-        if (!bans.containsKey(guildId)) {
-            bans.put(guildId, new HashSet<>());
-        }
-
         if (isBanned(guildId, userId)) {
             unregisterBan(guildId, userId);
         }
@@ -92,7 +87,9 @@ public class BanManager {
                 statement.set("expires_in", expiresAt);
             });
 
-        bans.get(guildId).add(new BanContainer(guildId, userId, expiresAt));
+        for (BanContainer replaced : bans.put(new BanContainer(guildId, userId, expiresAt))) {
+            replaced.cancelSchedule();
+        }
     }
 
     /**
@@ -103,29 +100,16 @@ public class BanManager {
      * @throws SQLException If the unban fails to delete the ban record from the database.
      */
     public void unregisterBan(long guildId, long userId) throws SQLException {
-        if (!bans.containsKey(guildId)) {
+        List<BanContainer> removed = bans.remove(guildId, userId);
+        if (removed.isEmpty()) {
             return;
         }
 
-        final boolean[] removedEntities = {false};
-        synchronized (bans) {
-            bans.get(guildId).removeIf(next -> {
-                if (!next.isSame(guildId, userId)) {
-                    return false;
-                }
-
-                if (next.getSchedule() != null) {
-                    next.cancelSchedule();
-                }
-
-                removedEntities[0] = true;
-                return true;
-            });
+        for (BanContainer container : removed) {
+            container.cancelSchedule();
         }
 
-        if (removedEntities[0]) {
-            cleanupBans(guildId, userId);
-        }
+        cleanupBans(guildId, userId);
     }
 
     /**
@@ -138,16 +122,7 @@ public class BanManager {
      * with the given guild ID, {@code False} otherwise.
      */
     public boolean isBanned(long guildId, long userId) {
-        if (!bans.containsKey(guildId)) {
-            return false;
-        }
-
-        for (BanContainer container : bans.get(guildId)) {
-            if (container.isSame(guildId, userId)) {
-                return true;
-            }
-        }
-        return false;
+        return bans.contains(guildId, userId);
     }
 
     /**
@@ -157,21 +132,17 @@ public class BanManager {
      * @return The total amount of bans stored.
      */
     public int getTotalAmountOfBans() {
-        int totalbans = 0;
-        for (Map.Entry<Long, HashSet<BanContainer>> entry : bans.entrySet()) {
-            totalbans += entry.getValue().size();
-        }
-        return totalbans;
+        return bans.size();
     }
 
     /**
-     * Gets the map of bans currently stored, where the key is the guild ID for
-     * the bans, and the value is a set of ban containers, which holds
-     * the information about each individual ban.
+     * Gets the registry of bans currently stored, the registry holds the
+     * ban container for each user, which holds the information about each
+     * individual ban, indexed by the guild and user IDs of the ban.
      *
-     * @return The complete map of bans currently stored.
+     * @return The registry of bans currently stored.
      */
-    public HashMap<Long, HashSet<BanContainer>> getBans() {
+    public ModerationRegistry<BanContainer> getBans() {
         return bans;
     }
 
@@ -185,17 +156,15 @@ public class BanManager {
         try {
             int size = getTotalAmountOfBans();
             for (DataRow row : avaire.getDatabase().query(query)) {
-                long guildId = row.getLong("guild_id");
-
-                if (!bans.containsKey(guildId)) {
-                    bans.put(guildId, new HashSet<>());
-                }
-
-                bans.get(guildId).add(new BanContainer(
+                List<BanContainer> replaced = bans.put(new BanContainer(
                     row.getLong("guild_id"),
                     row.getLong("target_id"),
                     row.getTimestamp("expires_in")
                 ));
+
+                for (BanContainer container : replaced) {
+                    container.cancelSchedule();
+                }
             }
 
             log.info("Syncing complete! {} ban entries was found that has not expired yet",
@@ -21,6 +21,7 @@
 
 package com.pinewoodbuilders.moderation.local.mute;
 
+import com.pinewoodbuilders.contracts.moderation.ModerationContainer;
 import com.pinewoodbuilders.time.Carbon;
 
 import javax.annotation.Nonnull;
@@ -28,7 +29,7 @@ import javax.annotation.Nullable;
 import java.util.concurrent.ScheduledFuture;
 
 @SuppressWarnings("WeakerAccess")
-public class MuteContainer {
+public class MuteContainer implements ModerationContainer {
 
     private final long guildId;
     private final long userId;
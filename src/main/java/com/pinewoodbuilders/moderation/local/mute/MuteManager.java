@@ -26,6 +26,7 @@ import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.collection.DataRow;
 import com.pinewoodbuilders.language.I18n;
+import com.pinewoodbuilders.moderation.local.ModerationRegistry;
 import com.pinewoodbuilders.modlog.local.shared.ModlogType;
 import com.pinewoodbuilders.time.Carbon;
 import org.slf4j.Logger;
@@ -33,14 +34,12 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
+import java.util.List;
 
 public class MuteManager {
 
     private final Logger log = LoggerFactory.getLogger(MuteManager.class);
-    private final HashMap<Long, HashSet<MuteContainer>> mutes = new HashMap<>();
+    private final ModerationRegistry<MuteContainer> mutes = new ModerationRegistry<>();
 
     private final Xeus avaire;
 
@@ -76,10 +75,6 @@ public class MuteManager {
      *                      be removed before the new mute is registered.
      */
     public void registerMute(String caseId, long guildId, long userId, @Nullable Carbon expiresAt) throws SQLException {
-        if (!mutes.containsKey(guildId)) {
-            mutes.put(guildId, new HashSet<>());
-        }
-
         if (isMuted(guildId, userId)) {
             unregisterMute(guildId, userId);
         }
@@ -90,7 +85,9 @@ public class MuteManager {
             statement.set("expires_in", expiresAt);
         });
 
-        mutes.get(guildId).add(new MuteContainer(guildId, userId, expiresAt));
+        for (MuteContainer replaced : mutes.put(new MuteContainer(guildId, userId, expiresAt))) {
+            replaced.cancelSchedule();
+        }
     }
 
 
@@ -104,29 +101,16 @@ public class MuteManager {
      *                      database.
      */
     public void unregisterMute(long guildId, long userId) throws SQLException {
-        if (!mutes.containsKey(guildId)) {
+        List<MuteContainer> removed = mutes.remove(guildId, userId);
+        if (removed.isEmpty()) {
             return;
         }
 
-        final boolean[] removedEntities = { false };
-        synchronized (mutes) {
-            mutes.get(guildId).removeIf(next -> {
-                if (!next.isSame(guildId, userId)) {
-                    return false;
-                }
-
-                if (next.getSchedule() != null) {
-                    next.cancelSchedule();
-                }
-
-                removedEntities[0] = true;
-                return true;
-            });
+        for (MuteContainer container : removed) {
+            container.cancelSchedule();
         }
 
-        if (removedEntities[0]) {
-            cleanupMutes(guildId, userId);
-        }
+        cleanupMutes(guildId, userId);
     }
 
 
@@ -141,17 +125,7 @@ public class MuteManager {
      *         the given guild ID, {@code False} otherwise.
      */
     public boolean isMuted(long guildId, long userId) {
-        if (!mutes.containsKey(guildId)) {
-            return false;
-        }
-
-        for (MuteContainer container : mutes.get(guildId)) {
-            if (container.isSame(guildId, userId)) {
-                return true;
-            }
-        }
-
-        return false;
+        return mutes.contains(guildId, userId);
     }
 
 
@@ -162,23 +136,19 @@ public class MuteManager {
      * @return The total amount of mutes stored.
      */
     public int getTotalAmountOfMutes() {
-        int totalMutes = 0;
-        for (Map.Entry<Long, HashSet<MuteContainer>> entry : mutes.entrySet()) {
-            totalMutes += entry.getValue().size();
-        }
-        return totalMutes;
+        return mutes.size();
     }
 
 
 
     /**
-     * Gets the map of mutes currently stored, where the key is the guild ID for the
-     * mutes, and the value is a set of mute containers, which holds the information
-     * about each individual mute.
+     * Gets the registry of mutes currently stored, the registry holds the mute
+     * container for each muted user, which holds the information about each
+     * individual mute, indexed by the guild and user IDs of the mute.
      *
-     * @return The complete map of mutes currently stored.
+     * @return The registry of mutes currently stored.
      */
-    public HashMap<Long, HashSet<MuteContainer>> getMutes() {
+    public ModerationRegistry<MuteContainer> getMutes() {
         return mutes;
     }
 
@@ -192,14 +162,12 @@ public class MuteManager {
         try {
             int size = getTotalAmountOfMutes();
             for (DataRow row : avaire.getDatabase().query(query)) {
-                long guildId = row.getLong("guild_id");
+                List<MuteContainer> replaced = mutes.put(new MuteContainer(row.getLong("guild_id"),
+                    row.getLong("target_id"), row.getTimestamp("expires_in")));
 
-                if (!mutes.containsKey(guildId)) {
-                    mutes.put(guildId, new HashSet<>());
+                for (MuteContainer container : replaced) {
+                    container.cancelSchedule();
                 }
-
-                mutes.get(guildId).add(new MuteContainer(row.getLong("guild_id"), row.getLong("target_id"),
-                    row.getTimestamp("expires_in")));
             }
 
             log.info("Syncing complete! {} mutes entries was found that has not expired yet",
@@ -21,6 +21,7 @@
 
 package com.pinewoodbuilders.moderation.local.warn;
 
+import com.pinewoodbuilders.contracts.moderation.ModerationContainer;
 import com.pinewoodbuilders.time.Carbon;
 
 import javax.annotation.Nonnull;
@@ -29,7 +30,7 @@ import java.util.Objects;
 import java.util.concurrent.ScheduledFuture;
 
 @SuppressWarnings("WeakerAccess")
-public class WarnContainer {
+public class WarnContainer implements ModerationContainer {
 
     private final long guildId;
     private final long userId;
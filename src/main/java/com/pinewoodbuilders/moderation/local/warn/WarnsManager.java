@@ -26,6 +26,7 @@ import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.collection.DataRow;
 import com.pinewoodbuilders.language.I18n;
+import com.pinewoodbuilders.moderation.local.ModerationRegistry;
 import com.pinewoodbuilders.modlog.local.shared.ModlogType;
 import com.pinewoodbuilders.time.Carbon;
 import org.slf4j.Logger;
@@ -33,14 +34,12 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.List;
 
 public class WarnsManager {
 
     private final Logger log = LoggerFactory.getLogger(WarnsManager.class);
-    private final HashMap <Long, HashMap <Long, HashSet <WarnContainer>>> warns = new HashMap <>();
+    private final ModerationRegistry<WarnContainer> warns = new ModerationRegistry<>();
 
     private final Xeus avaire;
 
@@ -77,14 +76,6 @@ public class WarnsManager {
      *                      to be removed before the new warn is registered.
      */
     public void registerWarn(String caseId, long guildId, long userId, @Nullable Carbon expiresAt) throws SQLException {
-        if (!warns.containsKey(guildId)) {
-            warns.put(guildId, new HashMap <>());
-        }
-
-        if (!warns.get(guildId).containsKey(userId)) {
-            warns.get(guildId).put(userId, new HashSet <>());
-        }
-
         avaire.getDatabase().newQueryBuilder(Constants.WARNINGS_TABLE_NAME)
             .insert(statement -> {
                 statement.set("guild_id", guildId);
@@ -92,7 +83,7 @@ public class WarnsManager {
                 statement.set("expires_in", expiresAt);
             });
 
-        warns.get(guildId).get(userId).add(new WarnContainer(guildId, userId, expiresAt, caseId));
+        warns.add(new WarnContainer(guildId, userId, expiresAt, caseId));
     }
 
     /**
@@ -103,35 +94,16 @@ public class WarnsManager {
      * @throws SQLException If the unwarn fails to delete the warn record from the database.
      */
     public void unregisterWarn(long guildId, long userId, String caseId) throws SQLException {
-        if (!warns.containsKey(guildId)) {
+        List<WarnContainer> removed = warns.remove(guildId, userId, next -> next.isSame(guildId, userId, caseId));
+        if (removed.isEmpty()) {
             return;
         }
 
-        if (!warns.get(guildId).containsKey(userId)) {
-            return;
+        for (WarnContainer container : removed) {
+            container.cancelSchedule();
         }
 
-        AtomicBoolean removedEntities = new AtomicBoolean();
-
-        warns.get(guildId).get(userId).removeIf(next -> {
-            if (next.isSame(guildId, userId, caseId)) {
-                if (next.getSchedule() != null) {
-                    next.cancelSchedule();
-                }
-
-                removedEntities.set(true);
-
-            } else {
-                removedEntities.set(false);
-            }
-
-            return removedEntities.get();
-        });
-
-
-        if (removedEntities.get()) {
-            cleanupWarns(guildId, userId, caseId);
-        }
+        cleanupWarns(guildId, userId, caseId);
     }
 
     /**
@@ -139,19 +111,10 @@ public class WarnsManager {
      *
      * @param guildId The ID of the guild that should be checked.
      * @param userId  The ID of the user that should be warnd.
-     * @return {@code True} if a user with the given ID is warnd on a server
-     * with the given guild ID, {@code False} otherwise.
+     * @return The warns the user has in the given guild, in the order they were registered.
      */
-    public HashSet <WarnContainer> getWarns(long guildId, long userId) {
-        if (!warns.containsKey(guildId)) {
-            return new HashSet <>();
-        }
-
-        if (!warns.get(guildId).containsKey(userId)) {
-            return new HashSet <>();
-        }
-
-        return warns.get(guildId).get(userId);
+    public List<WarnContainer> getWarns(long guildId, long userId) {
+        return warns.get(guildId, userId);
     }
 
     /**
@@ -165,13 +128,13 @@ public class WarnsManager {
     }
 
     /**
-     * Gets the map of warns currently stored, where the key is the guild ID for
-     * the warns, and the value is a set of warn containers, which holds
-     * the information about each individual warn.
+     * Gets the registry of warns currently stored, the registry holds the
+     * warn containers for each user, which holds the information about
+     * each individual warn, indexed by the guild and user IDs of the warn.
      *
-     * @return The complete map of warns currently stored.
+     * @return The registry of warns currently stored.
      */
-    public HashMap <Long, HashMap <Long, HashSet <WarnContainer>>> getWarns() {
+    public ModerationRegistry<WarnContainer> getWarns() {
         return warns;
     }
 
@@ -185,19 +148,7 @@ public class WarnsManager {
         try {
             int size = getTotalAmountOfWarns();
             for (DataRow row : avaire.getDatabase().query(query)) {
-                long guildId = row.getLong("guild_id");
-                long targetId = row.getLong("target_id");
-
-
-                if (!warns.containsKey(guildId)) {
-                    warns.put(guildId, new HashMap <>());
-                }
-
-                if (!warns.get(guildId).containsKey(targetId)) {
-                    warns.get(guildId).put(targetId, new HashSet <>());
-                }
-
-                warns.get(guildId).get(targetId).add(new WarnContainer(
+                warns.add(new WarnContainer(
                     row.getLong("guild_id"),
                     row.getLong("target_id"),
                     row.getTimestamp("expires_in"),
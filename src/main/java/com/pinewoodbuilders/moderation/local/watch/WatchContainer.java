@@ -21,6 +21,7 @@
 
 package com.pinewoodbuilders.moderation.local.watch;
 
+import com.pinewoodbuilders.contracts.moderation.ModerationContainer;
 import com.pinewoodbuilders.time.Carbon;
 
 import javax.annotation.Nonnull;
@@ -28,7 +29,7 @@ import javax.annotation.Nullable;
 import java.util.concurrent.ScheduledFuture;
 
 @SuppressWarnings("WeakerAccess")
-public class WatchContainer {
+public class WatchContainer implements ModerationContainer {
 
     private final long guildId;
     private final long userId;
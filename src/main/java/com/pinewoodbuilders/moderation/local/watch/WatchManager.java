@@ -26,6 +26,7 @@ import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.collection.DataRow;
 import com.pinewoodbuilders.language.I18n;
+import com.pinewoodbuilders.moderation.local.ModerationRegistry;
 import com.pinewoodbuilders.modlog.local.shared.ModlogType;
 import com.pinewoodbuilders.time.Carbon;
 import org.slf4j.Logger;
@@ -33,14 +34,12 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
+import java.util.List;
 
 public class WatchManager {
 
     private final Logger log = LoggerFactory.getLogger(WatchManager.class);
-    private final HashMap<Long, HashSet<WatchContainer>> OnWatchs = new HashMap<>();
+    private final ModerationRegistry<WatchContainer> OnWatchs = new ModerationRegistry<>();
 
     private final Xeus avaire;
 
@@ -77,10 +76,6 @@ public class WatchManager {
      *                      to be removed before the new OnWatch is registered.
      */
     public void registerOnWatch(String caseId, long guildId, long userId, @Nullable Carbon expiresAt) throws SQLException {
-        if (!OnWatchs.containsKey(guildId)) {
-            OnWatchs.put(guildId, new HashSet<>());
-        }
-
         if (isOnWatchd(guildId, userId)) {
             unregisterOnWatch(guildId, userId);
         }
@@ -92,7 +87,9 @@ public class WatchManager {
                 statement.set("expires_in", expiresAt);
             });
 
-        OnWatchs.get(guildId).add(new WatchContainer(guildId, userId, expiresAt));
+        for (WatchContainer replaced : OnWatchs.put(new WatchContainer(guildId, userId, expiresAt))) {
+            replaced.cancelSchedule();
+        }
     }
 
     /**
@@ -103,29 +100,16 @@ public class WatchManager {
      * @throws SQLException If the unOnWatch fails to delete the OnWatch record from the database.
      */
     public void unregisterOnWatch(long guildId, long userId) throws SQLException {
-        if (!OnWatchs.containsKey(guildId)) {
+        List<WatchContainer> removed = OnWatchs.remove(guildId, userId);
+        if (removed.isEmpty()) {
             return;
         }
 
-        final boolean[] removedEntities = {false};
-        synchronized (OnWatchs) {
-            OnWatchs.get(guildId).removeIf(next -> {
-                if (!next.isSame(guildId, userId)) {
-                    return false;
-                }
-
-                if (next.getSchedule() != null) {
-                    next.cancelSchedule();
-                }
-
-                removedEntities[0] = true;
-                return true;
-            });
+        for (WatchContainer container : removed) {
+            container.cancelSchedule();
         }
 
-        if (removedEntities[0]) {
-            cleanupOnWatchs(guildId, userId);
-        }
+        cleanupOnWatchs(guildId, userId);
     }
 
     /**
@@ -138,20 +122,7 @@ public class WatchManager {
      *         with the given guild ID, {@code False} otherwise.
      */
     public boolean isOnWatchd(long guildId, long userId) {
-        if (!OnWatchs.containsKey(guildId)) {
-            return false;
-        }
-
-        for (WatchContainer container : OnWatchs.get(guildId)) {
-            if (container.isPublic()) {
-                return true;
-            }
-            
-            if (container.isSame(guildId, userId)) {
-                return true;
-            }
-        }
-        return false;
+        return OnWatchs.contains(guildId, userId);
     }
 
     /**
@@ -161,21 +132,17 @@ public class WatchManager {
      * @return The total amount of OnWatchs stored.
      */
     public int getTotalAmountOfOnWatchs() {
-        int totalOnWatchs = 0;
-        for (Map.Entry<Long, HashSet<WatchContainer>> entry : OnWatchs.entrySet()) {
-            totalOnWatchs += entry.getValue().size();
-        }
-        return totalOnWatchs;
+        return OnWatchs.size();
     }
 
     /**
-     * Gets the map of OnWatchs currently stored, where the key is the guild ID for
-     * the OnWatchs, and the value is a set of OnWatch containers, which holds
-     * the information about each individual OnWatch.
+     * Gets the registry of OnWatchs currently stored, the registry holds the
+     * OnWatch container for each user, which holds the information about each
+     * individual OnWatch, indexed by the guild and user IDs of the OnWatch.
      *
-     * @return The complete map of OnWatchs currently stored.
+     * @return The registry of OnWatchs currently stored.
      */
-    public HashMap<Long, HashSet<WatchContainer>> getOnWatchs() {
+    public ModerationRegistry<WatchContainer> getOnWatchs() {
         return OnWatchs;
     }
 
@@ -189,17 +156,15 @@ public class WatchManager {
         try {
             int size = getTotalAmountOfOnWatchs();
             for (DataRow row : avaire.getDatabase().query(query)) {
-                long guildId = row.getLong("guild_id");
-
-                if (!OnWatchs.containsKey(guildId)) {
-                    OnWatchs.put(guildId, new HashSet<>());
-                }
-
-                OnWatchs.get(guildId).add(new WatchContainer(
+                List<WatchContainer> replaced = OnWatchs.put(new WatchContainer(
                     row.getLong("guild_id"),
                     row.getLong("target_id"),
                     row.getTimestamp("expires_in")
                 ));
+
+                for (WatchContainer container : replaced) {
+                    container.cancelSchedule();
+                }
             }
 
             log.info("Syncing complete! {} OnWatchs entries was found that has not expired yet",
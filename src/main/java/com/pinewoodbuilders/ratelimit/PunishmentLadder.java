@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.ratelimit;
+
+import com.pinewoodbuilders.Constants;
+import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.contracts.blacklist.PunishmentLevel;
+import com.pinewoodbuilders.database.collection.DataRow;
+import com.pinewoodbuilders.scheduler.ScheduleHandler;
+import com.pinewoodbuilders.time.Carbon;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the punishment level for repeating offenders of a rate limiter,
+ * with each offence the punishment level for the offender goes up, increasing
+ * the time they're punished for, the punishment levels are persisted to
+ * the database so they survive restarts.
+ */
+public class PunishmentLadder {
+
+    /**
+     * The amount of time in milliseconds after an offender has been punished where
+     * any new offences are ignored, the command handling process uses its own thread
+     * pool, because of that it's possible to have two commands come in from the same
+     * user in a very quick succession, instead of punishing the user twice, the
+     * second offence is just ignored.
+     */
+    static final long cooldown = 2500;
+
+    private static final Logger log = LoggerFactory.getLogger(PunishmentLadder.class);
+
+    private final String name;
+    private final List<PunishmentLevel> levels;
+    private final Map<Long, Offence> offences = new ConcurrentHashMap<>();
+
+    private volatile Xeus avaire;
+
+    /**
+     * Creates a new punishment ladder.
+     *
+     * @param name   The name of the ladder, used to store the punishment levels in the database.
+     * @param levels The punishment levels, each index of the levels list should be an
+     *               increasingly harsher punishment for repeating offenders.
+     */
+    public PunishmentLadder(String name, List<PunishmentLevel> levels) {
+        if (levels.isEmpty()) {
+            throw new IllegalArgumentException("A punishment ladder must have at least one punishment level");
+        }
+
+        this.name = name;
+        this.levels = levels;
+    }
+
+    /**
+     * Increases the punishment level for the given ID, and gets the
+     * punishment for the new level, the new punishment level is
+     * stored in the database if the ladder has been synced.
+     *
+     * @param id The ID of the offender that should be punished.
+     * @return Possibly-null, the time the punishment expires, or <code>NULL</code> if
+     * the offender has already been punished within the last two and a half seconds.
+     */
+    @Nullable
+    public Carbon escalate(long id) {
+        long now = System.currentTimeMillis();
+
+        Offence[] previous = new Offence[1];
+        Offence offence = offences.compute(id, (key, current) -> {
+            previous[0] = current;
+            if (current != null && current.punishedAt > now - cooldown) {
+                return current;
+            }
+            return new Offence(current == null ? 0 : Math.min(current.level + 1, levels.size() - 1), now);
+        });
+
+        if (offence == previous[0]) {
+            return null;
+        }
+
+        persist(id, offence.level);
+
+        return levels.get(offence.level).generateTime();
+    }
+
+    /**
+     * Gets the current punishment level for the given ID.
+     *
+     * @param id The ID of the offender.
+     * @return The current punishment level, or <code>-1</code> if the ID has never been punished.
+     */
+    public int getLevel(long id) {
+        Offence offence = offences.get(id);
+        return offence == null ? -1 : offence.level;
+    }
+
+    /**
+     * Gets the name of the punishment ladder.
+     *
+     * @return The name of the punishment ladder.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Restores the punishment levels for the ladder from the database,
+     * any punishments given after the ladder has been synced will
+     * be stored in the database as well.
+     *
+     * @param avaire The Xeus application class instance.
+     */
+    public void syncWithDatabase(Xeus avaire) {
+        this.avaire = avaire;
+
+        try {
+            for (DataRow row : avaire.getDatabase().newQueryBuilder(Constants.RATELIMIT_PUNISHMENTS_TABLE_NAME)
+                .where("limiter", name)
+                .get()) {
+                int level = Math.min(Math.max(row.getInt("level"), 0), levels.size() - 1);
+
+                offences.merge(row.getLong("target_id"), new Offence(level, 0), (current, restored) ->
+                    current.level >= restored.level ? current : restored
+                );
+            }
+        } catch (SQLException e) {
+            log.error("Failed to sync the \"{}\" punishment levels with the database: {}", name, e.getMessage(), e);
+        }
+    }
+
+    private void persist(long id, int level) {
+        Xeus avaire = this.avaire;
+        if (avaire == null) {
+            return;
+        }
+
+        ScheduleHandler.getScheduler().submit(() -> {
+            try {
+                avaire.getDatabase().newQueryBuilder(Constants.RATELIMIT_PUNISHMENTS_TABLE_NAME)
+                    .where("limiter", name).andWhere("target_id", id)
+                    .delete();
+
+                avaire.getDatabase().newQueryBuilder(Constants.RATELIMIT_PUNISHMENTS_TABLE_NAME)
+                    .insert(statement -> {
+                        statement.set("limiter", name);
+                        statement.set("target_id", id);
+                        statement.set("level", level);
+                    });
+            } catch (SQLException e) {
+                log.error("Failed to store the \"{}\" punishment level for {}: {}", name, id, e.getMessage(), e);
+            }
+        });
+    }
+
+    private static final class Offence {
+
+        private final int level;
+        private final long punishedAt;
+
+        Offence(int level, long punishedAt) {
+            this.level = level;
+            this.punishedAt = punishedAt;
+        }
+    }
+}
@@ -0,0 +1,428 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.ratelimit;
+
+import javax.annotation.Nonnull;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * A lock-free sliding window rate limiter keyed by primitive longs, the limiter
+ * uses the sliding window counter approximation, where the hits for a key is the
+ * hits within the current fixed window, plus the hits from the previous window
+ * weighted by how much of the previous window still overlaps the sliding window.
+ * <p>
+ * The counters for each window are stored in an insert-only open addressing
+ * table, so hitting a key is a couple of CAS operations on primitive arrays,
+ * when the window changes the table for the current window replaces the
+ * previous one, which means keys that hasn't been hit for two windows
+ * are dropped without any expiry bookkeeping.
+ * <p>
+ * Limiters created through {@link #of(String, int, long, TimeUnit)} are registered
+ * by their name, so they can be exposed through the {@link #getLimiters() metrics}.
+ */
+public class SlidingWindowRateLimiter {
+
+    private static final Map<String, SlidingWindowRateLimiter> limiters = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final int limit;
+    private final long window;
+    private final LongSupplier clock;
+
+    private final AtomicReference<Generation> generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder limited = new LongAdder();
+
+    /**
+     * Creates a new unregistered rate limiter, using the given clock to get the current time.
+     *
+     * @param name   The name of the rate limiter.
+     * @param limit  The amount of hits that are allowed within the window.
+     * @param window The length of the sliding window.
+     * @param unit   The time unit of the window.
+     * @param clock  The clock the current time in milliseconds should be read from.
+     */
+    public SlidingWindowRateLimiter(String name, int limit, long window, TimeUnit unit, LongSupplier clock) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("The rate limit must be at least 1, " + limit + " given");
+        }
+
+        this.name = name;
+        this.limit = limit;
+        this.window = Math.max(1, unit.toMillis(window));
+        this.clock = clock;
+        this.generation = new AtomicReference<>(new Generation(
+            clock.getAsLong() / this.window, new CounterTable(CounterTable.MIN_CAPACITY), CounterTable.EMPTY
+        ));
+    }
+
+    /**
+     * Gets the rate limiter with the given name, creating and registering
+     * the limiter if no limiter with the given name exists yet.
+     *
+     * @param name   The name of the rate limiter.
+     * @param limit  The amount of hits that are allowed within the window.
+     * @param window The length of the sliding window.
+     * @param unit   The time unit of the window.
+     * @return The rate limiter with the given name.
+     */
+    public static SlidingWindowRateLimiter of(@Nonnull String name, int limit, long window, TimeUnit unit) {
+        return limiters.computeIfAbsent(name, ignored ->
+            new SlidingWindowRateLimiter(name, limit, window, unit, System::currentTimeMillis)
+        );
+    }
+
+    /**
+     * Gets all the registered rate limiters.
+     *
+     * @return The registered rate limiters.
+     */
+    public static Collection<SlidingWindowRateLimiter> getLimiters() {
+        return Collections.unmodifiableCollection(limiters.values());
+    }
+
+    /**
+     * Combines the given IDs into a single well distributed key,
+     * used for limiting on things like a user in a given guild.
+     *
+     * @param first  The first ID that should be part of the key.
+     * @param second The second ID that should be part of the key.
+     * @return The combined key.
+     */
+    public static long key(long first, long second) {
+        return mix(mix(first) + second);
+    }
+
+    /**
+     * Hits the given key, and checks if the key has reached the limit.
+     *
+     * @param key The key that should be hit.
+     * @return <code>True</code> if the key has reached the limit
+     * with this hit, <code>False</code> otherwise.
+     */
+    public boolean hit(long key) {
+        hits.increment();
+
+        long now = clock.getAsLong();
+        Generation generation = getGeneration(now);
+
+        if (estimate(generation, now, generation.current.increment(key), key) < limit) {
+            return false;
+        }
+
+        limited.increment();
+        return true;
+    }
+
+    /**
+     * Checks if the given key has reached the limit, without hitting it, checking
+     * a key doesn't count towards the {@link #getTotalLimited() limited hits}, so
+     * callers that keeps checking a key while waiting doesn't inflate the metric.
+     *
+     * @param key The key that should be checked.
+     * @return <code>True</code> if the key has reached the limit, <code>False</code> otherwise.
+     */
+    public boolean isLimited(long key) {
+        return getHits(key) >= limit;
+    }
+
+    /**
+     * Gets the estimated amount of hits for the given key within the sliding window.
+     *
+     * @param key The key that the hits should be returned for.
+     * @return The estimated amount of hits for the given key.
+     */
+    public int getHits(long key) {
+        long now = clock.getAsLong();
+        Generation generation = getGeneration(now);
+
+        return estimate(generation, now, generation.current.get(key), key);
+    }
+
+    /**
+     * Gets the amount of milliseconds until the current fixed window ends,
+     * after which the hits from the current window start sliding out.
+     *
+     * @return The amount of milliseconds until the current window ends.
+     */
+    public long getMillisUntilNextWindow() {
+        return window - Math.floorMod(clock.getAsLong(), window);
+    }
+
+    /**
+     * Gets the name of the rate limiter.
+     *
+     * @return The name of the rate limiter.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the amount of hits that are allowed within the window.
+     *
+     * @return The amount of hits that are allowed within the window.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Gets the length of the sliding window in milliseconds.
+     *
+     * @return The length of the sliding window in milliseconds.
+     */
+    public long getWindow() {
+        return window;
+    }
+
+    /**
+     * Gets the total amount of hits the limiter has received.
+     *
+     * @return The total amount of hits.
+     */
+    public long getTotalHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the total amount of hits that reached the limit.
+     *
+     * @return The total amount of limited hits.
+     */
+    public long getTotalLimited() {
+        return limited.sum();
+    }
+
+    /**
+     * Gets the amount of keys that has been hit within the current window.
+     *
+     * @return The amount of keys tracked in the current window.
+     */
+    public int getTrackedKeys() {
+        return generation.get().current.size();
+    }
+
+    private int estimate(Generation generation, long now, int current, long key) {
+        if (generation.previous == CounterTable.EMPTY) {
+            return current;
+        }
+
+        int previous = generation.previous.get(key);
+        if (previous == 0) {
+            return current;
+        }
+
+        long remaining = window - Math.min(window, Math.max(0, now - generation.index * window));
+        return current + (int) (previous * remaining / window);
+    }
+
+    private Generation getGeneration(long now) {
+        long index = now / window;
+        while (true) {
+            Generation generation = this.generation.get();
+
+            // Threads that read the clock right before another thread moved the limiter
+            // into the next window will just use the newer window instead.
+            if (generation.index >= index) {
+                return generation;
+            }
+
+            Generation next = new Generation(index,
+                new CounterTable(CounterTable.capacityFor(generation.current.size())),
+                generation.index == index - 1 ? generation.current : CounterTable.EMPTY
+            );
+
+            if (this.generation.compareAndSet(generation, next)) {
+                return next;
+            }
+        }
+    }
+
+    static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    private static final class Generation {
+
+        private final long index;
+        private final CounterTable current;
+        private final CounterTable previous;
+
+        Generation(long index, CounterTable current, CounterTable previous) {
+            this.index = index;
+            this.current = current;
+            this.previous = previous;
+        }
+    }
+
+    /**
+     * An insert-only linear probing table of counters, slots are claimed by
+     * CAS'ing the key into an empty slot, and are never removed again, once
+     * the table is full any new keys are counted in a larger chained table
+     * instead, the count for a key is always the sum of the count in every
+     * table in the chain, so a key that races into two tables while the
+     * first one fills up is still counted correctly.
+     */
+    private static final class CounterTable {
+
+        static final int MIN_CAPACITY = 1 << 10;
+        static final int MAX_CAPACITY = 1 << 20;
+
+        static final CounterTable EMPTY = new CounterTable(MIN_CAPACITY);
+
+        /**
+         * Zero marks an empty slot, so the zero key is stored as this key instead.
+         */
+        private static final long ZERO_KEY = Long.MIN_VALUE;
+
+        private final AtomicLongArray keys;
+        private final AtomicIntegerArray counts;
+        private final int mask;
+        private final int threshold;
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicReference<CounterTable> next = new AtomicReference<>();
+
+        CounterTable(int capacity) {
+            this.keys = new AtomicLongArray(capacity);
+            this.counts = new AtomicIntegerArray(capacity);
+            this.mask = capacity - 1;
+            this.threshold = capacity / 4 * 3;
+        }
+
+        static int capacityFor(int keys) {
+            int capacity = MIN_CAPACITY;
+            while (capacity < MAX_CAPACITY && capacity / 4 * 3 < keys + keys / 2) {
+                capacity <<= 1;
+            }
+            return capacity;
+        }
+
+        int increment(long key) {
+            key = key == 0 ? ZERO_KEY : key;
+
+            CounterTable table = this;
+            while (true) {
+                int index = table.claim(key);
+                if (index < 0) {
+                    table = table.getOrCreateNext();
+                    continue;
+                }
+
+                int count = table.counts.incrementAndGet(index);
+                return table == this && next.get() == null ? count : sum(key);
+            }
+        }
+
+        int get(long key) {
+            return sum(key == 0 ? ZERO_KEY : key);
+        }
+
+        int size() {
+            int size = 0;
+            for (CounterTable table = this; table != null; table = table.next.get()) {
+                size += table.size.get();
+            }
+            return size;
+        }
+
+        private int sum(long key) {
+            int count = 0;
+            for (CounterTable table = this; table != null; table = table.next.get()) {
+                int index = table.find(key);
+                if (index >= 0) {
+                    count += table.counts.get(index);
+                }
+            }
+            return count;
+        }
+
+        private int find(long key) {
+            int index = (int) mix(key) & mask;
+            for (int probes = 0; probes <= mask; probes++, index = (index + 1) & mask) {
+                long slot = keys.get(index);
+                if (slot == key) {
+                    return index;
+                }
+
+                if (slot == 0) {
+                    return -1;
+                }
+            }
+            return -1;
+        }
+
+        private int claim(long key) {
+            int index = (int) mix(key) & mask;
+            for (int probes = 0; probes <= mask; probes++, index = (index + 1) & mask) {
+                long slot = keys.get(index);
+                if (slot == key) {
+                    return index;
+                }
+
+                if (slot != 0) {
+                    continue;
+                }
+
+                if (size.get() >= threshold) {
+                    return -1;
+                }
+
+                if (keys.compareAndSet(index, 0, key)) {
+                    size.incrementAndGet();
+                    return index;
+                }
+
+                if (keys.get(index) == key) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+
+        private CounterTable getOrCreateNext() {
+            CounterTable table = next.get();
+            if (table != null) {
+                return table;
+            }
+
+            table = new CounterTable(Math.min(keys.length() << 3, MAX_CAPACITY));
+            return next.compareAndSet(null, table) ? table : next.get();
+        }
+    }
+}
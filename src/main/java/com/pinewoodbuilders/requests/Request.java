@@ -26,6 +26,7 @@ import okhttp3.OkHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLEncoder;
@@ -37,11 +38,11 @@ import java.util.stream.Collectors;
 
 public class Request extends Future {
     private static final Logger log = LoggerFactory.getLogger(Request.class);
+    private static final OkHttpClient client = new OkHttpClient();
 
     private final String url;
     private final RequestType type;
 
-    private final OkHttpClient client;
     private final okhttp3.Request.Builder builder;
 
     private final Map<String, Object> parameters = new HashMap<>();
@@ -55,7 +56,6 @@ public class Request extends Future {
         this.url = url;
         this.type = type;
 
-        client = new OkHttpClient();
         builder = new okhttp3.Request.Builder();
         headers.put("User-Agent", "Mozilla/5.0");
     }
@@ -70,19 +70,29 @@ public class Request extends Future {
         return this;
     }
 
-    protected void handle(Consumer success, Consumer<Throwable> failure) {
-        try {
-            builder.url(buildUrl());
+    /**
+     * Sends the request on the current thread, blocking until the response has been received.
+     *
+     * @return The response for the request, the response must be consumed or closed.
+     * @throws IOException If the request fails to be sent, or the response fails to be received.
+     */
+    public Response execute() throws IOException {
+        builder.url(buildUrl());
+
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            builder.addHeader(entry.getKey(), entry.getValue());
+        }
 
-            for (Map.Entry<String, String> entry : headers.entrySet()) {
-                builder.addHeader(entry.getKey(), entry.getValue());
-            }
+        if (type == RequestType.GET) {
+            builder.get();
+        }
 
-            if (type == RequestType.GET) {
-                builder.get();
-            }
+        return new Response(client.newCall(builder.build()).execute());
+    }
 
-            success.accept(new Response(client.newCall(builder.build()).execute()));
+    protected void handle(Consumer success, Consumer<Throwable> failure) {
+        try {
+            success.accept(execute());
         } catch (Exception ex) {
             failure.accept(ex);
         }
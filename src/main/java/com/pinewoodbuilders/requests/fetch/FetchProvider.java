@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.requests.fetch;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.pinewoodbuilders.ratelimit.SlidingWindowRateLimiter;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Fetches data from an external API on a small pool of worker threads, limiting
+ * how many requests can be in-flight to the API at the same time, and how many
+ * requests can be sent to the API within a minute, requests that would go over
+ * the rate budget waits on the worker thread until there is room in the budget.
+ * <p>
+ * Keyed fetches are cached for the providers TTL, and lookups that found nothing
+ * are cached for the providers miss TTL, concurrent fetches for the same key are
+ * de-duplicated, so only a single request is ever in-flight for any given key.
+ * <p>
+ * Providers created through {@link #of(String, int, int, long, long, TimeUnit)} are
+ * registered by their name, so they can be exposed through the {@link #getProviders() metrics}.
+ *
+ * @param <T> The type of data fetched by the provider.
+ */
+public class FetchProvider<T> {
+
+    /**
+     * The max amount of fetches that can wait for a worker before new fetches are rejected.
+     */
+    static final int MAX_QUEUED = 256;
+
+    private static final Map<String, FetchProvider<?>> providers = new ConcurrentHashMap<>();
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final long RATE_KEY = 0L;
+
+    private final String name;
+    private final long ttl;
+    private final long missTtl;
+    private final LongSupplier clock;
+    private final SlidingWindowRateLimiter budget;
+    private final ExecutorService workers;
+
+    private final Cache<String, Stored<T>> cache;
+    private final Map<String, CompletableFuture<T>> pending = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Creates a new unregistered fetch provider, using the given clock to get the current time.
+     *
+     * @param name              The name of the provider.
+     * @param concurrency       The max amount of fetches that can run at the same time.
+     * @param requestsPerMinute The max amount of fetches that can be started within a minute.
+     * @param ttl               The amount of time fetched data should be cached for.
+     * @param missTtl           The amount of time fetches that found nothing should be cached for.
+     * @param unit              The time unit of the TTLs.
+     * @param clock             The clock the current time in milliseconds should be read from.
+     */
+    public FetchProvider(String name, int concurrency, int requestsPerMinute, long ttl, long missTtl, TimeUnit unit, LongSupplier clock) {
+        this.name = name;
+        this.ttl = unit.toMillis(ttl);
+        this.missTtl = unit.toMillis(missTtl);
+        this.clock = clock;
+        this.budget = new SlidingWindowRateLimiter("fetch:" + name, requestsPerMinute, 1, TimeUnit.MINUTES, clock);
+        this.workers = new ThreadPoolExecutor(
+            concurrency, concurrency, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(MAX_QUEUED),
+            new ThreadFactoryBuilder()
+                .setNameFormat("avaire-fetch-" + name + "-%d")
+                .setDaemon(true)
+                .build()
+        );
+        this.cache = CacheBuilder.newBuilder()
+            .maximumSize(1000)
+            .expireAfterWrite(Math.max(1, Math.max(this.ttl, this.missTtl)), TimeUnit.MILLISECONDS)
+            .build();
+    }
+
+    /**
+     * Gets the fetch provider with the given name, creating and registering
+     * the provider if no provider with the given name exists yet.
+     *
+     * @param name              The name of the provider.
+     * @param concurrency       The max amount of fetches that can run at the same time.
+     * @param requestsPerMinute The max amount of fetches that can be started within a minute.
+     * @param ttl               The amount of time fetched data should be cached for.
+     * @param missTtl           The amount of time fetches that found nothing should be cached for.
+     * @param unit              The time unit of the TTLs.
+     * @param <T>               The type of data fetched by the provider.
+     * @return The fetch provider with the given name.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> FetchProvider<T> of(@Nonnull String name, int concurrency, int requestsPerMinute, long ttl, long missTtl, TimeUnit unit) {
+        return (FetchProvider<T>) providers.computeIfAbsent(name, ignored ->
+            new FetchProvider<>(name, concurrency, requestsPerMinute, ttl, missTtl, unit, System::currentTimeMillis)
+        );
+    }
+
+    /**
+     * Gets all the registered fetch providers.
+     *
+     * @return The registered fetch providers.
+     */
+    public static Collection<FetchProvider<?>> getProviders() {
+        return Collections.unmodifiableCollection(providers.values());
+    }
+
+    /**
+     * Normalizes the given query so it can be used as a cache key, queries are
+     * lower cased, trimmed, and any whitespace is collapsed to a single space.
+     *
+     * @param query The query that should be normalized.
+     * @return The normalized query.
+     */
+    public static String normalize(@Nonnull String query) {
+        return WHITESPACE.matcher(query.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Fetches the data for the given key, using the cached data for the key if the
+     * key has been fetched recently, or joining the fetch for the key if the key
+     * is already being fetched.
+     *
+     * @param key    The normalized key the data should be cached by.
+     * @param loader The loader used to fetch the data if it isn't cached.
+     * @return A future that completes with either (1) the fetched data, or (2) <code>NULL</code>
+     * if the loader found nothing, the future completes exceptionally if the loader
+     * fails, or if the provider is too busy to accept the fetch.
+     */
+    public CompletableFuture<T> fetch(@Nonnull String key, @Nonnull Loader<T> loader) {
+        Stored<T> stored = cache.getIfPresent(key);
+        if (stored != null && stored.expiresAt > clock.getAsLong()) {
+            hits.increment();
+            return CompletableFuture.completedFuture(stored.value);
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        CompletableFuture<T> inFlight = pending.putIfAbsent(key, future);
+        if (inFlight != null) {
+            coalesced.increment();
+            return inFlight;
+        }
+
+        misses.increment();
+        submit(future, () -> {
+            T value = loader.load();
+            cache.put(key, new Stored<>(value, clock.getAsLong() + (value == null ? missTtl : ttl)));
+            return value;
+        });
+        future.whenComplete((value, throwable) -> pending.remove(key, future));
+
+        return future;
+    }
+
+    /**
+     * Fetches data that should never be cached, like random images or jokes,
+     * the fetch still counts towards the concurrency and rate budget.
+     *
+     * @param loader The loader used to fetch the data.
+     * @return A future that completes with the fetched data, the future completes exceptionally
+     * if the loader fails, or if the provider is too busy to accept the fetch.
+     */
+    public CompletableFuture<T> fetch(@Nonnull Loader<T> loader) {
+        misses.increment();
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        submit(future, loader);
+        return future;
+    }
+
+    private void submit(CompletableFuture<T> future, Loader<T> loader) {
+        try {
+            workers.execute(() -> {
+                try {
+                    awaitBudget();
+                    future.complete(loader.load());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            future.completeExceptionally(e);
+        }
+    }
+
+    private void awaitBudget() throws InterruptedException {
+        // The budget slides, so waiting for one request worth of
+        // the window is usually enough to make room for a hit.
+        long interval = Math.max(10, budget.getWindow() / budget.getLimit());
+        while (budget.isLimited(RATE_KEY)) {
+            Thread.sleep(interval);
+        }
+        budget.hit(RATE_KEY);
+    }
+
+    /**
+     * Removes the cached data for the given key, so the next fetch for the key has to load it again.
+     *
+     * @param key The key that should be forgotten.
+     */
+    public void forget(@Nonnull String key) {
+        cache.invalidate(key);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Loads data from an external API, loaders run on the
+     * providers worker threads, and are allowed to block.
+     *
+     * @param <T> The type of data loaded by the loader.
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+
+        /**
+         * Loads the data from the external API.
+         *
+         * @return The loaded data, or <code>NULL</code> if the API found nothing.
+         * @throws Exception If the data fails to load, failed loads are never cached.
+         */
+        @Nullable
+        T load() throws Exception;
+    }
+
+    private static final class Stored<T> {
+
+        private final T value;
+        private final long expiresAt;
+
+        Stored(T value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
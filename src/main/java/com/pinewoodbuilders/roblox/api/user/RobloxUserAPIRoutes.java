@@ -15,7 +15,12 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 public class RobloxUserAPIRoutes {
@@ -33,7 +38,11 @@ public class RobloxUserAPIRoutes {
         .build();
 
     public List <RobloxUserGroupRankService.Data> getUserRanks(Long botAccount) {
-        request.get().url("https://groups.roblox.com/v2/users/{userId}/groups/roles".replace("{userId}", botAccount.toString()));
+        // A new request builder is used, since user ranks are looked up from
+        // multiple threads at once during mass verification updates.
+        Request.Builder request = new Request.Builder()
+            .addHeader("User-Agent", "Xeus v" + AppInfo.getAppInfo().version)
+            .url("https://groups.roblox.com/v2/users/{userId}/groups/roles".replace("{userId}", botAccount.toString()));
 
         try (Response response = manager.getClient().newCall(request.build()).execute()) {
             if (response.code() == 200) {
@@ -93,6 +102,65 @@ public class RobloxUserAPIRoutes {
 
     private static final MediaType json = MediaType.parse("application/json; charset=utf-8");
 
+    /**
+     * The max amount of user IDs that can be looked up in a single request to the Roblox users API.
+     */
+    private static final int USERNAMES_BATCH_SIZE = 100;
+
+    /**
+     * Gets the usernames for the given Roblox user IDs, usernames are loaded from the
+     * cache when possible, and the rest are looked up through the Roblox users API
+     * in batches, rather than sending a request for every single user.
+     *
+     * @param userIds The Roblox user IDs the usernames should be looked up for.
+     * @return The usernames mapped by their user ID, users that couldn't be found are left out.
+     */
+    public Map<Long, String> getUsernames(Collection<Long> userIds) {
+        Map<Long, String> usernames = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+
+        for (Long userId : new LinkedHashSet<>(userIds)) {
+            String username = cache.getIfPresent("username." + userId);
+            if (username != null) {
+                usernames.put(userId, username);
+            } else {
+                missing.add(userId);
+            }
+        }
+
+        for (int i = 0; i < missing.size(); i += USERNAMES_BATCH_SIZE) {
+            JSONObject body = new JSONObject()
+                .put("userIds", missing.subList(i, Math.min(i + USERNAMES_BATCH_SIZE, missing.size())))
+                .put("excludeBannedUsers", false);
+
+            // A new request builder is used for the batch requests, since the
+            // shared builder isn't safe to use from multiple threads at once.
+            Request.Builder batchRequest = new Request.Builder()
+                .addHeader("User-Agent", "Xeus v" + AppInfo.getAppInfo().version)
+                .url("https://users.roblox.com/v1/users")
+                .post(RequestBody.create(body.toString(), json));
+
+            try (Response response = manager.getClient().newCall(batchRequest.build()).execute()) {
+                if (response.code() != 200 || response.body() == null) {
+                    Xeus.getLogger().error("Failed sending request to Roblox Users API: Error code `" + response.code() + "`");
+                    continue;
+                }
+
+                JSONArray data = new JSONObject(response.body().string()).getJSONArray("data");
+                for (int j = 0; j < data.length(); j++) {
+                    JSONObject user = data.getJSONObject(j);
+
+                    cache.put("username." + user.getLong("id"), user.getString("name"));
+                    usernames.put(user.getLong("id"), user.getString("name"));
+                }
+            } catch (IOException e) {
+                Xeus.getLogger().error("Failed sending request to Roblox Users API: " + e.getMessage());
+            }
+        }
+
+        return usernames;
+    }
+
     public long getIdFromUsername(String username) {
         String userId = cache.getIfPresent("robloxId." + username);
         if (userId != null) {
@@ -128,9 +196,11 @@ public class RobloxUserAPIRoutes {
 
 
     public List <RobloxGamePassService.Datum> getUserGamePass(Long userId, Long gamepassId) {
-        request.get().url("https://inventory.roblox.com/v1/users/{userId}/items/GamePass/{gamepassId}"
-            .replace("{userId}", userId.toString())
-            .replace("{gamepassId}", gamepassId.toString()));
+        Request.Builder request = new Request.Builder()
+            .addHeader("User-Agent", "Xeus v" + AppInfo.getAppInfo().version)
+            .url("https://inventory.roblox.com/v1/users/{userId}/items/GamePass/{gamepassId}"
+                .replace("{userId}", userId.toString())
+                .replace("{gamepassId}", gamepassId.toString()));
 
         try (Response response = manager.getClient().newCall(request.build()).execute()) {
             if (response.code() == 200) {
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.roblox.verification;
+
+import com.pinewoodbuilders.Constants;
+import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.database.collection.Collection;
+import com.pinewoodbuilders.database.collection.DataRow;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An in-memory index of the guilds that belongs to each main group, the index
+ * mirrors the <code>main_group_id</code> and <code>official_sub_group</code>
+ * columns of the guild settings table, and the moderation server set for
+ * each main group in the global settings table.
+ * <p>
+ * Every main group is stored as an immutable snapshot of sorted guild IDs, with
+ * the moderation server already excluded, so lookups never have to lock or
+ * copy anything, changes to the index replaces the snapshot for the groups
+ * that were affected by the change.
+ */
+public class MainGroupGuildIndex {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final Map<Long, Group> groups = new ConcurrentHashMap<>();
+
+    private final Map<Long, Long> guildGroups = new HashMap<>();
+    private final Map<Long, Long> moderationServers = new HashMap<>();
+
+    /**
+     * Rebuilds the entire index from the guild and global settings tables.
+     *
+     * @param avaire The Xeus application class instance.
+     * @throws SQLException If the settings fails to load from the database.
+     */
+    public void load(Xeus avaire) throws SQLException {
+        Map<Long, Long> guildGroups = new HashMap<>();
+        Map<Long, Long> moderationServers = new HashMap<>();
+
+        for (DataRow row : avaire.getDatabase().newQueryBuilder(Constants.GLOBAL_SETTINGS_TABLE)
+            .select("main_group_id", "moderation_server_id")
+            .get()) {
+            moderationServers.put(row.getLong("main_group_id"), row.getLong("moderation_server_id"));
+        }
+
+        Collection rows = avaire.getDatabase().newQueryBuilder(Constants.GUILD_SETTINGS_TABLE)
+            .select("id", "main_group_id", "official_sub_group")
+            .get();
+
+        // Counts the guilds in each group first, so the group arrays
+        // can be allocated at their final size in the second pass.
+        Map<Long, int[]> sizes = new HashMap<>();
+        for (DataRow row : rows) {
+            int[] size = sizes.computeIfAbsent(row.getLong("main_group_id"), id -> new int[2]);
+            size[0]++;
+            if (row.getBoolean("official_sub_group")) {
+                size[1]++;
+            }
+        }
+
+        Map<Long, long[][]> buffers = new HashMap<>();
+        for (Map.Entry<Long, int[]> entry : sizes.entrySet()) {
+            buffers.put(entry.getKey(), new long[][]{
+                new long[entry.getValue()[0]], new long[entry.getValue()[1]]
+            });
+            entry.getValue()[0] = entry.getValue()[1] = 0;
+        }
+
+        for (DataRow row : rows) {
+            long guildId = row.getLong("id");
+            long mainGroupId = row.getLong("main_group_id");
+            guildGroups.put(guildId, mainGroupId);
+
+            int[] size = sizes.get(mainGroupId);
+            long[][] buffer = buffers.get(mainGroupId);
+            buffer[0][size[0]++] = guildId;
+            if (row.getBoolean("official_sub_group")) {
+                buffer[1][size[1]++] = guildId;
+            }
+        }
+
+        Map<Long, Group> groups = new HashMap<>();
+        for (Map.Entry<Long, long[][]> entry : buffers.entrySet()) {
+            long[] guilds = entry.getValue()[0];
+            long[] official = entry.getValue()[1];
+            Arrays.sort(guilds);
+            Arrays.sort(official);
+
+            groups.put(entry.getKey(), new Group(guilds, official,
+                moderationServers.getOrDefault(entry.getKey(), 0L)
+            ));
+        }
+
+        synchronized (this) {
+            this.guildGroups.clear();
+            this.guildGroups.putAll(guildGroups);
+            this.moderationServers.clear();
+            this.moderationServers.putAll(moderationServers);
+            this.groups.clear();
+            this.groups.putAll(groups);
+        }
+    }
+
+    /**
+     * Gets the sorted IDs of the guilds that belongs to the given main group,
+     * excluding the moderation server for the group.
+     *
+     * @param mainGroupId The ID of the main group the guilds should belong to.
+     * @param isOfficial  Whether only official sub groups should be returned.
+     * @return The sorted guild IDs, the returned array must not be modified.
+     */
+    public long[] getGuildIds(long mainGroupId, boolean isOfficial) {
+        Group group = groups.get(mainGroupId);
+        if (group == null) {
+            return EMPTY;
+        }
+        return isOfficial ? group.visibleOfficial : group.visibleGuilds;
+    }
+
+    /**
+     * Checks if the given guild belongs to the given main group, the
+     * moderation server for the group never belongs to the group.
+     *
+     * @param mainGroupId The ID of the main group the guild should belong to.
+     * @param guildId     The ID of the guild that should be checked.
+     * @param isOfficial  Whether the guild must be an official sub group.
+     * @return <code>True</code> if the guild belongs to the group, <code>False</code> otherwise.
+     */
+    public boolean contains(long mainGroupId, long guildId, boolean isOfficial) {
+        return Arrays.binarySearch(getGuildIds(mainGroupId, isOfficial), guildId) >= 0;
+    }
+
+    /**
+     * Updates the main group and official state of the given guild,
+     * moving the guild to its new group if it has changed.
+     *
+     * @param guildId     The ID of the guild that should be updated.
+     * @param mainGroupId The ID of the main group the guild belongs to.
+     * @param isOfficial  Whether the guild is an official sub group.
+     */
+    public synchronized void update(long guildId, long mainGroupId, boolean isOfficial) {
+        Long previousGroupId = guildGroups.put(guildId, mainGroupId);
+        if (previousGroupId != null && previousGroupId != mainGroupId) {
+            removeFromGroup(previousGroupId, guildId);
+        }
+
+        Group group = groups.get(mainGroupId);
+        long[] guilds = group == null ? EMPTY : group.guilds;
+        long[] official = group == null ? EMPTY : group.official;
+
+        long[] updatedGuilds = insert(guilds, guildId);
+        long[] updatedOfficial = isOfficial ? insert(official, guildId) : delete(official, guildId);
+        if (updatedGuilds == guilds && updatedOfficial == official) {
+            return;
+        }
+
+        groups.put(mainGroupId, new Group(updatedGuilds, updatedOfficial,
+            moderationServers.getOrDefault(mainGroupId, 0L)
+        ));
+    }
+
+    /**
+     * Removes the given guild from the index.
+     *
+     * @param guildId The ID of the guild that should be removed.
+     */
+    public synchronized void remove(long guildId) {
+        Long mainGroupId = guildGroups.remove(guildId);
+        if (mainGroupId != null) {
+            removeFromGroup(mainGroupId, guildId);
+        }
+    }
+
+    /**
+     * Sets the moderation server for the given main group, the moderation
+     * server is never returned when looking up the guilds for the group.
+     *
+     * @param mainGroupId        The ID of the main group.
+     * @param moderationServerId The ID of the moderation server, or <code>0</code> if there are none.
+     */
+    public synchronized void setModerationServer(long mainGroupId, long moderationServerId) {
+        Long previous = moderationServers.put(mainGroupId, moderationServerId);
+        if (previous != null && previous == moderationServerId) {
+            return;
+        }
+
+        Group group = groups.get(mainGroupId);
+        if (group != null) {
+            groups.put(mainGroupId, new Group(group.guilds, group.official, moderationServerId));
+        }
+    }
+
+    private void removeFromGroup(long mainGroupId, long guildId) {
+        Group group = groups.get(mainGroupId);
+        if (group == null) {
+            return;
+        }
+
+        long[] guilds = delete(group.guilds, guildId);
+        if (guilds.length == 0) {
+            groups.remove(mainGroupId);
+            return;
+        }
+        groups.put(mainGroupId, new Group(guilds, delete(group.official, guildId), group.moderationServerId));
+    }
+
+    private static long[] insert(long[] ids, long id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index >= 0) {
+            return ids;
+        }
+
+        index = -index - 1;
+        long[] result = new long[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, index);
+        result[index] = id;
+        System.arraycopy(ids, index, result, index + 1, ids.length - index);
+        return result;
+    }
+
+    private static long[] delete(long[] ids, long id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return ids;
+        }
+
+        long[] result = new long[ids.length - 1];
+        System.arraycopy(ids, 0, result, 0, index);
+        System.arraycopy(ids, index + 1, result, index, ids.length - index - 1);
+        return result;
+    }
+
+    private static final class Group {
+
+        private final long[] guilds;
+        private final long[] official;
+        private final long moderationServerId;
+
+        private final long[] visibleGuilds;
+        private final long[] visibleOfficial;
+
+        Group(long[] guilds, long[] official, long moderationServerId) {
+            this.guilds = guilds;
+            this.official = official;
+            this.moderationServerId = moderationServerId;
+
+            this.visibleGuilds = moderationServerId == 0 ? guilds : delete(guilds, moderationServerId);
+            this.visibleOfficial = moderationServerId == 0 ? official : delete(official, moderationServerId);
+        }
+    }
+}
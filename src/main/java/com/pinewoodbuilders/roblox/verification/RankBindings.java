@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.roblox.verification;
+
+import com.pinewoodbuilders.requests.service.group.GuildRobloxRanksService;
+import com.pinewoodbuilders.requests.service.user.rank.RobloxUserGroupRankService;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Role;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The group rank bindings for a guild, mapped to the Discord roles they give,
+ * bindings for roles that no longer exist in the guild are left out.
+ * <p>
+ * Bindings are resolved once for a guild, and can then be matched against
+ * the group ranks and game passes of as many members as needed.
+ */
+public class RankBindings {
+
+    private static final String GAME_PASS = "GamePass";
+
+    private final Map<GuildRobloxRanksService.GroupRankBinding, Role> bindings;
+
+    private RankBindings(Map<GuildRobloxRanksService.GroupRankBinding, Role> bindings) {
+        this.bindings = bindings;
+    }
+
+    /**
+     * Resolves the group rank bindings for the given guild.
+     *
+     * @param guild The guild the bindings belongs to.
+     * @param ranks The group rank bindings for the guild.
+     * @return The resolved rank bindings.
+     */
+    public static RankBindings of(Guild guild, GuildRobloxRanksService ranks) {
+        Map<GuildRobloxRanksService.GroupRankBinding, Role> bindings = new LinkedHashMap<>();
+        for (GuildRobloxRanksService.GroupRankBinding binding : ranks.getGroupRankBindings()) {
+            Role role = guild.getRoleById(binding.getRole());
+            if (role != null) {
+                bindings.put(binding, role);
+            }
+        }
+        return new RankBindings(bindings);
+    }
+
+    /**
+     * Gets every role that is bound to a group rank or game pass.
+     *
+     * @return The bound roles.
+     */
+    public Collection<Role> getRoles() {
+        return new LinkedHashSet<>(bindings.values());
+    }
+
+    /**
+     * Gets the IDs of every game pass that is bound to a role.
+     *
+     * @return The bound game pass IDs.
+     */
+    public Set<Long> getGamePassIds() {
+        Set<Long> gamePassIds = new HashSet<>();
+        for (GuildRobloxRanksService.GroupRankBinding binding : bindings.keySet()) {
+            for (GuildRobloxRanksService.Group group : binding.getGroups()) {
+                if (group.getId().equals(GAME_PASS)) {
+                    gamePassIds.add(Long.parseLong(group.getRanks().get(0).toString()));
+                }
+            }
+        }
+        return gamePassIds;
+    }
+
+    /**
+     * Gets the roles the given group ranks and game passes should give.
+     *
+     * @param ranks      The group ranks for the Roblox user, or <code>NULL</code> if they're unknown.
+     * @param gamePasses The IDs of the bound game passes the Roblox user owns.
+     * @return The roles the user should have.
+     */
+    public Set<Role> getMatchingRoles(@Nullable List<RobloxUserGroupRankService.Data> ranks, Set<Long> gamePasses) {
+        Set<Role> roles = new LinkedHashSet<>();
+        for (Map.Entry<GuildRobloxRanksService.GroupRankBinding, Role> entry : bindings.entrySet()) {
+            if (matches(entry.getKey(), ranks, gamePasses)) {
+                roles.add(entry.getValue());
+            }
+        }
+        return roles;
+    }
+
+    private boolean matches(GuildRobloxRanksService.GroupRankBinding binding, @Nullable List<RobloxUserGroupRankService.Data> ranks, Set<Long> gamePasses) {
+        for (GuildRobloxRanksService.Group group : binding.getGroups()) {
+            if (group.getId().equals(GAME_PASS)) {
+                if (gamePasses.contains(Long.parseLong(group.getRanks().get(0).toString()))) {
+                    return true;
+                }
+                continue;
+            }
+
+            if (ranks == null) {
+                continue;
+            }
+
+            for (RobloxUserGroupRankService.Data data : ranks) {
+                if (group.getId().equals(String.valueOf(data.getGroup().getId()))
+                    && group.getRanks().contains(data.getRole().getRank())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
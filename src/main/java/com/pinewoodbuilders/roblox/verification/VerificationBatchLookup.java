@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.roblox.verification;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.pinewoodbuilders.Constants;
+import com.pinewoodbuilders.contracts.verification.VerificationEntity;
+import com.pinewoodbuilders.database.DatabaseManager;
+import com.pinewoodbuilders.database.collection.DataRow;
+
+import javax.annotation.Nullable;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Resolves the verification links for many Discord or Roblox IDs at once, the IDs
+ * are looked up in chunks using <code>WHERE IN</code> queries against the
+ * verification table, and the Roblox usernames for all the links are
+ * looked up together once all the links have been found.
+ * <p>
+ * Discord IDs that aren't linked in the verification table can be resolved through
+ * the external verification providers instead, the provider lookups are handled on
+ * a small fixed pool of threads, so a batch of thousands of IDs can never send more
+ * than a handful of requests to the providers at the same time.
+ */
+public class VerificationBatchLookup {
+
+    /**
+     * The max amount of IDs that can be looked up in a single batch.
+     */
+    public static final int MAX_IDS = 5000;
+
+    /**
+     * The max amount of IDs in a single batch that are resolved through the external providers.
+     */
+    public static final int MAX_FALLBACKS = 100;
+
+    /**
+     * The amount of IDs that are looked up in each <code>WHERE IN</code> query.
+     */
+    static final int CHUNK_SIZE = 500;
+
+    private final DatabaseManager database;
+    private final Function<Collection<Long>, Map<Long, String>> usernames;
+    private final ExecutorService fallbackPool;
+    private final long fallbackTimeout;
+
+    /**
+     * Creates a new verification batch lookup.
+     *
+     * @param database            The database the verification table should be queried through.
+     * @param usernames           The function used to look up the usernames for a batch of Roblox IDs.
+     * @param fallbackConcurrency The max amount of provider lookups that can run at the same time.
+     * @param fallbackTimeout     The max amount of time the provider lookups for a batch can take.
+     * @param unit                The time unit of the fallback timeout.
+     */
+    public VerificationBatchLookup(
+        DatabaseManager database,
+        Function<Collection<Long>, Map<Long, String>> usernames,
+        int fallbackConcurrency,
+        long fallbackTimeout,
+        TimeUnit unit
+    ) {
+        this.database = database;
+        this.usernames = usernames;
+        this.fallbackTimeout = unit.toMillis(fallbackTimeout);
+        this.fallbackPool = Executors.newFixedThreadPool(fallbackConcurrency, new ThreadFactoryBuilder()
+            .setNameFormat("avaire-verification-fallback-%d")
+            .setDaemon(true)
+            .build()
+        );
+    }
+
+    /**
+     * Finds the verification link for each of the given Discord IDs, if a Discord
+     * account is linked to multiple Roblox accounts, the main account is used.
+     *
+     * @param discordIds The Discord IDs that should be looked up.
+     * @return The verification links mapped by the Discord ID, in the same order as the given
+     * IDs, Discord IDs that aren't linked to any Roblox account are left out.
+     * @throws SQLException If the verification table fails to be queried.
+     */
+    public Map<Long, VerificationEntity> findByDiscordIds(Collection<Long> discordIds) throws SQLException {
+        List<Long> ids = distinct(discordIds);
+
+        Map<Long, DataRow> links = new HashMap<>();
+        for (DataRow row : queryChunked("id", ids)) {
+            long discordId = row.getLong("id");
+
+            DataRow existing = links.get(discordId);
+            if (existing == null || (!existing.getBoolean("main") && row.getBoolean("main"))) {
+                links.put(discordId, row);
+            }
+        }
+
+        Set<Long> robloxIds = new HashSet<>();
+        for (DataRow row : links.values()) {
+            robloxIds.add(row.getLong("robloxId"));
+        }
+        Map<Long, String> names = robloxIds.isEmpty() ? Map.of() : usernames.apply(robloxIds);
+
+        Map<Long, VerificationEntity> result = new LinkedHashMap<>();
+        for (Long discordId : ids) {
+            DataRow row = links.get(discordId);
+            if (row != null) {
+                result.put(discordId, createEntity(row, names));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds all the Discord accounts linked to each of the given Roblox IDs.
+     *
+     * @param robloxIds The Roblox IDs that should be looked up.
+     * @return The linked Discord accounts mapped by the Roblox ID, in the same order as the
+     * given IDs, Roblox IDs that aren't linked to any Discord account are left out.
+     * @throws SQLException If the verification table fails to be queried.
+     */
+    public Map<Long, List<VerificationEntity>> findByRobloxIds(Collection<Long> robloxIds) throws SQLException {
+        List<Long> ids = distinct(robloxIds);
+
+        Map<Long, List<DataRow>> links = new HashMap<>();
+        for (DataRow row : queryChunked("robloxId", ids)) {
+            links.computeIfAbsent(row.getLong("robloxId"), ignored -> new ArrayList<>()).add(row);
+        }
+        Map<Long, String> names = links.isEmpty() ? Map.of() : usernames.apply(links.keySet());
+
+        Map<Long, List<VerificationEntity>> result = new LinkedHashMap<>();
+        for (Long robloxId : ids) {
+            List<DataRow> rows = links.get(robloxId);
+            if (rows == null) {
+                continue;
+            }
+
+            List<VerificationEntity> entities = new ArrayList<>(rows.size());
+            for (DataRow row : rows) {
+                entities.add(createEntity(row, names));
+            }
+            result.put(robloxId, entities);
+        }
+        return result;
+    }
+
+    /**
+     * Resolves the given Discord IDs through the given fallback, only the first
+     * {@link #MAX_FALLBACKS} IDs are resolved, and lookups that are still running
+     * when the fallback timeout runs out are cancelled.
+     *
+     * @param discordIds The Discord IDs that should be resolved.
+     * @param fallback   The fallback used to resolve a single Discord ID.
+     * @return The resolved verification links mapped by the Discord ID, in the
+     * same order as the given IDs, IDs that weren't resolved are left out.
+     * @throws InterruptedException If the thread is interrupted while waiting for the lookups.
+     */
+    public Map<Long, VerificationEntity> findWithFallback(
+        Collection<Long> discordIds,
+        Function<Long, VerificationEntity> fallback
+    ) throws InterruptedException {
+        List<Long> ids = distinct(discordIds);
+        if (ids.size() > MAX_FALLBACKS) {
+            ids = ids.subList(0, MAX_FALLBACKS);
+        }
+
+        List<Callable<VerificationEntity>> lookups = new ArrayList<>(ids.size());
+        for (Long discordId : ids) {
+            lookups.add(() -> fallback.apply(discordId));
+        }
+
+        List<Future<VerificationEntity>> futures = fallbackPool.invokeAll(lookups, fallbackTimeout, TimeUnit.MILLISECONDS);
+
+        Map<Long, VerificationEntity> result = new LinkedHashMap<>();
+        for (int i = 0; i < futures.size(); i++) {
+            VerificationEntity entity = getResult(futures.get(i));
+            if (entity != null) {
+                result.put(ids.get(i), entity);
+            }
+        }
+        return result;
+    }
+
+    private List<DataRow> queryChunked(String column, List<Long> ids) throws SQLException {
+        if (ids.size() > MAX_IDS) {
+            throw new IllegalArgumentException("Batch lookups are limited to " + MAX_IDS + " IDs, " + ids.size() + " given");
+        }
+
+        List<DataRow> rows = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += CHUNK_SIZE) {
+            for (DataRow row : database.newQueryBuilder(Constants.VERIFICATION_DATABASE_TABLE_NAME)
+                .select("id", "robloxId", "main")
+                .whereIn(column, ids.subList(i, Math.min(i + CHUNK_SIZE, ids.size())))
+                .get()) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private VerificationEntity createEntity(DataRow row, Map<Long, String> names) {
+        return new VerificationEntity(
+            row.getLong("robloxId"), names.get(row.getLong("robloxId")),
+            row.getLong("id"), "pinewood", row.getBoolean("main")
+        );
+    }
+
+    @Nullable
+    private VerificationEntity getResult(Future<VerificationEntity> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (CancellationException | ExecutionException e) {
+            return null;
+        }
+    }
+
+    private static List<Long> distinct(Collection<Long> ids) {
+        return new ArrayList<>(new LinkedHashSet<>(ids));
+    }
+}
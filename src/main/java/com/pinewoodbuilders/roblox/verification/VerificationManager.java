@@ -14,10 +14,8 @@ import com.pinewoodbuilders.contracts.verification.VerificationEntity;
 import com.pinewoodbuilders.contracts.verification.VerificationResult;
 import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.collection.DataRow;
-import com.pinewoodbuilders.database.controllers.GlobalSettingsController;
 import com.pinewoodbuilders.database.controllers.GuildSettingsController;
 import com.pinewoodbuilders.database.controllers.VerificationController;
-import com.pinewoodbuilders.database.transformers.GlobalSettingsTransformer;
 import com.pinewoodbuilders.database.transformers.GuildSettingsTransformer;
 import com.pinewoodbuilders.database.transformers.VerificationTransformer;
 import com.pinewoodbuilders.factories.MessageFactory;
@@ -47,7 +45,6 @@ import java.time.Instant;
 import java.util.List;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class VerificationManager {
@@ -57,6 +54,8 @@ public class VerificationManager {
     private final Xeus avaire;
     private final RobloxAPIManager manager;
     private final VerificationMethodsManager verificationMethodsManager;
+    private final MainGroupGuildIndex guildIndex = new MainGroupGuildIndex();
+    private final VerificationBatchLookup batchLookup;
     private final HashMap <Long, String> inVerification = new HashMap <>();
     private static final Logger log = LoggerFactory.getLogger(VerificationManager.class);
 
@@ -64,6 +63,17 @@ public class VerificationManager {
         this.avaire = avaire;
         this.manager = robloxAPIManager;
         this.verificationMethodsManager = new VerificationMethodsManager(avaire, robloxAPIManager);
+        this.batchLookup = new VerificationBatchLookup(avaire.getDatabase(),
+            userIds -> robloxAPIManager.getUserAPI().getUsernames(userIds), 4, 10, TimeUnit.SECONDS
+        );
+    }
+
+    public MainGroupGuildIndex getGuildIndex() {
+        return guildIndex;
+    }
+
+    public VerificationBatchLookup getBatchLookup() {
+        return batchLookup;
     }
 
     public VerificationMethodsManager getVerificationMethodsManager() {
@@ -145,10 +155,7 @@ public class VerificationManager {
 
         if (isGlobalBanned) {
             List<GlobalBanContainer> globalBanContainer = avaire.getGlobalPunishmentManager()
-                .getGlobalBans()
-                .get(transformer.getMainGroupId())
-                .stream()
-                .filter(user -> Objects.equals(user.getUserId(), String.valueOf(verificationEntity.getDiscordId()))).toList();
+                .getGlobalBans(transformer.getMainGroupId(), String.valueOf(verificationEntity.getDiscordId()));
             if (globalBanContainer.size() > 0) {
                 return canGlobalBan(globalBanContainer.get(0), transformer, member, verificationEntity);
             }
@@ -182,44 +189,19 @@ public class VerificationManager {
             GuildRobloxRanksService guildRanks = (GuildRobloxRanksService) manager
                 .toService(verificationTransformer.getRanks(), GuildRobloxRanksService.class);
 
-            Map<GuildRobloxRanksService.GroupRankBinding, Role> bindingRoleMap = guildRanks.getGroupRankBindings()
-                .stream()
-                .filter(binding -> {
-                    Role r = guild.getRoleById(binding.getRole());
-                    return r != null;
-                })
-                .collect(Collectors.toMap(Function.identity(),
-                    groupRankBinding -> {
-                    return guild.getRoleById(groupRankBinding.getRole());})),
-                bindingRoleAddMap = new HashMap<>();
-
-            // Loop through all the group-rank bindings
-            bindingRoleMap.forEach((groupRankBinding, role) -> {
-                List<String> robloxGroups = robloxRanks.stream()
-                    .map(data -> data.getGroup().getId() + ":" + data.getRole().getRank()).toList();
-
-                for (String groupRank : robloxGroups) {
-                    String[] rank = groupRank.split(":");
-                    String groupId = rank[0];
-                    String rankId = rank[1];
-
-                    if (groupRankBinding.getGroups().stream().filter(group -> !group.getId().equals("GamePass")).anyMatch(
-                        group -> group.getId().equals(groupId) && group.getRanks().contains(Integer.valueOf(rankId)))) {
-                        bindingRoleAddMap.put(groupRankBinding, role);
-                    }
-
+            RankBindings bindings = RankBindings.of(guild, guildRanks);
+            Set<Long> gamePasses = new HashSet<>();
+            for (Long gamePassId : bindings.getGamePassIds()) {
+                if (avaire.getRobloxAPIManager().getUserAPI().getUserGamePass(verificationEntity.getRobloxId(), gamePassId) != null) {
+                    gamePasses.add(gamePassId);
                 }
-            });
-
-            bindingRoleMap.forEach((groupRankBinding, role) -> groupRankBinding.getGroups().stream().filter(data -> data.getId().equals("GamePass"))
-                .map(pass -> avaire.getRobloxAPIManager().getUserAPI().getUserGamePass(verificationEntity.getRobloxId(),
-                    Long.parseLong(pass.getRanks().get(0).toString())))
-                .filter(Objects::nonNull).forEach(pass -> bindingRoleAddMap.put(groupRankBinding, role)));
+            }
+            Set<Role> matchingRoles = bindings.getMatchingRoles(robloxRanks, gamePasses);
 
-            // Collect the toAdd and toRemove roles from the previous maps
-            java.util.Collection<Role> rolesToAdd = bindingRoleAddMap.values().stream()
+            // Collect the toAdd and toRemove roles from the bound roles
+            java.util.Collection<Role> rolesToAdd = matchingRoles.stream()
                 .filter(role -> PermissionUtil.canInteract(guild.getSelfMember(), role)).collect(Collectors.toList()),
-                rolesToRemove = bindingRoleMap.values().stream().filter(role -> !bindingRoleAddMap.containsValue(role)
+                rolesToRemove = bindings.getRoles().stream().filter(role -> !matchingRoles.contains(role)
                     && PermissionUtil.canInteract(guild.getSelfMember(), role)).collect(Collectors.toList());
 
             if (verificationTransformer.getVerifiedRole() != 0) {
@@ -244,7 +226,7 @@ public class VerificationManager {
             }).collect(Collectors.joining("\n"))) : "No roles have been added");
             stringBuilder.append(rolesToAddAsString);
             stringBuilder.append("\n\n```If you require to alter the account you verify with, use the command '!reverify'.```");
-            String rolesToRemoveAsString = "\nRoles to remove:\n" + (bindingRoleMap.size() > 0
+            String rolesToRemoveAsString = "\nRoles to remove:\n" + (bindings.getRoles().size() > 0
                 ? (rolesToRemove.stream().map(role -> "- `" + role.getName() + "`").collect(Collectors.joining("\n")))
                 : "No roles have been removed");
             // stringBuilder.append(rolesToRemoveAsString);
@@ -270,6 +252,29 @@ public class VerificationManager {
         }
     }
 
+    /**
+     * Checks if the given verification link has to go through the full verification
+     * flow, links for Roblox accounts that are trello-banned, blacklisted on the given
+     * guild, or globally banned within the main group of the guild are handled by the
+     * flow, rather than just having their roles and nickname updated.
+     *
+     * @param transformer        The guild settings for the guild.
+     * @param guild              The guild the member is being verified in.
+     * @param verificationEntity The verification link for the member.
+     * @return <code>True</code> if the full verification flow is required, <code>False</code> otherwise.
+     */
+    public boolean requiresVerificationFlow(GuildSettingsTransformer transformer, Guild guild, VerificationEntity verificationEntity) {
+        if (transformer.getPbVerificationTrelloban()) {
+            HashMap<Long, List<TrellobanLabels>> trellobans = avaire.getRobloxAPIManager().getKronosManager().getTrelloBans();
+            if (trellobans != null && isTrelloBanned(trellobans, verificationEntity)) {
+                return true;
+            }
+        }
+
+        return isBlacklisted(guild, verificationEntity)
+            || avaire.getGlobalPunishmentManager().isGlobalBanned(transformer.getMainGroupId(), String.valueOf(verificationEntity.getDiscordId()));
+    }
+
     private boolean isTrelloBanned(HashMap<Long, List<TrellobanLabels>> trellobans, VerificationEntity member) {
         return trellobans.containsKey(member.getRobloxId());
     }
@@ -288,30 +293,14 @@ public class VerificationManager {
         if (!avaire.areWeReadyYet()) {
             return null;
         }
-        List<Guild> guildList = new LinkedList<>();
-
-        GlobalSettingsTransformer globalSettings = GlobalSettingsController.fetchGlobalSettingsFromGroupSettings(avaire, mainGroupId);
 
-        try {
-            Collection guildQuery = avaire.getDatabase().newQueryBuilder(Constants.GUILD_SETTINGS_TABLE)
-                .where("main_group_id", mainGroupId)
-                .where(builder -> {
-                    if (isOfficial) {
-                        builder.where("official_sub_group", 1);
-                    }
-                })
-                .get();
-
-            for (DataRow dataRow : guildQuery) {
-                if (globalSettings.getModerationServerId() != 0 && dataRow.getString("id").equals(String.valueOf(globalSettings.getModerationServerId()))) {continue;}
-
-                Guild guild = avaire.getShardManager().getGuildById(dataRow.getString("id"));
-                if (guild != null) {
-                    guildList.add(guild);
-                }
+        long[] guildIds = guildIndex.getGuildIds(mainGroupId, isOfficial);
+        List<Guild> guildList = new ArrayList<>(guildIds.length);
+        for (long guildId : guildIds) {
+            Guild guild = avaire.getShardManager().getGuildById(guildId);
+            if (guild != null) {
+                guildList.add(guild);
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
         return guildList;
     }
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.roblox.verification.mass;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.pinewoodbuilders.ratelimit.SlidingWindowRateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs lookups against external APIs on a small fixed pool of threads, so a
+ * batch of thousands of lookups can never send more than a handful of
+ * requests at the same time, lookups can additionally wait for a
+ * rate limiter before sending their request.
+ */
+public class LookupPool {
+
+    private static final Logger log = LoggerFactory.getLogger(LookupPool.class);
+
+    private final ExecutorService pool;
+
+    /**
+     * Creates a new lookup pool.
+     *
+     * @param name        The name of the pool, used for naming the threads.
+     * @param concurrency The max amount of lookups that can run at the same time.
+     */
+    public LookupPool(String name, int concurrency) {
+        this.pool = Executors.newFixedThreadPool(concurrency, new ThreadFactoryBuilder()
+            .setNameFormat("avaire-" + name + "-%d")
+            .setDaemon(true)
+            .build()
+        );
+    }
+
+    /**
+     * Waits until the given rate limiter allows another request, and hits it.
+     *
+     * @param limiter The rate limiter that should be acquired.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    public static void acquire(SlidingWindowRateLimiter limiter) throws InterruptedException {
+        // Threads waiting for the same limiter are lined up, so the limiter is only
+        // hit by one thread once the window moves, instead of every thread at once.
+        synchronized (limiter) {
+            while (limiter.isLimited(0)) {
+                Thread.sleep(limiter.getMillisUntilNextWindow());
+            }
+            limiter.hit(0);
+        }
+    }
+
+    /**
+     * Looks up every one of the given keys, waiting for all the lookups to finish.
+     *
+     * @param keys   The keys that should be looked up.
+     * @param lookup The lookup used for a single key, may return <code>NULL</code>.
+     * @param <K>    The type of the keys.
+     * @param <V>    The type of the lookup results.
+     * @return The lookup results mapped by their key, in the same order as the given keys, keys
+     * that returned <code>NULL</code> or failed to be looked up are left out.
+     * @throws InterruptedException If the thread is interrupted while waiting for the lookups.
+     */
+    public <K, V> Map<K, V> lookupAll(Collection<K> keys, Lookup<K, V> lookup) throws InterruptedException {
+        List<K> distinctKeys = new ArrayList<>(new LinkedHashSet<>(keys));
+
+        List<Callable<V>> lookups = new ArrayList<>(distinctKeys.size());
+        for (K key : distinctKeys) {
+            lookups.add(() -> lookup.apply(key));
+        }
+
+        List<Future<V>> futures = pool.invokeAll(lookups);
+
+        Map<K, V> result = new LinkedHashMap<>();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                V value = futures.get(i).get();
+                if (value != null) {
+                    result.put(distinctKeys.get(i), value);
+                }
+            } catch (ExecutionException e) {
+                log.debug("Failed to look up {}: {}", distinctKeys.get(i), e.getCause().getMessage(), e.getCause());
+            }
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    public interface Lookup<K, V> {
+
+        /**
+         * Looks up the given key.
+         *
+         * @param key The key that should be looked up.
+         * @return The lookup result, or <code>NULL</code> if nothing was found.
+         * @throws Exception If the lookup fails.
+         */
+        V apply(K key) throws Exception;
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.roblox.verification.mass;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A mass update of the verification links for the members of a guild, members
+ * are processed in order of their IDs, and the ID of the last member in each
+ * finished batch is stored in the database along with the counters, so the
+ * job can be resumed from that member if the bot restarts.
+ * <p>
+ * The state of the job is guarded by the job instance itself.
+ */
+public class MassUpdateJob {
+
+    /**
+     * The max amount of failures that are kept for the report.
+     */
+    static final int MAX_FAILURES = 25;
+
+    /**
+     * The max length of the progress report, leaving some room
+     * below the embed description limit for the header.
+     */
+    private static final int MAX_REPORT_LENGTH = 3800;
+
+    private final long id;
+    private final long guildId;
+    private final long executorId;
+    private final MassUpdateMode mode;
+    private final long roleId;
+    private final List<String> failures = new ArrayList<>();
+
+    private long channelId;
+    private long messageId;
+    private long lastMemberId;
+    private int total;
+    private int processed;
+    private int updated;
+    private int unchanged;
+    private int unverified;
+    private int skipped;
+    private int failed;
+    private MassUpdateOutcome outcome = null;
+    private String outcomeReason = null;
+    private boolean reportScheduled = false;
+    private long reportedAt = 0;
+
+    MassUpdateJob(long id, long guildId, long executorId, MassUpdateMode mode, long roleId, long channelId, long messageId) {
+        this.id = id;
+        this.guildId = guildId;
+        this.executorId = executorId;
+        this.mode = mode;
+        this.roleId = roleId;
+        this.channelId = channelId;
+        this.messageId = messageId;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getGuildId() {
+        return guildId;
+    }
+
+    public long getExecutorId() {
+        return executorId;
+    }
+
+    public MassUpdateMode getMode() {
+        return mode;
+    }
+
+    public long getRoleId() {
+        return roleId;
+    }
+
+    public synchronized long getChannelId() {
+        return channelId;
+    }
+
+    public synchronized long getMessageId() {
+        return messageId;
+    }
+
+    synchronized void setProgressMessage(long channelId, long messageId) {
+        this.channelId = channelId;
+        this.messageId = messageId;
+    }
+
+    public synchronized long getLastMemberId() {
+        return lastMemberId;
+    }
+
+    synchronized void setLastMemberId(long lastMemberId) {
+        this.lastMemberId = lastMemberId;
+    }
+
+    public synchronized int getTotal() {
+        return total;
+    }
+
+    synchronized void setTotal(int total) {
+        this.total = total;
+    }
+
+    public synchronized int getProcessed() {
+        return processed;
+    }
+
+    public synchronized int getUpdated() {
+        return updated;
+    }
+
+    public synchronized int getUnchanged() {
+        return unchanged;
+    }
+
+    public synchronized int getUnverified() {
+        return unverified;
+    }
+
+    public synchronized int getSkipped() {
+        return skipped;
+    }
+
+    public synchronized int getFailed() {
+        return failed;
+    }
+
+    synchronized void restoreCounters(int total, int processed, int updated, int unchanged, int unverified, int skipped, int failed) {
+        this.total = total;
+        this.processed = processed;
+        this.updated = updated;
+        this.unchanged = unchanged;
+        this.unverified = unverified;
+        this.skipped = skipped;
+        this.failed = failed;
+    }
+
+    synchronized void markUpdated() {
+        processed++;
+        updated++;
+    }
+
+    synchronized void markUnchanged() {
+        processed++;
+        unchanged++;
+    }
+
+    synchronized void markUnverified() {
+        processed++;
+        unverified++;
+    }
+
+    synchronized void markSkipped() {
+        processed++;
+        skipped++;
+    }
+
+    synchronized void markFailed(String memberName, String reason) {
+        processed++;
+        failed++;
+        if (failures.size() < MAX_FAILURES) {
+            failures.add("`" + memberName + "` - **" + reason + "**");
+        }
+    }
+
+    /**
+     * Checks if the job has finished processing every selected member.
+     *
+     * @return <code>True</code> if the job finished, <code>False</code> if it's still running, or failed.
+     */
+    public synchronized boolean isFinished() {
+        return outcome == MassUpdateOutcome.FINISHED;
+    }
+
+    /**
+     * Gets the terminal outcome of the job.
+     *
+     * @return The outcome of the job, or <code>NULL</code> if the job is still running.
+     */
+    @Nullable
+    public synchronized MassUpdateOutcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Gets the reason the job failed, or was aborted.
+     *
+     * @return The reason the job stopped, or <code>NULL</code> if the job finished, or is still running.
+     */
+    @Nullable
+    public synchronized String getOutcomeReason() {
+        return outcomeReason;
+    }
+
+    synchronized void complete(MassUpdateOutcome outcome, @Nullable String reason) {
+        this.outcome = outcome;
+        this.outcomeReason = reason;
+    }
+
+    synchronized boolean isReportScheduled() {
+        return reportScheduled;
+    }
+
+    synchronized void setReportScheduled(boolean reportScheduled) {
+        this.reportScheduled = reportScheduled;
+    }
+
+    synchronized long getReportedAt() {
+        return reportedAt;
+    }
+
+    synchronized void setReportedAt(long reportedAt) {
+        this.reportedAt = reportedAt;
+    }
+
+    /**
+     * Builds the progress report for the job.
+     *
+     * @return The progress report for the job.
+     */
+    public synchronized String buildReport() {
+        StringBuilder report = new StringBuilder();
+        if (outcome == MassUpdateOutcome.FINISHED) {
+            report.append("All members have been updated, `").append(processed).append("` members processed");
+        } else if (outcome != null) {
+            report.append("The update was stopped after `").append(processed).append("` of `").append(total)
+                .append("` members processed, ").append(outcomeReason);
+        } else {
+            report.append("Running verification, `").append(processed).append("` of `").append(total).append("` members processed");
+        }
+        report.append(" : \n\n")
+            .append("Updated: `").append(updated).append("`\n")
+            .append("Unchanged: `").append(unchanged).append("`\n")
+            .append("Not verified: `").append(unverified).append("`\n")
+            .append("Skipped: `").append(skipped).append("`\n")
+            .append("Failed: `").append(failed).append("`\n");
+
+        if (!failures.isEmpty()) {
+            report.append("\n**Members that failed to update:**\n");
+            for (int i = 0; i < failures.size(); i++) {
+                if (report.length() > MAX_REPORT_LENGTH) {
+                    report.append("*And ").append(failed - i).append(" more members...*");
+                    return report.toString();
+                }
+                report.append(failures.get(i)).append("\n");
+            }
+
+            if (failed > failures.size()) {
+                report.append("*And ").append(failed - failures.size()).append(" more members...*");
+            }
+        }
+
+        return report.toString();
+    }
+}
@@ -0,0 +1,665 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.roblox.verification.mass;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.pinewoodbuilders.Constants;
+import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.chat.MessageType;
+import com.pinewoodbuilders.contracts.verification.VerificationEntity;
+import com.pinewoodbuilders.contracts.verification.VerificationResult;
+import com.pinewoodbuilders.database.collection.Collection;
+import com.pinewoodbuilders.database.collection.DataRow;
+import com.pinewoodbuilders.database.controllers.GuildSettingsController;
+import com.pinewoodbuilders.database.controllers.VerificationController;
+import com.pinewoodbuilders.database.transformers.GuildSettingsTransformer;
+import com.pinewoodbuilders.database.transformers.VerificationTransformer;
+import com.pinewoodbuilders.factories.MessageFactory;
+import com.pinewoodbuilders.ratelimit.SlidingWindowRateLimiter;
+import com.pinewoodbuilders.requests.service.group.GuildRobloxRanksService;
+import com.pinewoodbuilders.requests.service.user.rank.RobloxUserGroupRankService;
+import com.pinewoodbuilders.roblox.verification.RankBindings;
+import com.pinewoodbuilders.roblox.verification.VerificationManager;
+import com.pinewoodbuilders.scheduler.ScheduleHandler;
+import com.pinewoodbuilders.utilities.RestActionUtil;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.TextChannel;
+import net.dv8tion.jda.api.exceptions.ErrorResponseException;
+import net.dv8tion.jda.internal.utils.PermissionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Updates the roles and nicknames of the members in a guild to match their
+ * verification links, the members are processed in batches, where each batch
+ * has its verification links loaded from the database in bulk, members that
+ * aren't in the database are looked up through the verification providers, and
+ * the changes are calculated in memory, so only members that actually need to
+ * change are sent to Discord, through a rate limited mutation queue.
+ * <p>
+ * The next batch is prepared while the changes for the previous batch are
+ * being applied, and the cursor and counters are stored in the database
+ * once a batch is done, so jobs that were interrupted by a restart can
+ * be resumed from the last finished batch.
+ */
+public class MassUpdateManager {
+
+    /**
+     * The amount of members processed in each batch.
+     */
+    static final int batchSize = 500;
+
+    /**
+     * The minimum amount of time in milliseconds between progress message edits.
+     */
+    static final long reportInterval = 2500;
+
+    private static final Logger log = LoggerFactory.getLogger(MassUpdateManager.class);
+
+    private static final String PENDING = "pending";
+    private static final String RUNNING = "running";
+
+    private static final List<String> bypassRoles = Arrays.asList("Xeus Bypass", "RoVer Bypass");
+
+    private static final SlidingWindowRateLimiter roverLimiter = SlidingWindowRateLimiter.of(
+        "mass-update-rover", 60, 1, TimeUnit.MINUTES
+    );
+    private static final SlidingWindowRateLimiter bloxlinkLimiter = SlidingWindowRateLimiter.of(
+        "mass-update-bloxlink", 60, 1, TimeUnit.MINUTES
+    );
+    private static final SlidingWindowRateLimiter rowifiLimiter = SlidingWindowRateLimiter.of(
+        "mass-update-rowifi", 60, 1, TimeUnit.MINUTES
+    );
+    private static final SlidingWindowRateLimiter robloxLimiter = SlidingWindowRateLimiter.of(
+        "mass-update-roblox", 300, 1, TimeUnit.MINUTES
+    );
+
+    /**
+     * The rate limiter for the member changes, hit using the ID of the guild the member is in.
+     */
+    private static final SlidingWindowRateLimiter mutationLimiter = SlidingWindowRateLimiter.of(
+        "mass-update-mutations", 10, 10, TimeUnit.SECONDS
+    );
+
+    private final Xeus avaire;
+    private final Map<Long, MassUpdateJob> jobs = new ConcurrentHashMap<>();
+    private final Set<Long> createdJobs = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean resumed = new AtomicBoolean(false);
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+        .setNameFormat("avaire-mass-update-%d")
+        .setDaemon(true)
+        .build()
+    );
+    private final LookupPool lookupPool = new LookupPool("mass-update-lookup", 4);
+    private final MutationQueue mutationQueue;
+    private final VerificationProviderChain providers;
+
+    /**
+     * Creates a new mass update manager.
+     *
+     * @param avaire The Xeus application class instance.
+     */
+    public MassUpdateManager(Xeus avaire) {
+        this.avaire = avaire;
+        this.mutationQueue = new MutationQueue(mutationLimiter, ScheduleHandler.getScheduler(), error ->
+            !(error instanceof ErrorResponseException) || ((ErrorResponseException) error).isServerError()
+        );
+
+        // The providers are tried in the same order as the verification backups,
+        // the verification manager is looked up for every lookup since the
+        // Roblox API manager isn't ready when this manager is created.
+        this.providers = new VerificationProviderChain(Arrays.asList(
+            new VerificationProviderChain.Provider("rover", roverLimiter,
+                id -> getVerification().cache.getIfPresent("rover:" + id),
+                id -> getVerification().fetchVerificationFromRover(String.valueOf(id), true)
+            ),
+            new VerificationProviderChain.Provider("bloxlink", bloxlinkLimiter,
+                id -> getVerification().cache.getIfPresent("bloxlink:" + id),
+                id -> getVerification().fetchVerificationFromBloxlink(String.valueOf(id), true)
+            ),
+            new VerificationProviderChain.Provider("rowifi", rowifiLimiter,
+                id -> getVerification().cache.getIfPresent(String.valueOf(id)),
+                id -> getVerification().callUserFromRoWifiAPI(String.valueOf(id))
+            )
+        ));
+    }
+
+    /**
+     * Checks if the given guild has been set up well enough for its members to be
+     * updated, mirroring the checks done when verifying a single member.
+     *
+     * @param guild The guild that should be checked.
+     * @return The reason the guild can't be updated, or <code>NULL</code> if it can be updated.
+     */
+    @Nullable
+    public String validate(Guild guild) {
+        VerificationTransformer verification = VerificationController.fetchVerificationFromGuild(avaire, guild);
+        if (verification == null || GuildSettingsController.fetchGuildSettingsFromGuild(avaire, guild) == null) {
+            return "Xeus coudn't get the settings of this guild, please try again later.";
+        }
+
+        if (verification.getNicknameFormat() == null) {
+            return "The nickname format is not set (Wierd, it's the default but ok).";
+        }
+
+        if (verification.getRanks() == null || verification.getRanks().length() < 2) {
+            return "Ranks have not been setup on this guild yet. Please ask the admins to setup the roles on this server.";
+        }
+        return null;
+    }
+
+    /**
+     * Checks if a mass update is currently running in the given guild.
+     *
+     * @param guildId The ID of the guild that should be checked.
+     * @return <code>True</code> if a mass update is running, <code>False</code> otherwise.
+     */
+    public boolean isRunning(long guildId) {
+        return jobs.containsKey(guildId);
+    }
+
+    /**
+     * Creates a new job and stores it in the database as pending, the job is
+     * not started, or resumed after a restart, until it's passed to
+     * {@link #start(MassUpdateJob, Message)}.
+     *
+     * @param guild      The guild the members should be updated in.
+     * @param executorId The ID of the user who started the update.
+     * @param mode       The members that should be updated.
+     * @param roleId     The ID of the role the members must have, only used by the role mode.
+     * @return The created job.
+     * @throws SQLException If the job fails to be stored in the database.
+     */
+    public MassUpdateJob create(Guild guild, long executorId, MassUpdateMode mode, long roleId) throws SQLException {
+        Collection collection = avaire.getDatabase().newQueryBuilder(Constants.MASS_UPDATE_JOBS_TABLE_NAME)
+            .insert(statement -> {
+                statement.set("guild_id", guild.getIdLong());
+                statement.set("executor_id", executorId);
+                statement.set("mode", mode.name());
+                statement.set("role_id", roleId);
+                statement.set("status", PENDING);
+            });
+
+        if (collection.isEmpty()) {
+            throw new SQLException("The mass update job was stored, but no job ID was returned");
+        }
+
+        MassUpdateJob job = new MassUpdateJob(
+            collection.first().getLong("id"), guild.getIdLong(), executorId, mode, roleId, 0, 0
+        );
+        createdJobs.add(job.getId());
+
+        return job;
+    }
+
+    /**
+     * Starts updating the members for the given job, the progress for
+     * the job will be reported by editing the given message, if any.
+     *
+     * @param job     The job that should be started.
+     * @param message The message the progress should be reported in, or <code>NULL</code>.
+     */
+    public void start(MassUpdateJob job, @Nullable Message message) {
+        if (message != null) {
+            job.setProgressMessage(message.getChannel().getIdLong(), message.getIdLong());
+
+            try {
+                avaire.getDatabase().newQueryBuilder(Constants.MASS_UPDATE_JOBS_TABLE_NAME)
+                    .useAsync(true)
+                    .where("id", job.getId())
+                    .update(statement -> {
+                        statement.set("channel_id", job.getChannelId());
+                        statement.set("message_id", job.getMessageId());
+                    });
+            } catch (SQLException e) {
+                log.error("Failed to store the progress message for mass update job #{}: {}", job.getId(), e.getMessage(), e);
+            }
+        }
+
+        if (jobs.putIfAbsent(job.getGuildId(), job) != null) {
+            log.warn("Mass update job #{} was started while another job is running in guild {}, aborting it",
+                job.getId(), job.getGuildId()
+            );
+            job.complete(MassUpdateOutcome.ABORTED, "another mass update is already running in the guild.");
+            ScheduleHandler.getScheduler().submit(() -> storeStatus(job.getId(), MassUpdateOutcome.ABORTED.getStatus()));
+            return;
+        }
+
+        executor.submit(() -> {
+            // Jobs are only marked as running once they're actually started, so
+            // jobs that never made it this far are never resumed on a restart.
+            storeStatus(job.getId(), RUNNING);
+            run(job);
+        });
+    }
+
+    /**
+     * Resumes all the jobs that didn't finish before the bot was last
+     * shut down, jobs are only resumed the first time this is called.
+     */
+    public void resumeUnfinishedJobs() {
+        if (!resumed.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            for (DataRow row : avaire.getDatabase().newQueryBuilder(Constants.MASS_UPDATE_JOBS_TABLE_NAME)
+                .where("status", RUNNING)
+                .get()) {
+                long id = row.getLong("id");
+                if (createdJobs.contains(id)) {
+                    continue;
+                }
+
+                MassUpdateMode mode = MassUpdateMode.fromName(row.getString("mode"));
+                if (mode == null) {
+                    log.warn("Mass update job #{} has an unknown mode \"{}\", aborting it", id, row.getString("mode"));
+                    storeStatus(id, MassUpdateOutcome.ABORTED.getStatus());
+                    continue;
+                }
+
+                MassUpdateJob job = new MassUpdateJob(id,
+                    row.getLong("guild_id"), row.getLong("executor_id"), mode, row.getLong("role_id"),
+                    row.getLong("channel_id"), row.getLong("message_id")
+                );
+                job.setLastMemberId(row.getLong("last_member_id"));
+                job.restoreCounters(
+                    row.getInt("total"), row.getInt("processed"), row.getInt("updated"), row.getInt("unchanged"),
+                    row.getInt("unverified"), row.getInt("skipped"), row.getInt("failed")
+                );
+
+                log.info("Resuming mass update job #{} in guild {} after member {}", id, job.getGuildId(), job.getLastMemberId());
+
+                start(job, null);
+            }
+        } catch (SQLException e) {
+            log.error("Failed to resume the unfinished mass update jobs: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Builds the progress embed for the given job.
+     *
+     * @param job The job the progress embed should be built for.
+     * @return The progress embed for the job.
+     */
+    public MessageEmbed buildProgressEmbed(MassUpdateJob job) {
+        return MessageFactory.createEmbeddedBuilder()
+            .setColor((job.isFinished() ? MessageType.SUCCESS
+                : job.getOutcome() != null ? MessageType.ERROR : MessageType.INFO
+            ).getColor())
+            .setDescription(job.buildReport())
+            .build();
+    }
+
+    private void run(MassUpdateJob job) {
+        try {
+            process(job);
+        } catch (InterruptedException e) {
+            log.warn("Mass update job #{} was interrupted, it will be resumed on the next restart", job.getId());
+            jobs.remove(job.getGuildId(), job);
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            Throwable cause = e instanceof ExecutionException || e instanceof CompletionException
+                ? e.getCause() : e;
+
+            log.error("Mass update job #{} failed in guild {}: {}", job.getId(), job.getGuildId(), cause.getMessage(), cause);
+            job.complete(MassUpdateOutcome.FAILED, "an unexpected error occurred: " + cause.getMessage());
+        }
+
+        if (job.getOutcome() == null) {
+            job.complete(MassUpdateOutcome.FINISHED, null);
+        }
+        complete(job);
+    }
+
+    private void process(MassUpdateJob job) throws InterruptedException, ExecutionException {
+        Guild guild = avaire.getShardManager().getGuildById(job.getGuildId());
+        if (guild == null) {
+            log.warn("Mass update job #{} was started for guild {}, but the guild is no longer available", job.getId(), job.getGuildId());
+            job.complete(MassUpdateOutcome.ABORTED, "the guild is no longer available.");
+            return;
+        }
+
+        String error = validate(guild);
+        if (error != null) {
+            log.warn("Mass update job #{} can't update the members of {}: {}", job.getId(), guild.getId(), error);
+            job.complete(MassUpdateOutcome.ABORTED, error);
+            return;
+        }
+
+        GuildSettingsTransformer settings = GuildSettingsController.fetchGuildSettingsFromGuild(avaire, guild);
+        VerificationTransformer verification = VerificationController.fetchVerificationFromGuild(avaire, guild);
+        Context context = new Context(guild, settings, verification, RankBindings.of(guild,
+            (GuildRobloxRanksService) avaire.getRobloxAPIManager().toService(verification.getRanks(), GuildRobloxRanksService.class)
+        ));
+
+        List<Member> members = (job.getMode() == MassUpdateMode.ROLE
+            ? avaire.getMemberLoader().loadMembersWithRole(guild, job.getRoleId())
+            : avaire.getMemberLoader().loadMembers(guild)
+        ).get();
+
+        long cursor = job.getLastMemberId();
+        List<Member> selected = new ArrayList<>();
+        for (Member member : members) {
+            if (member.getIdLong() > cursor && job.getMode().matches(member, job.getRoleId())) {
+                selected.add(member);
+            }
+        }
+        selected.sort(Comparator.comparingLong(Member::getIdLong));
+        job.setTotal(job.getProcessed() + selected.size());
+        report(job, true);
+
+        CompletableFuture<Void> previous = CompletableFuture.completedFuture(null);
+        for (int i = 0; i < selected.size(); i += batchSize) {
+            List<Member> batch = selected.subList(i, Math.min(i + batchSize, selected.size()));
+            PreparedBatch prepared = prepare(job, context, batch);
+
+            // The previous batch has to be fully applied before the cursor is moved past
+            // it, the outcomes for this batch are only counted after the checkpoint is
+            // stored, so resuming from the checkpoint never counts a member twice.
+            previous.join();
+            if (i > 0) {
+                checkpoint(job, selected.get(i - 1).getIdLong());
+            }
+
+            prepared.outcomes.forEach(outcome -> outcome.accept(job));
+            report(job, false);
+
+            previous = mutationQueue.submit(guild.getIdLong(), prepared.mutations);
+        }
+
+        previous.join();
+        if (!selected.isEmpty()) {
+            checkpoint(job, selected.get(selected.size() - 1).getIdLong());
+        }
+    }
+
+    private PreparedBatch prepare(MassUpdateJob job, Context context, List<Member> batch) throws InterruptedException {
+        PreparedBatch prepared = new PreparedBatch();
+        VerificationManager verificationManager = getVerification();
+        Member self = context.guild.getSelfMember();
+
+        Map<Long, Member> candidates = new HashMap<>();
+        for (Member member : batch) {
+            if (member.getUser().isBot() || !PermissionUtil.canInteract(self, member) || hasBypassRole(member)) {
+                prepared.outcomes.add(MassUpdateJob::markSkipped);
+                continue;
+            }
+            candidates.put(member.getIdLong(), member);
+        }
+
+        Map<Long, VerificationEntity> entities;
+        try {
+            entities = new HashMap<>(verificationManager.getBatchLookup().findByDiscordIds(candidates.keySet()));
+        } catch (SQLException e) {
+            log.error("Mass update job #{} failed to load the verification links for a batch: {}", job.getId(), e.getMessage(), e);
+            for (Member member : candidates.values()) {
+                prepared.outcomes.add(j -> j.markFailed(member.getEffectiveName(), "Failed to load the verification link"));
+            }
+            return prepared;
+        }
+
+        List<Long> unknown = new ArrayList<>();
+        for (Long discordId : candidates.keySet()) {
+            if (!entities.containsKey(discordId)) {
+                unknown.add(discordId);
+            }
+        }
+        entities.putAll(lookupPool.lookupAll(unknown, providers::resolve));
+
+        List<Member> flowMembers = new ArrayList<>();
+        Map<Member, VerificationEntity> linkedMembers = new HashMap<>();
+        for (Member member : candidates.values()) {
+            VerificationEntity entity = entities.get(member.getIdLong());
+            if (entity == null) {
+                prepared.outcomes.add(MassUpdateJob::markUnverified);
+            } else if (verificationManager.requiresVerificationFlow(context.settings, context.guild, entity)) {
+                flowMembers.add(member);
+            } else {
+                linkedMembers.put(member, entity);
+            }
+        }
+
+        // Members that are banned in some way are passed through the full verification
+        // flow, so they're handled exactly like they would be when verifying.
+        Map<Member, VerificationResult> flowResults = lookupPool.lookupAll(flowMembers, member ->
+            verificationManager.verify(context.settings, member, context.guild, true)
+        );
+        for (Member member : flowMembers) {
+            VerificationResult result = flowResults.get(member);
+            if (result != null && result.isSuccess()) {
+                prepared.outcomes.add(MassUpdateJob::markUpdated);
+            } else {
+                String reason = result == null ? "The verification failed" : result.getMessage();
+                prepared.outcomes.add(j -> j.markFailed(member.getEffectiveName(), reason));
+            }
+        }
+
+        Set<Long> robloxIds = new HashSet<>();
+        for (VerificationEntity entity : linkedMembers.values()) {
+            robloxIds.add(entity.getRobloxId());
+        }
+
+        Map<Long, List<RobloxUserGroupRankService.Data>> ranks = lookupPool.lookupAll(robloxIds, robloxId -> {
+            LookupPool.acquire(robloxLimiter);
+            return avaire.getRobloxAPIManager().getUserAPI().getUserRanks(robloxId);
+        });
+
+        Map<Long, Set<Long>> gamePasses = new HashMap<>();
+        Set<Long> gamePassIds = context.bindings.getGamePassIds();
+        if (!gamePassIds.isEmpty()) {
+            // Game passes only matter for users in at least one group, since
+            // roles are left alone for users that aren't in any groups.
+            gamePasses = lookupPool.lookupAll(ranks.keySet(), robloxId -> {
+                Set<Long> owned = new HashSet<>();
+                for (Long gamePassId : gamePassIds) {
+                    LookupPool.acquire(robloxLimiter);
+                    if (avaire.getRobloxAPIManager().getUserAPI().getUserGamePass(robloxId, gamePassId) != null) {
+                        owned.add(gamePassId);
+                    }
+                }
+                return owned;
+            });
+        }
+
+        for (Map.Entry<Member, VerificationEntity> entry : linkedMembers.entrySet()) {
+            Member member = entry.getKey();
+            VerificationEntity entity = entry.getValue();
+
+            MemberUpdate update = MemberUpdate.of(member, entity, context.bindings, context.verifiedRole,
+                context.verification.getNicknameFormat(), ranks.get(entity.getRobloxId()),
+                gamePasses.getOrDefault(entity.getRobloxId(), Set.of())
+            );
+
+            if (update.isEmpty()) {
+                prepared.outcomes.add(MassUpdateJob::markUnchanged);
+                continue;
+            }
+
+            prepared.mutations.add(new MutationQueue.Mutation(update::apply, error -> {
+                if (error == null) {
+                    job.markUpdated();
+                } else {
+                    job.markFailed(member.getEffectiveName(), error instanceof ErrorResponseException
+                        ? ((ErrorResponseException) error).getMeaning()
+                        : error.getMessage()
+                    );
+                }
+                report(job, false);
+            }));
+        }
+
+        return prepared;
+    }
+
+    private boolean hasBypassRole(Member member) {
+        for (Role role : member.getRoles()) {
+            for (String bypassRole : bypassRoles) {
+                if (role.getName().equalsIgnoreCase(bypassRole)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private VerificationManager getVerification() {
+        return avaire.getRobloxAPIManager().getVerification();
+    }
+
+    private void checkpoint(MassUpdateJob job, long lastMemberId) {
+        job.setLastMemberId(lastMemberId);
+
+        try {
+            avaire.getDatabase().newQueryBuilder(Constants.MASS_UPDATE_JOBS_TABLE_NAME)
+                .where("id", job.getId())
+                .update(statement -> {
+                    statement.set("last_member_id", lastMemberId);
+                    statement.set("total", job.getTotal());
+                    statement.set("processed", job.getProcessed());
+                    statement.set("updated", job.getUpdated());
+                    statement.set("unchanged", job.getUnchanged());
+                    statement.set("unverified", job.getUnverified());
+                    statement.set("skipped", job.getSkipped());
+                    statement.set("failed", job.getFailed());
+                });
+        } catch (SQLException e) {
+            log.error("Failed to store the checkpoint for mass update job #{}: {}", job.getId(), e.getMessage(), e);
+        }
+    }
+
+    private void complete(MassUpdateJob job) {
+        jobs.remove(job.getGuildId(), job);
+
+        storeStatus(job.getId(), job.getOutcome().getStatus());
+        report(job, true);
+
+        TextChannel channel = avaire.getShardManager().getTextChannelById(job.getChannelId());
+        if (channel != null) {
+            channel.sendMessage("<@" + job.getExecutorId() + ">")
+                .setEmbeds(MessageFactory.createEmbeddedBuilder()
+                    .setColor((job.isFinished() ? MessageType.SUCCESS : MessageType.ERROR).getColor())
+                    .setDescription(job.isFinished()
+                        ? "All members have been updated"
+                        : "The mass update was stopped, " + job.getOutcomeReason()
+                    )
+                    .build()
+                ).queue(null, RestActionUtil.ignore);
+        }
+    }
+
+    private void report(MassUpdateJob job, boolean force) {
+        if (job.getMessageId() == 0) {
+            return;
+        }
+
+        synchronized (job) {
+            long now = System.currentTimeMillis();
+            if (!force) {
+                if (job.isReportScheduled()) {
+                    return;
+                }
+
+                long wait = job.getReportedAt() + reportInterval - now;
+                if (wait > 0) {
+                    job.setReportScheduled(true);
+                    ScheduleHandler.getScheduler().schedule(() -> {
+                        synchronized (job) {
+                            job.setReportScheduled(false);
+                        }
+                        report(job, true);
+                    }, wait, TimeUnit.MILLISECONDS);
+                    return;
+                }
+            }
+            job.setReportedAt(now);
+        }
+
+        TextChannel channel = avaire.getShardManager().getTextChannelById(job.getChannelId());
+        if (channel == null) {
+            return;
+        }
+
+        channel.editMessageEmbedsById(job.getMessageId(), buildProgressEmbed(job))
+            .queue(null, RestActionUtil.ignore);
+    }
+
+    private void storeStatus(long id, String status) {
+        try {
+            avaire.getDatabase().newQueryBuilder(Constants.MASS_UPDATE_JOBS_TABLE_NAME)
+                .where("id", id)
+                .update(statement -> statement.set("status", status));
+        } catch (SQLException e) {
+            log.error("Failed to mark mass update job #{} as {}: {}", id, status, e.getMessage(), e);
+        }
+    }
+
+    private static class Context {
+
+        private final Guild guild;
+        private final GuildSettingsTransformer settings;
+        private final VerificationTransformer verification;
+        private final RankBindings bindings;
+        private final Role verifiedRole;
+
+        Context(Guild guild, GuildSettingsTransformer settings, VerificationTransformer verification, RankBindings bindings) {
+            this.guild = guild;
+            this.settings = settings;
+            this.verification = verification;
+            this.bindings = bindings;
+            this.verifiedRole = verification.getVerifiedRole() == 0 ? null : guild.getRoleById(verification.getVerifiedRole());
+        }
+    }
+
+    private static class PreparedBatch {
+
+        private final List<Consumer<MassUpdateJob>> outcomes = new ArrayList<>();
+        private final List<MutationQueue.Mutation> mutations = new ArrayList<>();
+    }
+}
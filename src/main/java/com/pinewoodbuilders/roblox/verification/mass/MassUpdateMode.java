@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.roblox.verification.mass;
+
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Role;
+
+import javax.annotation.Nullable;
+
+/**
+ * The selections of guild members that can be updated by a mass update.
+ */
+public enum MassUpdateMode {
+
+    /**
+     * Updates every member in the guild.
+     */
+    EVERYONE {
+        @Override
+        public boolean matches(Member member, long roleId) {
+            return true;
+        }
+    },
+
+    /**
+     * Updates every member in the guild that has the role for the job.
+     */
+    ROLE {
+        @Override
+        public boolean matches(Member member, long roleId) {
+            for (Role role : member.getRoles()) {
+                if (role.getIdLong() == roleId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    },
+
+    /**
+     * Updates every member in the guild that doesn't have any roles.
+     */
+    UNROLED {
+        @Override
+        public boolean matches(Member member, long roleId) {
+            return member.getRoles().isEmpty();
+        }
+    };
+
+    /**
+     * Gets the mass update mode with the given name.
+     *
+     * @param name The name of the mode.
+     * @return The mode with the given name, or <code>NULL</code> if no mode has the given name.
+     */
+    @Nullable
+    public static MassUpdateMode fromName(String name) {
+        for (MassUpdateMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(name)) {
+                return mode;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if the given member should be updated by a job using this mode.
+     *
+     * @param member The member that should be checked.
+     * @param roleId The ID of the role for the job, only used by the role mode.
+     * @return <code>True</code> if the member should be updated, <code>False</code> otherwise.
+     */
+    public abstract boolean matches(Member member, long roleId);
+}
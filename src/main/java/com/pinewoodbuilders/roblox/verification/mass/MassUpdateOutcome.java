@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.roblox.verification.mass;
+
+/**
+ * The terminal outcome of a mass update job, the name of the
+ * outcome is stored as the status of the job in the database.
+ */
+public enum MassUpdateOutcome {
+
+    /**
+     * Every selected member has been processed.
+     */
+    FINISHED,
+
+    /**
+     * The job failed with an unexpected error before every member was processed.
+     */
+    FAILED,
+
+    /**
+     * The job was stopped before it started processing members, either because the
+     * guild is no longer available, or because it isn't set up for verification.
+     */
+    ABORTED;
+
+    /**
+     * Gets the status that is stored in the database for the outcome.
+     *
+     * @return The database status for the outcome.
+     */
+    public String getStatus() {
+        return name().toLowerCase();
+    }
+}
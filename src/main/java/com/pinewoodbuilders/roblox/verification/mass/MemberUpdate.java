@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.roblox.verification.mass;
+
+import com.pinewoodbuilders.contracts.verification.VerificationEntity;
+import com.pinewoodbuilders.requests.service.user.rank.RobloxUserGroupRankService;
+import com.pinewoodbuilders.roblox.verification.RankBindings;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.requests.RestAction;
+import net.dv8tion.jda.internal.utils.PermissionUtil;
+
+import javax.annotation.Nullable;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The role and nickname changes a member needs to match their verification
+ * link, the changes are calculated from the cached state of the member, so
+ * members that already match their link don't need any requests at all.
+ */
+public class MemberUpdate {
+
+    private final Member member;
+    private final Set<Role> rolesToAdd;
+    private final Set<Role> rolesToRemove;
+    private final String nickname;
+
+    private MemberUpdate(Member member, Set<Role> rolesToAdd, Set<Role> rolesToRemove, @Nullable String nickname) {
+        this.member = member;
+        this.rolesToAdd = rolesToAdd;
+        this.rolesToRemove = rolesToRemove;
+        this.nickname = nickname;
+    }
+
+    /**
+     * Calculates the changes the given member needs to match their verification link, roles
+     * are only changed if the Roblox user is in at least one group, like the verification
+     * command, and only roles the bot can interact with are changed.
+     *
+     * @param member         The member that should be updated.
+     * @param entity         The verification link for the member.
+     * @param bindings       The rank bindings for the guild.
+     * @param verifiedRole   The role verified members should have, or <code>NULL</code>.
+     * @param nicknameFormat The nickname format for the guild.
+     * @param ranks          The group ranks for the Roblox user, or <code>NULL</code> if they're unknown.
+     * @param gamePasses     The IDs of the bound game passes the Roblox user owns.
+     * @return The changes the member needs.
+     */
+    public static MemberUpdate of(
+        Member member,
+        VerificationEntity entity,
+        RankBindings bindings,
+        @Nullable Role verifiedRole,
+        String nicknameFormat,
+        @Nullable List<RobloxUserGroupRankService.Data> ranks,
+        Set<Long> gamePasses
+    ) {
+        Member self = member.getGuild().getSelfMember();
+
+        Set<Role> rolesToAdd = new LinkedHashSet<>();
+        Set<Role> rolesToRemove = new LinkedHashSet<>();
+        if (ranks != null && !ranks.isEmpty()) {
+            Set<Role> matchingRoles = bindings.getMatchingRoles(ranks, gamePasses);
+            if (verifiedRole != null) {
+                matchingRoles.add(verifiedRole);
+            }
+
+            List<Role> roles = member.getRoles();
+            for (Role role : matchingRoles) {
+                if (!roles.contains(role) && PermissionUtil.canInteract(self, role)) {
+                    rolesToAdd.add(role);
+                }
+            }
+
+            for (Role role : bindings.getRoles()) {
+                if (!matchingRoles.contains(role) && roles.contains(role) && PermissionUtil.canInteract(self, role)) {
+                    rolesToRemove.add(role);
+                }
+            }
+        }
+
+        String nickname = null;
+        if (entity.getRobloxUsername() != null && PermissionUtil.canInteract(self, member)) {
+            String formatted = nicknameFormat.replace("%USERNAME%", entity.getRobloxUsername());
+            if (!formatted.equals(member.getEffectiveName())) {
+                nickname = formatted;
+            }
+        }
+
+        return new MemberUpdate(member, rolesToAdd, rolesToRemove, nickname);
+    }
+
+    public Member getMember() {
+        return member;
+    }
+
+    public Set<Role> getRolesToAdd() {
+        return rolesToAdd;
+    }
+
+    public Set<Role> getRolesToRemove() {
+        return rolesToRemove;
+    }
+
+    @Nullable
+    public String getNickname() {
+        return nickname;
+    }
+
+    /**
+     * Checks if the member already matches their verification link.
+     *
+     * @return <code>True</code> if no changes are needed, <code>False</code> otherwise.
+     */
+    public boolean isEmpty() {
+        return rolesToAdd.isEmpty() && rolesToRemove.isEmpty() && nickname == null;
+    }
+
+    /**
+     * Sends the requests needed to apply the changes to the member.
+     *
+     * @return A future that completes once all the changes has been applied.
+     */
+    public CompletableFuture<?> apply() {
+        Guild guild = member.getGuild();
+
+        RestAction<Void> action = null;
+        if (!rolesToAdd.isEmpty() || !rolesToRemove.isEmpty()) {
+            action = guild.modifyMemberRoles(member, rolesToAdd, rolesToRemove);
+        }
+
+        if (nickname != null) {
+            RestAction<Void> nicknameAction = guild.modifyNickname(member, nickname);
+            action = action == null ? nicknameAction : action.and(nicknameAction);
+        }
+
+        return action == null ? CompletableFuture.completedFuture(null) : action.submit();
+    }
+}
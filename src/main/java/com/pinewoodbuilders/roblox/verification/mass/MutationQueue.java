@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.roblox.verification.mass;
+
+import com.pinewoodbuilders.ratelimit.SlidingWindowRateLimiter;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Applies batches of Discord mutations, like role and nickname changes, while
+ * staying within a rate limit, each batch only has a few requests in-flight at
+ * a time, and every batch for the same key shares the same rate limit, so a
+ * mass update for a guild never floods the member update rate limit.
+ * <p>
+ * Mutations that fail with a transient error are retried with a backoff,
+ * the outcome of every mutation is passed to its callback once it's
+ * done, and the batch completes once every mutation is done.
+ */
+public class MutationQueue {
+
+    /**
+     * The max amount of requests each batch can have in-flight at the same time.
+     */
+    static final int maxInFlight = 4;
+
+    /**
+     * The amount of times a mutation is attempted before it's marked as failed.
+     */
+    static final int maxAttempts = 3;
+
+    private final SlidingWindowRateLimiter limiter;
+    private final ScheduledExecutorService scheduler;
+    private final Predicate<Throwable> isTransient;
+    private final long retryBackoff;
+
+    /**
+     * Creates a new mutation queue, retrying failed mutations
+     * after 2 seconds, and then 4 seconds.
+     *
+     * @param limiter     The rate limiter every mutation must acquire, hit using the batch key.
+     * @param scheduler   The scheduler used to resume batches that are waiting.
+     * @param isTransient The predicate used to check if a failed mutation should be retried.
+     */
+    public MutationQueue(SlidingWindowRateLimiter limiter, ScheduledExecutorService scheduler, Predicate<Throwable> isTransient) {
+        this(limiter, scheduler, isTransient, TimeUnit.SECONDS.toMillis(1));
+    }
+
+    /**
+     * Creates a new mutation queue.
+     *
+     * @param limiter      The rate limiter every mutation must acquire, hit using the batch key.
+     * @param scheduler    The scheduler used to resume batches that are waiting.
+     * @param isTransient  The predicate used to check if a failed mutation should be retried.
+     * @param retryBackoff The base backoff in milliseconds, doubled for every failed attempt.
+     */
+    public MutationQueue(SlidingWindowRateLimiter limiter, ScheduledExecutorService scheduler, Predicate<Throwable> isTransient, long retryBackoff) {
+        this.limiter = limiter;
+        this.scheduler = scheduler;
+        this.isTransient = isTransient;
+        this.retryBackoff = retryBackoff;
+    }
+
+    /**
+     * Submits the given mutations as a single batch.
+     *
+     * @param key       The key the rate limit should be applied to, like the ID of the guild.
+     * @param mutations The mutations that should be applied.
+     * @return A future that completes once every mutation in the batch is done.
+     */
+    public CompletableFuture<Void> submit(long key, Collection<Mutation> mutations) {
+        Batch batch = new Batch(key, mutations);
+        pump(batch);
+        return batch.future;
+    }
+
+    private void pump(Batch batch) {
+        Deque<Mutation> ready = new ArrayDeque<>();
+        synchronized (batch) {
+            long now = System.currentTimeMillis();
+            long delay = 0;
+
+            while (batch.inFlight < maxInFlight && !batch.pending.isEmpty()) {
+                Mutation mutation = batch.pending.peekFirst();
+                if (mutation.retryAt > now) {
+                    delay = mutation.retryAt - now;
+                    break;
+                }
+
+                if (limiter.isLimited(batch.key)) {
+                    delay = limiter.getMillisUntilNextWindow();
+                    break;
+                }
+                limiter.hit(batch.key);
+
+                batch.pending.pollFirst();
+                batch.inFlight++;
+                ready.add(mutation);
+            }
+
+            if (batch.pending.isEmpty() && batch.inFlight == 0 && ready.isEmpty()) {
+                batch.future.complete(null);
+                return;
+            }
+
+            // Batches with requests in-flight are pumped again when the requests
+            // finishes, so only idle batches has to be scheduled to be pumped.
+            if (delay > 0 && batch.inFlight == 0 && !batch.pumpScheduled) {
+                batch.pumpScheduled = true;
+                scheduler.schedule(() -> {
+                    synchronized (batch) {
+                        batch.pumpScheduled = false;
+                    }
+                    pump(batch);
+                }, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        for (Mutation mutation : ready) {
+            execute(batch, mutation);
+        }
+    }
+
+    private void execute(Batch batch, Mutation mutation) {
+        mutation.attempts++;
+
+        CompletableFuture<?> future;
+        try {
+            future = mutation.action.get();
+        } catch (Exception e) {
+            // Exceptions thrown before the request is sent, like missing
+            // permissions, will never go away when being retried.
+            finish(batch, mutation, e);
+            return;
+        }
+
+        future.whenComplete((ignored, error) -> {
+            if (error == null) {
+                finish(batch, mutation, null);
+                return;
+            }
+
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (mutation.attempts >= maxAttempts || !isTransient.test(cause)) {
+                finish(batch, mutation, cause);
+                return;
+            }
+
+            synchronized (batch) {
+                mutation.retryAt = System.currentTimeMillis() + (retryBackoff << mutation.attempts);
+                batch.pending.addLast(mutation);
+                batch.inFlight--;
+            }
+            pump(batch);
+        });
+    }
+
+    private void finish(Batch batch, Mutation mutation, @Nullable Throwable error) {
+        try {
+            mutation.callback.accept(error);
+        } finally {
+            synchronized (batch) {
+                batch.inFlight--;
+            }
+            pump(batch);
+        }
+    }
+
+    /**
+     * A single mutation, like a change to the roles and nickname of a member.
+     */
+    public static class Mutation {
+
+        private final Supplier<CompletableFuture<?>> action;
+        private final Consumer<Throwable> callback;
+
+        private int attempts = 0;
+        private long retryAt = 0;
+
+        /**
+         * Creates a new mutation.
+         *
+         * @param action   The action that sends the request for the mutation.
+         * @param callback The callback invoked once the mutation is done, with the error
+         *                 that made the mutation fail, or <code>NULL</code> if it succeeded.
+         */
+        public Mutation(Supplier<CompletableFuture<?>> action, Consumer<Throwable> callback) {
+            this.action = action;
+            this.callback = callback;
+        }
+
+        public int getAttempts() {
+            return attempts;
+        }
+    }
+
+    private static class Batch {
+
+        private final long key;
+        private final Deque<Mutation> pending;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private int inFlight = 0;
+        private boolean pumpScheduled = false;
+
+        Batch(long key, Collection<Mutation> mutations) {
+            this.key = key;
+            this.pending = new ArrayDeque<>(mutations);
+        }
+    }
+}
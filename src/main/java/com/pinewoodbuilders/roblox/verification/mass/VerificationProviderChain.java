@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.roblox.verification.mass;
+
+import com.pinewoodbuilders.contracts.verification.VerificationEntity;
+import com.pinewoodbuilders.ratelimit.SlidingWindowRateLimiter;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Resolves Discord IDs that aren't linked in the verification table through the
+ * external verification providers, the providers are tried in order until one
+ * of them knows the Discord ID, and every provider has its own rate limiter,
+ * so a mass update can never flood any of the providers with requests.
+ */
+public class VerificationProviderChain {
+
+    private final List<Provider> providers;
+
+    /**
+     * Creates a new verification provider chain.
+     *
+     * @param providers The providers that should be tried, in the order they should be tried in.
+     */
+    public VerificationProviderChain(List<Provider> providers) {
+        this.providers = providers;
+    }
+
+    /**
+     * Resolves the given Discord ID through the providers, results that are
+     * already cached for a provider are used without hitting its rate limit.
+     *
+     * @param discordId The Discord ID that should be resolved.
+     * @return The verification link for the Discord ID, or <code>NULL</code> if none of the providers know it.
+     * @throws InterruptedException If the thread is interrupted while waiting for a rate limiter.
+     */
+    @Nullable
+    public VerificationEntity resolve(long discordId) throws InterruptedException {
+        for (Provider provider : providers) {
+            VerificationEntity entity = provider.cached.apply(discordId);
+            if (entity != null) {
+                return entity;
+            }
+
+            LookupPool.acquire(provider.limiter);
+            entity = provider.lookup.apply(discordId);
+            if (entity != null) {
+                return entity;
+            }
+        }
+        return null;
+    }
+
+    public static class Provider {
+
+        private final String name;
+        private final SlidingWindowRateLimiter limiter;
+        private final LongFunction<VerificationEntity> cached;
+        private final LongFunction<VerificationEntity> lookup;
+
+        /**
+         * Creates a new verification provider.
+         *
+         * @param name    The name of the provider.
+         * @param limiter The rate limiter that every request to the provider must acquire.
+         * @param cached  The function used to get the cached verification link for a Discord ID.
+         * @param lookup  The function used to request the verification link for a Discord ID.
+         */
+        public Provider(String name, SlidingWindowRateLimiter limiter, LongFunction<VerificationEntity> cached, LongFunction<VerificationEntity> lookup) {
+            this.name = name;
+            this.limiter = limiter;
+            this.cached = cached;
+            this.lookup = lookup;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
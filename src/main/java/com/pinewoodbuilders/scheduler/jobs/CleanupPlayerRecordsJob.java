@@ -33,7 +33,10 @@ import org.slf4j.LoggerFactory;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -84,30 +87,46 @@ public class CleanupPlayerRecordsJob extends Job {
 
     private List<InactiveUser> getInactiveUsers() {
         try {
+            Map<String, List<DataRow>> rowsByGuild = new LinkedHashMap<>();
+            for (DataRow dataRow : getUsersFromDatabase()) {
+                rowsByGuild.computeIfAbsent(dataRow.getString("guild_id"), guildId -> new ArrayList<>()).add(dataRow);
+            }
+
             List<InactiveUser> inactiveUsers = new ArrayList<>();
-            Guild guild = null;
+            for (Map.Entry<String, List<DataRow>> entry : rowsByGuild.entrySet()) {
+                Guild guild = null;
+                try {
+                    guild = avaire.getShardManager().getGuildById(entry.getKey());
+                } catch (Exception ignored) {
+                    // Invalid guild IDs are treated the same as guilds the bot is no longer in.
+                }
 
-            for (DataRow dataRow : getUsersFromDatabase()) {
-                if (guild == null || !guild.getId().equalsIgnoreCase(dataRow.getString("guild_id"))) {
-                    try {
-                        guild = avaire.getShardManager().getGuildById(dataRow.getString("guild_id"));
-                    } catch (Exception ignored) {
+                if (guild == null) {
+                    for (DataRow dataRow : entry.getValue()) {
                         inactiveUsers.add(createInactiveUser(dataRow));
-                        continue;
                     }
+                    continue;
                 }
 
-                if (guild == null) {
-                    inactiveUsers.add(createInactiveUser(dataRow));
+                // The member cache is bounded, so the members are looked up from
+                // Discord, if the lookup fails the guild is skipped for this
+                // run instead of marking everyone in it as inactive.
+                Set<Long> members;
+                try {
+                    members = avaire.getMemberLoader()
+                        .retrieveMemberIds(guild, getUserIds(entry.getValue()))
+                        .get(5, TimeUnit.MINUTES);
+                } catch (Exception e) {
+                    log.warn("Failed to load members for {} during player cleanup, error: {}",
+                        guild.getId(), e.getMessage()
+                    );
                     continue;
                 }
 
-                try {
-                    if (guild.getMemberById(dataRow.getString("user_id")) == null) {
+                for (DataRow dataRow : entry.getValue()) {
+                    if (!members.contains(dataRow.getLong("user_id"))) {
                         inactiveUsers.add(createInactiveUser(dataRow));
                     }
-                } catch (Exception ignored) {
-                    inactiveUsers.add(createInactiveUser(dataRow));
                 }
             }
 
@@ -120,6 +139,14 @@ public class CleanupPlayerRecordsJob extends Job {
         }
     }
 
+    private List<Long> getUserIds(List<DataRow> rows) {
+        List<Long> userIds = new ArrayList<>(rows.size());
+        for (DataRow dataRow : rows) {
+            userIds.add(dataRow.getLong("user_id"));
+        }
+        return userIds;
+    }
+
     private Collection getUsersFromDatabase() throws SQLException {
         return avaire.getDatabase()
             .newQueryBuilder(Constants.PLAYER_EXPERIENCE_TABLE_NAME)
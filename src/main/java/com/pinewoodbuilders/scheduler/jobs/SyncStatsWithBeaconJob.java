@@ -24,6 +24,7 @@ package com.pinewoodbuilders.scheduler.jobs;
 import com.pinewoodbuilders.AppInfo;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.contracts.scheduler.Job;
+import com.pinewoodbuilders.shard.ShardEntityCounter;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.SelfUser;
 import okhttp3.*;
@@ -78,15 +79,17 @@ public class SyncStatsWithBeaconJob extends Job {
         bot.put("avatar", selfUser.getAvatarId());
         main.put("bot", bot);
 
+        ShardEntityCounter counter = avaire.getShardEntityCounter();
+
         JSONArray shards = new JSONArray();
         for (JDA shard : avaire.getShardManager().getShards()) {
             JSONObject shardObj = new JSONObject();
 
             shardObj.put("id", shard.getShardInfo().getShardId());
             shardObj.put("latency", shard.getGatewayPing());
-            shardObj.put("users", shard.getUsers().size());
-            shardObj.put("channels", getTotalChannels(shard));
-            shardObj.put("guilds", shard.getGuilds().size());
+            shardObj.put("users", counter.getUsers(shard));
+            shardObj.put("channels", counter.getChannels(shard));
+            shardObj.put("guilds", counter.getGuilds(shard));
 
             shards.put(shardObj);
         }
@@ -94,9 +97,4 @@ public class SyncStatsWithBeaconJob extends Job {
 
         return main.toString();
     }
-
-    private int getTotalChannels(JDA jda) {
-        return jda.getTextChannels().size()
-            + jda.getVoiceChannels().size();
-    }
 }
@@ -45,6 +45,12 @@ public class RunEveryMinuteJob extends Job {
     private final SyncPlayerUpdateReferencesWithDatabaseTask syncPlayerUpdateReferencesWithDatabaseTask = new SyncPlayerUpdateReferencesWithDatabaseTask();
     private final DrainOnWatchQueueTask drainOnWatchQueueTask = new DrainOnWatchQueueTask();
     private final DrainUnbanQueueTask drainUnbanQueueTask = new DrainUnbanQueueTask();
+    private final ResumeModerationFanoutTask resumeModerationFanoutTask = new ResumeModerationFanoutTask();
+    private final ResumeMassUpdatesTask resumeMassUpdatesTask = new ResumeMassUpdatesTask();
+    private final ExpireWorkflowPromptsTask expireWorkflowPromptsTask = new ExpireWorkflowPromptsTask();
+    private final CompactExperienceCooldownsTask compactExperienceCooldownsTask = new CompactExperienceCooldownsTask();
+    private final ReconcileShardEntityCounterTask reconcileShardEntityCounterTask = new ReconcileShardEntityCounterTask();
+    private final SyncMemberResidencyMetricsTask syncMemberResidencyMetricsTask = new SyncMemberResidencyMetricsTask();
 
     public RunEveryMinuteJob(Xeus avaire) {
         super(avaire, 0, 1, TimeUnit.MINUTES);
@@ -68,7 +74,13 @@ public class RunEveryMinuteJob extends Job {
             syncPlayerUpdateReferencesWithDatabaseTask,
             drainOnWatchQueueTask,
             drainGlobalWatchQueueTask,
-            drainUnbanQueueTask
+            drainUnbanQueueTask,
+            resumeModerationFanoutTask,
+            resumeMassUpdatesTask,
+            expireWorkflowPromptsTask,
+            compactExperienceCooldownsTask,
+            reconcileShardEntityCounterTask,
+            syncMemberResidencyMetricsTask
         );
     }
 }
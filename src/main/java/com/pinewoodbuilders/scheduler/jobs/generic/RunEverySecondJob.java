@@ -26,7 +26,7 @@ import com.pinewoodbuilders.contracts.scheduler.Job;
 import com.pinewoodbuilders.scheduler.tasks.ApplicationShutdownTask;
 import com.pinewoodbuilders.scheduler.tasks.DrainReactionRoleQueueTask;
 import com.pinewoodbuilders.scheduler.tasks.DrainVoteQueueTask;
-import com.pinewoodbuilders.scheduler.tasks.DrainWeatherQueueTask;
+import com.pinewoodbuilders.scheduler.tasks.FlushPendingVotesTask;
 
 import java.util.concurrent.TimeUnit;
 
@@ -34,8 +34,8 @@ public class RunEverySecondJob extends Job {
 
     private final DrainVoteQueueTask emptyVoteQueueTask = new DrainVoteQueueTask();
     private final ApplicationShutdownTask shutdownTask = new ApplicationShutdownTask();
-    private final DrainWeatherQueueTask drainWeatherQueueTask = new DrainWeatherQueueTask();
     private final DrainReactionRoleQueueTask reactionRoleQueueTask = new DrainReactionRoleQueueTask();
+    private final FlushPendingVotesTask flushPendingVotesTask = new FlushPendingVotesTask();
 
     public RunEverySecondJob(Xeus avaire) {
         super(avaire, 0, 1, TimeUnit.SECONDS);
@@ -43,6 +43,6 @@ public class RunEverySecondJob extends Job {
 
     @Override
     public void run() {
-        handleTask(emptyVoteQueueTask, shutdownTask, drainWeatherQueueTask, reactionRoleQueueTask);
+        handleTask(emptyVoteQueueTask, flushPendingVotesTask, shutdownTask, reactionRoleQueueTask);
     }
 }
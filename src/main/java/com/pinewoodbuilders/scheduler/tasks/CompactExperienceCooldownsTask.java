@@ -19,20 +19,20 @@
  *
  */
 
-package com.pinewoodbuilders.contracts.shard;
+package com.pinewoodbuilders.scheduler.tasks;
 
-import com.pinewoodbuilders.shard.ShardEntityCounter;
-import net.dv8tion.jda.api.JDA;
+import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.contracts.scheduler.Task;
+import com.pinewoodbuilders.level.ExperienceCooldown;
+import com.pinewoodbuilders.metrics.Metrics;
 
-public interface EntityGenerator {
+public class CompactExperienceCooldownsTask implements Task {
 
-    /**
-     * Generates the shard entity value for the given shard, this is used
-     * for quickly calculating the total value between shards for common
-     * things by the {@link ShardEntityCounter ShardEntityCounter}.
-     *
-     * @param shard The shard that should be used to calculate the shard entity.
-     * @return The entity value for the given shard.
-     */
-    long generateEntity(JDA shard);
+    @Override
+    public void handle(Xeus avaire) {
+        ExperienceCooldown cooldowns = avaire.getLevelManager().getExperienceCooldown();
+        cooldowns.compact();
+
+        Metrics.levelCooldowns.set(cooldowns.size());
+    }
 }
@@ -21,11 +21,8 @@
 
 package com.pinewoodbuilders.scheduler.tasks;
 
-import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.contracts.scheduler.Task;
-import com.pinewoodbuilders.database.collection.Collection;
-import com.pinewoodbuilders.database.collection.DataRow;
 import com.pinewoodbuilders.database.controllers.GlobalSettingsController;
 import com.pinewoodbuilders.database.controllers.GuildSettingsController;
 import com.pinewoodbuilders.database.transformers.GlobalSettingsTransformer;
@@ -45,7 +42,6 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -94,7 +90,7 @@ public class DrainGlobalWatchQueueTask implements Task {
 
     private void handleAutomaticUnmute(Xeus avaire, GlobalWatchContainer container) {
         try {
-            List<Guild> guilds = avaire.getRobloxAPIManager().getVerification().getGuildsByMainGroupId(avaire, container.getMainGroupId());
+            List<Guild> guilds = avaire.getRobloxAPIManager().getVerification().getGuildsByMainGroupId(container.getMainGroupId(), false);
             if (guilds == null) {
                 container.cancelSchedule();
                 return;
@@ -160,30 +156,4 @@ public class DrainGlobalWatchQueueTask implements Task {
             );
         }
     }
-
-    public List <Guild> getGuildsByMainGroupId(Xeus avaire, Long mainGroupId) throws SQLException {
-        return getGuildsByMainGroupId(avaire, mainGroupId, false);
-    }
-
-    public List <Guild> getGuildsByMainGroupId(Xeus avaire, Long mainGroupId, boolean isOfficial) throws SQLException {
-        if (!avaire.areWeReadyYet()) {
-            return null;
-        }
-        Collection guildQuery = avaire.getDatabase().newQueryBuilder(Constants.GUILD_SETTINGS_TABLE)
-            .where("main_group_id", mainGroupId)
-            .where(builder -> {if (isOfficial) {
-                builder.where("official_sub_group", 1);
-            }})
-            .get();
-
-        List <Guild> guildList = new LinkedList <>();
-        for (DataRow dataRow : guildQuery) {
-            Guild guild = avaire.getShardManager().getGuildById(dataRow.getString("id"));
-            if (guild != null) {
-                guildList.add(guild);
-            }
-        }
-
-        return guildList;
-    }
 }
@@ -39,8 +39,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
-import java.util.HashSet;
-import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 public class DrainMuteQueueTask implements Task {
@@ -53,31 +51,28 @@ public class DrainMuteQueueTask implements Task {
             return;
         }
 
-        for (Map.Entry<Long, HashSet<MuteContainer>> entry : avaire.getMuteManger().getMutes().entrySet()) {
-            for (MuteContainer container : entry.getValue()) {
-                if (container.isPermanent() || container.getSchedule() != null) {
-                    continue;
-                }
+        long expiresBefore = getCurrentTimestamp() + TimeUnit.MINUTES.toSeconds(5);
+        for (MuteContainer container : avaire.getMuteManger().getMutes().getExpiringBefore(expiresBefore)) {
+            if (container.getSchedule() != null) {
+                continue;
+            }
 
-                Carbon expires = container.getExpiresAt();
-                //noinspection ConstantConditions
-                if (expires.copy().subMinutes(5).isPast()) {
-                    long differenceInSeconds = expires.getTimestamp() - getCurrentTimestamp();
-                    if (differenceInSeconds < 1) {
-                        differenceInSeconds = 1;
-                    }
+            Carbon expires = container.getExpiresAt();
+            //noinspection ConstantConditions
+            long differenceInSeconds = expires.getTimestamp() - getCurrentTimestamp();
+            if (differenceInSeconds < 1) {
+                differenceInSeconds = 1;
+            }
 
-                    log.debug("Unmute task started for guildId:{}, userId:{}, time:{}",
-                        container.getGuildId(), container.getUserId(), differenceInSeconds
-                    );
+            log.debug("Unmute task started for guildId:{}, userId:{}, time:{}",
+                container.getGuildId(), container.getUserId(), differenceInSeconds
+            );
 
-                    container.setSchedule(ScheduleHandler.getScheduler().schedule(
-                        () -> handleAutomaticUnmute(avaire, container),
-                        differenceInSeconds,
-                        TimeUnit.SECONDS
-                    ));
-                }
-            }
+            container.setSchedule(ScheduleHandler.getScheduler().schedule(
+                () -> handleAutomaticUnmute(avaire, container),
+                differenceInSeconds,
+                TimeUnit.SECONDS
+            ));
         }
     }
 
@@ -99,11 +94,26 @@ public class DrainMuteQueueTask implements Task {
 
             unregisterDatabaseRecord(avaire, container);
 
-            Member member = guild.getMemberById(container.getUserId());
-            if (member == null) {
-                return;
-            }
+            avaire.getMemberLoader().retrieveMember(guild, container.getUserId()).whenComplete((member, throwable) -> {
+                if (throwable != null) {
+                    log.error("Failed to retrieve member for guildId:{}, userId:{}",
+                        container.getGuildId(), container.getUserId(), throwable
+                    );
+                    return;
+                }
 
+                // Users that are no longer in the guild have nothing left to clean up.
+                if (member != null) {
+                    unmute(avaire, container, guild, member);
+                }
+            });
+        } catch (Exception e) {
+            log.error("Something went wrong in the auto unmute: {}", e.getMessage(), e);
+        }
+    }
+
+    private void unmute(Xeus avaire, MuteContainer container, Guild guild, Member member) {
+        try {
             GuildTransformer transformer = GuildController.fetchGuild(avaire, guild);
             if (transformer == null || transformer.getMuteRole() == null) {
                 return;
@@ -41,8 +41,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
-import java.util.HashSet;
-import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 public class DrainOnWatchQueueTask implements Task {
@@ -55,32 +53,28 @@ public class DrainOnWatchQueueTask implements Task {
             return;
         }
 
-        for (Map.Entry<Long, HashSet<WatchContainer>> entry : avaire.getOnWatchManger().getOnWatchs().entrySet()) {
-            for (WatchContainer container : entry.getValue()) {
-                if (container.isPermanent() || container.getSchedule() != null) {
-                    continue;
-                }
-
-                Carbon expires = container.getExpiresAt();
+        long expiresBefore = getCurrentTimestamp() + TimeUnit.MINUTES.toSeconds(5);
+        for (WatchContainer container : avaire.getOnWatchManger().getOnWatchs().getExpiringBefore(expiresBefore)) {
+            if (container.getSchedule() != null) {
+                continue;
+            }
 
-                //noinspection ConstantConditions
-                if (expires.copy().subMinutes(5).isPast()) {
-                    long differenceInSeconds = expires.getTimestamp() - getCurrentTimestamp();
-                    if (differenceInSeconds < 1) {
-                        differenceInSeconds = 1;
-                    }
+            Carbon expires = container.getExpiresAt();
+            //noinspection ConstantConditions
+            long differenceInSeconds = expires.getTimestamp() - getCurrentTimestamp();
+            if (differenceInSeconds < 1) {
+                differenceInSeconds = 1;
+            }
 
-                    log.debug("Unwatch task started for guildId:{}, userId:{}, time:{}",
-                        container.getGuildId(), container.getUserId(), differenceInSeconds
-                    );
+            log.debug("Unwatch task started for guildId:{}, userId:{}, time:{}",
+                container.getGuildId(), container.getUserId(), differenceInSeconds
+            );
 
-                    container.setSchedule(ScheduleHandler.getScheduler().schedule(
-                        () -> handleAutomaticUnmute(avaire, container),
-                        differenceInSeconds,
-                        TimeUnit.SECONDS
-                    ));
-                }
-            }
+            container.setSchedule(ScheduleHandler.getScheduler().schedule(
+                () -> handleAutomaticUnmute(avaire, container),
+                differenceInSeconds,
+                TimeUnit.SECONDS
+            ));
         }
     }
 
@@ -102,12 +96,26 @@ public class DrainOnWatchQueueTask implements Task {
 
             unregisterDatabaseRecord(avaire, container);
 
-            Member member = guild.getMemberById(container.getUserId());
-            if (member == null) {
-                return;
-            }
+            avaire.getMemberLoader().retrieveMember(guild, container.getUserId()).whenComplete((member, throwable) -> {
+                if (throwable != null) {
+                    log.error("Failed to retrieve member for guildId:{}, userId:{}",
+                        container.getGuildId(), container.getUserId(), throwable
+                    );
+                    return;
+                }
 
+                // Users that are no longer in the guild have nothing left to clean up.
+                if (member != null) {
+                    unwatch(avaire, container, guild, member);
+                }
+            });
+        } catch (Exception e) {
+            log.error("Something went wrong in the auto unmute: {}", e.getMessage(), e);
+        }
+    }
 
+    private void unwatch(Xeus avaire, WatchContainer container, Guild guild, Member member) {
+        try {
             GuildSettingsTransformer settings = GuildSettingsController.fetchGuildSettingsFromGuild(avaire, guild);
     
             GuildTransformer transformer = GuildController.fetchGuild(avaire, guild);
@@ -81,16 +81,19 @@ public class DrainReactionRoleQueueTask implements Task {
             return;
         }
 
-        Member member = guild.getMemberById(entity.userId);
-        if (member == null) {
-            return;
-        }
-
         Role role = guild.getRoleById(entity.roleId);
         if (role == null) {
             return;
         }
 
+        avaire.getMemberLoader().retrieveMember(guild, entity.userId).thenAccept(member -> {
+            if (member != null) {
+                run(guild, member, role, entity);
+            }
+        });
+    }
+
+    private void run(Guild guild, Member member, Role role, ReactionActionEntity entity) {
         switch (entity.type) {
             case ADD:
                 if (RoleUtil.hasRole(member, role)) {
@@ -37,8 +37,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
-import java.util.HashSet;
-import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 public class DrainUnbanQueueTask implements Task {
@@ -51,27 +49,24 @@ public class DrainUnbanQueueTask implements Task {
             return;
         }
 
-        for (Map.Entry<Long, HashSet<BanContainer>> entry : avaire.getBanManger().getBans().entrySet()) {
-            for (BanContainer container : entry.getValue()) {
-                if (container.isPermanent() || container.getSchedule() != null) {
-                    continue;
-                }
+        long expiresBefore = getCurrentTimestamp() + TimeUnit.MINUTES.toSeconds(5);
+        for (BanContainer container : avaire.getBanManger().getBans().getExpiringBefore(expiresBefore)) {
+            if (container.getSchedule() != null) {
+                continue;
+            }
 
-                Carbon expires = container.getExpiresAt();
-                // noinspection ConstantConditions
-                if (expires.copy().subMinutes(5).isPast()) {
-                    long differenceInSeconds = expires.getTimestamp() - getCurrentTimestamp();
-                    if (differenceInSeconds < 1) {
-                        differenceInSeconds = 1;
-                    }
+            Carbon expires = container.getExpiresAt();
+            //noinspection ConstantConditions
+            long differenceInSeconds = expires.getTimestamp() - getCurrentTimestamp();
+            if (differenceInSeconds < 1) {
+                differenceInSeconds = 1;
+            }
 
-                    log.debug("Unmute task started for guildId:{}, userId:{}, time:{}", container.getGuildId(),
-                            container.getUserId(), differenceInSeconds);
+            log.debug("Unmute task started for guildId:{}, userId:{}, time:{}", container.getGuildId(),
+                    container.getUserId(), differenceInSeconds);
 
-                    container.setSchedule(ScheduleHandler.getScheduler().schedule(
-                            () -> handleAutomaticUnban(avaire, container), differenceInSeconds, TimeUnit.SECONDS));
-                }
-            }
+            container.setSchedule(ScheduleHandler.getScheduler().schedule(
+                    () -> handleAutomaticUnban(avaire, container), differenceInSeconds, TimeUnit.SECONDS));
         }
     }
 
@@ -147,15 +147,20 @@ public class DrainVoteQueueTask implements Task {
     }
 
     private void handleRegisteringVote(Xeus avaire, User user, Carbon expiresIn, VoteEntity entity) {
-        VoteCacheEntity voteEntity = avaire.getVoteManager().getVoteEntityWithFallback(user);
-        voteEntity.setCarbon(expiresIn);
+        avaire.getVoteManager().registerVoteFor(user.getIdLong(), 1, expiresIn).thenAccept(voteEntity -> {
+            if (voteEntity == null) {
+                return;
+            }
 
-        avaire.getVoteManager().registerVoteFor(user.getIdLong(), 1);
+            log.info("Vote has been registered by {} ({})",
+                user.getName() + "#" + user.getDiscriminator(), user.getId()
+            );
 
-        log.info("Vote has been registered by {} ({})",
-            user.getName() + "#" + user.getDiscriminator(), user.getId()
-        );
+            sendThanksForVotingMessage(avaire, user, voteEntity, entity);
+        });
+    }
 
+    private void sendThanksForVotingMessage(Xeus avaire, User user, VoteCacheEntity voteEntity, VoteEntity entity) {
         TextChannel textChannel = avaire.getShardManager().getTextChannelById(entity.getChannelId());
         if (textChannel == null || !textChannel.canTalk()) {
             if (voteEntity.isOptIn()) {
@@ -39,9 +39,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 public class DrainWarnQueueTask implements Task {
@@ -54,33 +51,28 @@ public class DrainWarnQueueTask implements Task {
             return;
         }
 
-        for (Map.Entry <Long, HashMap <Long, HashSet <WarnContainer>>> guild : avaire.getWarningsManager().getWarns().entrySet()) {
-            for (Map.Entry <Long, HashSet <WarnContainer>> userWarns : guild.getValue().entrySet()) {
-                for (WarnContainer container : userWarns.getValue()) {
-                    if (container.isPermanent() || container.getSchedule() != null) {
-                        continue;
-                    }
-
-                    Carbon expires = container.getExpiresAt();
-                    //noinspection ConstantConditions
-                    if (expires.copy().subMinutes(5).isPast()) {
-                        long differenceInSeconds = expires.getTimestamp() - getCurrentTimestamp();
-                        if (differenceInSeconds < 1) {
-                            differenceInSeconds = 1;
-                        }
-
-                        log.debug("Unwarn task started for guildId:{}, userId:{}, time:{}",
-                            container.getGuildId(), container.getUserId(), differenceInSeconds
-                        );
-
-                        container.setSchedule(ScheduleHandler.getScheduler().schedule(
-                            () -> handleAutomaticUnwarn(avaire, container),
-                            differenceInSeconds,
-                            TimeUnit.SECONDS
-                        ));
-                    }
-                }
+        long expiresBefore = getCurrentTimestamp() + TimeUnit.MINUTES.toSeconds(5);
+        for (WarnContainer container : avaire.getWarningsManager().getWarns().getExpiringBefore(expiresBefore)) {
+            if (container.getSchedule() != null) {
+                continue;
+            }
+
+            Carbon expires = container.getExpiresAt();
+            //noinspection ConstantConditions
+            long differenceInSeconds = expires.getTimestamp() - getCurrentTimestamp();
+            if (differenceInSeconds < 1) {
+                differenceInSeconds = 1;
             }
+
+            log.debug("Unwarn task started for guildId:{}, userId:{}, time:{}",
+                container.getGuildId(), container.getUserId(), differenceInSeconds
+            );
+
+            container.setSchedule(ScheduleHandler.getScheduler().schedule(
+                () -> handleAutomaticUnwarn(avaire, container),
+                differenceInSeconds,
+                TimeUnit.SECONDS
+            ));
         }
     }
 
@@ -102,11 +94,26 @@ public class DrainWarnQueueTask implements Task {
 
             unregisterDatabaseRecord(avaire, container);
 
-            Member member = guild.getMemberById(container.getUserId());
-            if (member == null) {
-                return;
-            }
+            avaire.getMemberLoader().retrieveMember(guild, container.getUserId()).whenComplete((member, throwable) -> {
+                if (throwable != null) {
+                    log.error("Failed to retrieve member for guildId:{}, userId:{}",
+                        container.getGuildId(), container.getUserId(), throwable
+                    );
+                    return;
+                }
+
+                // Users that are no longer in the guild have nothing left to clean up.
+                if (member != null) {
+                    pardon(avaire, container, guild, member);
+                }
+            });
+        } catch (Exception e) {
+            log.error("Something went wrong in the auto unwarn: {}", e.getMessage(), e);
+        }
+    }
 
+    private void pardon(Xeus avaire, WarnContainer container, Guild guild, Member member) {
+        try {
             Collection collection = avaire.getDatabase().newQueryBuilder(Constants.LOG_TABLE_NAME)
                 .where("guild_id", guild.getId())
                 .where("modlogCase", container.getCaseId())
@@ -22,7 +22,6 @@
 package com.pinewoodbuilders.scheduler.tasks;
 
 import com.pinewoodbuilders.Xeus;
-import com.pinewoodbuilders.blacklist.bot.Ratelimit;
 import com.pinewoodbuilders.cache.CacheType;
 import com.pinewoodbuilders.cache.adapters.MemoryAdapter;
 import com.pinewoodbuilders.commands.administration.MuteRoleCommand;
@@ -54,11 +53,6 @@ public class GarbageCollectorTask implements Task {
      * cleans up any entities that have expired.
      */
     private void cleanupCache() {
-        // blacklist-ratelimit
-        synchronized (Ratelimit.cache) {
-            Ratelimit.cache.cleanUp();
-        }
-
         // autorole
         synchronized (JDAStateEventAdapter.cache) {
             JDAStateEventAdapter.cache.cleanUp();
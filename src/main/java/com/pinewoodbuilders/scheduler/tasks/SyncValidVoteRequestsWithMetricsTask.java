@@ -24,7 +24,7 @@ package com.pinewoodbuilders.scheduler.tasks;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.contracts.scheduler.Task;
 import com.pinewoodbuilders.metrics.Metrics;
-import com.pinewoodbuilders.vote.VoteCacheEntity;
+import com.pinewoodbuilders.vote.VoteLog;
 
 public class SyncValidVoteRequestsWithMetricsTask implements Task {
 
@@ -34,14 +34,9 @@ public class SyncValidVoteRequestsWithMetricsTask implements Task {
             return;
         }
 
-        int validVotes = 0;
+        VoteLog voteLog = avaire.getVoteManager().getVoteLog();
+        voteLog.evict(System.currentTimeMillis());
 
-        for (VoteCacheEntity cacheEntity : avaire.getVoteManager().getVoteLog().values()) {
-            if (cacheEntity.getCarbon().isFuture()) {
-                validVotes++;
-            }
-        }
-
-        Metrics.validVotes.set(validVotes);
+        Metrics.validVotes.set(voteLog.countActiveVotes());
     }
 }
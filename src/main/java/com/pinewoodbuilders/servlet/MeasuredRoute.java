@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.servlet;
+
+import com.pinewoodbuilders.metrics.Metrics;
+import io.prometheus.client.Histogram;
+import spark.Request;
+import spark.Response;
+import spark.Route;
+
+/**
+ * Wraps a route so every request handled by the route is counted by its
+ * response status, and timed, the route is labeled by the path pattern
+ * it was registered with rather than the actual request path, so route
+ * parameters doesn't create a new metric series for every request.
+ */
+public class MeasuredRoute implements Route {
+
+    private final String method;
+    private final String path;
+    private final Route route;
+
+    MeasuredRoute(String method, String path, Route route) {
+        this.method = method;
+        this.path = path;
+        this.route = route;
+    }
+
+    @Override
+    public Object handle(Request request, Response response) throws Exception {
+        Histogram.Timer timer = Metrics.servletRequestLatency.labels(method, path).startTimer();
+        String status = "500";
+        try {
+            Object body = route.handle(request, response);
+            status = String.valueOf(response.raw().getStatus());
+            return body;
+        } finally {
+            timer.observeDuration();
+            Metrics.servletRequests.labels(method, path, status).inc();
+        }
+    }
+}
@@ -21,33 +21,92 @@
 
 package com.pinewoodbuilders.servlet;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.pinewoodbuilders.servlet.cache.CachedRoute;
+import com.pinewoodbuilders.servlet.cache.ResponseCache;
 import com.pinewoodbuilders.servlet.filters.AreWeReadyYetFilter;
 import com.pinewoodbuilders.servlet.filters.HttpFilter;
 import com.pinewoodbuilders.servlet.handlers.SparkExceptionHandler;
+import com.pinewoodbuilders.servlet.limits.LimitedRoute;
+import com.pinewoodbuilders.servlet.limits.RouteLimits;
 import com.pinewoodbuilders.servlet.routes.v1.get.GetNotFoundRoute;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import spark.Route;
 import spark.Spark;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 public class WebServlet {
 
     public static final Logger log = LoggerFactory.getLogger(WebServlet.class);
 
     public static final int defaultPort = 1256;
+    public static final int defaultServerThreads = 48;
+    public static final int defaultWorkerThreads = 16;
+
+    /**
+     * The amount of HTTP server threads that are kept free from limited routes, a
+     * handful of them are used by Jetty itself for accepting and selecting
+     * connections, and the rest are the lane for the unlimited routes,
+     * like the metrics and health routes.
+     */
+    private static final int reservedServerThreads = 16;
 
     private final int port;
+    private final int serverThreads;
+    private final int workerThreads;
+    private final RouteLimits defaultLimits;
+
+    private ExecutorService workers;
     private boolean initialized;
 
     public WebServlet(int port) {
+        this(port, defaultServerThreads, defaultWorkerThreads, RouteLimits.of(8, 10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Creates a new web servlet, limited routes are handled on a worker pool of the given
+     * size, with room for as many queued requests as there are workers, so at most twice
+     * the amount of workers can ever hold an HTTP server thread, the HTTP server thread
+     * pool is grown to always have the reserved threads left over on top of that.
+     *
+     * @param port          The port the web servlet should listen on.
+     * @param serverThreads The max amount of HTTP server threads.
+     * @param workerThreads The amount of worker threads limited routes are handled on.
+     * @param defaultLimits The limits used for routes registered without any limits.
+     */
+    public WebServlet(int port, int serverThreads, int workerThreads, RouteLimits defaultLimits) {
         this.port = port;
+        this.workerThreads = Math.max(1, workerThreads);
+        this.serverThreads = Math.max(serverThreads, this.workerThreads * 2 + reservedServerThreads);
+        this.defaultLimits = defaultLimits;
         this.initialized = false;
+
+        if (this.serverThreads != serverThreads) {
+            log.warn("The web servlet needs at least {} server threads for {} workers, using {} server threads instead of {}",
+                this.serverThreads, this.workerThreads, this.serverThreads, serverThreads
+            );
+        }
     }
 
     private void initialize() {
-        log.info("Igniting Spark API on port: " + port);
+        log.info("Igniting Spark API on port: {} (server threads: {}, worker threads: {})",
+            port, serverThreads, workerThreads
+        );
+
+        workers = new ThreadPoolExecutor(workerThreads, workerThreads,
+            60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(workerThreads),
+            new ThreadFactoryBuilder().setNameFormat("avaire-web-worker-%d").setDaemon(true).build(),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
 
         Spark.port(port);
+        Spark.threadPool(serverThreads, Math.min(8, serverThreads), 60000);
 
         Spark.notFound(new GetNotFoundRoute());
         Spark.exception(Exception.class, new SparkExceptionHandler());
@@ -59,122 +118,239 @@ public class WebServlet {
     }
 
     /**
-     * Map the route for HTTP GET requests
+     * Map the route for HTTP GET requests, using the default route limits
      *
      * @param path  the path
      * @param route The route
      */
     public synchronized void registerGet(final String path, final Route route) {
+        registerGet(path, route, defaultLimits);
+    }
+
+    /**
+     * Map the route for HTTP GET requests
+     *
+     * @param path   the path
+     * @param route  The route
+     * @param limits The concurrency and timeout limits for the route
+     */
+    public synchronized void registerGet(final String path, final Route route, RouteLimits limits) {
         if (!initialized) {
             initialize();
         }
 
-        log.debug("GET {} has been registered to {}", path, route.getClass().getTypeName());
-        Spark.get(path, route);
+        log.debug("GET {} has been registered to {} with {}", path, route.getClass().getTypeName(), limits);
+        Spark.get(path, new MeasuredRoute("GET", path, limit(path, route, limits)));
     }
 
     /**
-     * Map the route for HTTP POST requests
+     * Map the route for HTTP GET requests, serving the responses from a
+     * response cache, so the route only has to generate its response
+     * once per path within the given TTL.
+     *
+     * @param path  the path
+     * @param route The route
+     * @param ttl   The amount of time responses are cached for
+     * @param unit  The time unit of the TTL
+     */
+    public synchronized void registerCachedGet(final String path, final Route route, long ttl, TimeUnit unit) {
+        if (!initialized) {
+            initialize();
+        }
+
+        // Cache hits are served directly on the HTTP server threads, only
+        // the requests that has to generate the response are limited.
+        registerGet(path, new CachedRoute(
+            limit(path, route, defaultLimits), ResponseCache.of(path, ttl, unit)
+        ), RouteLimits.UNLIMITED);
+    }
+
+    /**
+     * Map the route for HTTP POST requests, using the default route limits
      *
      * @param path  the path
      * @param route The route
      */
     public synchronized void registerPost(final String path, final Route route) {
+        registerPost(path, route, defaultLimits);
+    }
+
+    /**
+     * Map the route for HTTP POST requests
+     *
+     * @param path   the path
+     * @param route  The route
+     * @param limits The concurrency and timeout limits for the route
+     */
+    public synchronized void registerPost(final String path, final Route route, RouteLimits limits) {
         if (!initialized) {
             initialize();
         }
 
-        log.debug("POST {} has been registered to {}", path, route.getClass().getTypeName());
-        Spark.post(path, route);
+        log.debug("POST {} has been registered to {} with {}", path, route.getClass().getTypeName(), limits);
+        Spark.post(path, new MeasuredRoute("POST", path, limit(path, route, limits)));
     }
 
     /**
-     * Map the route for HTTP PUT requests
+     * Map the route for HTTP PUT requests, using the default route limits
      *
      * @param path  the path
      * @param route The route
      */
     public synchronized void registerPut(String path, Route route) {
+        registerPut(path, route, defaultLimits);
+    }
+
+    /**
+     * Map the route for HTTP PUT requests
+     *
+     * @param path   the path
+     * @param route  The route
+     * @param limits The concurrency and timeout limits for the route
+     */
+    public synchronized void registerPut(String path, Route route, RouteLimits limits) {
         if (!initialized) {
             initialize();
         }
 
-        log.debug("PUT {} has been registered to {}", path, route.getClass().getTypeName());
-        Spark.put(path, route);
+        log.debug("PUT {} has been registered to {} with {}", path, route.getClass().getTypeName(), limits);
+        Spark.put(path, new MeasuredRoute("PUT", path, limit(path, route, limits)));
     }
 
     /**
-     * Map the route for HTTP PATCH requests
+     * Map the route for HTTP PATCH requests, using the default route limits
      *
      * @param path  the path
      * @param route The route
      */
     public synchronized void registerPatch(String path, Route route) {
+        registerPatch(path, route, defaultLimits);
+    }
+
+    /**
+     * Map the route for HTTP PATCH requests
+     *
+     * @param path   the path
+     * @param route  The route
+     * @param limits The concurrency and timeout limits for the route
+     */
+    public synchronized void registerPatch(String path, Route route, RouteLimits limits) {
         if (!initialized) {
             initialize();
         }
 
-        log.debug("PATCH {} has been registered to {}", path, route.getClass().getTypeName());
-        Spark.patch(path, route);
+        log.debug("PATCH {} has been registered to {} with {}", path, route.getClass().getTypeName(), limits);
+        Spark.patch(path, new MeasuredRoute("PATCH", path, limit(path, route, limits)));
     }
 
     /**
-     * Map the route for HTTP DELETE requests
+     * Map the route for HTTP DELETE requests, using the default route limits
      *
      * @param path  the path
      * @param route The route
      */
     public synchronized void registerDelete(String path, Route route) {
+        registerDelete(path, route, defaultLimits);
+    }
+
+    /**
+     * Map the route for HTTP DELETE requests
+     *
+     * @param path   the path
+     * @param route  The route
+     * @param limits The concurrency and timeout limits for the route
+     */
+    public synchronized void registerDelete(String path, Route route, RouteLimits limits) {
         if (!initialized) {
             initialize();
         }
 
-        log.debug("DELETE {} has been registered to {}", path, route.getClass().getTypeName());
-        Spark.delete(path, route);
+        log.debug("DELETE {} has been registered to {} with {}", path, route.getClass().getTypeName(), limits);
+        Spark.delete(path, new MeasuredRoute("DELETE", path, limit(path, route, limits)));
     }
 
     /**
-     * Map the route for HTTP HEAD requests
+     * Map the route for HTTP HEAD requests, using the default route limits
      *
      * @param path  the path
      * @param route The route
      */
     public synchronized void registerHead(String path, Route route) {
+        registerHead(path, route, defaultLimits);
+    }
+
+    /**
+     * Map the route for HTTP HEAD requests
+     *
+     * @param path   the path
+     * @param route  The route
+     * @param limits The concurrency and timeout limits for the route
+     */
+    public synchronized void registerHead(String path, Route route, RouteLimits limits) {
         if (!initialized) {
             initialize();
         }
 
-        log.debug("HEAD {} has been registered to {}", path, route.getClass().getTypeName());
-        Spark.head(path, route);
+        log.debug("HEAD {} has been registered to {} with {}", path, route.getClass().getTypeName(), limits);
+        Spark.head(path, new MeasuredRoute("HEAD", path, limit(path, route, limits)));
     }
 
     /**
-     * Map the route for HTTP TRACE requests
+     * Map the route for HTTP TRACE requests, using the default route limits
      *
      * @param path  the path
      * @param route The route
      */
     public synchronized void registerTrace(String path, Route route) {
+        registerTrace(path, route, defaultLimits);
+    }
+
+    /**
+     * Map the route for HTTP TRACE requests
+     *
+     * @param path   the path
+     * @param route  The route
+     * @param limits The concurrency and timeout limits for the route
+     */
+    public synchronized void registerTrace(String path, Route route, RouteLimits limits) {
         if (!initialized) {
             initialize();
         }
 
-        log.debug("TRACE {} has been registered to {}", path, route.getClass().getTypeName());
-        Spark.trace(path, route);
+        log.debug("TRACE {} has been registered to {} with {}", path, route.getClass().getTypeName(), limits);
+        Spark.trace(path, new MeasuredRoute("TRACE", path, limit(path, route, limits)));
     }
 
     /**
-     * Map the route for HTTP OPTIONS requests
+     * Map the route for HTTP OPTIONS requests, using the default route limits
      *
      * @param path  the path
      * @param route The route
      */
     public synchronized void registerOptions(String path, Route route) {
+        registerOptions(path, route, defaultLimits);
+    }
+
+    /**
+     * Map the route for HTTP OPTIONS requests
+     *
+     * @param path   the path
+     * @param route  The route
+     * @param limits The concurrency and timeout limits for the route
+     */
+    public synchronized void registerOptions(String path, Route route, RouteLimits limits) {
         if (!initialized) {
             initialize();
         }
 
-        log.debug("OPTIONS {} has been registered to {}", path, route.getClass().getTypeName());
-        Spark.options(path, route);
+        log.debug("OPTIONS {} has been registered to {} with {}", path, route.getClass().getTypeName(), limits);
+        Spark.options(path, new MeasuredRoute("OPTIONS", path, limit(path, route, limits)));
+    }
+
+    private Route limit(String path, Route route, RouteLimits limits) {
+        if (limits.isUnlimited()) {
+            return route;
+        }
+        return new LimitedRoute(path, route, limits, workers);
     }
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.servlet.cache;
+
+import com.google.common.hash.Hashing;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A serialized route response, the response body is encoded once when the
+ * response is created, along with a weak ETag for the body, and a gzip
+ * compressed copy of the body if the body is large enough for the
+ * compression to be worth it.
+ * <p>
+ * Responses are immutable and can safely be shared between threads.
+ */
+public final class CachedResponse {
+
+    /**
+     * The minimum size in bytes a response body must have before it is compressed.
+     */
+    public static final int COMPRESSION_THRESHOLD = 1024;
+
+    private final int status;
+    private final byte[] body;
+    private final byte[] compressedBody;
+    private final String opaqueTag;
+    private final String etag;
+
+    /**
+     * Creates a new cached response with the given status code and body.
+     *
+     * @param status The HTTP status code for the response.
+     * @param body   The response body.
+     */
+    public CachedResponse(int status, @Nonnull String body) {
+        this.status = status;
+        this.body = body.getBytes(StandardCharsets.UTF_8);
+        this.compressedBody = this.body.length < COMPRESSION_THRESHOLD ? null : compress(this.body);
+        this.opaqueTag = "\"" + Hashing.murmur3_128().hashBytes(this.body) + "\"";
+        this.etag = "W/" + opaqueTag;
+    }
+
+    /**
+     * Gets the HTTP status code for the response.
+     *
+     * @return The HTTP status code for the response.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Checks if the response can be stored in the cache, only
+     * successful responses are ever stored in the cache.
+     *
+     * @return <code>True</code> if the response can be cached, <code>False</code> otherwise.
+     */
+    public boolean isCacheable() {
+        return status == 200;
+    }
+
+    /**
+     * Gets the UTF-8 encoded response body, the returned array must not be modified.
+     *
+     * @return The UTF-8 encoded response body.
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * Gets the gzip compressed response body, the returned array must not be modified.
+     *
+     * @return The gzip compressed response body, or <code>NULL</code> if the
+     * body is too small for compression to reduce its size.
+     */
+    @Nullable
+    public byte[] getCompressedBody() {
+        return compressedBody;
+    }
+
+    /**
+     * Gets the weak ETag for the response body.
+     *
+     * @return The weak ETag for the response body.
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * Checks if the given <code>If-None-Match</code> header value matches the response,
+     * the header may contain a list of ETags, and the tags are compared using the weak
+     * comparison function, since the same body is served both with and without
+     * compression under the same tag.
+     *
+     * @param ifNoneMatch The <code>If-None-Match</code> header value sent by the client.
+     * @return <code>True</code> if the client already has the response body, <code>False</code> otherwise.
+     */
+    public boolean matches(@Nullable String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+
+            if (tag.equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] compress(byte[] body) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        byte[] compressed = output.toByteArray();
+        return compressed.length < body.length ? compressed : null;
+    }
+}
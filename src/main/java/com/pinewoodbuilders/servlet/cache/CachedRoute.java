@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.servlet.cache;
+
+import spark.Request;
+import spark.Response;
+import spark.Route;
+
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps a route so its responses are served from a {@link ResponseCache},
+ * responses are keyed by the request path and query string, and served
+ * with a weak ETag so clients that already has the response gets an
+ * empty <code>304 Not Modified</code> response instead.
+ * <p>
+ * Response bodies are written directly to the underlying servlet response,
+ * this commits the response so Spark skips its own serialization, which
+ * lets us serve the pre-compressed body instead of compressing the
+ * body again for every single request.
+ */
+public class CachedRoute implements Route {
+
+    private final Route route;
+    private final ResponseCache cache;
+    private final String cacheControl;
+
+    /**
+     * Creates a new cached route.
+     *
+     * @param route The route that generates the responses.
+     * @param cache The cache the responses should be stored in.
+     */
+    public CachedRoute(Route route, ResponseCache cache) {
+        this.route = route;
+        this.cache = cache;
+        this.cacheControl = "public, max-age=" + TimeUnit.MILLISECONDS.toSeconds(cache.getTtl());
+    }
+
+    @Override
+    public Object handle(Request request, Response response) throws Exception {
+        CachedResponse cached = cache.get(createKey(request), () -> {
+            Object body = route.handle(request, response);
+            return new CachedResponse(response.status(), String.valueOf(body));
+        });
+
+        HttpServletResponse raw = response.raw();
+        raw.setStatus(cached.getStatus());
+        raw.setHeader("Vary", "Accept-Encoding");
+
+        if (cached.isCacheable()) {
+            raw.setHeader("ETag", cached.getEtag());
+            raw.setHeader("Cache-Control", cacheControl);
+
+            if (cached.matches(request.headers("If-None-Match"))) {
+                raw.setStatus(304);
+                raw.flushBuffer();
+
+                return "";
+            }
+        }
+
+        byte[] body = cached.getBody();
+        if (cached.getCompressedBody() != null && acceptsGzip(request.headers("Accept-Encoding"))) {
+            body = cached.getCompressedBody();
+            raw.setHeader("Content-Encoding", "gzip");
+        }
+
+        raw.setContentLength(body.length);
+        raw.getOutputStream().write(body);
+        raw.flushBuffer();
+
+        return "";
+    }
+
+    /**
+     * Gets the response cache used by the route.
+     *
+     * @return The response cache used by the route.
+     */
+    public ResponseCache getCache() {
+        return cache;
+    }
+
+    private String createKey(Request request) {
+        String query = request.queryString();
+        if (query == null || query.isEmpty()) {
+            return request.pathInfo();
+        }
+        return request.pathInfo() + "?" + query;
+    }
+
+    private boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.servlet.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import javax.annotation.Nonnull;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * A response cache for a single route, responses are cached by a key built
+ * from the request, and served from the cache until their TTL runs out.
+ * <p>
+ * Regenerating responses is single-flight, only one request is ever
+ * regenerating the response for any given key, requests that comes
+ * in while a stale response is being regenerated are served the stale
+ * response, and requests for keys that has never been generated waits
+ * for the in-flight generation to finish instead of starting their own.
+ * <p>
+ * Caches created through {@link #of(String, long, TimeUnit)} are registered
+ * by their name, so they can be exposed through the {@link #getCaches() metrics}.
+ */
+public class ResponseCache {
+
+    private static final Map<String, ResponseCache> caches = new ConcurrentHashMap<>();
+
+    private static final int MAX_ENTRIES = 1000;
+
+    private final String name;
+    private final long ttl;
+    private final LongSupplier clock;
+    private final Cache<String, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a new unregistered response cache, using the given clock to get the current time.
+     *
+     * @param name  The name of the response cache.
+     * @param ttl   The amount of time responses are served from the cache before they're regenerated.
+     * @param unit  The time unit of the TTL.
+     * @param clock The clock the current time in milliseconds should be read from.
+     */
+    public ResponseCache(String name, long ttl, TimeUnit unit, LongSupplier clock) {
+        this.name = name;
+        this.ttl = Math.max(1, unit.toMillis(ttl));
+        this.clock = clock;
+
+        // Entries that haven't been requested for a while are dropped entirely, so
+        // keys built from route parameters, like guild IDs, doesn't pile up forever.
+        this.entries = CacheBuilder.newBuilder()
+            .maximumSize(MAX_ENTRIES)
+            .expireAfterAccess(Math.max(this.ttl * 10, TimeUnit.MINUTES.toMillis(5)), TimeUnit.MILLISECONDS)
+            .build();
+    }
+
+    /**
+     * Gets the response cache with the given name, creating and registering
+     * the cache if no cache with the given name exists yet.
+     *
+     * @param name The name of the response cache.
+     * @param ttl  The amount of time responses are served from the cache before they're regenerated.
+     * @param unit The time unit of the TTL.
+     * @return The response cache with the given name.
+     */
+    public static ResponseCache of(@Nonnull String name, long ttl, TimeUnit unit) {
+        return caches.computeIfAbsent(name, ignored ->
+            new ResponseCache(name, ttl, unit, System::currentTimeMillis)
+        );
+    }
+
+    /**
+     * Gets all the registered response caches.
+     *
+     * @return The registered response caches.
+     */
+    public static Collection<ResponseCache> getCaches() {
+        return Collections.unmodifiableCollection(caches.values());
+    }
+
+    /**
+     * Gets the cached response for the given key, generating the response
+     * if the key has no cached response, or if the response is stale.
+     *
+     * @param key       The key the response is cached by.
+     * @param generator The generator that should be used to generate the response.
+     * @return The cached or generated response.
+     * @throws Exception If the response had to be generated, and the generator failed.
+     */
+    public CachedResponse get(@Nonnull String key, @Nonnull Generator generator) throws Exception {
+        Entry entry = entries.asMap().computeIfAbsent(key, ignored -> new Entry());
+
+        while (true) {
+            Stored stored = entry.stored;
+            if (stored != null && stored.expiresAt > clock.getAsLong()) {
+                hits.increment();
+                return stored.response;
+            }
+
+            CompletableFuture<CachedResponse> future = new CompletableFuture<>();
+            if (entry.inFlight.compareAndSet(null, future)) {
+                return generate(entry, future, generator);
+            }
+
+            if (stored != null) {
+                stale.increment();
+                return stored.response;
+            }
+
+            CompletableFuture<CachedResponse> inFlight = entry.inFlight.get();
+            if (inFlight == null) {
+                // The generation finished between the two checks, so we
+                // just start over to pick up the generated response.
+                continue;
+            }
+
+            coalesced.increment();
+            try {
+                return inFlight.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Exception) {
+                    throw (Exception) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+
+    private CachedResponse generate(Entry entry, CompletableFuture<CachedResponse> future, Generator generator) throws Exception {
+        try {
+            // Another request may have finished generating the response
+            // right before we claimed the entry, in which case the
+            // response is already fresh and can just be used.
+            Stored stored = entry.stored;
+            if (stored != null && stored.expiresAt > clock.getAsLong()) {
+                hits.increment();
+                future.complete(stored.response);
+                return stored.response;
+            }
+
+            misses.increment();
+            CachedResponse response = generator.generate();
+            if (response.isCacheable()) {
+                entry.stored = new Stored(response, clock.getAsLong() + ttl);
+            }
+            future.complete(response);
+
+            return response;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            entry.inFlight.compareAndSet(future, null);
+        }
+    }
+
+    /**
+     * Removes all the cached responses.
+     */
+    public void invalidateAll() {
+        entries.invalidateAll();
+    }
+
+    /**
+     * Gets the name of the response cache.
+     *
+     * @return The name of the response cache.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the TTL for the cached responses.
+     *
+     * @return The TTL for the cached responses in milliseconds.
+     */
+    public long getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Gets the amount of keys that are currently being tracked by the cache.
+     *
+     * @return The amount of keys tracked by the cache.
+     */
+    public long size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the amount of requests that were served a fresh response from the cache.
+     *
+     * @return The amount of fresh cache hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the amount of requests that were served a stale
+     * response while the response was being regenerated.
+     *
+     * @return The amount of stale cache hits.
+     */
+    public long getStaleHits() {
+        return stale.sum();
+    }
+
+    /**
+     * Gets the amount of requests that waited for another
+     * request to generate the response for them.
+     *
+     * @return The amount of coalesced requests.
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Gets the amount of requests that had to generate the response.
+     *
+     * @return The amount of cache misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @FunctionalInterface
+    public interface Generator {
+
+        /**
+         * Generates the response that should be cached.
+         *
+         * @return The generated response.
+         * @throws Exception If the response fails to generate.
+         */
+        CachedResponse generate() throws Exception;
+    }
+
+    private static final class Entry {
+
+        private final AtomicReference<CompletableFuture<CachedResponse>> inFlight = new AtomicReference<>();
+        private volatile Stored stored;
+    }
+
+    private static final class Stored {
+
+        private final CachedResponse response;
+        private final long expiresAt;
+
+        Stored(CachedResponse response, long expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -26,13 +26,26 @@ import spark.Filter;
 import spark.Request;
 import spark.Response;
 
+import java.util.Set;
+
 import static spark.Spark.halt;
 
 public class AreWeReadyYetFilter implements Filter {
 
+    /**
+     * The routes that doesn't depend on any of the managers that
+     * are loaded during startup, and can be used right away.
+     */
+    private static final Set<String> startupRoutes = Set.of("/health", "/metrics");
+
     @Override
     public void handle(Request request, Response response) throws Exception {
-        if (Xeus.getInstance().getShardManager() == null) {
+        if (startupRoutes.contains(request.pathInfo())) {
+            return;
+        }
+
+        Xeus avaire = Xeus.getInstance();
+        if (avaire == null || !avaire.hasFinishedStartup()) {
             halt(503, "Application is still starting up, try again later.");
         }
     }
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.servlet.limits;
+
+import spark.Request;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A snapshot of a Spark request that is handed to routes running on the
+ * worker pool, the servlet request is recycled by Jetty as soon as the
+ * request is finished, so routes that are still running after they have
+ * timed out must never touch the underlying servlet request.
+ * <p>
+ * Only the request information used by the routes are copied, calling
+ * any of the other request methods on the snapshot is not supported.
+ */
+class DetachedRequest extends Request {
+
+    private final String requestMethod;
+    private final String pathInfo;
+    private final String queryString;
+    private final String ip;
+    private final byte[] bodyAsBytes;
+    private final String body;
+    private final Map<String, String> params;
+    private final Map<String, String> headers;
+    private final Map<String, String> queryParams;
+
+    DetachedRequest(Request request) {
+        this.requestMethod = request.requestMethod();
+        this.pathInfo = request.pathInfo();
+        this.queryString = request.queryString();
+        this.ip = request.ip();
+        this.bodyAsBytes = request.bodyAsBytes();
+        this.body = request.body();
+        this.params = new HashMap<>(request.params());
+
+        this.headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (String header : request.headers()) {
+            headers.put(header, request.headers(header));
+        }
+
+        this.queryParams = new HashMap<>();
+        for (String queryParam : request.queryParams()) {
+            queryParams.put(queryParam, request.queryParams(queryParam));
+        }
+    }
+
+    @Override
+    public String requestMethod() {
+        return requestMethod;
+    }
+
+    @Override
+    public String pathInfo() {
+        return pathInfo;
+    }
+
+    @Override
+    public String queryString() {
+        return queryString;
+    }
+
+    @Override
+    public String ip() {
+        return ip;
+    }
+
+    @Override
+    public String body() {
+        return body;
+    }
+
+    @Override
+    public byte[] bodyAsBytes() {
+        return bodyAsBytes;
+    }
+
+    @Override
+    public int contentLength() {
+        return bodyAsBytes == null ? -1 : bodyAsBytes.length;
+    }
+
+    @Override
+    public String params(String param) {
+        if (param == null) {
+            return null;
+        }
+
+        // Mirrors how Spark looks up route parameters, where the
+        // parameters are stored lowercase with a colon prefix.
+        String key = param.toLowerCase();
+        return params.get(key.startsWith(":") ? key : ":" + key);
+    }
+
+    @Override
+    public Map<String, String> params() {
+        return Collections.unmodifiableMap(params);
+    }
+
+    @Override
+    public String headers(String header) {
+        return headers.get(header);
+    }
+
+    @Override
+    public Set<String> headers() {
+        return Collections.unmodifiableSet(headers.keySet());
+    }
+
+    @Override
+    public String queryParams(String queryParam) {
+        return queryParams.get(queryParam);
+    }
+
+    @Override
+    public Set<String> queryParams() {
+        return Collections.unmodifiableSet(queryParams.keySet());
+    }
+
+    @Override
+    public HttpServletRequest raw() {
+        throw new UnsupportedOperationException("Limited routes can't access the raw servlet request");
+    }
+}
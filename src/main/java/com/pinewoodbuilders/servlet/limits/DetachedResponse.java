@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.servlet.limits;
+
+import spark.Response;
+
+import javax.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A response that buffers the status, content type, headers, and body set
+ * by routes running on the worker pool, the buffered response is copied
+ * to the real response once the route has finished, so routes that are
+ * still running after they have timed out can't write to a servlet
+ * response that Jetty has already recycled for another request.
+ */
+class DetachedResponse extends Response {
+
+    private final List<String[]> headers = new ArrayList<>();
+
+    private volatile int status = 200;
+    private volatile String type;
+    private volatile String body;
+
+    @Override
+    public void status(int statusCode) {
+        this.status = statusCode;
+    }
+
+    @Override
+    public int status() {
+        return status;
+    }
+
+    @Override
+    public void type(String contentType) {
+        this.type = contentType;
+    }
+
+    @Override
+    public String type() {
+        return type;
+    }
+
+    @Override
+    public void body(String body) {
+        this.body = body;
+    }
+
+    @Override
+    public String body() {
+        return body;
+    }
+
+    @Override
+    public synchronized void header(String header, String value) {
+        headers.add(new String[]{header, value});
+    }
+
+    @Override
+    public HttpServletResponse raw() {
+        throw new UnsupportedOperationException("Limited routes can't access the raw servlet response");
+    }
+
+    /**
+     * Copies the buffered response to the given response.
+     *
+     * @param response The response the buffered response should be copied to.
+     */
+    synchronized void applyTo(Response response) {
+        response.status(status);
+        if (type != null) {
+            response.type(type);
+        }
+        if (body != null) {
+            response.body(body);
+        }
+        for (String[] header : headers) {
+            response.header(header[0], header[1]);
+        }
+    }
+}
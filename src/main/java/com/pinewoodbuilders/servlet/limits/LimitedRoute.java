@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.servlet.limits;
+
+import com.pinewoodbuilders.metrics.Metrics;
+import com.pinewoodbuilders.servlet.WebServlet;
+import org.json.JSONObject;
+import spark.Request;
+import spark.Response;
+import spark.Route;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Wraps a route so it is handled on the servlet worker pool within the
+ * limits given for the route, requests are shed right away instead of
+ * queueing up when the limits are reached:
+ * <ul>
+ * <li><code>429</code> if the route is already handling its max concurrent requests.</li>
+ * <li><code>503</code> if the worker pool is saturated, or the request timed out.</li>
+ * </ul>
+ * Timed out requests are not interrupted, since interrupting a thread that
+ * is blocked on the database can break the shared connection, instead the
+ * request keeps its concurrency permit until the route actually finishes,
+ * so a stuck dependency can never hold more workers than the route limit.
+ */
+public class LimitedRoute implements Route {
+
+    private final String path;
+    private final Route route;
+    private final RouteLimits limits;
+    private final ExecutorService workers;
+    private final Semaphore permits;
+
+    /**
+     * Creates a new limited route.
+     *
+     * @param path    The path the route is registered with.
+     * @param route   The route that should handle the requests.
+     * @param limits  The limits for the route.
+     * @param workers The worker pool the requests should be handled on.
+     */
+    public LimitedRoute(String path, Route route, RouteLimits limits, ExecutorService workers) {
+        if (limits.isUnlimited()) {
+            throw new IllegalArgumentException("Limited routes can't use the unlimited route limits");
+        }
+
+        this.path = path;
+        this.route = route;
+        this.limits = limits;
+        this.workers = workers;
+        this.permits = new Semaphore(limits.getMaxConcurrent());
+    }
+
+    @Override
+    public Object handle(Request request, Response response) throws Exception {
+        if (!permits.tryAcquire()) {
+            return shed(response, 429, "concurrency", "Too many concurrent requests for this route, try again later.");
+        }
+
+        DetachedRequest detachedRequest = new DetachedRequest(request);
+        DetachedResponse detachedResponse = new DetachedResponse();
+
+        // Whoever flips the started flag first owns the permit, either the worker
+        // when it starts handling the request, or the request thread if the
+        // request times out before the worker ever got around to it.
+        AtomicBoolean started = new AtomicBoolean();
+
+        Future<Object> future;
+        try {
+            future = workers.submit(() -> {
+                if (!started.compareAndSet(false, true)) {
+                    return null;
+                }
+
+                try {
+                    return route.handle(detachedRequest, detachedResponse);
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            return shed(response, 503, "saturated", "The server is too busy to handle the request, try again later.");
+        }
+
+        try {
+            Object body = future.get(limits.getTimeout(), TimeUnit.MILLISECONDS);
+            detachedResponse.applyTo(response);
+
+            return body;
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            if (started.compareAndSet(false, true)) {
+                permits.release();
+            }
+
+            WebServlet.log.warn("{} {} timed out after {} ms",
+                request.requestMethod(), request.pathInfo(), limits.getTimeout()
+            );
+
+            return shed(response, 503, "timeout", "The request took too long to handle, try again later.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the amount of requests the route is currently handling.
+     *
+     * @return The amount of requests the route is currently handling.
+     */
+    public int getActiveRequests() {
+        return limits.getMaxConcurrent() - permits.availablePermits();
+    }
+
+    private Object shed(Response response, int status, String reason, String message) {
+        Metrics.servletRequestsShed.labels(path, reason).inc();
+
+        response.status(status);
+        response.header("Retry-After", "1");
+
+        JSONObject root = new JSONObject();
+        root.put("status", status);
+        root.put("reason", message);
+
+        return root;
+    }
+}
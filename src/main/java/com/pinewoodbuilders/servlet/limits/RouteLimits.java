@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.servlet.limits;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The concurrency and timeout limits for a single web servlet route, routes
+ * with limits are handled on the servlet worker pool, so requests that are
+ * stuck waiting on the database or an outbound API call can be timed out
+ * without holding on to the HTTP server threads.
+ * <p>
+ * Routes using the {@link #UNLIMITED unlimited} limits are handled directly
+ * on the HTTP server threads, which is used for cheap routes that must always
+ * be available, like the metrics and health routes.
+ */
+public final class RouteLimits {
+
+    /**
+     * The limits for routes that are handled directly on the HTTP server threads.
+     */
+    public static final RouteLimits UNLIMITED = new RouteLimits(0, 0);
+
+    private final int maxConcurrent;
+    private final long timeout;
+
+    private RouteLimits(int maxConcurrent, long timeout) {
+        this.maxConcurrent = maxConcurrent;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Creates new route limits.
+     *
+     * @param maxConcurrent The amount of requests the route can handle at the same time.
+     * @param timeout       The amount of time a request can take before it is timed out.
+     * @param unit          The time unit of the timeout.
+     * @return The created route limits.
+     */
+    public static RouteLimits of(int maxConcurrent, long timeout, TimeUnit unit) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("The max concurrent requests must be at least 1, " + maxConcurrent + " given");
+        }
+        return new RouteLimits(maxConcurrent, Math.max(1, unit.toMillis(timeout)));
+    }
+
+    /**
+     * Checks if the limits are the unlimited limits.
+     *
+     * @return <code>True</code> if the route is unlimited, <code>False</code> otherwise.
+     */
+    public boolean isUnlimited() {
+        return maxConcurrent == 0;
+    }
+
+    /**
+     * Gets the amount of requests the route can handle at the same time.
+     *
+     * @return The amount of requests the route can handle at the same time.
+     */
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    /**
+     * Gets the amount of time a request can take before it is timed out.
+     *
+     * @return The request timeout in milliseconds.
+     */
+    public long getTimeout() {
+        return timeout;
+    }
+
+    @Override
+    public String toString() {
+        return isUnlimited() ? "RouteLimits{unlimited}"
+            : "RouteLimits{maxConcurrent=" + maxConcurrent + ", timeout=" + timeout + "ms}";
+    }
+}
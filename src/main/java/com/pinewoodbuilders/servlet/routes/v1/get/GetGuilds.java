@@ -23,7 +23,9 @@ package com.pinewoodbuilders.servlet.routes.v1.get;
 
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.contracts.metrics.SparkRoute;
+import com.pinewoodbuilders.statistics.GuildStatistics;
 import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
 import org.json.JSONObject;
 import spark.Request;
 import spark.Response;
@@ -50,23 +52,32 @@ public class GetGuilds extends SparkRoute {
                 //guild.put("region", guildById.getRegion().getName());
                 guild.put("icon", guildById.getIconUrl());
 
+                // The owner is resolved once per guild, using the cached member when
+                // possible, the owner request is never waited on, so owners that
+                // aren't cached yet are just returned with their ID for now.
+                Member ownerMember = guildById.getOwner();
+                if (ownerMember == null) {
+                    ownerMember = guildById.retrieveOwner().submit().getNow(null);
+                }
+
                 JSONObject owner = new JSONObject();
-                owner.put("id", guildById.retrieveOwner().submit().getNow(null).getUser().getId());
-                owner.put("username", guildById.retrieveOwner().submit().getNow(null).getUser().getName());
-                owner.put("discriminator", guildById.retrieveOwner().submit().getNow(null).getUser().getDiscriminator());
-                owner.put("avatar", guildById.retrieveOwner().submit().getNow(null).getUser().getEffectiveAvatarUrl());
+                owner.put("id", guildById.getOwnerId());
+                if (ownerMember != null) {
+                    owner.put("username", ownerMember.getUser().getName());
+                    owner.put("discriminator", ownerMember.getUser().getDiscriminator());
+                    owner.put("avatar", ownerMember.getUser().getEffectiveAvatarUrl());
+                }
                 guild.put("owner", owner);
 
                 JSONObject counter = new JSONObject();
 
-                long userCount = guildById.getMembers()
-                    .stream().filter(member -> member.getUser().isBot()).count();
+                GuildStatistics statistics = Xeus.getInstance().getGuildStatisticsManager().getStatistics(guildById);
 
                 counter.put("textChannels", guildById.getTextChannels().size());
                 counter.put("voiceChannels", guildById.getVoiceChannels().size());
-                counter.put("members", guildById.getMembers().size());
-                counter.put("users", guildById.getMembers().size() - userCount);
-                counter.put("bots", userCount);
+                counter.put("members", guildById.getMemberCount());
+                counter.put("users", statistics == null ? JSONObject.NULL : statistics.getHumans());
+                counter.put("bots", statistics == null ? JSONObject.NULL : statistics.getBots());
                 guild.put("counter", counter);
 
                 root.put(id, guild);
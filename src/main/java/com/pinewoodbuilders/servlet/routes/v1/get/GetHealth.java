@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.servlet.routes.v1.get;
+
+import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.contracts.metrics.SparkRoute;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.sharding.ShardManager;
+import org.json.JSONObject;
+import spark.Request;
+import spark.Response;
+
+public class GetHealth extends SparkRoute {
+
+    @Override
+    public Object handle(Request request, Response response) throws Exception {
+        ShardManager shardManager = Xeus.getInstance().getShardManager();
+        if (shardManager == null) {
+            return buildResponse(response, 503, "Application is still starting up, try again later.");
+        }
+
+        int connected = 0;
+        int total = 0;
+
+        for (JDA shard : shardManager.getShardCache()) {
+            total++;
+            if (shard.getStatus() == JDA.Status.CONNECTED) {
+                connected++;
+            }
+        }
+
+        JSONObject root = buildResponse(response, connected > 0 ? 200 : 503,
+            connected > 0 ? "OK" : "None of the shards are connected."
+        );
+
+        JSONObject shards = new JSONObject();
+        shards.put("connected", connected);
+        shards.put("total", total);
+        root.put("shards", shards);
+
+        return root;
+    }
+}
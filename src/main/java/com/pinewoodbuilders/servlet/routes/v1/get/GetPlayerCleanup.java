@@ -32,9 +32,14 @@ import org.slf4j.LoggerFactory;
 import spark.Request;
 import spark.Response;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 public class GetPlayerCleanup extends SparkRoute {
 
@@ -47,34 +52,53 @@ public class GetPlayerCleanup extends SparkRoute {
             return buildResponse(response, 401, "Unauthorized request, missing or invalid \"Authorization\" header give.");
         }
 
-        Guild guild = null;
-        HashMap<String, Set<String>> missingPlayers = new HashMap<>();
+        Map<String, List<DataRow>> rowsByGuild = new LinkedHashMap<>();
         for (DataRow dataRow : Xeus.getInstance().getDatabase().newQueryBuilder(Constants.PLAYER_EXPERIENCE_TABLE_NAME)
             .select("user_id", "guild_id").orderBy("guild_id").get()) {
+            rowsByGuild.computeIfAbsent(dataRow.getString("guild_id"), guildId -> new ArrayList<>()).add(dataRow);
+        }
+
+        HashMap<String, Set<String>> missingPlayers = new HashMap<>();
+        for (Map.Entry<String, List<DataRow>> entry : rowsByGuild.entrySet()) {
+            missingPlayers.put(entry.getKey(), new HashSet<>());
 
-            if (!missingPlayers.containsKey(dataRow.getString("guild_id"))) {
-                missingPlayers.put(dataRow.getString("guild_id"), new HashSet<>());
+            Guild guild = null;
+            try {
+                guild = Xeus.getInstance().getShardManager().getGuildById(entry.getKey());
+            } catch (Exception ignored) {
+                // Invalid guild IDs are treated the same as guilds the bot is no longer in.
             }
 
-            if (guild == null || !guild.getId().equalsIgnoreCase(dataRow.getString("guild_id"))) {
-                try {
-                    guild = Xeus.getInstance().getShardManager().getGuildById(dataRow.getString("guild_id"));
-                } catch (Exception ignored) {
+            if (guild == null) {
+                for (DataRow dataRow : entry.getValue()) {
                     addRowToMissingPlayers(missingPlayers, dataRow);
                 }
+                continue;
             }
 
-            if (guild == null) {
-                addRowToMissingPlayers(missingPlayers, dataRow);
-                continue;
+            List<Long> userIds = new ArrayList<>(entry.getValue().size());
+            for (DataRow dataRow : entry.getValue()) {
+                userIds.add(dataRow.getLong("user_id"));
             }
 
+            // The member cache is bounded, so the members are looked up from Discord, guilds
+            // that can't be looked up are left out rather than reporting everyone as missing.
+            Set<Long> members;
             try {
-                if (guild.getMemberById(dataRow.getString("user_id")) == null) {
+                members = Xeus.getInstance().getMemberLoader()
+                    .retrieveMemberIds(guild, userIds)
+                    .get(30, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                log.warn("Failed to load members for {} during player cleanup, error: {}",
+                    guild.getId(), e.getMessage()
+                );
+                continue;
+            }
+
+            for (DataRow dataRow : entry.getValue()) {
+                if (!members.contains(dataRow.getLong("user_id"))) {
                     addRowToMissingPlayers(missingPlayers, dataRow);
                 }
-            } catch (Exception ignored) {
-                addRowToMissingPlayers(missingPlayers, dataRow);
             }
         }
 
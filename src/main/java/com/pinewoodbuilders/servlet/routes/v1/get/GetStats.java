@@ -25,6 +25,7 @@ import com.pinewoodbuilders.AppInfo;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.GitInfo;
 import com.pinewoodbuilders.contracts.metrics.SparkRoute;
+import com.pinewoodbuilders.shard.ShardEntityCounter;
 import net.dv8tion.jda.api.JDA;
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -72,13 +73,14 @@ public class GetStats extends SparkRoute {
     private JSONArray buildShards() {
         JSONArray shards = new JSONArray();
 
+        ShardEntityCounter counter = Xeus.getInstance().getShardEntityCounter();
         for (JDA shard : Xeus.getInstance().getShardManager().getShards()) {
             JSONObject stats = new JSONObject();
             stats.put("id", shard.getShardInfo().getShardId())
-                .put("guilds", shard.getGuilds().size())
-                .put("users", shard.getUsers().size())
+                .put("guilds", counter.getGuilds(shard))
+                .put("users", counter.getUsers(shard))
                 .put("status", shard.getStatus())
-                .put("channels", (shard.getTextChannels().size() + shard.getVoiceChannels().size()))
+                .put("channels", counter.getChannels(shard))
                 .put("latency", shard.getGatewayPing());
 
             shards.put(stats);
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.servlet.routes.v1.post;
+
+import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.contracts.metrics.SparkRoute;
+import com.pinewoodbuilders.contracts.verification.VerificationEntity;
+import com.pinewoodbuilders.roblox.verification.VerificationBatchLookup;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import spark.Request;
+import spark.Response;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class PostDiscordIdsByRobloxIds extends SparkRoute {
+
+    private static final Logger log = LoggerFactory.getLogger("V(R>D)");
+
+    @Override
+    public Object handle(Request request, Response response) throws Exception {
+        if (!hasValidVerificationAuthorizationHeader(request)) {
+            log.warn("Unauthorized request, missing or invalid \"Authorization\" header give.");
+            return buildResponse(response, 401, "Unauthorized request, missing or invalid \"Authorization\" header give.");
+        }
+
+        Set<Long> ids = new LinkedHashSet<>();
+        try {
+            for (Object id : new JSONObject(request.body()).getJSONArray("ids").toList()) {
+                ids.add(Long.parseLong(id.toString()));
+            }
+        } catch (JSONException | NumberFormatException e) {
+            return buildResponse(response, 400, "Invalid request body, expected a JSON object with an \"ids\" array of Roblox IDs.");
+        }
+
+        if (ids.size() > VerificationBatchLookup.MAX_IDS) {
+            return buildResponse(response, 400, String.format(
+                "Too many IDs given, a single request can look up at most %s IDs.", VerificationBatchLookup.MAX_IDS
+            ));
+        }
+
+        Map<Long, List<VerificationEntity>> links = Xeus.getInstance().getRobloxAPIManager()
+            .getVerification().getBatchLookup().findByRobloxIds(ids);
+
+        JSONObject root = new JSONObject();
+        for (Long id : ids) {
+            List<VerificationEntity> entities = links.get(id);
+            if (entities == null) {
+                root.put(id.toString(), JSONObject.NULL);
+                continue;
+            }
+
+            JSONArray accounts = new JSONArray();
+            for (VerificationEntity entity : entities) {
+                JSONObject account = new JSONObject();
+                account.put("username", entity.getRobloxUsername());
+                account.put("robloxId", entity.getRobloxId());
+                account.put("provider", entity.getProvider());
+                account.put("discordId", entity.getDiscordId());
+                account.put("main", entity.isMainAccount());
+                accounts.put(account);
+            }
+            root.put(id.toString(), accounts);
+        }
+
+        log.debug("Resolved {} out of {} Roblox IDs in a batch lookup", links.size(), ids.size());
+
+        response.status(200);
+        return root;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.servlet.routes.v1.post;
+
+import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.contracts.metrics.SparkRoute;
+import com.pinewoodbuilders.contracts.verification.VerificationEntity;
+import com.pinewoodbuilders.roblox.verification.VerificationBatchLookup;
+import com.pinewoodbuilders.roblox.verification.VerificationManager;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import spark.Request;
+import spark.Response;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class PostRobloxUsersByDiscordIds extends SparkRoute {
+
+    private static final Logger log = LoggerFactory.getLogger("V(D>R)");
+
+    @Override
+    public Object handle(Request request, Response response) throws Exception {
+        if (!hasValidVerificationAuthorizationHeader(request)) {
+            log.warn("Unauthorized request, missing or invalid \"Authorization\" header give.");
+            return buildResponse(response, 401, "Unauthorized request, missing or invalid \"Authorization\" header give.");
+        }
+
+        Set<Long> ids = new LinkedHashSet<>();
+        boolean fallback;
+        try {
+            JSONObject obj = new JSONObject(request.body());
+            for (Object id : obj.getJSONArray("ids").toList()) {
+                ids.add(Long.parseLong(id.toString()));
+            }
+            fallback = obj.optBoolean("fallback", false);
+        } catch (JSONException | NumberFormatException e) {
+            return buildResponse(response, 400, "Invalid request body, expected a JSON object with an \"ids\" array of Discord IDs.");
+        }
+
+        if (ids.size() > VerificationBatchLookup.MAX_IDS) {
+            return buildResponse(response, 400, String.format(
+                "Too many IDs given, a single request can look up at most %s IDs.", VerificationBatchLookup.MAX_IDS
+            ));
+        }
+
+        VerificationManager verification = Xeus.getInstance().getRobloxAPIManager().getVerification();
+        Map<Long, VerificationEntity> entities = verification.getBatchLookup().findByDiscordIds(ids);
+
+        if (fallback) {
+            List<Long> missing = new ArrayList<>();
+            for (Long id : ids) {
+                if (!entities.containsKey(id)) {
+                    missing.add(id);
+                }
+            }
+
+            if (!missing.isEmpty()) {
+                entities.putAll(verification.getBatchLookup().findWithFallback(missing, id -> {
+                    VerificationEntity entity = verification.fetchVerification(id.toString(), true, "rover");
+                    return entity != null ? entity : verification.fetchVerification(id.toString(), true, "bloxlink");
+                }));
+            }
+        }
+
+        JSONObject root = new JSONObject();
+        for (Long id : ids) {
+            VerificationEntity entity = entities.get(id);
+            if (entity == null) {
+                root.put(id.toString(), JSONObject.NULL);
+                continue;
+            }
+
+            JSONObject user = new JSONObject();
+            user.put("username", entity.getRobloxUsername());
+            user.put("robloxId", entity.getRobloxId());
+            user.put("provider", entity.getProvider());
+            root.put(id.toString(), user);
+        }
+
+        log.debug("Resolved {} out of {} Discord IDs in a batch lookup", entities.size(), ids.size());
+
+        response.status(200);
+        return root;
+    }
+}
@@ -33,6 +33,8 @@ import org.slf4j.LoggerFactory;
 import spark.Request;
 import spark.Response;
 
+import java.util.concurrent.CompletableFuture;
+
 public class PostVote extends SparkRoute {
 
     private static final Logger log = LoggerFactory.getLogger(PostVote.class);
@@ -55,15 +57,12 @@ public class PostVote extends SparkRoute {
             return buildResponse(response, 400, "Bad request, invalid JSON data given to justify a upvote request.");
         }
 
-        Xeus.getInstance().getVoteManager().registerVoteFor(
-            Long.valueOf(voteRequest.user),
-            voteRequest.isWeekend ? 2 : 1
+        CompletableFuture<VoteCacheEntity> registeredVote = Xeus.getInstance().getVoteManager().registerVoteFor(
+            Long.parseLong(voteRequest.user),
+            voteRequest.isWeekend ? 2 : 1,
+            Carbon.now().addHours(12)
         );
 
-        VoteCacheEntity voteEntity = Xeus.getInstance().getVoteManager()
-            .getVoteEntityWithFallback(Long.valueOf(voteRequest.user));
-        voteEntity.setCarbon(Carbon.now().addHours(12));
-
         Metrics.dblVotes.labels(VoteMetricType.WEBHOOK.getName()).inc();
 
         User userById = Xeus.getInstance().getShardManager().getUserById(voteRequest.user);
@@ -79,11 +78,11 @@ public class PostVote extends SparkRoute {
             userById.getAsTag(), userById.getId()
         );
 
-        if (!voteEntity.isOptIn()) {
-            return buildResponse(response, 200, "Vote registered, thanks for voting!");
-        }
-
-        Xeus.getInstance().getVoteManager().getMessenger().SendThanksForVotingMessageInDM(userById, voteEntity.getVotePoints());
+        registeredVote.thenAccept(voteEntity -> {
+            if (voteEntity != null && voteEntity.isOptIn()) {
+                Xeus.getInstance().getVoteManager().getMessenger().SendThanksForVotingMessageInDM(userById, voteEntity.getVotePoints());
+            }
+        });
 
         return buildResponse(response, 200, "Vote registered, thanks for voting!");
     }
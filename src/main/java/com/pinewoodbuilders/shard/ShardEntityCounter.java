@@ -22,15 +22,42 @@
 package com.pinewoodbuilders.shard;
 
 import com.pinewoodbuilders.Xeus;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Channel;
+import net.dv8tion.jda.api.entities.ChannelType;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of the amount of guilds, channels, users, and bots for each shard,
+ * the counters are updated incrementally as guilds and channels are created and
+ * deleted, and as members join and leave, so reading the totals never has
+ * to go through the entity caches for every shard.
+ * <p>
+ * The counters are {@link #reconcile() reconciled} with the entity caches
+ * periodically, and whenever a shard connects, so any drift caused by
+ * events that was missed while a shard was disconnected is corrected.
+ */
 public class ShardEntityCounter {
 
+    private static final Logger log = LoggerFactory.getLogger(ShardEntityCounter.class);
+
     private final Xeus avaire;
 
-    private final ShardEntity guilds = new ShardEntity(shard -> shard.getGuilds().size());
-    private final ShardEntity textChannels = new ShardEntity(shard -> shard.getTextChannels().size());
-    private final ShardEntity voiceChannels = new ShardEntity(shard -> shard.getVoiceChannels().size());
-    private final ShardEntity users = new ShardEntity(shard -> shard.getUsers().size());
+    private final Map<Integer, ShardCounts> shards = new ConcurrentHashMap<>();
+
+    private final AtomicLong guilds = new AtomicLong();
+    private final AtomicLong textChannels = new AtomicLong();
+    private final AtomicLong voiceChannels = new AtomicLong();
+    private final AtomicLong users = new AtomicLong();
+    private final AtomicLong bots = new AtomicLong();
 
     public ShardEntityCounter(Xeus avaire) {
         this.avaire = avaire;
@@ -42,7 +69,17 @@ public class ShardEntityCounter {
      * @return The total amount of guilds for the bot.
      */
     public long getGuilds() {
-        return guilds.getValue(avaire);
+        return guilds.get();
+    }
+
+    /**
+     * Gets the amount of guilds for the given shard.
+     *
+     * @param shard The shard the amount of guilds should be returned for.
+     * @return The amount of guilds for the given shard.
+     */
+    public long getGuilds(@Nonnull JDA shard) {
+        return getShardCounts(shard).guilds;
     }
 
     /**
@@ -51,7 +88,7 @@ public class ShardEntityCounter {
      * @return The total amount of text channels for the bot.
      */
     public long getTextChannels() {
-        return textChannels.getValue(avaire);
+        return textChannels.get();
     }
 
     /**
@@ -60,7 +97,7 @@ public class ShardEntityCounter {
      * @return The total amount of voice channels for the bot.
      */
     public long getVoiceChannels() {
-        return voiceChannels.getValue(avaire);
+        return voiceChannels.get();
     }
 
     /**
@@ -72,12 +109,250 @@ public class ShardEntityCounter {
         return getTextChannels() + getVoiceChannels();
     }
 
+    /**
+     * Gets the amount of text and voice channels for the given shard.
+     *
+     * @param shard The shard the amount of channels should be returned for.
+     * @return The amount of text and voice channels for the given shard.
+     */
+    public long getChannels(@Nonnull JDA shard) {
+        ShardCounts counts = getShardCounts(shard);
+        synchronized (counts) {
+            return counts.textChannels + counts.voiceChannels;
+        }
+    }
+
     /**
      * Gets the total amount of users shared between all shards of the bot.
      *
      * @return The total amount of users for the bot.
      */
     public long getUsers() {
-        return users.getValue(avaire);
+        return users.get();
+    }
+
+    /**
+     * Gets the amount of users for the given shard.
+     *
+     * @param shard The shard the amount of users should be returned for.
+     * @return The amount of users for the given shard.
+     */
+    public long getUsers(@Nonnull JDA shard) {
+        return getShardCounts(shard).users;
+    }
+
+    /**
+     * Gets the total amount of users that are bots shared between all shards of the bot.
+     *
+     * @return The total amount of bots for the bot.
+     */
+    public long getBots() {
+        return bots.get();
+    }
+
+    /**
+     * Gets the total amount of users that are not bots shared between all shards of the bot.
+     *
+     * @return The total amount of human users for the bot.
+     */
+    public long getHumans() {
+        return Math.max(0, getUsers() - getBots());
+    }
+
+    public void onGuildJoin(@Nonnull Guild guild) {
+        adjust(getShardId(guild.getJDA()), 1,
+            guild.getTextChannelCache().size(),
+            guild.getVoiceChannelCache().size()
+        );
+        refreshUsers(guild.getJDA());
+    }
+
+    public void onGuildLeave(@Nonnull Guild guild) {
+        adjust(getShardId(guild.getJDA()), -1,
+            -guild.getTextChannelCache().size(),
+            -guild.getVoiceChannelCache().size()
+        );
+        refreshUsers(guild.getJDA());
+    }
+
+    public void onChannelCreate(@Nonnull Channel channel) {
+        adjustChannels(channel, 1);
+    }
+
+    public void onChannelDelete(@Nonnull Channel channel) {
+        adjustChannels(channel, -1);
+    }
+
+    /**
+     * Refreshes the amount of users for the given shard, this should be called
+     * whenever users might have been added to, or removed from the user
+     * cache for the shard, like when members join or leave a guild.
+     *
+     * @param shard The shard the amount of users should be refreshed for.
+     */
+    public void refreshUsers(@Nonnull JDA shard) {
+        setUsers(getShardId(shard), shard.getUserCache().size());
+    }
+
+    /**
+     * Refreshes the amount of users for the given shard after the given user
+     * joined or left a guild, if the user was added to, or removed from the
+     * user cache, and the user is a bot, the amount of bots is adjusted too.
+     *
+     * @param shard The shard the amount of users should be refreshed for.
+     * @param user  The user that joined or left a guild on the shard.
+     */
+    public void refreshUsers(@Nonnull JDA shard, @Nonnull User user) {
+        int shardId = getShardId(shard);
+        ShardCounts counts = getShardCounts(shardId);
+        synchronized (counts) {
+            long users = shard.getUserCache().size();
+            if (user.isBot()) {
+                setBots(shardId, counts.bots + Long.signum(users - counts.users));
+            }
+            setUsers(shardId, users);
+        }
+    }
+
+    /**
+     * Reconciles the counters for every shard with the entity caches.
+     */
+    public void reconcile() {
+        for (JDA shard : avaire.getShardManager().getShards()) {
+            reconcile(shard);
+        }
+    }
+
+    /**
+     * Reconciles the counters for the given shard with the entity caches for the shard.
+     *
+     * @param shard The shard that should be reconciled.
+     */
+    public void reconcile(@Nonnull JDA shard) {
+        long drift = reconcile(getShardId(shard),
+            shard.getGuildCache().size(),
+            shard.getTextChannelCache().size(),
+            shard.getVoiceChannelCache().size(),
+            shard.getUserCache().size(),
+            shard.getUserCache().applyStream(users -> users.filter(User::isBot).count())
+        );
+
+        if (drift != 0) {
+            log.debug("Reconciled the entity counters for shard {}, the counters had drifted by {} entities",
+                getShardId(shard), drift
+            );
+        }
+    }
+
+    /**
+     * Adjusts the counters for the given shard by the given amounts.
+     *
+     * @param shardId       The ID of the shard the counters should be adjusted for.
+     * @param guilds        The amount the guild counter should be adjusted by.
+     * @param textChannels  The amount the text channel counter should be adjusted by.
+     * @param voiceChannels The amount the voice channel counter should be adjusted by.
+     */
+    public void adjust(int shardId, long guilds, long textChannels, long voiceChannels) {
+        ShardCounts counts = getShardCounts(shardId);
+        synchronized (counts) {
+            counts.guilds += guilds;
+            counts.textChannels += textChannels;
+            counts.voiceChannels += voiceChannels;
+
+            this.guilds.addAndGet(guilds);
+            this.textChannels.addAndGet(textChannels);
+            this.voiceChannels.addAndGet(voiceChannels);
+        }
+    }
+
+    /**
+     * Sets the amount of users for the given shard.
+     *
+     * @param shardId The ID of the shard the amount of users should be set for.
+     * @param users   The amount of users in the user cache for the shard.
+     */
+    public void setUsers(int shardId, long users) {
+        ShardCounts counts = getShardCounts(shardId);
+        synchronized (counts) {
+            this.users.addAndGet(users - counts.users);
+            counts.users = users;
+        }
+    }
+
+    /**
+     * Sets the amount of users that are bots for the given shard.
+     *
+     * @param shardId The ID of the shard the amount of bots should be set for.
+     * @param bots    The amount of bots in the user cache for the shard.
+     */
+    public void setBots(int shardId, long bots) {
+        ShardCounts counts = getShardCounts(shardId);
+        synchronized (counts) {
+            bots = Math.max(0, bots);
+
+            this.bots.addAndGet(bots - counts.bots);
+            counts.bots = bots;
+        }
+    }
+
+    /**
+     * Reconciles the counters for the given shard with the given amounts counted from the entity caches.
+     *
+     * @param shardId       The ID of the shard that should be reconciled.
+     * @param guilds        The amount of guilds in the guild cache for the shard.
+     * @param textChannels  The amount of text channels in the text channel cache for the shard.
+     * @param voiceChannels The amount of voice channels in the voice channel cache for the shard.
+     * @param users         The amount of users in the user cache for the shard.
+     * @param bots          The amount of users in the user cache for the shard that are bots.
+     * @return The total amount of entities the counters had drifted by.
+     */
+    public long reconcile(int shardId, long guilds, long textChannels, long voiceChannels, long users, long bots) {
+        ShardCounts counts = getShardCounts(shardId);
+        synchronized (counts) {
+            long drift = Math.abs(guilds - counts.guilds)
+                + Math.abs(textChannels - counts.textChannels)
+                + Math.abs(voiceChannels - counts.voiceChannels)
+                + Math.abs(users - counts.users)
+                + Math.abs(bots - counts.bots);
+
+            adjust(shardId,
+                guilds - counts.guilds,
+                textChannels - counts.textChannels,
+                voiceChannels - counts.voiceChannels
+            );
+            setUsers(shardId, users);
+            setBots(shardId, bots);
+
+            return drift;
+        }
+    }
+
+    private void adjustChannels(Channel channel, int delta) {
+        if (channel.getType() == ChannelType.TEXT) {
+            adjust(getShardId(channel.getJDA()), 0, delta, 0);
+        } else if (channel.getType() == ChannelType.VOICE) {
+            adjust(getShardId(channel.getJDA()), 0, 0, delta);
+        }
+    }
+
+    private ShardCounts getShardCounts(JDA shard) {
+        return getShardCounts(getShardId(shard));
+    }
+
+    private ShardCounts getShardCounts(int shardId) {
+        return shards.computeIfAbsent(shardId, id -> new ShardCounts());
+    }
+
+    private int getShardId(JDA shard) {
+        return shard.getShardInfo().getShardId();
+    }
+
+    private static final class ShardCounts {
+
+        private volatile long guilds;
+        private volatile long textChannels;
+        private volatile long voiceChannels;
+        private volatile long users;
+        private volatile long bots;
     }
 }
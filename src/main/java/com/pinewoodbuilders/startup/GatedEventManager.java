@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.startup;
+
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.hooks.IEventManager;
+import net.dv8tion.jda.api.hooks.InterfacedEventManager;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An event manager that holds back all the events it receives until the given gate
+ * is completed, this allows the shards to connect to Discord while the rest of the
+ * application is still loading, once the gate is completed the events that was
+ * held back are dispatched to the listeners in the order they were received.
+ * <p>
+ * If the gate is completed exceptionally the gate is never opened, and every
+ * event that was held back, or is received afterwards, is dropped instead.
+ */
+public class GatedEventManager implements IEventManager {
+
+    private final IEventManager delegate = new InterfacedEventManager();
+    private final Queue<GenericEvent> pending = new ArrayDeque<>();
+    private volatile boolean open = false;
+    private volatile boolean failed = false;
+
+    /**
+     * Creates a new gated event manager.
+     *
+     * @param gate The gate that should be completed before events are dispatched to the listeners.
+     */
+    public GatedEventManager(@Nonnull CompletableFuture<?> gate) {
+        gate.whenComplete((ignored, throwable) -> {
+            if (throwable == null) {
+                open();
+            } else {
+                fail();
+            }
+        });
+    }
+
+    @Override
+    public void register(@Nonnull Object listener) {
+        delegate.register(listener);
+    }
+
+    @Override
+    public void unregister(@Nonnull Object listener) {
+        delegate.unregister(listener);
+    }
+
+    @Override
+    public void handle(@Nonnull GenericEvent event) {
+        if (!open) {
+            synchronized (pending) {
+                if (failed) {
+                    return;
+                }
+                if (!open) {
+                    pending.add(event);
+                    return;
+                }
+            }
+        }
+        delegate.handle(event);
+    }
+
+    @Nonnull
+    @Override
+    public List<Object> getRegisteredListeners() {
+        return delegate.getRegisteredListeners();
+    }
+
+    private void open() {
+        synchronized (pending) {
+            GenericEvent event;
+            while ((event = pending.poll()) != null) {
+                delegate.handle(event);
+            }
+            open = true;
+        }
+    }
+
+    private void fail() {
+        synchronized (pending) {
+            failed = true;
+            pending.clear();
+        }
+    }
+}
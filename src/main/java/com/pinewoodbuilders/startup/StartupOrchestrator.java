@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.startup;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.pinewoodbuilders.metrics.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the application components that has to be ready before the bot can start handling
+ * events, components are registered with the names of the components they depend on,
+ * every component is then loaded as soon as all of its dependencies has finished
+ * loading, so components that doesn't depend on each other are loaded concurrently.
+ * <p>
+ * Components can only depend on components that was registered before
+ * them, which ensures that there are no circular dependencies.
+ */
+public class StartupOrchestrator {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupOrchestrator.class);
+
+    private final Map<String, CompletableFuture<Object>> components = new LinkedHashMap<>();
+    private final ExecutorService executor;
+    private final long startedAt = System.nanoTime();
+
+    /**
+     * Creates a new startup orchestrator using the given amount of threads.
+     *
+     * @param threads The max amount of components that can be loaded at the same time.
+     */
+    public StartupOrchestrator(int threads) {
+        this.executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+            .setNameFormat("startup-%d")
+            .setDaemon(true)
+            .build()
+        );
+    }
+
+    /**
+     * Registers the component with the given name, the component will start loading as soon as all
+     * of its dependencies has finished loading, or right away if it doesn't have any dependencies.
+     *
+     * @param name         The name of the component.
+     * @param loader       The loader that creates the component.
+     * @param dependencies The names of the components that must be loaded before this component.
+     * @return The startup orchestrator instance.
+     * @throws IllegalArgumentException If a component with the given name has already been registered,
+     *                                  or if one of the dependencies has not been registered yet.
+     */
+    public StartupOrchestrator register(@Nonnull String name, @Nonnull Callable<?> loader, String... dependencies) {
+        if (components.containsKey(name)) {
+            throw new IllegalArgumentException("A startup component called \"" + name + "\" has already been registered");
+        }
+
+        CompletableFuture<?>[] futures = new CompletableFuture[dependencies.length];
+        for (int i = 0; i < dependencies.length; i++) {
+            futures[i] = components.get(dependencies[i]);
+            if (futures[i] == null) {
+                throw new IllegalArgumentException(String.format(
+                    "The \"%s\" startup component depends on \"%s\", which has not been registered",
+                    name, dependencies[i]
+                ));
+            }
+        }
+
+        components.put(name, CompletableFuture.allOf(futures)
+            .thenApplyAsync(ignored -> load(name, loader), executor)
+        );
+
+        return this;
+    }
+
+    /**
+     * Waits for the component with the given name to finish loading.
+     *
+     * @param name The name of the component.
+     * @param <T>  The type of the component.
+     * @return The loaded component.
+     * @throws IllegalArgumentException If no component with the given name has been registered.
+     * @throws IllegalStateException    If the component, or one of its dependencies, failed to load.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T await(@Nonnull String name) {
+        CompletableFuture<Object> future = components.get(name);
+        if (future == null) {
+            throw new IllegalArgumentException("No startup component called \"" + name + "\" has been registered");
+        }
+
+        try {
+            return (T) future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the \"" + name + "\" startup component", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to load the \"" + name + "\" startup component", e.getCause());
+        }
+    }
+
+    /**
+     * Waits for all the registered components to finish loading, and shuts
+     * down the threads used to load the components afterwards.
+     *
+     * @throws IllegalStateException If any of the components failed to load.
+     */
+    public void awaitAll() {
+        try {
+            for (String name : components.keySet()) {
+                await(name);
+            }
+
+            log.info("Loaded {} startup components in {} ms", components.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)
+            );
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private Object load(String name, Callable<?> loader) {
+        long start = System.nanoTime();
+        try {
+            Object component = loader.call();
+
+            long duration = System.nanoTime() - start;
+            Metrics.startupDuration.labels(name).set(duration / 1_000_000_000D);
+            log.info("Loaded the \"{}\" startup component in {} ms", name, TimeUnit.NANOSECONDS.toMillis(duration));
+
+            return component;
+        } catch (Exception e) {
+            log.error("Failed to load the \"{}\" startup component: {}", name, e.getMessage(), e);
+            throw new CompletionException(e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.statistics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The member statistics for a single guild, the statistics are kept up to date
+ * as members join or leave the guild, and as roles are added to or removed from
+ * members, so reading any of the counts never requires going through the members.
+ * <p>
+ * The statistics keeps the role IDs of every member in the guild, so the roles
+ * of a member that leaves can be removed from the counts even if the member
+ * wasn't cached, which takes a lot less memory than caching the members.
+ * Every change sets or removes the whole state of a single member, so
+ * applying the same change more than once has no effect on the counts.
+ */
+public class GuildStatistics {
+
+    private final Map<Long, MemberState> memberStates = new HashMap<>();
+    private final AtomicInteger members = new AtomicInteger();
+    private final AtomicInteger bots = new AtomicInteger();
+    private final Map<Long, AtomicInteger> roles = new ConcurrentHashMap<>();
+    private final long builtAt = System.currentTimeMillis();
+
+    /**
+     * Gets the total amount of members in the guild.
+     *
+     * @return The total amount of members in the guild.
+     */
+    public int getMembers() {
+        return members.get();
+    }
+
+    /**
+     * Gets the amount of bots in the guild.
+     *
+     * @return The amount of bots in the guild.
+     */
+    public int getBots() {
+        return bots.get();
+    }
+
+    /**
+     * Gets the amount of members in the guild that are not bots.
+     *
+     * @return The amount of members in the guild that are not bots.
+     */
+    public int getHumans() {
+        return getMembers() - getBots();
+    }
+
+    /**
+     * Gets the amount of members that has the role with the given ID.
+     *
+     * @param roleId The ID of the role that should be counted.
+     * @return The amount of members with the given role.
+     */
+    public int getMembersWithRole(long roleId) {
+        AtomicInteger count = roles.get(roleId);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Gets the time the statistics was built at.
+     *
+     * @return The time in milliseconds the statistics was built at.
+     */
+    public long getBuiltAt() {
+        return builtAt;
+    }
+
+    synchronized void putMember(long userId, boolean isBot, long[] roleIds) {
+        MemberState previous = memberStates.put(userId, new MemberState(isBot, roleIds));
+        if (previous != null) {
+            forgetMember(previous);
+        }
+
+        members.incrementAndGet();
+        if (isBot) {
+            bots.incrementAndGet();
+        }
+        for (long roleId : roleIds) {
+            roles.computeIfAbsent(roleId, id -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+
+    synchronized void removeMember(long userId) {
+        MemberState previous = memberStates.remove(userId);
+        if (previous != null) {
+            forgetMember(previous);
+        }
+    }
+
+    synchronized void forgetRole(long roleId) {
+        roles.remove(roleId);
+    }
+
+    private void forgetMember(MemberState state) {
+        members.decrementAndGet();
+        if (state.isBot) {
+            bots.decrementAndGet();
+        }
+        for (long roleId : state.roleIds) {
+            AtomicInteger count = roles.get(roleId);
+            if (count != null) {
+                count.decrementAndGet();
+            }
+        }
+    }
+
+    private static final class MemberState {
+
+        private final boolean isBot;
+        private final long[] roleIds;
+
+        MemberState(boolean isBot, long[] roleIds) {
+            this.isBot = isBot;
+            this.roleIds = roleIds;
+        }
+    }
+}
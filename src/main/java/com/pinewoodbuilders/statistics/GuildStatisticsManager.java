@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.statistics;
+
+import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.ratelimit.SlidingWindowRateLimiter;
+import com.pinewoodbuilders.scheduler.ScheduleHandler;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Keeps track of the member statistics for each guild, the statistics are built
+ * when a guild becomes ready, through a queue that is drained under a rate limit,
+ * so booting the bot never has to load the members of every guild at once, and
+ * the statistics are then kept up to date from the member and role events.
+ * <p>
+ * Changes that happens while the statistics for a guild are being built are
+ * buffered, and replayed on top of the built statistics before they're used.
+ */
+public class GuildStatisticsManager {
+
+    /**
+     * The max age of the statistics for a guild before they're rebuilt.
+     */
+    static final long reconcileInterval = TimeUnit.HOURS.toMillis(6);
+
+    private static final Logger log = LoggerFactory.getLogger(GuildStatisticsManager.class);
+
+    /**
+     * The rate limiter for builds across all guilds, so a lot of guilds becoming
+     * ready at once doesn't load the members for all of them at once.
+     */
+    private static final SlidingWindowRateLimiter limiter = SlidingWindowRateLimiter.of(
+        "guild-statistics-rebuild", 10, 1, TimeUnit.MINUTES
+    );
+
+    private final Map<Long, GuildStatistics> statistics = new ConcurrentHashMap<>();
+    private final Map<Long, PendingBuild> pendingBuilds = new ConcurrentHashMap<>();
+    private final Set<Long> queuedGuilds = ConcurrentHashMap.newKeySet();
+    private final Queue<Long> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean pumpScheduled = new AtomicBoolean(false);
+    private final Xeus avaire;
+
+    /**
+     * Creates a new guild statistics manager.
+     *
+     * @param avaire The main Xeus application instance.
+     */
+    public GuildStatisticsManager(Xeus avaire) {
+        this.avaire = avaire;
+    }
+
+    /**
+     * Gets the member statistics for the given guild, if the statistics for the guild
+     * hasn't been built yet, a build is requested and <code>NULL</code> is returned,
+     * callers should treat that as the statistics being unavailable for now.
+     * <p>
+     * Statistics that are older than the {@link #reconcileInterval reconcile interval}
+     * are returned as-is while they're rebuilt.
+     *
+     * @param guild The guild the statistics should be returned for.
+     * @return The member statistics for the given guild, or <code>NULL</code>
+     * if the statistics hasn't been built yet.
+     */
+    @Nullable
+    public GuildStatistics getStatistics(@Nonnull Guild guild) {
+        GuildStatistics guildStatistics = statistics.get(guild.getIdLong());
+        if (guildStatistics == null || System.currentTimeMillis() - guildStatistics.getBuiltAt() > reconcileInterval) {
+            requestRebuild(guild);
+        }
+        return guildStatistics;
+    }
+
+    /**
+     * Requests the member statistics for the given guild to be built, the guild is
+     * queued and built once the rate limit allows for it, requests for guilds that
+     * are already queued or being built are ignored.
+     *
+     * @param guild The guild the statistics should be built for.
+     */
+    public void requestRebuild(@Nonnull Guild guild) {
+        long guildId = guild.getIdLong();
+        if (pendingBuilds.containsKey(guildId) || !queuedGuilds.add(guildId)) {
+            return;
+        }
+
+        queue.add(guildId);
+        pump();
+    }
+
+    /**
+     * Rebuilds the member statistics for the given guild right away by loading every
+     * member in the guild, the current statistics for the guild will be used until
+     * all the members has been loaded, and the changes made in the meantime has
+     * been applied to the new statistics.
+     *
+     * @param guild The guild the statistics should be rebuilt for.
+     */
+    public void rebuild(@Nonnull Guild guild) {
+        long guildId = guild.getIdLong();
+        PendingBuild pending = new PendingBuild(guildId);
+        if (pendingBuilds.putIfAbsent(guildId, pending) != null) {
+            return;
+        }
+
+        GuildStatistics guildStatistics = new GuildStatistics();
+        avaire.getMemberLoader().loadMembers(guild, member -> putMember(guildStatistics, member))
+            .whenComplete((ignored, throwable) -> {
+                if (throwable != null) {
+                    log.error("Failed to build the member statistics for {}, error: {}",
+                        guildId, throwable.getMessage(), throwable
+                    );
+                }
+
+                pending.complete(throwable == null ? guildStatistics : null);
+                pendingBuilds.remove(guildId, pending);
+            });
+    }
+
+    /**
+     * Forgets the member statistics for the given guild.
+     *
+     * @param guildId The ID of the guild the statistics should be forgotten for.
+     */
+    public void forget(long guildId) {
+        statistics.remove(guildId);
+        queuedGuilds.remove(guildId);
+    }
+
+    public void onMemberJoin(@Nonnull Member member) {
+        onMemberUpdate(member);
+    }
+
+    public void onMemberUpdate(@Nonnull Member member) {
+        long userId = member.getIdLong();
+        boolean isBot = member.getUser().isBot();
+        long[] roleIds = getRoleIds(member);
+
+        update(member.getGuild().getIdLong(), guildStatistics -> guildStatistics.putMember(userId, isBot, roleIds));
+    }
+
+    public void onMemberRemove(@Nonnull Guild guild, @Nonnull User user) {
+        long userId = user.getIdLong();
+
+        update(guild.getIdLong(), guildStatistics -> guildStatistics.removeMember(userId));
+    }
+
+    public void onRoleDelete(@Nonnull Role role) {
+        long roleId = role.getIdLong();
+
+        update(role.getGuild().getIdLong(), guildStatistics -> guildStatistics.forgetRole(roleId));
+    }
+
+    private void update(long guildId, Consumer<GuildStatistics> update) {
+        // Every update sets the whole state of a member, so an update that is both
+        // buffered and applied to the statistics a build just published is harmless.
+        PendingBuild pending = pendingBuilds.get(guildId);
+        if (pending != null) {
+            pending.buffer(update);
+        }
+
+        GuildStatistics guildStatistics = statistics.get(guildId);
+        if (guildStatistics != null) {
+            update.accept(guildStatistics);
+        }
+    }
+
+    private void pump() {
+        while (!queue.isEmpty()) {
+            if (limiter.isLimited(0)) {
+                if (pumpScheduled.compareAndSet(false, true)) {
+                    ScheduleHandler.getScheduler().schedule(() -> {
+                        pumpScheduled.set(false);
+                        pump();
+                    }, limiter.getMillisUntilNextWindow(), TimeUnit.MILLISECONDS);
+                }
+                return;
+            }
+
+            Long guildId = queue.poll();
+            if (guildId == null) {
+                return;
+            }
+
+            if (!queuedGuilds.remove(guildId) || avaire.getShardManager() == null) {
+                continue;
+            }
+
+            Guild guild = avaire.getShardManager().getGuildById(guildId);
+            if (guild != null) {
+                limiter.hit(0);
+                rebuild(guild);
+            }
+        }
+    }
+
+    private void putMember(GuildStatistics guildStatistics, Member member) {
+        guildStatistics.putMember(member.getIdLong(), member.getUser().isBot(), getRoleIds(member));
+    }
+
+    private long[] getRoleIds(Member member) {
+        List<Role> roles = member.getRoles();
+        long[] roleIds = new long[roles.size()];
+        for (int i = 0; i < roleIds.length; i++) {
+            roleIds[i] = roles.get(i).getIdLong();
+        }
+        return roleIds;
+    }
+
+    private class PendingBuild {
+
+        private final long guildId;
+        private final List<Consumer<GuildStatistics>> updates = new ArrayList<>();
+        private boolean completed = false;
+
+        PendingBuild(long guildId) {
+            this.guildId = guildId;
+        }
+
+        synchronized void buffer(Consumer<GuildStatistics> update) {
+            if (!completed) {
+                updates.add(update);
+            }
+        }
+
+        synchronized void complete(@Nullable GuildStatistics guildStatistics) {
+            if (guildStatistics != null) {
+                for (Consumer<GuildStatistics> update : updates) {
+                    update.accept(guildStatistics);
+                }
+                statistics.put(guildId, guildStatistics);
+            }
+
+            completed = true;
+            updates.clear();
+        }
+    }
+}
@@ -25,8 +25,14 @@ import com.pinewoodbuilders.exceptions.InvalidFormatException;
 
 import javax.annotation.Nonnull;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.WeekFields;
 import java.util.*;
 
 /**
@@ -37,6 +43,10 @@ import java.util.*;
  * Carbon works as a standalone utility that runs along side Xeus, it's used to help
  * format <code>DATETIME</code> and other date fields in the database, and gives
  * you a quick and easy way to interact with the dates and calendars.
+ * <p>
+ * Internally the date and time is stored as an immutable {@link ZonedDateTime}
+ * in the system default timezone, modifiers replace the stored value, and all
+ * parsing and formatting goes through cached thread-safe formatters.
  *
  * @author Alexis Tan
  * @version 0.9.1
@@ -48,7 +58,7 @@ public final class Carbon {
     private static final Day GLOBAL_WEEK_END_AT = Day.SUNDAY;
     private static final List<Day> WEEKEND_DAYS = Arrays.asList(Day.SATURDAY, Day.SUNDAY);
     private static String toStringFormat = Formats.DATE_TIME.getFormat();
-    private final Calendar time;
+    private ZonedDateTime time;
     private Day WEEK_START_AT;
     private Day WEEK_END_AT;
     private TimeZone timezone;
@@ -58,80 +68,40 @@ public final class Carbon {
      * this is the same as the {@link Carbon#now() static now()} method.
      */
     public Carbon() {
-        this.time = Calendar.getInstance(Locale.ENGLISH);
-
-        this.WEEK_START_AT = GLOBAL_WEEK_START_AT;
-        this.WEEK_END_AT = GLOBAL_WEEK_END_AT;
-
-        this.timezone = time.getTimeZone();
-
-        this.time.setFirstDayOfWeek(WEEK_START_AT.getId());
-        this.time.setTime(Calendar.getInstance(Locale.ENGLISH).getTime());
+        this(ZonedDateTime.now());
     }
 
     /**
      * Attempts to create a new Carbon instance from the given time string,
      * the string must be a valid date to be parsed correctly.
      * <p>
-     * The string will be parsed through the <code>SimpleDateFormat</code>'s parser.
+     * Database date time strings, <code>yyyy-MM-dd HH:mm:ss</code>, are parsed
+     * directly, any other string is matched against the {@link Formats}.
      *
      * @param time The date string to parse.
      * @throws InvalidFormatException if the date string given doesn't match any of the supported formats
-     * @see java.text.SimpleDateFormat
+     * @see Formats
      */
     public Carbon(String time) throws InvalidFormatException {
-        this.time = Calendar.getInstance(Locale.ENGLISH);
-
-        this.WEEK_START_AT = GLOBAL_WEEK_START_AT;
-        this.WEEK_END_AT = GLOBAL_WEEK_END_AT;
-
-        this.timezone = this.time.getTimeZone();
-
-        this.time.setFirstDayOfWeek(WEEK_START_AT.getId());
-
-        for (Formats supportedFormat : Formats.values()) {
-            try {
-                this.time.setTime(supportedFormat.parse(time));
-
-                return;
-            } catch (ParseException ignored) {
-            }
-        }
-
-        throw new InvalidFormatException("'%s' does not follow any of the supported time formats, failed to create Carbon instance.", time);
+        this(parseSupportedFormat(time));
     }
 
     /**
      * Attempts to create a new Carbon instance from the given time string,
      * the string must be a valid date to be parsed correctly.
      * <p>
-     * The string will be parsed through the <code>SimpleDateFormat</code>'s parser.
+     * Database date time strings, <code>yyyy-MM-dd HH:mm:ss</code>, are parsed
+     * directly, any other string is matched against the {@link Formats}.
      *
      * @param time     The date string to parse.
      * @param timezone The timezone to base the time output off
      * @throws InvalidFormatException if the date string given doesn't match any of the supported formats
-     * @see java.text.SimpleDateFormat
+     * @see Formats
      */
     public Carbon(String time, String timezone) throws InvalidFormatException {
-        this.time = Calendar.getInstance(Locale.ENGLISH);
-
-        this.WEEK_START_AT = GLOBAL_WEEK_START_AT;
-        this.WEEK_END_AT = GLOBAL_WEEK_END_AT;
+        this(parseSupportedFormat(time));
 
         this.timezone = TimeZone.getTimeZone(timezone);
-
-        this.time.setFirstDayOfWeek(WEEK_START_AT.getId());
-
-        for (Formats supportedFormat : Formats.values()) {
-            try {
-                this.time.setTime(supportedFormat.parse(time));
-
-                return;
-            } catch (ParseException ignored) {
-            }
-        }
-
-        throw new InvalidFormatException("'%s' does not follow any of the supported time formats, failed to creae Carbon instance.", time);
     }
 
     /**
@@ -140,34 +110,35 @@ public final class Carbon {
      * @param instance the carbon instance to copy
      */
     public Carbon(Carbon instance) {
-        this.time = Calendar.getInstance(Locale.ENGLISH);
+        this.time = instance.time;
 
         this.WEEK_START_AT = instance.WEEK_START_AT;
         this.WEEK_END_AT = instance.WEEK_END_AT;
 
-        this.timezone = instance.getTimezone();
-
-        this.time.setFirstDayOfWeek(WEEK_START_AT.getId());
-
-        this.time.setTime((Date) instance.getTime().getTime().clone());
+        this.timezone = instance.timezone;
     }
 
     /**
-     * Creates an new carbon instance from an internal method call from a date.
+     * Creates an new carbon instance from an internal method call from a zoned date time.
      *
-     * @param date The date to use to create the carbon instance
+     * @param time The zoned date time to use to create the carbon instance
      */
-    private Carbon(Date date) {
-        this.time = Calendar.getInstance(Locale.ENGLISH);
+    private Carbon(ZonedDateTime time) {
+        this.time = time;
 
         this.WEEK_START_AT = GLOBAL_WEEK_START_AT;
         this.WEEK_END_AT = GLOBAL_WEEK_END_AT;
+    }
 
-        this.timezone = time.getTimeZone();
-
-        this.time.setFirstDayOfWeek(WEEK_START_AT.getId());
-
-        this.time.setTime(date);
+    /**
+     * Creates a new Carbon instance from the provided zoned date time, the
+     * date and time will be converted to the system default timezone.
+     *
+     * @param zonedDateTime The zoned date time that the Carbon instance should be created from.
+     * @return a Carbon instance with the provided date and time.
+     */
+    public static Carbon createFromZonedDateTime(ZonedDateTime zonedDateTime) {
+        return new Carbon(zonedDateTime.withZoneSameInstant(ZoneId.systemDefault()));
     }
 
     /**
@@ -493,11 +464,7 @@ public final class Carbon {
      *                                  string format is invalid.
      */
     public static Carbon createFromFormat(String format, String time) throws ParseException {
-        SimpleDateFormat sdf = new SimpleDateFormat(format, Locale.ENGLISH);
-
-        Date date = sdf.parse(time);
-
-        return new Carbon(date);
+        return new Carbon(parseFormat(format, time));
     }
 
     /**
@@ -514,11 +481,7 @@ public final class Carbon {
      *                                  string format is invalid.
      */
     public static Carbon createFromFormat(String format, String time, String timezone) throws ParseException {
-        SimpleDateFormat sdf = new SimpleDateFormat(format, Locale.ENGLISH);
-
-        Date date = sdf.parse(time);
-
-        return new Carbon(date).setTimezone(timezone);
+        return new Carbon(parseFormat(format, time)).setTimezone(timezone);
     }
 
     /**
@@ -535,11 +498,7 @@ public final class Carbon {
      *                                  string format is invalid.
      */
     public static Carbon createFromFormat(String format, String time, TimeZone timezone) throws ParseException {
-        SimpleDateFormat sdf = new SimpleDateFormat(format, Locale.ENGLISH);
-
-        Date date = sdf.parse(time);
-
-        return new Carbon(date).setTimezone(timezone);
+        return new Carbon(parseFormat(format, time)).setTimezone(timezone);
     }
 
     /**
@@ -560,6 +519,58 @@ public final class Carbon {
         toStringFormat = Formats.DATE_TIME.getFormat();
     }
 
+    /**
+     * Parses the given time string using any of the supported formats.
+     *
+     * @param time The time string that should be parsed
+     * @return the parsed time in the system default timezone.
+     * @throws InvalidFormatException if the time string doesn't match any of the supported formats.
+     */
+    private static ZonedDateTime parseSupportedFormat(String time) throws InvalidFormatException {
+        ZonedDateTime parsed = CarbonFormatter.parse(time, ZoneId.systemDefault());
+        if (parsed == null) {
+            throw new InvalidFormatException("'%s' does not follow any of the supported time formats, failed to create Carbon instance.", time);
+        }
+        return parsed;
+    }
+
+    /**
+     * Parses the given time string using the given {@link java.text.SimpleDateFormat} string format.
+     *
+     * @param format The {@link java.text.SimpleDateFormat} to use
+     * @param time   The time string that should be parsed
+     * @return the parsed time in the system default timezone.
+     * @throws ParseException           if the provided time doesn't match the provided format.
+     * @throws IllegalArgumentException if the provided format is invalid.
+     */
+    private static ZonedDateTime parseFormat(String format, String time) throws ParseException {
+        ZonedDateTime parsed = CarbonFormatter.parse(CarbonFormatter.ofPattern(format), time, ZoneId.systemDefault());
+        if (parsed == null) {
+            throw new ParseException("Unparseable date: \"" + time + "\"", 0);
+        }
+        return parsed;
+    }
+
+    /**
+     * Converts the given {@link Calendar} day of the week into a {@link DayOfWeek}.
+     *
+     * @param day The {@link Calendar} day of the week, where Sunday is <code>1</code>.
+     * @return the matching day of the week.
+     */
+    private static DayOfWeek toDayOfWeek(int day) {
+        return DayOfWeek.of(Math.floorMod(day - 2, 7) + 1);
+    }
+
+    /**
+     * Converts the given {@link DayOfWeek} into a {@link Calendar} day of the week.
+     *
+     * @param day The day of the week to convert.
+     * @return the {@link Calendar} day of the week, where Sunday is <code>1</code>.
+     */
+    private static int toCalendarDay(DayOfWeek day) {
+        return day.getValue() % 7 + 1;
+    }
+
     /**
      * Parses the object and sets it to a timezone for the given Carbon instance
      * if the object given matches one of the valid timezone formats.
@@ -594,9 +605,34 @@ public final class Carbon {
      *                                        (<code>field &lt; 0 || field &gt;= FIELD_COUNT</code>).
      */
     public Carbon set(int field, int value) {
-        time.set(field, value);
-
-        return this;
+        LocalDateTime local = time.toLocalDateTime();
+
+        // Calendar fields are lenient, so values outside of the normal range
+        // rolls over into the next field, e.g. setting the 32nd day of
+        // January will give the 1st of February.
+        return switch (field) {
+            case Calendar.MILLISECOND -> setLocal(local.withNano(0).plus(value, ChronoUnit.MILLIS));
+            case Calendar.SECOND -> setLocal(local.withSecond(0).plusSeconds(value));
+            case Calendar.MINUTE -> setLocal(local.withMinute(0).plusMinutes(value));
+            case Calendar.HOUR_OF_DAY -> setLocal(local.withHour(0).plusHours(value));
+            case Calendar.DAY_OF_MONTH -> setLocal(local.withDayOfMonth(1).plusDays(value - 1));
+            case Calendar.DAY_OF_YEAR -> setLocal(local.withDayOfYear(1).plusDays(value - 1));
+            case Calendar.DAY_OF_WEEK -> setLocal(local.plusDays(
+                getDayOfWeekIndex(toDayOfWeek(value)) - getDayOfWeekIndex(local.getDayOfWeek())
+            ));
+            case Calendar.WEEK_OF_MONTH -> setLocal(local.plusWeeks(value - local.get(getWeekFields().weekOfMonth())));
+            case Calendar.WEEK_OF_YEAR -> setLocal(local.plusWeeks(value - local.get(getWeekFields().weekOfWeekBasedYear())));
+            case Calendar.MONTH -> setLocal(local.withDayOfMonth(1).withMonth(1)
+                .plusMonths(value).plusDays(local.getDayOfMonth() - 1));
+            case Calendar.YEAR -> setLocal(local.withDayOfMonth(1).withYear(value)
+                .plusDays(local.getDayOfMonth() - 1));
+            default -> {
+                Calendar calendar = getTime();
+                calendar.set(field, value);
+
+                yield setCalendar(calendar);
+            }
+        };
     }
 
     /**
@@ -614,7 +650,20 @@ public final class Carbon {
      *                                        (<code>field &lt; 0 || field &gt;= FIELD_COUNT</code>).
      */
     public int get(int field) {
-        return time.get(field);
+        return switch (field) {
+            case Calendar.MILLISECOND -> time.getNano() / 1_000_000;
+            case Calendar.SECOND -> time.getSecond();
+            case Calendar.MINUTE -> time.getMinute();
+            case Calendar.HOUR_OF_DAY -> time.getHour();
+            case Calendar.DAY_OF_MONTH -> time.getDayOfMonth();
+            case Calendar.DAY_OF_YEAR -> time.getDayOfYear();
+            case Calendar.DAY_OF_WEEK -> toCalendarDay(time.getDayOfWeek());
+            case Calendar.WEEK_OF_MONTH -> time.get(getWeekFields().weekOfMonth());
+            case Calendar.WEEK_OF_YEAR -> time.get(getWeekFields().weekOfWeekBasedYear());
+            case Calendar.MONTH -> time.getMonthValue() - 1;
+            case Calendar.YEAR -> time.getYear();
+            default -> getTime().get(field);
+        };
     }
 
     /**
@@ -846,7 +895,7 @@ public final class Carbon {
      * @return the numeric value of how many days there are in the current month.
      */
     public int getDaysInMonth() {
-        return time.getActualMaximum(Calendar.DAY_OF_MONTH);
+        return time.toLocalDate().lengthOfMonth();
     }
 
     /**
@@ -855,7 +904,16 @@ public final class Carbon {
      * @return the current time since epoch in seconds.
      */
     public long getTimestamp() {
-        return time.getTimeInMillis() / 1000;
+        return getTimestampInMillis() / 1000;
+    }
+
+    /**
+     * Gets the unix timestamp in milliseconds.
+     *
+     * @return the unix timestamp in milliseconds
+     */
+    public long getTimestampInMillis() {
+        return time.toInstant().toEpochMilli();
     }
 
     /**
@@ -865,7 +923,7 @@ public final class Carbon {
      * @return the Carbon instance with the new date and time.
      */
     public Carbon setTimestamp(long timestamp) {
-        time.setTime(new Date(timestamp * 1000));
+        time = Instant.ofEpochMilli(timestamp * 1000).atZone(time.getZone());
 
         return this;
     }
@@ -895,11 +953,26 @@ public final class Carbon {
     }
 
     /**
-     * Gets the calendar object used by carbon.
+     * Creates a calendar object with the same date and time as carbon, changes
+     * made to the calendar are not reflected back to the Carbon instance.
      *
-     * @return the calendar object used by carbon
+     * @return a calendar object with the same date and time as carbon
      */
     public Calendar getTime() {
+        Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone(time.getZone()), Locale.ENGLISH);
+        calendar.setFirstDayOfWeek(WEEK_START_AT.getId());
+        calendar.setTimeInMillis(getTimestampInMillis());
+
+        return calendar;
+    }
+
+    /**
+     * Gets the immutable zoned date time used by carbon, the
+     * date time is always in the system default timezone.
+     *
+     * @return the zoned date time used by carbon
+     */
+    public ZonedDateTime getDateTime() {
         return time;
     }
 
@@ -909,7 +982,7 @@ public final class Carbon {
      * @return the current timezone used to format the datetime outputs.
      */
     public TimeZone getTimezone() {
-        return timezone;
+        return timezone == null ? TimeZone.getTimeZone(time.getZone()) : timezone;
     }
 
     /**
@@ -1021,9 +1094,7 @@ public final class Carbon {
      * @return the Carbon instance.
      */
     public Carbon add(int field, int amount) {
-        time.add(field, getPositive(amount));
-
-        return this;
+        return plus(field, getPositive(amount));
     }
 
     /**
@@ -1038,11 +1109,49 @@ public final class Carbon {
      * @return the Carbon instance.
      */
     public Carbon sub(int field, int amount) {
-        time.add(field, getNegative(amount));
+        return plus(field, getNegative(amount));
+    }
+
+    private Carbon plus(int field, int amount) {
+        switch (field) {
+            case Calendar.MILLISECOND -> time = time.plus(amount, ChronoUnit.MILLIS);
+            case Calendar.SECOND -> time = time.plusSeconds(amount);
+            case Calendar.MINUTE -> time = time.plusMinutes(amount);
+            case Calendar.HOUR, Calendar.HOUR_OF_DAY -> time = time.plusHours(amount);
+            case Calendar.DAY_OF_MONTH, Calendar.DAY_OF_YEAR, Calendar.DAY_OF_WEEK -> time = time.plusDays(amount);
+            case Calendar.WEEK_OF_MONTH, Calendar.WEEK_OF_YEAR -> time = time.plusWeeks(amount);
+            case Calendar.MONTH -> time = time.plusMonths(amount);
+            case Calendar.YEAR -> time = time.plusYears(amount);
+            default -> {
+                Calendar calendar = getTime();
+                calendar.add(field, amount);
+
+                return setCalendar(calendar);
+            }
+        }
+        return this;
+    }
+
+    private Carbon setLocal(LocalDateTime local) {
+        time = ZonedDateTime.ofLocal(local, time.getZone(), time.getOffset());
 
         return this;
     }
 
+    private Carbon setCalendar(Calendar calendar) {
+        time = ZonedDateTime.ofInstant(calendar.toInstant(), time.getZone());
+
+        return this;
+    }
+
+    private WeekFields getWeekFields() {
+        return WeekFields.of(toDayOfWeek(WEEK_START_AT.getId()), 1);
+    }
+
+    private int getDayOfWeekIndex(DayOfWeek day) {
+        return Math.floorMod(day.getValue() - toDayOfWeek(WEEK_START_AT.getId()).getValue(), 7);
+    }
+
     ///////////////////////////////////////////////////////////////////
     /////////////////// ADDITIONS AND SUBTRACTIONS ////////////////////
     ///////////////////////////////////////////////////////////////////
@@ -1364,7 +1473,7 @@ public final class Carbon {
      * or (2) <code>FALSE</code> if it isn't greater than the provided instance.
      */
     public boolean gt(Carbon value) {
-        return time.after(value.getTime());
+        return time.isAfter(value.time);
     }
 
     /**
@@ -1388,7 +1497,7 @@ public final class Carbon {
      * or (2) <code>FALSE</code> if it isn't less than the provided instance.
      */
     public boolean lt(Carbon value) {
-        return time.before(value.getTime());
+        return time.isBefore(value.time);
     }
 
     /**
@@ -1429,8 +1538,8 @@ public final class Carbon {
     public boolean between(Carbon first, Carbon second, boolean matchEqual) {
         return matchEqual
             && (eq(first) || eq(second))
-            || (time.before(first.getTime()) && time.after(second.getTime()))
-            || (time.before(second.getTime()) && time.after(first.getTime()));
+            || (time.isBefore(first.time) && time.isAfter(second.time))
+            || (time.isBefore(second.time) && time.isAfter(first.time));
 
     }
 
@@ -1481,7 +1590,7 @@ public final class Carbon {
      * or (2) <code>FALSE</code> if it's set to the present or future.
      */
     public boolean isPast() {
-        return Calendar.getInstance(Locale.ENGLISH).getTimeInMillis() > time.getTimeInMillis();
+        return System.currentTimeMillis() > getTimestampInMillis();
     }
 
     /**
@@ -1521,9 +1630,7 @@ public final class Carbon {
      * @see Day#FRIDAY
      */
     public boolean isWeekend() {
-        int currentDay = getDay();
-
-        return WEEKEND_DAYS.stream().anyMatch((day) -> (day.getId() == currentDay));
+        return WEEKEND_DAYS.contains(getDayOfWeek());
     }
 
     /**
@@ -1532,7 +1639,7 @@ public final class Carbon {
      * @return <code>TRUE</code> if the year is a leap year, <code>FALSE</code> otherwise.
      */
     public boolean isLeapYear() {
-        return time.getActualMaximum(Calendar.DAY_OF_YEAR) > 365;
+        return time.toLocalDate().isLeapYear();
     }
 
     /**
@@ -1562,7 +1669,7 @@ public final class Carbon {
      */
     public long diffInSeconds() {
         long current = System.currentTimeMillis();
-        long unixTime = time.getTimeInMillis();
+        long unixTime = getTimestampInMillis();
 
         long value = (current - unixTime) / 1000;
 
@@ -1576,8 +1683,8 @@ public final class Carbon {
      * @return the difference between now and the carbon instance in seconds
      */
     public long diffInSeconds(Carbon other) {
-        long current = other.getTime().getTimeInMillis();
-        long unixTime = time.getTimeInMillis();
+        long current = other.getTimestampInMillis();
+        long unixTime = getTimestampInMillis();
 
         long value = (current - unixTime) / 1000;
 
@@ -1668,7 +1775,7 @@ public final class Carbon {
     public long diffInMonths() {
         Carbon now = new Carbon();
 
-        return getPositive((getYear() - now.getYear()) * 12 + time.get(Calendar.MONTH) - now.getTime().get(Calendar.MONTH));
+        return getPositive((getYear() - now.getYear()) * 12 + getMonth() - now.getMonth());
     }
 
     /**
@@ -1678,7 +1785,7 @@ public final class Carbon {
      * @return the difference between now and the carbon instance in months.
      */
     public long diffInMonths(Carbon other) {
-        return getPositive((getYear() - other.getYear()) * 12 + time.get(Calendar.MONTH) - other.getTime().get(Calendar.MONTH));
+        return getPositive((getYear() - other.getYear()) * 12 + getMonth() - other.getMonth());
     }
 
     /**
@@ -1766,7 +1873,7 @@ public final class Carbon {
         StringBuilder builder = parseDiffForHumans(unix);
 
         if (!removeModifiers) {
-            if (other.time.getTimeInMillis() > time.getTimeInMillis()) {
+            if (other.time.isAfter(time)) {
                 builder.append(" after");
             } else {
                 builder.append(" before");
@@ -1894,7 +2001,7 @@ public final class Carbon {
      * @return the Carbon instance
      */
     public Carbon endOfWeek() {
-        return setDay(WEEK_END_AT.getId()).endOfDay();
+        return setDayOfWeek(WEEK_END_AT).endOfDay();
     }
 
     /**
@@ -1912,9 +2019,7 @@ public final class Carbon {
      * @return the Carbon instance
      */
     public Carbon endOfMonth() {
-        Calendar cal = new GregorianCalendar(getYear(), getMonth(), getDay());
-
-        return setDay(cal.getActualMaximum(Calendar.DAY_OF_MONTH)).endOfDay();
+        return setDay(getDaysInMonth()).endOfDay();
     }
 
     /**
@@ -1940,6 +2045,9 @@ public final class Carbon {
     ///////////////////////////////////////////////////////////////////
     @Override
     public String toString() {
+        if (Formats.DATE_TIME.getFormat().equals(toStringFormat)) {
+            return toDateTimeString();
+        }
         return format(toStringFormat);
     }
 
@@ -1995,7 +2103,7 @@ public final class Carbon {
      * @return The generated date time string
      */
     public String toDateTimeString() {
-        return format(Formats.DATE_TIME);
+        return CarbonFormatter.formatDateTime(getFormatTime());
     }
 
     /**
@@ -2115,13 +2223,7 @@ public final class Carbon {
      * @return the formatted datetime string
      */
     public String format(String format) {
-        SimpleDateFormat sdf = new SimpleDateFormat(format, Locale.ENGLISH);
-
-        if (timezone != null) {
-            sdf.setTimeZone(timezone);
-        }
-
-        return sdf.format(time.getTime());
+        return CarbonFormatter.ofPattern(format).format(getFormatTime());
     }
 
     /**
@@ -2131,7 +2233,19 @@ public final class Carbon {
      * @return the formatted datetime string
      */
     public String format(Formats format) {
-        return format(format.getFormat());
+        if (format == Formats.DATE_TIME) {
+            return toDateTimeString();
+        }
+        return format.getFormatter().format(getFormatTime());
+    }
+
+    /**
+     * Gets the date time in the timezone that should be used for the datetime outputs.
+     *
+     * @return the date time in the output timezone.
+     */
+    private ZonedDateTime getFormatTime() {
+        return timezone == null ? time : time.withZoneSameInstant(timezone.toZoneId());
     }
 
     /**
@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.time;
+
+import javax.annotation.Nullable;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parsing and formatting helpers used by {@link Carbon}, all the formatters
+ * created here are immutable and thread-safe, so they're compiled once per
+ * pattern and shared between every Carbon instance.
+ * <p>
+ * Patterns are written using the {@link java.text.SimpleDateFormat} syntax
+ * that Carbon has always accepted, and are translated into their
+ * {@link DateTimeFormatter} equivalent when they're compiled.
+ */
+final class CarbonFormatter {
+
+    /**
+     * The date used for parsed strings that doesn't contain any date
+     * information, this matches the {@link java.text.SimpleDateFormat} default.
+     */
+    private static final LocalDate DEFAULT_DATE = LocalDate.of(1970, 1, 1);
+
+    private static final Map<String, DateTimeFormatter> formatters = new ConcurrentHashMap<>();
+
+    private CarbonFormatter() {
+        // This class should never be instantiated.
+    }
+
+    /**
+     * Gets the compiled formatter for the given {@link java.text.SimpleDateFormat}
+     * pattern, the pattern will be compiled and cached the first time it is used.
+     *
+     * @param pattern The {@link java.text.SimpleDateFormat} pattern.
+     * @return the compiled formatter for the given pattern.
+     * @throws IllegalArgumentException if the pattern is invalid.
+     */
+    static DateTimeFormatter ofPattern(String pattern) {
+        DateTimeFormatter formatter = formatters.get(pattern);
+        if (formatter != null) {
+            return formatter;
+        }
+        return formatters.computeIfAbsent(pattern, CarbonFormatter::compile);
+    }
+
+    /**
+     * Compiles the given {@link java.text.SimpleDateFormat} pattern into a
+     * {@link DateTimeFormatter} that parses case-insensitively.
+     *
+     * @param pattern The {@link java.text.SimpleDateFormat} pattern.
+     * @return the compiled formatter for the given pattern.
+     * @throws IllegalArgumentException if the pattern is invalid.
+     */
+    static DateTimeFormatter compile(String pattern) {
+        DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder().parseCaseInsensitive();
+
+        int length = pattern.length();
+        for (int i = 0; i < length; ) {
+            char character = pattern.charAt(i);
+
+            if (character == '\'') {
+                int end = i + 1;
+                StringBuilder literal = new StringBuilder();
+                while (end < length) {
+                    if (pattern.charAt(end) == '\'') {
+                        if (end + 1 < length && pattern.charAt(end + 1) == '\'') {
+                            literal.append('\'');
+                            end += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    literal.append(pattern.charAt(end++));
+                }
+
+                if (end >= length) {
+                    throw new IllegalArgumentException("Unterminated quote in pattern: " + pattern);
+                }
+
+                builder.appendLiteral(end == i + 1 ? "'" : literal.toString());
+                i = end + 1;
+                continue;
+            }
+
+            if (!isLetter(character)) {
+                builder.appendLiteral(character);
+                i++;
+                continue;
+            }
+
+            int count = 1;
+            while (i + count < length && pattern.charAt(i + count) == character) {
+                count++;
+            }
+            appendField(builder, character, count);
+            i += count;
+        }
+
+        return builder.toFormatter(Locale.ENGLISH);
+    }
+
+    /**
+     * Attempts to parse the given time string using the database date time
+     * format, <code>yyyy-MM-dd HH:mm:ss</code>, without going through any
+     * formatter, any text following the seconds field is ignored.
+     *
+     * @param text The time string that should be parsed.
+     * @return either (1) the parsed date time, or (2) <code>NULL</code> if the
+     * string doesn't follow the database date time format.
+     */
+    @Nullable
+    static LocalDateTime parseDateTime(CharSequence text) {
+        if (text.length() < 19
+            || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != ' '
+            || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            return null;
+        }
+
+        if (text.length() > 19 && isDigit(text.charAt(19))) {
+            return null;
+        }
+
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        int hour = digits(text, 11, 2);
+        int minute = digits(text, 14, 2);
+        int second = digits(text, 17, 2);
+
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+            || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return null;
+        }
+
+        return LocalDateTime.of(year, month, day, hour, minute, second);
+    }
+
+    /**
+     * Formats the given date time using the database date time
+     * format, <code>yyyy-MM-dd HH:mm:ss</code>, without going
+     * through any formatter.
+     *
+     * @param time The date time that should be formatted.
+     * @return the formatted date time string.
+     */
+    static String formatDateTime(ZonedDateTime time) {
+        int year = time.getYear();
+        if (year < 0 || year > 9999) {
+            return Formats.DATE_TIME.getFormatter().format(time);
+        }
+
+        char[] chars = new char[19];
+        writeDigits(chars, 0, year, 4);
+        chars[4] = '-';
+        writeDigits(chars, 5, time.getMonthValue(), 2);
+        chars[7] = '-';
+        writeDigits(chars, 8, time.getDayOfMonth(), 2);
+        chars[10] = ' ';
+        writeDigits(chars, 11, time.getHour(), 2);
+        chars[13] = ':';
+        writeDigits(chars, 14, time.getMinute(), 2);
+        chars[16] = ':';
+        writeDigits(chars, 17, time.getSecond(), 2);
+
+        return new String(chars);
+    }
+
+    /**
+     * Attempts to parse the given time string using every supported format, the
+     * database date time format is attempted first without using a formatter,
+     * followed by the {@link Formats} in their declared order.
+     *
+     * @param text The time string that should be parsed.
+     * @param zone The zone the parsed time should be in.
+     * @return either (1) the parsed date time, or (2) <code>NULL</code> if the
+     * string doesn't follow any of the supported formats.
+     */
+    @Nullable
+    static ZonedDateTime parse(String text, ZoneId zone) {
+        LocalDateTime dateTime = parseDateTime(text);
+        if (dateTime != null) {
+            return dateTime.atZone(zone);
+        }
+
+        for (Formats format : Formats.values()) {
+            ZonedDateTime time = parse(format.getFormatter(), text, zone);
+            if (time != null) {
+                return time;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Attempts to parse the given time string using the given formatter, like
+     * {@link java.text.SimpleDateFormat#parse(String)} any trailing text that
+     * doesn't belong to the format is ignored.
+     *
+     * @param formatter The formatter that should be used to parse the string.
+     * @param text      The time string that should be parsed.
+     * @param zone      The zone the parsed time should be in.
+     * @return either (1) the parsed date time, or (2) <code>NULL</code> if the
+     * string doesn't match the formatter.
+     */
+    @Nullable
+    static ZonedDateTime parse(DateTimeFormatter formatter, String text, ZoneId zone) {
+        // Runs the cheap unresolved parse first since it reports mismatches
+        // through the parse position instead of throwing an exception.
+        ParsePosition position = new ParsePosition(0);
+        if (formatter.parseUnresolved(text, position) == null || position.getErrorIndex() >= 0) {
+            return null;
+        }
+
+        try {
+            return resolve(formatter.parse(text, new ParsePosition(0)), zone);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static ZonedDateTime resolve(TemporalAccessor parsed, ZoneId zone) {
+        LocalDate date = parsed.query(TemporalQueries.localDate());
+        LocalTime time = parsed.query(TemporalQueries.localTime());
+
+        LocalDateTime dateTime = LocalDateTime.of(
+            date == null ? DEFAULT_DATE : date,
+            time == null ? LocalTime.MIDNIGHT : time
+        );
+
+        ZoneId parsedZone = parsed.query(TemporalQueries.zone());
+        if (parsedZone == null) {
+            return dateTime.atZone(zone);
+        }
+        return dateTime.atZone(parsedZone).withZoneSameInstant(zone);
+    }
+
+    private static void appendField(DateTimeFormatterBuilder builder, char letter, int count) {
+        switch (letter) {
+            case 'y':
+                // SimpleDateFormat years are proleptic, which is "u" for java.time.
+                builder.appendPattern(count == 2 ? "uu" : "u".repeat(count));
+                break;
+
+            case 'u':
+                builder.appendValue(ChronoField.DAY_OF_WEEK, count);
+                break;
+
+            case 'E':
+                builder.appendPattern("E".repeat(Math.min(count, 4)));
+                break;
+
+            case 'a':
+                builder.appendPattern("a");
+                break;
+
+            case 'z':
+                builder.appendPattern(count >= 4 ? "zzzz" : "z".repeat(count));
+                break;
+
+            default:
+                builder.appendPattern(String.valueOf(letter).repeat(count));
+        }
+    }
+
+    private static boolean isLetter(char character) {
+        return (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z');
+    }
+
+    private static boolean isDigit(char character) {
+        return character >= '0' && character <= '9';
+    }
+
+    private static int digits(CharSequence text, int offset, int length) {
+        int value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            char character = text.charAt(i);
+            if (!isDigit(character)) {
+                return -1;
+            }
+            value = value * 10 + (character - '0');
+        }
+        return value;
+    }
+
+    private static void writeDigits(char[] chars, int offset, int value, int length) {
+        for (int i = offset + length - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+
+            default:
+                return 31;
+        }
+    }
+}
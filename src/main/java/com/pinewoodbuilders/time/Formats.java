@@ -23,6 +23,9 @@ package com.pinewoodbuilders.time;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Date;
 import java.util.Locale;
 
@@ -96,9 +99,11 @@ public enum Formats {
     RSS("EEE, dd MMM yyyy HH:mm:ss Z");
 
     private final String string;
+    private final DateTimeFormatter formatter;
 
     Formats(String string) {
         this.string = string;
+        this.formatter = CarbonFormatter.compile(string);
     }
 
     /**
@@ -110,6 +115,16 @@ public enum Formats {
         return string;
     }
 
+    /**
+     * Gets the compiled {@link java.time.format.DateTimeFormatter} for the format,
+     * the formatter is immutable and can safely be shared between threads.
+     *
+     * @return the compiled {@link java.time.format.DateTimeFormatter} for the format.
+     */
+    public DateTimeFormatter getFormatter() {
+        return formatter;
+    }
+
     /**
      * Creates a {@link java.text.SimpleDateFormat} object from the format string.
      *
@@ -127,7 +142,11 @@ public enum Formats {
      * @throws ParseException if the provided time doesn't match the provided format.
      */
     public Date parse(String time) throws ParseException {
-        return make().parse(time);
+        ZonedDateTime parsed = CarbonFormatter.parse(formatter, time, ZoneId.systemDefault());
+        if (parsed == null) {
+            throw new ParseException("Unparseable date: \"" + time + "\"", 0);
+        }
+        return Date.from(parsed.toInstant());
     }
 
     @Override
@@ -28,6 +28,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.function.Consumer;
 
@@ -35,6 +36,42 @@ public class AutoloaderUtil {
 
     private static final Logger log = LoggerFactory.getLogger(AutoloaderUtil.class);
 
+    /**
+     * The name of the autoloader index class, the index is generated at
+     * compile time by the autoloader index annotation processor.
+     */
+    private static final String INDEX_CLASS = "com.pinewoodbuilders.utilities.GeneratedAutoloaderIndex";
+
+    /**
+     * The classes listed in the autoloader index, or <code>NULL</code>
+     * if the application was compiled without the index.
+     */
+    private static final Class<?>[] indexedTypes;
+
+    /**
+     * The root package covered by the autoloader index, packages outside
+     * of the root package, like the ones used by plugins, will
+     * be scanned for classes instead.
+     */
+    private static final String indexedPackage;
+
+    static {
+        Class<?>[] types = null;
+        String rootPackage = null;
+
+        try {
+            Class<?> index = Class.forName(INDEX_CLASS);
+
+            types = (Class<?>[]) index.getMethod("getTypes").invoke(null);
+            rootPackage = (String) index.getField("ROOT_PACKAGE").get(null);
+        } catch (ReflectiveOperationException e) {
+            log.warn("Failed to find the autoloader index, falling back to scanning the classpath for autoloaded classes");
+        }
+
+        indexedTypes = types;
+        indexedPackage = rootPackage;
+    }
+
     /**
      * Loads all the classes in the given package path that implements the
      * {@link Reflectional reflectional interface}, all classes found
@@ -67,7 +104,7 @@ public class AutoloaderUtil {
      *                            to the loaded class constructor.
      */
     public static void load(String path, Consumer<Reflectional> callback, boolean parseAvaIreInstance) {
-        Set<Class<? extends Reflectional>> types = new Reflections(path).getSubTypesOf(Reflectional.class);
+        Set<Class<? extends Reflectional>> types = getTypes(path);
 
         for (Class<? extends Reflectional> reflectionClass : types) {
             if (reflectionClass.getPackage().getName().contains("contracts")) {
@@ -91,4 +128,42 @@ public class AutoloaderUtil {
             }
         }
     }
+
+    /**
+     * Gets all the classes in the given package path that implements the
+     * {@link Reflectional reflectional interface}, the classes are looked up
+     * in the autoloader index if the package is covered by the index,
+     * otherwise the classpath will be scanned for the classes.
+     *
+     * @param path The package path the classes should be found in.
+     * @return The classes in the given package path that implements the reflectional interface.
+     */
+    static Set<Class<? extends Reflectional>> getTypes(String path) {
+        if (indexedTypes == null || !isSubPackage(path, indexedPackage)) {
+            return scan(path);
+        }
+
+        Set<Class<? extends Reflectional>> types = new LinkedHashSet<>();
+        for (Class<?> type : indexedTypes) {
+            if (isSubPackage(type.getPackage().getName(), path)) {
+                types.add(type.asSubclass(Reflectional.class));
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Scans the classpath for all the classes in the given package
+     * path that implements the {@link Reflectional reflectional interface}.
+     *
+     * @param path The package path that should be scanned.
+     * @return The classes in the given package path that implements the reflectional interface.
+     */
+    static Set<Class<? extends Reflectional>> scan(String path) {
+        return new Reflections(path).getSubTypesOf(Reflectional.class);
+    }
+
+    private static boolean isSubPackage(String packageName, String parent) {
+        return packageName.equals(parent) || packageName.startsWith(parent + ".");
+    }
 }
@@ -3,20 +3,26 @@ package com.pinewoodbuilders.utilities;
 import net.dv8tion.jda.api.events.Event;
 import net.dv8tion.jda.api.events.GenericEvent;
 import net.dv8tion.jda.api.events.ShutdownEvent;
+import net.dv8tion.jda.api.events.interaction.GenericInteractionCreateEvent;
+import net.dv8tion.jda.api.events.message.GenericMessageEvent;
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.events.message.react.GenericMessageReactionEvent;
 import net.dv8tion.jda.api.hooks.EventListener;
 import net.dv8tion.jda.api.hooks.SubscribeEvent;
 import net.dv8tion.jda.internal.utils.Checks;
 
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * <p>The EventWaiter is capable of handling specialized forms of
@@ -32,6 +38,11 @@ import java.util.stream.Stream;
  * {@code ScheduledExecutorService} and a choice of how exactly shutdown will be handled
  * (see {@link EventWaiter#EventWaiter(ScheduledExecutorService, boolean)} for more details).
  *
+ * <p>Waiting events are stored in a concurrent registry indexed by their event type, and where the
+ * waiter declares them, by the channel or user ID the event must come from, so a fired event only
+ * has to test the conditions of the waiters that could actually match it. Timeouts are kept in a
+ * shared {@link TimingWheel} ticked by the threadpool, rather than one scheduled task per waiter.
+ *
  * <p>As a final note, if you intend to use the EventWaiter, it is highly recommended you <b>DO NOT</b>
  * create multiple EventWaiters! Doing this will cause unnecessary increases in memory usage.
  *
@@ -39,9 +50,14 @@ import java.util.stream.Stream;
  */
 public class EventWaiter implements EventListener
 {
-    private final HashMap<Class<?>, Set<WaitingEvent>> waitingEvents;
+    private final Map<Class<?>, Registry> waitingEvents;
     private final ScheduledExecutorService threadpool;
     private final boolean shutdownAutomatically;
+    private final TimingWheel timeouts;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder dispatchedEvents = new LongAdder();
+    private final LongAdder evaluatedConditions = new LongAdder();
 
     /**
      * Constructs an empty EventWaiter.
@@ -92,7 +108,7 @@ public class EventWaiter implements EventListener
         Checks.notNull(threadpool, "ScheduledExecutorService");
         Checks.check(!threadpool.isShutdown(), "Cannot construct EventWaiter with a closed ScheduledExecutorService!");
 
-        this.waitingEvents = new HashMap<>();
+        this.waitingEvents = new ConcurrentHashMap<>();
         this.threadpool = threadpool;
 
         // "Why is there no default constructor?"
@@ -107,6 +123,10 @@ public class EventWaiter implements EventListener
         //
         // NOT MINE
         this.shutdownAutomatically = shutdownAutomatically;
+
+        // Waiter timeouts are mostly measured in seconds or minutes, so a 100ms tick keeps them
+        // accurate enough, while a full turn of the wheel still covers close to a minute.
+        this.timeouts = new TimingWheel(100, TimeUnit.MILLISECONDS, 512);
     }
 
     /**
@@ -145,7 +165,7 @@ public class EventWaiter implements EventListener
      */
     public <T extends Event> void waitForEvent(Class<T> classType, Predicate<T> condition, Consumer<T> action)
     {
-        waitForEvent(classType, condition, action, -1, null, null);
+        waitForEvent(classType, 0, 0, condition, action, -1, null, null);
     }
 
     /**
@@ -186,21 +206,67 @@ public class EventWaiter implements EventListener
      */
     public <T extends Event> void waitForEvent(Class<T> classType, Predicate<T> condition, Consumer<T> action,
                                                long timeout, TimeUnit unit, Runnable timeoutAction)
+    {
+        waitForEvent(classType, 0, 0, condition, action, timeout, unit, timeoutAction);
+    }
+
+    /**
+     * Waits a predetermined amount of time for an {@link net.dv8tion.jda.api.events.Event Event} fired in
+     * the given channel and/or by the given user, that returns {@code true} when tested with the provided
+     * {@link java.util.function.Predicate Predicate}.
+     *
+     * <p>Declaring the channel or user lets the waiter skip the condition entirely for events from other
+     * channels or users, the IDs are read from message, reaction, and interaction events, events of any
+     * other type, or events where the ID is unknown, never match a waiter that declares that ID.
+     *
+     * @param  <T>
+     *         The type of Event to wait for.
+     * @param  classType
+     *         The {@link java.lang.Class} of the Event to wait for. Never null.
+     * @param  channelId
+     *         The ID of the channel the Event must be fired in, or {@code 0} for any channel.
+     * @param  userId
+     *         The ID of the user the Event must be fired by, or {@code 0} for any user.
+     * @param  condition
+     *         The Predicate to test when Events of the provided type are thrown. Never null.
+     * @param  action
+     *         The Consumer to perform an action when the condition Predicate returns {@code true}. Never null.
+     * @param  timeout
+     *         The maximum amount of time to wait for, or {@code -1} if there is no timeout.
+     * @param  unit
+     *         The {@link java.util.concurrent.TimeUnit TimeUnit} measurement of the timeout, or
+     *         {@code null} if there is no timeout.
+     * @param  timeoutAction
+     *         The Runnable to run if the time runs out before a correct Event is thrown, or
+     *         {@code null} if there is no action on timeout.
+     *
+     * @throws IllegalArgumentException
+     *         One of two reasons:
+     *         <ul>
+     *             <li>1) Either the {@code classType}, {@code condition}, or {@code action} was {@code null}.</li>
+     *             <li>2) The internal threadpool is shut down, meaning that no more tasks can be submitted.</li>
+     *         </ul>
+     */
+    public <T extends Event> void waitForEvent(Class<T> classType, long channelId, long userId,
+                                               Predicate<T> condition, Consumer<T> action,
+                                               long timeout, TimeUnit unit, Runnable timeoutAction)
     {
         Checks.check(!isShutdown(), "Attempted to register a WaitingEvent while the EventWaiter's threadpool was already shut down!");
         Checks.notNull(classType, "The provided class type");
         Checks.notNull(condition, "The provided condition predicate");
         Checks.notNull(action, "The provided action consumer");
 
-        WaitingEvent we = new WaitingEvent<>(condition, action);
-        Set<WaitingEvent> set = waitingEvents.computeIfAbsent(classType, c -> new HashSet<>());
-        set.add(we);
+        Registry registry = waitingEvents.computeIfAbsent(classType, c -> new Registry());
+        WaitingEvent<T> we = new WaitingEvent<>(registry, channelId, userId, condition, action);
+        registry.add(we);
+        active.incrementAndGet();
 
         if(timeout > 0 && unit != null)
         {
-            threadpool.schedule(() ->
+            timeouts.start(threadpool);
+            we.timeout = timeouts.schedule(() ->
             {
-                if(set.remove(we) && timeoutAction != null)
+                if(we.finish() && timeoutAction != null)
                     timeoutAction.run();
             }, timeout, unit);
         }
@@ -211,30 +277,42 @@ public class EventWaiter implements EventListener
     @SuppressWarnings("unchecked")
     public final void onEvent(GenericEvent event)
     {
-        Class c = event.getClass();
+        if(event instanceof ShutdownEvent && shutdownAutomatically)
+        {
+            threadpool.shutdown();
+        }
+
+        if(active.get() == 0)
+            return;
+
+        long channelId = getChannelId(event);
+        long userId = getUserId(event);
+        int evaluated = 0;
 
         // Runs at least once for the fired Event, at most
         // once for each superclass (excluding Object) because
         // Class#getSuperclass() returns null when the superclass
         // is primitive, void, or (in this case) Object.
+        Class c = event.getClass();
         while(c != null)
         {
-            if(waitingEvents.containsKey(c))
-            {
-                Set<WaitingEvent> set = waitingEvents.get(c);
-                WaitingEvent[] toRemove = set.toArray(new WaitingEvent[set.size()]);
-
-                // WaitingEvent#attempt invocations that return true have passed their condition tests
-                // and executed the action. We filter the ones that return false out of the toRemove and
-                // remove them all from the set.
-                set.removeAll(Stream.of(toRemove).filter(i -> i.attempt(event)).collect(Collectors.toSet()));
-            }
-            if(event instanceof ShutdownEvent && shutdownAutomatically)
+            Registry registry = waitingEvents.get(c);
+            if(registry != null && registry.size.get() > 0)
             {
-                threadpool.shutdown();
+                evaluated += attempt(registry.unindexed, event, channelId, userId);
+                if(channelId != 0)
+                    evaluated += attempt(registry.byChannel.get(channelId), event, channelId, userId);
+                if(userId != 0)
+                    evaluated += attempt(registry.byUser.get(userId), event, channelId, userId);
             }
             c = c.getSuperclass();
         }
+
+        if(evaluated > 0)
+        {
+            dispatchedEvents.increment();
+            evaluatedConditions.add(evaluated);
+        }
     }
 
     /**
@@ -255,27 +333,190 @@ public class EventWaiter implements EventListener
         threadpool.shutdown();
     }
 
+    /**
+     * Gets the amount of waiting events that are currently registered, and has
+     * neither been completed by a matching Event, nor timed out yet.
+     *
+     * @return The amount of active waiting events.
+     */
+    public int getActiveWaiters()
+    {
+        return active.get();
+    }
+
+    /**
+     * Gets the amount of active waiting events for each of the Event types being waited for.
+     *
+     * @return A map of the Event types being waited for, and the amount of active waiting events for them.
+     */
+    public Map<Class<?>, Integer> getActiveWaitersByType()
+    {
+        Map<Class<?>, Integer> types = new ConcurrentHashMap<>();
+        waitingEvents.forEach((type, registry) -> types.put(type, registry.size.get()));
+        return Collections.unmodifiableMap(types);
+    }
+
+    /**
+     * Gets the total amount of fired Events that had their conditions tested against at least one waiting event.
+     *
+     * @return The amount of Events dispatched to waiting events.
+     */
+    public long getDispatchedEvents()
+    {
+        return dispatchedEvents.sum();
+    }
+
+    /**
+     * Gets the total amount of conditions that have been tested against fired Events.
+     *
+     * @return The amount of conditions tested.
+     */
+    public long getEvaluatedConditions()
+    {
+        return evaluatedConditions.sum();
+    }
+
+    @SuppressWarnings("unchecked")
+    private int attempt(Set<WaitingEvent> set, GenericEvent event, long channelId, long userId)
+    {
+        if(set == null || set.isEmpty())
+            return 0;
+
+        int evaluated = 0;
+        for(WaitingEvent we : set)
+        {
+            if(!we.accepts(channelId, userId))
+                continue;
+
+            evaluated++;
+            we.attempt(event);
+        }
+        return evaluated;
+    }
+
+    private static long getChannelId(GenericEvent event)
+    {
+        if(event instanceof GenericMessageEvent)
+            return ((GenericMessageEvent) event).getChannel().getIdLong();
+        if(event instanceof GenericInteractionCreateEvent)
+        {
+            GenericInteractionCreateEvent interaction = (GenericInteractionCreateEvent) event;
+            return interaction.getChannel() == null ? 0 : interaction.getChannel().getIdLong();
+        }
+        return 0;
+    }
+
+    private static long getUserId(GenericEvent event)
+    {
+        if(event instanceof MessageReceivedEvent)
+            return ((MessageReceivedEvent) event).getAuthor().getIdLong();
+        if(event instanceof GenericMessageReactionEvent)
+            return ((GenericMessageReactionEvent) event).getUserIdLong();
+        if(event instanceof GenericInteractionCreateEvent)
+            return ((GenericInteractionCreateEvent) event).getUser().getIdLong();
+        return 0;
+    }
+
+    private class Registry
+    {
+        final Set<WaitingEvent> unindexed = ConcurrentHashMap.newKeySet();
+        final Map<Long, Set<WaitingEvent>> byChannel = new ConcurrentHashMap<>();
+        final Map<Long, Set<WaitingEvent>> byUser = new ConcurrentHashMap<>();
+        final AtomicInteger size = new AtomicInteger();
+
+        void add(WaitingEvent we)
+        {
+            size.incrementAndGet();
+            if(we.channelId != 0)
+                index(byChannel, we.channelId, we);
+            else if(we.userId != 0)
+                index(byUser, we.userId, we);
+            else
+                unindexed.add(we);
+        }
+
+        void remove(WaitingEvent we)
+        {
+            size.decrementAndGet();
+            if(we.channelId != 0)
+                unindex(byChannel, we.channelId, we);
+            else if(we.userId != 0)
+                unindex(byUser, we.userId, we);
+            else
+                unindexed.remove(we);
+        }
+
+        // The buckets are only ever created and dropped inside of the compute
+        // calls, so a waiter is never added to a bucket that is being dropped.
+        private void index(Map<Long, Set<WaitingEvent>> index, long id, WaitingEvent we)
+        {
+            index.compute(id, (key, set) ->
+            {
+                if(set == null)
+                    set = ConcurrentHashMap.newKeySet();
+                set.add(we);
+                return set;
+            });
+        }
+
+        private void unindex(Map<Long, Set<WaitingEvent>> index, long id, WaitingEvent we)
+        {
+            index.computeIfPresent(id, (key, set) ->
+            {
+                set.remove(we);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
     private class WaitingEvent<T extends GenericEvent>
     {
+        final Registry registry;
+        final long channelId;
+        final long userId;
         final Predicate<T> condition;
         final Consumer<T> action;
+        final AtomicBoolean done = new AtomicBoolean();
+        volatile TimingWheel.Timeout timeout;
 
-        WaitingEvent(Predicate<T> condition, Consumer<T> action)
+        WaitingEvent(Registry registry, long channelId, long userId, Predicate<T> condition, Consumer<T> action)
         {
+            this.registry = registry;
+            this.channelId = channelId;
+            this.userId = userId;
             this.condition = condition;
             this.action = action;
         }
 
-        boolean attempt(T event)
+        boolean accepts(long channelId, long userId)
         {
-            if(condition.test(event))
+            return !done.get()
+                && (this.channelId == 0 || this.channelId == channelId)
+                && (this.userId == 0 || this.userId == userId);
+        }
+
+        void attempt(T event)
+        {
+            if(condition.test(event) && finish())
             {
+                TimingWheel.Timeout timeout = this.timeout;
+                if(timeout != null)
+                    timeout.cancel();
+
                 action.accept(event);
-                return true;
             }
-            return false;
         }
-    }
 
+        // Both a matching Event and the timeout can race to finish the waiting
+        // event, only the one that finishes it first gets to run its action.
+        boolean finish()
+        {
+            if(!done.compareAndSet(false, true))
+                return false;
 
+            registry.remove(this);
+            active.decrementAndGet();
+            return true;
+        }
+    }
 }
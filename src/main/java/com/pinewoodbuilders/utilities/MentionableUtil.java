@@ -21,6 +21,7 @@
 
 package com.pinewoodbuilders.utilities;
 
+import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.commands.CommandMessage;
 import com.pinewoodbuilders.contracts.utilities.MentionChannelFinder;
 import net.dv8tion.jda.api.entities.*;
@@ -30,6 +31,9 @@ import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.regex.Pattern;
 
 public class MentionableUtil {
@@ -117,8 +121,7 @@ public class MentionableUtil {
             }
 
             try {
-                Member member = context.getGuild().getMemberById(userId);
-                return member == null ? null : member.getUser();
+                return retrieveUser(context, Long.parseLong(userId));
             } catch (NumberFormatException e) {
                 return null;
             }
@@ -126,8 +129,7 @@ public class MentionableUtil {
 
         if (NumberUtil.isNumeric(part)) {
             try {
-                Member member = context.getGuild().getMemberById(part);
-                return member == null ? null : member.getUser();
+                return retrieveUser(context, Long.parseLong(part));
             } catch (NumberFormatException e) {
                 return null;
             }
@@ -319,4 +321,29 @@ public class MentionableUtil {
             return finder.find(message, name);
         }
     }
+
+    /**
+     * Retrieves the user with the given ID if they're a member of the guild the command was
+     * used in, members that are not cached are requested from Discord, since the member
+     * cache is bounded and only holds recently active members.
+     *
+     * @param context The command message context.
+     * @param userId  The ID of the user that should be retrieved.
+     * @return Possibly-null, the user matching the given ID if they're in the guild.
+     */
+    @Nullable
+    private static User retrieveUser(@Nonnull CommandMessage context, long userId) {
+        try {
+            Member member = Xeus.getInstance().getMemberLoader()
+                .retrieveMember(context.getGuild(), userId)
+                .get(10, TimeUnit.SECONDS);
+
+            return member == null ? null : member.getUser();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
 }
@@ -21,6 +21,8 @@
 
 package com.pinewoodbuilders.utilities;
 
+import com.pinewoodbuilders.chat.PlaceholderResolver;
+import com.pinewoodbuilders.chat.PlaceholderTemplate;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.MessageChannel;
@@ -65,11 +67,13 @@ public class StringReplacementUtil {
      * @return The parsed string after all the placeholders was replaced with the actual values.
      */
     public static String parse(@Nonnull Guild guild, @Nonnull MessageChannel channel, @Nonnull User user, @Nonnull String message) {
-        return StringReplacementUtil.parseChannel(channel,
-            StringReplacementUtil.parseUser(user,
-                StringReplacementUtil.parseGuild(guild, message)
-            )
-        ).replaceAll("%br%", "\n");
+        PlaceholderResolver resolver = new PlaceholderResolver();
+
+        resolveGuild(guild, resolver);
+        resolveUser(user, resolver);
+        resolveChannel(channel, resolver);
+
+        return render(message, resolver.add("br", "\n"));
     }
 
     /**
@@ -84,27 +88,24 @@ public class StringReplacementUtil {
      * @return The parsed string after the placeholders was replaced with the actual values.
      */
     public static String parse(@Nonnull Message message, @Nonnull String string, @Nonnull ReplacementType... types) {
+        PlaceholderResolver resolver = new PlaceholderResolver();
         for (ReplacementType type : types) {
-            string = type.function.parse(message, string);
+            type.function.resolve(message, resolver);
         }
-        return string.replaceAll("%br%", "\n");
+        return render(string, resolver.add("br", "\n"));
     }
 
     /**
-     * Converts the message object to a guild object and parses the guild
-     * and string to the {@link #parseGuild(Guild, String)} method.
+     * Converts the message object to a guild object and adds the
+     * guild placeholders to the given placeholder resolver.
      *
-     * @param message The message that the guild should be retrieved from.
-     * @param string  The original string that should be parsed.
-     * @return The parsed string if the given message contains a valid guild instance,
-     * otherwise it will just return the original unchanged string.
+     * @param message  The message that the guild should be retrieved from.
+     * @param resolver The placeholder resolver the placeholders should be added to.
      */
-    private static String toGuild(Message message, String string) {
-        if (!message.getChannelType().isGuild()) {
-            return string;
+    private static void toGuild(Message message, PlaceholderResolver resolver) {
+        if (message.getChannelType().isGuild()) {
+            resolveGuild(message.getGuild(), resolver);
         }
-
-        return parseGuild(message.getGuild(), string);
     }
 
     /**
@@ -116,24 +117,25 @@ public class StringReplacementUtil {
      * @return The parsed string after all the guild placeholders was parsed.
      */
     public static String parseGuild(@Nonnull Guild guild, @Nonnull String string) {
-        string = string.replaceAll("%server%", Matcher.quoteReplacement(guild.getName()));
-        string = string.replaceAll("%servername%", Matcher.quoteReplacement(guild.getName()));
-        string = string.replaceAll("%serverid%", guild.getId());
+        return render(string, resolveGuild(guild, new PlaceholderResolver()));
+    }
 
-        return string;
+    private static PlaceholderResolver resolveGuild(Guild guild, PlaceholderResolver resolver) {
+        return resolver
+            .add("server", guild.getName())
+            .add("servername", guild.getName())
+            .add("serverid", guild.getId());
     }
 
     /**
-     * Converts the message object to a channel object and parses the channel
-     * and string to the {@link #parseChannel(MessageChannel, String)} method.
+     * Converts the message object to a channel object and adds the
+     * channel placeholders to the given placeholder resolver.
      *
-     * @param message The message that the channel should be retrieved from.
-     * @param string  The original string that should be parsed.
-     * @return The parsed string if the given message contains a valid channel instance,
-     * otherwise it will just return the original unchanged string.
+     * @param message  The message that the channel should be retrieved from.
+     * @param resolver The placeholder resolver the placeholders should be added to.
      */
-    private static String toChannel(@Nonnull Message message, @Nonnull String string) {
-        return parseChannel(message.getGuildChannel(), string);
+    private static void toChannel(@Nonnull Message message, @Nonnull PlaceholderResolver resolver) {
+        resolveChannel(message.getGuildChannel(), resolver);
     }
 
     /**
@@ -145,23 +147,25 @@ public class StringReplacementUtil {
      * @return The parsed string after all the channel placeholders was parsed.
      */
     public static String parseChannel(@Nonnull MessageChannel channel, @Nonnull String string) {
-        string = string.replaceAll("%channel%", "<#" + channel.getId() + ">");
-        string = string.replaceAll("%channelname%", Matcher.quoteReplacement(channel.getName()));
-        string = string.replaceAll("%channelid%", channel.getId());
+        return render(string, resolveChannel(channel, new PlaceholderResolver()));
+    }
 
-        return string;
+    private static PlaceholderResolver resolveChannel(MessageChannel channel, PlaceholderResolver resolver) {
+        return resolver
+            .add("channel", "<#" + channel.getId() + ">")
+            .add("channelname", channel.getName())
+            .add("channelid", channel.getId());
     }
 
     /**
-     * Converts the message object to a user object and parses the user
-     * and string to the {@link #parseUser(User, String)} method.
+     * Converts the message object to a user object and adds the
+     * user placeholders to the given placeholder resolver.
      *
-     * @param message The message that the user should be retrieved from.
-     * @param string  The original string that should be parsed.
-     * @return The parsed string using the given message author instance.
+     * @param message  The message that the user should be retrieved from.
+     * @param resolver The placeholder resolver the placeholders should be added to.
      */
-    private static String toUser(@Nonnull Message message, @Nonnull String string) {
-        return parseUser(message.getAuthor(), string);
+    private static void toUser(@Nonnull Message message, @Nonnull PlaceholderResolver resolver) {
+        resolveUser(message.getAuthor(), resolver);
     }
 
     /**
@@ -173,12 +177,28 @@ public class StringReplacementUtil {
      * @return The parsed string after all the user placeholders was parsed.
      */
     public static String parseUser(@Nonnull User user, @Nonnull String string) {
-        string = string.replaceAll("%user%", "<@" + user.getId() + ">");
-        string = string.replaceAll("%userid%", user.getId());
-        string = string.replaceAll("%username%", Matcher.quoteReplacement(user.getName()));
-        string = string.replaceAll("%userdisc%", user.getDiscriminator());
+        return render(string, resolveUser(user, new PlaceholderResolver()));
+    }
+
+    private static PlaceholderResolver resolveUser(User user, PlaceholderResolver resolver) {
+        return resolver
+            .add("user", "<@" + user.getId() + ">")
+            .add("userid", user.getId())
+            .add("username", user.getName())
+            .add("userdisc", user.getDiscriminator());
+    }
 
-        return string;
+    /**
+     * Renders the given string using the percentage placeholder syntax, the string
+     * is compiled into a template once, so the message is only scanned
+     * a single time regardless of how many placeholders there are.
+     *
+     * @param string   The original string that should be parsed.
+     * @param resolver The placeholder resolver holding the placeholder values.
+     * @return The parsed string after all the placeholders was replaced.
+     */
+    private static String render(String string, PlaceholderResolver resolver) {
+        return PlaceholderTemplate.compile(string, PlaceholderTemplate.Syntax.PERCENT).render(resolver);
     }
 
     /**
@@ -214,14 +234,13 @@ public class StringReplacementUtil {
     private interface ReplacementFunction {
 
         /**
-         * Converts the message object to the required replacement
-         * type object and parses the string.
+         * Converts the message object to the required replacement type
+         * object and adds its placeholders to the given resolver.
          *
-         * @param message The message that the replacement type object should be retrieved from.
-         * @param string  The original string that should be parsed.
-         * @return The parsed string if the given message object contained the required replacement
-         * type object, otherwise it will just return the original unchanged string.
+         * @param message  The message that the replacement type object should be retrieved from.
+         * @param resolver The placeholder resolver the placeholders should be added to, nothing is
+         *                 added if the given message object didn't contain the required object.
          */
-        String parse(Message message, String string);
+        void resolve(Message message, PlaceholderResolver resolver);
     }
 }
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.utilities;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A hashed timing wheel for large amounts of short lived timeouts, where most of
+ * the timeouts are expected to be cancelled before they ever expire, like the
+ * timeouts used by the {@link EventWaiter event waiter}.
+ * <p>
+ * Scheduling a timeout only adds it to a lock-free queue of pending timeouts, the
+ * thread ticking the wheel moves the pending timeouts into the bucket for the tick
+ * they expire on, and runs the timeouts in the bucket that is ticked, so the wheel
+ * buckets are only ever touched by a single thread. Cancelling a timeout only
+ * marks it as cancelled, it is dropped the next time its bucket is ticked.
+ * <p>
+ * Timeouts are accurate to within a single tick of the wheel, and are always
+ * run on the thread that ticks the wheel, so they should be kept short.
+ */
+public class TimingWheel {
+
+    private static final Logger log = LoggerFactory.getLogger(TimingWheel.class);
+
+    private final long tickDuration;
+    private final Queue<Timeout>[] buckets;
+    private final int mask;
+
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private volatile long tick = 0;
+
+    /**
+     * Creates a new timing wheel, the wheel won't run any timeouts until
+     * it has been {@link #start(ScheduledExecutorService) started}.
+     *
+     * @param tickDuration The duration of a single tick of the wheel.
+     * @param unit         The time unit of the tick duration.
+     * @param wheelSize    The amount of buckets in the wheel, rounded up to the next power of two.
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickDuration, TimeUnit unit, int wheelSize) {
+        if (tickDuration < 1) {
+            throw new IllegalArgumentException("The tick duration must be at least 1, " + tickDuration + " given");
+        }
+        if (wheelSize < 1 || wheelSize > 1 << 30) {
+            throw new IllegalArgumentException("The wheel size must be between 1 and 2^30, " + wheelSize + " given");
+        }
+
+        this.tickDuration = Math.max(1, unit.toMillis(tickDuration));
+
+        int capacity = Integer.highestOneBit(wheelSize);
+        if (capacity < wheelSize) {
+            capacity <<= 1;
+        }
+
+        this.buckets = new Queue[capacity];
+        for (int i = 0; i < capacity; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Starts ticking the wheel at a fixed rate on the given scheduler,
+     * starting the wheel more than once does nothing.
+     *
+     * @param scheduler The scheduler the wheel should be ticked on.
+     */
+    public void start(@Nonnull ScheduledExecutorService scheduler) {
+        if (started.compareAndSet(false, true)) {
+            scheduler.scheduleAtFixedRate(this::tick, tickDuration, tickDuration, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Schedules the given task to run once the given delay has passed.
+     *
+     * @param task  The task that should be run when the timeout expires.
+     * @param delay The delay before the timeout expires.
+     * @param unit  The time unit of the delay.
+     * @return The scheduled timeout, which can be used to cancel the task.
+     */
+    public Timeout schedule(@Nonnull Runnable task, long delay, TimeUnit unit) {
+        long ticks = Math.max(1, (unit.toMillis(delay) + tickDuration - 1) / tickDuration);
+
+        Timeout timeout = new Timeout(this, task, tick + ticks);
+        size.incrementAndGet();
+        pending.add(timeout);
+
+        return timeout;
+    }
+
+    /**
+     * Advances the wheel by a single tick, running all the timeouts that expires
+     * on the new tick, this is called automatically by the scheduler once the
+     * wheel has been started, and should only ever be called by one thread.
+     */
+    public void tick() {
+        long current = ++tick;
+
+        for (Timeout timeout = pending.poll(); timeout != null; timeout = pending.poll()) {
+            if (!timeout.isCancelled()) {
+                // Timeouts that were scheduled while the previous tick was running
+                // may already be due, those are added to the bucket being ticked.
+                buckets[(int) (Math.max(timeout.deadline, current) & mask)].add(timeout);
+            }
+        }
+
+        Iterator<Timeout> iterator = buckets[(int) (current & mask)].iterator();
+        while (iterator.hasNext()) {
+            Timeout timeout = iterator.next();
+            if (timeout.isCancelled()) {
+                iterator.remove();
+            } else if (timeout.deadline <= current) {
+                iterator.remove();
+                timeout.expire();
+            }
+        }
+    }
+
+    /**
+     * Gets the amount of timeouts that are scheduled, and has
+     * not yet been either cancelled, or expired.
+     *
+     * @return The amount of scheduled timeouts.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    public static class Timeout {
+
+        private static final int SCHEDULED = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final TimingWheel wheel;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(SCHEDULED);
+
+        Timeout(TimingWheel wheel, Runnable task, long deadline) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the timeout, preventing the task from running.
+         *
+         * @return <code>True</code> if the timeout was cancelled, <code>False</code>
+         * if the timeout had already expired, or been cancelled.
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(SCHEDULED, CANCELLED)) {
+                return false;
+            }
+            wheel.size.decrementAndGet();
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        void expire() {
+            if (!state.compareAndSet(SCHEDULED, EXPIRED)) {
+                return;
+            }
+            wheel.size.decrementAndGet();
+
+            // Exceptions must never escape the tick, since the scheduler
+            // would stop ticking the wheel if the tick ever throws.
+            try {
+                task.run();
+            } catch (Throwable e) {
+                log.error("Timeout task threw an exception: {}", e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -200,7 +200,7 @@ public class Paginator extends com.pinewoodbuilders.utilities.menu.Menu
 
     private void paginationWithTextInput(Message message, int pageNum)
     {
-        waiter.waitForEvent(GenericMessageEvent.class, event -> {
+        waiter.waitForEvent(GenericMessageEvent.class, message.getChannel().getIdLong(), 0, event -> {
             if(event instanceof MessageReactionAddEvent)
                 return checkReaction((MessageReactionAddEvent) event, message.getIdLong());
             else if(event instanceof MessageReceivedEvent)
@@ -260,7 +260,7 @@ public class Paginator extends com.pinewoodbuilders.utilities.menu.Menu
 
     private void paginationWithoutTextInput(Message message, int pageNum)
     {
-        waiter.waitForEvent(MessageReactionAddEvent.class,
+        waiter.waitForEvent(MessageReactionAddEvent.class, message.getChannel().getIdLong(), 0,
             event -> checkReaction(event, message.getIdLong()), // Check Reaction
             event -> handleMessageReactionAddAction(event, message, pageNum), // Handle Reaction
             timeout, unit, () -> finalAction.accept(message));
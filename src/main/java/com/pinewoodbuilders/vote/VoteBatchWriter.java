@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.vote;
+
+import com.pinewoodbuilders.Constants;
+import com.pinewoodbuilders.database.DatabaseManager;
+import com.pinewoodbuilders.database.collection.DataRow;
+import com.pinewoodbuilders.time.Carbon;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Writes votes to the votes table in batches, votes are queued as they come in,
+ * and are written together the next time the writer is {@link #flush() flushed},
+ * so a burst of votes only costs a single lookup query for every few hundred
+ * users, and one batched update and insert for the entire burst.
+ * <p>
+ * Votes queued for the same user before the writer is flushed are merged
+ * into a single write, adding up the points that should be rewarded.
+ */
+public class VoteBatchWriter {
+
+    /**
+     * The amount of users that are looked up in each <code>WHERE IN</code> query.
+     */
+    static final int CHUNK_SIZE = 500;
+
+    /**
+     * The amount of times a vote is attempted to be written before it's given up on.
+     */
+    public static final int MAX_ATTEMPTS = 10;
+
+    private static final String UPDATE_QUERY = String.format(
+        "UPDATE `%s` SET `expires_in` = ?, `points` = `points` + ?, `points_total` = `points_total` + ? WHERE `user_id` = ?",
+        Constants.BOT_VOTES_TABLE_NAME
+    );
+
+    private static final String INSERT_QUERY = String.format(
+        "INSERT INTO `%s` (`user_id`, `expires_in`, `points`, `points_total`) VALUES (?, ?, ?, ?)",
+        Constants.BOT_VOTES_TABLE_NAME
+    );
+
+    private final DatabaseManager database;
+    private final Queue<PendingVote> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates a new vote batch writer for the given database manager.
+     *
+     * @param database The database manager the votes should be written to.
+     */
+    public VoteBatchWriter(DatabaseManager database) {
+        this.database = database;
+    }
+
+    /**
+     * Queues a vote for the given user, the vote is written the next time the writer is flushed.
+     *
+     * @param userId    The ID of the user that voted.
+     * @param points    The amount of points the user should be rewarded.
+     * @param expiresIn The time the vote expires.
+     * @return A future that completes with the vote state of the user once the vote has been
+     * written, or exceptionally if the vote failed to be written {@link #MAX_ATTEMPTS} times.
+     */
+    public CompletableFuture<VoteCacheEntity> queue(long userId, int points, Carbon expiresIn) {
+        PendingVote vote = new PendingVote(userId, points, expiresIn);
+        pending.add(vote);
+        return vote.future;
+    }
+
+    /**
+     * Checks if there are any votes waiting to be written.
+     *
+     * @return <code>True</code> if there are votes waiting to be written, <code>False</code> otherwise.
+     */
+    public boolean hasPendingVotes() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * Writes all the queued votes to the database, votes that fails to be written
+     * are queued again so they're retried the next time the writer is flushed,
+     * until they have been attempted {@link #MAX_ATTEMPTS} times.
+     *
+     * @return The amount of users that had their votes written.
+     * @throws SQLException If the existing vote records fails to be looked up, or the votes fails to be written.
+     */
+    public synchronized int flush() throws SQLException {
+        Map<Long, MergedVote> votes = new LinkedHashMap<>();
+        for (PendingVote vote = pending.poll(); vote != null; vote = pending.poll()) {
+            votes.computeIfAbsent(vote.userId, MergedVote::new).merge(vote);
+        }
+
+        if (votes.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, DataRow> existing;
+        try {
+            existing = findExisting(new ArrayList<>(votes.keySet()));
+        } catch (SQLException | RuntimeException e) {
+            retry(votes.values(), e);
+            throw e;
+        }
+
+        List<MergedVote> updates = new ArrayList<>();
+        List<MergedVote> inserts = new ArrayList<>();
+        for (MergedVote vote : votes.values()) {
+            (existing.containsKey(vote.userId) ? updates : inserts).add(vote);
+        }
+
+        // The updates and inserts are written in separate transactions, so the inserts
+        // are still written if the updates fails, and votes that was already
+        // written are never queued again, rewarding the points twice.
+        try {
+            write(UPDATE_QUERY, updates, existing, (statement, vote) -> {
+                statement.setString(1, vote.expiresIn.toDayDateTimeString());
+                statement.setInt(2, vote.points);
+                statement.setInt(3, vote.points);
+                statement.setLong(4, vote.userId);
+            });
+        } finally {
+            write(INSERT_QUERY, inserts, existing, (statement, vote) -> {
+                statement.setLong(1, vote.userId);
+                statement.setString(2, vote.expiresIn.toDayDateTimeString());
+                statement.setInt(3, vote.points);
+                statement.setInt(4, vote.points);
+            });
+        }
+
+        return votes.size();
+    }
+
+    private void write(String query, List<MergedVote> votes, Map<Long, DataRow> existing, VoteBinder binder) throws SQLException {
+        if (votes.isEmpty()) {
+            return;
+        }
+
+        try {
+            database.queryBatchOrThrow(query, statement -> {
+                for (MergedVote vote : votes) {
+                    binder.bind(statement, vote);
+                    statement.addBatch();
+                }
+            });
+        } catch (SQLException | RuntimeException e) {
+            retry(votes, e);
+            throw e;
+        }
+
+        for (MergedVote vote : votes) {
+            DataRow row = existing.get(vote.userId);
+            vote.complete(new VoteCacheEntity(
+                vote.userId,
+                (row == null ? 0 : row.getInt("points", 0)) + vote.points,
+                row == null || row.getBoolean("opt_in", true),
+                vote.expiresIn
+            ));
+        }
+    }
+
+    private void retry(Iterable<MergedVote> votes, Throwable throwable) {
+        for (MergedVote merged : votes) {
+            for (PendingVote vote : merged.votes) {
+                if (++vote.attempts < MAX_ATTEMPTS) {
+                    pending.add(vote);
+                } else {
+                    vote.future.completeExceptionally(throwable);
+                }
+            }
+        }
+    }
+
+    private Map<Long, DataRow> findExisting(List<Long> userIds) throws SQLException {
+        Map<Long, DataRow> existing = new HashMap<>();
+        for (int i = 0; i < userIds.size(); i += CHUNK_SIZE) {
+            for (DataRow row : database.newQueryBuilder(Constants.BOT_VOTES_TABLE_NAME)
+                .select("user_id", "points", "opt_in")
+                .whereIn("user_id", userIds.subList(i, Math.min(i + CHUNK_SIZE, userIds.size())))
+                .get()) {
+                existing.putIfAbsent(row.getLong("user_id"), row);
+            }
+        }
+        return existing;
+    }
+
+    private static final class PendingVote {
+
+        private final long userId;
+        private final int points;
+        private final Carbon expiresIn;
+        private final CompletableFuture<VoteCacheEntity> future = new CompletableFuture<>();
+        private int attempts;
+
+        PendingVote(long userId, int points, Carbon expiresIn) {
+            this.userId = userId;
+            this.points = points;
+            this.expiresIn = expiresIn;
+        }
+    }
+
+    private static final class MergedVote {
+
+        private final long userId;
+        private final List<PendingVote> votes = new ArrayList<>(1);
+        private int points;
+        private Carbon expiresIn;
+
+        MergedVote(long userId) {
+            this.userId = userId;
+        }
+
+        void merge(PendingVote vote) {
+            points += vote.points;
+            if (expiresIn == null || vote.expiresIn.gt(expiresIn)) {
+                expiresIn = vote.expiresIn;
+            }
+            votes.add(vote);
+        }
+
+        void complete(VoteCacheEntity entity) {
+            for (PendingVote vote : votes) {
+                vote.future.complete(entity);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface VoteBinder {
+
+        void bind(PreparedStatement statement, MergedVote vote) throws SQLException;
+    }
+}
@@ -29,9 +29,9 @@ import java.util.Objects;
 public class VoteCacheEntity {
 
     private final long userId;
-    private int votePoints;
-    private boolean optIn;
-    private Carbon carbon;
+    private volatile int votePoints;
+    private volatile boolean optIn;
+    private volatile Carbon carbon;
 
     /**
      * Creates a new vote cache entity for the given user ID with
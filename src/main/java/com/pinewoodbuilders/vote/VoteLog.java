@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.vote;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * An in-memory log of the vote state for each user, the log is stored in a
+ * primitive open addressing hash table keyed by the user ID, so looking up
+ * a user on the vote-locked command path never has to box the ID.
+ * <p>
+ * The log can also remember that a user has no vote record at all, so users
+ * that has been looked up once doesn't have to be looked up in the database
+ * again, entries for users without an active vote are only retained for a
+ * while, and are dropped when the log is {@link #evict(long) evicted}.
+ * <p>
+ * Lookups are lock-free in the common case, they only fall back to
+ * acquiring a read lock if the log was changed during the lookup.
+ */
+public class VoteLog {
+
+    private static final int MIN_CAPACITY = 64;
+
+    private final StampedLock lock = new StampedLock();
+    private Table table = new Table(MIN_CAPACITY);
+
+    /**
+     * Gets the vote entity for the given user.
+     *
+     * @param userId The ID of the user the vote entity should be returned for.
+     * @return The vote entity for the user, or <code>NULL</code> if the user either
+     * isn't in the log, or is known to not have a vote record.
+     */
+    @Nullable
+    public VoteCacheEntity get(long userId) {
+        Slot slot = find(userId);
+        return slot == null ? null : slot.entity;
+    }
+
+    /**
+     * Checks if the log knows the vote state of the given user, either
+     * because the user has a vote entity in the log, or because the
+     * user is known to not have a vote record.
+     *
+     * @param userId The ID of the user that should be checked.
+     * @return <code>True</code> if the vote state of the user is known, <code>False</code> otherwise.
+     */
+    public boolean isKnown(long userId) {
+        return find(userId) != null;
+    }
+
+    /**
+     * Checks if the given user has a vote in the log that hasn't expired yet.
+     *
+     * @param userId The ID of the user that should be checked.
+     * @return <code>True</code> if the user has an active vote, <code>False</code> otherwise.
+     */
+    public boolean hasActiveVote(long userId) {
+        VoteCacheEntity entity = get(userId);
+        return entity != null && entity.getCarbon().isFuture();
+    }
+
+    /**
+     * Puts the given vote entity in the log, replacing any existing entry for the user.
+     *
+     * @param userId      The ID of the user the entity belongs to.
+     * @param entity      The vote entity, or <code>NULL</code> if the user doesn't have a vote record.
+     * @param retainUntil The time in milliseconds the entry should be retained until, if the
+     *                    entity has an active vote it's retained until the vote expires.
+     */
+    public void put(long userId, @Nullable VoteCacheEntity entity, long retainUntil) {
+        long stamp = lock.writeLock();
+        try {
+            insert(userId, new Slot(entity, retainUntil));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Puts the given vote entity in the log, unless the log already has a vote entity
+     * for the user, entries for users known to not have a vote record are replaced.
+     *
+     * @param userId      The ID of the user the entity belongs to.
+     * @param entity      The vote entity that should be added.
+     * @param retainUntil The time in milliseconds the entry should be retained until.
+     * @return The vote entity that is in the log for the user after the call.
+     */
+    @Nonnull
+    public VoteCacheEntity putIfAbsent(long userId, @Nonnull VoteCacheEntity entity, long retainUntil) {
+        long stamp = lock.writeLock();
+        try {
+            Slot existing = table.find(userId);
+            if (existing != null && existing.entity != null) {
+                return existing.entity;
+            }
+
+            insert(userId, new Slot(entity, retainUntil));
+            return entity;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the given user from the log.
+     *
+     * @param userId The ID of the user that should be removed.
+     * @return <code>True</code> if the user was in the log, <code>False</code> otherwise.
+     */
+    public boolean remove(long userId) {
+        long stamp = lock.writeLock();
+        try {
+            return table.remove(userId);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Drops every entry that doesn't have an active vote, and
+     * that isn't retained beyond the given time anymore.
+     *
+     * @param now The current time in milliseconds.
+     * @return The amount of entries that were dropped.
+     */
+    public int evict(long now) {
+        long stamp = lock.writeLock();
+        try {
+            Table current = table;
+
+            int live = 0;
+            for (Slot slot : current.slots) {
+                if (slot != null && slot.isRetained(now)) {
+                    live++;
+                }
+            }
+
+            Table replacement = new Table(capacityFor(live));
+            for (int i = 0; i < current.slots.length; i++) {
+                Slot slot = current.slots[i];
+                if (slot != null && slot.isRetained(now)) {
+                    replacement.insert(current.keys[i], slot);
+                }
+            }
+
+            table = replacement;
+            return current.size - live;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Counts the users in the log that has an active vote.
+     *
+     * @return The amount of users with an active vote.
+     */
+    public int countActiveVotes() {
+        long stamp = lock.readLock();
+        try {
+            int count = 0;
+            for (Slot slot : table.slots) {
+                if (slot != null && slot.entity != null && slot.entity.getCarbon().isFuture()) {
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Gets the amount of entries in the log, including
+     * users known to not have a vote record.
+     *
+     * @return The amount of entries in the log.
+     */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return table.size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private Slot find(long userId) {
+        long stamp = lock.tryOptimisticRead();
+        Slot slot = table.find(userId);
+        if (lock.validate(stamp)) {
+            return slot;
+        }
+
+        stamp = lock.readLock();
+        try {
+            return table.find(userId);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void insert(long userId, Slot slot) {
+        if ((table.size + 1) * 2 > table.slots.length) {
+            Table replacement = new Table(table.slots.length * 2);
+            for (int i = 0; i < table.slots.length; i++) {
+                if (table.slots[i] != null) {
+                    replacement.insert(table.keys[i], table.slots[i]);
+                }
+            }
+            table = replacement;
+        }
+        table.insert(userId, slot);
+    }
+
+    private static int capacityFor(int entries) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < entries * 2 + 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+
+    private static final class Slot {
+
+        private final VoteCacheEntity entity;
+        private final long retainUntil;
+
+        Slot(VoteCacheEntity entity, long retainUntil) {
+            this.entity = entity;
+            this.retainUntil = retainUntil;
+        }
+
+        boolean isRetained(long now) {
+            return retainUntil > now || (entity != null && entity.getCarbon().isFuture());
+        }
+    }
+
+    /**
+     * A linear probing table, the table is only ever changed while holding the
+     * write lock, and is kept at most half full, so probes always end at an
+     * empty slot, even when they race with a write.
+     */
+    private static final class Table {
+
+        private final long[] keys;
+        private final Slot[] slots;
+        private final int mask;
+        private int size;
+
+        Table(int capacity) {
+            this.keys = new long[capacity];
+            this.slots = new Slot[capacity];
+            this.mask = capacity - 1;
+        }
+
+        Slot find(long key) {
+            for (int i = (int) mix(key) & mask; ; i = (i + 1) & mask) {
+                Slot slot = slots[i];
+                if (slot == null) {
+                    return null;
+                }
+                if (keys[i] == key) {
+                    return slot;
+                }
+            }
+        }
+
+        void insert(long key, Slot slot) {
+            int i = (int) mix(key) & mask;
+            while (slots[i] != null) {
+                if (keys[i] == key) {
+                    slots[i] = slot;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+
+            keys[i] = key;
+            slots[i] = slot;
+            size++;
+        }
+
+        boolean remove(long key) {
+            int i = (int) mix(key) & mask;
+            while (slots[i] != null && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (slots[i] == null) {
+                return false;
+            }
+
+            // Shifts the following entries in the probe sequence back, so
+            // the table never needs tombstones to keep probes working.
+            int hole = i;
+            for (int j = (hole + 1) & mask; slots[j] != null; j = (j + 1) & mask) {
+                int home = (int) mix(keys[j]) & mask;
+                if (((j - home) & mask) >= ((j - hole) & mask)) {
+                    keys[hole] = keys[j];
+                    slots[hole] = slots[j];
+                    hole = j;
+                }
+            }
+
+            slots[hole] = null;
+            size--;
+            return true;
+        }
+    }
+}
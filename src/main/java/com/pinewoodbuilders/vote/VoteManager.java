@@ -38,19 +38,26 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.DelayQueue;
+import java.util.concurrent.TimeUnit;
 
 public class VoteManager {
 
     private static final Logger log = LoggerFactory.getLogger(VoteManager.class);
     private static final DelayQueue<VoteEntity> queue = new DelayQueue<>();
-    private static final Map<Long, VoteCacheEntity> voteLog = new HashMap<>();
+    private static final VoteLog voteLog = new VoteLog();
     private static final VoteMessenger messenger = new VoteMessenger();
     private static long lastCheck = -1;
 
+    /**
+     * The time in milliseconds that users without an active vote are kept
+     * in the vote log for after they were looked up in the database.
+     */
+    private static final long RETENTION = TimeUnit.HOURS.toMillis(1);
+
     private final Xeus avaire;
+    private final VoteBatchWriter batchWriter;
 
     /**
      * Creates the vote manager instance with the given Xeus
@@ -62,6 +69,7 @@ public class VoteManager {
      */
     public VoteManager(Xeus avaire) {
         this.avaire = avaire;
+        this.batchWriter = new VoteBatchWriter(avaire.getDatabase());
 
         for (VoteMetricType type : VoteMetricType.values()) {
             Metrics.dblVotes.labels(type.getName()).inc(0);
@@ -88,17 +96,26 @@ public class VoteManager {
     }
 
     /**
-     * Gets the vote log, the key is the ID of the user that the vote
-     * cache entity was created for, and the value is the vote cache
-     * entity itself, containing information about the user, and
-     * when their vote expires.
+     * Gets the vote log, the log holds the vote cache entity for every user
+     * with an active vote, containing information about the user, and when
+     * their vote expires, as well as the users that was recently looked up.
      *
-     * @return The vote cache entity vote log map.
+     * @return The vote log.
      */
-    public Map<Long, VoteCacheEntity> getVoteLog() {
+    public VoteLog getVoteLog() {
         return voteLog;
     }
 
+    /**
+     * Gets the vote batch writer, the writer holds the votes that
+     * are still waiting to be written to the database.
+     *
+     * @return The vote batch writer.
+     */
+    public VoteBatchWriter getBatchWriter() {
+        return batchWriter;
+    }
+
     /**
      * Gets the delayed vote entity queue, the queue will contain any vote
      * entity that still needs to be checked directly with the DBL API.
@@ -163,7 +180,7 @@ public class VoteManager {
      * @return <code>True</code> if the user has voted in the last 12 hours.
      */
     public boolean hasVoted(long userId) {
-        return !isEnabled() || voteLog.containsKey(userId) && voteLog.get(userId).getCarbon().isFuture();
+        return !isEnabled() || voteLog.hasActiveVote(userId);
     }
 
     /**
@@ -202,10 +219,11 @@ public class VoteManager {
      */
     @Nullable
     public Carbon getExpireTime(long userId) {
-        if (!voteLog.containsKey(userId)) {
+        VoteCacheEntity entity = voteLog.get(userId);
+        if (entity == null) {
             return null;
         }
-        return voteLog.get(userId).getCarbon().copy();
+        return entity.getCarbon().copy();
     }
 
     /**
@@ -213,12 +231,14 @@ public class VoteManager {
      *
      * @param member The member that the vote should be registered for.
      * @param points The amount of points to reward the user.
+     * @return A future that completes with the vote cache entity for the member once the vote
+     * has been written to the database, or <code>NULL</code> if no vote was registered.
      */
-    public void registerVoteFor(@Nullable Member member, int points) {
+    public CompletableFuture<VoteCacheEntity> registerVoteFor(@Nullable Member member, int points) {
         if (member == null) {
-            return;
+            return CompletableFuture.completedFuture(null);
         }
-        registerVoteFor(member.getUser().getIdLong(), points);
+        return registerVoteFor(member.getUser().getIdLong(), points);
     }
 
     /**
@@ -226,68 +246,72 @@ public class VoteManager {
      *
      * @param user   The user that the vote should be registered for.
      * @param points The amount of points to reward the user.
+     * @return A future that completes with the vote cache entity for the user once the vote
+     * has been written to the database, or <code>NULL</code> if no vote was registered.
      */
-    public void registerVoteFor(@Nullable User user, int points) {
+    public CompletableFuture<VoteCacheEntity> registerVoteFor(@Nullable User user, int points) {
         if (user == null) {
-            return;
+            return CompletableFuture.completedFuture(null);
         }
-        registerVoteFor(user.getIdLong(), points);
+        return registerVoteFor(user.getIdLong(), points);
     }
 
     /**
-     * Registers a new vote for the given user ID.
+     * Registers a new vote for the given user ID that expires in 12 hours.
      *
      * @param userId The user ID that the vote should be registered for.
      * @param points The amount of points to reward the user.
+     * @return A future that completes with the vote cache entity for the user once the vote
+     * has been written to the database, or <code>NULL</code> if no vote was registered.
      */
-    public void registerVoteFor(long userId, int points) {
-        if (!isEnabled()) {
-            return;
-        }
-
-        points = Math.max(1, points);
+    public CompletableFuture<VoteCacheEntity> registerVoteFor(long userId, int points) {
+        return registerVoteFor(userId, points, Carbon.now().addHours(12));
+    }
 
-        if (!voteLog.containsKey(userId)) {
-            voteLog.put(userId, new VoteCacheEntity(
-                userId, Carbon.now().addHours(12)
-            ));
+    /**
+     * Registers a new vote for the given user ID, the vote is active in the vote log right
+     * away, while the vote itself is queued, and written to the database together with
+     * any other votes that comes in around the same time.
+     *
+     * @param userId    The user ID that the vote should be registered for.
+     * @param points    The amount of points to reward the user.
+     * @param expiresIn The time the vote expires.
+     * @return A future that completes with the vote cache entity for the user once the vote
+     * has been written to the database, or <code>NULL</code> if no vote was registered.
+     */
+    public CompletableFuture<VoteCacheEntity> registerVoteFor(long userId, int points, @Nonnull Carbon expiresIn) {
+        if (!isEnabled()) {
+            return CompletableFuture.completedFuture(null);
         }
 
-        try {
-            Collection collection = avaire.getDatabase().newQueryBuilder(Constants.BOT_VOTES_TABLE_NAME)
-                .where("user_id", userId).take(1).get();
+        VoteCacheEntity voteEntity = voteLog.putIfAbsent(userId, new VoteCacheEntity(userId, expiresIn), 0L);
+        voteEntity.setCarbon(expiresIn);
 
-            int finalPoints = points;
-            if (collection.isEmpty()) {
-                avaire.getDatabase().newQueryBuilder(Constants.BOT_VOTES_TABLE_NAME)
-                    .insert(statement -> {
-                        statement.set("user_id", userId);
-                        statement.set("expires_in", voteLog.get(userId).getCarbon().toDayDateTimeString());
-                        statement.set("points", finalPoints);
-                        statement.set("points_total", finalPoints);
-                    });
+        return batchWriter.queue(userId, Math.max(1, points), expiresIn).handle((stored, error) -> {
+            if (error != null) {
+                log.error("An SQLException was thrown while updating user vote information: ", error);
 
-                voteLog.get(userId).setVotePoints(finalPoints);
-
-                return;
+                // The vote was never written, so the user is removed from the vote log
+                // to have their actual vote state looked up from the database again.
+                voteLog.remove(userId);
+                return voteEntity;
             }
 
-            avaire.getDatabase().newQueryBuilder(Constants.BOT_VOTES_TABLE_NAME)
-                .useAsync(true)
-                .where("user_id", userId)
-                .update(statement -> {
-                    statement.set("expires_in", voteLog.get(userId).getCarbon().toDayDateTimeString());
-                    statement.setRaw("points", "`points` + " + finalPoints);
-                    statement.setRaw("points_total", "`points_total` + " + finalPoints);
-                });
+            voteEntity.setVotePoints(stored.getVotePoints());
+            voteEntity.setOptIn(stored.isOptIn());
 
-            VoteCacheEntity voteEntity = voteLog.get(userId);
+            return voteEntity;
+        });
+    }
 
-            voteEntity.setVotePoints(collection.first().getInt("points", 1) + finalPoints);
-            voteEntity.setOptIn(collection.first().getBoolean("opt_in", true));
-        } catch (SQLException e) {
-            log.error("An SQLException was thrown while updating user vote information: ", e);
-        }
+    /**
+     * Writes all the votes that are waiting to be written to the database.
+     *
+     * @return The amount of users that had their votes written.
+     * @throws SQLException If the existing vote records fails to be looked up.
+     */
+    public int flushPendingVotes() throws SQLException {
+        return batchWriter.flush();
     }
 
     @Nullable
@@ -297,30 +321,32 @@ public class VoteManager {
 
     @Nullable
     public VoteCacheEntity getVoteEntity(long userId) {
-        if (voteLog.containsKey(userId)) {
-            return voteLog.get(userId);
+        VoteCacheEntity voteEntity = voteLog.get(userId);
+        if (voteEntity != null || voteLog.isKnown(userId)) {
+            return voteEntity;
         }
 
         try {
             Collection collection = avaire.getDatabase().newQueryBuilder(Constants.BOT_VOTES_TABLE_NAME)
+                .select("user_id", "points", "opt_in", "expires_in")
                 .where("user_id", userId).take(1).get();
 
+            // Users without a vote record are remembered in the vote log as well, so
+            // they're not looked up again until they're evicted from the log.
             if (collection.isEmpty()) {
+                voteLog.put(userId, null, System.currentTimeMillis() + RETENTION);
                 return null;
             }
 
             DataRow row = collection.first();
+            Carbon expiresIn = row.getTimestamp("expires_in");
 
-            VoteCacheEntity voteCacheEntity = new VoteCacheEntity(
+            return voteLog.putIfAbsent(userId, new VoteCacheEntity(
                 row.getLong("user_id"),
                 row.getInt("points", 0),
                 row.getBoolean("opt_in", true),
-                row.getTimestamp("expires_in")
-            );
-
-            voteLog.put(voteCacheEntity.getUserId(), voteCacheEntity);
-
-            return voteCacheEntity;
+                expiresIn == null ? Carbon.now().subDay() : expiresIn
+            ), System.currentTimeMillis() + RETENTION);
         } catch (SQLException ignored) {
             return null;
         }
@@ -352,13 +378,21 @@ public class VoteManager {
             return voteEntity;
         }
 
-        voteEntity = new VoteCacheEntity(
+        return voteLog.putIfAbsent(userId, new VoteCacheEntity(
             userId, 0, true, Carbon.now().subDay()
-        );
-
-        voteLog.put(userId, voteEntity);
+        ), System.currentTimeMillis() + RETENTION);
+    }
 
-        return voteEntity;
+    /**
+     * Removes the given user from the vote log, forcing the vote state for the
+     * user to be looked up in the database again the next time it's needed,
+     * this should be called whenever a vote record is created for a user
+     * outside of the vote manager.
+     *
+     * @param userId The ID of the user that should be removed from the vote log.
+     */
+    public void forgetVoteEntity(long userId) {
+        voteLog.remove(userId);
     }
 
     /**
@@ -373,12 +407,16 @@ public class VoteManager {
     private void syncWithDatabase() {
         log.info("Syncing votes with the database...");
         try {
-            Collection collection = avaire.getDatabase().newQueryBuilder(Constants.BOT_VOTES_TABLE_NAME).get();
+            Collection collection = avaire.getDatabase().newQueryBuilder(Constants.BOT_VOTES_TABLE_NAME)
+                .select("user_id", "points", "opt_in", "expires_in")
+                .get();
 
             if (collection.isEmpty()) {
                 return;
             }
 
+            // The expiry time is stored as a formatted date string, so expired
+            // votes can't be filtered out by the query, and are skipped here.
             int size = voteLog.size();
             for (DataRow row : collection) {
                 Carbon expiresIn = row.getTimestamp("expires_in");
@@ -390,7 +428,7 @@ public class VoteManager {
                     row.getInt("points", 0),
                     row.getBoolean("opt_in", true),
                     expiresIn
-                ));
+                ), 0L);
             }
 
             log.info("Syncing complete! {} vote entries was found that has not expired yet and was added to the vote log!",
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.workflow;
+
+import com.pinewoodbuilders.database.collection.DataRow;
+
+import javax.annotation.Nullable;
+
+/**
+ * The state of a single workflow message, like a report or a reward request,
+ * the workflow holds the row that backs the workflow message, so the row only
+ * has to be loaded once no matter how many times the message is interacted
+ * with, and the prompt the bot is waiting for input on, if any.
+ * <p>
+ * The state of the workflow is guarded by the workflow instance itself.
+ */
+public class Workflow {
+
+    private final long id;
+    private final WorkflowType type;
+    private final long guildId;
+    private final long channelId;
+    private final long messageId;
+
+    private WorkflowState state;
+    private DataRow data;
+
+    private WorkflowAction promptAction;
+    private long promptUserId;
+    private long promptChannelId;
+    private long promptMessageId;
+    private long promptExpiresAt;
+    private int revision = 0;
+
+    Workflow(long id, WorkflowType type, long guildId, long channelId, long messageId, WorkflowState state) {
+        this.id = id;
+        this.type = type;
+        this.guildId = guildId;
+        this.channelId = channelId;
+        this.messageId = messageId;
+        this.state = state;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public WorkflowType getType() {
+        return type;
+    }
+
+    public long getGuildId() {
+        return guildId;
+    }
+
+    public long getChannelId() {
+        return channelId;
+    }
+
+    public long getMessageId() {
+        return messageId;
+    }
+
+    public synchronized WorkflowState getState() {
+        return state;
+    }
+
+    synchronized void setState(WorkflowState state) {
+        this.state = state;
+    }
+
+    /**
+     * Gets the row that backs the workflow message.
+     *
+     * @return The row that backs the workflow message, or <code>NULL</code> if the
+     * workflow type doesn't require a row, and the message doesn't have one.
+     */
+    @Nullable
+    public DataRow getData() {
+        return data;
+    }
+
+    void setData(@Nullable DataRow data) {
+        this.data = data;
+    }
+
+    /**
+     * Gets the action the bot is waiting for input on.
+     *
+     * @return The action the bot is waiting for input on, or <code>NULL</code> if there are no prompt.
+     */
+    @Nullable
+    public synchronized WorkflowAction getPromptAction() {
+        return promptAction;
+    }
+
+    public synchronized long getPromptUserId() {
+        return promptUserId;
+    }
+
+    public synchronized long getPromptChannelId() {
+        return promptChannelId;
+    }
+
+    public synchronized long getPromptMessageId() {
+        return promptMessageId;
+    }
+
+    public synchronized long getPromptExpiresAt() {
+        return promptExpiresAt;
+    }
+
+    synchronized void setPrompt(@Nullable WorkflowAction action, long userId, long channelId, long messageId, long expiresAt) {
+        this.promptAction = action;
+        this.promptUserId = userId;
+        this.promptChannelId = channelId;
+        this.promptMessageId = messageId;
+        this.promptExpiresAt = expiresAt;
+    }
+
+    synchronized int getRevision() {
+        return revision;
+    }
+
+    synchronized void setRevision(int revision) {
+        this.revision = revision;
+    }
+
+    /**
+     * Checks if the workflow can still be acted on.
+     *
+     * @return <code>True</code> if the workflow is open, <code>False</code> otherwise.
+     */
+    public boolean isOpen() {
+        return !getState().isFinished();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.workflow;
+
+import javax.annotation.Nullable;
+
+public enum WorkflowAction {
+
+    /**
+     * The input is the punishment, reward or reason for approving the workflow.
+     */
+    APPROVE,
+
+    /**
+     * The input is the reason for rejecting the workflow.
+     */
+    REJECT,
+
+    /**
+     * The input is a comment that should be added to the workflow.
+     */
+    COMMENT;
+
+    @Nullable
+    public static WorkflowAction fromName(@Nullable String name) {
+        if (name == null) {
+            return null;
+        }
+
+        for (WorkflowAction action : values()) {
+            if (action.name().equalsIgnoreCase(name)) {
+                return action;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,490 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.workflow;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.pinewoodbuilders.Constants;
+import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.database.collection.Collection;
+import com.pinewoodbuilders.database.collection.DataRow;
+import com.pinewoodbuilders.utilities.RestActionUtil;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.TextChannel;
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Keeps track of the state of report, remittance, suggestion and reward
+ * request messages, every workflow message has a single state row in the
+ * database, which is loaded together with the row that backs the message
+ * the first time the message is interacted with, and then cached.
+ * <p>
+ * Prompts the bot is waiting for input on are stored on the state row
+ * instead of in event waiter closures, so prompts that were sent before
+ * the bot restarted can still be answered, and requests to external
+ * services are run on a bounded executor instead of the JDA threads.
+ */
+public class WorkflowManager {
+
+    /**
+     * The amount of time in milliseconds a prompt is waiting for input before it expires.
+     */
+    public static final long defaultPromptTimeout = TimeUnit.MINUTES.toMillis(30);
+
+    private static final Logger log = LoggerFactory.getLogger(WorkflowManager.class);
+
+    private final Xeus avaire;
+
+    private final ExecutorService executor = new ThreadPoolExecutor(
+        2, 4, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(256),
+        new ThreadFactoryBuilder()
+            .setNameFormat("avaire-workflow-thread-%d")
+            .build()
+    );
+
+    private final Cache<Long, Workflow> cache = CacheBuilder.newBuilder()
+        .maximumSize(5000)
+        .expireAfterAccess(30, TimeUnit.MINUTES)
+        .build();
+
+    /**
+     * The workflows that are waiting for input, mapped by their message ID, workflows
+     * waiting for input are kept here so they're never evicted from the cache.
+     */
+    private final Map<Long, Workflow> awaiting = new ConcurrentHashMap<>();
+
+    /**
+     * The message IDs of the workflows that are waiting for input,
+     * mapped by the channel and user the input is expected from.
+     */
+    private final Map<String, Long> prompts = new ConcurrentHashMap<>();
+
+    /**
+     * The workflows that are currently being loaded from the database, mapped by their message ID.
+     */
+    private final Map<Long, CompletableFuture<Workflow>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new workflow manager.
+     *
+     * @param avaire The Xeus application class instance.
+     */
+    public WorkflowManager(Xeus avaire) {
+        this.avaire = avaire;
+    }
+
+    /**
+     * Loads the workflows that were waiting for input when the bot was last shut down.
+     *
+     * @throws SQLException If the workflows fails to load from the database.
+     */
+    public void loadPendingPrompts() throws SQLException {
+        for (DataRow row : avaire.getDatabase().newQueryBuilder(Constants.WORKFLOW_STATES_TABLE_NAME)
+            .where("state", WorkflowState.AWAITING_INPUT.name())
+            .get()) {
+            Workflow workflow = createFromRow(row);
+            if (workflow == null) {
+                continue;
+            }
+
+            Collection data = avaire.getDatabase().newQueryBuilder(workflow.getType().getTable())
+                .where(workflow.getType().getMessageColumn(), workflow.getMessageId())
+                .get();
+
+            if (data.isEmpty() && workflow.getType().isDataRequired()) {
+                workflow.setState(WorkflowState.DELETED);
+                workflow.setPrompt(null, 0, 0, 0, 0);
+                store(workflow);
+                continue;
+            }
+
+            workflow.setData(data.isEmpty() ? null : data.first());
+            awaiting.put(workflow.getMessageId(), workflow);
+            prompts.put(promptKey(workflow.getPromptChannelId(), workflow.getPromptUserId()), workflow.getMessageId());
+        }
+
+        if (!awaiting.isEmpty()) {
+            log.info("Restored {} workflow prompts that are waiting for input", awaiting.size());
+        }
+    }
+
+    /**
+     * Loads the workflow for the given message, creating the state row for the
+     * workflow if the message hasn't been interacted with before, workflows
+     * are cached, so subsequent loads for the same message are free.
+     *
+     * @param type      The type of workflow the message belongs to.
+     * @param guildId   The ID of the guild the message was sent in.
+     * @param channelId The ID of the channel the message was sent in.
+     * @param messageId The ID of the workflow message.
+     * @return The workflow for the message, or <code>NULL</code> if the message doesn't belong to a workflow,
+     * messages for workflow types that requires a row in the workflow table only belongs to a workflow
+     * if the row exists.
+     * @throws SQLException If the workflow fails to load from the database.
+     */
+    @Nullable
+    public Workflow load(WorkflowType type, long guildId, long channelId, long messageId) throws SQLException {
+        Workflow workflow = getCached(messageId);
+        if (workflow != null) {
+            return workflow.getType() == type ? workflow : null;
+        }
+
+        // Only a single load is ever running for any given message, concurrent loads for the
+        // same message waits for that load to finish, while loads for other messages can
+        // run in parallel, so the state row is never created twice for one message.
+        CompletableFuture<Workflow> future = new CompletableFuture<>();
+        CompletableFuture<Workflow> inFlight = loading.putIfAbsent(messageId, future);
+        if (inFlight != null) {
+            workflow = await(inFlight);
+            return workflow != null && workflow.getType() == type ? workflow : null;
+        }
+
+        try {
+            workflow = getCached(messageId);
+            if (workflow == null) {
+                workflow = loadFromDatabase(type, guildId, channelId, messageId);
+                if (workflow != null) {
+                    cache.put(messageId, workflow);
+                }
+            }
+            future.complete(workflow);
+        } catch (SQLException | RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(messageId, future);
+        }
+
+        return workflow != null && workflow.getType() == type ? workflow : null;
+    }
+
+    @Nullable
+    private Workflow loadFromDatabase(WorkflowType type, long guildId, long channelId, long messageId) throws SQLException {
+        Collection data = avaire.getDatabase().newQueryBuilder(type.getTable())
+            .where(type.getMessageColumn(), messageId)
+            .get();
+
+        if (data.isEmpty() && type.isDataRequired()) {
+            return null;
+        }
+
+        Workflow workflow;
+        Collection rows = avaire.getDatabase().newQueryBuilder(Constants.WORKFLOW_STATES_TABLE_NAME)
+            .where("message_id", messageId)
+            .get();
+
+        if (rows.isEmpty()) {
+            Collection created = avaire.getDatabase().newQueryBuilder(Constants.WORKFLOW_STATES_TABLE_NAME)
+                .insert(statement -> {
+                    statement.set("type", type.name());
+                    statement.set("guild_id", guildId);
+                    statement.set("channel_id", channelId);
+                    statement.set("message_id", messageId);
+                    statement.set("state", WorkflowState.OPEN.name());
+                });
+
+            if (created.isEmpty()) {
+                throw new SQLException("The workflow state was stored, but no ID was returned");
+            }
+
+            workflow = new Workflow(created.first().getLong("id"), type, guildId, channelId, messageId, WorkflowState.OPEN);
+        } else {
+            workflow = createFromRow(rows.first());
+            if (workflow == null || workflow.getType() != type) {
+                return null;
+            }
+        }
+
+        workflow.setData(data.isEmpty() ? null : data.first());
+
+        return workflow;
+    }
+
+    @Nullable
+    private Workflow await(CompletableFuture<Workflow> future) throws SQLException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the workflow to load", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException("Failed to load the workflow: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Stores the given prompt message as the prompt the workflow is waiting for input on, any
+     * previous prompt for the workflow is replaced, and its prompt message is deleted.
+     *
+     * @param workflow The workflow the prompt belongs to.
+     * @param action   The action the input is for.
+     * @param userId   The ID of the user the input is expected from.
+     * @param prompt   The prompt message that was sent to the user.
+     * @param timeout  The amount of time in milliseconds the prompt should wait for input.
+     * @return <code>True</code> if the prompt was stored, <code>False</code> if the workflow has already finished.
+     */
+    public boolean prompt(Workflow workflow, WorkflowAction action, long userId, Message prompt, long timeout) {
+        long previousChannelId;
+        long previousMessageId;
+
+        synchronized (workflow) {
+            if (!workflow.isOpen()) {
+                prompt.delete().queue(null, RestActionUtil.ignore);
+                return false;
+            }
+
+            previousChannelId = workflow.getPromptChannelId();
+            previousMessageId = workflow.getPromptMessageId();
+            if (previousMessageId != 0) {
+                prompts.remove(promptKey(previousChannelId, workflow.getPromptUserId()), workflow.getMessageId());
+            }
+
+            workflow.setState(WorkflowState.AWAITING_INPUT);
+            workflow.setPrompt(action, userId, prompt.getChannel().getIdLong(), prompt.getIdLong(), System.currentTimeMillis() + timeout);
+
+            awaiting.put(workflow.getMessageId(), workflow);
+            prompts.put(promptKey(prompt.getChannel().getIdLong(), userId), workflow.getMessageId());
+        }
+
+        deletePromptMessage(previousChannelId, previousMessageId);
+        store(workflow);
+
+        return true;
+    }
+
+    /**
+     * Gets the workflow that is waiting for input from the author of the
+     * given message, in the channel the message was sent in.
+     *
+     * @param event The message received event.
+     * @return The workflow waiting for the input, or <code>NULL</code> if there are none.
+     */
+    @Nullable
+    public Workflow getPrompt(MessageReceivedEvent event) {
+        if (prompts.isEmpty()) {
+            return null;
+        }
+
+        Long messageId = prompts.get(promptKey(event.getChannel().getIdLong(), event.getAuthor().getIdLong()));
+        if (messageId == null) {
+            return null;
+        }
+
+        Workflow workflow = awaiting.get(messageId);
+        if (workflow == null || workflow.getPromptExpiresAt() < System.currentTimeMillis()) {
+            return null;
+        }
+        return workflow;
+    }
+
+    /**
+     * Moves the workflow to the given state, clearing the prompt the workflow
+     * was waiting for input on, if any, and deleting the prompt message.
+     *
+     * @param workflow The workflow that should be moved to the given state.
+     * @param state    The state the workflow should be moved to.
+     * @return <code>True</code> if the workflow was moved, <code>False</code> if the workflow has already finished.
+     */
+    public boolean transition(Workflow workflow, WorkflowState state) {
+        long promptChannelId;
+        long promptMessageId;
+
+        synchronized (workflow) {
+            if (!workflow.isOpen()) {
+                return false;
+            }
+
+            promptChannelId = workflow.getPromptChannelId();
+            promptMessageId = workflow.getPromptMessageId();
+            if (promptMessageId != 0) {
+                prompts.remove(promptKey(promptChannelId, workflow.getPromptUserId()), workflow.getMessageId());
+            }
+            awaiting.remove(workflow.getMessageId());
+
+            workflow.setState(state);
+            workflow.setPrompt(null, 0, 0, 0, 0);
+            cache.put(workflow.getMessageId(), workflow);
+        }
+
+        deletePromptMessage(promptChannelId, promptMessageId);
+        store(workflow);
+
+        return true;
+    }
+
+    /**
+     * Moves all the workflows with a prompt that has expired back to the open state.
+     */
+    public void expirePrompts() {
+        long now = System.currentTimeMillis();
+
+        List<Workflow> expired = new ArrayList<>();
+        for (Workflow workflow : awaiting.values()) {
+            if (workflow.getPromptExpiresAt() < now) {
+                expired.add(workflow);
+            }
+        }
+
+        for (Workflow workflow : expired) {
+            log.debug("The prompt for {} workflow {} has expired", workflow.getType().name().toLowerCase(), workflow.getMessageId());
+            transition(workflow, WorkflowState.OPEN);
+        }
+    }
+
+    /**
+     * Runs the given supplier on the workflow executor, the executor is used for
+     * requests to external services, so they never block the JDA threads.
+     *
+     * @param supplier The supplier that should be run.
+     * @param <T>      The type of value returned by the supplier.
+     * @return A future that completes with the value returned by the supplier.
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Runs the given runnable on the workflow executor.
+     *
+     * @param runnable The runnable that should be run.
+     * @return A future that completes once the runnable has been run.
+     */
+    public CompletableFuture<Void> runAsync(Runnable runnable) {
+        try {
+            return CompletableFuture.runAsync(runnable, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Nullable
+    private Workflow getCached(long messageId) {
+        Workflow workflow = awaiting.get(messageId);
+        return workflow != null ? workflow : cache.getIfPresent(messageId);
+    }
+
+    @Nullable
+    private Workflow createFromRow(DataRow row) {
+        WorkflowType type = WorkflowType.fromName(row.getString("type"));
+        WorkflowState state = WorkflowState.fromName(row.getString("state"));
+        if (type == null || state == null) {
+            log.warn("Workflow state #{} has an unknown type or state, skipping it", row.getLong("id"));
+            return null;
+        }
+
+        Workflow workflow = new Workflow(row.getLong("id"), type,
+            row.getLong("guild_id"), row.getLong("channel_id"), row.getLong("message_id"), state
+        );
+
+        workflow.setRevision(row.getInt("revision"));
+
+        WorkflowAction action = WorkflowAction.fromName(row.getString("prompt_action"));
+        if (state == WorkflowState.AWAITING_INPUT && action != null) {
+            workflow.setPrompt(action,
+                row.getLong("prompt_user_id"), row.getLong("prompt_channel_id"),
+                row.getLong("prompt_message_id"), row.getLong("prompt_expires_at")
+            );
+        } else if (state == WorkflowState.AWAITING_INPUT) {
+            workflow.setState(WorkflowState.OPEN);
+        }
+
+        return workflow;
+    }
+
+    private void store(Workflow workflow) {
+        WorkflowState state;
+        WorkflowAction action;
+        long promptUserId, promptChannelId, promptMessageId, promptExpiresAt;
+        int revision;
+
+        synchronized (workflow) {
+            state = workflow.getState();
+            action = workflow.getPromptAction();
+            promptUserId = workflow.getPromptUserId();
+            promptChannelId = workflow.getPromptChannelId();
+            promptMessageId = workflow.getPromptMessageId();
+            promptExpiresAt = workflow.getPromptExpiresAt();
+            revision = workflow.getRevision() + 1;
+            workflow.setRevision(revision);
+        }
+
+        try {
+            // Async updates can run out of order, so the revision makes sure
+            // an older state never overwrites a newer state for the workflow.
+            avaire.getDatabase().newQueryBuilder(Constants.WORKFLOW_STATES_TABLE_NAME)
+                .useAsync(true)
+                .where("id", workflow.getId())
+                .andWhere("revision", "<", revision)
+                .update(statement -> {
+                    statement.set("state", state.name());
+                    statement.set("prompt_action", action == null ? null : action.name());
+                    statement.set("prompt_user_id", promptUserId);
+                    statement.set("prompt_channel_id", promptChannelId);
+                    statement.set("prompt_message_id", promptMessageId);
+                    statement.set("prompt_expires_at", promptExpiresAt);
+                    statement.set("revision", revision);
+                });
+        } catch (SQLException e) {
+            log.error("Failed to store the state for workflow #{}: {}", workflow.getId(), e.getMessage(), e);
+        }
+    }
+
+    private void deletePromptMessage(long channelId, long messageId) {
+        if (messageId == 0) {
+            return;
+        }
+
+        TextChannel channel = avaire.getShardManager().getTextChannelById(channelId);
+        if (channel != null) {
+            channel.deleteMessageById(messageId).queue(null, RestActionUtil.ignore);
+        }
+    }
+
+    private String promptKey(long channelId, long userId) {
+        return channelId + ":" + userId;
+    }
+}
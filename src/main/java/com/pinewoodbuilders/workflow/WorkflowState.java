@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.workflow;
+
+import javax.annotation.Nullable;
+
+public enum WorkflowState {
+
+    /**
+     * The workflow is waiting for someone to act on it.
+     */
+    OPEN(false),
+
+    /**
+     * Someone has acted on the workflow, and the bot is waiting for them to send their input.
+     */
+    AWAITING_INPUT(false),
+
+    /**
+     * The workflow has been approved.
+     */
+    APPROVED(true),
+
+    /**
+     * The workflow has been rejected.
+     */
+    REJECTED(true),
+
+    /**
+     * The workflow message has been deleted.
+     */
+    DELETED(true);
+
+    private final boolean finished;
+
+    WorkflowState(boolean finished) {
+        this.finished = finished;
+    }
+
+    @Nullable
+    public static WorkflowState fromName(String name) {
+        for (WorkflowState state : values()) {
+            if (state.name().equalsIgnoreCase(name)) {
+                return state;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if the state is final, workflows in a final state can't be acted on anymore.
+     *
+     * @return <code>True</code> if the state is final, <code>False</code> otherwise.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.workflow;
+
+import com.pinewoodbuilders.Constants;
+
+import javax.annotation.Nullable;
+
+public enum WorkflowType {
+
+    /**
+     * Handbook reports sent through the report button flow.
+     */
+    REPORT(Constants.REPORTS_DATABASE_TABLE_NAME, "report_message_id", true),
+
+    /**
+     * Patrol remittance requests sent through the remittance button flow.
+     */
+    REMITTANCE(Constants.REMITTANCE_DATABASE_TABLE_NAME, "request_message_id", true),
+
+    /**
+     * Suggestions sent to the suggestion or community suggestion channels, suggestions
+     * can still be acted on after their row has been removed from the database.
+     */
+    SUGGESTION(Constants.PB_SUGGESTIONS_TABLE_NAME, "suggestion_message_id", false),
+
+    /**
+     * Reward requests sent to the reward request channel.
+     */
+    REWARD_REQUEST(Constants.REWARD_REQUESTS_TABLE_NAME, "message_id", true);
+
+    private final String table;
+    private final String messageColumn;
+    private final boolean dataRequired;
+
+    WorkflowType(String table, String messageColumn, boolean dataRequired) {
+        this.table = table;
+        this.messageColumn = messageColumn;
+        this.dataRequired = dataRequired;
+    }
+
+    @Nullable
+    public static WorkflowType fromName(String name) {
+        for (WorkflowType type : values()) {
+            if (type.name().equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the name of the table that holds the data for the workflow type.
+     *
+     * @return The name of the table that holds the workflow data.
+     */
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * Gets the column in the workflow table that holds the ID of the workflow message.
+     *
+     * @return The name of the column that holds the workflow message ID.
+     */
+    public String getMessageColumn() {
+        return messageColumn;
+    }
+
+    /**
+     * Checks if messages must have a row in the workflow table to belong to the workflow.
+     *
+     * @return <code>True</code> if the row is required, <code>False</code> otherwise.
+     */
+    public boolean isDataRequired() {
+        return dataRequired;
+    }
+}
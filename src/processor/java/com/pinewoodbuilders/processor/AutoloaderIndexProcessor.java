@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Generates the autoloader index used by the <code>AutoloaderUtil</code> at compile time, the
+ * index lists every class that implements the <code>Reflectional</code> interface, which
+ * allows the autoloader to find the classes it should load without having to scan the
+ * classpath for them when the application is starting up.
+ * <p>
+ * Classes in a <code>contracts</code> package, abstract classes, and classes that
+ * can't be instantiated from outside their own package are left out of the index,
+ * the autoloader would skip or fail to load them either way.
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(AutoloaderIndexProcessor.ROOT_PACKAGE_OPTION)
+public class AutoloaderIndexProcessor extends AbstractProcessor {
+
+    /**
+     * The processor option used to set the root package the index covers.
+     */
+    static final String ROOT_PACKAGE_OPTION = "autoloader.rootPackage";
+
+    private static final String REFLECTIONAL_TYPE = "com.pinewoodbuilders.contracts.reflection.Reflectional";
+    private static final String INDEX_PACKAGE = "com.pinewoodbuilders.utilities";
+    private static final String INDEX_NAME = "GeneratedAutoloaderIndex";
+
+    private boolean generated = false;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (generated || roundEnv.processingOver() || roundEnv.getRootElements().isEmpty()) {
+            return false;
+        }
+
+        TypeElement reflectional = processingEnv.getElementUtils().getTypeElement(REFLECTIONAL_TYPE);
+        if (reflectional == null) {
+            return false;
+        }
+
+        Set<String> types = new TreeSet<>();
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            collect(type, processingEnv.getTypeUtils().erasure(reflectional.asType()), types);
+        }
+
+        write(types);
+        generated = true;
+
+        return false;
+    }
+
+    private void collect(TypeElement type, TypeMirror reflectional, Set<String> types) {
+        for (TypeElement member : ElementFilter.typesIn(type.getEnclosedElements())) {
+            collect(member, reflectional, types);
+        }
+
+        if (type.getKind() != ElementKind.CLASS
+            || type.getModifiers().contains(Modifier.ABSTRACT)
+            || !processingEnv.getTypeUtils().isAssignable(type.asType(), reflectional)) {
+            return;
+        }
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        if (packageName.contains("contracts")) {
+            return;
+        }
+
+        if (!isAccessible(type)) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                type.getQualifiedName() + " implements Reflectional but is not public, so it can't be autoloaded",
+                type
+            );
+            return;
+        }
+
+        types.add(type.getQualifiedName().toString());
+    }
+
+    private boolean isAccessible(TypeElement type) {
+        Element element = type;
+        while (element instanceof TypeElement typeElement) {
+            if (!typeElement.getModifiers().contains(Modifier.PUBLIC)) {
+                return false;
+            }
+
+            if (typeElement.getNestingKind() == NestingKind.MEMBER && !typeElement.getModifiers().contains(Modifier.STATIC)) {
+                return false;
+            }
+            element = typeElement.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private void write(Set<String> types) {
+        String rootPackage = processingEnv.getOptions().getOrDefault(ROOT_PACKAGE_OPTION, "com.pinewoodbuilders");
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(INDEX_PACKAGE + "." + INDEX_NAME).openWriter()) {
+            writer.write("package " + INDEX_PACKAGE + ";\n\n");
+            writer.write("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")\n");
+            writer.write("public final class " + INDEX_NAME + " {\n\n");
+            writer.write("    public static final String ROOT_PACKAGE = \"" + rootPackage + "\";\n\n");
+            writer.write("    private " + INDEX_NAME + "() {\n    }\n\n");
+            writer.write("    public static Class<?>[] getTypes() {\n");
+            writer.write("        return new Class<?>[]{\n");
+            for (String type : types) {
+                writer.write("            " + type + ".class,\n");
+            }
+            writer.write("        };\n    }\n}\n");
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "Failed to write the autoloader index: " + e.getMessage()
+            );
+        }
+    }
+}
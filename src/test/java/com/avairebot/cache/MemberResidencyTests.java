@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+
+package com.avairebot.cache;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.cache.member.MemberResidency;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MemberResidencyTests extends BaseTest {
+
+    private List<String> unloaded;
+    private MemberResidency residency;
+
+    @Before
+    public void setUp() {
+        unloaded = new ArrayList<>();
+        residency = new MemberResidency(2, (guildId, userId) -> unloaded.add(guildId + ":" + userId), Runnable::run);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedMemberIsUnloaded() {
+        residency.touch(1L, 10L);
+        residency.touch(1L, 11L);
+        residency.touch(1L, 10L);
+        residency.touch(1L, 12L);
+
+        assertEquals(List.of("1:11"), unloaded);
+        assertTrue(residency.isResident(1L, 10L));
+        assertFalse(residency.isResident(1L, 11L));
+        assertEquals(2, residency.size());
+        assertEquals(1, residency.getEvictions());
+    }
+
+    @Test
+    public void testRefreshedMembersAreUnloadedLast() {
+        residency.touch(1L, 10L);
+        residency.touch(1L, 11L);
+        residency.refresh(1L, 10L);
+        residency.touch(1L, 12L);
+
+        assertEquals(List.of("1:11"), unloaded);
+        assertTrue(residency.isResident(1L, 10L));
+    }
+
+    @Test
+    public void testRefreshDoesNotMakeMembersResident() {
+        residency.refresh(1L, 10L);
+
+        assertFalse(residency.isResident(1L, 10L));
+        assertEquals(0, residency.size());
+    }
+
+    @Test
+    public void testEvictedMembersAreUnloadedThroughTheExecutor() {
+        List<Runnable> tasks = new ArrayList<>();
+        residency = new MemberResidency(2, (guildId, userId) -> unloaded.add(guildId + ":" + userId), tasks::add);
+
+        residency.touch(1L, 10L);
+        residency.touch(1L, 11L);
+        residency.touch(1L, 12L);
+        assertTrue(unloaded.isEmpty());
+        assertEquals(1, tasks.size());
+
+        tasks.forEach(Runnable::run);
+        assertEquals(List.of("1:10"), unloaded);
+    }
+
+    @Test
+    public void testMembersThatBecomeResidentAgainAreNotUnloaded() {
+        List<Runnable> tasks = new ArrayList<>();
+        residency = new MemberResidency(2, (guildId, userId) -> unloaded.add(guildId + ":" + userId), tasks::add);
+
+        residency.touch(1L, 10L);
+        residency.touch(1L, 11L);
+        residency.touch(1L, 12L);
+        residency.touch(1L, 10L);
+
+        tasks.get(0).run();
+        assertFalse(unloaded.contains("1:10"));
+    }
+
+    @Test
+    public void testForgottenMembersAreNotUnloaded() {
+        residency.touch(1L, 10L);
+        residency.touch(2L, 10L);
+        residency.forget(1L, 10L);
+        residency.forgetGuild(2L);
+
+        assertTrue(unloaded.isEmpty());
+        assertEquals(0, residency.size());
+    }
+
+    @Test
+    public void testForgetGuildOnlyForgetsMembersOfThatGuild() {
+        residency.touch(1L, 10L);
+        residency.touch(2L, 10L);
+        residency.forgetGuild(1L);
+
+        assertFalse(residency.isResident(1L, 10L));
+        assertTrue(residency.isResident(2L, 10L));
+    }
+
+    @Test
+    public void testBulkLoadsCanOverlap() {
+        assertFalse(residency.isBulkLoading(1L));
+
+        residency.beginBulkLoad(1L);
+        residency.beginBulkLoad(1L);
+        residency.endBulkLoad(1L);
+        assertTrue(residency.isBulkLoading(1L));
+        assertFalse(residency.isBulkLoading(2L));
+
+        residency.endBulkLoad(1L);
+        assertFalse(residency.isBulkLoading(1L));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.chat;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.chat.PlaceholderResolver;
+import com.pinewoodbuilders.chat.PlaceholderTemplate;
+import com.pinewoodbuilders.chat.PlaceholderTemplate.Syntax;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class PlaceholderTemplateTests extends BaseTest {
+
+    @Test
+    public void testTemplatesAreCachedBySource() {
+        assertSame(
+            PlaceholderTemplate.compile("Hello, :name!", Syntax.COLON),
+            PlaceholderTemplate.compile("Hello, :name!", Syntax.COLON)
+        );
+    }
+
+    @Test
+    public void testColonTemplatesPreferPlaceholdersInTheOrderTheyWereAdded() {
+        PlaceholderResolver resolver = new PlaceholderResolver()
+            .add("username", "Senither")
+            .add("userid", "88739639380172800")
+            .add("user", "<@88739639380172800>");
+
+        assertEquals(
+            "<@88739639380172800> (Senither, 88739639380172800) :channel",
+            render(":user (:username, :userid) :channel", Syntax.COLON, resolver)
+        );
+    }
+
+    @Test
+    public void testColonTemplatesMatchPlaceholdersInsideWords() {
+        PlaceholderResolver resolver = new PlaceholderResolver().add("name", "World");
+
+        assertEquals("Hello, World! Worlds", render("Hello, :name! :names", Syntax.COLON, resolver));
+        assertEquals("::World:", render(":::name:", Syntax.COLON, resolver));
+    }
+
+    @Test
+    public void testPlaceholderValuesAreNotParsedForPlaceholders() {
+        PlaceholderResolver resolver = new PlaceholderResolver()
+            .add("name", ":other $1 \\")
+            .add("other", "nope");
+
+        assertEquals(":other $1 \\ nope", render(":name :other", Syntax.COLON, resolver));
+    }
+
+    @Test
+    public void testPlaceholdersWithNullValuesAreIgnored() {
+        PlaceholderResolver resolver = new PlaceholderResolver().add("name", null);
+
+        assertEquals("Hello, :name!", render("Hello, :name!", Syntax.COLON, resolver));
+    }
+
+    @Test
+    public void testPercentTemplatesOnlyMatchWholePlaceholders() {
+        PlaceholderResolver resolver = new PlaceholderResolver()
+            .add("user", "<@88739639380172800>")
+            .add("username", "Senither")
+            .add("br", "\n");
+
+        assertEquals(
+            "Welcome <@88739639380172800>!\nSenither %userdisc% 100%",
+            render("Welcome %user%!%br%%username% %userdisc% 100%", Syntax.PERCENT, resolver)
+        );
+        assertEquals("50% <@88739639380172800>", render("50% %user%", Syntax.PERCENT, resolver));
+        assertEquals("%<@88739639380172800>user%", render("%%user%user%", Syntax.PERCENT, resolver));
+    }
+
+    private String render(String source, Syntax syntax, PlaceholderResolver resolver) {
+        return PlaceholderTemplate.compile(source, syntax).render(resolver);
+    }
+}
@@ -27,7 +27,10 @@ import com.pinewoodbuilders.database.query.QueryBuilder;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class QueryBuilderTests extends BaseTest {
 
@@ -96,6 +99,21 @@ public class QueryBuilderTests extends BaseTest {
         );
     }
 
+    @Test
+    public void testWhereInClausesAreBuildCorrectly() {
+        assertEquals(
+            "SELECT * FROM `test` WHERE `id` IN (1, 2, 3) AND `main` = 1;",
+            makeQuery().whereIn("id", List.of(1L, 2L, 3L))
+                .andWhere("main", 1)
+                .toSQL()
+        );
+    }
+
+    @Test
+    public void testWhereInClausesMustHaveValues() {
+        assertThrows(IllegalArgumentException.class, () -> makeQuery().whereIn("id", List.of()));
+    }
+
     private QueryBuilder makeQuery() {
         return dbm.newQueryBuilder("test");
     }
@@ -25,10 +25,12 @@ import com.avairebot.BaseTest;
 import com.pinewoodbuilders.language.I18n;
 import com.pinewoodbuilders.language.Language;
 import com.pinewoodbuilders.language.LanguageContainer;
+import com.pinewoodbuilders.language.MessageTemplate;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.opentest4j.AssertionFailedError;
 
+import java.text.MessageFormat;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -127,6 +129,70 @@ public class LanguageTests extends BaseTest {
         assertEquals(I18n.format("$"), "$");
     }
 
+    @Test
+    public void testFlattenedLanguageStringsMatchTheLanguageFiles() {
+        for (LanguageContainer entry : I18n.languages) {
+            for (String key : getKeys(entry)) {
+                if (entry.getConfig().isConfigurationSection(key)) {
+                    continue;
+                }
+                assertEquals(
+                    entry.getConfig().getString(key), entry.getString(key),
+                    "Checking the \"" + key + "\" string in the \"" + entry.getLanguage().getCode() + "\" language file"
+                );
+            }
+        }
+    }
+
+    @Test
+    public void testLanguageGetLocaleReturnsTheMatchingLanguage() {
+        for (Language language : Language.values()) {
+            assertEquals(language, I18n.getLocale(language).getLanguage());
+        }
+    }
+
+    @Test
+    public void testCompiledLanguageStringsMatchMessageFormat() {
+        Object[] arguments = new Object[]{"first", "second", "third", "fourth", "fifth", "sixth"};
+
+        for (LanguageContainer entry : I18n.languages) {
+            for (String message : entry.getStrings().values()) {
+                assertEquals(
+                    formatWithMessageFormat(message, arguments),
+                    I18n.format(message, arguments),
+                    "Formatting \"" + message + "\" in the \"" + entry.getLanguage().getCode() + "\" language file"
+                );
+            }
+        }
+    }
+
+    @Test
+    public void testMessageTemplatesMatchMessageFormat() {
+        String[] messages = new String[]{
+            "", "{0}", "{0}{0}{1}", "{2} before {1} before {0}", "It's {0}'s turn",
+            "}{0}}", "{00} and {01}", "{1}", "{ 0}", "{0", "{a}", "{-1}", "{0,number,#}"
+        };
+        Object[] arguments = new Object[]{"first", "second"};
+
+        for (String message : messages) {
+            MessageTemplate template = MessageTemplate.compile(message);
+
+            assertEquals(
+                formatWithMessageFormat(message, arguments),
+                template.isValid() ? I18n.format(message, arguments) : message,
+                "Formatting \"" + message + "\" with a compiled template"
+            );
+        }
+    }
+
+    private String formatWithMessageFormat(String message, Object[] arguments) {
+        try {
+            return MessageFormat.format(message.replace("'", "''"), arguments);
+        } catch (IllegalArgumentException e) {
+            return message;
+        }
+    }
+
     private Set<String> getKeys(LanguageContainer locale) {
         return locale.getConfig().getKeys(true);
     }
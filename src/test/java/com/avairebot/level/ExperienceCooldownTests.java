@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.level;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.level.ExperienceCooldown;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExperienceCooldownTests extends BaseTest {
+
+    private final AtomicLong clock = new AtomicLong(1000000L);
+    private final ExperienceCooldown cooldowns = new ExperienceCooldown(60, TimeUnit.SECONDS, clock::get);
+
+    @Test
+    public void testMembersAreOnlyRewardedOncePerCooldown() {
+        assertTrue(cooldowns.tryAcquire(1L, 2L));
+        assertFalse(cooldowns.tryAcquire(1L, 2L));
+        assertTrue(cooldowns.isOnCooldown(1L, 2L));
+
+        clock.addAndGet(59999L);
+        assertFalse(cooldowns.tryAcquire(1L, 2L));
+
+        clock.addAndGet(1L);
+        assertTrue(cooldowns.tryAcquire(1L, 2L));
+    }
+
+    @Test
+    public void testCooldownsAreTrackedPerGuild() {
+        assertTrue(cooldowns.tryAcquire(1L, 2L));
+        assertTrue(cooldowns.tryAcquire(3L, 2L));
+        assertFalse(cooldowns.isOnCooldown(4L, 2L));
+    }
+
+    @Test
+    public void testZeroUserIdsAreTracked() {
+        assertTrue(cooldowns.tryAcquire(1L, 0L));
+        assertFalse(cooldowns.tryAcquire(1L, 0L));
+    }
+
+    @Test
+    public void testFullTablesAreRebuiltWithoutLosingCooldowns() {
+        for (long userId = 1; userId <= 5000; userId++) {
+            assertTrue(cooldowns.tryAcquire(userId % 7, userId));
+        }
+
+        for (long userId = 1; userId <= 5000; userId++) {
+            assertFalse(cooldowns.tryAcquire(userId % 7, userId));
+        }
+        assertEquals(5000, cooldowns.size());
+    }
+
+    @Test
+    public void testCompactionRemovesExpiredCooldowns() {
+        cooldowns.tryAcquire(1L, 2L);
+        clock.addAndGet(30000L);
+        cooldowns.tryAcquire(1L, 3L);
+        cooldowns.tryAcquire(4L, 5L);
+
+        clock.addAndGet(30000L);
+        cooldowns.compact();
+
+        assertEquals(2, cooldowns.size());
+        assertFalse(cooldowns.isOnCooldown(1L, 2L));
+        assertTrue(cooldowns.isOnCooldown(1L, 3L));
+        assertTrue(cooldowns.isOnCooldown(4L, 5L));
+
+        clock.addAndGet(30000L);
+        cooldowns.compact();
+
+        assertEquals(0, cooldowns.size());
+        assertTrue(cooldowns.tryAcquire(1L, 3L));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.level;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.level.LevelRoleLadder;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LevelRoleLadderTests extends BaseTest {
+
+    private static Map<Integer, String> levelRoles() {
+        Map<Integer, String> roles = new HashMap<>();
+        roles.put(5, "500");
+        roles.put(10, "1000");
+        roles.put(20, "2000");
+        roles.put(30, "not a snowflake");
+        return roles;
+    }
+
+    @Test
+    public void testLaddersWithoutHierarchyRewardEveryEarnedRole() {
+        LevelRoleLadder ladder = LevelRoleLadder.compile(levelRoles(), Collections.emptySet(), false);
+
+        assertArrayEquals(new long[0], ladder.getRewards(4, id -> true));
+        assertArrayEquals(new long[]{500L, 1000L}, ladder.getRewards(15, id -> true));
+        assertArrayEquals(new long[]{500L, 2000L}, ladder.getRewards(99, id -> id != 1000L));
+    }
+
+    @Test
+    public void testLaddersWithHierarchyOnlyRewardTheHighestExistingRole() {
+        LevelRoleLadder ladder = LevelRoleLadder.compile(levelRoles(), Collections.emptySet(), true);
+
+        assertArrayEquals(new long[]{1000L}, ladder.getRewards(19, id -> true));
+        assertArrayEquals(new long[]{2000L}, ladder.getRewards(Long.MAX_VALUE, id -> true));
+        assertArrayEquals(new long[]{500L}, ladder.getRewards(15, id -> id != 1000L));
+        assertArrayEquals(new long[0], ladder.getRewards(15, id -> false));
+    }
+
+    @Test
+    public void testLaddersOnlyMatchExactLevelsForLevelRoles() {
+        LevelRoleLadder ladder = LevelRoleLadder.compile(levelRoles(), Collections.emptySet(), false);
+
+        assertEquals(1000L, ladder.getRoleAtLevel(10));
+        assertEquals(0L, ladder.getRoleAtLevel(11));
+        assertEquals(0L, ladder.getRoleAtLevel(30));
+
+        assertTrue(ladder.isLevelRole(2000L));
+        assertFalse(ladder.isLevelRole(3000L));
+    }
+
+    @Test
+    public void testEmptyLaddersHaveNoRewards() {
+        LevelRoleLadder ladder = LevelRoleLadder.compile(Collections.emptyMap(), Collections.emptySet(), false);
+
+        assertTrue(ladder.isEmpty());
+        assertArrayEquals(new long[0], ladder.getRewards(100, id -> true));
+    }
+}
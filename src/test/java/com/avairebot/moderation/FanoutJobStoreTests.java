@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.moderation;
+
+import com.avairebot.BaseTest;
+import com.avairebot.database.fakes.FakeSQLiteDatabaseManager;
+import com.pinewoodbuilders.database.collection.DataRow;
+import com.pinewoodbuilders.moderation.global.fanout.FanoutAction;
+import com.pinewoodbuilders.moderation.global.fanout.FanoutJob;
+import com.pinewoodbuilders.moderation.global.fanout.FanoutJobStore;
+import com.pinewoodbuilders.moderation.global.fanout.FanoutStatus;
+import com.pinewoodbuilders.moderation.global.fanout.FanoutTarget;
+import com.pinewoodbuilders.moderation.global.fanout.ModerationFanoutManager;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FanoutJobStoreTests extends BaseTest {
+
+    private static final String CREATE_JOBS_TABLE = "CREATE TABLE `moderation_fanout_jobs` (`id` INTEGER PRIMARY KEY AUTOINCREMENT, `action` VARCHAR(16), `main_group_id` BIGINT, `user_id` BIGINT, `executor_id` BIGINT, `delete_days` INT DEFAULT 0, `channel_id` BIGINT DEFAULT 0, `message_id` BIGINT DEFAULT 0, `status` VARCHAR(16));";
+    private static final String CREATE_TARGETS_TABLE = "CREATE TABLE `moderation_fanout_targets` (`id` INTEGER PRIMARY KEY AUTOINCREMENT, `job_id` INT, `guild_id` BIGINT, `guild_name` VARCHAR(255), `reason` TEXT, `official` BOOLEAN DEFAULT 0, `status` VARCHAR(16), `attempts` INT DEFAULT 0, `error` VARCHAR(255));";
+
+    private FakeSQLiteDatabaseManager dbm;
+    private FanoutJobStore store;
+
+    @Before
+    public void setUp() {
+        dbm = new FakeSQLiteDatabaseManager();
+        store = new FanoutJobStore(dbm);
+    }
+
+    @Test
+    public void testCreatedJobsAreStoredAsRunningWithAllTheirTargets() throws Exception {
+        dbm.execute(CREATE_JOBS_TABLE, CREATE_TARGETS_TABLE);
+
+        FanoutJob job = store.create(FanoutAction.BAN, 1L, 2L, 3L, 7, createTargets());
+
+        DataRow row = dbm.newQueryBuilder("moderation_fanout_jobs").where("id", job.getId()).get().first();
+        assertEquals("running", row.getString("status"));
+        assertEquals(7, row.getInt("delete_days"));
+
+        assertEquals(4, dbm.newQueryBuilder("moderation_fanout_targets").where("job_id", job.getId()).get().size());
+        for (FanoutTarget target : job.getTargets()) {
+            assertNotEquals(0L, target.getId());
+        }
+    }
+
+    @Test
+    public void testJobsAreDeletedWhenTheirTargetsFailToBeStored() throws Exception {
+        dbm.execute(
+            CREATE_JOBS_TABLE,
+            "CREATE TABLE `moderation_fanout_targets` (`id` INTEGER PRIMARY KEY AUTOINCREMENT, `job_id` INT, `guild_id` BIGINT, `status` VARCHAR(16));"
+        );
+
+        assertThrows(SQLException.class, () -> store.create(FanoutAction.KICK, 1L, 2L, 3L, 0, createTargets()));
+
+        assertTrue(dbm.newQueryBuilder("moderation_fanout_jobs").get().isEmpty());
+        assertTrue(store.loadUnfinishedJobs().isEmpty());
+    }
+
+    @Test
+    public void testOnlyRunningJobsAreResumed() throws Exception {
+        dbm.execute(
+            CREATE_JOBS_TABLE,
+            CREATE_TARGETS_TABLE,
+            "INSERT INTO `moderation_fanout_jobs` (`action`, `main_group_id`, `user_id`, `executor_id`, `status`) VALUES ('BAN', 1, 2, 3, 'pending'), ('BAN', 1, 4, 3, 'finished'), ('KICK', 1, 5, 3, 'running');"
+        );
+
+        List<FanoutJob> jobs = store.loadUnfinishedJobs();
+
+        assertEquals(1, jobs.size());
+        assertEquals(FanoutAction.KICK, jobs.get(0).getAction());
+        assertEquals(5L, jobs.get(0).getUserId());
+    }
+
+    @Test
+    public void testJobsWithUnknownActionsAreMarkedAsFinished() throws Exception {
+        dbm.execute(
+            CREATE_JOBS_TABLE,
+            CREATE_TARGETS_TABLE,
+            "INSERT INTO `moderation_fanout_jobs` (`action`, `main_group_id`, `user_id`, `executor_id`, `status`) VALUES ('UNKNOWN', 1, 2, 3, 'running');"
+        );
+
+        assertTrue(store.loadUnfinishedJobs().isEmpty());
+        assertEquals("finished", dbm.newQueryBuilder("moderation_fanout_jobs").get().first().getString("status"));
+    }
+
+    @Test
+    public void testResumedJobsKeepTheOutcomeOfTheirTargets() throws Exception {
+        dbm.execute(CREATE_JOBS_TABLE, CREATE_TARGETS_TABLE);
+
+        FanoutJob job = store.create(FanoutAction.BAN, 1L, 2L, 3L, 0, createTargets());
+        dbm.execute(
+            "UPDATE `moderation_fanout_targets` SET `status` = 'APPLIED', `attempts` = 1 WHERE `guild_id` = 10;",
+            "UPDATE `moderation_fanout_targets` SET `status` = 'FAILED', `attempts` = 3, `error` = 'Missing Access' WHERE `guild_id` = 11;"
+        );
+
+        FanoutJob resumed = store.loadUnfinishedJobs().get(0);
+        assertEquals(job.getId(), resumed.getId());
+        assertEquals(1, resumed.getAppliedCount());
+        assertFalse(resumed.isFinished());
+
+        FanoutTarget failed = resumed.getTargets().get(1);
+        assertEquals(FanoutStatus.FAILED, failed.getStatus());
+        assertEquals(3, failed.getAttempts());
+        assertEquals("Missing Access", failed.getError());
+        assertEquals(FanoutStatus.PENDING, resumed.getTargets().get(2).getStatus());
+        assertEquals(FanoutStatus.SKIPPED, resumed.getTargets().get(3).getStatus());
+
+        dbm.execute("UPDATE `moderation_fanout_targets` SET `status` = 'APPLIED', `attempts` = 1 WHERE `guild_id` = 12;");
+
+        resumed = store.loadUnfinishedJobs().get(0);
+        assertEquals(2, resumed.getAppliedCount());
+        assertTrue(resumed.isFinished());
+
+        store.markAsFinished(job.getId());
+        assertTrue(store.loadUnfinishedJobs().isEmpty());
+    }
+
+    @Test
+    public void testTransientErrorsAreRetriedUntilTheMaxAttempts() {
+        RuntimeException error = new RuntimeException("Connection reset");
+
+        assertEquals(FanoutStatus.PENDING, ModerationFanoutManager.getErrorStatus(error, 1));
+        assertEquals(FanoutStatus.PENDING, ModerationFanoutManager.getErrorStatus(error, 2));
+        assertEquals(FanoutStatus.FAILED, ModerationFanoutManager.getErrorStatus(error, 3));
+    }
+
+    private List<FanoutTarget> createTargets() {
+        return Arrays.asList(
+            new FanoutTarget(10L, "Official", "Global ban", true),
+            new FanoutTarget(11L, "Subscribed", "Global ban", false),
+            new FanoutTarget(12L, "Official", "Global ban", true),
+            FanoutTarget.skipped(13L, "Excluded")
+        );
+    }
+}
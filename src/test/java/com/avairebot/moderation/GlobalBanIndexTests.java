@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.moderation;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.moderation.global.punishments.globalban.GlobalBanContainer;
+import com.pinewoodbuilders.moderation.global.punishments.globalban.GlobalBanIndex;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GlobalBanIndexTests extends BaseTest {
+
+    private static final long MAIN_GROUP_ID = 159511L;
+
+    @Test
+    public void testBansCanBeFoundByDiscordAndRobloxId() {
+        GlobalBanIndex index = new GlobalBanIndex();
+        GlobalBanContainer ban = ban("88120449281687552", 1234L);
+        index.add(ban);
+
+        assertTrue(index.containsDiscordId(MAIN_GROUP_ID, "88120449281687552"));
+        assertTrue(index.containsRobloxId(MAIN_GROUP_ID, 1234L));
+        assertEquals(Collections.singletonList(ban), index.getByDiscordId(MAIN_GROUP_ID, "88120449281687552"));
+        assertEquals(Collections.singletonList(ban), index.getByRobloxId(MAIN_GROUP_ID, 1234L));
+
+        assertFalse(index.containsDiscordId(MAIN_GROUP_ID, "88120449281687553"));
+        assertFalse(index.containsRobloxId(MAIN_GROUP_ID, 1235L));
+        assertFalse(index.containsDiscordId(MAIN_GROUP_ID + 1, "88120449281687552"));
+        assertFalse(index.containsDiscordId(MAIN_GROUP_ID, null));
+        assertFalse(index.containsDiscordId(MAIN_GROUP_ID, "not an id"));
+        assertFalse(index.containsRobloxId(MAIN_GROUP_ID, 0L));
+    }
+
+    @Test
+    public void testRemovingBansOnlyRemovesTheMatchingBans() {
+        GlobalBanIndex index = new GlobalBanIndex();
+        GlobalBanContainer first = ban("1001", 1L);
+        GlobalBanContainer second = ban("1002", 2L);
+        GlobalBanContainer robloxOnly = ban(null, 3L);
+        index.add(first);
+        index.add(second);
+        index.add(robloxOnly);
+
+        assertEquals(Collections.singletonList(first), index.removeByDiscordId(MAIN_GROUP_ID, "1001"));
+        assertFalse(index.containsDiscordId(MAIN_GROUP_ID, "1001"));
+        assertFalse(index.containsRobloxId(MAIN_GROUP_ID, 1L));
+
+        assertEquals(Collections.singletonList(second), index.removeByRobloxId(MAIN_GROUP_ID, 2L));
+        assertFalse(index.containsDiscordId(MAIN_GROUP_ID, "1002"));
+        assertFalse(index.containsRobloxId(MAIN_GROUP_ID, 2L));
+
+        assertTrue(index.containsRobloxId(MAIN_GROUP_ID, 3L));
+        assertTrue(index.hasRobloxBans(MAIN_GROUP_ID));
+        assertEquals(1, index.size());
+        assertTrue(index.removeByDiscordId(MAIN_GROUP_ID, "1001").isEmpty());
+    }
+
+    @Test
+    public void testMultipleBansForTheSameUserAreKept() {
+        GlobalBanIndex index = new GlobalBanIndex();
+        GlobalBanContainer first = ban("1001", 1L);
+        GlobalBanContainer second = ban("1001", 0L);
+        index.add(first);
+        index.add(second);
+
+        assertEquals(Arrays.asList(first, second), index.getByDiscordId(MAIN_GROUP_ID, "1001"));
+        assertEquals(Arrays.asList(first, second), index.removeByDiscordId(MAIN_GROUP_ID, "1001"));
+        assertFalse(index.containsRobloxId(MAIN_GROUP_ID, 1L));
+        assertFalse(index.hasRobloxBans(MAIN_GROUP_ID));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testIndexStaysCorrectWhileGrowingAndShrinking() {
+        GlobalBanIndex index = new GlobalBanIndex();
+        int bans = 50000;
+        for (int i = 0; i < bans; i++) {
+            index.add(ban(String.valueOf(150000000000000000L + i * 2L), 1000L + i));
+        }
+        assertEquals(bans, index.size());
+
+        for (int i = 0; i < bans; i += 2) {
+            assertEquals(1, index.removeByDiscordId(MAIN_GROUP_ID, String.valueOf(150000000000000000L + i * 2L)).size());
+        }
+
+        for (int i = 0; i < bans; i++) {
+            String discordId = String.valueOf(150000000000000000L + i * 2L);
+            assertEquals(i % 2 == 1, index.containsDiscordId(MAIN_GROUP_ID, discordId));
+            assertEquals(i % 2 == 1, index.containsRobloxId(MAIN_GROUP_ID, 1000L + i));
+            assertFalse(index.containsDiscordId(MAIN_GROUP_ID, String.valueOf(150000000000000000L + i * 2L + 1)));
+        }
+        assertEquals(bans / 2, index.size());
+    }
+
+    private GlobalBanContainer ban(String userId, long robloxId) {
+        return new GlobalBanContainer("Testing", robloxId, null, MAIN_GROUP_ID, userId, "0");
+    }
+}
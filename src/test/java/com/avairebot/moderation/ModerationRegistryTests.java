@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.moderation;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.contracts.moderation.ModerationContainer;
+import com.pinewoodbuilders.moderation.local.ModerationRegistry;
+import com.pinewoodbuilders.time.Carbon;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ModerationRegistryTests extends BaseTest {
+
+    private static final long SINGLE_GUILD = 1L;
+    private static final long MULTI_GUILD = 2L;
+    private static final int USERS = 8;
+
+    @Test
+    public void testPutReplacesContainersForTheSameUser() {
+        ModerationRegistry<TestContainer> registry = new ModerationRegistry<>();
+        TestContainer first = new TestContainer(1, 10, null);
+        TestContainer second = new TestContainer(1, 10, Carbon.now().addMinutes(5));
+
+        assertTrue(registry.put(first).isEmpty());
+        assertEquals(Collections.singletonList(first), registry.put(second));
+
+        assertTrue(registry.contains(1, 10));
+        assertFalse(registry.contains(1, 11));
+        assertFalse(registry.contains(2, 10));
+        assertEquals(Collections.singletonList(second), registry.get(1, 10));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void testAddKeepsContainersForTheSameUser() {
+        ModerationRegistry<TestContainer> registry = new ModerationRegistry<>();
+        TestContainer first = new TestContainer(1, 10, null);
+        TestContainer second = new TestContainer(1, 10, null);
+        TestContainer third = new TestContainer(1, 10, null);
+
+        registry.add(first);
+        registry.add(second);
+        registry.add(third);
+        assertEquals(Arrays.asList(first, second, third), registry.get(1, 10));
+
+        assertEquals(Collections.singletonList(second), registry.remove(1, 10, container -> container == second));
+        assertEquals(Arrays.asList(first, third), registry.get(1, 10));
+
+        assertEquals(Arrays.asList(first, third), registry.remove(1, 10));
+        assertFalse(registry.contains(1, 10));
+        assertTrue(registry.remove(1, 10).isEmpty());
+        assertTrue(registry.isEmpty());
+    }
+
+    @Test
+    public void testSizesAreTrackedPerGuild() {
+        ModerationRegistry<TestContainer> registry = new ModerationRegistry<>();
+        registry.put(new TestContainer(1, 10, null));
+        registry.put(new TestContainer(1, 11, null));
+        registry.add(new TestContainer(2, 10, null));
+        registry.add(new TestContainer(2, 10, null));
+        registry.add(new TestContainer(2, 12, null));
+
+        assertEquals(5, registry.size());
+        assertEquals(2, registry.size(1));
+        assertEquals(3, registry.size(2));
+        assertEquals(0, registry.size(3));
+
+        registry.remove(2, 10);
+        assertEquals(1, registry.size(2));
+        assertEquals(3, registry.size());
+    }
+
+    @Test
+    public void testExpiringContainersAreOrderedByExpiry() {
+        ModerationRegistry<TestContainer> registry = new ModerationRegistry<>();
+        Carbon now = Carbon.now();
+
+        TestContainer late = new TestContainer(1, 10, now.copy().addMinutes(30));
+        TestContainer early = new TestContainer(1, 11, now.copy().addMinutes(1));
+        TestContainer middle = new TestContainer(2, 10, now.copy().addMinutes(10));
+        registry.put(late);
+        registry.put(early);
+        registry.put(middle);
+        registry.put(new TestContainer(2, 11, null));
+
+        assertEquals(Arrays.asList(early, middle), registry.getExpiringBefore(now.copy().addMinutes(15).getTimestamp()));
+        assertEquals(Arrays.asList(early, middle, late), registry.getExpiringBefore(Long.MAX_VALUE));
+
+        registry.remove(2, 10);
+        registry.put(new TestContainer(1, 11, null));
+        assertEquals(Collections.singletonList(late), registry.getExpiringBefore(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testConcurrentMutationsKeepTheRegistryConsistent() throws Exception {
+        ModerationRegistry<TestContainer> registry = new ModerationRegistry<>();
+        int threads = 8;
+        int operations = 20000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int operation = 0; operation < operations; operation++) {
+                        mutate(registry, random);
+                    }
+                    return null;
+                }));
+            }
+
+            Future<?> reader = executor.submit(() -> {
+                start.await();
+                while (running.get()) {
+                    for (long userId = 0; userId < USERS; userId++) {
+                        assertTrue(registry.get(SINGLE_GUILD, userId).size() <= 1);
+                    }
+                    assertTrue(registry.size() >= 0);
+
+                    long previous = Long.MIN_VALUE;
+                    for (TestContainer container : registry.getExpiringBefore(Long.MAX_VALUE)) {
+                        // noinspection ConstantConditions
+                        long expiresAt = container.getExpiresAt().getTimestamp();
+                        assertTrue(previous <= expiresAt);
+                        previous = expiresAt;
+                    }
+                }
+                return null;
+            });
+
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(1, TimeUnit.MINUTES);
+            }
+            running.set(false);
+            reader.get(1, TimeUnit.MINUTES);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int total = 0;
+        int temporary = 0;
+        for (long guildId : new long[]{SINGLE_GUILD, MULTI_GUILD}) {
+            int guildTotal = 0;
+            for (long userId = 0; userId < USERS; userId++) {
+                List<TestContainer> containers = registry.get(guildId, userId);
+                assertEquals(!containers.isEmpty(), registry.contains(guildId, userId));
+                if (guildId == SINGLE_GUILD) {
+                    assertTrue(containers.size() <= 1);
+                }
+
+                for (TestContainer container : containers) {
+                    assertEquals(guildId, container.getGuildId());
+                    assertEquals(userId, container.getUserId());
+                    if (!container.isPermanent()) {
+                        temporary++;
+                    }
+                }
+                guildTotal += containers.size();
+            }
+
+            assertEquals(guildTotal, registry.size(guildId));
+            total += guildTotal;
+        }
+
+        assertEquals(total, registry.size());
+        assertEquals(temporary, registry.getExpiringBefore(Long.MAX_VALUE).size());
+    }
+
+    private void mutate(ModerationRegistry<TestContainer> registry, ThreadLocalRandom random) {
+        long userId = random.nextLong(USERS);
+        Carbon expiresAt = random.nextBoolean() ? null : Carbon.now().addSeconds(random.nextInt(3600));
+
+        switch (random.nextInt(4)) {
+            case 0:
+                registry.put(new TestContainer(SINGLE_GUILD, userId, expiresAt));
+                break;
+
+            case 1:
+                registry.remove(SINGLE_GUILD, userId);
+                break;
+
+            case 2:
+                registry.add(new TestContainer(MULTI_GUILD, userId, expiresAt));
+                break;
+
+            default:
+                registry.remove(MULTI_GUILD, userId, container -> random.nextBoolean());
+                break;
+        }
+    }
+
+    private static class TestContainer implements ModerationContainer {
+
+        private final long guildId;
+        private final long userId;
+        private final Carbon expiresAt;
+
+        TestContainer(long guildId, long userId, Carbon expiresAt) {
+            this.guildId = guildId;
+            this.userId = userId;
+            this.expiresAt = expiresAt;
+        }
+
+        @Override
+        public long getGuildId() {
+            return guildId;
+        }
+
+        @Override
+        public long getUserId() {
+            return userId;
+        }
+
+        @Override
+        public Carbon getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
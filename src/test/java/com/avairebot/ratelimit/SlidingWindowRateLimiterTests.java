@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.ratelimit;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.ratelimit.SlidingWindowRateLimiter;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SlidingWindowRateLimiterTests extends BaseTest {
+
+    private final AtomicLong clock = new AtomicLong(10_000);
+
+    @Test
+    public void testLimiterIsLimitedOnceTheLimitIsReached() {
+        SlidingWindowRateLimiter limiter = createLimiter(3);
+
+        assertFalse(limiter.hit(1));
+        assertFalse(limiter.hit(1));
+        assertFalse(limiter.isLimited(1));
+        assertTrue(limiter.hit(1));
+        assertTrue(limiter.isLimited(1));
+
+        assertFalse(limiter.isLimited(2));
+        assertEquals(0, limiter.getHits(2));
+
+        assertEquals(3, limiter.getTotalHits());
+        assertEquals(1, limiter.getTotalLimited());
+    }
+
+    @Test
+    public void testCheckingLimitedKeysDoesNotCountAsLimitedHits() {
+        SlidingWindowRateLimiter limiter = createLimiter(1);
+
+        assertTrue(limiter.hit(1));
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.isLimited(1));
+        }
+
+        assertEquals(1, limiter.getTotalHits());
+        assertEquals(1, limiter.getTotalLimited());
+    }
+
+    @Test
+    public void testLimiterSlidesHitsFromThePreviousWindowOut() {
+        SlidingWindowRateLimiter limiter = createLimiter(10);
+        for (int i = 0; i < 8; i++) {
+            limiter.hit(1);
+        }
+
+        clock.addAndGet(1000);
+        assertEquals(8, limiter.getHits(1));
+
+        clock.addAndGet(250);
+        assertEquals(6, limiter.getHits(1));
+
+        clock.addAndGet(500);
+        limiter.hit(1);
+        assertEquals(3, limiter.getHits(1));
+
+        clock.addAndGet(2000);
+        assertEquals(0, limiter.getHits(1));
+        assertFalse(limiter.isLimited(1));
+    }
+
+    @Test
+    public void testLimiterTracksTheZeroKeyAndManyKeys() {
+        SlidingWindowRateLimiter limiter = createLimiter(2);
+
+        limiter.hit(0);
+        assertEquals(1, limiter.getHits(0));
+        assertEquals(0, limiter.getHits(Long.MIN_VALUE + 1));
+
+        for (long key = 1; key <= 10_000; key++) {
+            limiter.hit(key);
+            limiter.hit(key);
+        }
+
+        for (long key = 1; key <= 10_000; key++) {
+            assertEquals(2, limiter.getHits(key));
+        }
+        assertEquals(10_001, limiter.getTrackedKeys());
+    }
+
+    @Test
+    public void testLimiterCountsEveryHitFromConcurrentThreads() throws InterruptedException {
+        SlidingWindowRateLimiter limiter = createLimiter(Integer.MAX_VALUE);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(new Thread(() -> {
+                for (int hit = 0; hit < 50_000; hit++) {
+                    limiter.hit(hit % 500);
+                }
+            }));
+        }
+
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (long key = 0; key < 500; key++) {
+            assertEquals(800, limiter.getHits(key));
+        }
+        assertEquals(400_000, limiter.getTotalHits());
+    }
+
+    private SlidingWindowRateLimiter createLimiter(int limit) {
+        return new SlidingWindowRateLimiter("test", limit, 1, TimeUnit.SECONDS, clock::get);
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.requests;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.requests.fetch.FetchProvider;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FetchProviderTests extends BaseTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+    @Test
+    public void testQueriesAreNormalized() {
+        assertEquals("london, uk", FetchProvider.normalize("  London,   UK "));
+        assertEquals("new york", FetchProvider.normalize("NEW\tYORK"));
+    }
+
+    @Test
+    public void testFetchedDataIsCachedUntilTheTtlExpires() throws Exception {
+        FetchProvider<String> provider = makeProvider(2);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("sunny", provider.fetch("london", () -> "sunny" + (loads.incrementAndGet() > 1 ? "!" : "")).get());
+        assertEquals("sunny", provider.fetch("london", () -> "sunny" + (loads.incrementAndGet() > 1 ? "!" : "")).get());
+        assertEquals(1, loads.get());
+        assertEquals(1, provider.getHits());
+
+        clock.addAndGet(TimeUnit.MINUTES.toMillis(11));
+
+        assertEquals("sunny!", provider.fetch("london", () -> "sunny" + (loads.incrementAndGet() > 1 ? "!" : "")).get());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testMissesAreCachedForTheMissTtl() throws Exception {
+        FetchProvider<String> provider = makeProvider(2);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertNull(provider.fetch("atlantis", () -> {
+            loads.incrementAndGet();
+            return null;
+        }).get());
+
+        clock.addAndGet(TimeUnit.MINUTES.toMillis(30));
+        assertNull(provider.fetch("atlantis", () -> "found").get());
+        assertEquals(1, loads.get());
+
+        clock.addAndGet(TimeUnit.MINUTES.toMillis(31));
+        assertEquals("found", provider.fetch("atlantis", () -> "found").get());
+    }
+
+    @Test
+    public void testFailedLoadsAreNotCached() throws Exception {
+        FetchProvider<String> provider = makeProvider(2);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> provider.fetch("london", () -> {
+            throw new IOException("Service unavailable");
+        }).get());
+        assertTrue(exception.getCause() instanceof IOException);
+
+        assertEquals("sunny", provider.fetch("london", () -> "sunny").get());
+    }
+
+    @Test
+    public void testConcurrentFetchesForTheSameKeyAreCoalesced() throws Exception {
+        FetchProvider<String> provider = makeProvider(2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<String> first = provider.fetch("london", () -> {
+            loads.incrementAndGet();
+            release.await();
+            return "sunny";
+        });
+        CompletableFuture<String> second = provider.fetch("london", () -> {
+            loads.incrementAndGet();
+            return "rainy";
+        });
+
+        assertSame(first, second);
+        release.countDown();
+
+        assertEquals("sunny", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals(1, provider.getCoalesced());
+    }
+
+    @Test
+    public void testFetchesAreBoundedByTheConcurrencyLimit() throws Exception {
+        FetchProvider<Integer> provider = makeProvider(3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            int value = i;
+            futures.add(provider.fetch(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(2);
+                running.decrementAndGet();
+                return value;
+            }));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(Integer.valueOf(i), futures.get(i).get(5, TimeUnit.SECONDS));
+        }
+        assertTrue(maxRunning.get() <= 3);
+        assertEquals(0, provider.size());
+    }
+
+    private <T> FetchProvider<T> makeProvider(int concurrency) {
+        return new FetchProvider<>("test", concurrency, 1000, 10, 60, TimeUnit.MINUTES, clock::get);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.roblox;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.roblox.verification.MainGroupGuildIndex;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+public class MainGroupGuildIndexTests extends BaseTest {
+
+    @Test
+    public void testGuildsAreSplitIntoOfficialAndUnofficialGroups() {
+        MainGroupGuildIndex index = new MainGroupGuildIndex();
+        index.update(30L, 1L, true);
+        index.update(10L, 1L, false);
+        index.update(20L, 1L, true);
+        index.update(40L, 2L, true);
+
+        assertArrayEquals(new long[]{10L, 20L, 30L}, index.getGuildIds(1L, false));
+        assertArrayEquals(new long[]{20L, 30L}, index.getGuildIds(1L, true));
+        assertArrayEquals(new long[]{40L}, index.getGuildIds(2L, false));
+        assertArrayEquals(new long[0], index.getGuildIds(3L, false));
+    }
+
+    @Test
+    public void testGuildsAreMovedWhenTheirSettingsChange() {
+        MainGroupGuildIndex index = new MainGroupGuildIndex();
+        index.update(10L, 1L, true);
+        index.update(20L, 1L, true);
+
+        index.update(10L, 2L, true);
+        index.update(20L, 1L, false);
+
+        assertArrayEquals(new long[]{20L}, index.getGuildIds(1L, false));
+        assertArrayEquals(new long[0], index.getGuildIds(1L, true));
+        assertArrayEquals(new long[]{10L}, index.getGuildIds(2L, true));
+    }
+
+    @Test
+    public void testRemovedGuildsAreNoLongerReturned() {
+        MainGroupGuildIndex index = new MainGroupGuildIndex();
+        index.update(10L, 1L, true);
+        index.update(20L, 1L, true);
+
+        index.remove(10L);
+        index.remove(30L);
+
+        assertArrayEquals(new long[]{20L}, index.getGuildIds(1L, true));
+    }
+
+    @Test
+    public void testModerationServerIsExcluded() {
+        MainGroupGuildIndex index = new MainGroupGuildIndex();
+        index.update(10L, 1L, true);
+        index.update(20L, 1L, false);
+
+        index.setModerationServer(1L, 10L);
+        assertArrayEquals(new long[]{20L}, index.getGuildIds(1L, false));
+        assertArrayEquals(new long[0], index.getGuildIds(1L, true));
+
+        index.update(30L, 1L, true);
+        assertArrayEquals(new long[]{20L, 30L}, index.getGuildIds(1L, false));
+
+        index.setModerationServer(1L, 0L);
+        assertArrayEquals(new long[]{10L, 20L, 30L}, index.getGuildIds(1L, false));
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.roblox;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.ratelimit.SlidingWindowRateLimiter;
+import com.pinewoodbuilders.roblox.verification.mass.MutationQueue;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MutationQueueTests extends BaseTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "mutation-queue-test");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Test
+    public void testMutationsNeverExceedTheInFlightLimit() throws Exception {
+        MutationQueue queue = createQueue(1000, 1);
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+
+        List<MutationQueue.Mutation> mutations = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            mutations.add(new MutationQueue.Mutation(() -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                return CompletableFuture.runAsync(() -> {
+                    sleep(5);
+                    inFlight.decrementAndGet();
+                });
+            }, errors::add));
+        }
+
+        queue.submit(1L, mutations).get(5, TimeUnit.SECONDS);
+
+        assertEquals(20, errors.size());
+        assertTrue(errors.stream().allMatch(error -> error == null));
+        assertTrue(maxInFlight.get() <= 4, "At most 4 mutations should be in-flight, got " + maxInFlight.get());
+    }
+
+    @Test
+    public void testTransientFailuresAreRetried() throws Exception {
+        MutationQueue queue = createQueue(1000, 1);
+
+        AtomicInteger attempts = new AtomicInteger();
+        List<Throwable> results = Collections.synchronizedList(new ArrayList<>());
+
+        MutationQueue.Mutation mutation = new MutationQueue.Mutation(() -> attempts.incrementAndGet() < 3
+            ? CompletableFuture.failedFuture(new IllegalStateException("Server error"))
+            : CompletableFuture.completedFuture(null), results::add);
+
+        queue.submit(1L, Collections.singletonList(mutation)).get(5, TimeUnit.SECONDS);
+
+        assertEquals(3, attempts.get());
+        assertEquals(3, mutation.getAttempts());
+        assertEquals(1, results.size());
+        assertNull(results.get(0));
+    }
+
+    @Test
+    public void testMutationsFailAfterTheMaxAttempts() throws Exception {
+        MutationQueue queue = createQueue(1000, 1);
+
+        AtomicInteger attempts = new AtomicInteger();
+        List<Throwable> results = Collections.synchronizedList(new ArrayList<>());
+
+        queue.submit(1L, Collections.singletonList(new MutationQueue.Mutation(() -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException("Server error"));
+        }, results::add))).get(5, TimeUnit.SECONDS);
+
+        assertEquals(3, attempts.get());
+        assertEquals(1, results.size());
+        assertTrue(results.get(0) instanceof IllegalStateException);
+    }
+
+    @Test
+    public void testPermanentFailuresAreNotRetried() throws Exception {
+        MutationQueue queue = createQueue(1000, 1);
+
+        AtomicInteger attempts = new AtomicInteger();
+        List<Throwable> results = Collections.synchronizedList(new ArrayList<>());
+
+        queue.submit(1L, Collections.singletonList(new MutationQueue.Mutation(() -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Missing permissions"));
+        }, results::add))).get(5, TimeUnit.SECONDS);
+
+        queue.submit(1L, Collections.singletonList(new MutationQueue.Mutation(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException("Hierarchy error");
+        }, results::add))).get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, attempts.get());
+        assertEquals(2, results.size());
+        assertTrue(results.stream().allMatch(error -> error instanceof IllegalArgumentException));
+    }
+
+    @Test
+    public void testMutationsWaitForTheRateLimit() throws Exception {
+        MutationQueue queue = createQueue(2, 1);
+
+        AtomicInteger applied = new AtomicInteger();
+        List<MutationQueue.Mutation> mutations = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            mutations.add(new MutationQueue.Mutation(() -> {
+                applied.incrementAndGet();
+                return CompletableFuture.completedFuture(null);
+            }, error -> {
+            }));
+        }
+
+        CompletableFuture<Void> future = queue.submit(1L, mutations);
+        assertEquals(2, applied.get());
+
+        future.get(5, TimeUnit.SECONDS);
+        assertEquals(5, applied.get());
+    }
+
+    private MutationQueue createQueue(int limit, long retryBackoff) {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(
+            "mutation-queue-test", limit, 100, TimeUnit.MILLISECONDS, System::currentTimeMillis
+        );
+        return new MutationQueue(limiter, scheduler, error -> error instanceof IllegalStateException, retryBackoff);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.roblox;
+
+import com.avairebot.BaseTest;
+import com.avairebot.database.fakes.FakeSQLiteDatabaseManager;
+import com.pinewoodbuilders.contracts.verification.VerificationEntity;
+import com.pinewoodbuilders.roblox.verification.VerificationBatchLookup;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VerificationBatchLookupTests extends BaseTest {
+
+    private FakeSQLiteDatabaseManager dbm;
+    private List<Collection<Long>> usernameLookups;
+    private VerificationBatchLookup lookup;
+
+    @Before
+    public void setUp() throws Exception {
+        dbm = new FakeSQLiteDatabaseManager();
+        dbm.execute(
+            "CREATE TABLE `verification_database` (`id` BIGINT NOT NULL, `robloxId` BIGINT NOT NULL, `main` BOOLEAN NOT NULL DEFAULT 0);",
+            "INSERT INTO `verification_database` VALUES (1, 100, 0), (1, 101, 1), (2, 200, 0), (3, 100, 1);"
+        );
+
+        usernameLookups = new ArrayList<>();
+        lookup = new VerificationBatchLookup(dbm, ids -> {
+            usernameLookups.add(new ArrayList<>(ids));
+
+            Map<Long, String> usernames = new HashMap<>();
+            for (Long id : ids) {
+                usernames.put(id, "user" + id);
+            }
+            return usernames;
+        }, 2, 5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testDiscordIdsPreferTheMainAccount() throws Exception {
+        Map<Long, VerificationEntity> entities = lookup.findByDiscordIds(List.of(1L, 2L, 4L));
+
+        assertEquals(2, entities.size());
+        assertEquals(101L, entities.get(1L).getRobloxId());
+        assertEquals("user101", entities.get(1L).getRobloxUsername());
+        assertTrue(entities.get(1L).isMainAccount());
+        assertEquals(200L, entities.get(2L).getRobloxId());
+        assertFalse(entities.get(2L).isMainAccount());
+        assertNull(entities.get(4L));
+        assertEquals(1, usernameLookups.size());
+    }
+
+    @Test
+    public void testRobloxIdsReturnEveryLinkedDiscordAccount() throws Exception {
+        Map<Long, List<VerificationEntity>> links = lookup.findByRobloxIds(List.of(100L, 200L, 300L));
+
+        assertEquals(2, links.size());
+        assertEquals(2, links.get(100L).size());
+        assertEquals(1L, links.get(100L).get(0).getDiscordId());
+        assertEquals(3L, links.get(100L).get(1).getDiscordId());
+        assertEquals("user100", links.get(100L).get(0).getRobloxUsername());
+        assertEquals(2L, links.get(200L).get(0).getDiscordId());
+        assertNull(links.get(300L));
+    }
+
+    @Test
+    public void testLargeBatchesAreLookedUpInChunks() throws Exception {
+        StringBuilder insert = new StringBuilder("INSERT INTO `verification_database` VALUES ");
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1000; id < 2200; id++) {
+            insert.append(id == 1000 ? "" : ", ").append(String.format("(%s, %s, 1)", id, id + 10000));
+            ids.add(id);
+        }
+        dbm.execute(insert.append(";").toString());
+
+        Map<Long, VerificationEntity> entities = lookup.findByDiscordIds(ids);
+
+        assertEquals(1200, entities.size());
+        assertEquals(11000L, entities.get(1000L).getRobloxId());
+        assertEquals(12199L, entities.get(2199L).getRobloxId());
+        assertEquals(1, usernameLookups.size());
+        assertEquals(1200, usernameLookups.get(0).size());
+    }
+
+    @Test
+    public void testBatchesLargerThanTheLimitAreRejected() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 0; id <= VerificationBatchLookup.MAX_IDS; id++) {
+            ids.add(id);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> lookup.findByDiscordIds(ids));
+    }
+
+    @Test
+    public void testFallbacksAreBoundedByTheConcurrencyLimit() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger calls = new AtomicInteger();
+
+        List<Long> ids = new ArrayList<>();
+        for (long id = 0; id < VerificationBatchLookup.MAX_FALLBACKS + 20; id++) {
+            ids.add(id);
+        }
+
+        Map<Long, VerificationEntity> entities = lookup.findWithFallback(ids, id -> {
+            calls.incrementAndGet();
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException ignored) {
+            }
+            running.decrementAndGet();
+
+            return id % 2 == 0 ? new VerificationEntity(id + 1, null, id, "rover", true) : null;
+        });
+
+        assertEquals(VerificationBatchLookup.MAX_FALLBACKS, calls.get());
+        assertEquals(VerificationBatchLookup.MAX_FALLBACKS / 2, entities.size());
+        assertTrue(maxRunning.get() <= 2);
+    }
+}
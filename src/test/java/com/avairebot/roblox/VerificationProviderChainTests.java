@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.roblox;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.contracts.verification.VerificationEntity;
+import com.pinewoodbuilders.ratelimit.SlidingWindowRateLimiter;
+import com.pinewoodbuilders.roblox.verification.mass.LookupPool;
+import com.pinewoodbuilders.roblox.verification.mass.VerificationProviderChain;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VerificationProviderChainTests extends BaseTest {
+
+    @Test
+    public void testProvidersAreTriedInOrder() throws Exception {
+        List<String> calls = new ArrayList<>();
+        VerificationProviderChain chain = new VerificationProviderChain(Arrays.asList(
+            createProvider("rover", calls, id -> null),
+            createProvider("bloxlink", calls, id -> id == 2L ? new VerificationEntity(20L, "Bloxlink", id, "bloxlink") : null),
+            createProvider("rowifi", calls, id -> new VerificationEntity(30L, "RoWifi", id, "rowifi"))
+        ));
+
+        assertEquals(20L, chain.resolve(2L).getRobloxId());
+        assertEquals(Arrays.asList("rover", "bloxlink"), calls);
+
+        calls.clear();
+        assertEquals(30L, chain.resolve(3L).getRobloxId());
+        assertEquals(Arrays.asList("rover", "bloxlink", "rowifi"), calls);
+    }
+
+    @Test
+    public void testCachedResultsSkipTheLookup() throws Exception {
+        List<String> calls = new ArrayList<>();
+        VerificationProviderChain chain = new VerificationProviderChain(Arrays.asList(
+            new VerificationProviderChain.Provider("rover", createLimiter(),
+                id -> new VerificationEntity(10L, "Cached", id, "rover"),
+                id -> {
+                    calls.add("rover");
+                    return null;
+                }
+            ),
+            createProvider("bloxlink", calls, id -> null)
+        ));
+
+        assertEquals("Cached", chain.resolve(1L).getRobloxUsername());
+        assertTrue(calls.isEmpty());
+    }
+
+    @Test
+    public void testUnknownUsersResolveToNull() throws Exception {
+        List<String> calls = new ArrayList<>();
+        VerificationProviderChain chain = new VerificationProviderChain(Arrays.asList(
+            createProvider("rover", calls, id -> null),
+            createProvider("bloxlink", calls, id -> null)
+        ));
+
+        assertNull(chain.resolve(1L));
+        assertEquals(Arrays.asList("rover", "bloxlink"), calls);
+    }
+
+    @Test
+    public void testLookupPoolSkipsEmptyAndFailedLookups() throws Exception {
+        LookupPool pool = new LookupPool("lookup-test", 2);
+
+        Map<Long, String> results = pool.lookupAll(Arrays.asList(4L, 1L, 3L, 2L, 1L), id -> {
+            if (id == 3L) {
+                throw new IllegalStateException("Lookup failed");
+            }
+            return id == 2L ? null : "user-" + id;
+        });
+
+        assertEquals(Arrays.asList(4L, 1L), new ArrayList<>(results.keySet()));
+        assertEquals("user-4", results.get(4L));
+        assertEquals("user-1", results.get(1L));
+    }
+
+    @Test
+    public void testLookupPoolWaitsForTheRateLimit() throws Exception {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(
+            "lookup-test", 2, 100, TimeUnit.MILLISECONDS, System::currentTimeMillis
+        );
+
+        for (int i = 0; i < 5; i++) {
+            LookupPool.acquire(limiter);
+        }
+
+        assertEquals(5L, limiter.getTotalHits());
+    }
+
+    private VerificationProviderChain.Provider createProvider(String name, List<String> calls, LongFunction<VerificationEntity> lookup) {
+        return new VerificationProviderChain.Provider(name, createLimiter(), id -> null, id -> {
+            calls.add(name);
+            return lookup.apply(id);
+        });
+    }
+
+    private SlidingWindowRateLimiter createLimiter() {
+        return new SlidingWindowRateLimiter("provider-test", 1000, 1, TimeUnit.MINUTES, System::currentTimeMillis);
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.servlet;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.servlet.limits.LimitedRoute;
+import com.pinewoodbuilders.servlet.limits.RouteLimits;
+import org.json.JSONObject;
+import org.junit.Test;
+import spark.Request;
+import spark.Response;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LimitedRouteTests extends BaseTest {
+
+    @Test
+    public void testRoutesAreHandledWithTheRequestInformation() throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(2);
+        try {
+            LimitedRoute route = new LimitedRoute("/guilds/:ids", (request, response) -> {
+                response.status(201);
+                response.header("X-Guild", request.params("ids"));
+                return request.headers("authorization");
+            }, RouteLimits.of(2, 5, TimeUnit.SECONDS), workers);
+
+            FakeResponse response = new FakeResponse();
+            assertEquals("token", route.handle(new FakeRequest("123"), response));
+            assertEquals(201, response.status());
+            assertEquals("123", response.headers.get("X-Guild"));
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRequestsAreShedWhenTheRouteIsAtItsConcurrencyLimit() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        ExecutorService clients = Executors.newSingleThreadExecutor();
+        try {
+            LimitedRoute route = new LimitedRoute("/stats", (request, response) -> {
+                started.countDown();
+                release.await();
+                return "done";
+            }, RouteLimits.of(1, 5, TimeUnit.SECONDS), workers);
+
+            Future<Object> first = clients.submit(() -> route.handle(new FakeRequest("1"), new FakeResponse()));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            FakeResponse response = new FakeResponse();
+            JSONObject shed = (JSONObject) route.handle(new FakeRequest("2"), response);
+            assertEquals(429, response.status());
+            assertEquals(429, shed.getInt("status"));
+            assertEquals("1", response.headers.get("Retry-After"));
+
+            release.countDown();
+            assertEquals("done", first.get(5, TimeUnit.SECONDS));
+            assertEquals(0, route.getActiveRequests());
+        } finally {
+            workers.shutdownNow();
+            clients.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testTimedOutRequestsKeepTheirPermitUntilTheRouteFinishes() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+
+        ExecutorService workers = Executors.newFixedThreadPool(2);
+        try {
+            LimitedRoute route = new LimitedRoute("/verification/discord/:discordId", (request, response) -> {
+                release.await();
+                response.status(500);
+                finished.countDown();
+                return "late";
+            }, RouteLimits.of(1, 50, TimeUnit.MILLISECONDS), workers);
+
+            FakeResponse response = new FakeResponse();
+            route.handle(new FakeRequest("1"), response);
+            assertEquals(503, response.status());
+            assertEquals(1, route.getActiveRequests());
+
+            release.countDown();
+            assertTrue(finished.await(5, TimeUnit.SECONDS));
+
+            // The late route must never write to the response that was already sent.
+            assertEquals(503, response.status());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRequestsAreShedWhenTheWorkersAreSaturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1));
+        try {
+            workers.submit(() -> {
+                release.await();
+                return null;
+            });
+            workers.submit(() -> {
+                release.await();
+                return null;
+            });
+
+            LimitedRoute route = new LimitedRoute("/stats", (request, response) -> "done",
+                RouteLimits.of(4, 5, TimeUnit.SECONDS), workers
+            );
+
+            FakeResponse response = new FakeResponse();
+            route.handle(new FakeRequest("1"), response);
+            assertEquals(503, response.status());
+            assertEquals(0, route.getActiveRequests());
+        } finally {
+            release.countDown();
+            workers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRouteLimitsMustAllowAtLeastOneRequest() {
+        assertThrows(IllegalArgumentException.class, () -> RouteLimits.of(0, 5, TimeUnit.SECONDS));
+        assertTrue(RouteLimits.UNLIMITED.isUnlimited());
+    }
+
+    private static class FakeRequest extends Request {
+
+        private final Map<String, String> params;
+
+        FakeRequest(String ids) {
+            this.params = Collections.singletonMap(":ids", ids);
+        }
+
+        @Override
+        public String requestMethod() {
+            return "GET";
+        }
+
+        @Override
+        public String pathInfo() {
+            return "/guilds/" + params.get(":ids");
+        }
+
+        @Override
+        public String queryString() {
+            return null;
+        }
+
+        @Override
+        public String ip() {
+            return "127.0.0.1";
+        }
+
+        @Override
+        public String body() {
+            return "";
+        }
+
+        @Override
+        public byte[] bodyAsBytes() {
+            return new byte[0];
+        }
+
+        @Override
+        public Map<String, String> params() {
+            return params;
+        }
+
+        @Override
+        public Set<String> headers() {
+            return Collections.singleton("Authorization");
+        }
+
+        @Override
+        public String headers(String header) {
+            return header.equalsIgnoreCase("Authorization") ? "token" : null;
+        }
+
+        @Override
+        public Set<String> queryParams() {
+            return Collections.emptySet();
+        }
+    }
+
+    private static class FakeResponse extends Response {
+
+        private final Map<String, String> headers = new HashMap<>();
+        private volatile int status = 200;
+
+        @Override
+        public void status(int statusCode) {
+            this.status = statusCode;
+        }
+
+        @Override
+        public int status() {
+            return status;
+        }
+
+        @Override
+        public void header(String header, String value) {
+            headers.put(header, value);
+        }
+    }
+}
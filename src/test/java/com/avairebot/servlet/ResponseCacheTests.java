@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.servlet;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.servlet.cache.CachedResponse;
+import com.pinewoodbuilders.servlet.cache.ResponseCache;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResponseCacheTests extends BaseTest {
+
+    private final AtomicLong clock = new AtomicLong(1000);
+    private final ResponseCache cache = new ResponseCache("test", 10, TimeUnit.SECONDS, clock::get);
+
+    @Test
+    public void testResponsesAreServedFromTheCacheUntilTheyExpire() throws Exception {
+        AtomicInteger generated = new AtomicInteger();
+        ResponseCache.Generator generator = () -> new CachedResponse(200, "{\"count\":" + generated.incrementAndGet() + "}");
+
+        CachedResponse first = cache.get("/stats", generator);
+        assertSame(first, cache.get("/stats", generator));
+        assertEquals(1, generated.get());
+
+        clock.addAndGet(TimeUnit.SECONDS.toMillis(10));
+        CachedResponse second = cache.get("/stats", generator);
+        assertEquals(2, generated.get());
+        assertFalse(first.getEtag().equals(second.getEtag()));
+
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testResponsesAreCachedByKey() throws Exception {
+        AtomicInteger generated = new AtomicInteger();
+        ResponseCache.Generator generator = () -> new CachedResponse(200, "{\"count\":" + generated.incrementAndGet() + "}");
+
+        cache.get("/guilds/1", generator);
+        cache.get("/guilds/2", generator);
+        cache.get("/guilds/1", generator);
+
+        assertEquals(2, generated.get());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testUnsuccessfulResponsesAreNotCached() throws Exception {
+        AtomicInteger generated = new AtomicInteger();
+        ResponseCache.Generator generator = () -> {
+            generated.incrementAndGet();
+            return new CachedResponse(404, "{\"status\":404}");
+        };
+
+        assertEquals(404, cache.get("/leaderboard/1", generator).getStatus());
+        assertEquals(404, cache.get("/leaderboard/1", generator).getStatus());
+        assertEquals(2, generated.get());
+    }
+
+    @Test
+    public void testGeneratorFailuresAreThrownAndNotCached() throws Exception {
+        assertThrows(IllegalStateException.class, () -> cache.get("/stats", () -> {
+            throw new IllegalStateException("Shards are not ready");
+        }));
+
+        assertEquals(200, cache.get("/stats", () -> new CachedResponse(200, "{}")).getStatus());
+    }
+
+    @Test
+    public void testConcurrentMissesOnlyGenerateTheResponseOnce() throws Exception {
+        int threads = 8;
+        AtomicInteger generated = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Future<CachedResponse> leader = executor.submit(() -> cache.get("/stats", () -> {
+                started.countDown();
+                release.await();
+                generated.incrementAndGet();
+                return new CachedResponse(200, "{}");
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            Future<?>[] followers = new Future[threads - 1];
+            for (int i = 0; i < followers.length; i++) {
+                followers[i] = executor.submit(() -> cache.get("/stats", () -> {
+                    generated.incrementAndGet();
+                    return new CachedResponse(200, "{}");
+                }));
+            }
+
+            release.countDown();
+            CachedResponse response = leader.get(5, TimeUnit.SECONDS);
+            for (Future<?> follower : followers) {
+                assertSame(response, follower.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, generated.get());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testStaleResponsesAreServedWhileBeingRegenerated() throws Exception {
+        CachedResponse stale = cache.get("/stats", () -> new CachedResponse(200, "{\"version\":1}"));
+        clock.addAndGet(TimeUnit.SECONDS.toMillis(10));
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<CachedResponse> regeneration = executor.submit(() -> cache.get("/stats", () -> {
+                started.countDown();
+                release.await();
+                return new CachedResponse(200, "{\"version\":2}");
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            assertSame(stale, cache.get("/stats", () -> {
+                throw new AssertionError("The response should not be regenerated twice");
+            }));
+            assertEquals(1, cache.getStaleHits());
+
+            release.countDown();
+            CachedResponse fresh = regeneration.get(5, TimeUnit.SECONDS);
+            assertSame(fresh, cache.get("/stats", () -> new CachedResponse(200, "{\"version\":3}")));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testEtagsUseTheWeakComparisonFunction() {
+        CachedResponse response = new CachedResponse(200, "{\"guilds\":42}");
+        String etag = response.getEtag();
+        String opaqueTag = etag.substring(2);
+
+        assertTrue(etag.startsWith("W/\""));
+        assertTrue(response.matches(etag));
+        assertTrue(response.matches(opaqueTag));
+        assertTrue(response.matches("\"something-else\", " + etag));
+        assertTrue(response.matches("*"));
+
+        assertFalse(response.matches(null));
+        assertFalse(response.matches(""));
+        assertFalse(response.matches("W/\"something-else\""));
+        assertEquals(etag, new CachedResponse(200, "{\"guilds\":42}").getEtag());
+    }
+
+    @Test
+    public void testOnlyLargeResponsesAreCompressed() throws IOException {
+        assertNull(new CachedResponse(200, "{\"guilds\":42}").getCompressedBody());
+
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < 500; i++) {
+            body.append("{\"id\":").append(i).append(",\"name\":\"Guild\"},");
+        }
+        body.append("{}]");
+
+        CachedResponse response = new CachedResponse(200, body.toString());
+        assertNotNull(response.getCompressedBody());
+        assertTrue(response.getCompressedBody().length < response.getBody().length);
+
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(response.getCompressedBody()))) {
+            assertEquals(body.toString(), new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+}
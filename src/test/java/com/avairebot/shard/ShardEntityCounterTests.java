@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+
+package com.avairebot.shard;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.shard.ShardEntityCounter;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ShardEntityCounterTests extends BaseTest {
+
+    private ShardEntityCounter counter;
+
+    @Before
+    public void setUp() {
+        counter = new ShardEntityCounter(null);
+    }
+
+    @Test
+    public void testAdjustmentsAreSummedAcrossShards() {
+        counter.adjust(0, 1, 5, 2);
+        counter.adjust(1, 2, 3, 1);
+        counter.adjust(0, -1, -5, -2);
+
+        assertEquals(2L, counter.getGuilds());
+        assertEquals(3L, counter.getTextChannels());
+        assertEquals(1L, counter.getVoiceChannels());
+        assertEquals(4L, counter.getChannels());
+    }
+
+    @Test
+    public void testUsersAreReplacedPerShard() {
+        counter.setUsers(0, 100);
+        counter.setUsers(1, 50);
+        counter.setUsers(0, 80);
+
+        assertEquals(130L, counter.getUsers());
+    }
+
+    @Test
+    public void testReconcileCorrectsDrift() {
+        counter.adjust(0, 3, 10, 4);
+        counter.setUsers(0, 100);
+        counter.adjust(1, 1, 1, 1);
+
+        counter.setBots(0, 10);
+
+        assertEquals(0L, counter.reconcile(0, 3, 10, 4, 100, 10));
+        assertEquals(7L, counter.reconcile(0, 2, 12, 4, 102, 12));
+
+        assertEquals(3L, counter.getGuilds());
+        assertEquals(13L, counter.getTextChannels());
+        assertEquals(5L, counter.getVoiceChannels());
+        assertEquals(102L, counter.getUsers());
+        assertEquals(12L, counter.getBots());
+        assertEquals(90L, counter.getHumans());
+    }
+
+    @Test
+    public void testBotsAreReplacedPerShard() {
+        counter.setUsers(0, 100);
+        counter.setUsers(1, 50);
+        counter.setBots(0, 10);
+        counter.setBots(1, 5);
+        counter.setBots(0, 8);
+
+        assertEquals(13L, counter.getBots());
+        assertEquals(137L, counter.getHumans());
+    }
+}
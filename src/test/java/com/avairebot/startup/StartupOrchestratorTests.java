@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.startup;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.startup.StartupOrchestrator;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StartupOrchestratorTests extends BaseTest {
+
+    @Test
+    public void testComponentsAreLoadedAfterTheirDependencies() {
+        AtomicBoolean databaseLoaded = new AtomicBoolean(false);
+
+        StartupOrchestrator startup = new StartupOrchestrator(4)
+            .register("database", () -> {
+                Thread.sleep(50);
+                databaseLoaded.set(true);
+                return "database";
+            })
+            .register("mutes", databaseLoaded::get, "database")
+            .register("bans", databaseLoaded::get, "database");
+
+        startup.awaitAll();
+
+        assertTrue(startup.<Boolean>await("mutes"));
+        assertTrue(startup.<Boolean>await("bans"));
+    }
+
+    @Test
+    public void testIndependentComponentsAreLoadedConcurrently() {
+        CountDownLatch latch = new CountDownLatch(2);
+
+        StartupOrchestrator startup = new StartupOrchestrator(2)
+            .register("mutes", () -> {
+                latch.countDown();
+                return latch.await(5, TimeUnit.SECONDS);
+            })
+            .register("bans", () -> {
+                latch.countDown();
+                return latch.await(5, TimeUnit.SECONDS);
+            });
+
+        startup.awaitAll();
+
+        assertTrue(startup.<Boolean>await("mutes"));
+        assertTrue(startup.<Boolean>await("bans"));
+    }
+
+    @Test
+    public void testComponentsCanOnlyDependOnRegisteredComponents() {
+        StartupOrchestrator startup = new StartupOrchestrator(1);
+
+        assertThrows(IllegalArgumentException.class, () -> startup.register("mutes", () -> null, "database"));
+
+        startup.register("database", () -> null);
+        assertThrows(IllegalArgumentException.class, () -> startup.register("database", () -> null));
+    }
+
+    @Test
+    public void testFailedComponentsFailTheirDependents() {
+        StartupOrchestrator startup = new StartupOrchestrator(2)
+            .register("database", () -> {
+                throw new IllegalStateException("Failed to connect to the database.");
+            })
+            .register("mutes", () -> "mutes", "database");
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> startup.await("mutes"));
+        assertEquals("Failed to connect to the database.", exception.getCause().getMessage());
+    }
+}
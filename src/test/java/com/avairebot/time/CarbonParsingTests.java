@@ -0,0 +1,90 @@
+/*
+
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.time;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.exceptions.InvalidFormatException;
+import com.pinewoodbuilders.time.Carbon;
+import com.pinewoodbuilders.time.Day;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CarbonParsingTests extends BaseTest {
+
+    @Test
+    public void testCarbonParsesDatabaseTimestamps() {
+        Carbon carbon = new Carbon("2019-01-13 19:37:59");
+        assertEquals(2019, carbon.getYear());
+        assertEquals(1, carbon.getMonth());
+        assertEquals(13, carbon.getDay());
+        assertEquals(19, carbon.getHour());
+        assertEquals(37, carbon.getMinute());
+        assertEquals(59, carbon.getSecond());
+    }
+
+    @Test
+    public void testCarbonIgnoresTrailingFractionsInDatabaseTimestamps() {
+        assertEquals("2019-01-13 19:37:59", new Carbon("2019-01-13 19:37:59.0").toDateTimeString());
+    }
+
+    @Test
+    public void testCarbonFallsBackToOtherSupportedFormats() {
+        assertEquals("2019-01-13 00:00:00", new Carbon("2019-01-13").toDateTimeString());
+        assertEquals("2019-01-13 00:00:00", new Carbon("Jan 13, 2019").toDateTimeString());
+    }
+
+    @Test
+    public void testCarbonThrowsOnUnsupportedFormats() {
+        assertThrows(InvalidFormatException.class, () -> new Carbon("not a date"));
+        assertThrows(InvalidFormatException.class, () -> new Carbon("13/01/2019 19:37"));
+    }
+
+    @Test
+    public void testCarbonSettersRollOverLikeCalendars() {
+        assertEquals("2019-02-01 19:37:59", new Carbon("2019-01-13 19:37:59").setDay(32).toDateTimeString());
+        assertEquals("2020-03-02 00:00:00", new Carbon("2020-01-31 00:00:00").setMonth(2).toDateTimeString());
+    }
+
+    @Test
+    public void testCarbonModifiersDoNotAffectCopies() {
+        Carbon carbon = new Carbon("2019-01-13 19:37:59");
+        Carbon copy = carbon.copy().addDays(2);
+
+        assertEquals("2019-01-13 19:37:59", carbon.toDateTimeString());
+        assertEquals("2019-01-15 19:37:59", copy.toDateTimeString());
+        assertTrue(copy.gt(carbon));
+    }
+
+    @Test
+    public void testCarbonWeekModifiersUseTheFirstDayOfTheWeek() {
+        Carbon carbon = new Carbon("2019-01-13 19:37:59");
+
+        assertEquals(Day.SUNDAY, carbon.getDayOfWeek());
+        assertTrue(carbon.isWeekend());
+        assertEquals("2019-01-07 00:00:00", carbon.copy().startOfWeek().toDateTimeString());
+        assertEquals("2019-01-13 23:59:59", carbon.copy().endOfWeek().toDateTimeString());
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.utilities;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.utilities.TimingWheel;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimingWheelTests extends BaseTest {
+
+    @Test
+    public void testTimeoutsExpireOnTheirTick() {
+        TimingWheel wheel = new TimingWheel(100, TimeUnit.MILLISECONDS, 8);
+        AtomicInteger runs = new AtomicInteger();
+
+        TimingWheel.Timeout timeout = wheel.schedule(runs::incrementAndGet, 250, TimeUnit.MILLISECONDS);
+        assertEquals(1, wheel.size());
+
+        wheel.tick();
+        wheel.tick();
+        assertEquals(0, runs.get());
+
+        wheel.tick();
+        assertEquals(1, runs.get());
+        assertTrue(timeout.isExpired());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testTimeoutsLongerThanTheWheelWaitForTheirRound() {
+        TimingWheel wheel = new TimingWheel(100, TimeUnit.MILLISECONDS, 4);
+        AtomicInteger runs = new AtomicInteger();
+
+        wheel.schedule(runs::incrementAndGet, 1, TimeUnit.SECONDS);
+
+        for (int i = 0; i < 9; i++) {
+            wheel.tick();
+        }
+        assertEquals(0, runs.get());
+
+        wheel.tick();
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void testCancelledTimeoutsNeverRun() {
+        TimingWheel wheel = new TimingWheel(100, TimeUnit.MILLISECONDS, 8);
+        AtomicInteger runs = new AtomicInteger();
+
+        TimingWheel.Timeout timeout = wheel.schedule(runs::incrementAndGet, 100, TimeUnit.MILLISECONDS);
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertEquals(0, wheel.size());
+
+        wheel.tick();
+        assertEquals(0, runs.get());
+        assertFalse(timeout.isExpired());
+    }
+
+    @Test
+    public void testFailingTimeoutsDoesNotStopOtherTimeouts() {
+        TimingWheel wheel = new TimingWheel(100, TimeUnit.MILLISECONDS, 8);
+        AtomicInteger runs = new AtomicInteger();
+
+        wheel.schedule(() -> {
+            throw new IllegalStateException("Failing timeout");
+        }, 100, TimeUnit.MILLISECONDS);
+        wheel.schedule(runs::incrementAndGet, 100, TimeUnit.MILLISECONDS);
+
+        wheel.tick();
+        assertEquals(1, runs.get());
+        assertEquals(0, wheel.size());
+    }
+}
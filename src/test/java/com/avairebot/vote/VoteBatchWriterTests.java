@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+
+package com.avairebot.vote;
+
+import com.avairebot.BaseTest;
+import com.avairebot.database.fakes.FakeSQLiteDatabaseManager;
+import com.pinewoodbuilders.database.collection.DataRow;
+import com.pinewoodbuilders.time.Carbon;
+import com.pinewoodbuilders.vote.VoteBatchWriter;
+import com.pinewoodbuilders.vote.VoteCacheEntity;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VoteBatchWriterTests extends BaseTest {
+
+    private FakeSQLiteDatabaseManager dbm;
+    private VoteBatchWriter writer;
+
+    @Before
+    public void setUp() throws Exception {
+        dbm = new FakeSQLiteDatabaseManager();
+        dbm.execute(
+            "CREATE TABLE `votes` (`user_id` BIGINT NOT NULL, `expires_in` VARCHAR(64) NOT NULL, `points` INT NOT NULL DEFAULT 0, `points_total` INT NOT NULL DEFAULT 0, `opt_in` TINYINT NOT NULL DEFAULT 1);",
+            "INSERT INTO `votes` VALUES (1, 'Sun, Jan 13, 2019 7:37 PM', 5, 10, 0);"
+        );
+
+        writer = new VoteBatchWriter(dbm);
+    }
+
+    @Test
+    public void testVotesAreOnlyWrittenWhenFlushed() throws Exception {
+        CompletableFuture<VoteCacheEntity> future = writer.queue(2L, 1, Carbon.now().addHours(12));
+
+        assertTrue(writer.hasPendingVotes());
+        assertFalse(future.isDone());
+        assertTrue(dbm.newQueryBuilder("votes").where("user_id", 2L).get().isEmpty());
+
+        assertEquals(1, writer.flush());
+        assertFalse(writer.hasPendingVotes());
+        assertTrue(future.isDone());
+        assertEquals(0, writer.flush());
+    }
+
+    @Test
+    public void testExistingVotesAreUpdated() throws Exception {
+        Carbon expiresIn = Carbon.now().addHours(12);
+        CompletableFuture<VoteCacheEntity> future = writer.queue(1L, 2, expiresIn);
+
+        writer.flush();
+
+        VoteCacheEntity entity = future.get();
+        assertEquals(7, entity.getVotePoints());
+        assertFalse(entity.isOptIn());
+
+        DataRow row = dbm.newQueryBuilder("votes").where("user_id", 1L).get().first();
+        assertEquals(7, row.getInt("points"));
+        assertEquals(12, row.getInt("points_total"));
+        assertEquals(expiresIn.toDayDateTimeString(), row.getString("expires_in"));
+    }
+
+    @Test
+    public void testNewVotesAreInserted() throws Exception {
+        CompletableFuture<VoteCacheEntity> future = writer.queue(2L, 1, Carbon.now().addHours(12));
+
+        writer.flush();
+
+        assertEquals(1, future.get().getVotePoints());
+        assertTrue(future.get().isOptIn());
+
+        DataRow row = dbm.newQueryBuilder("votes").where("user_id", 2L).get().first();
+        assertEquals(1, row.getInt("points"));
+        assertEquals(1, row.getInt("points_total"));
+    }
+
+    @Test
+    public void testVotesForTheSameUserAreMerged() throws Exception {
+        Carbon expiresIn = Carbon.now().addHours(12);
+        CompletableFuture<VoteCacheEntity> first = writer.queue(2L, 1, Carbon.now().addHours(6));
+        CompletableFuture<VoteCacheEntity> second = writer.queue(2L, 2, expiresIn);
+
+        assertEquals(1, writer.flush());
+
+        assertEquals(3, first.get().getVotePoints());
+        assertEquals(3, second.get().getVotePoints());
+        assertEquals(1, dbm.newQueryBuilder("votes").where("user_id", 2L).get().size());
+        assertEquals(expiresIn.toDayDateTimeString(),
+            dbm.newQueryBuilder("votes").where("user_id", 2L).get().first().getString("expires_in")
+        );
+    }
+
+    @Test
+    public void testFailedVotesAreRetried() throws Exception {
+        CompletableFuture<VoteCacheEntity> future = writer.queue(2L, 1, Carbon.now().addHours(12));
+
+        dbm.execute("ALTER TABLE `votes` RENAME TO `votes_old`;");
+        assertThrows(Exception.class, writer::flush);
+        assertTrue(writer.hasPendingVotes());
+        assertFalse(future.isDone());
+
+        dbm.execute("ALTER TABLE `votes_old` RENAME TO `votes`;");
+        assertEquals(1, writer.flush());
+        assertEquals(1, future.get().getVotePoints());
+        assertEquals(1, dbm.newQueryBuilder("votes").where("user_id", 2L).get().size());
+    }
+
+    @Test
+    public void testVotesAreFailedAfterMaxAttempts() throws Exception {
+        CompletableFuture<VoteCacheEntity> future = writer.queue(2L, 1, Carbon.now().addHours(12));
+
+        dbm.execute("DROP TABLE `votes`;");
+        for (int i = 0; i < VoteBatchWriter.MAX_ATTEMPTS; i++) {
+            assertThrows(Exception.class, writer::flush);
+        }
+
+        assertFalse(writer.hasPendingVotes());
+        assertTrue(future.isCompletedExceptionally());
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+
+package com.avairebot.vote;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.time.Carbon;
+import com.pinewoodbuilders.vote.VoteCacheEntity;
+import com.pinewoodbuilders.vote.VoteLog;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VoteLogTests extends BaseTest {
+
+    private VoteLog voteLog;
+
+    @Before
+    public void setUp() {
+        voteLog = new VoteLog();
+    }
+
+    @Test
+    public void testActiveVotesAreReturned() {
+        VoteCacheEntity entity = new VoteCacheEntity(1L, Carbon.now().addHours(12));
+        voteLog.put(1L, entity, 0L);
+
+        assertSame(entity, voteLog.get(1L));
+        assertTrue(voteLog.isKnown(1L));
+        assertTrue(voteLog.hasActiveVote(1L));
+        assertNull(voteLog.get(2L));
+        assertFalse(voteLog.isKnown(2L));
+    }
+
+    @Test
+    public void testAbsentUsersAreKnownWithoutAnEntity() {
+        voteLog.put(1L, null, Long.MAX_VALUE);
+
+        assertNull(voteLog.get(1L));
+        assertTrue(voteLog.isKnown(1L));
+        assertFalse(voteLog.hasActiveVote(1L));
+    }
+
+    @Test
+    public void testPutIfAbsentKeepsExistingEntitiesAndReplacesAbsentUsers() {
+        VoteCacheEntity entity = new VoteCacheEntity(1L, Carbon.now().addHours(12));
+        voteLog.put(1L, null, Long.MAX_VALUE);
+
+        assertSame(entity, voteLog.putIfAbsent(1L, entity, 0L));
+        assertSame(entity, voteLog.putIfAbsent(1L, new VoteCacheEntity(1L, Carbon.now()), 0L));
+        assertEquals(1, voteLog.size());
+    }
+
+    @Test
+    public void testEvictDropsExpiredEntriesThatAreNoLongerRetained() {
+        voteLog.put(1L, new VoteCacheEntity(1L, Carbon.now().addHours(12)), 0L);
+        voteLog.put(2L, new VoteCacheEntity(2L, Carbon.now().subDay()), 0L);
+        voteLog.put(3L, new VoteCacheEntity(3L, Carbon.now().subDay()), 2000L);
+        voteLog.put(4L, null, 500L);
+
+        assertEquals(2, voteLog.evict(1000L));
+        assertTrue(voteLog.isKnown(1L));
+        assertFalse(voteLog.isKnown(2L));
+        assertTrue(voteLog.isKnown(3L));
+        assertFalse(voteLog.isKnown(4L));
+        assertEquals(1, voteLog.countActiveVotes());
+    }
+
+    @Test
+    public void testLogGrowsAndRemovesEntries() {
+        for (long userId = 1; userId <= 1000; userId++) {
+            voteLog.put(userId, new VoteCacheEntity(userId, Carbon.now().addHours(12)), 0L);
+        }
+        for (long userId = 1; userId <= 1000; userId += 2) {
+            assertTrue(voteLog.remove(userId));
+        }
+
+        assertEquals(500, voteLog.size());
+        assertFalse(voteLog.remove(1L));
+        for (long userId = 1; userId <= 1000; userId++) {
+            assertEquals(userId % 2 == 0, voteLog.isKnown(userId));
+        }
+        assertEquals(500, voteLog.countActiveVotes());
+    }
+}